@@ -17,6 +17,7 @@ package io.leitstand.inventory.service;
 
 import static io.leitstand.commons.model.BuilderUtil.assertNotInvalidated;
 import static java.util.Arrays.stream;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableList;
 import static java.util.stream.Collectors.toList;
 
@@ -50,7 +51,7 @@ public class DnsZoneElement extends BaseElementEnvelope {
 	}
 	
 	@JsonbProperty("dns_recordsets")
-	private List<DnsRecordSet> dnsRecordSets; 
+	private List<DnsRecordSet> dnsRecordSets = emptyList();
 	
 	public List<DnsRecordSet> getDnsRecordSets(){
 		return unmodifiableList(dnsRecordSets);
@@ -16,6 +16,7 @@
 package io.leitstand.inventory.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface DnsZoneService {
 
@@ -25,6 +26,8 @@ public interface DnsZoneService {
 	DnsZoneSettings getDnsZoneSettings(DnsZoneName zoneName);
 	DnsZoneElements getDnsZoneElements(DnsZoneId zoneId);
 	DnsZoneElements getDnsZoneElements(DnsZoneName zoneName);
+	void exportDnsZoneElements(DnsZoneId zoneId, Consumer<DnsZoneElement> elements);
+	void exportDnsZoneElements(DnsZoneName zoneName, Consumer<DnsZoneElement> elements);
 	boolean storeDnsZoneSettings(DnsZoneSettings settings);
 	void removeDnsZone(DnsZoneId zoneId);
 	void removeDnsZone(DnsZoneName zoneName);
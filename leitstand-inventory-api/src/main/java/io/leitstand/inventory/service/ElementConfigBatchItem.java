@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static io.leitstand.commons.model.BuilderUtil.assertNotInvalidated;
+
+import io.leitstand.commons.model.CompositeValue;
+
+/**
+ * A single element configuration submission of a configuration batch.
+ * <p>
+ * The element is either identified by its ID or by its name or alias.
+ * The element ID takes precedence if both are specified.
+ * @see ElementConfigService#storeElementConfigs(java.util.List)
+ */
+public class ElementConfigBatchItem extends CompositeValue {
+
+	public static Builder newElementConfigBatchItem() {
+		return new Builder();
+	}
+	
+	public static class Builder {
+		
+		private ElementConfigBatchItem item = new ElementConfigBatchItem();
+		
+		public Builder withElementId(ElementId elementId) {
+			assertNotInvalidated(getClass(), item);
+			item.elementId = elementId;
+			return this;
+		}
+		
+		public Builder withElementName(ElementName elementName) {
+			assertNotInvalidated(getClass(), item);
+			item.elementName = elementName;
+			return this;
+		}
+		
+		public Builder withConfigName(ElementConfigName configName) {
+			assertNotInvalidated(getClass(), item);
+			item.configName = configName;
+			return this;
+		}
+		
+		public Builder withContentType(String contentType) {
+			assertNotInvalidated(getClass(), item);
+			item.contentType = contentType;
+			return this;
+		}
+		
+		public Builder withConfigState(ConfigurationState configState) {
+			assertNotInvalidated(getClass(), item);
+			item.configState = configState;
+			return this;
+		}
+		
+		public Builder withConfig(String config) {
+			assertNotInvalidated(getClass(), item);
+			item.config = config;
+			return this;
+		}
+		
+		public Builder withComment(String comment) {
+			assertNotInvalidated(getClass(), item);
+			item.comment = comment;
+			return this;
+		}
+		
+		public ElementConfigBatchItem build() {
+			try {
+				assertNotInvalidated(getClass(), item);
+				return item;
+			} finally {
+				this.item = null;
+			}
+		}
+	}
+	
+	private ElementId elementId;
+	private ElementName elementName;
+	private ElementConfigName configName;
+	private String contentType;
+	private ConfigurationState configState;
+	private String config;
+	private String comment;
+	
+	public ElementId getElementId() {
+		return elementId;
+	}
+	
+	public ElementName getElementName() {
+		return elementName;
+	}
+	
+	public ElementConfigName getConfigName() {
+		return configName;
+	}
+	
+	public String getContentType() {
+		return contentType;
+	}
+	
+	public ConfigurationState getConfigState() {
+		return configState;
+	}
+	
+	public String getConfig() {
+		return config;
+	}
+	
+	public String getComment() {
+		return comment;
+	}
+	
+}
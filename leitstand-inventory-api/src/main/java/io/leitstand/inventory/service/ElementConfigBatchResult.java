@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static io.leitstand.commons.model.BuilderUtil.assertNotInvalidated;
+
+import io.leitstand.commons.model.CompositeValue;
+
+/**
+ * The outcome of a single element configuration submission of a configuration batch.
+ * @see ElementConfigService#storeElementConfigs(java.util.List)
+ */
+public class ElementConfigBatchResult extends CompositeValue {
+
+	/**
+	 * Enumeration of element configuration submission outcomes.
+	 */
+	public enum Status {
+		/** A new configuration revision was created.*/
+		CREATED,
+		/** An existing configuration revision was updated or confirmed.*/
+		UPDATED,
+		/** The configuration submission was rejected.*/
+		FAILED
+	}
+	
+	public static Builder newElementConfigBatchResult() {
+		return new Builder();
+	}
+	
+	public static class Builder {
+		
+		private ElementConfigBatchResult result = new ElementConfigBatchResult();
+		
+		public Builder withElementId(ElementId elementId) {
+			assertNotInvalidated(getClass(), result);
+			result.elementId = elementId;
+			return this;
+		}
+		
+		public Builder withElementName(ElementName elementName) {
+			assertNotInvalidated(getClass(), result);
+			result.elementName = elementName;
+			return this;
+		}
+		
+		public Builder withConfigName(ElementConfigName configName) {
+			assertNotInvalidated(getClass(), result);
+			result.configName = configName;
+			return this;
+		}
+		
+		public Builder withConfigId(ElementConfigId configId) {
+			assertNotInvalidated(getClass(), result);
+			result.configId = configId;
+			return this;
+		}
+		
+		public Builder withStatus(Status status) {
+			assertNotInvalidated(getClass(), result);
+			result.status = status;
+			return this;
+		}
+		
+		public Builder withMessage(String message) {
+			assertNotInvalidated(getClass(), result);
+			result.message = message;
+			return this;
+		}
+		
+		public ElementConfigBatchResult build() {
+			try {
+				assertNotInvalidated(getClass(), result);
+				return result;
+			} finally {
+				this.result = null;
+			}
+		}
+	}
+	
+	private ElementId elementId;
+	private ElementName elementName;
+	private ElementConfigName configName;
+	private ElementConfigId configId;
+	private Status status;
+	private String message;
+	
+	public ElementId getElementId() {
+		return elementId;
+	}
+	
+	public ElementName getElementName() {
+		return elementName;
+	}
+	
+	public ElementConfigName getConfigName() {
+		return configName;
+	}
+	
+	public ElementConfigId getConfigId() {
+		return configId;
+	}
+	
+	public Status getStatus() {
+		return status;
+	}
+	
+	public String getMessage() {
+		return message;
+	}
+	
+}
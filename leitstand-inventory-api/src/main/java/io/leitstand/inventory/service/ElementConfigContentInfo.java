@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static io.leitstand.commons.model.BuilderUtil.assertNotInvalidated;
+
+import java.util.Date;
+
+import io.leitstand.commons.model.CompositeValue;
+
+/**
+ * Describes the stored content of an element configuration revision.
+ * <p>
+ * The content information allows to download the configuration content or a range of it
+ * by means of {@link ElementConfigService#readElementConfigContent(ElementConfigId, String, long, long, java.io.OutputStream)}
+ * without parsing the configuration.
+ */
+public class ElementConfigContentInfo extends CompositeValue {
+
+	public static Builder newElementConfigContentInfo() {
+		return new Builder();
+	}
+	
+	public static class Builder {
+		
+		private ElementConfigContentInfo info = new ElementConfigContentInfo();
+		
+		public Builder withConfigId(ElementConfigId configId) {
+			assertNotInvalidated(getClass(), info);
+			info.configId = configId;
+			return this;
+		}
+		
+		public Builder withConfigName(ElementConfigName configName) {
+			assertNotInvalidated(getClass(), info);
+			info.configName = configName;
+			return this;
+		}
+		
+		public Builder withContentType(String contentType) {
+			assertNotInvalidated(getClass(), info);
+			info.contentType = contentType;
+			return this;
+		}
+		
+		public Builder withContentHash(String contentHash) {
+			assertNotInvalidated(getClass(), info);
+			info.contentHash = contentHash;
+			return this;
+		}
+		
+		public Builder withContentLength(long contentLength) {
+			assertNotInvalidated(getClass(), info);
+			info.contentLength = contentLength;
+			return this;
+		}
+		
+		public Builder withDateModified(Date dateModified) {
+			assertNotInvalidated(getClass(), info);
+			info.dateModified = new Date(dateModified.getTime());
+			return this;
+		}
+		
+		public ElementConfigContentInfo build() {
+			try {
+				assertNotInvalidated(getClass(), info);
+				return info;
+			} finally {
+				this.info = null;
+			}
+		}
+	}
+	
+	private ElementConfigId configId;
+	private ElementConfigName configName;
+	private String contentType;
+	private String contentHash;
+	private long contentLength;
+	private Date dateModified;
+	
+	public ElementConfigId getConfigId() {
+		return configId;
+	}
+	
+	public ElementConfigName getConfigName() {
+		return configName;
+	}
+	
+	public String getContentType() {
+		return contentType;
+	}
+	
+	/**
+	 * Returns the content hash, which changes whenever the configuration content changes.
+	 * @return the content hash.
+	 */
+	public String getContentHash() {
+		return contentHash;
+	}
+	
+	/**
+	 * Returns the length of the UTF-8 encoded configuration in bytes.
+	 * @return the content length in bytes.
+	 */
+	public long getContentLength() {
+		return contentLength;
+	}
+	
+	public Date getDateModified() {
+		if(dateModified == null) {
+			return null;
+		}
+		return new Date(dateModified.getTime());
+	}
+	
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * The difference of two revisions of an element configuration.
+ * <p>
+ * The difference is rendered when written, unless it was served from the difference cache. 
+ * This allows streaming large differences without materializing the rendered difference in memory.
+ */
+public interface ElementConfigDiff {
+
+	/**
+	 * Returns the ID of the original configuration revision.
+	 * @return the ID of the original configuration revision.
+	 */
+	ElementConfigId getFromConfigId();
+	
+	/**
+	 * Returns the ID of the modified configuration revision.
+	 * @return the ID of the modified configuration revision.
+	 */
+	ElementConfigId getToConfigId();
+	
+	/**
+	 * Returns the configuration name.
+	 * @return the configuration name.
+	 */
+	ElementConfigName getConfigName();
+	
+	/**
+	 * Returns the difference format.
+	 * @return the difference format.
+	 */
+	ElementConfigDiffFormat getFormat();
+	
+	/**
+	 * Writes the difference to the specified writer.
+	 * Nothing is written if both revisions are equal and the difference is in unified format.
+	 * @param writer the writer
+	 * @throws IOException if writing the difference fails.
+	 */
+	void writeTo(Writer writer) throws IOException;
+	
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+/**
+ * Supported formats of an element configuration difference.
+ */
+public enum ElementConfigDiffFormat {
+
+	/** Line-based difference in unified diff format.*/
+	UNIFIED("text/x-diff"),
+	
+	/** Structural difference of JSON configurations as RFC 6902 JSON patch.*/
+	JSON_PATCH("application/json-patch+json");
+	
+	/**
+	 * Parses a difference format.
+	 * Accepts the enum constant name as well as the lowercase name with dashes, e.g. <code>json-patch</code>.
+	 * @param format the format name
+	 * @return the difference format
+	 */
+	public static ElementConfigDiffFormat fromString(String format) {
+		return valueOf(format.trim()
+							 .toUpperCase()
+							 .replace('-', '_'));
+	}
+	
+	private final String contentType;
+	
+	private ElementConfigDiffFormat(String contentType) {
+		this.contentType = contentType;
+	}
+	
+	/**
+	 * Returns the content type of this difference format.
+	 * @return the content type of this difference format.
+	 */
+	public String getContentType() {
+		return contentType;
+	}
+	
+}
@@ -15,6 +15,10 @@
  */
 package io.leitstand.inventory.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
 import javax.ws.rs.core.MediaType;
 
 /**
@@ -79,6 +83,75 @@ public interface ElementConfigService {
 								   ElementConfigId configId);
 
 	
+	/**
+	 * Returns the content information of the specified element configuration.
+	 * @param elementId the element ID
+	 * @param configId the element configuration ID
+	 * @return the content information of the element configuration
+	 */
+	ElementConfigContentInfo getElementConfigContentInfo(ElementId elementId,
+														 ElementConfigId configId);
+	
+	/**
+	 * Returns the content information of the specified element configuration.
+	 * @param elementName the element name
+	 * @param configId the element configuration ID
+	 * @return the content information of the element configuration
+	 */
+	ElementConfigContentInfo getElementConfigContentInfo(ElementName elementName,
+														 ElementConfigId configId);
+	
+	/**
+	 * Writes a range of the UTF-8 encoded configuration content to the given output stream.
+	 * Fails if the configuration content does not match the specified content hash anymore.
+	 * The content is read and written in chunks of bounded size. 
+	 * A delta-encoded revision is rebuilt while it is written.
+	 * @param configId the element configuration ID
+	 * @param contentHash the expected content hash
+	 * @param offset the offset of the first byte to read
+	 * @param length the maximum number of bytes to read
+	 * @param out the output stream to write the content to
+	 * @return the number of written bytes, which is less than the requested bytes if the end of the content was reached.
+	 * @throws IOException if writing to the output stream fails
+	 */
+	long readElementConfigContent(ElementConfigId configId,
+								  String contentHash,
+								  long offset,
+								  long length,
+								  OutputStream out) throws IOException;
+	
+	/**
+	 * Computes the difference of two revisions of an element configuration.
+	 * Both revisions must be revisions of the specified element configuration.
+	 * @param elementId the element ID
+	 * @param configName the configuration name
+	 * @param fromConfigId the original configuration revision
+	 * @param toConfigId the modified configuration revision
+	 * @param format the difference format
+	 * @return the difference of both configuration revisions
+	 */
+	ElementConfigDiff diffElementConfigs(ElementId elementId,
+										 ElementConfigName configName,
+										 ElementConfigId fromConfigId,
+										 ElementConfigId toConfigId,
+										 ElementConfigDiffFormat format);
+	
+	/**
+	 * Computes the difference of two revisions of an element configuration.
+	 * Both revisions must be revisions of the specified element configuration.
+	 * @param elementName the element name
+	 * @param configName the configuration name
+	 * @param fromConfigId the original configuration revision
+	 * @param toConfigId the modified configuration revision
+	 * @param format the difference format
+	 * @return the difference of both configuration revisions
+	 */
+	ElementConfigDiff diffElementConfigs(ElementName elementName,
+										 ElementConfigName configName,
+										 ElementConfigId fromConfigId,
+										 ElementConfigId toConfigId,
+										 ElementConfigDiffFormat format);
+	
 	/**
 	 * Stores an element configuration for the specified element.
 	 * @param element the element ID
@@ -119,7 +192,19 @@ public interface ElementConfigService {
 							   					ConfigurationState configState,
 							   					String config,
 							   					String comment);
-	
+
+	/**
+	 * Stores a batch of element configurations in a single transaction.
+	 * <p>
+	 * The batch is processed in submission order, i.e. a later submission for the same element configuration
+	 * sees the outcome of an earlier submission.
+	 * A submission for an unknown element is rejected without affecting the other submissions of the batch.
+	 * Only one configuration stored event per element configuration is fired for the entire batch.
+	 * @param items the element configuration submissions
+	 * @return the outcome of every submission in submission order
+	 */
+	List<ElementConfigBatchResult> storeElementConfigs(List<ElementConfigBatchItem> items);
+
 	/**
 	 * Removes an element configuration.
 	 * An <em>active</em> configuration cannot be removed.
@@ -15,6 +15,8 @@
  */
 package io.leitstand.inventory.service;
 
+import java.util.List;
+
 public interface ElementDnsRecordSetService {
 
 	ElementDnsRecordSets getElementDnsRecordSets(ElementId elementId);
@@ -25,6 +27,8 @@ public interface ElementDnsRecordSetService {
 	
 	boolean storeElementDnsRecordSet(ElementId elementId, DnsRecordSet recordSet);
 	boolean storeElementDnsRecordSet(ElementName elementName, DnsRecordSet recordSet);
+	int storeDnsZoneRecordSets(DnsZoneId zoneId, List<DnsZoneElement> elements);
+	int storeDnsZoneRecordSets(DnsZoneName zoneName, List<DnsZoneElement> elements);
 
 	void removeElementDnsRecordSet(ElementId elementId, DnsName dnsName, DnsRecordType type);
 	void removeElementDnsRecordSet(ElementName elementName, DnsName dnsName, DnsRecordType type);
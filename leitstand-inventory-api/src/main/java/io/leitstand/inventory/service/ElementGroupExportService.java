@@ -15,6 +15,8 @@
  */
 package io.leitstand.inventory.service;
 
+import java.util.function.Consumer;
+
 /**
  * A service to export all element groups and the general settings of their respective elements.
  */
@@ -29,6 +31,19 @@ public interface ElementGroupExportService {
 	ElementGroupsExport exportElementGroups(ElementGroupType groupType,
 											String filter);
 	
+	/**
+	 * Passes all element groups matching the given filter expression to the given consumer.
+	 * In contrast to {@link #exportElementGroups(ElementGroupType, String)}, the groups are passed to the consumer
+	 * as soon as they are loaded, so that the export can be streamed to the client.
+	 * The groups are passed in group name order.
+	 * @param groupType - the type of group to export.
+	 * @param filter - the filter expression
+	 * @param groups - the consumer of the exported groups
+	 */
+	void exportElementGroups(ElementGroupType groupType,
+							 String filter,
+							 Consumer<ElementGroupExport> groups);
+	
 	/**
 	 * Imports a group export and synchronizes the element groups and their respective elements.
 	 * @param export - the export to be implemented
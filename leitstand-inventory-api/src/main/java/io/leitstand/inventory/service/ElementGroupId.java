@@ -30,6 +30,8 @@ public class ElementGroupId extends Scalar<String> {
 	public static final String PATTERN = "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}";
 	
 	private static final long serialVersionUID = 1L;
+	
+	private static final ValueCache<ElementGroupId> CACHE = new ValueCache<>(4096,ElementGroupId::new);
 
 	/**
 	 * Alias for {@link #valueOf(String)} to improve readability.
@@ -39,7 +41,7 @@ public class ElementGroupId extends Scalar<String> {
 	 * @return the <code>ElementGroupId</code> or <code>null</code> if the specified string is <code>null</code> or empty.
 	 */
 	public static ElementGroupId groupId(String id) {
-		return fromString(id,ElementGroupId::new);
+		return valueOf(id);
 	}
 	
 	/**
@@ -48,7 +50,7 @@ public class ElementGroupId extends Scalar<String> {
 	 * @return the <code>ElementGroupId</code> or <code>null</code> if the specified string is <code>null</code> or empty.
 	 */
 	public static ElementGroupId valueOf(String id) {
-		return fromString(id,ElementGroupId::new);
+		return CACHE.valueOf(id);
 	}
 
 	
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static io.leitstand.commons.model.BuilderUtil.assertNotInvalidated;
+
+import io.leitstand.commons.model.ValueObject;
+
+/**
+ * An item of an element group import that could not be imported.
+ * @see ElementGroupImportStatus
+ */
+public class ElementGroupImportFailure extends ValueObject {
+
+	/**
+	 * Enumeration of import item types.
+	 */
+	public enum ItemType {
+		/** A platform.*/
+		PLATFORM,
+		/** An element role.*/
+		ROLE,
+		/** An element group.*/
+		GROUP,
+		/** An element.*/
+		ELEMENT
+	}
+	
+	public static Builder newElementGroupImportFailure() {
+		return new Builder();
+	}
+	
+	public static class Builder {
+		
+		private ElementGroupImportFailure failure = new ElementGroupImportFailure();
+		
+		public Builder withItemType(ItemType itemType) {
+			assertNotInvalidated(getClass(), failure);
+			failure.itemType = itemType;
+			return this;
+		}
+		
+		public Builder withItemName(String itemName) {
+			assertNotInvalidated(getClass(), failure);
+			failure.itemName = itemName;
+			return this;
+		}
+		
+		public Builder withGroupName(ElementGroupName groupName) {
+			assertNotInvalidated(getClass(), failure);
+			failure.groupName = groupName;
+			return this;
+		}
+		
+		public Builder withMessage(String message) {
+			assertNotInvalidated(getClass(), failure);
+			failure.message = message;
+			return this;
+		}
+		
+		public ElementGroupImportFailure build() {
+			try {
+				assertNotInvalidated(getClass(), failure);
+				return failure;
+			} finally {
+				this.failure = null;
+			}
+		}
+	}
+	
+	private ItemType itemType;
+	private String itemName;
+	private ElementGroupName groupName;
+	private String message;
+	
+	public ItemType getItemType() {
+		return itemType;
+	}
+	
+	public String getItemName() {
+		return itemName;
+	}
+	
+	/**
+	 * Returns the name of the group that contains the failed item, if the item is an element or a group.
+	 * @return the group name
+	 */
+	public ElementGroupName getGroupName() {
+		return groupName;
+	}
+	
+	public String getMessage() {
+		return message;
+	}
+	
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A service to import large element group exports asynchronously.
+ * <p>
+ * The import is read incrementally. The platforms and element roles are imported first, 
+ * followed by the element groups and their elements in chunks of configurable size.
+ * Every chunk is committed in its own transaction. 
+ * If a chunk cannot be committed, the chunk items are imported one by one to report the failing items.
+ * An interrupted import can be resumed after the last committed chunk.
+ * @see ElementGroupsExport
+ */
+public interface ElementGroupImportService {
+	
+	/**
+	 * Starts an element group import. 
+	 * The import data is buffered before this method returns and imported asynchronously.
+	 * @param data the import data
+	 * @param contentType the import content type, which is either <code>application/json</code> or a YAML content type.
+	 * @param chunkSize the number of groups to be committed in a single transaction
+	 * @return the status of the started import
+	 * @throws IOException if the import data cannot be read
+	 */
+	ElementGroupImportStatus importElementGroups(InputStream data, 
+												 String contentType, 
+												 int chunkSize) throws IOException;
+	
+	/**
+	 * Returns the status of an element group import.
+	 * @param importId the import ID
+	 * @return the import status
+	 */
+	ElementGroupImportStatus getElementGroupImport(String importId);
+	
+	/**
+	 * Resumes an interrupted element group import.
+	 * @param importId the import ID
+	 * @return the import status
+	 */
+	ElementGroupImportStatus resumeElementGroupImport(String importId);
+	
+}
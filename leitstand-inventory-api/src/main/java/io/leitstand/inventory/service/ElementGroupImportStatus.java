@@ -0,0 +1,206 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static io.leitstand.commons.model.BuilderUtil.assertNotInvalidated;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import io.leitstand.commons.model.ValueObject;
+
+/**
+ * The progress of an element group import.
+ * <p>
+ * The import processes the groups in chunks. Every chunk is committed in its own transaction.
+ * The number of processed groups is the position in the imported document from where an interrupted import is resumed.
+ * Only the items that could not be imported are reported individually.
+ * @see ElementGroupImportService
+ */
+public class ElementGroupImportStatus extends ValueObject {
+
+	/**
+	 * Enumeration of import states.
+	 */
+	public enum State {
+		/** The import waits for being processed.*/
+		QUEUED,
+		/** The import is in progress.*/
+		RUNNING,
+		/** The import is completed.*/
+		COMPLETED,
+		/** The import was interrupted and can be resumed.*/
+		FAILED
+	}
+	
+	public static Builder newElementGroupImportStatus() {
+		return new Builder();
+	}
+	
+	public static class Builder {
+		
+		private ElementGroupImportStatus status = new ElementGroupImportStatus();
+		
+		public Builder withImportId(String importId) {
+			assertNotInvalidated(getClass(), status);
+			status.importId = importId;
+			return this;
+		}
+		
+		public Builder withState(State state) {
+			assertNotInvalidated(getClass(), status);
+			status.state = state;
+			return this;
+		}
+		
+		public Builder withDateCreated(Date date) {
+			assertNotInvalidated(getClass(), status);
+			status.dateCreated = new Date(date.getTime());
+			return this;
+		}
+		
+		public Builder withDateModified(Date date) {
+			assertNotInvalidated(getClass(), status);
+			status.dateModified = new Date(date.getTime());
+			return this;
+		}
+		
+		public Builder withChunkSize(int chunkSize) {
+			assertNotInvalidated(getClass(), status);
+			status.chunkSize = chunkSize;
+			return this;
+		}
+		
+		public Builder withProcessedGroups(int groups) {
+			assertNotInvalidated(getClass(), status);
+			status.processedGroups = groups;
+			return this;
+		}
+		
+		public Builder withStoredGroups(int groups) {
+			assertNotInvalidated(getClass(), status);
+			status.storedGroups = groups;
+			return this;
+		}
+		
+		public Builder withStoredElements(int elements) {
+			assertNotInvalidated(getClass(), status);
+			status.storedElements = elements;
+			return this;
+		}
+		
+		public Builder withFailedItems(int items) {
+			assertNotInvalidated(getClass(), status);
+			status.failedItems = items;
+			return this;
+		}
+		
+		public Builder withMessage(String message) {
+			assertNotInvalidated(getClass(), status);
+			status.message = message;
+			return this;
+		}
+		
+		public Builder withFailures(List<ElementGroupImportFailure> failures) {
+			assertNotInvalidated(getClass(), status);
+			status.failures = new ArrayList<>(failures);
+			return this;
+		}
+		
+		public ElementGroupImportStatus build() {
+			try {
+				assertNotInvalidated(getClass(), status);
+				return status;
+			} finally {
+				this.status = null;
+			}
+		}
+	}
+	
+	private String importId;
+	private State state;
+	private Date dateCreated;
+	private Date dateModified;
+	private int chunkSize;
+	private int processedGroups;
+	private int storedGroups;
+	private int storedElements;
+	private int failedItems;
+	private String message;
+	private List<ElementGroupImportFailure> failures = emptyList();
+	
+	public String getImportId() {
+		return importId;
+	}
+	
+	public State getState() {
+		return state;
+	}
+	
+	public Date getDateCreated() {
+		return dateCreated;
+	}
+	
+	public Date getDateModified() {
+		return dateModified;
+	}
+	
+	public int getChunkSize() {
+		return chunkSize;
+	}
+	
+	/**
+	 * Returns the number of groups read from the import, including groups that could not be imported.
+	 * @return the number of processed groups.
+	 */
+	public int getProcessedGroups() {
+		return processedGroups;
+	}
+	
+	public int getStoredGroups() {
+		return storedGroups;
+	}
+	
+	public int getStoredElements() {
+		return storedElements;
+	}
+	
+	/**
+	 * Returns the number of items that could not be imported.
+	 * The number of failed items can exceed the number of reported failures, 
+	 * because the number of reported failures is limited.
+	 * @return the number of failed items.
+	 */
+	public int getFailedItems() {
+		return failedItems;
+	}
+	
+	/**
+	 * Returns the reason why the import was interrupted, if the import is in <code>FAILED</code> state.
+	 * @return the reason of the import interruption
+	 */
+	public String getMessage() {
+		return message;
+	}
+	
+	public List<ElementGroupImportFailure> getFailures() {
+		return unmodifiableList(failures);
+	}
+	
+}
@@ -28,6 +28,8 @@ import io.leitstand.inventory.jsonb.ElementGroupNameAdapter;
 public class ElementGroupName extends Scalar<String> {
 
 	private static final long serialVersionUID = 1L;
+	
+	private static final ValueCache<ElementGroupName> CACHE = new ValueCache<>(4096,ElementGroupName::new);
 
 	/**
 	 * Alias for {@link #valueOf(String)} to improve readability.
@@ -46,7 +48,7 @@ public class ElementGroupName extends Scalar<String> {
 	 * @return the <code>ElementGroupName</code> or <code>null</code> if the specified string is <code>null</code> or empty.
 	 */
 	public static ElementGroupName valueOf(String name) {
-		return fromString(name,ElementGroupName::new);
+		return CACHE.valueOf(name);
 	}
 	
 	@NotNull(message="{group_name.required}")
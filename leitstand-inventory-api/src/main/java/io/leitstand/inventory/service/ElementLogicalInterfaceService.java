@@ -15,6 +15,8 @@
  */
 package io.leitstand.inventory.service;
 
+import java.util.List;
+
 import javax.persistence.EntityNotFoundException;
 
 /**
@@ -41,6 +43,28 @@ public interface ElementLogicalInterfaceService {
 	 * @return the matching logical interfaces.
 	 */
 	ElementLogicalInterfaces findLogicalInterfaces(ElementName elementName, String filter, int limit);
+	
+	/**
+	 * Finds the logical interfaces for the specified element matching the specified filter, 
+	 * ordered by interface name and following the specified logical interface.
+	 * @param elementId the element ID
+	 * @param filter a filter for interface name, IP prefix or VLAN ID.
+	 * @param after the name of the last logical interface of the previous page or <code>null</code> to read the first page.
+	 * @param limit the maximum number of logical interfaces to return
+	 * @return the matching logical interfaces and the cursor of the next page, if more matching logical interfaces exist.
+	 */
+	ElementLogicalInterfaces findLogicalInterfaces(ElementId elementId, String filter, InterfaceName after, int limit);
+	
+	/**
+	 * Finds the logical interfaces for the specified element matching the specified filter, 
+	 * ordered by interface name and following the specified logical interface.
+	 * @param elementName the element name
+	 * @param filter a filter for interface name, IP prefix or VLAN ID.
+	 * @param after the name of the last logical interface of the previous page or <code>null</code> to read the first page.
+	 * @param limit the maximum number of logical interfaces to return
+	 * @return the matching logical interfaces and the cursor of the next page, if more matching logical interfaces exist.
+	 */
+	ElementLogicalInterfaces findLogicalInterfaces(ElementName elementName, String filter, InterfaceName after, int limit);
 
 	
 	/**
@@ -112,5 +136,28 @@ public interface ElementLogicalInterfaceService {
 	 */
 	void removeLogicalInterfaces(ElementName elementName);
 	
+	/**
+	 * Synchronizes the logical interfaces of the specified element with a complete snapshot of its logical interfaces.
+	 * Missing logical interfaces are added, modified logical interfaces are updated 
+	 * and logical interfaces not contained in the snapshot are removed.
+	 * Only added and removed addresses and VLANs of a modified logical interface are written.
+	 * @param elementId the element ID
+	 * @param ifls the snapshot of all logical interfaces
+	 * @return the names of the added, updated and removed logical interfaces
+	 * @throws EntityNotFoundException if the specified element does not exist
+	 */
+	ElementLogicalInterfaceSyncResult syncLogicalInterfaces(ElementId elementId, List<ElementLogicalInterfaceSubmission> ifls);
+	
+	/**
+	 * Synchronizes the logical interfaces of the specified element with a complete snapshot of its logical interfaces.
+	 * Missing logical interfaces are added, modified logical interfaces are updated 
+	 * and logical interfaces not contained in the snapshot are removed.
+	 * Only added and removed addresses and VLANs of a modified logical interface are written.
+	 * @param elementName the element name
+	 * @param ifls the snapshot of all logical interfaces
+	 * @return the names of the added, updated and removed logical interfaces
+	 * @throws EntityNotFoundException if the specified element does not exist
+	 */
+	ElementLogicalInterfaceSyncResult syncLogicalInterfaces(ElementName elementName, List<ElementLogicalInterfaceSubmission> ifls);
 	
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static io.leitstand.commons.model.BuilderUtil.assertNotInvalidated;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.json.bind.annotation.JsonbProperty;
+
+/**
+ * The outcome of a logical interface synchronization.
+ * <p>
+ * The synchronization result only reports the names of the logical interfaces that have been added, updated or removed.
+ * Unmodified logical interfaces are omitted.
+ * The logical interfaces themselves are not reported, 
+ * because an element can have tens of thousands of logical interfaces.
+ * @see ElementLogicalInterfaceService#syncLogicalInterfaces(ElementId, List)
+ */
+public class ElementLogicalInterfaceSyncResult extends BaseElementEnvelope{
+
+	/**
+	 * Returns a builder to create an immutable <code>ElementLogicalInterfaceSyncResult</code> instance.
+	 * @return a builder to create an immutable <code>ElementLogicalInterfaceSyncResult</code> instance.
+	 */
+	public static Builder newLogicalInterfaceSyncResult(){
+		return new Builder();
+	}
+	
+	/**
+	 * The builder of an immutable <code>ElementLogicalInterfaceSyncResult</code> instance.
+	 */
+	public static class Builder extends BaseElementEnvelopeBuilder<ElementLogicalInterfaceSyncResult, Builder>{
+		
+		public Builder() {
+			super(new ElementLogicalInterfaceSyncResult());
+		}
+		
+		/**
+		 * Sets the names of the added logical interfaces.
+		 * @param iflNames - the added logical interface names
+		 * @return a reference to this builder to continue object creation
+		 */
+		public Builder withAddedInterfaces(List<InterfaceName> iflNames) {
+			assertNotInvalidated(getClass(), object);
+			object.addedIfls = unmodifiableList(new ArrayList<>(iflNames));
+			return this;
+		}
+		
+		/**
+		 * Sets the names of the updated logical interfaces.
+		 * @param iflNames - the updated logical interface names
+		 * @return a reference to this builder to continue object creation
+		 */
+		public Builder withUpdatedInterfaces(List<InterfaceName> iflNames) {
+			assertNotInvalidated(getClass(), object);
+			object.updatedIfls = unmodifiableList(new ArrayList<>(iflNames));
+			return this;
+		}
+		
+		/**
+		 * Sets the names of the removed logical interfaces.
+		 * @param iflNames - the removed logical interface names
+		 * @return a reference to this builder to continue object creation
+		 */
+		public Builder withRemovedInterfaces(List<InterfaceName> iflNames) {
+			assertNotInvalidated(getClass(), object);
+			object.removedIfls = unmodifiableList(new ArrayList<>(iflNames));
+			return this;
+		}
+		
+	}
+	
+	@JsonbProperty("added_ifls")
+	private List<InterfaceName> addedIfls = emptyList();
+	
+	@JsonbProperty("updated_ifls")
+	private List<InterfaceName> updatedIfls = emptyList();
+	
+	@JsonbProperty("removed_ifls")
+	private List<InterfaceName> removedIfls = emptyList();
+	
+	/**
+	 * Returns an immutable list of the names of the added logical interfaces.
+	 * @return the added logical interface names.
+	 */
+	public List<InterfaceName> getAddedInterfaces() {
+		return addedIfls;
+	}
+	
+	/**
+	 * Returns an immutable list of the names of the updated logical interfaces.
+	 * @return the updated logical interface names.
+	 */
+	public List<InterfaceName> getUpdatedInterfaces() {
+		return updatedIfls;
+	}
+	
+	/**
+	 * Returns an immutable list of the names of the removed logical interfaces.
+	 * @return the removed logical interface names.
+	 */
+	public List<InterfaceName> getRemovedInterfaces() {
+		return removedIfls;
+	}
+	
+	/**
+	 * Returns whether the synchronization has not modified any logical interface.
+	 * @return <code>true</code> if no logical interface was modified, <code>false</code> otherwise.
+	 */
+	public boolean isUnmodified() {
+		return addedIfls.isEmpty() && updatedIfls.isEmpty() && removedIfls.isEmpty();
+	}
+	
+}
@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import javax.json.bind.annotation.JsonbProperty;
+import javax.json.bind.annotation.JsonbTransient;
 
 
 /**
@@ -72,11 +73,25 @@ public class ElementLogicalInterfaces extends BaseElementEnvelope{
 			return this;
 		}
 		
+		/**
+		 * Sets the name of the last logical interface of this page, if more logical interfaces exist.
+		 * @param iflName the name of the last logical interface of this page or <code>null</code> if this is the last page.
+		 * @return a reference to this builder to continue object creation.
+		 */
+		public Builder withNextCursor(InterfaceName iflName) {
+			assertNotInvalidated(getClass(), object);
+			object.nextCursor = iflName;
+			return this;
+		}
+		
 	}
 	
 	@JsonbProperty("logical_interfaces")
 	private List<ElementLogicalInterfaceData> logicalInterfaces = emptyList();
 	
+	@JsonbTransient
+	private InterfaceName nextCursor;
+	
 	/**
 	 * Returns an immutable list of all logical interfaces defined on the element.
 	 * @return the list of all logical interfaces
@@ -84,4 +99,22 @@ public class ElementLogicalInterfaces extends BaseElementEnvelope{
 	public List<ElementLogicalInterfaceData> getLogicalInterfaces() {
 		return logicalInterfaces;
 	}
+	
+	/**
+	 * Returns the cursor to read the next page of logical interfaces.
+	 * The cursor is the name of the last logical interface of this page.
+	 * @return the cursor of the next page or <code>null</code> if this is the last page.
+	 */
+	public InterfaceName getNextCursor() {
+		return nextCursor;
+	}
+	
+	/**
+	 * Returns whether this is the last page of logical interfaces.
+	 * @return <code>true</code> if no more logical interfaces exist, <code>false</code> otherwise.
+	 */
+	public boolean isEof() {
+		return nextCursor == null;
+	}
+	
 }
@@ -143,6 +143,30 @@ public interface ElementPhysicalInterfaceService {
 	 */
 	void storePhysicalInterfaces(ElementName elementName, List<ElementPhysicalInterfaceSubmission> ifcs);
 	
+	/**
+	 * Synchronizes the physical interfaces of the specified element with a complete snapshot of its physical interfaces.
+	 * Missing physical interfaces are added, modified physical interfaces are updated 
+	 * and physical interfaces not contained in the snapshot are removed.
+	 * @param elementId the element ID
+	 * @param ifps the snapshot of all physical interfaces
+	 * @return the added, updated and removed physical interfaces
+	 * @throws EntityNotFoundException if the specified element does not exist
+	 * @throws io.leitstand.commons.ConflictException if a removed physical interface has logical interfaces
+	 */
+	ElementPhysicalInterfaceSyncResult syncPhysicalInterfaces(ElementId elementId, List<ElementPhysicalInterfaceSubmission> ifps);
+	
+	/**
+	 * Synchronizes the physical interfaces of the specified element with a complete snapshot of its physical interfaces.
+	 * Missing physical interfaces are added, modified physical interfaces are updated 
+	 * and physical interfaces not contained in the snapshot are removed.
+	 * @param elementName the element name
+	 * @param ifps the snapshot of all physical interfaces
+	 * @return the added, updated and removed physical interfaces
+	 * @throws EntityNotFoundException if the specified element does not exist
+	 * @throws io.leitstand.commons.ConflictException if a removed physical interface has logical interfaces
+	 */
+	ElementPhysicalInterfaceSyncResult syncPhysicalInterfaces(ElementName elementName, List<ElementPhysicalInterfaceSubmission> ifps);
+	
 	/**
 	 * Updates the administrative state of a physical interface.
 	 * @param name the element name
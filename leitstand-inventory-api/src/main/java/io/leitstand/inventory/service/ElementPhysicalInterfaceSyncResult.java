@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static io.leitstand.commons.model.BuilderUtil.assertNotInvalidated;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.json.bind.annotation.JsonbProperty;
+
+/**
+ * The outcome of a physical interface synchronization.
+ * <p>
+ * The synchronization result only reports the physical interfaces that have been added, updated or removed.
+ * Unmodified physical interfaces are omitted.
+ * @see ElementPhysicalInterfaceService#syncPhysicalInterfaces(ElementId, List)
+ */
+public class ElementPhysicalInterfaceSyncResult extends BaseElementEnvelope{
+
+	/**
+	 * Returns a builder to create an immutable <code>ElementPhysicalInterfaceSyncResult</code> instance.
+	 * @return a builder to create an immutable <code>ElementPhysicalInterfaceSyncResult</code> instance.
+	 */
+	public static Builder newPhysicalInterfaceSyncResult(){
+		return new Builder();
+	}
+	
+	/**
+	 * The builder of an immutable <code>ElementPhysicalInterfaceSyncResult</code> instance.
+	 */
+	public static class Builder extends BaseElementEnvelopeBuilder<ElementPhysicalInterfaceSyncResult, Builder>{
+		
+		public Builder() {
+			super(new ElementPhysicalInterfaceSyncResult());
+		}
+		
+		/**
+		 * Sets the added physical interfaces.
+		 * @param ifps - the added physical interfaces
+		 * @return a reference to this builder to continue object creation
+		 */
+		public Builder withAddedInterfaces(List<ElementPhysicalInterfaceData> ifps) {
+			assertNotInvalidated(getClass(), object);
+			object.addedIfps = unmodifiableList(new ArrayList<>(ifps));
+			return this;
+		}
+		
+		/**
+		 * Sets the updated physical interfaces.
+		 * @param ifps - the updated physical interfaces
+		 * @return a reference to this builder to continue object creation
+		 */
+		public Builder withUpdatedInterfaces(List<ElementPhysicalInterfaceData> ifps) {
+			assertNotInvalidated(getClass(), object);
+			object.updatedIfps = unmodifiableList(new ArrayList<>(ifps));
+			return this;
+		}
+		
+		/**
+		 * Sets the names of the removed physical interfaces.
+		 * @param ifpNames - the removed physical interface names
+		 * @return a reference to this builder to continue object creation
+		 */
+		public Builder withRemovedInterfaces(List<InterfaceName> ifpNames) {
+			assertNotInvalidated(getClass(), object);
+			object.removedIfps = unmodifiableList(new ArrayList<>(ifpNames));
+			return this;
+		}
+		
+	}
+	
+	@JsonbProperty("added_ifps")
+	private List<ElementPhysicalInterfaceData> addedIfps = emptyList();
+	
+	@JsonbProperty("updated_ifps")
+	private List<ElementPhysicalInterfaceData> updatedIfps = emptyList();
+	
+	@JsonbProperty("removed_ifps")
+	private List<InterfaceName> removedIfps = emptyList();
+	
+	/**
+	 * Returns an immutable list of the added physical interfaces.
+	 * @return the added physical interfaces.
+	 */
+	public List<ElementPhysicalInterfaceData> getAddedInterfaces() {
+		return addedIfps;
+	}
+	
+	/**
+	 * Returns an immutable list of the updated physical interfaces.
+	 * @return the updated physical interfaces.
+	 */
+	public List<ElementPhysicalInterfaceData> getUpdatedInterfaces() {
+		return updatedIfps;
+	}
+	
+	/**
+	 * Returns an immutable list of the names of the removed physical interfaces.
+	 * @return the removed physical interface names.
+	 */
+	public List<InterfaceName> getRemovedInterfaces() {
+		return removedIfps;
+	}
+	
+	/**
+	 * Returns whether the synchronization has not modified any physical interface.
+	 * @return <code>true</code> if no physical interface was modified, <code>false</code> otherwise.
+	 */
+	public boolean isUnmodified() {
+		return addedIfps.isEmpty() && updatedIfps.isEmpty() && removedIfps.isEmpty();
+	}
+	
+}
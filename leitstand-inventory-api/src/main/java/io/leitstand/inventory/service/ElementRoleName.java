@@ -26,13 +26,15 @@ import io.leitstand.inventory.jsonb.ElementRoleNameAdapter;
 public class ElementRoleName extends Scalar<String> {
 
 	private static final long serialVersionUID = 1L;
+	
+	private static final ValueCache<ElementRoleName> CACHE = new ValueCache<>(1024,ElementRoleName::new);
 
 	public static ElementRoleName elementRoleName(String role) {
 		return valueOf(role);
 	}
 	
 	public static ElementRoleName valueOf(String role) {
-		return fromString(role,ElementRoleName::new);
+		return CACHE.valueOf(role);
 	}
 	
 	@NotNull(message="{element_type.required}")
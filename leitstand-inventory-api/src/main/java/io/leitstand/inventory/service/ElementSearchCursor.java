@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static java.lang.Integer.parseInt;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Base64.getUrlDecoder;
+import static java.util.Base64.getUrlEncoder;
+
+import java.util.Objects;
+
+/**
+ * A position in the ranked element search result.
+ * <p>
+ * The element search result is ordered by rank, group name, element name and element ID.
+ * The rank expresses how well the search term matches an element, 
+ * where an exact match ranks before a prefix match, a prefix match before a word prefix match, 
+ * and a word prefix match before any other substring match.
+ * A cursor stores the sort key of the last element of a result page. 
+ * The next page starts with the first element following the cursor. 
+ * The string representation of a cursor is opaque to clients.
+ * @see ElementService#searchElements(String, ElementSearchCursor, int)
+ */
+public final class ElementSearchCursor {
+
+	private static final char SEPARATOR = '\u0000';
+	
+	/**
+	 * Returns the cursor pointing to the specified element.
+	 * @param rank the rank of the element match
+	 * @param groupName the element group name
+	 * @param elementName the element name
+	 * @param elementId the element ID
+	 * @return the cursor pointing to the specified element.
+	 */
+	public static ElementSearchCursor cursorOf(int rank,
+											   ElementGroupName groupName,
+											   ElementName elementName,
+											   ElementId elementId) {
+		return new ElementSearchCursor(rank,
+									   groupName.getValue(),
+									   elementName.getValue(),
+									   elementId.getValue());
+	}
+	
+	/**
+	 * Parses the string representation of a cursor.
+	 * @param cursor the string representation of the cursor
+	 * @return the cursor or <code>null</code> if the specified string is <code>null</code> or empty.
+	 * @throws IllegalArgumentException if the specified string is not a valid cursor
+	 */
+	public static ElementSearchCursor valueOf(String cursor) {
+		if(cursor == null || cursor.isEmpty()) {
+			return null;
+		}
+		String key = new String(getUrlDecoder().decode(cursor), UTF_8);
+		String[] segments = key.split(String.valueOf(SEPARATOR), -1);
+		if(segments.length != 4) {
+			throw new IllegalArgumentException("Invalid cursor: "+cursor);
+		}
+		// NumberFormatException is an IllegalArgumentException
+		return new ElementSearchCursor(parseInt(segments[0]), 
+									   segments[1], 
+									   segments[2], 
+									   segments[3]);
+	}
+	
+	private final int rank;
+	private final String groupName;
+	private final String elementName;
+	private final String elementId;
+	
+	private ElementSearchCursor(int rank,
+								String groupName, 
+								String elementName, 
+								String elementId) {
+		this.rank = rank;
+		this.groupName = groupName;
+		this.elementName = elementName;
+		this.elementId = elementId;
+	}
+	
+	public int getRank() {
+		return rank;
+	}
+	
+	public String getGroupName() {
+		return groupName;
+	}
+	
+	public String getElementName() {
+		return elementName;
+	}
+	
+	public String getElementId() {
+		return elementId;
+	}
+	
+	@Override
+	public boolean equals(Object o) {
+		if(o == this) {
+			return true;
+		}
+		if(o == null || o.getClass() != getClass()) {
+			return false;
+		}
+		ElementSearchCursor cursor = (ElementSearchCursor) o;
+		return rank == cursor.rank
+			   && groupName.equals(cursor.groupName)
+			   && elementName.equals(cursor.elementName)
+			   && elementId.equals(cursor.elementId);
+	}
+	
+	@Override
+	public int hashCode() {
+		return Objects.hash(rank, groupName, elementName, elementId);
+	}
+	
+	/**
+	 * Returns the opaque string representation of this cursor.
+	 * @return the opaque string representation of this cursor.
+	 */
+	@Override
+	public String toString() {
+		String key = Integer.toString(rank) + SEPARATOR + groupName + SEPARATOR + elementName + SEPARATOR + elementId;
+		return getUrlEncoder().withoutPadding().encodeToString(key.getBytes(UTF_8));
+	}
+	
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static java.util.Collections.unmodifiableList;
+
+import java.util.List;
+
+/**
+ * A page of the ranked element search result.
+ * @see ElementService#searchElements(String, ElementSearchCursor, int)
+ */
+public class ElementSearchResult {
+
+	/**
+	 * Creates a page of the element search result.
+	 * @param elements the elements of this page
+	 * @param next the cursor of the next page or <code>null</code> if this is the last page.
+	 * @return the element search result page.
+	 */
+	public static ElementSearchResult searchResult(List<ElementSettings> elements, 
+												   ElementSearchCursor next) {
+		return new ElementSearchResult(elements, next);
+	}
+	
+	private final List<ElementSettings> elements;
+	private final ElementSearchCursor next;
+	
+	private ElementSearchResult(List<ElementSettings> elements, 
+								ElementSearchCursor next) {
+		this.elements = unmodifiableList(elements);
+		this.next = next;
+	}
+	
+	/**
+	 * Returns the elements of this page in ranking order.
+	 * @return the elements of this page.
+	 */
+	public List<ElementSettings> getElements() {
+		return elements;
+	}
+	
+	/**
+	 * Returns the cursor of the next page.
+	 * @return the cursor of the next page or <code>null</code> if this is the last page.
+	 */
+	public ElementSearchCursor getNextCursor() {
+		return next;
+	}
+	
+	/**
+	 * Returns whether this is the last page of the search result.
+	 * @return <code>true</code> if no further matches exist, <code>false</code> otherwise.
+	 */
+	public boolean isEof() {
+		return next == null;
+	}
+	
+}
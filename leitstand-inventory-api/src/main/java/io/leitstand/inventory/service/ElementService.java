@@ -97,6 +97,22 @@ public interface ElementService {
 	 */
 	List<ElementSettings> findElementsByManagementIP(String filter, int offset, int items);
 
+	/**
+	 * Searches for elements that contain the specified search term and returns the matches ranked by relevance.
+	 * The search term is a plain, case-insensitive text and is applied to the element name, element alias, 
+	 * element tags, serial number, asset ID and the management interface hostnames.
+	 * Exact matches rank before prefix matches, prefix matches before word prefix matches and 
+	 * word prefix matches before any other substring matches.
+	 * Matches of the same rank are sorted by group name and element name.
+	 * <p>
+	 * This method supports keyset pagination by means of a cursor pointing to the last element of the previous page.
+	 * @param term the search term
+	 * @param cursor the cursor of the previous page or <code>null</code> to read the first page
+	 * @param limit the maximum number of elements to be returned
+	 * @return the requested page of the ranked search result.
+	 */
+	ElementSearchResult searchElements(String term, ElementSearchCursor cursor, int limit);
+
 	/**
 	 * Removes the specified element.
 	 * Only inactive elements are removable.
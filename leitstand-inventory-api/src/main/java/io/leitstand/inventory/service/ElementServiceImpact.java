@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static io.leitstand.commons.model.BuilderUtil.assertNotInvalidated;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.List;
+
+/**
+ * The services affected by an outage of an element or an element service.
+ * <p>
+ * The affected services comprise the failed services and all services that directly or indirectly run on a failed service,
+ * regardless of the element they are located on. 
+ * The services are ordered by their distance to the failed services.
+ */
+public class ElementServiceImpact extends BaseElementEnvelope {
+
+	public static Builder newElementServiceImpact(){
+		return new Builder();
+	}
+	
+	public static class Builder extends BaseElementEnvelopeBuilder<ElementServiceImpact, Builder> {
+		
+		public Builder() {
+			super(new ElementServiceImpact());
+		}
+		
+		public Builder withServices(List<ServiceInfo> services){
+			assertNotInvalidated(getClass(), object);
+			object.services = services;
+			return this;
+		}
+
+	}
+	
+	private List<ServiceInfo> services = emptyList();
+	
+	public List<ServiceInfo> getServices() {
+		return unmodifiableList(services);
+	}
+	
+}
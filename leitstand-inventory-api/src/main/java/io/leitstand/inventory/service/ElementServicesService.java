@@ -18,6 +18,7 @@ package io.leitstand.inventory.service;
 import java.util.List;
 
 import io.leitstand.commons.EntityNotFoundException;
+import io.leitstand.commons.UnprocessableEntityException;
 
 /**
  * A stateless and transactional service to manage element service informations.
@@ -60,6 +61,44 @@ public interface ElementServicesService {
 	 * @throws EntityNotFoundException if the element or service instance does not exist.
 	 */
 	ElementServiceStack getElementServiceStack(ElementName name, ServiceName service);
+	
+	/**
+	 * Returns the services affected by an outage of the specified service on a certain element.
+	 * The affected services are the specified service and all services that directly or indirectly run on the specified service.
+	 * @param id the element ID
+	 * @param service the service name
+	 * @return the affected services
+	 * @throws EntityNotFoundException if the element or service instance does not exist.
+	 */
+	ElementServiceImpact getElementServiceImpact(ElementId id, ServiceName service);
+	
+	/**
+	 * Returns the services affected by an outage of the specified service on a certain element.
+	 * The affected services are the specified service and all services that directly or indirectly run on the specified service.
+	 * @param name the element name
+	 * @param service the service name
+	 * @return the affected services
+	 * @throws EntityNotFoundException if the element or service instance does not exist.
+	 */
+	ElementServiceImpact getElementServiceImpact(ElementName name, ServiceName service);
+	
+	/**
+	 * Returns the services affected by an outage of the specified element.
+	 * The affected services are all services of the element and all services that directly or indirectly run on a service of the element.
+	 * @param id the element ID
+	 * @return the affected services
+	 * @throws EntityNotFoundException if the element does not exist.
+	 */
+	ElementServiceImpact getElementServiceImpact(ElementId id);
+	
+	/**
+	 * Returns the services affected by an outage of the specified element.
+	 * The affected services are all services of the element and all services that directly or indirectly run on a service of the element.
+	 * @param name the element name
+	 * @return the affected services
+	 * @throws EntityNotFoundException if the element does not exist.
+	 */
+	ElementServiceImpact getElementServiceImpact(ElementName name);
 
 	ElementServiceContext getElementService(ElementId elementId, ServiceName service);
 	ElementServiceContext getElementService(ElementName elementName, ServiceName service);
@@ -72,6 +111,7 @@ public interface ElementServicesService {
 	 * @param service the service submission
 	 * @return <code>true</code> if a new service record was created or <code>false</code> if an existing service record has been updated.
 	 * @throws EntityNotFoundException if the element does not exist.
+	 * @throws UnprocessableEntityException if the parent service already depends on the submitted service.
 	 */
 	boolean storeElementService(ElementId id, ElementServiceSubmission service);
 
@@ -83,6 +123,7 @@ public interface ElementServicesService {
 	 * @param service the service submission
 	 * @return <code>true</code> if a new service record was created or <code>false</code> if an existing service record has been updated.
 	 * @throws EntityNotFoundException if the element does not exist.
+	 * @throws UnprocessableEntityException if the parent service already depends on the submitted service.
 	 */
 	boolean storeElementService(ElementName name, ElementServiceSubmission service);
 
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static io.leitstand.commons.model.BuilderUtil.assertNotInvalidated;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.List;
+
+import io.leitstand.commons.model.ValueObject;
+
+/**
+ * An IP address assigned to more than one logical interface in the same routing instance.
+ */
+public class IPAddressConflict extends ValueObject {
+
+	/**
+	 * Returns a new builder to create an immutable <code>IPAddressConflict</code> instance.
+	 * @return a new builder to create an immutable <code>IPAddressConflict</code> instance.
+	 */
+	public static Builder newIPAddressConflict() {
+		return new Builder();
+	}
+	
+	/**
+	 * The builder to create an immutable <code>IPAddressConflict</code> instance.
+	 */
+	public static final class Builder {
+		
+		private IPAddressConflict conflict = new IPAddressConflict();
+		
+		/**
+		 * Sets the conflicting IP address.
+		 * @param address the IP address
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withAddress(String address) {
+			assertNotInvalidated(getClass(), conflict);
+			conflict.address = address;
+			return this;
+		}
+		
+		/**
+		 * Sets the routing instance.
+		 * @param routingInstance the routing instance
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withRoutingInstance(RoutingInstanceName routingInstance) {
+			assertNotInvalidated(getClass(), conflict);
+			conflict.routingInstance = routingInstance;
+			return this;
+		}
+		
+		/**
+		 * Sets the logical interfaces the IP address is assigned to.
+		 * @param interfaces the logical interface addresses
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withInterfaces(List<LogicalInterfaceAddress> interfaces) {
+			assertNotInvalidated(getClass(), conflict);
+			conflict.interfaces = interfaces;
+			return this;
+		}
+		
+		/**
+		 * Returns an immutable <code>IPAddressConflict</code> instance and invalidates this builder.
+		 * @return an immutable <code>IPAddressConflict</code> instance.
+		 */
+		public IPAddressConflict build() {
+			try {
+				assertNotInvalidated(getClass(), conflict);
+				return conflict;
+			} finally {
+				this.conflict = null;
+			}
+		}
+	}
+	
+	private String address;
+	private RoutingInstanceName routingInstance;
+	private List<LogicalInterfaceAddress> interfaces = emptyList();
+	
+	/**
+	 * Returns the conflicting IP address.
+	 * @return the IP address.
+	 */
+	public String getAddress() {
+		return address;
+	}
+	
+	/**
+	 * Returns the routing instance.
+	 * @return the routing instance.
+	 */
+	public RoutingInstanceName getRoutingInstance() {
+		return routingInstance;
+	}
+	
+	/**
+	 * Returns the logical interfaces the IP address is assigned to.
+	 * @return the logical interface addresses.
+	 */
+	public List<LogicalInterfaceAddress> getInterfaces() {
+		return unmodifiableList(interfaces);
+	}
+	
+}
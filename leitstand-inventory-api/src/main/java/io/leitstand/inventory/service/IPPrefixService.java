@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import java.util.List;
+
+/**
+ * A stateless service to query the IP addresses of all logical interfaces of all elements.
+ */
+public interface IPPrefixService {
+
+	/**
+	 * Returns the logical interfaces attached to the most specific subnet that contains the specified IP address.
+	 * @param address the IPv4 or IPv6 address, optionally in CIDR notation
+	 * @return the logical interfaces of the longest matching prefix or an empty list if no subnet contains the address.
+	 * @throws UnprocessableEntityException if the specified address is not a valid IP address.
+	 */
+	List<LogicalInterfaceAddress> findLongestPrefixMatch(String address);
+	
+	/**
+	 * Returns all logical interface addresses within the specified prefix in address order.
+	 * @param prefix the IPv4 or IPv6 prefix in CIDR notation
+	 * @param limit the maximum number of returned addresses
+	 * @return the logical interface addresses covered by the specified prefix.
+	 * @throws UnprocessableEntityException if the specified prefix is not a valid IP prefix.
+	 */
+	List<LogicalInterfaceAddress> findCoveredAddresses(String prefix, int limit);
+	
+	/**
+	 * Returns all IP addresses assigned to more than one logical interface in the same routing instance.
+	 * @param limit the maximum number of returned conflicts
+	 * @return the IP address conflicts.
+	 */
+	List<IPAddressConflict> findAddressConflicts(int limit);
+	
+}
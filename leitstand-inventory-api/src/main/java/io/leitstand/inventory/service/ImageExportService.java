@@ -15,6 +15,8 @@
  */
 package io.leitstand.inventory.service;
 
+import java.util.function.Consumer;
+
 /**
  * A service to export image settings.
  */
@@ -36,8 +38,29 @@ public interface ImageExportService {
 							  ImageState state,
 							  Version version);
 	
+	/**
+	 * Passes all images matching the specified criteria to the given consumer.
+	 * In contrast to {@link #exportImages(String, ElementRoleName, ImageType, ImageState, Version)}, 
+	 * the images are passed to the consumer as soon as they are loaded, so that the export can be streamed to the client.
+	 * The images are passed in the order they were added to the inventory.
+	 * @param filter - an optional filter expression for the image name or an image ID
+	 * @param role - an optional filter for images of a certain element role.
+	 * @param type - an optional image type
+	 * @param state - an optional image state
+	 * @param version - an optional image version
+	 * @param images - the consumer of the exported images
+	 */
+	void exportImages(String filter,
+					  ElementRoleName role,
+					  ImageType type,
+					  ImageState state,
+					  Version version,
+					  Consumer<ImageInfo> images);
+	
 	/**
 	 * Imports an image export.
+	 * All images of the export are stored in a single transaction.
+	 * The import fails if an image refers to an unknown element role or an unknown element.
 	 * @param export - the image export to be imported
 	 */
 	void importImages(ImagesExport export);
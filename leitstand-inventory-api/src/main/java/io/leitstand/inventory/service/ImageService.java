@@ -28,6 +28,8 @@ public interface ImageService {
     ImageStatisticsElementGroupElementImages getElementGroupImageStatistics(ImageId imageId,
                                                                             ElementGroupType groupType, 
                                                                             ElementGroupName groupName);
+    
+    List<ImageUpgradeCandidate> findUpgradeCandidates(ImageId imageId);
 	
 	List<ImageType> getImageTypes();
 	
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static io.leitstand.commons.model.BuilderUtil.assertNotInvalidated;
+
+import io.leitstand.inventory.service.ElementAvailableUpgrade.UpgradeType;
+
+/**
+ * An element that can be upgraded to a certain image.
+ * <p>
+ * The upgrade candidate conveys the active image of the element and the type of the upgrade.
+ */
+public class ImageUpgradeCandidate extends BaseElementEnvelope {
+
+	/**
+	 * Returns a builder for an immutable <code>ImageUpgradeCandidate</code> instance.
+	 * @return a builder for an immutable <code>ImageUpgradeCandidate</code> instance.
+	 */
+	public static Builder newImageUpgradeCandidate() {
+		return new Builder();
+	}
+	
+	/**
+	 * The builder for an immutable <code>ImageUpgradeCandidate</code> instance.
+	 */
+	public static class Builder extends BaseElementEnvelopeBuilder<ImageUpgradeCandidate, Builder>{
+		
+		protected Builder() {
+			super(new ImageUpgradeCandidate());
+		}
+		
+		/**
+		 * Sets the ID of the active image of the element.
+		 * @param imageId the image ID
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withImageId(ImageId imageId) {
+			assertNotInvalidated(getClass(), object);
+			object.imageId = imageId;
+			return this;
+		}
+		
+		/**
+		 * Sets the version of the active image of the element.
+		 * @param imageVersion the image version
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withImageVersion(Version imageVersion) {
+			assertNotInvalidated(getClass(), object);
+			object.imageVersion = imageVersion;
+			return this;
+		}
+		
+		/**
+		 * Sets the upgrade type.
+		 * @param upgradeType the upgrade type
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withUpgradeType(UpgradeType upgradeType) {
+			assertNotInvalidated(getClass(), object);
+			object.upgradeType = upgradeType;
+			return this;
+		}
+	}
+	
+	private ImageId imageId;
+	private Version imageVersion;
+	private UpgradeType upgradeType;
+	
+	/**
+	 * Returns the ID of the active image of the element.
+	 * @return the image ID.
+	 */
+	public ImageId getImageId() {
+		return imageId;
+	}
+	
+	/**
+	 * Returns the version of the active image of the element.
+	 * @return the image version.
+	 */
+	public Version getImageVersion() {
+		return imageVersion;
+	}
+	
+	/**
+	 * Returns the upgrade type.
+	 * @return the upgrade type.
+	 */
+	public UpgradeType getUpgradeType() {
+		return upgradeType;
+	}
+	
+}
@@ -30,13 +30,15 @@ public class InterfaceName extends Scalar<String>{
 
 	private static final long serialVersionUID = 1L;
 	
+	private static final ValueCache<InterfaceName> CACHE = new ValueCache<>(16384,InterfaceName::new);
+	
 	public static InterfaceName interfaceName(String name) {
 		return valueOf(name);
 	}
 
 	
 	public static InterfaceName valueOf(String name) {
-		return fromString(name,InterfaceName::new);
+		return CACHE.valueOf(name);
 	}
 
 	@NotNull(message="{interface_name.required}")
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static io.leitstand.commons.model.BuilderUtil.assertNotInvalidated;
+
+import io.leitstand.commons.model.ValueObject;
+
+/**
+ * An IP address of a logical interface and the element the logical interface belongs to.
+ */
+public class LogicalInterfaceAddress extends ValueObject {
+
+	/**
+	 * Returns a new builder to create an immutable <code>LogicalInterfaceAddress</code> instance.
+	 * @return a new builder to create an immutable <code>LogicalInterfaceAddress</code> instance.
+	 */
+	public static Builder newLogicalInterfaceAddress() {
+		return new Builder();
+	}
+	
+	/**
+	 * The builder to create an immutable <code>LogicalInterfaceAddress</code> instance.
+	 */
+	public static final class Builder {
+		
+		private LogicalInterfaceAddress address = new LogicalInterfaceAddress();
+		
+		/**
+		 * Sets the ID of the element group the element belongs to.
+		 * @param groupId the group ID
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withGroupId(ElementGroupId groupId) {
+			assertNotInvalidated(getClass(), address);
+			address.groupId = groupId;
+			return this;
+		}
+		
+		/**
+		 * Sets the type of the element group the element belongs to.
+		 * @param groupType the group type
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withGroupType(ElementGroupType groupType) {
+			assertNotInvalidated(getClass(), address);
+			address.groupType = groupType;
+			return this;
+		}
+		
+		/**
+		 * Sets the name of the element group the element belongs to.
+		 * @param groupName the group name
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withGroupName(ElementGroupName groupName) {
+			assertNotInvalidated(getClass(), address);
+			address.groupName = groupName;
+			return this;
+		}
+		
+		/**
+		 * Sets the element ID.
+		 * @param elementId the element ID
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withElementId(ElementId elementId) {
+			assertNotInvalidated(getClass(), address);
+			address.elementId = elementId;
+			return this;
+		}
+		
+		/**
+		 * Sets the element name.
+		 * @param elementName the element name
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withElementName(ElementName elementName) {
+			assertNotInvalidated(getClass(), address);
+			address.elementName = elementName;
+			return this;
+		}
+		
+		/**
+		 * Sets the element role.
+		 * @param elementRole the element role
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withElementRole(ElementRoleName elementRole) {
+			assertNotInvalidated(getClass(), address);
+			address.elementRole = elementRole;
+			return this;
+		}
+		
+		/**
+		 * Sets the logical interface name.
+		 * @param iflName the logical interface name
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withIflName(InterfaceName iflName) {
+			assertNotInvalidated(getClass(), address);
+			address.iflName = iflName;
+			return this;
+		}
+		
+		/**
+		 * Sets the routing instance of the logical interface.
+		 * @param routingInstance the routing instance
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withRoutingInstance(RoutingInstanceName routingInstance) {
+			assertNotInvalidated(getClass(), address);
+			address.routingInstance = routingInstance;
+			return this;
+		}
+		
+		/**
+		 * Sets the IP address of the logical interface in CIDR notation.
+		 * @param ifa the IP address
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withAddress(IPvxPrefix ifa) {
+			assertNotInvalidated(getClass(), address);
+			address.address = ifa;
+			return this;
+		}
+		
+		/**
+		 * Returns an immutable <code>LogicalInterfaceAddress</code> instance and invalidates this builder.
+		 * @return an immutable <code>LogicalInterfaceAddress</code> instance.
+		 */
+		public LogicalInterfaceAddress build() {
+			try {
+				assertNotInvalidated(getClass(), address);
+				return address;
+			} finally {
+				this.address = null;
+			}
+		}
+	}
+	
+	private ElementGroupId groupId;
+	private ElementGroupType groupType;
+	private ElementGroupName groupName;
+	private ElementId elementId;
+	private ElementName elementName;
+	private ElementRoleName elementRole;
+	private InterfaceName iflName;
+	private RoutingInstanceName routingInstance;
+	private IPvxPrefix address;
+	
+	/**
+	 * Returns the ID of the element group the element belongs to.
+	 * @return the group ID.
+	 */
+	public ElementGroupId getGroupId() {
+		return groupId;
+	}
+	
+	/**
+	 * Returns the type of the element group the element belongs to.
+	 * @return the group type.
+	 */
+	public ElementGroupType getGroupType() {
+		return groupType;
+	}
+	
+	/**
+	 * Returns the name of the element group the element belongs to.
+	 * @return the group name.
+	 */
+	public ElementGroupName getGroupName() {
+		return groupName;
+	}
+	
+	/**
+	 * Returns the element ID.
+	 * @return the element ID.
+	 */
+	public ElementId getElementId() {
+		return elementId;
+	}
+	
+	/**
+	 * Returns the element name.
+	 * @return the element name.
+	 */
+	public ElementName getElementName() {
+		return elementName;
+	}
+	
+	/**
+	 * Returns the element role.
+	 * @return the element role.
+	 */
+	public ElementRoleName getElementRole() {
+		return elementRole;
+	}
+	
+	/**
+	 * Returns the logical interface name.
+	 * @return the logical interface name.
+	 */
+	public InterfaceName getIflName() {
+		return iflName;
+	}
+	
+	/**
+	 * Returns the routing instance of the logical interface.
+	 * @return the routing instance.
+	 */
+	public RoutingInstanceName getRoutingInstance() {
+		return routingInstance;
+	}
+	
+	/**
+	 * Returns the IP address of the logical interface in CIDR notation.
+	 * @return the IP address.
+	 */
+	public IPvxPrefix getAddress() {
+		return address;
+	}
+	
+}
@@ -20,6 +20,15 @@ import javax.json.bind.annotation.JsonbTypeAdapter;
 import io.leitstand.commons.model.Scalar;
 import io.leitstand.inventory.jsonb.MACAddressAdapter;
 
+/**
+ * A MAC address.
+ * <p>
+ * The MAC address is stored in its string representation, which is typically six hexadecimal octets 
+ * delimited by colons (e.g. <code>00:1b:21:3a:4f:5c</code>).
+ * {@link #toLong()} and {@link #toBytes()} provide compact binary forms of a 48-bit MAC address
+ * for indexes and bulk processing, 
+ * {@link #macAddress(long)} restores a <code>MACAddress</code> from its compact form.
+ */
 @JsonbTypeAdapter(MACAddressAdapter.class)
 public class MACAddress extends Scalar<String>{
 
@@ -33,6 +42,26 @@ public class MACAddress extends Scalar<String>{
 		return fromString(macAddress,MACAddress::new);
 	}
 	
+	/**
+	 * Creates a <code>MACAddress</code> from its compact 48-bit representation.
+	 * The octets are formatted as lowercase hexadecimal numbers delimited by colons.
+	 * @param macAddress the 48-bit MAC address
+	 * @return the <code>MACAddress</code>
+	 */
+	public static MACAddress macAddress(long macAddress) {
+		char[] mac = new char[17];
+		for(int i=0; i < 6; i++) {
+			int octet = (int) (macAddress >>> (40 - 8 * i)) & 0xFF;
+			int pos = 3 * i;
+			if(i > 0) {
+				mac[pos-1] = ':';
+			}
+			mac[pos]   = Character.forDigit(octet >> 4, 16);
+			mac[pos+1] = Character.forDigit(octet & 0xF, 16);
+		}
+		return new MACAddress(new String(mac));
+	}
+	
 	private  String value;
 	
 	public MACAddress(String value){
@@ -43,7 +72,52 @@ public class MACAddress extends Scalar<String>{
 	public String getValue() {
 		return value;
 	}
-
-
+	
+	/**
+	 * Returns the compact 48-bit representation of this MAC address.
+	 * Supports six hexadecimal octets delimited by colons or hyphens.
+	 * @return the MAC address as <code>long</code> value
+	 * @throws IllegalArgumentException if this is not a 48-bit MAC address
+	 */
+	public long toLong() {
+		if(value.length() != 17) {
+			throw invalidMacAddress();
+		}
+		long mac = 0;
+		for(int i=0; i < 6; i++) {
+			int pos = 3 * i;
+			if(i > 0) {
+				char delimiter = value.charAt(pos-1);
+				if(delimiter != ':' && delimiter != '-') {
+					throw invalidMacAddress();
+				}
+			}
+			int high = Character.digit(value.charAt(pos), 16);
+			int low  = Character.digit(value.charAt(pos+1), 16);
+			if(high < 0 || low < 0) {
+				throw invalidMacAddress();
+			}
+			mac = (mac << 8) | (high << 4) | low;
+		}
+		return mac;
+	}
+	
+	/**
+	 * Returns the six octets of this MAC address.
+	 * @return the MAC address octets
+	 * @throws IllegalArgumentException if this is not a 48-bit MAC address
+	 */
+	public byte[] toBytes() {
+		long mac = toLong();
+		byte[] octets = new byte[6];
+		for(int i=0; i < 6; i++) {
+			octets[i] = (byte) (mac >>> (40 - 8 * i));
+		}
+		return octets;
+	}
+	
+	private IllegalArgumentException invalidMacAddress() {
+		return new IllegalArgumentException("Invalid MAC address "+value);
+	}
 
 }
@@ -44,12 +44,20 @@ public class OperationalState extends Scalar<String>{
 	public static final OperationalState UNKNOWN = new OperationalState("UNKNOWN");
 	public static final OperationalState DETACHED = new OperationalState("DETACHED");
 	
+	private static final ValueCache<OperationalState> CACHE = new ValueCache<>(256,OperationalState::new);
+	
+	static {
+		for(OperationalState state : new OperationalState[] {UP, DOWN, FAILED, STARTED, PARTIAL, STOPPED, MAINTENANCE, OPERATIONAL, MALFUNCTION, UNKNOWN, DETACHED}) {
+			CACHE.put(state.getValue(), state);
+		}
+	}
+	
 	public static OperationalState operationalState(String state) {
 		return valueOf(state);
 	}
 	
 	public static OperationalState valueOf(String state) {
-		return fromString(state,OperationalState::new);
+		return CACHE.valueOf(state);
 	}
 	
 	private String value;
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Base64.getUrlDecoder;
+import static java.util.Base64.getUrlEncoder;
+
+import java.util.Objects;
+
+/**
+ * A position in the physical interface search result.
+ * <p>
+ * The physical interface search result is ordered by facility name, group name, element name and interface name.
+ * A cursor stores the sort key values of the last interface of a result page. 
+ * The next page starts with the first interface following the cursor. 
+ * In contrast to an offset, a cursor does not require reading and skipping all preceding interfaces.
+ * Because the cursor stores values rather than a reference to the interface,
+ * a cursor remains valid when its interface or element is removed.
+ * The next page then starts with the interface that follows the removed interface in the search order.
+ * The string representation of a cursor is opaque to clients.
+ * @see PhysicalInterfaceService#findPhysicalInterfaces(String, String, PhysicalInterfaceCursor, int)
+ */
+public final class PhysicalInterfaceCursor {
+
+	private static final char SEPARATOR = '\u0000';
+	
+	/**
+	 * Returns the cursor pointing to the specified physical interface.
+	 * @param ifp the physical interface
+	 * @return the cursor pointing to the specified physical interface.
+	 */
+	public static PhysicalInterfaceCursor cursorOf(PhysicalInterfaceData ifp) {
+		return new PhysicalInterfaceCursor(ifp.getFacilityName() != null ? ifp.getFacilityName().getValue() : "",
+										   ifp.getGroupName().getValue(),
+										   ifp.getElementName().getValue(),
+										   ifp.getIfpName().getValue());
+	}
+	
+	/**
+	 * Parses the string representation of a cursor.
+	 * @param cursor the string representation of the cursor
+	 * @return the cursor or <code>null</code> if the specified string is <code>null</code> or empty.
+	 * @throws IllegalArgumentException if the specified string is not a valid cursor
+	 */
+	public static PhysicalInterfaceCursor valueOf(String cursor) {
+		if(cursor == null || cursor.isEmpty()) {
+			return null;
+		}
+		String key = new String(getUrlDecoder().decode(cursor), UTF_8);
+		String[] segments = key.split(String.valueOf(SEPARATOR), -1);
+		if(segments.length != 4) {
+			throw new IllegalArgumentException("Invalid cursor: "+cursor);
+		}
+		return new PhysicalInterfaceCursor(segments[0], 
+										   segments[1], 
+										   segments[2], 
+										   segments[3]);
+	}
+	
+	private final String facilityName;
+	private final String groupName;
+	private final String elementName;
+	private final String ifpName;
+	
+	private PhysicalInterfaceCursor(String facilityName, 
+									String groupName, 
+									String elementName, 
+									String ifpName) {
+		this.facilityName = facilityName;
+		this.groupName = groupName;
+		this.elementName = elementName;
+		this.ifpName = ifpName;
+	}
+	
+	/**
+	 * Returns the facility name or an empty string, if the interface is not located in a facility.
+	 * @return the facility name
+	 */
+	public String getFacilityName() {
+		return facilityName;
+	}
+	
+	public String getGroupName() {
+		return groupName;
+	}
+	
+	public String getElementName() {
+		return elementName;
+	}
+	
+	public String getIfpName() {
+		return ifpName;
+	}
+	
+	@Override
+	public boolean equals(Object o) {
+		if(o == this) {
+			return true;
+		}
+		if(o == null || o.getClass() != getClass()) {
+			return false;
+		}
+		PhysicalInterfaceCursor cursor = (PhysicalInterfaceCursor) o;
+		return facilityName.equals(cursor.facilityName)
+			   && groupName.equals(cursor.groupName)
+			   && elementName.equals(cursor.elementName)
+			   && ifpName.equals(cursor.ifpName);
+	}
+	
+	@Override
+	public int hashCode() {
+		return Objects.hash(facilityName, groupName, elementName, ifpName);
+	}
+	
+	/**
+	 * Returns the opaque string representation of this cursor.
+	 * @return the opaque string representation of this cursor.
+	 */
+	@Override
+	public String toString() {
+		String key = facilityName + SEPARATOR + groupName + SEPARATOR + elementName + SEPARATOR + ifpName;
+		return getUrlEncoder().withoutPadding().encodeToString(key.getBytes(UTF_8));
+	}
+	
+}
@@ -17,11 +17,42 @@ package io.leitstand.inventory.service;
 
 import java.util.List;
 
+/**
+ * A service to search physical interfaces across all elements.
+ * <p>
+ * The search result is ordered by facility name, group name, element name and interface name.
+ * The location filter matches all interfaces located in a facility whose name or location contains the filter string.
+ * The interface filter matches all interfaces whose name starts with the filter string or whose alias contains the filter string.
+ * Both filters are case-insensitive except the interface name prefix.
+ */
 public interface PhysicalInterfaceService {
 
+	/**
+	 * Returns a page of physical interfaces matching the specified filters.
+	 * Prefer {@link #findPhysicalInterfaces(String, String, PhysicalInterfaceCursor, int)} to read subsequent pages,
+	 * because the offset requires reading and skipping all preceding interfaces.
+	 * @param locationFilter the optional location filter
+	 * @param interfaceFilter the optional interface filter
+	 * @param offset the number of interfaces to skip
+	 * @param limit the maximum number of interfaces to return
+	 * @return the matching interfaces
+	 */
 	List<PhysicalInterfaceData> findPhysicalInterfaces(String locationFilter,
 	                                                   String interfaceFilter, 
 	                                                   int offset, 
 	                                                   int limit);
+	
+	/**
+	 * Returns a page of physical interfaces matching the specified filters.
+	 * @param locationFilter the optional location filter
+	 * @param interfaceFilter the optional interface filter
+	 * @param cursor the last interface of the previous page or <code>null</code> to read the first page.
+	 * @param limit the maximum number of interfaces to return
+	 * @return the matching interfaces following the cursor
+	 */
+	List<PhysicalInterfaceData> findPhysicalInterfaces(String locationFilter,
+													   String interfaceFilter,
+													   PhysicalInterfaceCursor cursor,
+													   int limit);
 
 }
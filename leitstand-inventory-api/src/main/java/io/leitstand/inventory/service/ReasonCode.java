@@ -46,6 +46,9 @@ public enum ReasonCode implements Reason{
 	 */
 	IVT0103E_GROUP_NOT_REMOVABLE,
 	
+	/** The requested element group export format does not exist.*/
+	IVT0104E_GROUP_EXPORT_FORMAT_INVALID,
+	
 	/** The requested images does not exist. */
 	IVT0200E_IMAGE_NOT_FOUND,
 	
@@ -67,6 +70,9 @@ public enum ReasonCode implements Reason{
 	/** The image cannot be removed.*/
     IVT0205E_RELEASE_IMAGE_NOT_REMOVABLE, 
     
+	/** An image export has been imported.*/
+	IVT0206I_IMAGES_IMPORTED,
+    
 	/** The release does not exist.*/
 	IVT0210E_RELEASE_NOT_FOUND,
 	
@@ -105,6 +111,9 @@ public enum ReasonCode implements Reason{
 	/** An element with the given name already exists.*/
 	IVT0307E_ELEMENT_NAME_ALREADY_IN_USE,
 	
+	/** The element search cursor is invalid.*/
+	IVT0308E_ELEMENT_SEARCH_CURSOR_INVALID,
+	
 	/** The requested hardware module of an element does not exist.*/
 	IVT0310E_ELEMENT_MODULE_NOT_FOUND,
 
@@ -114,6 +123,15 @@ public enum ReasonCode implements Reason{
 	/** The  hardware module has been removed.*/
 	IVT0312I_ELEMENT_MODULE_REMOVED,
 	
+	/** An element configuration batch submission lacks mandatory properties.*/
+	IVT0327E_ELEMENT_CONFIG_SUBMISSION_INCOMPLETE,
+	
+	/** The requested difference format does not exist.*/
+	IVT0328E_ELEMENT_CONFIG_DIFF_FORMAT_INVALID,
+	
+	/** The requested difference format is not supported for the element configuration content type.*/
+	IVT0329E_ELEMENT_CONFIG_DIFF_NOT_SUPPORTED,
+	
 	/** A new element configuration revision was added to the inventory.*/
 	IVT0330I_ELEMENT_CONFIG_REVISION_STORED,
 	
@@ -129,6 +147,12 @@ public enum ReasonCode implements Reason{
 	/** No active configuration of the element configuration exists.*/
 	IVT0334E_ELEMENT_ACTIVE_CONFIG_NOT_FOUND,
 	
+	/** A line of an element configuration batch submission is malformed.*/
+	IVT0335E_ELEMENT_CONFIG_SUBMISSION_REJECTED,
+	
+	/** The element configuration was modified while being read.*/
+	IVT0336E_ELEMENT_CONFIG_MODIFIED,
+	
 	/** Removed the config with all its revisions.*/
 	IVT0337I_ELEMENT_CONFIG_REMOVED,
 	
@@ -146,6 +170,9 @@ public enum ReasonCode implements Reason{
 
 	/** Service stored for the specified element.*/
 	IVT0322I_ELEMENT_SERVICE_REMOVED,
+	
+	/** The parent service would form a circular service dependency.*/
+	IVT0323E_ELEMENT_SERVICE_CYCLE,
 
 	/** The image is not available on the specified element.*/
 	IVT0340W_ELEMENT_IMAGE_NOT_FOUND,
@@ -192,6 +219,12 @@ public enum ReasonCode implements Reason{
 	/** Removed physical interface neighbor information.*/
 	IVT0356I_ELEMENT_IFP_NEIGHBOR_REMOVED,
 	
+	/** The physical interface search cursor is invalid.*/
+	IVT0357E_ELEMENT_IFP_CURSOR_INVALID,
+	
+	/** The physical interfaces have been synchronized with a physical interface snapshot.*/
+	IVT0358I_ELEMENT_IFPS_SYNCED,
+	
 	/** The logical interface does not exist on this element.*/
 	IVT0360E_ELEMENT_IFL_NOT_FOUND, 
 	
@@ -201,6 +234,12 @@ public enum ReasonCode implements Reason{
 	/** The logical interface has been removed from the inventory*/
 	IVT0362I_ELEMENT_IFL_REMOVED, 
 	
+	/** The specified IP address or IP prefix is invalid.*/
+	IVT0363E_IP_ADDRESS_INVALID,
+	
+	/** The logical interfaces have been synchronized with a logical interface snapshot.*/
+	IVT0364I_ELEMENT_IFLS_SYNCED,
+	
 	/** The logical interface has been removed from the inventory*/
 	IVT0370I_ELEMENT_IFC_STORED,
 
@@ -288,9 +327,27 @@ public enum ReasonCode implements Reason{
 	/** The requested DNS zone cannot be removed.*/
 	IVT0953E_DNS_ZONE_NOT_REMOVABLE,
 	
+	/** The DNS record sets of a DNS zone have been stored.*/
+	IVT0954I_DNS_ZONE_RECORDS_STORED,
+	
+	/** The requested DNS zone export format does not exist.*/
+	IVT0955E_DNS_ZONE_EXPORT_FORMAT_INVALID,
+	
 	/** An attempt to import data into the inventory failed.*/
 	IVT1000E_IMPORT_ERROR,
 	
+	/** The requested import does not exist.*/
+	IVT1001E_IMPORT_NOT_FOUND,
+	
+	/** The import cannot be resumed, because it has not been interrupted.*/
+	IVT1002E_IMPORT_NOT_RESUMABLE,
+	
+	/** The import has been completed.*/
+	IVT1003I_IMPORT_COMPLETED,
+	
+	/** The import has been interrupted.*/
+	IVT1004E_IMPORT_INTERRUPTED,
+	
 	/** The requested environment does not exist.*/
 	IVT0390E_ELEMENT_ENVIRONMENT_NOT_FOUND,
 	
@@ -328,7 +385,88 @@ public enum ReasonCode implements Reason{
 	IVT8001I_HEARTBEAT_WATCHDOG_STOPPED,
 	
 	/** The heart beats watchdog reported a problem.*/
-	IVT8002E_HEARTBEAT_WATCHDOG_FAILED;
+	IVT8002E_HEARTBEAT_WATCHDOG_FAILED,
+	
+	/** The heart beats watchdog declared elements detached.*/
+	IVT8003I_HEARTBEAT_WATCHDOG_ELEMENTS_DETACHED,
+	
+	/** The event outbox publisher has been started.*/
+	IVT8100I_EVENT_PUBLISHER_STARTED,
+	
+	/** The event outbox publisher has been stopped.*/
+	IVT8101I_EVENT_PUBLISHER_STOPPED,
+	
+	/** The event outbox publisher reported a problem.*/
+	IVT8102E_EVENT_PUBLISHER_FAILED,
+	
+	/** An event read from the event outbox cannot be published and has been discarded.*/
+	IVT8103E_EVENT_DISCARDED,
+	
+	/** The element cache invalidation listener has been started.*/
+	IVT8110I_ELEMENT_CACHE_LISTENER_STARTED,
+	
+	/** The element cache invalidation listener has been stopped.*/
+	IVT8111I_ELEMENT_CACHE_LISTENER_STOPPED,
+	
+	/** The element cache invalidation listener failed to read the cache invalidations.*/
+	IVT8112E_ELEMENT_CACHE_LISTENER_FAILED,
+	
+	/** The element group statistics index has been started.*/
+	IVT8120I_GROUP_STATISTICS_INDEX_STARTED,
+	
+	/** The element group statistics index has been stopped.*/
+	IVT8121I_GROUP_STATISTICS_INDEX_STOPPED,
+	
+	/** The element group statistics index failed to reconcile the statistics with the inventory.*/
+	IVT8122E_GROUP_STATISTICS_INDEX_FAILED,
+	
+	/** The reconciliation of the element group statistics index corrected the statistics of element groups.*/
+	IVT8123I_GROUP_STATISTICS_CORRECTED,
+	
+	/** The image upgrade index has been started.*/
+	IVT8130I_IMAGE_UPGRADE_INDEX_STARTED,
+	
+	/** The image upgrade index has been stopped.*/
+	IVT8131I_IMAGE_UPGRADE_INDEX_STOPPED,
+	
+	/** The image upgrade index failed to load the images from the inventory.*/
+	IVT8132E_IMAGE_UPGRADE_INDEX_FAILED,
+	
+	/** The topology index has been started.*/
+	IVT8140I_TOPOLOGY_INDEX_STARTED,
+	
+	/** The topology index has been stopped.*/
+	IVT8141I_TOPOLOGY_INDEX_STOPPED,
+	
+	/** The topology index failed to load the physical links from the inventory.*/
+	IVT8142E_TOPOLOGY_INDEX_FAILED,
+	
+	/** The service dependency index has been started.*/
+	IVT8150I_SERVICE_DEPENDENCY_INDEX_STARTED,
+	
+	/** The service dependency index has been stopped.*/
+	IVT8151I_SERVICE_DEPENDENCY_INDEX_STOPPED,
+	
+	/** The service dependency index failed to load the service dependencies from the inventory.*/
+	IVT8152E_SERVICE_DEPENDENCY_INDEX_FAILED,
+	
+	/** The IP prefix index has been started.*/
+	IVT8160I_IP_PREFIX_INDEX_STARTED,
+	
+	/** The IP prefix index has been stopped.*/
+	IVT8161I_IP_PREFIX_INDEX_STOPPED,
+	
+	/** The IP prefix index failed to load the logical interface addresses from the inventory.*/
+	IVT8162E_IP_PREFIX_INDEX_FAILED,
+	
+	/** The element search index has been started.*/
+	IVT8170I_ELEMENT_SEARCH_INDEX_STARTED,
+	
+	/** The element search index has been stopped.*/
+	IVT8171I_ELEMENT_SEARCH_INDEX_STOPPED,
+	
+	/** The element search index failed to load the searchable element attributes from the inventory.*/
+	IVT8172E_ELEMENT_SEARCH_INDEX_FAILED;
 	
 
 	private static final ResourceBundle MESSAGES = getBundle("InventoryMessages");
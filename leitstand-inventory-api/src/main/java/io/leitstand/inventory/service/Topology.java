@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static io.leitstand.commons.model.BuilderUtil.assertNotInvalidated;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.leitstand.commons.model.ValueObject;
+
+/**
+ * A section of the network topology.
+ * <p>
+ * The topology consists of elements and the physical links between the elements.
+ * A link connecting two elements is reported once, even if both elements have recorded the link.
+ */
+public class Topology extends ValueObject {
+
+	/**
+	 * Returns a new builder to create an immutable <code>Topology</code> instance.
+	 * @return a new builder to create an immutable <code>Topology</code> instance.
+	 */
+	public static Builder newTopology() {
+		return new Builder();
+	}
+	
+	/**
+	 * The builder to create an immutable <code>Topology</code> instance.
+	 */
+	public static final class Builder {
+		
+		private Topology topology = new Topology();
+		
+		/**
+		 * Sets the topology elements.
+		 * @param nodes the topology elements
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withNodes(List<TopologyNode> nodes) {
+			assertNotInvalidated(getClass(), topology);
+			topology.nodes = unmodifiableList(new ArrayList<>(nodes));
+			return this;
+		}
+		
+		/**
+		 * Sets the topology links.
+		 * @param links the topology links
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withLinks(List<TopologyLink> links) {
+			assertNotInvalidated(getClass(), topology);
+			topology.links = unmodifiableList(new ArrayList<>(links));
+			return this;
+		}
+		
+		/**
+		 * Returns an immutable <code>Topology</code> instance and invalidates this builder.
+		 * @return an immutable <code>Topology</code> instance.
+		 */
+		public Topology build() {
+			try {
+				assertNotInvalidated(getClass(), topology);
+				return topology;
+			} finally {
+				this.topology = null;
+			}
+		}
+	}
+	
+	private List<TopologyNode> nodes = emptyList();
+	private List<TopologyLink> links = emptyList();
+	
+	/**
+	 * Returns the topology elements.
+	 * @return the topology elements.
+	 */
+	public List<TopologyNode> getNodes() {
+		return nodes;
+	}
+	
+	/**
+	 * Returns the topology links.
+	 * @return the topology links.
+	 */
+	public List<TopologyLink> getLinks() {
+		return links;
+	}
+	
+}
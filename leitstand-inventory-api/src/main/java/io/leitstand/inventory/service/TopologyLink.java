@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static io.leitstand.commons.model.BuilderUtil.assertNotInvalidated;
+
+import io.leitstand.commons.model.ValueObject;
+
+/**
+ * A physical link between two elements of the network topology.
+ */
+public class TopologyLink extends ValueObject {
+
+	/**
+	 * Returns a new builder to create an immutable <code>TopologyLink</code> instance.
+	 * @return a new builder to create an immutable <code>TopologyLink</code> instance.
+	 */
+	public static Builder newTopologyLink() {
+		return new Builder();
+	}
+	
+	/**
+	 * The builder to create an immutable <code>TopologyLink</code> instance.
+	 */
+	public static final class Builder {
+		
+		private TopologyLink link = new TopologyLink();
+		
+		/**
+		 * Sets the local element ID.
+		 * @param elementId the local element ID
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withElementId(ElementId elementId) {
+			assertNotInvalidated(getClass(), link);
+			link.elementId = elementId;
+			return this;
+		}
+		
+		/**
+		 * Sets the local physical interface name.
+		 * @param ifpName the local physical interface name
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withIfpName(InterfaceName ifpName) {
+			assertNotInvalidated(getClass(), link);
+			link.ifpName = ifpName;
+			return this;
+		}
+		
+		/**
+		 * Sets the neighbor element ID.
+		 * @param neighborId the neighbor element ID
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withNeighborElementId(ElementId neighborId) {
+			assertNotInvalidated(getClass(), link);
+			link.neighborElementId = neighborId;
+			return this;
+		}
+		
+		/**
+		 * Sets the neighbor physical interface name.
+		 * @param neighborIfpName the neighbor physical interface name
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withNeighborIfpName(InterfaceName neighborIfpName) {
+			assertNotInvalidated(getClass(), link);
+			link.neighborIfpName = neighborIfpName;
+			return this;
+		}
+		
+		/**
+		 * Returns an immutable <code>TopologyLink</code> instance and invalidates this builder.
+		 * @return an immutable <code>TopologyLink</code> instance.
+		 */
+		public TopologyLink build() {
+			try {
+				assertNotInvalidated(getClass(), link);
+				return link;
+			} finally {
+				this.link = null;
+			}
+		}
+	}
+	
+	private ElementId elementId;
+	private InterfaceName ifpName;
+	private ElementId neighborElementId;
+	private InterfaceName neighborIfpName;
+	
+	/**
+	 * Returns the local element ID.
+	 * @return the local element ID.
+	 */
+	public ElementId getElementId() {
+		return elementId;
+	}
+	
+	/**
+	 * Returns the local physical interface name.
+	 * @return the local physical interface name.
+	 */
+	public InterfaceName getIfpName() {
+		return ifpName;
+	}
+	
+	/**
+	 * Returns the neighbor element ID.
+	 * @return the neighbor element ID.
+	 */
+	public ElementId getNeighborElementId() {
+		return neighborElementId;
+	}
+	
+	/**
+	 * Returns the neighbor physical interface name.
+	 * @return the neighbor physical interface name.
+	 */
+	public InterfaceName getNeighborIfpName() {
+		return neighborIfpName;
+	}
+	
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static io.leitstand.commons.model.BuilderUtil.assertNotInvalidated;
+
+import io.leitstand.commons.model.ValueObject;
+
+/**
+ * An element of the network topology.
+ */
+public class TopologyNode extends ValueObject {
+
+	/**
+	 * Returns a new builder to create an immutable <code>TopologyNode</code> instance.
+	 * @return a new builder to create an immutable <code>TopologyNode</code> instance.
+	 */
+	public static Builder newTopologyNode() {
+		return new Builder();
+	}
+	
+	/**
+	 * The builder to create an immutable <code>TopologyNode</code> instance.
+	 */
+	public static final class Builder {
+		
+		private TopologyNode node = new TopologyNode();
+		
+		/**
+		 * Sets the element ID.
+		 * @param elementId the element ID
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withElementId(ElementId elementId) {
+			assertNotInvalidated(getClass(), node);
+			node.elementId = elementId;
+			return this;
+		}
+		
+		/**
+		 * Sets the element name.
+		 * @param elementName the element name
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withElementName(ElementName elementName) {
+			assertNotInvalidated(getClass(), node);
+			node.elementName = elementName;
+			return this;
+		}
+		
+		/**
+		 * Sets the element role.
+		 * @param elementRole the element role
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withElementRole(ElementRoleName elementRole) {
+			assertNotInvalidated(getClass(), node);
+			node.elementRole = elementRole;
+			return this;
+		}
+		
+		/**
+		 * Sets the ID of the element group the element belongs to.
+		 * @param groupId the group ID
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withGroupId(ElementGroupId groupId) {
+			assertNotInvalidated(getClass(), node);
+			node.groupId = groupId;
+			return this;
+		}
+		
+		/**
+		 * Sets the type of the element group the element belongs to.
+		 * @param groupType the group type
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withGroupType(ElementGroupType groupType) {
+			assertNotInvalidated(getClass(), node);
+			node.groupType = groupType;
+			return this;
+		}
+		
+		/**
+		 * Sets the name of the element group the element belongs to.
+		 * @param groupName the group name
+		 * @return a reference to this builder to continue with object creation
+		 */
+		public Builder withGroupName(ElementGroupName groupName) {
+			assertNotInvalidated(getClass(), node);
+			node.groupName = groupName;
+			return this;
+		}
+		
+		/**
+		 * Returns an immutable <code>TopologyNode</code> instance and invalidates this builder.
+		 * @return an immutable <code>TopologyNode</code> instance.
+		 */
+		public TopologyNode build() {
+			try {
+				assertNotInvalidated(getClass(), node);
+				return node;
+			} finally {
+				this.node = null;
+			}
+		}
+	}
+	
+	private ElementId elementId;
+	private ElementName elementName;
+	private ElementRoleName elementRole;
+	private ElementGroupId groupId;
+	private ElementGroupType groupType;
+	private ElementGroupName groupName;
+	
+	/**
+	 * Returns the element ID.
+	 * @return the element ID.
+	 */
+	public ElementId getElementId() {
+		return elementId;
+	}
+	
+	/**
+	 * Returns the element name.
+	 * @return the element name.
+	 */
+	public ElementName getElementName() {
+		return elementName;
+	}
+	
+	/**
+	 * Returns the element role.
+	 * @return the element role.
+	 */
+	public ElementRoleName getElementRole() {
+		return elementRole;
+	}
+	
+	/**
+	 * Returns the ID of the element group the element belongs to.
+	 * @return the group ID.
+	 */
+	public ElementGroupId getGroupId() {
+		return groupId;
+	}
+	
+	/**
+	 * Returns the type of the element group the element belongs to.
+	 * @return the group type.
+	 */
+	public ElementGroupType getGroupType() {
+		return groupType;
+	}
+	
+	/**
+	 * Returns the name of the element group the element belongs to.
+	 * @return the group name.
+	 */
+	public ElementGroupName getGroupName() {
+		return groupName;
+	}
+	
+}
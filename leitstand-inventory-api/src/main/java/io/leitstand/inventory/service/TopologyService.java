@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+/**
+ * A stateless service to query the network topology formed by the physical links between elements.
+ */
+public interface TopologyService {
+
+	/**
+	 * Returns all elements that can be reached from the specified element over at most the specified number of links.
+	 * The topology contains all links between the returned elements.
+	 * @param elementId the element ID
+	 * @param hops the maximum number of links between the specified element and a returned element
+	 * @return the neighborhood of the specified element
+	 * @throws EntityNotFoundException if the specified element does not exist.
+	 */
+	Topology getNeighborhood(ElementId elementId, int hops);
+	
+	/**
+	 * Returns all elements that can be reached from the specified element over at most the specified number of links.
+	 * The topology contains all links between the returned elements.
+	 * @param elementName the element name
+	 * @param hops the maximum number of links between the specified element and a returned element
+	 * @return the neighborhood of the specified element
+	 * @throws EntityNotFoundException if the specified element does not exist.
+	 */
+	Topology getNeighborhood(ElementName elementName, int hops);
+	
+	/**
+	 * Returns a shortest path between two elements.
+	 * The elements and links of the returned topology are ordered along the path.
+	 * The topology is empty if no path exists.
+	 * @param from the ID of the first element of the path
+	 * @param to the ID of the last element of the path
+	 * @return a shortest path between both elements
+	 * @throws EntityNotFoundException if one of the elements does not exist.
+	 */
+	Topology getShortestPath(ElementId from, ElementId to);
+	
+	/**
+	 * Returns a shortest path between two elements.
+	 * The elements and links of the returned topology are ordered along the path.
+	 * The topology is empty if no path exists.
+	 * @param from the name of the first element of the path
+	 * @param to the name of the last element of the path
+	 * @return a shortest path between both elements
+	 * @throws EntityNotFoundException if one of the elements does not exist.
+	 */
+	Topology getShortestPath(ElementName from, ElementName to);
+	
+	/**
+	 * Returns all elements of the specified group and all links of these elements.
+	 * The topology also contains the elements of other groups that are connected to an element of the specified group.
+	 * @param groupId the element group ID
+	 * @return the topology of the specified group
+	 * @throws EntityNotFoundException if the specified group does not exist.
+	 */
+	Topology getGroupTopology(ElementGroupId groupId);
+	
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static io.leitstand.commons.model.StringUtil.isEmptyString;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Canonicalizes value objects by their string representation.
+ * <p>
+ * Inventory queries map the same group IDs, group names, role names, states, interface names and versions over and over again.
+ * The value cache returns the same immutable value object for the same string representation
+ * instead of creating a new value object for every mapped row.
+ * The cache is bounded and cleared entirely when the capacity is exceeded, 
+ * which keeps unexpected input from growing the cache without limits and avoids any eviction bookkeeping.
+ * The cache is thread-safe.
+ * @param <T> the value type
+ */
+final class ValueCache<T> {
+
+	private final ConcurrentHashMap<String,T> values;
+	private final Function<String,T> factory;
+	private final int capacity;
+	
+	/**
+	 * Creates a value cache.
+	 * @param capacity the maximum number of cached values
+	 * @param factory the factory to create a value from its string representation
+	 */
+	ValueCache(int capacity, Function<String,T> factory){
+		this.values = new ConcurrentHashMap<>();
+		this.factory = factory;
+		this.capacity = capacity;
+	}
+	
+	/**
+	 * Returns the canonical value for the given string.
+	 * @param value the string representation of the value
+	 * @return the canonical value or <code>null</code> if the given string is <code>null</code> or empty.
+	 */
+	T valueOf(String value) {
+		if(isEmptyString(value)) {
+			return null;
+		}
+		T cached = values.get(value);
+		if(cached != null) {
+			return cached;
+		}
+		T created = factory.apply(value);
+		if(values.size() >= capacity) {
+			values.clear();
+		}
+		T raced = values.putIfAbsent(value, created);
+		return raced != null ? raced : created;
+	}
+	
+	/**
+	 * Registers a well-known value.
+	 * @param value the string representation of the value
+	 * @param instance the value
+	 */
+	void put(String value, T instance) {
+		values.put(value, instance);
+	}
+	
+}
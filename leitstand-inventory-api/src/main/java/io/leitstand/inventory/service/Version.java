@@ -16,13 +16,8 @@
 package io.leitstand.inventory.service;
 
 import static io.leitstand.commons.model.StringUtil.isEmptyString;
-import static java.lang.Integer.parseInt;
-import static java.lang.String.format;
-import static java.util.regex.Pattern.compile;
 
 import java.io.Serializable;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import javax.json.bind.annotation.JsonbTypeAdapter;
 import javax.persistence.Embeddable;
@@ -38,14 +33,18 @@ import io.leitstand.inventory.jsonb.VersionAdapter;
  * The string representation of a version is formed by the major level followed by the minor level 
  * using a dot (.) as delimiter followed by the patch level using a hyphen (-) as delimiter (e.g. 18.04-1).
  * </p>
+ * <p>
+ * {@link #valueOf(String)} returns a canonical <code>Version</code> instance for frequently used versions.
+ * A canonical instance must not be modified. 
+ * </p>
  */
 @JsonbTypeAdapter(VersionAdapter.class)
 @Embeddable
 public class Version extends CompositeValue implements Comparable<Version>, Serializable{
 	
 	private static final long serialVersionUID = 1L;
-	private static final String VERSION_PATTERN = "(\\d+)\\.(\\d+)\\.(\\d+)(?:\\-(\\p{Graph}+))?";
-	private static final Pattern PATTERN = compile(VERSION_PATTERN);
+	
+	private static final ValueCache<Version> CACHE = new ValueCache<>(1024,Version::new);
 	
 	public static Version version(String version) {
 		return valueOf(version);
@@ -57,10 +56,7 @@ public class Version extends CompositeValue implements Comparable<Version>, Seri
 	 * @return
 	 */
 	public static Version valueOf(String version){
-		if(isEmptyString(version)) {
-			return null;
-		}
-		return new Version(version);
+		return CACHE.valueOf(version);
 	}
 	
 	public static String toString(Version version) {
@@ -81,18 +77,58 @@ public class Version extends CompositeValue implements Comparable<Version>, Seri
 	 * @param version - the string representation of a version
 	 */
 	public Version(String version) {
-		Matcher matcher = PATTERN.matcher(version);
-		if(matcher.matches()) {
-			this.majorLevel = parseInt(matcher.group(1));
-			this.minorLevel = parseInt(matcher.group(2));
-			this.patchLevel = parseInt(matcher.group(3));
-			if(matcher.groupCount() == 4) {
-				this.preRelease = matcher.group(4);
+		// Parses <major>.<minor>.<patch>[-<pre-release>] without a regular expression,
+		// because versions are parsed for every image and package version read from the database.
+		int length = version.length();
+		int pos = 0;
+		int[] levels = new int[3];
+		for(int i=0; i < 3; i++) {
+			if(i > 0) {
+				if(pos == length || version.charAt(pos) != '.') {
+					throw invalidVersion(version);
+				}
+				pos++;
 			}
-		} else {
-			throw new IllegalArgumentException("Invalid version string "+version);
+			int start = pos;
+			long level = 0;
+			while(pos < length && isDigit(version.charAt(pos))) {
+				level = level * 10 + (version.charAt(pos++) - '0');
+				if(level > Integer.MAX_VALUE) {
+					throw invalidVersion(version);
+				}
+			}
+			if(pos == start) {
+				throw invalidVersion(version);
+			}
+			levels[i] = (int) level;
 		}
-
+		if(pos < length) {
+			if(version.charAt(pos++) != '-' || pos == length) {
+				throw invalidVersion(version);
+			}
+			for(int i=pos; i < length; i++) {
+				if(!isGraph(version.charAt(i))) {
+					throw invalidVersion(version);
+				}
+			}
+			this.preRelease = version.substring(pos);
+		}
+		this.majorLevel = levels[0];
+		this.minorLevel = levels[1];
+		this.patchLevel = levels[2];
+	}
+	
+	private static boolean isDigit(char c) {
+		return '0' <= c && c <= '9';
+	}
+	
+	private static boolean isGraph(char c) {
+		// Visible US-ASCII characters, i.e. \p{Graph}
+		return '!' <= c && c <= '~';
+	}
+	
+	private static IllegalArgumentException invalidVersion(String version) {
+		return new IllegalArgumentException("Invalid version string "+version);
 	}
 	
 	public Version(){
@@ -154,17 +190,18 @@ public class Version extends CompositeValue implements Comparable<Version>, Seri
 	 */
 	@Override
 	public String toString(){
+		StringBuilder version = new StringBuilder(16);
+		version.append(majorLevel)
+			   .append('.')
+			   .append(minorLevel)
+			   .append('.')
+			   .append(patchLevel);
 		if(isEmptyString(preRelease)) {
-			return format("%d.%d.%d", 
-						  majorLevel,
-						  minorLevel,
-						  patchLevel);
+			return version.toString();
 		}
-		return format("%d.%d.%d-%s", 
-				  	  majorLevel,
-				  	  minorLevel,
-				  	  patchLevel,
-				  	  preRelease);
+		return version.append('-')
+					  .append(preRelease)
+					  .toString();
 
 	}	
 	
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static io.leitstand.inventory.service.MACAddress.macAddress;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class MACAddressTest {
+
+	@Test
+	public void convert_colon_delimited_mac_address_to_long() {
+		assertEquals(0x001B213A4F5CL, macAddress("00:1b:21:3a:4f:5c").toLong());
+	}
+	
+	@Test
+	public void convert_hyphen_delimited_mac_address_to_long() {
+		assertEquals(0x001B213A4F5CL, macAddress("00-1B-21-3A-4F-5C").toLong());
+	}
+	
+	@Test
+	public void create_mac_address_from_long() {
+		assertEquals(macAddress("00:1b:21:3a:4f:5c"), macAddress(0x001B213A4F5CL));
+		assertEquals(macAddress("ff:ff:ff:ff:ff:ff"), macAddress(0xFFFFFFFFFFFFL));
+	}
+	
+	@Test
+	public void convert_mac_address_to_bytes() {
+		assertArrayEquals(new byte[] {0x00, 0x1B, 0x21, 0x3A, 0x4F, (byte) 0xFE}, 
+						  macAddress("00:1b:21:3a:4f:fe").toBytes());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void reject_malformed_mac_address() {
+		macAddress("00:1b:21:3a:4f").toLong();
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void reject_invalid_delimiter() {
+		macAddress("00.1b.21.3a.4f.5c").toLong();
+	}
+	
+}
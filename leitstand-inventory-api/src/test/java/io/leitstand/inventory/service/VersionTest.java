@@ -16,6 +16,8 @@
 package io.leitstand.inventory.service;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import org.junit.Test;
 
@@ -107,4 +109,55 @@ public class VersionTest {
 	}
 
 	
+	@Test
+	public void valueOf_returns_canonical_instance() {
+		assertSame(Version.valueOf("1.0.0-alpha"),Version.valueOf("1.0.0-alpha"));
+	}
+	
+	@Test
+	public void valueOf_returns_null_for_empty_string() {
+		assertNull(Version.valueOf(null));
+		assertNull(Version.valueOf(""));
+	}
+	
+	@Test
+	public void create_semantic_version_with_multi_digit_levels_and_prerelease(){
+		Version rev = Version.valueOf("18.104.2003-rc.1-x");
+		assertEquals(18,rev.getMajorLevel());
+		assertEquals(104,rev.getMinorLevel());
+		assertEquals(2003,rev.getPatchLevel());
+		assertEquals("rc.1-x",rev.getPreRelease());
+		assertEquals("18.104.2003-rc.1-x",rev.toString());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void reject_missing_patch_level() {
+		new Version("1.2");
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void reject_empty_level() {
+		new Version("1..2");
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void reject_empty_prerelease() {
+		new Version("1.2.3-");
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void reject_whitespace_in_prerelease() {
+		new Version("1.2.3-alpha 1");
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void reject_non_numeric_level() {
+		new Version("1.a.3");
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void reject_level_overflow() {
+		new Version("1.2.99999999999");
+	}
+	
 }
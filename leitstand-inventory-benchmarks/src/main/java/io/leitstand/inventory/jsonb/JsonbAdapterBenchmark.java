@@ -0,0 +1,200 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.jsonb;
+
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.PhysicalInterfaceData.newPhysicalInterfaceData;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static javax.json.bind.config.PropertyNamingStrategy.LOWER_CASE_WITH_UNDERSCORES;
+import static javax.json.bind.config.PropertyOrderStrategy.LEXICOGRAPHICAL;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.leitstand.commons.jsonb.FieldAccessVisibilityStrategy;
+import io.leitstand.inventory.service.AdministrativeState;
+import io.leitstand.inventory.service.Bandwidth;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.IPv4Prefix;
+import io.leitstand.inventory.service.IPv6Prefix;
+import io.leitstand.inventory.service.InterfaceName;
+import io.leitstand.inventory.service.MACAddress;
+import io.leitstand.inventory.service.OperationalState;
+import io.leitstand.inventory.service.PhysicalInterfaceData;
+import io.leitstand.inventory.service.Version;
+
+/**
+ * Measures the JSON-B adapters of the most frequently serialized inventory value types 
+ * and the serialization of a physical interface search result page, 
+ * which applies the adapters to every property of every interface.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations=3, time=2, timeUnit=SECONDS)
+@Measurement(iterations=5, time=2, timeUnit=SECONDS)
+@Fork(1)
+public class JsonbAdapterBenchmark {
+
+	private final ElementIdAdapter elementIdAdapter = new ElementIdAdapter();
+	private final InterfaceNameAdapter interfaceNameAdapter = new InterfaceNameAdapter();
+	private final MACAddressAdapter macAddressAdapter = new MACAddressAdapter();
+	private final BandwidthAdapter bandwidthAdapter = new BandwidthAdapter();
+	private final VersionAdapter versionAdapter = new VersionAdapter();
+	private final IPv4PrefixAdapter ipv4PrefixAdapter = new IPv4PrefixAdapter();
+	private final IPv6PrefixAdapter ipv6PrefixAdapter = new IPv6PrefixAdapter();
+	private final OperationalStateAdapter opStateAdapter = new OperationalStateAdapter();
+	
+	private final String elementId = randomElementId().getValue();
+	private final ElementId elementIdValue = ElementId.valueOf(elementId);
+	private final String interfaceName = "ifp-0/1/47";
+	private final InterfaceName interfaceNameValue = interfaceName(interfaceName);
+	private final String macAddress = "02:00:00:00:01:2f";
+	private final MACAddress macAddressValue = MACAddress.valueOf(macAddress);
+	private final String bandwidth = "10.000 Gbps";
+	private final Bandwidth bandwidthValue = Bandwidth.bandwidth(bandwidth);
+	private final String version = "20.10.1-rc1";
+	private final Version versionValue = Version.valueOf(version);
+	private final String ipv4Prefix = "10.128.47.0/24";
+	private final String ipv6Prefix = "2001:db8:47::/48";
+	private final String opState = "UP";
+
+	private Jsonb jsonb;
+	private List<PhysicalInterfaceData> page;
+	
+	@Setup(Level.Trial)
+	public void createJsonb() {
+		jsonb = JsonbBuilder.create(new JsonbConfig()
+									.withPropertyVisibilityStrategy(new FieldAccessVisibilityStrategy())
+									.withPropertyNamingStrategy(LOWER_CASE_WITH_UNDERSCORES)
+									.withPropertyOrderStrategy(LEXICOGRAPHICAL)
+									.withDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", null));
+		page = new ArrayList<>(100);
+		for(int i=0; i < 100; i++) {
+			page.add(newPhysicalInterfaceData()
+					 .withGroupName(groupName("pod-00001"))
+					 .withElementId(randomElementId())
+					 .withElementName(elementName(format("leaf-%06d", i / 48)))
+					 .withAdministrativeState(AdministrativeState.ACTIVE)
+					 .withOperationalState(OperationalState.UP)
+					 .withDateModified(new Date())
+					 .withIfpName(interfaceName(format("ifp-0/%d/%d", i / 48, i % 48)))
+					 .withIfpAlias(format("port %d", i))
+					 .withIfpAdministrativeState(AdministrativeState.UP)
+					 .withIfpOperationalState(OperationalState.UP)
+					 .build());
+		}
+	}
+	
+	@TearDown(Level.Trial)
+	public void closeJsonb() throws Exception {
+		jsonb.close();
+	}
+	
+	@Benchmark
+	public ElementId adaptElementIdFromJson() throws Exception {
+		return elementIdAdapter.adaptFromJson(elementId);
+	}
+	
+	@Benchmark
+	public String adaptElementIdToJson() throws Exception {
+		return elementIdAdapter.adaptToJson(elementIdValue);
+	}
+	
+	@Benchmark
+	public InterfaceName adaptInterfaceNameFromJson() throws Exception {
+		return interfaceNameAdapter.adaptFromJson(interfaceName);
+	}
+	
+	@Benchmark
+	public String adaptInterfaceNameToJson() throws Exception {
+		return interfaceNameAdapter.adaptToJson(interfaceNameValue);
+	}
+	
+	@Benchmark
+	public MACAddress adaptMacAddressFromJson() throws Exception {
+		return macAddressAdapter.adaptFromJson(macAddress);
+	}
+	
+	@Benchmark
+	public String adaptMacAddressToJson() throws Exception {
+		return macAddressAdapter.adaptToJson(macAddressValue);
+	}
+	
+	@Benchmark
+	public Bandwidth adaptBandwidthFromJson() throws Exception {
+		return bandwidthAdapter.adaptFromJson(bandwidth);
+	}
+	
+	@Benchmark
+	public String adaptBandwidthToJson() throws Exception {
+		return bandwidthAdapter.adaptToJson(bandwidthValue);
+	}
+	
+	@Benchmark
+	public Version adaptVersionFromJson() throws Exception {
+		return versionAdapter.adaptFromJson(version);
+	}
+	
+	@Benchmark
+	public String adaptVersionToJson() throws Exception {
+		return versionAdapter.adaptToJson(versionValue);
+	}
+	
+	@Benchmark
+	public IPv4Prefix adaptIPv4PrefixFromJson() throws Exception {
+		return ipv4PrefixAdapter.adaptFromJson(ipv4Prefix);
+	}
+	
+	@Benchmark
+	public IPv6Prefix adaptIPv6PrefixFromJson() throws Exception {
+		return ipv6PrefixAdapter.adaptFromJson(ipv6Prefix);
+	}
+	
+	@Benchmark
+	public OperationalState adaptOperationalStateFromJson() throws Exception {
+		return opStateAdapter.adaptFromJson(opState);
+	}
+	
+	@Benchmark
+	public String serializePhysicalInterfacePage() {
+		return jsonb.toJson(page);
+	}
+	
+}
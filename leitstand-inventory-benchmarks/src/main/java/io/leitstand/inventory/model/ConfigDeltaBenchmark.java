@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.ConfigDeltaCodec.decode;
+import static io.leitstand.inventory.model.ConfigDeltaCodec.encode;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures encoding a configuration revision as delta and rebuilding an older revision from a delta chain.
+ * <p>
+ * The benchmark creates a synthetic router configuration history where every revision modifies a few interfaces of its predecessor.
+ * The latest revision is stored in full, every older revision is stored as delta to its successor,
+ * which is how the {@link ElementConfigManager} stores revisions in {@link ElementConfigStorageMode#DELTA} mode.
+ * The <code>depth</code> parameter sets the number of deltas applied to rebuild a revision. 
+ * A depth of 49 rebuilds the oldest revision of the default history size.
+ * The <code>interfaces</code> parameter sets the configuration size, 
+ * where 2,000 interfaces produce approximately 300KB per revision.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations=3, time=2, timeUnit=SECONDS)
+@Measurement(iterations=5, time=2, timeUnit=SECONDS)
+@Fork(1)
+public class ConfigDeltaBenchmark {
+
+	private static final int REVISIONS = 50;
+	
+	@Param({"2000"})
+	public int interfaces;
+	
+	@Param({"1", "10", "49"})
+	public int depth;
+	
+	private byte[][] history;
+	private byte[][] deltas;
+	
+	@Setup(Level.Trial)
+	public void createHistory() {
+		history = history(REVISIONS, interfaces);
+		// history[0] is the latest revision.
+		deltas = new byte[REVISIONS][];
+		for(int i=1; i < REVISIONS; i++) {
+			deltas[i] = encode(history[i-1], history[i]);
+		}
+		if(!Arrays.equals(rebuildRevision(), history[depth])) {
+			throw new IllegalStateException("Revision "+depth+" not rebuilt correctly");
+		}
+	}
+	
+	@Benchmark
+	public byte[] encodeRevision() {
+		return encode(history[0], history[1]);
+	}
+	
+	@Benchmark
+	public byte[] rebuildRevision() {
+		byte[] revision = history[0];
+		for(int i=1; i <= depth; i++) {
+			revision = decode(revision, deltas[i]);
+		}
+		return revision;
+	}
+
+	private static byte[][] history(int revisions, int interfaces) {
+		Random random = new Random(1);
+		String[] descriptions = new String[interfaces];
+		Arrays.fill(descriptions, "default");
+		byte[][] history = new byte[revisions][];
+		for(int i=revisions-1; i >= 0; i--) {
+			for(int change=0; change < 5; change++) {
+				descriptions[random.nextInt(interfaces)] = "changed-in-revision-"+i;
+			}
+			history[i] = config(descriptions);
+		}
+		return history;
+	}
+
+	private static byte[] config(String[] descriptions) {
+		StringBuilder config = new StringBuilder();
+		config.append("hostname core-01\n");
+		for(int i=0; i < descriptions.length; i++) {
+			config.append("interface ifp-0/").append(i / 64).append('/').append(i % 64).append('\n')
+				  .append("  description ").append(descriptions[i]).append('\n')
+				  .append("  mtu 9000\n")
+				  .append("  unit 0 family inet address 10.").append(i / 256).append('.').append(i % 256).append(".1/31\n")
+				  .append("  unit 0 family inet6 address 2001:db8::").append(Integer.toHexString(i)).append("/127\n")
+				  .append("!\n");
+		}
+		return config.toString().getBytes(UTF_8);
+	}
+	
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.ConfigurationState.ACTIVE;
+import static io.leitstand.inventory.service.ElementConfigName.elementConfigName;
+import static java.lang.String.format;
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN_TYPE;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import io.leitstand.inventory.service.ElementConfigName;
+import io.leitstand.inventory.service.ElementConfigService;
+import io.leitstand.inventory.service.StoreElementConfigResult;
+
+/**
+ * Measures the latency to store a new active configuration revision.
+ * <p>
+ * Every invocation stores a configuration that differs from the previous revision of the element in a single line,
+ * which resembles a routine configuration change.
+ */
+public class ElementConfigBenchmark extends FleetBenchmark {
+
+	private static final ElementConfigName CONFIG_NAME = elementConfigName("running-config");
+	
+	@Param({"1000"})
+	public int configLines;
+	
+	private ElementConfigService service;
+	private String config;
+	private long revision;
+	
+	@Override
+	protected void initServices(InventoryFleet fleet) {
+		service = fleet.newElementConfigService();
+		StringBuilder lines = new StringBuilder();
+		for(int i=0; i < configLines; i++) {
+			lines.append(format("interface ifp-0/%d/%d description \"port %d\" mtu 9000%n", i / 48, i % 48, i));
+		}
+		config = lines.toString();
+	}
+	
+	@Benchmark
+	public StoreElementConfigResult storeElementConfig() {
+		String revisionConfig = "! revision "+(++revision)+"\n"+config;
+		return fleet.transaction(() -> service.storeElementConfig(nextElementId(), 
+																  CONFIG_NAME, 
+																  TEXT_PLAIN_TYPE, 
+																  ACTIVE, 
+																  revisionConfig, 
+																  "benchmark"));
+	}
+	
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.leitstand.inventory.service.ElementGroupService;
+import io.leitstand.inventory.service.ElementGroupStatistics;
+
+/**
+ * Measures the latency of fleet-wide element group queries, 
+ * i.e. the latency to compute the statistics of all element groups and to export all element groups.
+ */
+public class ElementGroupBenchmark extends FleetBenchmark {
+
+	private ElementGroupService groups;
+	private ElementGroupExportManager exporter;
+	
+	@Override
+	protected void initServices(InventoryFleet fleet) {
+		groups = fleet.newElementGroupService();
+		exporter = fleet.newElementGroupExportManager();
+	}
+	
+	@Benchmark
+	public List<ElementGroupStatistics> getGroupStatistics() {
+		return fleet.transaction(() -> groups.getGroupStatistics(fleet.getGroupType(), null));
+	}
+	
+	@Benchmark
+	public void exportElementGroups(Blackhole blackhole) {
+		fleet.transaction(() -> {
+			exporter.exportElementGroups(fleet.getGroupType(), 
+										 null, 
+										 blackhole::consume);
+			return null;
+		});
+	}
+	
+}
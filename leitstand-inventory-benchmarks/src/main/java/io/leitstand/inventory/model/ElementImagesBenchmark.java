@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import io.leitstand.inventory.service.ElementImages;
+import io.leitstand.inventory.service.ElementImagesService;
+
+/**
+ * Measures the latency to read the installed images of an element including the available upgrades.
+ */
+public class ElementImagesBenchmark extends FleetBenchmark {
+
+	private ElementImagesService service;
+	
+	@Override
+	protected void initServices(InventoryFleet fleet) {
+		service = fleet.newElementImagesService();
+	}
+	
+	@Benchmark
+	public ElementImages getElementImages() {
+		return fleet.transaction(() -> service.getElementImages(nextElementId()));
+	}
+	
+}
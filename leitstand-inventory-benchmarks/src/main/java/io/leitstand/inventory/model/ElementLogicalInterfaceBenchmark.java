@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.InventoryFleet.logicalInterface;
+import static io.leitstand.inventory.service.OperationalState.DOWN;
+import static io.leitstand.inventory.service.OperationalState.UP;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementLogicalInterfaceService;
+import io.leitstand.inventory.service.ElementLogicalInterfaceSubmission;
+import io.leitstand.inventory.service.ElementLogicalInterfaceSyncResult;
+
+/**
+ * Measures the latency to submit a snapshot of all logical interfaces of an element, 
+ * in which the operational state of a single logical interface has changed.
+ * The snapshot is either stored by removing and re-creating all logical interfaces,
+ * as the <code>PUT /elements/{element}/logical_interfaces</code> endpoint does,
+ * or synchronized with the stored logical interfaces.
+ * <p>
+ * The number of logical interfaces per element is controlled by the <code>ifls</code> parameter,
+ * e.g. <code>-p ifls=30000 -p elements=10</code> simulates a small number of BNGs with many subscriber interfaces.
+ */
+public class ElementLogicalInterfaceBenchmark extends FleetBenchmark {
+
+	@Param({"1000"})
+	public int ifls;
+	
+	private ElementLogicalInterfaceService service;
+	private long invocations;
+	
+	@Override
+	protected void initServices(InventoryFleet fleet) {
+		service = fleet.newElementLogicalInterfaceService();
+		List<ElementLogicalInterfaceSubmission> snapshot = snapshot(-1, false);
+		for(ElementId elementId : fleet.getElementIds()) {
+			fleet.transaction(() -> service.syncLogicalInterfaces(elementId, snapshot));
+		}
+	}
+	
+	private List<ElementLogicalInterfaceSubmission> snapshot(int modified, 
+															 boolean down) {
+		List<ElementLogicalInterfaceSubmission> snapshot = new ArrayList<>(ifls);
+		for(int ifl=0; ifl < ifls; ifl++) {
+			snapshot.add(logicalInterface(ifl, ifl == modified && down ? DOWN : UP));
+		}
+		return snapshot;
+	}
+	
+	private List<ElementLogicalInterfaceSubmission> nextSnapshot() {
+		long invocation = invocations++;
+		return snapshot((int) (invocation % ifls), 
+						(invocation / elements) % 2 == 0);
+	}
+	
+	@Benchmark
+	public boolean storeLogicalInterfaces() {
+		List<ElementLogicalInterfaceSubmission> snapshot = nextSnapshot();
+		ElementId elementId = nextElementId();
+		return fleet.transaction(() -> {
+			service.removeLogicalInterfaces(elementId);
+			boolean created = false;
+			for(ElementLogicalInterfaceSubmission ifl : snapshot) {
+				created |= service.storeLogicalInterface(elementId, ifl);
+			}
+			return created;
+		});
+	}
+	
+	@Benchmark
+	public ElementLogicalInterfaceSyncResult syncLogicalInterfaces() {
+		List<ElementLogicalInterfaceSubmission> snapshot = nextSnapshot();
+		return fleet.transaction(() -> service.syncLogicalInterfaces(nextElementId(), snapshot));
+	}
+	
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.InventoryFleet.physicalInterface;
+import static io.leitstand.inventory.service.OperationalState.DOWN;
+import static io.leitstand.inventory.service.OperationalState.UP;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import io.leitstand.inventory.service.ElementPhysicalInterfaceService;
+import io.leitstand.inventory.service.ElementPhysicalInterfaceSubmission;
+import io.leitstand.inventory.service.ElementPhysicalInterfaceSyncResult;
+
+/**
+ * Measures the latency to update the operational state of a physical interface.
+ * Every invocation toggles the operational state of an interface of the next element,
+ * either by storing the modified interface or by synchronizing a snapshot of all interfaces of the element.
+ */
+public class ElementPhysicalInterfaceBenchmark extends FleetBenchmark {
+
+	private ElementPhysicalInterfaceService service;
+	private long invocations;
+	
+	@Override
+	protected void initServices(InventoryFleet fleet) {
+		service = fleet.newElementPhysicalInterfaceService();
+	}
+	
+	@Benchmark
+	public boolean storePhysicalInterface() {
+		long invocation = invocations++;
+		int ifp = (int) (invocation % interfaces);
+		return fleet.transaction(() -> service.storePhysicalInterface(nextElementId(), 
+																	  physicalInterface(ifp, 
+																			  			(invocation / elements) % 2 == 0 ? DOWN : UP)));
+	}
+	
+	@Benchmark
+	public ElementPhysicalInterfaceSyncResult syncPhysicalInterfaces() {
+		long invocation = invocations++;
+		int modified = (int) (invocation % interfaces);
+		List<ElementPhysicalInterfaceSubmission> snapshot = new ArrayList<>(interfaces);
+		for(int ifp=0; ifp < interfaces; ifp++) {
+			snapshot.add(physicalInterface(ifp, 
+										   ifp == modified && (invocation / elements) % 2 == 0 ? DOWN : UP));
+		}
+		return fleet.transaction(() -> service.syncPhysicalInterfaces(nextElementId(), snapshot));
+	}
+	
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.leitstand.inventory.service.ElementId;
+
+/**
+ * Base class of all benchmarks operating on a synthetic {@link InventoryFleet}.
+ * <p>
+ * The fleet size is controlled by the <code>elements</code> and <code>interfaces</code> parameters,
+ * e.g. <code>-p elements=10000</code> runs the benchmarks against a fleet of 10,000 elements.
+ * The fleet is created once per fork. 
+ * All benchmarks run single-threaded, because the fleet services share a single entity manager.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations=3, time=5, timeUnit=SECONDS)
+@Measurement(iterations=5, time=5, timeUnit=SECONDS)
+@Fork(1)
+public abstract class FleetBenchmark {
+
+	@Param({"100", "1000"})
+	public int elements;
+	
+	@Param({"48"})
+	public int interfaces;
+	
+	protected InventoryFleet fleet;
+	private List<ElementId> elementIds;
+	private int next;
+	
+	@Setup(Level.Trial)
+	public void createFleet() throws SQLException {
+		fleet = new InventoryFleet(elements, interfaces);
+		elementIds = fleet.getElementIds();
+		initServices(fleet);
+	}
+	
+	/**
+	 * Creates the services under test.
+	 * @param fleet the fleet the services operate on
+	 */
+	protected abstract void initServices(InventoryFleet fleet);
+	
+	/**
+	 * Returns the next fleet element in round-robin order.
+	 * @return the next element ID.
+	 */
+	protected ElementId nextElementId() {
+		ElementId elementId = elementIds.get(next);
+		next = (next + 1) % elementIds.size();
+		return elementId;
+	}
+	
+	@TearDown(Level.Trial)
+	public void closeFleet() {
+		fleet.close();
+	}
+	
+}
@@ -0,0 +1,498 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.AddressInterface.newAddressInterface;
+import static io.leitstand.inventory.service.AdministrativeState.ACTIVE;
+import static io.leitstand.inventory.service.Bandwidth.bandwidth;
+import static io.leitstand.inventory.service.ElementGroupId.randomGroupId;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementGroupType.groupType;
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.ElementLogicalInterfaceSubmission.newElementLogicalInterfaceSubmission;
+import static io.leitstand.inventory.service.ElementManagementInterface.newElementManagementInterface;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementPhysicalInterfaceSubmission.newPhysicalInterfaceSubmission;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.ImageId.randomImageId;
+import static io.leitstand.inventory.service.ImageName.imageName;
+import static io.leitstand.inventory.service.ImageState.RELEASE;
+import static io.leitstand.inventory.service.IPvxPrefix.cidr;
+import static io.leitstand.inventory.service.ImageType.imageType;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.MACAddress.macAddress;
+import static io.leitstand.inventory.service.OperationalState.DOWN;
+import static io.leitstand.inventory.service.OperationalState.UP;
+import static io.leitstand.inventory.service.Plane.DATA;
+import static io.leitstand.inventory.service.PlatformChipsetName.platformChipsetName;
+import static io.leitstand.inventory.service.PlatformId.randomPlatformId;
+import static io.leitstand.inventory.service.PlatformName.platformName;
+import static io.leitstand.inventory.service.RoutingInstanceName.routingInstance;
+import static io.leitstand.inventory.service.VlanID.vlanID;
+import static io.leitstand.inventory.service.VlanTPID.vlanTPID;
+import static io.leitstand.inventory.service.VlanTag.newVlanTag;
+import static io.leitstand.security.auth.UserName.userName;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.reflect.Proxy.newProxyInstance;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.Persistence;
+import javax.sql.DataSource;
+
+import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.commons.messages.Messages;
+import io.leitstand.commons.model.Repository;
+import io.leitstand.commons.tx.SubtransactionService;
+import io.leitstand.inventory.service.AdministrativeState;
+import io.leitstand.inventory.service.ElementConfigService;
+import io.leitstand.inventory.service.ElementGroupService;
+import io.leitstand.inventory.service.ElementGroupType;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementImageState;
+import io.leitstand.inventory.service.ElementImagesService;
+import io.leitstand.inventory.service.ElementLogicalInterfaceService;
+import io.leitstand.inventory.service.ElementLogicalInterfaceSubmission;
+import io.leitstand.inventory.service.ElementPhysicalInterfaceService;
+import io.leitstand.inventory.service.ElementPhysicalInterfaceSubmission;
+import io.leitstand.inventory.service.OperationalState;
+import io.leitstand.inventory.service.PhysicalInterfaceService;
+import io.leitstand.inventory.service.PlatformChipsetName;
+import io.leitstand.inventory.service.Version;
+import io.leitstand.security.auth.UserContext;
+import io.leitstand.security.auth.UserName;
+
+/**
+ * A synthetic fleet of elements stored in a benchmark database.
+ * <p>
+ * The fleet consists of element groups with {@value #ELEMENTS_PER_GROUP} elements each.
+ * All elements share the same role and platform, run the same release image and 
+ * have the configured number of physical interfaces.
+ * Every second element is operationally down to obtain a realistic mix for the group statistics.
+ * <p>
+ * The benchmark database is an in-memory H2 database unless a JDBC URL is specified by the 
+ * <code>benchmark.jdbc.url</code> system property. 
+ * The <code>benchmark.jdbc.user</code> and <code>benchmark.jdbc.password</code> system properties
+ * specify the credentials to connect to a PostgreSQL database. 
+ * The inventory tables are created if they do not exist. 
+ * All fleet names contain a fleet ID, which allows to populate several fleets in the same database.
+ * <p>
+ * A fleet is not thread-safe. All services operating on the fleet share a single entity manager.
+ */
+public class InventoryFleet implements AutoCloseable {
+	
+	static final int ELEMENTS_PER_GROUP = 20;
+	
+	private static final PlatformChipsetName CHIPSET = platformChipsetName("bcm-qmx");
+	private static final UserName BENCHMARK_USER = userName("benchmark");
+	
+	private final String url;
+	private final String user;
+	private final String password;
+	private final EntityManagerFactory emf;
+	private final EntityManager em;
+	private final Repository repository;
+	private final DatabaseService db;
+	private final List<ElementId> elementIds;
+	private final String fleetId;
+	private final ElementGroupType groupType;
+	
+	/**
+	 * Creates a fleet with the specified number of elements.
+	 * @param elements the number of elements
+	 * @param interfaces the number of physical interfaces per element
+	 */
+	public InventoryFleet(int elements, int interfaces) throws SQLException {
+		this.url = System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:inventory;DB_CLOSE_DELAY=-1");
+		this.user = System.getProperty("benchmark.jdbc.user", "sa");
+		this.password = System.getProperty("benchmark.jdbc.password", "sa");
+		try(Connection c = DriverManager.getConnection(url, user, password);
+			Statement stmt = c.createStatement()){
+			stmt.execute("CREATE SCHEMA IF NOT EXISTS inventory");
+			stmt.execute("CREATE SCHEMA IF NOT EXISTS leitstand");
+		}
+		
+		Map<String,Object> properties = new HashMap<>();
+		properties.put("javax.persistence.transactionType", "RESOURCE_LOCAL");
+		properties.put("javax.persistence.jtaDataSource", "");
+		properties.put("javax.persistence.jdbc.url", url);
+		properties.put("javax.persistence.jdbc.user", user);
+		properties.put("javax.persistence.jdbc.password", password);
+		properties.put("eclipselink.target-database", url.startsWith("jdbc:postgresql:") 
+													  ? "org.eclipse.persistence.platform.database.PostgreSQLPlatform" 
+													  : "org.eclipse.persistence.platform.database.H2Platform");
+		properties.put("eclipselink.ddl-generation", "create-tables");
+		properties.put("eclipselink.ddl-generation.output-mode", "database");
+		properties.put("eclipselink.logging.level", "WARNING");
+		this.emf = Persistence.createEntityManagerFactory("inventory", properties);
+		this.em = emf.createEntityManager();
+		this.repository = new Repository(em);
+		this.db = new DatabaseService(new FleetDataSource());
+		this.elementIds = new ArrayList<>(elements);
+		this.fleetId = Long.toString(currentTimeMillis(), 36);
+		this.groupType = groupType("pod-"+fleetId);
+		populate(elements, interfaces);
+	}
+	
+	private void populate(int elements, int interfaces) {
+		Platform platform = transaction(() -> {
+			Platform p = new Platform(randomPlatformId(), 
+									  platformName("benchmark-"+fleetId), 
+									  CHIPSET);
+			repository.add(p);
+			return p;
+		});
+		
+		ElementRole role = transaction(() -> {
+			ElementRole r = new ElementRole(elementRoleName("leaf-"+fleetId), DATA);
+			r.setManageable(true);
+			repository.add(r);
+			return r;
+		});
+		
+		Image release = transaction(() -> {
+			Image installed = null;
+			for(Version version : asList(new Version(1,0,0),
+										 new Version(1,0,1),
+										 new Version(1,1,0),
+										 new Version(2,0,0))) {
+				Image image = new Image(randomImageId());
+				image.setOrganization("leitstand.io");
+				image.setImageType(imageType("lxd"));
+				image.setImageName(imageName("leaf"));
+				image.setElementRoles(asList(repository.merge(role)));
+				image.setExtension("tar.gz");
+				image.setImageVersion(version);
+				image.setBuildDate(new Date());
+				image.setPackages(emptyList());
+				image.setApplications(emptyList());
+				image.setPlatformChipset(CHIPSET);
+				image.setImageState(RELEASE);
+				repository.add(image);
+				if(installed == null) {
+					installed = image;
+				}
+			}
+			return installed;
+		});
+		
+		int groups = (elements + ELEMENTS_PER_GROUP - 1) / ELEMENTS_PER_GROUP;
+		for(int g=0; g < groups; g++) {
+			int group = g;
+			transaction(() -> {
+				ElementRole leaf = repository.merge(role);
+				Platform bcm = repository.merge(platform);
+				Image image = repository.merge(release);
+				ElementGroup pod = new ElementGroup(randomGroupId(), 
+													groupType, 
+													groupName(format("pod-%s-%05d", fleetId, group)));
+				pod.setTags(singleton("benchmark"));
+				repository.add(pod);
+				for(int i=group*ELEMENTS_PER_GROUP; i < Math.min(elements, (group+1) * ELEMENTS_PER_GROUP); i++) {
+					ElementId elementId = randomElementId();
+					Element element = new Element(pod,
+												  leaf, 
+												  bcm,
+												  elementId, 
+												  elementName(format("leaf-%s-%06d", fleetId, i)));
+					element.setAdministrativeState(ACTIVE);
+					element.setOperationalState(i % 2 == 0 ? UP : DOWN);
+					element.setTags(singleton("rack-"+(i % 8)));
+					element.setElementManagementInterfaces(asList(newElementManagementInterface()
+																  .withName("LEITSTAND")
+																  .withProtocol("http")
+																  .withHostname(format("leaf-%s-%06d.leitstand.io", fleetId, i))
+																  .withPort(8080)
+																  .build()));
+					repository.add(element);
+					Element_Image installed = new Element_Image(element, image);
+					installed.setElementImageState(ElementImageState.ACTIVE);
+					repository.add(installed);
+					elementIds.add(elementId);
+				}
+				return null;
+			});
+		}
+		
+		ElementPhysicalInterfaceService service = newElementPhysicalInterfaceService();
+		for(ElementId elementId : elementIds) {
+			List<ElementPhysicalInterfaceSubmission> submissions = new ArrayList<>(interfaces);
+			for(int i=0; i < interfaces; i++) {
+				submissions.add(physicalInterface(i, UP));
+			}
+			transaction(() -> {
+				service.storePhysicalInterfaces(elementId, submissions);
+				return null;
+			});
+		}
+	}
+	
+	/**
+	 * Returns a physical interface submission for the specified interface of a fleet element.
+	 * @param ifp the interface number
+	 * @param opState the operational state of the interface
+	 * @return the physical interface submission
+	 */
+	static ElementPhysicalInterfaceSubmission physicalInterface(int ifp, OperationalState opState) {
+		return newPhysicalInterfaceSubmission()
+			   .withIfpName(interfaceName(format("ifp-0/%d/%d", ifp / 48, ifp % 48)))
+			   .withIfpAlias(format("port %d", ifp))
+			   .withCategory("access")
+			   .withAdministrativeState(AdministrativeState.UP)
+			   .withOperationalState(opState)
+			   .withBandwidth(bandwidth("10.000 Gbps"))
+			   .withMacAddress(macAddress(format("02:00:00:00:%02x:%02x", (ifp >> 8) & 0xFF, ifp & 0xFF)))
+			   .build();
+	}
+	
+	/**
+	 * Returns a logical interface submission for the specified logical interface of a fleet element.
+	 * The logical interfaces are spread across the container interfaces of the first 48 physical interfaces.
+	 * Every logical interface has an IPv4 address and a double-tagged VLAN.
+	 * @param ifl the logical interface number
+	 * @param opState the operational state of the logical interface
+	 * @return the logical interface submission
+	 */
+	static ElementLogicalInterfaceSubmission logicalInterface(int ifl, OperationalState opState) {
+		return newElementLogicalInterfaceSubmission()
+			   .withIflName(interfaceName(format("ifl-0/0/%d/%d", ifl % 48, ifl / 48)))
+			   .withIfcName(interfaceName(format("ifc-0/0/%d", ifl % 48)))
+			   .withInterfaceAlias(format("subscriber %d", ifl))
+			   .withRoutingInstanceName(routingInstance("default"))
+			   .withAdministrativeState(AdministrativeState.UP)
+			   .withOperationalState(opState)
+			   .withAddressInterfaces(newAddressInterface()
+					   				  .withAddress(cidr(format("10.%d.%d.1/30", (ifl >> 8) & 0xFF, ifl & 0xFF))))
+			   .withVlans(newVlanTag()
+					   	  .withVlanTpid(vlanTPID(0x88A8))
+					   	  .withVlanId(vlanID(1 + ifl / 4000)),
+					   	  newVlanTag()
+					   	  .withVlanTpid(vlanTPID(0x8100))
+					   	  .withVlanId(vlanID(1 + ifl % 4000)))
+			   .build();
+	}
+	
+	/**
+	 * Runs the specified operation in a transaction and clears the persistence context afterwards.
+	 * @param tx the transactional operation
+	 * @return the operation result
+	 */
+	public <T> T transaction(Supplier<T> tx) {
+		EntityTransaction transaction = em.getTransaction();
+		transaction.begin();
+		try {
+			T result = tx.get();
+			transaction.commit();
+			return result;
+		} finally {
+			if(transaction.isActive()) {
+				transaction.rollback();
+			}
+			em.clear();
+		}
+	}
+	
+	/**
+	 * Returns the IDs of all fleet elements.
+	 * @return the IDs of all fleet elements.
+	 */
+	public List<ElementId> getElementIds() {
+		return elementIds;
+	}
+	
+	/**
+	 * Returns the group type of all fleet element groups.
+	 * @return the group type of all fleet element groups.
+	 */
+	public ElementGroupType getGroupType() {
+		return groupType;
+	}
+	
+	Repository getRepository() {
+		return repository;
+	}
+	
+	DatabaseService getDatabase() {
+		return db;
+	}
+	
+	ElementProvider getElementProvider() {
+		return new ElementProvider(repository);
+	}
+	
+	ElementConfigService newElementConfigService() {
+		UserContext userContext = stub(UserContext.class);
+		when(userContext.getUserName()).thenReturn(BENCHMARK_USER);
+		return new DefaultElementConfigService(getElementProvider(), 
+											   new ElementConfigManager(repository, 
+													   					db, 
+													   					userContext, 
+													   					new NoopEvent<>(), 
+													   					stub(Messages.class)));
+	}
+	
+	ElementPhysicalInterfaceService newElementPhysicalInterfaceService() {
+		ElementProvider elements = getElementProvider();
+		return new DefaultElementPhysicalInterfaceService(elements, 
+														  new ElementPhysicalInterfaceManager(repository, 
+																  							  elements, 
+																  							  stub(Messages.class), 
+																  							  new NoopEvent<>()),
+														  new ElementPhysicalInterfaceSyncManager(db,
+																  								  new FleetDataSource(),
+																  								  stub(Messages.class),
+																  								  new NoopEvent<>()));
+	}
+	
+	PhysicalInterfaceService newPhysicalInterfaceService() {
+		return new DefaultPhysicalInterfacesService(db);
+	}
+	
+	ElementLogicalInterfaceService newElementLogicalInterfaceService() {
+		return new DefaultElementLogicalInterfaceService(getElementProvider(), 
+														 new ElementLogicalInterfaceManager(repository, 
+																 							db, 
+																 							stub(Messages.class), 
+																 							new NoopEvent<>()),
+														 new ElementLogicalInterfaceSyncManager(db,
+																 								new FleetDataSource(),
+																 								stub(Messages.class),
+																 								new NoopEvent<>()));
+	}
+	
+	ElementImagesService newElementImagesService() {
+		ImageUpgradeIndex upgrades = new ImageUpgradeIndex(new ImageUpgradeIndexService(db));
+		upgrades.reload();
+		return new DefaultElementImagesService(new ElementImageManager(repository, 
+																	   stub(SubtransactionService.class), 
+																	   stub(Messages.class),
+																	   upgrades), 
+											   getElementProvider());
+	}
+	
+	ElementGroupService newElementGroupService() {
+		return new DefaultElementGroupService(new ElementGroupManager(repository, 
+																	  db, 
+																	  new FacilityProvider(repository, stub(Messages.class)), 
+																	  stub(Messages.class)));
+	}
+	
+	ElementGroupExportManager newElementGroupExportManager() {
+		return new ElementGroupExportManager(db);
+	}
+	
+	/**
+	 * Creates a stub that does not record invocations. 
+	 * Recording invocations would slowly exhaust the heap during a benchmark run.
+	 */
+	private static <T> T stub(Class<T> type) {
+		return mock(type, withSettings().stubOnly());
+	}
+	
+	@Override
+	public void close() {
+		em.close();
+		emf.close();
+	}
+	
+	/**
+	 * A data source that shares the connection of the active entity manager transaction.
+	 * Native SQL statements issued by the {@link DatabaseService} therefore see all changes
+	 * made by the entity manager in the same transaction, like in a JTA transaction.
+	 */
+	private class FleetDataSource implements DataSource {
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			if(!em.getTransaction().isActive()) {
+				return DriverManager.getConnection(url, user, password);
+			}
+			Connection connection = em.unwrap(Connection.class);
+			// The entity manager owns the connection. Ignore attempts to close the connection.
+			return (Connection) newProxyInstance(Connection.class.getClassLoader(), 
+												 new Class<?>[] {Connection.class}, 
+												 (proxy, method, args) -> {
+													if("close".equals(method.getName())) {
+														return null;
+													}
+													return method.invoke(connection, args);
+												 });
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return getConnection();
+		}
+
+		@Override
+		public PrintWriter getLogWriter() {
+			return null;
+		}
+
+		@Override
+		public void setLogWriter(PrintWriter out) {
+			// Not supported
+		}
+
+		@Override
+		public void setLoginTimeout(int seconds) {
+			// Not supported
+		}
+
+		@Override
+		public int getLoginTimeout() {
+			return 0;
+		}
+
+		@Override
+		public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+			throw new SQLFeatureNotSupportedException();
+		}
+
+		@Override
+		public <T> T unwrap(Class<T> iface) throws SQLException {
+			throw new SQLException("Not a wrapper");
+		}
+
+		@Override
+		public boolean isWrapperFor(Class<?> iface) {
+			return false;
+		}
+		
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.InventoryFleet.logicalInterface;
+import static io.leitstand.inventory.service.OperationalState.UP;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementLogicalInterfaceService;
+import io.leitstand.inventory.service.ElementLogicalInterfaceSubmission;
+import io.leitstand.inventory.service.ElementLogicalInterfaces;
+import io.leitstand.inventory.service.InterfaceName;
+
+/**
+ * Measures the latency to read a page of the logical interface search result of a single element with many logical interfaces,
+ * including the addresses and VLANs of the logical interfaces.
+ * The page is addressed by the cursor of the preceding page.
+ * <p>
+ * The <code>ifls</code> parameter sets the number of logical interfaces of the searched element.
+ * Every logical interface has one address and two VLAN tags.
+ * The <code>filter</code> parameter sets the search filter, which is either an interface name, an IP prefix or a VLAN ID.
+ * The <code>page</code> parameter sets the page number. The filter must match enough interfaces to fill all preceding pages.
+ * For example, <code>-p filter=ifl-0/ -p page=250</code> reads the 250th page of an interface name search
+ * and <code>-p filter=10.0.1.1/30 -p page=1</code> reads the first page of an address search.
+ */
+public class LogicalInterfaceSearchBenchmark extends FleetBenchmark {
+
+	static final int PAGE_SIZE = 100;
+	
+	@Param({"50000"})
+	public int ifls;
+	
+	@Param({"ifl-0/", "1"})
+	public String filter;
+	
+	@Param({"1", "10"})
+	public int page;
+	
+	private ElementLogicalInterfaceService service;
+	private ElementId elementId;
+	private InterfaceName cursor;
+	
+	@Override
+	protected void initServices(InventoryFleet fleet) {
+		service = fleet.newElementLogicalInterfaceService();
+		elementId = fleet.getElementIds().get(0);
+		List<ElementLogicalInterfaceSubmission> snapshot = new ArrayList<>(ifls);
+		for(int ifl=0; ifl < ifls; ifl++) {
+			snapshot.add(logicalInterface(ifl, UP));
+		}
+		fleet.transaction(() -> service.syncLogicalInterfaces(elementId, snapshot));
+		for(int i=1; i < page; i++) {
+			InterfaceName after = cursor;
+			cursor = fleet.transaction(() -> service.findLogicalInterfaces(elementId, 
+																		   filter, 
+																		   after, 
+																		   PAGE_SIZE)).getNextCursor();
+			if(cursor == null) {
+				throw new IllegalStateException("The filter matches not enough interfaces to read page "+page);
+			}
+		}
+	}
+	
+	@Benchmark
+	public ElementLogicalInterfaces readPageByCursor() {
+		return fleet.transaction(() -> service.findLogicalInterfaces(elementId, 
+																	 filter, 
+																	 cursor, 
+																	 PAGE_SIZE));
+	}
+	
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.CompletionStage;
+
+import javax.enterprise.event.Event;
+import javax.enterprise.event.NotificationOptions;
+import javax.enterprise.util.TypeLiteral;
+
+/**
+ * An event that discards all fired events.
+ * The benchmarks measure the inventory transactions, not the event observers.
+ * @param <T> the event type
+ */
+class NoopEvent<T> implements Event<T> {
+
+	@Override
+	public void fire(T event) {
+		// Discard event
+	}
+
+	@Override
+	public <U extends T> CompletionStage<U> fireAsync(U event) {
+		return completedFuture(event);
+	}
+
+	@Override
+	public <U extends T> CompletionStage<U> fireAsync(U event, NotificationOptions options) {
+		return completedFuture(event);
+	}
+
+	@Override
+	public Event<T> select(Annotation... qualifiers) {
+		return this;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <U extends T> Event<U> select(Class<U> subtype, Annotation... qualifiers) {
+		return (Event<U>) this;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <U extends T> Event<U> select(TypeLiteral<U> subtype, Annotation... qualifiers) {
+		return (Event<U>) this;
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.PhysicalInterfaceCursor.cursorOf;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import io.leitstand.inventory.service.PhysicalInterfaceCursor;
+import io.leitstand.inventory.service.PhysicalInterfaceData;
+import io.leitstand.inventory.service.PhysicalInterfaceService;
+
+/**
+ * Measures the latency to read a page of the physical interface search result,
+ * either addressed by an offset or by the cursor of the preceding page.
+ * <p>
+ * The <code>page</code> parameter sets the page number. The fleet must contain enough interfaces to fill all preceding pages.
+ * For example, <code>-p elements=5000 -p interfaces=1000 -p page=1,1000</code> reads the first and 1,000th page 
+ * of a fleet of 5,000,000 interfaces.
+ */
+public class PhysicalInterfaceSearchBenchmark extends FleetBenchmark {
+
+	static final int PAGE_SIZE = 100;
+	static final String IFP_FILTER = "ifp-0/";
+	
+	@Param({"1", "10"})
+	public int page;
+	
+	private PhysicalInterfaceService service;
+	private int offset;
+	private PhysicalInterfaceCursor cursor;
+	
+	@Override
+	protected void initServices(InventoryFleet fleet) {
+		service = fleet.newPhysicalInterfaceService();
+		offset = (page - 1) * PAGE_SIZE;
+		if(offset > 0) {
+			List<PhysicalInterfaceData> last = fleet.transaction(() -> service.findPhysicalInterfaces(null, 
+																									   IFP_FILTER, 
+																									   offset - 1, 
+																									   1));
+			if(last.isEmpty()) {
+				throw new IllegalStateException("The fleet has not enough interfaces to read page "+page);
+			}
+			cursor = cursorOf(last.get(0));
+		}
+	}
+	
+	@Benchmark
+	public List<PhysicalInterfaceData> readPageByOffset() {
+		return fleet.transaction(() -> service.findPhysicalInterfaces(null, 
+																	  IFP_FILTER, 
+																	  offset, 
+																	  PAGE_SIZE));
+	}
+	
+	@Benchmark
+	public List<PhysicalInterfaceData> readPageByCursor() {
+		return fleet.transaction(() -> service.findPhysicalInterfaces(null, 
+																	  IFP_FILTER, 
+																	  cursor, 
+																	  PAGE_SIZE));
+	}
+	
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.service;
+
+import static io.leitstand.inventory.service.ElementGroupId.randomGroupId;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures mapping the identifiers of a synthetic inventory result row to inventory value types.
+ * <p>
+ * The <code>mapRow</code> benchmark uses the canonicalizing <code>valueOf</code> factories 
+ * whereas the <code>mapRowWithoutCache</code> benchmark creates new value objects for every row.
+ * Run the benchmark with the JMH GC profiler (<code>-prof gc</code>) to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations=3, time=2, timeUnit=SECONDS)
+@Measurement(iterations=5, time=2, timeUnit=SECONDS)
+@Fork(1)
+public class ValueTypeBenchmark {
+
+	private static final int ROWS = 4800;
+	
+	private final String[] groupIds = new String[ROWS];
+	private final String[] groupNames = new String[ROWS];
+	private final String[] roles = new String[ROWS];
+	private final String[] states = new String[ROWS];
+	private final String[] ifpNames = new String[ROWS];
+	private final String[] versions = new String[ROWS];
+	private final String[] macAddresses = new String[ROWS];
+	private int row;
+	
+	@Setup(Level.Trial)
+	public void createRows() {
+		// Every row is read from the database and thus a new string instance.
+		String[] pods = new String[ROWS / 960];
+		for(int i=0; i < pods.length; i++) {
+			pods[i] = randomGroupId().getValue();
+		}
+		String[] opStates = {"UP","UP","UP","DOWN","MAINTENANCE"};
+		for(int i=0; i < ROWS; i++) {
+			groupIds[i] = new String(pods[i / 960]);
+			groupNames[i] = format("pod-%05d", i / 960);
+			roles[i] = new String(i % 20 < 2 ? "spine" : "leaf");
+			states[i] = new String(opStates[i % opStates.length]);
+			ifpNames[i] = format("ifp-0/%d/%d", (i / 48) % 4, i % 48);
+			versions[i] = format("20.%d.%d-rc%d", i % 2 + 10, i % 3, i % 2);
+			macAddresses[i] = format("02:00:00:%02x:%02x:%02x", (i >> 16) & 0xFF, (i >> 8) & 0xFF, i & 0xFF);
+		}
+	}
+	
+	private int nextRow() {
+		int i = row++;
+		if(row == ROWS) {
+			row = 0;
+		}
+		return i;
+	}
+	
+	@Benchmark
+	public void mapRow(Blackhole hole) {
+		int i = nextRow();
+		hole.consume(ElementGroupId.valueOf(groupIds[i]));
+		hole.consume(ElementGroupName.valueOf(groupNames[i]));
+		hole.consume(ElementRoleName.valueOf(roles[i]));
+		hole.consume(OperationalState.valueOf(states[i]));
+		hole.consume(InterfaceName.valueOf(ifpNames[i]));
+		hole.consume(Version.valueOf(versions[i]));
+	}
+	
+	@Benchmark
+	public void mapRowWithoutCache(Blackhole hole) {
+		int i = nextRow();
+		hole.consume(new ElementGroupId(groupIds[i]));
+		hole.consume(new ElementGroupName(groupNames[i]));
+		hole.consume(new ElementRoleName(roles[i]));
+		hole.consume(new OperationalState(states[i]));
+		hole.consume(new InterfaceName(ifpNames[i]));
+		hole.consume(new Version(versions[i]));
+	}
+	
+	@Benchmark
+	public Version parseVersion() {
+		return new Version(versions[nextRow()]);
+	}
+	
+	@Benchmark
+	public long convertMacAddressToLong() {
+		return new MACAddress(macAddresses[nextRow()]).toLong();
+	}
+	
+}
@@ -15,43 +15,67 @@
  */
 package io.leitstand.inventory.event;
 
-import static io.leitstand.event.queue.service.DomainEvent.newDomainEvent;
 import static io.leitstand.event.queue.service.TopicName.topicName;
 
 import javax.enterprise.context.ApplicationScoped;
-import javax.enterprise.event.Event;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
-import io.leitstand.event.queue.service.DomainEvent;
-
+import io.leitstand.event.queue.service.TopicName;
+import io.leitstand.inventory.model.EventOutbox;
 
+/**
+ * Writes all inventory events to the {@link EventOutbox}.
+ * <p>
+ * Events that convey the latest state of an entity are written with a coalescing key,
+ * such that superseded events of the same entity are not published.
+ * Events that convey a state transition are never coalesced.
+ */
 @ApplicationScoped
 public class DomainEventAdapter {
 
+	private static final TopicName ELEMENT = topicName("element");
+	private static final TopicName IMAGE = topicName("image");
+	
 	@Inject
-	private Event<DomainEvent<?>> bus;
+	private EventOutbox outbox;
 	
 	public void publishElementEvent(@Observes ElementEvent event) {
-		bus.fire(newDomainEvent()
-				 .withTopicName(topicName("element"))
-				 .withPayload(event)
-				 .build());
+		outbox.add(ELEMENT, 
+				   coalescingKey(event), 
+				   event);
 	}
 	
 	public void publishElementEvent(@Observes DnsZoneEvent event) {
-		bus.fire(newDomainEvent()
-				 .withTopicName(topicName("element"))
-				 .withPayload(event)
-				 .build());
+		outbox.add(ELEMENT, 
+				   null, 
+				   event);
 	}
 	
 	public void publishImageEvent(@Observes ImageEvent event) {
-		bus.fire(newDomainEvent()
-				 .withTopicName(topicName("image"))
-				 .withPayload(event)
-				 .build());
-		
+		String coalescingKey = null;
+		if(event instanceof ImageStoredEvent) {
+			coalescingKey = "image:"+event.getImageId();
+		}
+		outbox.add(IMAGE, 
+				   coalescingKey, 
+				   event);
+	}
+	
+	static String coalescingKey(ElementEvent event) {
+		if(event instanceof ElementSettingsUpdatedEvent) {
+			return "element:"+event.getElementId();
+		}
+		if(event instanceof ElementPhysicalInterfaceStoredEvent) {
+			return "ifp:"+event.getElementId()+":"+((ElementPhysicalInterfaceStoredEvent)event).getInterfaceName();
+		}
+		if(event instanceof ElementLogicalInterfaceEvent && ((ElementLogicalInterfaceEvent)event).getInterfaceName() != null) {
+			return "ifl:"+event.getElementId()+":"+((ElementLogicalInterfaceEvent)event).getInterfaceName();
+		}
+		if(event instanceof ElementConfigStoredEvent) {
+			return "config:"+event.getElementId()+":"+((ElementConfigStoredEvent)event).getConfigName();
+		}
+		return null;
 	}
 	
 }
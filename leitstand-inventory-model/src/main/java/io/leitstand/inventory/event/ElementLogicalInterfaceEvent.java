@@ -15,6 +15,39 @@
  */
 package io.leitstand.inventory.event;
 
+import javax.json.bind.annotation.JsonbProperty;
+
+import io.leitstand.commons.model.BuilderUtil;
+import io.leitstand.inventory.service.InterfaceName;
+
 public class ElementLogicalInterfaceEvent extends ElementInterfaceEvent {
 
+	public static Builder newElementLogicalInterfaceEvent() {
+		return new Builder();
+	}
+	
+	public static class Builder extends ElementInterfaceEventBuilder<ElementLogicalInterfaceEvent, Builder>{
+		
+		public Builder() {
+			super(new ElementLogicalInterfaceEvent());
+		}
+		
+		public Builder withInterfaceName(InterfaceName iflName) {
+			BuilderUtil.assertNotInvalidated(getClass(), object);
+			object.interfaceName = iflName;
+			return this;
+		}
+	}
+	
+	@JsonbProperty("ifl_name")
+	private InterfaceName interfaceName;
+	
+	/**
+	 * Returns the name of the modified logical interface or <code>null</code> if all logical interfaces of the element were modified.
+	 * @return the logical interface name.
+	 */
+	public InterfaceName getInterfaceName() {
+		return interfaceName;
+	}
+	
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.event;
+
+import javax.json.bind.annotation.JsonbProperty;
+
+import io.leitstand.commons.model.BuilderUtil;
+import io.leitstand.inventory.service.ServiceName;
+
+public class ElementServiceEvent extends ElementEvent {
+
+	public static class Builder<T extends ElementServiceEvent> extends ElementEventBuilder<T, Builder<T>>{
+		
+		protected Builder(T event) {
+			super(event);
+		}
+		
+		public Builder<T> withServiceName(ServiceName serviceName) {
+			BuilderUtil.assertNotInvalidated(getClass(), object);
+			((ElementServiceEvent)object).serviceName = serviceName;
+			return this;
+		}
+		
+	}
+	
+	@JsonbProperty("service_name")
+	private ServiceName serviceName;
+	
+	public ServiceName getServiceName() {
+		return serviceName;
+	}
+	
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import io.leitstand.inventory.service.AdministrativeState;
+import io.leitstand.inventory.service.BaseElementEnvelope;
+import io.leitstand.inventory.service.BaseElementEnvelope.BaseElementEnvelopeBuilder;
+import io.leitstand.inventory.service.ElementAlias;
+import io.leitstand.inventory.service.ElementGroupId;
+import io.leitstand.inventory.service.ElementGroupName;
+import io.leitstand.inventory.service.ElementGroupType;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementName;
+import io.leitstand.inventory.service.ElementRoleName;
+import io.leitstand.inventory.service.OperationalState;
+
+/**
+ * An immutable snapshot of the element identity and envelope data, stored in the {@link ElementCache}.
+ * <p>
+ * The snapshot contains the primary key of the element record, the element ID, name and alias, 
+ * the element group, the element role and the administrative and operational state. 
+ * The modification date is not part of the snapshot, 
+ * because every heartbeat updates the modification date without firing an element event.
+ */
+public final class CachedElement {
+	
+	static CachedElement cachedElement(Element element) {
+		return new CachedElement(element.getId(),
+								 element.getElementId(),
+								 element.getElementName(),
+								 element.getElementAlias(),
+								 element.getGroupId(),
+								 element.getGroupName(),
+								 element.getGroupType(),
+								 element.getElementRoleName(),
+								 element.getAdministrativeState(),
+								 element.getOperationalState());
+	}
+
+	private final long id;
+	private final ElementId elementId;
+	private final ElementName elementName;
+	private final ElementAlias elementAlias;
+	private final ElementGroupId groupId;
+	private final ElementGroupName groupName;
+	private final ElementGroupType groupType;
+	private final ElementRoleName elementRole;
+	private final AdministrativeState administrativeState;
+	private final OperationalState operationalState;
+	
+	CachedElement(long id,
+				  ElementId elementId,
+				  ElementName elementName,
+				  ElementAlias elementAlias,
+				  ElementGroupId groupId,
+				  ElementGroupName groupName,
+				  ElementGroupType groupType,
+				  ElementRoleName elementRole,
+				  AdministrativeState administrativeState,
+				  OperationalState operationalState) {
+		this.id = id;
+		this.elementId = elementId;
+		this.elementName = elementName;
+		this.elementAlias = elementAlias;
+		this.groupId = groupId;
+		this.groupName = groupName;
+		this.groupType = groupType;
+		this.elementRole = elementRole;
+		this.administrativeState = administrativeState;
+		this.operationalState = operationalState;
+	}
+	
+	/**
+	 * Returns the primary key of the element record.
+	 * @return the primary key of the element record.
+	 */
+	public long getId() {
+		return id;
+	}
+	
+	public ElementId getElementId() {
+		return elementId;
+	}
+	
+	public ElementName getElementName() {
+		return elementName;
+	}
+	
+	public ElementAlias getElementAlias() {
+		return elementAlias;
+	}
+	
+	public ElementGroupId getGroupId() {
+		return groupId;
+	}
+	
+	public ElementGroupName getGroupName() {
+		return groupName;
+	}
+	
+	public ElementGroupType getGroupType() {
+		return groupType;
+	}
+	
+	public ElementRoleName getElementRole() {
+		return elementRole;
+	}
+	
+	public AdministrativeState getAdministrativeState() {
+		return administrativeState;
+	}
+	
+	public OperationalState getOperationalState() {
+		return operationalState;
+	}
+	
+	/**
+	 * Tests whether this element has the specified name or alias.
+	 * @param name the element name or alias
+	 * @return <code>true</code> if the element has the specified name or alias, <code>false</code> otherwise.
+	 */
+	boolean isNamed(ElementName name) {
+		return name.equals(elementName) 
+			   || (elementAlias != null && name.getValue().equals(elementAlias.getValue()));
+	}
+	
+	/**
+	 * Sets the envelope properties of the given builder, except for the modification date.
+	 * @param builder the envelope builder
+	 * @return the envelope builder.
+	 */
+	public <T extends BaseElementEnvelope, B extends BaseElementEnvelopeBuilder<T,B>> B envelope(B builder) {
+		return builder.withGroupId(groupId)
+					  .withGroupName(groupName)
+					  .withGroupType(groupType)
+					  .withElementId(elementId)
+					  .withElementName(elementName)
+					  .withElementAlias(elementAlias)
+					  .withElementRole(elementRole)
+					  .withAdministrativeState(administrativeState)
+					  .withOperationalState(operationalState);
+	}
+	
+}
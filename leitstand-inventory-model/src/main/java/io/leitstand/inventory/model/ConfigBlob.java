@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static javax.persistence.FetchType.LAZY;
+import static javax.persistence.TemporalType.TIMESTAMP;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import javax.persistence.Basic;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+
+import io.leitstand.commons.model.Query;
+import io.leitstand.commons.model.Update;
+import io.leitstand.inventory.service.ElementConfigName;
+
+/**
+ * A content-addressed configuration blob.
+ * <p>
+ * A configuration blob stores a configuration content once, regardless of how many element configuration revisions share the same content.
+ * The SHA-256 hash of the content forms the blob key.
+ * The blob reference counter is the number of {@link Element_Config} revisions that refer to the blob.
+ * All reference counter updates are atomic SQL updates, because the same blob is typically referenced concurrently
+ * when a configuration template is pushed to many elements.
+ * Blobs without references are removed by {@link #removeUnreferencedConfigBlobs()}.
+ */
+@Entity
+@Table(schema="inventory", name="config_blob")
+public class ConfigBlob implements Serializable{
+
+	private static final long serialVersionUID = 1L;
+
+	public static Query<ConfigBlob> findConfigBlob(String blobHash){
+		return em -> em.find(ConfigBlob.class, blobHash);
+	}
+
+	public static Update retainConfigBlob(String blobHash) {
+		return em -> em.createNativeQuery("UPDATE inventory.config_blob "+
+										  "SET refcount = refcount + 1 "+
+										  "WHERE hash = ?1")
+					   .setParameter(1, blobHash)
+					   .executeUpdate();
+	}
+
+	/**
+	 * Adds a new configuration blob with a reference counter of one.
+	 * The blob is not added, if a concurrent transaction has already added the same blob.
+	 * In this case the statement reports zero added blobs and the caller must retain the existing blob.
+	 * @param blobHash the blob hash
+	 * @param content the configuration content
+	 * @return the update to add the blob.
+	 */
+	public static Update storeConfigBlob(String blobHash, String content) {
+		return em -> em.createNativeQuery("INSERT INTO inventory.config_blob (hash, content, refcount, tscreated) "+
+										  "VALUES (?1, ?2, 1, ?3) "+
+										  "ON CONFLICT DO NOTHING")
+					   .setParameter(1, blobHash)
+					   .setParameter(2, content)
+					   .setParameter(3, new Date(), TIMESTAMP)
+					   .executeUpdate();
+	}
+
+	public static Update releaseConfigBlob(String blobHash) {
+		return em -> em.createNativeQuery("UPDATE inventory.config_blob "+
+										  "SET refcount = refcount - 1 "+
+										  "WHERE hash = ?1")
+					   .setParameter(1, blobHash)
+					   .executeUpdate();
+	}
+
+	public static Update releaseConfigRevisionBlobs(Element element, ElementConfigName configName) {
+		return em -> em.createNativeQuery("UPDATE inventory.config_blob b "+
+										  "SET refcount = b.refcount - ( SELECT count(*) "+
+										  								"FROM inventory.element_config c "+
+										  								"WHERE c.blob_hash = b.hash "+
+										  								"AND c.element_id = ?1 "+
+										  								"AND c.name = ?2 "+
+										  								"AND c.state <> 'ACTIVE' ) "+
+										  "WHERE b.hash IN ( SELECT c.blob_hash "+
+										  					"FROM inventory.element_config c "+
+										  					"WHERE c.element_id = ?1 "+
+										  					"AND c.name = ?2 "+
+										  					"AND c.state <> 'ACTIVE' )")
+					   .setParameter(1, element.getId())
+					   .setParameter(2, configName.getValue())
+					   .executeUpdate();
+	}
+
+	public static Update releaseElementConfigBlobs(Element element) {
+		return em -> em.createNativeQuery("UPDATE inventory.config_blob b "+
+										  "SET refcount = b.refcount - ( SELECT count(*) "+
+										  								"FROM inventory.element_config c "+
+										  								"WHERE c.blob_hash = b.hash "+
+										  								"AND c.element_id = ?1 ) "+
+										  "WHERE b.hash IN ( SELECT c.blob_hash "+
+										  					"FROM inventory.element_config c "+
+										  					"WHERE c.element_id = ?1 )")
+					   .setParameter(1, element.getId())
+					   .executeUpdate();
+	}
+
+	public static Update removeUnreferencedConfigBlobs() {
+		return em -> em.createNativeQuery("DELETE FROM inventory.config_blob "+
+										  "WHERE refcount <= 0")
+					   .executeUpdate();
+	}
+
+	@Id
+	private String hash;
+
+	@Basic(fetch=LAZY)
+	private String content;
+
+	private int refcount;
+
+	@Temporal(TIMESTAMP)
+	private Date tscreated;
+
+	protected ConfigBlob() {
+		// JPA
+	}
+
+	public String getBlobHash() {
+		return hash;
+	}
+
+	public String getContent() {
+		return content;
+	}
+
+	public int getReferenceCount() {
+		return refcount;
+	}
+
+	public Date getDateCreated() {
+		return new Date(tscreated.getTime());
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static java.nio.charset.CodingErrorAction.REPLACE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes the content hashes of a configuration in a single pass.
+ * <p>
+ * The configuration is encoded to UTF-8 in small chunks that are passed to the message digests.
+ * This avoids creating a byte array copy of the entire configuration.
+ * Two hashes are computed:
+ * <ul>
+ * 	<li>the MD5 <em>content hash</em> exposed as configuration content hash and</li>
+ * 	<li>the SHA-256 <em>blob hash</em> used as key of the content-addressed configuration blob store.</li>
+ * </ul>
+ */
+final class ConfigContentDigest {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    /**
+     * Computes the content hashes of the given configuration.
+     * @param config the configuration
+     * @return the configuration content hashes.
+     */
+    static ConfigContentDigest digest(String config) {
+        MessageDigest md5 = messageDigest("MD5");
+        MessageDigest sha256 = messageDigest("SHA-256");
+        // Replace malformed input the same way String.getBytes does.
+        CharsetEncoder encoder = UTF_8.newEncoder()
+                                      .onMalformedInput(REPLACE)
+                                      .onUnmappableCharacter(REPLACE);
+        CharBuffer in = CharBuffer.wrap(config != null ? config : "");
+        ByteBuffer out = ByteBuffer.allocate(CHUNK_SIZE);
+        CoderResult result;
+        do {
+            result = encoder.encode(in, out, true);
+            update(out, md5, sha256);
+        } while(result.isOverflow());
+        do {
+            result = encoder.flush(out);
+            update(out, md5, sha256);
+        } while(result.isOverflow());
+        return new ConfigContentDigest(contentHash(md5.digest()),
+                                       hex(sha256.digest()));
+    }
+
+    private static void update(ByteBuffer chunk, MessageDigest md5, MessageDigest sha256) {
+        chunk.flip();
+        md5.update(chunk.duplicate());
+        sha256.update(chunk);
+        chunk.clear();
+    }
+
+    /**
+     * Computes the SHA-256 blob hash of the given UTF-8 encoded configuration.
+     * @param config the UTF-8 encoded configuration.
+     * @return the blob hash.
+     */
+    static String blobHash(byte[] config) {
+        return hex(messageDigest("SHA-256").digest(config));
+    }
+
+    private static String contentHash(byte[] md5) {
+        // Preserve the format of existing content hashes.
+        return new BigInteger(md5).abs().toString(16);
+    }
+
+    private static String hex(byte[] hash) {
+        StringBuilder hex = new StringBuilder(hash.length * 2);
+        for(byte b : hash) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+               .append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static MessageDigest messageDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            // Both algorithms must be supported by every Java platform.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final String contentHash;
+    private final String blobHash;
+
+    private ConfigContentDigest(String contentHash, String blobHash) {
+        this.contentHash = contentHash;
+        this.blobHash = blobHash;
+    }
+
+    String getContentHash() {
+        return contentHash;
+    }
+
+    String getBlobHash() {
+        return blobHash;
+    }
+
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Computes compressed binary deltas between two configuration revisions.
+ * <p>
+ * A delta describes how to rebuild a <em>target</em> revision from a <em>base</em> revision
+ * by a sequence of <code>COPY</code> and <code>INSERT</code> instructions.
+ * A <code>COPY</code> instruction copies a range of bytes from the base revision
+ * whereas an <code>INSERT</code> instruction adds literal bytes that do not exist in the base revision.
+ * Matching ranges are detected by a rolling hash over fixed-size blocks of the base revision.
+ * The instruction stream is deflated before it is returned.
+ */
+final class ConfigDeltaCodec {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int BLOCK_SIZE = 16;
+    private static final int HASH_BASE = 31;
+    private static final int MAX_CHAIN = 8;
+    private static final int OUT_FACTOR = power(HASH_BASE, BLOCK_SIZE - 1);
+
+    private static final int INSERT = 0;
+    private static final int COPY = 1;
+
+    /**
+     * Encodes the delta to rebuild the target revision from the base revision.
+     * @param base the base revision
+     * @param target the target revision
+     * @return the compressed delta.
+     */
+    static byte[] encode(byte[] base, byte[] target) {
+        ByteArrayOutputStream ops = new ByteArrayOutputStream(Math.max(64, target.length / 16));
+        writeVarInt(ops, target.length);
+
+        BlockIndex index = new BlockIndex(base);
+        int literal = 0; // Start of pending literal bytes
+        int pos = 0;
+        int hash = target.length >= BLOCK_SIZE ? hash(target,0) : 0;
+        while(pos + BLOCK_SIZE <= target.length) {
+            int bestOffset = -1;
+            int bestLength = 0;
+            int chain = 0;
+            for(int candidate = index.first(hash); candidate >= 0 && chain < MAX_CHAIN; candidate = index.next(candidate), chain++) {
+                int length = matchLength(base, candidate, target, pos);
+                if(length > bestLength) {
+                    bestLength = length;
+                    bestOffset = candidate;
+                }
+            }
+
+            if(bestLength >= BLOCK_SIZE) {
+                // Extend match backwards into pending literal bytes.
+                while(pos > literal && bestOffset > 0 && base[bestOffset-1] == target[pos-1]) {
+                    pos--;
+                    bestOffset--;
+                    bestLength++;
+                }
+                writeInsert(ops, target, literal, pos);
+                writeVarInt(ops, (bestLength << 1) | COPY);
+                writeVarInt(ops, bestOffset);
+                pos += bestLength;
+                literal = pos;
+                if(pos + BLOCK_SIZE <= target.length) {
+                    hash = hash(target, pos);
+                }
+                continue;
+            }
+
+            if(pos + BLOCK_SIZE < target.length) {
+                hash = roll(hash, target[pos], target[pos+BLOCK_SIZE]);
+            }
+            pos++;
+        }
+        writeInsert(ops, target, literal, target.length);
+        return deflate(ops.toByteArray());
+    }
+
+    /**
+     * Rebuilds the target revision from the base revision and the given delta.
+     * @param base the base revision
+     * @param delta the compressed delta created by {@link #encode(byte[], byte[])}
+     * @return the target revision.
+     * @throws IllegalArgumentException if the delta is malformed or does not match the base revision.
+     */
+    static byte[] decode(byte[] base, byte[] delta) {
+        int length = targetLength(delta);
+        ByteArrayOutputStream target = new ByteArrayOutputStream(length);
+        try {
+            if(decode(base, delta, 0, length, target) < length) {
+                throw new IllegalArgumentException("Delta is incomplete");
+            }
+        } catch (IOException e) {
+            // Writing to a byte array never fails.
+            throw new UncheckedIOException(e);
+        }
+        return target.toByteArray();
+    }
+
+    /**
+     * Rebuilds a range of the target revision from the base revision and the given delta
+     * and writes the range to the given output stream.
+     * The instruction stream is inflated in small chunks and the target revision is never held in memory.
+     * @param base the base revision
+     * @param delta the compressed delta created by {@link #encode(byte[], byte[])}
+     * @param offset the offset of the first byte to write
+     * @param length the maximum number of bytes to write
+     * @param out the output stream
+     * @return the number of written bytes, which is less than the requested length if the end of the target revision was reached.
+     * @throws IllegalArgumentException if the delta is malformed or does not match the base revision.
+     * @throws IOException if writing to the output stream fails.
+     */
+    static long decode(byte[] base, byte[] delta, long offset, long length, OutputStream out) throws IOException {
+        InstructionReader ops = new InstructionReader(delta);
+        try {
+            int targetLength = ops.readVarInt();
+            long end = Math.min(offset + length, targetLength);
+            long pos = 0;
+            long written = 0;
+            while(pos < end && ops.hasMore()) {
+                int op = ops.readVarInt();
+                int n = op >>> 1;
+                if(n > targetLength - pos) {
+                    throw new IllegalArgumentException("Delta exceeds declared target length");
+                }
+                // Bytes of this instruction within the requested range
+                int from = (int) Math.max(0, Math.min(n, offset - pos));
+                int to = (int) Math.max(from, Math.min(n, end - pos));
+                if((op & 1) == COPY) {
+                    int baseOffset = ops.readVarInt();
+                    if(baseOffset > base.length - n) {
+                        throw new IllegalArgumentException("Delta does not match base revision");
+                    }
+                    out.write(base, baseOffset + from, to - from);
+                } else {
+                    ops.copy(n, from, to, out);
+                }
+                written += to - from;
+                pos += n;
+            }
+            return written;
+        } finally {
+            ops.close();
+        }
+    }
+
+    /**
+     * Returns the length of the target revision without rebuilding the target revision.
+     * @param delta the compressed delta created by {@link #encode(byte[], byte[])}
+     * @return the length of the target revision in bytes.
+     * @throws IllegalArgumentException if the delta is malformed.
+     */
+    static int targetLength(byte[] delta) {
+        // The instruction stream starts with the target length.
+        InstructionReader ops = new InstructionReader(delta);
+        try {
+            return ops.readVarInt();
+        } finally {
+            ops.close();
+        }
+    }
+
+    private static int matchLength(byte[] base, int offset, byte[] target, int pos) {
+        int n = 0;
+        int max = Math.min(base.length - offset, target.length - pos);
+        while(n < max && base[offset+n] == target[pos+n]) {
+            n++;
+        }
+        return n;
+    }
+
+    private static void writeInsert(ByteArrayOutputStream ops, byte[] target, int from, int to) {
+        if(to > from) {
+            writeVarInt(ops, ((to - from) << 1) | INSERT);
+            ops.write(target, from, to - from);
+        }
+    }
+
+    private static int hash(byte[] data, int offset) {
+        int hash = 0;
+        for(int i=0; i < BLOCK_SIZE; i++) {
+            hash = hash * HASH_BASE + data[offset+i];
+        }
+        return hash;
+    }
+
+    private static int roll(int hash, byte out, byte in) {
+        return (hash - out * OUT_FACTOR) * HASH_BASE + in;
+    }
+
+    private static int power(int base, int exponent) {
+        int value = 1;
+        for(int i=0; i < exponent; i++) {
+            value *= base;
+        }
+        return value;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+            out.write(FORMAT_VERSION);
+            byte[] buffer = new byte[8192];
+            while(!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Inflates the instruction stream of a delta in small chunks.
+     */
+    private static final class InstructionReader {
+
+        private final Inflater inflater = new Inflater();
+        private final byte[] buffer = new byte[8192];
+        private int pos;
+        private int limit;
+
+        InstructionReader(byte[] delta){
+            if(delta.length == 0 || delta[0] != FORMAT_VERSION) {
+                inflater.end();
+                throw new IllegalArgumentException("Unsupported delta format");
+            }
+            inflater.setInput(delta, 1, delta.length - 1);
+        }
+
+        boolean hasMore() {
+            if(pos < limit) {
+                return true;
+            }
+            try {
+                while(!inflater.finished()) {
+                    int n = inflater.inflate(buffer);
+                    if(n > 0) {
+                        pos = 0;
+                        limit = n;
+                        return true;
+                    }
+                    if(inflater.needsInput() || inflater.needsDictionary()) {
+                        throw new IllegalArgumentException("Truncated delta");
+                    }
+                }
+                return false;
+            } catch (DataFormatException e) {
+                throw new IllegalArgumentException("Malformed delta", e);
+            }
+        }
+
+        int read() {
+            if(!hasMore()) {
+                throw new IllegalArgumentException("Truncated delta");
+            }
+            return buffer[pos++];
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for(int shift = 0; shift < 32; shift += 7) {
+                int b = read();
+                value |= (b & 0x7F) << shift;
+                if((b & 0x80) == 0) {
+                    // Lengths and offsets are never negative. 
+                    // A negative value is the result of a corrupted fifth byte.
+                    if(value < 0) {
+                        throw new IllegalArgumentException("Malformed delta");
+                    }
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed delta");
+        }
+
+        /**
+         * Consumes <code>n</code> literal bytes and writes the bytes from <code>from</code> (inclusive) to <code>to</code> (exclusive).
+         */
+        void copy(int n, int from, int to, OutputStream out) throws IOException {
+            int i = 0;
+            while(i < n) {
+                if(!hasMore()) {
+                    throw new IllegalArgumentException("Truncated delta");
+                }
+                int chunk = Math.min(limit - pos, n - i);
+                int first = Math.max(i, from);
+                int last = Math.min(i + chunk, to);
+                if(last > first) {
+                    out.write(buffer, pos + first - i, last - first);
+                }
+                pos += chunk;
+                i += chunk;
+            }
+        }
+
+        void close() {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Hash index over all non-overlapping blocks of the base revision.
+     * Blocks with the same hash form a chain, where the most recent block is the chain head.
+     */
+    private static final class BlockIndex {
+
+        private final int[] heads;
+        private final int[] next;
+        private final int mask;
+
+        BlockIndex(byte[] base){
+            int blocks = base.length / BLOCK_SIZE;
+            int size = Integer.highestOneBit(Math.max(16, blocks * 2 - 1)) << 1;
+            this.heads = new int[size];
+            this.next = new int[Math.max(1, blocks)];
+            this.mask = size - 1;
+            Arrays.fill(heads, -1);
+            for(int block = 0; block < blocks; block++) {
+                int slot = spread(hash(base, block * BLOCK_SIZE)) & mask;
+                next[block] = heads[slot];
+                heads[slot] = block;
+            }
+        }
+
+        int first(int hash) {
+            int block = heads[spread(hash) & mask];
+            return block < 0 ? -1 : block * BLOCK_SIZE;
+        }
+
+        int next(int offset) {
+            int block = next[offset / BLOCK_SIZE];
+            return block < 0 ? -1 : block * BLOCK_SIZE;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    private ConfigDeltaCodec() {
+        // No instances allowed
+    }
+}
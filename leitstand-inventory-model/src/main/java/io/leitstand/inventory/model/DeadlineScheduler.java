@@ -0,0 +1,155 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static java.util.Comparator.comparingLong;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * A scheduler of deadlines, where every key has at most one deadline.
+ * <p>
+ * The scheduler maintains a priority queue ordered by deadline. 
+ * Rescheduling a key does not remove the previous deadline from the queue. 
+ * Instead, outdated queue entries are discarded when they reach the head of the queue.
+ * The queue is rebuilt from the current deadlines when the outdated entries outnumber the current deadlines,
+ * which limits the queue size to the twice the number of scheduled keys.
+ * All operations are synchronized.
+ * @param <K> the key type
+ */
+final class DeadlineScheduler<K> {
+	
+	private static final int MIN_COMPACTION_SIZE = 64;
+
+	private static final class Deadline<K> {
+		private final K key;
+		private final long deadline;
+		
+		private Deadline(K key, long deadline) {
+			this.key = key;
+			this.deadline = deadline;
+		}
+	}
+	
+	private final Map<K,Long> deadlines = new HashMap<>();
+	private PriorityQueue<Deadline<K>> queue = new PriorityQueue<>(comparingLong(d -> d.deadline));
+	
+	/**
+	 * Schedules the deadline of the given key and replaces the previous deadline, if any.
+	 * @param key the key
+	 * @param deadline the deadline in milliseconds since epoch
+	 */
+	synchronized void schedule(K key, long deadline) {
+		Long previous = deadlines.put(key, deadline);
+		if(previous == null || previous != deadline) {
+			queue.add(new Deadline<>(key, deadline));
+			compact();
+		}
+	}
+	
+	/**
+	 * Cancels the deadline of the given key.
+	 * @param key the key
+	 */
+	synchronized void cancel(K key) {
+		if(deadlines.remove(key) != null) {
+			compact();
+		}
+	}
+	
+	/**
+	 * Returns the earliest deadline or {@link Long#MAX_VALUE} if no deadline is scheduled.
+	 * @return the earliest deadline.
+	 */
+	synchronized long nextDeadline() {
+		discardOutdatedHead();
+		Deadline<K> head = queue.peek();
+		return head != null ? head.deadline : Long.MAX_VALUE;
+	}
+	
+	/**
+	 * Removes and returns the keys with expired deadlines, earliest deadline first.
+	 * @param now the current time in milliseconds since epoch
+	 * @param limit the maximum number of returned keys
+	 * @return the keys with expired deadlines.
+	 */
+	synchronized List<K> expired(long now, int limit){
+		List<K> expired = new ArrayList<>();
+		discardOutdatedHead();
+		while(expired.size() < limit && !queue.isEmpty() && queue.peek().deadline <= now) {
+			Deadline<K> head = queue.poll();
+			deadlines.remove(head.key);
+			expired.add(head.key);
+			discardOutdatedHead();
+		}
+		return expired;
+	}
+	
+	/**
+	 * Returns the number of scheduled keys.
+	 * @return the number of scheduled keys.
+	 */
+	synchronized int size() {
+		return deadlines.size();
+	}
+	
+	/**
+	 * Cancels the deadlines of all keys that do not match the given predicate.
+	 * @param predicate the predicate of the keys to be retained
+	 */
+	synchronized void retain(Predicate<K> predicate) {
+		if(deadlines.keySet().removeIf(predicate.negate())) {
+			compact();
+		}
+	}
+	
+	/**
+	 * Removes all deadlines.
+	 */
+	synchronized void clear() {
+		deadlines.clear();
+		queue.clear();
+	}
+	
+	private void discardOutdatedHead() {
+		while(!queue.isEmpty()) {
+			Deadline<K> head = queue.peek();
+			Long deadline = deadlines.get(head.key);
+			if(deadline != null && deadline == head.deadline) {
+				return;
+			}
+			queue.poll();
+		}
+	}
+	
+	private void compact() {
+		if(queue.size() <= MIN_COMPACTION_SIZE || queue.size() <= 2 * deadlines.size()) {
+			return;
+		}
+		PriorityQueue<Deadline<K>> compacted = new PriorityQueue<>(Math.max(1, deadlines.size()), 
+																  comparingLong(d -> d.deadline));
+		for(Map.Entry<K,Long> deadline : deadlines.entrySet()) {
+			compacted.add(new Deadline<>(deadline.getKey(), deadline.getValue()));
+		}
+		queue = compacted;
+	}
+	
+}
@@ -16,10 +16,12 @@
 package io.leitstand.inventory.model;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.inject.Inject;
 
 import io.leitstand.commons.model.Service;
+import io.leitstand.inventory.service.DnsZoneElement;
 import io.leitstand.inventory.service.DnsZoneElements;
 import io.leitstand.inventory.service.DnsZoneId;
 import io.leitstand.inventory.service.DnsZoneName;
@@ -67,6 +69,18 @@ public class DefaultDnsZoneService implements DnsZoneService {
 		return manager.getDnsZoneElements(zone);
 	}
 
+	@Override
+	public void exportDnsZoneElements(DnsZoneId zoneId, Consumer<DnsZoneElement> elements) {
+		DnsZone zone = zones.fetchDnsZone(zoneId);
+		manager.exportDnsZoneElements(zone, elements);
+	}
+
+	@Override
+	public void exportDnsZoneElements(DnsZoneName zoneName, Consumer<DnsZoneElement> elements) {
+		DnsZone zone = zones.fetchDnsZone(zoneName);
+		manager.exportDnsZoneElements(zone, elements);
+	}
+
 	@Override
 	public boolean storeDnsZoneSettings(DnsZoneSettings settings) {
 		DnsZone zone = zones.tryFetchDnsZone(settings.getDnsZoneId());
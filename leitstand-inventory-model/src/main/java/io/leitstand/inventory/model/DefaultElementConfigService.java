@@ -15,12 +15,26 @@
  */
 package io.leitstand.inventory.model;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import javax.inject.Inject;
 import javax.ws.rs.core.MediaType;
 
 import io.leitstand.commons.model.Service;
 import io.leitstand.inventory.service.ConfigurationState;
 import io.leitstand.inventory.service.ElementConfig;
+import io.leitstand.inventory.service.ElementConfigBatchItem;
+import io.leitstand.inventory.service.ElementConfigBatchResult;
+import io.leitstand.inventory.service.ElementConfigContentInfo;
+import io.leitstand.inventory.service.ElementConfigDiff;
+import io.leitstand.inventory.service.ElementConfigDiffFormat;
 import io.leitstand.inventory.service.ElementConfigId;
 import io.leitstand.inventory.service.ElementConfigName;
 import io.leitstand.inventory.service.ElementConfigRevisions;
@@ -39,6 +53,9 @@ public class DefaultElementConfigService implements ElementConfigService {
 	@Inject
 	private ElementConfigManager manager;
 	
+	@Inject
+	private ElementConfigDiffManager diffs;
+	
 	public DefaultElementConfigService() {
 		// CDI
 	}
@@ -47,11 +64,16 @@ public class DefaultElementConfigService implements ElementConfigService {
 		this.elements = elements;
 		this.manager = manager;
 	}
+	
+	DefaultElementConfigService(ElementProvider elements, ElementConfigManager manager, ElementConfigDiffManager diffs){
+		this(elements,manager);
+		this.diffs = diffs;
+	}
 
 	@Override
 	public ElementConfigs findElementConfigs(ElementId elementId, 
 											 String filter) {
-		Element element = elements.fetchElement(elementId);
+		CachedElement element = elements.fetchCachedElement(elementId);
 		return manager.filterElementConfig(element, 
 										   filter);
 	}
@@ -59,7 +81,7 @@ public class DefaultElementConfigService implements ElementConfigService {
 	@Override
 	public ElementConfigs findElementConfigs(ElementName elementName, 
 											 String filter) {
-		Element element = elements.fetchElement(elementName);
+		CachedElement element = elements.fetchCachedElement(elementName);
 		return manager.filterElementConfig(element, 
 										   filter);
 	}
@@ -86,14 +108,14 @@ public class DefaultElementConfigService implements ElementConfigService {
 	@Override
 	public ElementConfigRevisions getElementConfigRevisions(ElementId elementId, 
 															ElementConfigName configName) {
-		Element element = elements.fetchElement(elementId);
+		CachedElement element = elements.fetchCachedElement(elementId);
 		return manager.getElementConfigRevisions(element, configName);
 	}
 
 	@Override
 	public ElementConfigRevisions getElementConfigRevisions(ElementName elementName, 
 															ElementConfigName configName) {
-		Element element = elements.fetchElement(elementName);
+		CachedElement element = elements.fetchCachedElement(elementName);
 		return manager.getElementConfigRevisions(element, configName);
 	}
 
@@ -161,6 +183,105 @@ public class DefaultElementConfigService implements ElementConfigService {
 										  comment);
 	}
 	
+	@Override
+	public ElementConfigContentInfo getElementConfigContentInfo(ElementId elementId, 
+																ElementConfigId configId) {
+		Element element = elements.fetchElement(elementId);
+		return manager.getElementConfigContentInfo(element,
+												   configId);
+	}
+	
+	@Override
+	public ElementConfigContentInfo getElementConfigContentInfo(ElementName elementName, 
+																ElementConfigId configId) {
+		Element element = elements.fetchElement(elementName);
+		return manager.getElementConfigContentInfo(element,
+												   configId);
+	}
+	
+	@Override
+	public ElementConfigDiff diffElementConfigs(ElementId elementId, 
+												ElementConfigName configName, 
+												ElementConfigId fromConfigId,
+												ElementConfigId toConfigId, 
+												ElementConfigDiffFormat format) {
+		Element element = elements.fetchElement(elementId);
+		return diffs.diffElementConfigs(element, 
+										configName, 
+										fromConfigId, 
+										toConfigId, 
+										format);
+	}
+	
+	@Override
+	public ElementConfigDiff diffElementConfigs(ElementName elementName, 
+												ElementConfigName configName, 
+												ElementConfigId fromConfigId,
+												ElementConfigId toConfigId, 
+												ElementConfigDiffFormat format) {
+		Element element = elements.fetchElement(elementName);
+		return diffs.diffElementConfigs(element, 
+										configName, 
+										fromConfigId, 
+										toConfigId, 
+										format);
+	}
+	
+	@Override
+	public long readElementConfigContent(ElementConfigId configId, 
+										 String contentHash, 
+										 long offset, 
+										 long length,
+										 OutputStream out) throws IOException {
+		return manager.readElementConfigContent(configId, 
+												contentHash, 
+												offset, 
+												length,
+												out);
+	}
+	
+	@Override
+	public List<ElementConfigBatchResult> storeElementConfigs(List<ElementConfigBatchItem> items) {
+		// Resolve all submitted elements at once.
+		Set<ElementId> elementIds = new HashSet<>();
+		Set<ElementName> elementNames = new HashSet<>();
+		for(ElementConfigBatchItem item : items) {
+			if(item.getElementId() != null) {
+				elementIds.add(item.getElementId());
+			} else if(item.getElementName() != null) {
+				elementNames.add(item.getElementName());
+			}
+		}
+		Map<ElementId,Element> elementsById = new HashMap<>();
+		for(Element element : elements.tryFetchElementsById(elementIds)) {
+			elementsById.put(element.getElementId(), element);
+		}
+		List<Element> namedElements = elements.tryFetchElementsByName(elementNames);
+		Map<String,Element> elementsByName = new HashMap<>();
+		for(Element element : namedElements) {
+			if(element.getElementAlias() != null) {
+				elementsByName.put(element.getElementAlias().getValue(), element);
+			}
+		}
+		for(Element element : namedElements) {
+			// Element names take precedence over element aliases.
+			elementsByName.put(element.getElementName().getValue(), element);
+		}
+		
+		List<Element> submitted = new ArrayList<>(items.size());
+		for(ElementConfigBatchItem item : items) {
+			if(item.getElementId() != null) {
+				submitted.add(elementsById.get(item.getElementId()));
+			} else if(item.getElementName() != null) {
+				submitted.add(elementsByName.get(item.getElementName().getValue()));
+			} else {
+				submitted.add(null);
+			}
+		}
+		return manager.storeElementConfigs(items, 
+										   submitted);
+	}
+	
 	@Override
 	public void setElementConfigComment(ElementId elementId,
 										ElementConfigId configId, 
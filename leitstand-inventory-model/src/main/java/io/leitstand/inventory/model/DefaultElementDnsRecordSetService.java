@@ -15,13 +15,29 @@
  */
 package io.leitstand.inventory.model;
 
+import static io.leitstand.inventory.service.ReasonCode.IVT0300E_ELEMENT_NOT_FOUND;
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
 import javax.inject.Inject;
 
+import io.leitstand.commons.EntityNotFoundException;
+
 import io.leitstand.commons.model.Service;
 import io.leitstand.inventory.service.DnsName;
 import io.leitstand.inventory.service.DnsRecordSet;
 import io.leitstand.inventory.service.DnsRecordSetId;
 import io.leitstand.inventory.service.DnsRecordType;
+import io.leitstand.inventory.service.DnsZoneElement;
+import io.leitstand.inventory.service.DnsZoneId;
+import io.leitstand.inventory.service.DnsZoneName;
 import io.leitstand.inventory.service.ElementDnsRecordSet;
 import io.leitstand.inventory.service.ElementDnsRecordSetService;
 import io.leitstand.inventory.service.ElementDnsRecordSets;
@@ -31,6 +47,8 @@ import io.leitstand.inventory.service.ElementName;
 @Service
 public class DefaultElementDnsRecordSetService implements ElementDnsRecordSetService{
 
+	private static final Logger LOG = Logger.getLogger(DefaultElementDnsRecordSetService.class.getName());
+	
 	private ElementDnsRecordSetManager manager;
 	private ElementProvider elements;
 	
@@ -86,6 +104,66 @@ public class DefaultElementDnsRecordSetService implements ElementDnsRecordSetSer
 		return manager.storeElementDnsRecordSet(element,recordSet);
 	}
 
+	@Override
+	public int storeDnsZoneRecordSets(DnsZoneId zoneId, List<DnsZoneElement> zoneElements) {
+		List<Element> owners = fetchOwners(zoneElements);
+		return manager.storeDnsZoneRecordSets(zoneId, owners, zoneElements);
+	}
+
+	@Override
+	public int storeDnsZoneRecordSets(DnsZoneName zoneName, List<DnsZoneElement> zoneElements) {
+		List<Element> owners = fetchOwners(zoneElements);
+		return manager.storeDnsZoneRecordSets(zoneName, owners, zoneElements);
+	}
+	
+	private List<Element> fetchOwners(List<DnsZoneElement> zoneElements){
+		// Resolve all submitted elements at once.
+		Set<ElementId> elementIds = new HashSet<>();
+		Set<ElementName> elementNames = new HashSet<>();
+		for(DnsZoneElement zoneElement : zoneElements) {
+			if(zoneElement.getElementId() != null) {
+				elementIds.add(zoneElement.getElementId());
+			} else if(zoneElement.getElementName() != null) {
+				elementNames.add(zoneElement.getElementName());
+			}
+		}
+		Map<ElementId,Element> elementsById = new HashMap<>();
+		for(Element element : elements.tryFetchElementsById(elementIds)) {
+			elementsById.put(element.getElementId(), element);
+		}
+		List<Element> namedElements = elements.tryFetchElementsByName(elementNames);
+		Map<String,Element> elementsByName = new HashMap<>();
+		for(Element element : namedElements) {
+			if(element.getElementAlias() != null) {
+				elementsByName.put(element.getElementAlias().getValue(), element);
+			}
+		}
+		for(Element element : namedElements) {
+			// Element names take precedence over element aliases.
+			elementsByName.put(element.getElementName().getValue(), element);
+		}
+		
+		List<Element> owners = new ArrayList<>(zoneElements.size());
+		for(DnsZoneElement zoneElement : zoneElements) {
+			Element owner = null;
+			if(zoneElement.getElementId() != null) {
+				owner = elementsById.get(zoneElement.getElementId());
+			} else if(zoneElement.getElementName() != null) {
+				owner = elementsByName.get(zoneElement.getElementName().getValue());
+			}
+			if(owner == null) {
+				Object elementRef = zoneElement.getElementId() != null ? zoneElement.getElementId() : zoneElement.getElementName();
+				LOG.fine(() -> format("%s: Element %s not found.", 
+									  IVT0300E_ELEMENT_NOT_FOUND.getReasonCode(),
+									  elementRef));
+				throw new EntityNotFoundException(IVT0300E_ELEMENT_NOT_FOUND,
+												  elementRef);
+			}
+			owners.add(owner);
+		}
+		return owners;
+	}
+
 	@Override
 	public void removeElementDnsRecordSet(ElementId elementId, DnsName dnsName, DnsRecordType type) {
 		Element element = elements.fetchElement(elementId);
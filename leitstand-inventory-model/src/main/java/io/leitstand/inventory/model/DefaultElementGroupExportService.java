@@ -23,28 +23,23 @@ import static io.leitstand.inventory.service.ReasonCode.IVT0301I_ELEMENT_STORED;
 import static io.leitstand.inventory.service.ReasonCode.IVT0401I_ELEMENT_ROLE_STORED;
 import static io.leitstand.inventory.service.ReasonCode.IVT0901I_PLATFORM_STORED;
 import static io.leitstand.inventory.service.ReasonCode.IVT1000E_IMPORT_ERROR;
-import static java.lang.Integer.MAX_VALUE;
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toList;
 
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
 import io.leitstand.commons.messages.Messages;
-import io.leitstand.inventory.service.ElementGroupElementsService;
 import io.leitstand.inventory.service.ElementGroupExport;
 import io.leitstand.inventory.service.ElementGroupExportService;
-import io.leitstand.inventory.service.ElementGroupService;
-import io.leitstand.inventory.service.ElementGroupSettings;
 import io.leitstand.inventory.service.ElementGroupSettingsService;
 import io.leitstand.inventory.service.ElementGroupType;
 import io.leitstand.inventory.service.ElementGroupsExport;
-import io.leitstand.inventory.service.ElementId;
 import io.leitstand.inventory.service.ElementRoleService;
 import io.leitstand.inventory.service.ElementRoleSettings;
 import io.leitstand.inventory.service.ElementSettings;
@@ -59,14 +54,11 @@ public class DefaultElementGroupExportService implements ElementGroupExportServi
 	private static final Logger LOG = Logger.getLogger(DefaultElementGroupExportService.class.getName());
 
 	@Inject
-	private ElementGroupService groupService;
+	private ElementGroupExportManager exporter;
 
 	@Inject
 	private ElementGroupSettingsService groupSettingsService;
 
-	@Inject
-	private ElementGroupElementsService elementsService;
-	
 	@Inject
 	private ElementSettingsService elementSettingsService;
 	
@@ -85,18 +77,10 @@ public class DefaultElementGroupExportService implements ElementGroupExportServi
 	@Override
 	public ElementGroupsExport exportElementGroups(ElementGroupType groupType,
 												   String filter) {
-		// Fetch all groups matching the filter
 		List<ElementGroupExport> groups = new LinkedList<>();
-		for(ElementGroupSettings group : groupService.findGroups(groupType,
-																 filter, 
-																 0, 
-																 MAX_VALUE)) {
-			groups.add(newElementGroupExport()
-					   .withGroup(group)
-					   .withElements(loadElementSettings(group))
-					   .build());
-			
-		}
+		exportElementGroups(groupType, 
+							filter, 
+							groups::add);
 		
 		return newInventoryExport()
 			   .withDateCreated(new Date())
@@ -106,20 +90,13 @@ public class DefaultElementGroupExportService implements ElementGroupExportServi
 			   .build();
 	}
 
-	protected List<ElementSettings> loadElementSettings(ElementGroupSettings group) {
-		// For each group, fetch all element settings
-		List<ElementSettings> export = new LinkedList<>();
-		for(ElementId elementId : elementsService.getGroupElements(group.getGroupId())
-											 	 .getElements()
-											 	 .stream()
-											 	 .map(ElementSettings::getElementId)
-											 	 .collect(toList())) {
-			
-			ElementSettings element = elementSettingsService.getElementSettings(elementId);
-			export.add(element);
-		}
-		
-		return export;
+	@Override
+	public void exportElementGroups(ElementGroupType groupType, 
+									String filter,
+									Consumer<ElementGroupExport> groups) {
+		exporter.exportElementGroups(groupType, 
+									 filter, 
+									 groups);
 	}
 
 	@Override
@@ -0,0 +1,391 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.ElementGroupsImportReader.importReader;
+import static io.leitstand.inventory.service.ElementGroupExport.newElementGroupExport;
+import static io.leitstand.inventory.service.ElementGroupImportFailure.newElementGroupImportFailure;
+import static io.leitstand.inventory.service.ElementGroupImportFailure.ItemType.ELEMENT;
+import static io.leitstand.inventory.service.ElementGroupImportFailure.ItemType.GROUP;
+import static io.leitstand.inventory.service.ElementGroupImportFailure.ItemType.PLATFORM;
+import static io.leitstand.inventory.service.ElementGroupImportFailure.ItemType.ROLE;
+import static io.leitstand.inventory.service.ElementGroupImportStatus.State.COMPLETED;
+import static io.leitstand.inventory.service.ElementGroupImportStatus.State.FAILED;
+import static io.leitstand.inventory.service.ReasonCode.IVT1001E_IMPORT_NOT_FOUND;
+import static io.leitstand.inventory.service.ReasonCode.IVT1002E_IMPORT_NOT_RESUMABLE;
+import static io.leitstand.inventory.service.ReasonCode.IVT1003I_IMPORT_COMPLETED;
+import static io.leitstand.inventory.service.ReasonCode.IVT1004E_IMPORT_INTERRUPTED;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.nio.file.Files.copy;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.logging.Level.FINER;
+import static java.util.stream.Collectors.joining;
+import static javax.json.bind.JsonbBuilder.create;
+import static javax.json.bind.config.PropertyNamingStrategy.LOWER_CASE_WITH_UNDERSCORES;
+import static javax.json.bind.config.PropertyOrderStrategy.LEXICOGRAPHICAL;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.json.JsonObject;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbConfig;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import io.leitstand.commons.ConflictException;
+import io.leitstand.commons.EntityNotFoundException;
+import io.leitstand.commons.jsonb.FieldAccessVisibilityStrategy;
+import io.leitstand.inventory.service.ElementGroupExport;
+import io.leitstand.inventory.service.ElementGroupImportFailure;
+import io.leitstand.inventory.service.ElementGroupImportService;
+import io.leitstand.inventory.service.ElementGroupImportStatus;
+import io.leitstand.inventory.service.ElementGroupSettings;
+import io.leitstand.inventory.service.ElementRoleSettings;
+import io.leitstand.inventory.service.ElementSettings;
+import io.leitstand.inventory.service.PlatformSettings;
+
+/**
+ * Imports element group exports asynchronously.
+ * <p>
+ * The uploaded export is buffered in a temporary file, from which the export is read incrementally. 
+ * The platforms and element roles are read and stored first, followed by the element groups.
+ * Every group is validated when it is read.
+ * Valid groups are stored in chunks, and every chunk is committed in its own transaction.
+ * If a chunk cannot be committed, the chunk groups and elements are stored one by one to report the failing items.
+ * <p>
+ * Import progress is kept in memory.
+ * An interrupted import is resumed after the last committed chunk. 
+ * Completed and interrupted imports are discarded {@value #RETENTION_HOURS} hours after their last modification.
+ */
+@ApplicationScoped
+public class DefaultElementGroupImportService implements ElementGroupImportService {
+
+	private static final Logger LOG = Logger.getLogger(DefaultElementGroupImportService.class.getName());
+	
+	static final int MAX_CHUNK_SIZE = 1000;
+	static final int RETENTION_HOURS = 24;
+	
+	private static final JsonbConfig IMPORT = new JsonbConfig()
+											  .withPropertyVisibilityStrategy(new FieldAccessVisibilityStrategy())
+											  .withPropertyNamingStrategy(LOWER_CASE_WITH_UNDERSCORES)
+											  .withPropertyOrderStrategy(LEXICOGRAPHICAL)
+											  .withDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", null);
+	
+	@Resource
+	private ManagedExecutorService pool;
+	
+	@Inject
+	private ElementGroupImporter importer;
+	
+	@Inject
+	private Validator validator;
+	
+	private final Map<String,ElementGroupImportJob> imports = new ConcurrentHashMap<>();
+	
+	@Override
+	public ElementGroupImportStatus importElementGroups(InputStream data, 
+														String contentType, 
+														int chunkSize) throws IOException {
+		removeOutdatedImports();
+		boolean yaml = contentType == null || !contentType.startsWith(APPLICATION_JSON);
+		Path export = createTempFile("leitstand-inventory-import-", yaml ? ".yaml" : ".json");
+		try {
+			copy(data, export, REPLACE_EXISTING);
+		} catch (IOException e) {
+			deleteIfExists(export);
+			throw e;
+		}
+		ElementGroupImportJob job = new ElementGroupImportJob(randomUUID().toString(), 
+															  export, 
+															  yaml, 
+															  max(1, min(chunkSize, MAX_CHUNK_SIZE)));
+		imports.put(job.getImportId(), job);
+		pool.execute(() -> run(job));
+		return job.getStatus();
+	}
+
+	@Override
+	public ElementGroupImportStatus getElementGroupImport(String importId) {
+		return job(importId).getStatus();
+	}
+
+	@Override
+	public ElementGroupImportStatus resumeElementGroupImport(String importId) {
+		ElementGroupImportJob job = job(importId);
+		if(!job.resume()) {
+			throw new ConflictException(IVT1002E_IMPORT_NOT_RESUMABLE, 
+										importId,
+										job.getState());
+		}
+		pool.execute(() -> run(job));
+		return job.getStatus();
+	}
+	
+	private ElementGroupImportJob job(String importId) {
+		ElementGroupImportJob job = imports.get(importId);
+		if(job == null) {
+			throw new EntityNotFoundException(IVT1001E_IMPORT_NOT_FOUND, 
+											  importId);
+		}
+		return job;
+	}
+	
+	private void removeOutdatedImports() {
+		long outdated = System.currentTimeMillis() - HOURS.toMillis(RETENTION_HOURS);
+		Iterator<ElementGroupImportJob> jobs = imports.values().iterator();
+		while(jobs.hasNext()) {
+			ElementGroupImportJob job = jobs.next();
+			if((job.getState() == COMPLETED || job.getState() == FAILED) 
+			   && job.getDateModified().getTime() < outdated) {
+				jobs.remove();
+				removeExport(job);
+			}
+		}
+	}
+	
+	private void removeExport(ElementGroupImportJob job) {
+		try {
+			deleteIfExists(job.getExport());
+		} catch (IOException e) {
+			LOG.warning(() -> format("Cannot remove import file %s: %s", 
+									 job.getExport(),
+									 e.getMessage()));
+		}
+	}
+	
+	void run(ElementGroupImportJob job) {
+		job.started();
+		try(Jsonb jsonb = create(IMPORT)){
+			ElementGroupsImportReader reader = importReader(job.getExport(), 
+															job.isYaml());
+			if(!job.isReferencesImported()) {
+				reader.read("platforms", item -> importPlatform(job, jsonb.fromJson(item.toString(), 
+																					 PlatformSettings.class)));
+				reader.read("roles", item -> importElementRole(job, jsonb.fromJson(item.toString(), 
+																					ElementRoleSettings.class)));
+				job.referencesImported();
+			}
+			GroupsImport groups = new GroupsImport(job, jsonb);
+			reader.read("groups", groups);
+			groups.commit();
+			job.completed();
+			removeExport(job);
+			ElementGroupImportStatus status = job.getStatus();
+			LOG.info(() -> format("%s: Import %s completed. %d groups and %d elements stored, %d items failed.",
+								  IVT1003I_IMPORT_COMPLETED.getReasonCode(),
+								  status.getImportId(),
+								  status.getStoredGroups(),
+								  status.getStoredElements(),
+								  status.getFailedItems()));
+		} catch (Exception e) {
+			LOG.log(FINER, e, () -> e.getMessage());
+			job.interrupted(e.getMessage());
+			LOG.warning(() -> format("%s: Import %s interrupted after %d groups: %s",
+									 IVT1004E_IMPORT_INTERRUPTED.getReasonCode(),
+									 job.getImportId(),
+									 job.getProcessedGroups(),
+									 e.getMessage()));
+		}
+	}
+	
+	private void importPlatform(ElementGroupImportJob job, PlatformSettings platform) {
+		String name = platform.getPlatformName() != null ? platform.getPlatformName().toString() 
+														 : platform.getVendorName()+" "+platform.getModelName();
+		String violations = violations(platform);
+		if(violations != null) {
+			job.failed(failure(PLATFORM, name, null, violations));
+			return;
+		}
+		try {
+			importer.storePlatform(platform);
+		} catch (Exception e) {
+			LOG.log(FINER, e, () -> e.getMessage());
+			job.failed(failure(PLATFORM, name, null, e.getMessage()));
+		}
+	}
+	
+	private void importElementRole(ElementGroupImportJob job, ElementRoleSettings role) {
+		String violations = violations(role);
+		if(violations != null) {
+			job.failed(failure(ROLE, String.valueOf(role.getRoleName()), null, violations));
+			return;
+		}
+		try {
+			importer.storeElementRole(role);
+		} catch (Exception e) {
+			LOG.log(FINER, e, () -> e.getMessage());
+			job.failed(failure(ROLE, String.valueOf(role.getRoleName()), null, e.getMessage()));
+		}
+	}
+	
+	private String violations(Object item) {
+		Set<ConstraintViolation<Object>> violations = validator.validate(item);
+		if(violations.isEmpty()) {
+			return null;
+		}
+		return violations.stream()
+						 .map(ConstraintViolation::getMessage)
+						 .sorted()
+						 .collect(joining(" "));
+	}
+	
+	private static ElementGroupImportFailure failure(ElementGroupImportFailure.ItemType type,
+													 String name,
+													 ElementGroupSettings group,
+													 String message) {
+		return newElementGroupImportFailure()
+			   .withItemType(type)
+			   .withItemName(name)
+			   .withGroupName(group != null ? group.getGroupName() : null)
+			   .withMessage(message)
+			   .build();
+	}
+	
+	/**
+	 * Reads the element groups, validates them and stores them in chunks.
+	 * Validation failures are reported when the chunk is committed, 
+	 * so that no failure is reported twice when an interrupted import is resumed.
+	 */
+	private final class GroupsImport implements Consumer<JsonObject> {
+		
+		private final ElementGroupImportJob job;
+		private final Jsonb jsonb;
+		private final int resumePosition;
+		private final List<ElementGroupExport> chunk;
+		private final List<ElementGroupImportFailure> failures;
+		private int position;
+		
+		GroupsImport(ElementGroupImportJob job, Jsonb jsonb){
+			this.job = job;
+			this.jsonb = jsonb;
+			this.resumePosition = job.getProcessedGroups();
+			this.chunk = new ArrayList<>(job.getChunkSize());
+			this.failures = new ArrayList<>();
+		}
+		
+		@Override
+		public void accept(JsonObject item) {
+			if(position++ < resumePosition) {
+				// Group was committed before the import was interrupted.
+				return;
+			}
+			ElementGroupExport group = jsonb.fromJson(item.toString(), 
+													  ElementGroupExport.class);
+			ElementGroupExport valid = validate(group);
+			if(valid != null) {
+				chunk.add(valid);
+			}
+			if(chunk.size() == job.getChunkSize()) {
+				commit();
+			}
+		}
+		
+		private ElementGroupExport validate(ElementGroupExport group) {
+			ElementGroupSettings settings = group.getGroup();
+			if(settings == null) {
+				failures.add(failure(GROUP, null, null, "Group settings are missing."));
+				return null;
+			}
+			String violations = violations(settings);
+			if(violations != null) {
+				failures.add(failure(GROUP, String.valueOf(settings.getGroupName()), settings, violations));
+				return null;
+			}
+			List<ElementSettings> elements = new ArrayList<>(group.getElements().size());
+			for(ElementSettings element : group.getElements()) {
+				violations = violations(element);
+				if(violations != null) {
+					failures.add(failure(ELEMENT, String.valueOf(element.getElementName()), settings, violations));
+				} else {
+					elements.add(element);
+				}
+			}
+			if(elements.size() == group.getElements().size()) {
+				return group;
+			}
+			return newElementGroupExport()
+				   .withGroup(settings)
+				   .withElements(elements)
+				   .build();
+		}
+		
+		void commit() {
+			int groups = 0;
+			int elements = 0;
+			try {
+				importer.storeElementGroups(chunk);
+				groups = chunk.size();
+				for(ElementGroupExport group : chunk) {
+					elements += group.getElements().size();
+				}
+			} catch (Exception e) {
+				LOG.fine(() -> format("Failed to store chunk of %d groups of import %s. Storing groups one by one. %s",
+									  chunk.size(),
+									  job.getImportId(),
+									  e.getMessage()));
+				LOG.log(FINER, e, () -> e.getMessage());
+				for(ElementGroupExport group : chunk) {
+					ElementGroupSettings settings = group.getGroup();
+					try {
+						importer.storeElementGroup(settings);
+						groups++;
+					} catch (Exception f) {
+						LOG.log(FINER, f, () -> f.getMessage());
+						failures.add(failure(GROUP, String.valueOf(settings.getGroupName()), settings, f.getMessage()));
+						continue;
+					}
+					for(ElementSettings element : group.getElements()) {
+						try {
+							importer.storeElement(element);
+							elements++;
+						} catch (Exception f) {
+							LOG.log(FINER, f, () -> f.getMessage());
+							failures.add(failure(ELEMENT, String.valueOf(element.getElementName()), settings, f.getMessage()));
+						}
+					}
+				}
+			}
+			for(ElementGroupImportFailure failure : failures) {
+				job.failed(failure);
+			}
+			job.committed(position, groups, elements);
+			chunk.clear();
+			failures.clear();
+		}
+	}
+	
+}
@@ -15,6 +15,8 @@
  */
 package io.leitstand.inventory.model;
 
+import java.util.List;
+
 import javax.inject.Inject;
 
 import io.leitstand.commons.model.Service;
@@ -22,6 +24,7 @@ import io.leitstand.inventory.service.ElementId;
 import io.leitstand.inventory.service.ElementLogicalInterface;
 import io.leitstand.inventory.service.ElementLogicalInterfaceService;
 import io.leitstand.inventory.service.ElementLogicalInterfaceSubmission;
+import io.leitstand.inventory.service.ElementLogicalInterfaceSyncResult;
 import io.leitstand.inventory.service.ElementLogicalInterfaces;
 import io.leitstand.inventory.service.ElementName;
 import io.leitstand.inventory.service.InterfaceName;
@@ -34,6 +37,9 @@ public class DefaultElementLogicalInterfaceService implements ElementLogicalInte
 	
 	@Inject
 	private ElementLogicalInterfaceManager manager;
+	
+	@Inject
+	private ElementLogicalInterfaceSyncManager sync;
 
 	public DefaultElementLogicalInterfaceService() {
 		// CDI
@@ -44,6 +50,13 @@ public class DefaultElementLogicalInterfaceService implements ElementLogicalInte
 		this.elements = elements;
 		this.manager = manager;
 	}
+	
+	DefaultElementLogicalInterfaceService(ElementProvider elements, 
+								   ElementLogicalInterfaceManager manager,
+								   ElementLogicalInterfaceSyncManager sync){
+		this(elements, manager);
+		this.sync = sync;
+	}
 
 	@Override
 	public ElementLogicalInterface getLogicalInterface(ElementName elementName, InterfaceName name) {
@@ -102,6 +115,30 @@ public class DefaultElementLogicalInterfaceService implements ElementLogicalInte
 				 							 limit);
 	}
 
+	@Override
+	public ElementLogicalInterfaces findLogicalInterfaces(ElementId elementId, 
+														  String filter,
+														  InterfaceName after,
+														  int limit) {
+		Element element = elements.fetchElement(elementId);
+		return manager.findLogicalInterfaces(element,
+											 filter,
+											 after,
+											 limit);
+	}
+
+	@Override
+	public ElementLogicalInterfaces findLogicalInterfaces(ElementName elementName,
+														  String filter,
+														  InterfaceName after,
+														  int limit) {
+		Element element = elements.fetchElement(elementName);
+		return manager.findLogicalInterfaces(element,
+											 filter,
+											 after,
+											 limit);
+	}
+
 	@Override
 	public void removeLogicalInterfaces(ElementId elementId) {
 		Element element = elements.fetchElement(elementId);
@@ -114,6 +151,18 @@ public class DefaultElementLogicalInterfaceService implements ElementLogicalInte
 		manager.removeLogicalInterfaces(element);
 	}
 
+	@Override
+	public ElementLogicalInterfaceSyncResult syncLogicalInterfaces(ElementId elementId,
+																   List<ElementLogicalInterfaceSubmission> ifls) {
+		Element element = elements.fetchElement(elementId);
+		return sync.syncLogicalInterfaces(element, ifls);
+	}
 
+	@Override
+	public ElementLogicalInterfaceSyncResult syncLogicalInterfaces(ElementName elementName,
+																   List<ElementLogicalInterfaceSubmission> ifls) {
+		Element element = elements.fetchElement(elementName);
+		return sync.syncLogicalInterfaces(element, ifls);
+	}
 
 }
@@ -28,6 +28,7 @@ import io.leitstand.inventory.service.ElementPhysicalInterfaceFilter;
 import io.leitstand.inventory.service.ElementPhysicalInterfaceNeighbor;
 import io.leitstand.inventory.service.ElementPhysicalInterfaceService;
 import io.leitstand.inventory.service.ElementPhysicalInterfaceSubmission;
+import io.leitstand.inventory.service.ElementPhysicalInterfaceSyncResult;
 import io.leitstand.inventory.service.ElementPhysicalInterfaces;
 import io.leitstand.inventory.service.InterfaceName;
 import io.leitstand.inventory.service.OperationalState;
@@ -40,6 +41,9 @@ public class DefaultElementPhysicalInterfaceService implements ElementPhysicalIn
 	
 	@Inject
 	private ElementPhysicalInterfaceManager inventory;
+	
+	@Inject
+	private ElementPhysicalInterfaceSyncManager sync;
 
 	public DefaultElementPhysicalInterfaceService() {
 		// CDI
@@ -50,6 +54,13 @@ public class DefaultElementPhysicalInterfaceService implements ElementPhysicalIn
 		this.elements = elements;
 		this.inventory = manager;
 	}
+	
+	DefaultElementPhysicalInterfaceService(ElementProvider elements, 
+								   ElementPhysicalInterfaceManager manager,
+								   ElementPhysicalInterfaceSyncManager sync){
+		this(elements, manager);
+		this.sync = sync;
+	}
 
 	@Override
 	public ElementPhysicalInterface getPhysicalInterface(ElementId elementId, InterfaceName name) {
@@ -99,6 +110,18 @@ public class DefaultElementPhysicalInterfaceService implements ElementPhysicalIn
 		inventory.storePhysicalInterfaces(element,submissions);
 	}
 
+	@Override
+	public ElementPhysicalInterfaceSyncResult syncPhysicalInterfaces(ElementId elementId, List<ElementPhysicalInterfaceSubmission> submissions) {
+		Element element = elements.fetchElement(elementId);
+		return sync.syncPhysicalInterfaces(element, submissions);
+	}
+
+	@Override
+	public ElementPhysicalInterfaceSyncResult syncPhysicalInterfaces(ElementName elementName, List<ElementPhysicalInterfaceSubmission> submissions) {
+		Element element = elements.fetchElement(elementName);
+		return sync.syncPhysicalInterfaces(element, submissions);
+	}
+
 	@Override
 	public void removePhysicalInterface(ElementId elementId, InterfaceName name) {
 		Element element = elements.fetchElement(elementId);
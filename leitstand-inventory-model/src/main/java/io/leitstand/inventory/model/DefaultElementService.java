@@ -22,6 +22,8 @@ import javax.inject.Inject;
 import io.leitstand.commons.model.Service;
 import io.leitstand.inventory.service.ElementId;
 import io.leitstand.inventory.service.ElementName;
+import io.leitstand.inventory.service.ElementSearchCursor;
+import io.leitstand.inventory.service.ElementSearchResult;
 import io.leitstand.inventory.service.ElementService;
 import io.leitstand.inventory.service.ElementSettings;
 import io.leitstand.inventory.service.OperationalState;
@@ -89,6 +91,15 @@ public class DefaultElementService implements ElementService {
 												 	offset,
 												 	items);
 	}
+
+	@Override
+	public ElementSearchResult searchElements(String term, 
+											  ElementSearchCursor cursor, 
+											  int limit) {
+		return manager.searchElements(term, 
+									  cursor, 
+									  limit);
+	}
 	
 	@Override
 	public void removeElement(ElementId elementId) {
@@ -23,6 +23,7 @@ import io.leitstand.commons.model.Service;
 import io.leitstand.inventory.service.ElementId;
 import io.leitstand.inventory.service.ElementName;
 import io.leitstand.inventory.service.ElementServiceContext;
+import io.leitstand.inventory.service.ElementServiceImpact;
 import io.leitstand.inventory.service.ElementServiceStack;
 import io.leitstand.inventory.service.ElementServiceSubmission;
 import io.leitstand.inventory.service.ElementServices;
@@ -76,6 +77,34 @@ public class DefaultElementServicesService implements ElementServicesService {
 											  service);
 	}
 
+	@Override
+	public ElementServiceImpact getElementServiceImpact(ElementId id, 
+														ServiceName service) {
+		Element element = elements.fetchElement(id);
+		return manager.getElementServiceImpact(element,
+											   service);
+	}
+	
+	@Override
+	public ElementServiceImpact getElementServiceImpact(ElementName name, 
+														ServiceName service) {
+		Element element = elements.fetchElement(name);
+		return manager.getElementServiceImpact(element,
+											   service);
+	}
+	
+	@Override
+	public ElementServiceImpact getElementServiceImpact(ElementId id) {
+		Element element = elements.fetchElement(id);
+		return manager.getElementServiceImpact(element);
+	}
+	
+	@Override
+	public ElementServiceImpact getElementServiceImpact(ElementName name) {
+		Element element = elements.fetchElement(name);
+		return manager.getElementServiceImpact(element);
+	}
+
 	@Override
 	public void storeElementServices(ElementId id, List<ElementServiceSubmission> services) {
 		Element element = elements.fetchElement(id);
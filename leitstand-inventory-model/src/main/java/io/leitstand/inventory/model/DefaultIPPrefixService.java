@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.IPAddressConflict.newIPAddressConflict;
+import static io.leitstand.inventory.service.ReasonCode.IVT0363E_IP_ADDRESS_INVALID;
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import javax.inject.Inject;
+
+import io.leitstand.commons.UnprocessableEntityException;
+import io.leitstand.commons.model.Service;
+import io.leitstand.inventory.model.IPPrefixTable.AddressRef;
+import io.leitstand.inventory.service.IPAddressConflict;
+import io.leitstand.inventory.service.IPPrefixService;
+import io.leitstand.inventory.service.LogicalInterfaceAddress;
+
+@Service
+public class DefaultIPPrefixService implements IPPrefixService {
+	
+	private static final Logger LOG = Logger.getLogger(DefaultIPPrefixService.class.getName());
+	
+	@Inject
+	private IPPrefixIndex index;
+	
+	@Inject
+	private IPPrefixIndexService service;
+	
+	protected DefaultIPPrefixService() {
+		// CDI
+	}
+	
+	protected DefaultIPPrefixService(IPPrefixIndex index,
+									 IPPrefixIndexService service) {
+		this.index = index;
+		this.service = service;
+	}
+	
+	@Override
+	public List<LogicalInterfaceAddress> findLongestPrefixMatch(String address) {
+		return service.loadAddresses(index.findLongestPrefixMatch(parse(address)));
+	}
+
+	@Override
+	public List<LogicalInterfaceAddress> findCoveredAddresses(String prefix, int limit) {
+		return service.loadAddresses(index.findCoveredAddresses(parse(prefix), limit));
+	}
+
+	@Override
+	public List<IPAddressConflict> findAddressConflicts(int limit) {
+		List<List<AddressRef>> conflicts = index.findAddressConflicts(limit);
+		// Read the element information of all conflicts in a single query.
+		List<AddressRef> refs = new ArrayList<>();
+		conflicts.forEach(refs::addAll);
+		List<LogicalInterfaceAddress> addresses = service.loadAddresses(refs);
+		
+		List<IPAddressConflict> result = new ArrayList<>(conflicts.size());
+		int next = 0;
+		for(List<AddressRef> conflict : conflicts) {
+			List<LogicalInterfaceAddress> interfaces = new ArrayList<>(conflict.size());
+			for(AddressRef ref : conflict) {
+				// The addresses are in the order of the conflicts, except addresses of removed elements.
+				if(next < addresses.size() && isSameAddress(addresses.get(next), ref)) {
+					interfaces.add(addresses.get(next++));
+				}
+			}
+			if(interfaces.size() > 1) {
+				AddressRef first = conflict.get(0);
+				result.add(newIPAddressConflict()
+						   .withAddress(first.getHostAddress())
+						   .withRoutingInstance(first.getRoutingInstance())
+						   .withInterfaces(interfaces)
+						   .build());
+			}
+		}
+		return result;
+	}
+	
+	private static boolean isSameAddress(LogicalInterfaceAddress address, AddressRef ref) {
+		return address.getElementId().equals(ref.getElementId()) 
+			   && address.getIflName().equals(ref.getIflName())
+			   && address.getAddress().equals(ref.getAddress());
+	}
+	
+	private static IPPrefixKey parse(String address) {
+		IPPrefixKey key = IPPrefixKey.parse(address);
+		if(key == null) {
+			LOG.fine(() -> format("%s: Invalid IP address %s",
+								  IVT0363E_IP_ADDRESS_INVALID.getReasonCode(),
+								  address));
+			throw new UnprocessableEntityException(IVT0363E_IP_ADDRESS_INVALID, 
+												   address);
+		}
+		return key;
+	}
+
+}
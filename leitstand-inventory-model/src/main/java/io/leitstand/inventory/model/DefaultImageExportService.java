@@ -17,30 +17,41 @@ package io.leitstand.inventory.model;
 
 import static io.leitstand.inventory.service.ImageQuery.newQuery;
 import static io.leitstand.inventory.service.ImagesExport.newImagesExport;
-import static java.lang.Integer.MAX_VALUE;
 
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Consumer;
 
-import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
+import io.leitstand.commons.model.Service;
 import io.leitstand.inventory.service.ElementRoleName;
 import io.leitstand.inventory.service.ImageExportService;
 import io.leitstand.inventory.service.ImageInfo;
-import io.leitstand.inventory.service.ImageReference;
-import io.leitstand.inventory.service.ImageService;
 import io.leitstand.inventory.service.ImageState;
 import io.leitstand.inventory.service.ImageType;
 import io.leitstand.inventory.service.ImagesExport;
 import io.leitstand.inventory.service.Version;
 
-@ApplicationScoped
+@Service
 public class DefaultImageExportService implements ImageExportService {
 
 	@Inject
-	private ImageService imageService;
+	private ImageExportManager exporter;
+	
+	@Inject
+	private ImageImportManager importer;
+	
+	public DefaultImageExportService() {
+		// CDI
+	}
+	
+	DefaultImageExportService(ImageExportManager exporter,
+							  ImageImportManager importer){
+		this.exporter = exporter;
+		this.importer = importer;
+	}
 	
 	@Override
 	public ImagesExport exportImages(String filter, 
@@ -49,26 +60,37 @@ public class DefaultImageExportService implements ImageExportService {
 									 ImageState state,
 									 Version version) {
 		List<ImageInfo> images = new LinkedList<>();
-		for(ImageReference ref : imageService.findImages(newQuery()
-		                                                 .filter(filter)
-		                                                 .imageState(state)
-		                                                 .imageType(type)
-		                                                 .imageVersion(version)
-		                                                 .roleName(elementRole)
-		                                                 .limit(MAX_VALUE))) {
-			images.add(imageService.getImage(ref.getImageId()));
-		}
+		exportImages(filter, 
+					 elementRole, 
+					 type, 
+					 state, 
+					 version, 
+					 images::add);
 		return newImagesExport()
 			   .withDateCreated(new Date())
 			   .withImages(images)
 			   .build();
 	}
+	
+	@Override
+	public void exportImages(String filter, 
+							 ElementRoleName elementRole, 
+							 ImageType type, 
+							 ImageState state,
+							 Version version, 
+							 Consumer<ImageInfo> images) {
+		exporter.exportImages(newQuery()
+							  .filter(filter)
+							  .imageState(state)
+							  .imageType(type)
+							  .imageVersion(version)
+							  .roleName(elementRole), 
+							  images);
+	}
 
 	@Override
 	public void importImages(ImagesExport export) {
-		for(ImageInfo image : export.getImages()) {
-			imageService.storeImage(image);
-		}
+		importer.importImages(export.getImages());
 	}
 	
 }
@@ -25,6 +25,7 @@ import static io.leitstand.inventory.event.ImageStoredEvent.newImageStoredEvent;
 import static io.leitstand.inventory.model.Application.findAll;
 import static io.leitstand.inventory.model.Checksum.newChecksum;
 import static io.leitstand.inventory.model.DefaultPackageService.packageVersionInfo;
+import static io.leitstand.inventory.model.ElementImageManager.upgradeType;
 import static io.leitstand.inventory.model.ElementRole.findRoleByName;
 import static io.leitstand.inventory.model.Image.countElementImageReferences;
 import static io.leitstand.inventory.model.Image.countReleaseImageReferences;
@@ -33,6 +34,7 @@ import static io.leitstand.inventory.model.Image.markAllSuperseded;
 import static io.leitstand.inventory.model.Image.restoreCandidates;
 import static io.leitstand.inventory.model.Image.searchImages;
 import static io.leitstand.inventory.model.Platform.findByChipset;
+import static io.leitstand.inventory.service.AdministrativeState.administrativeState;
 import static io.leitstand.inventory.service.ElementAlias.elementAlias;
 import static io.leitstand.inventory.service.ElementGroupId.groupId;
 import static io.leitstand.inventory.service.ElementGroupName.groupName;
@@ -51,6 +53,8 @@ import static io.leitstand.inventory.service.ImageStatisticsElementGroupElementI
 import static io.leitstand.inventory.service.ImageStatisticsElementGroupElementImages.newElementGroupElementImages;
 import static io.leitstand.inventory.service.ImageStatisticsElementGroupImageCount.newElementGroupImageCount;
 import static io.leitstand.inventory.service.ImageType.imageType;
+import static io.leitstand.inventory.service.ImageUpgradeCandidate.newImageUpgradeCandidate;
+import static io.leitstand.inventory.service.OperationalState.operationalState;
 import static io.leitstand.inventory.service.PlatformSettings.newPlatformSettings;
 import static io.leitstand.inventory.service.ReasonCode.IVT0200E_IMAGE_NOT_FOUND;
 import static io.leitstand.inventory.service.ReasonCode.IVT0201I_IMAGE_STATE_UPDATED;
@@ -64,10 +68,13 @@ import static io.leitstand.inventory.service.ReleaseRef.newReleaseSettings;
 import static io.leitstand.inventory.service.RoleImage.newRoleImage;
 import static io.leitstand.inventory.service.RoleImages.newRoleImages;
 import static java.lang.String.format;
+import static java.lang.String.join;
+import static java.util.Collections.nCopies;
 import static java.util.logging.Logger.getLogger;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -85,6 +92,7 @@ import io.leitstand.commons.model.Repository;
 import io.leitstand.commons.model.Service;
 import io.leitstand.inventory.event.ImageEvent;
 import io.leitstand.inventory.event.ImageEvent.ImageEventBuilder;
+import io.leitstand.inventory.model.ImageVersionIndex.IndexedImage;
 import io.leitstand.inventory.service.ApplicationName;
 import io.leitstand.inventory.service.ElementGroupId;
 import io.leitstand.inventory.service.ElementGroupName;
@@ -104,6 +112,7 @@ import io.leitstand.inventory.service.ImageStatisticsElementGroupElementImageSta
 import io.leitstand.inventory.service.ImageStatisticsElementGroupElementImages;
 import io.leitstand.inventory.service.ImageStatisticsElementGroupImageCount;
 import io.leitstand.inventory.service.ImageType;
+import io.leitstand.inventory.service.ImageUpgradeCandidate;
 import io.leitstand.inventory.service.PackageVersionInfo;
 import io.leitstand.inventory.service.PlatformChipsetName;
 import io.leitstand.inventory.service.PlatformSettings;
@@ -141,6 +150,9 @@ public class DefaultImageService implements ImageService {
 	@Inject
 	private Event<ImageEvent> sink;
 	
+	@Inject
+	private ImageUpgradeIndex upgrades;
+	
 	public DefaultImageService(){
 		// CDI
 	}
@@ -288,17 +300,21 @@ public class DefaultImageService implements ImageService {
 
 
 	private <E extends ImageEvent, B extends ImageEventBuilder<E,B>> void fire(B event, ImageInfo image) {
-		sink.fire(event
-				  .withImageId(image.getImageId())
-				  .withOrganization(image.getOrganization())
-				  .withImageType(image.getImageType())
-				  .withElementRoles(image.getElementRoles())
-				  .withImageName(image.getImageName())
-				  .withImageVersion(image.getImageVersion())
-				  .withImageExtension(image.getExtension())
-				  .withImageState(image.getImageState())
-				  .withChecksums(image.getChecksums())
-				  .build());		
+		sink.fire(imageEvent(event, image));		
+	}
+
+	static <E extends ImageEvent, B extends ImageEventBuilder<E,B>> E imageEvent(B event, ImageInfo image) {
+		return event
+			   .withImageId(image.getImageId())
+			   .withOrganization(image.getOrganization())
+			   .withImageType(image.getImageType())
+			   .withElementRoles(image.getElementRoles())
+			   .withImageName(image.getImageName())
+			   .withImageVersion(image.getImageVersion())
+			   .withImageExtension(image.getExtension())
+			   .withImageState(image.getImageState())
+			   .withChecksums(image.getChecksums())
+			   .build();
 	}
 
 	@Override
@@ -530,6 +546,63 @@ public class DefaultImageService implements ImageService {
 
 	}
 	
+	@Override
+	public List<ImageUpgradeCandidate> findUpgradeCandidates(ImageId imageId) {
+		ImageInfo image = getImage(imageId);
+		List<ImageUpgradeCandidate> candidates = new LinkedList<>();
+		for(Map.Entry<ElementRoleName,List<IndexedImage>> predecessors : upgrades.findPredecessors(imageId).entrySet()) {
+			ElementRoleName role = predecessors.getKey();
+			Map<Long,IndexedImage> installed = new HashMap<>();
+			for(IndexedImage predecessor : predecessors.getValue()) {
+				installed.put(predecessor.getPk(), predecessor);
+			}
+			List<Object> args = new LinkedList<>();
+			args.add(role.getValue());
+			args.add(image.getPlatformChipset().getValue());
+			args.addAll(installed.keySet());
+			String query = "SELECT g.uuid, g.type, g.name, e.uuid, e.name, e.alias, e.admstate, e.opstate, ei.image_id "+
+						   "FROM inventory.element_image ei "+
+						   "JOIN inventory.element e "+
+						   "ON ei.element_id = e.id "+
+						   "JOIN inventory.elementgroup g "+
+						   "ON e.elementgroup_id = g.id "+
+						   "JOIN inventory.elementrole r "+
+						   "ON e.elementrole_id = r.id "+
+						   "JOIN inventory.platform p "+
+						   "ON e.platform_id = p.id "+
+						   "WHERE ei.state = 'ACTIVE' "+
+						   "AND r.name = ? "+
+						   "AND p.chipset = ? "+
+						   "AND ei.image_id IN ("+join(",", nCopies(installed.size(), "?"))+") ";
+			if(image.getElementName() != null) {
+				// Only the element the image has been built for can be upgraded.
+				query += "AND e.name = ? ";
+				args.add(image.getElementName().getValue());
+			}
+			query += "ORDER BY g.name, e.name";
+			db.processQuery(prepare(query, args), 
+							rs -> {
+								IndexedImage active = installed.get(rs.getLong(9));
+								candidates.add(newImageUpgradeCandidate()
+											   .withGroupId(groupId(rs.getString(1)))
+											   .withGroupType(groupType(rs.getString(2)))
+											   .withGroupName(groupName(rs.getString(3)))
+											   .withElementId(elementId(rs.getString(4)))
+											   .withElementName(elementName(rs.getString(5)))
+											   .withElementAlias(elementAlias(rs.getString(6)))
+											   .withElementRole(role)
+											   .withAdministrativeState(administrativeState(rs.getString(7)))
+											   .withOperationalState(operationalState(rs.getString(8)))
+											   .withImageId(active.getImageId())
+											   .withImageVersion(active.getImageVersion())
+											   .withUpgradeType(upgradeType(active.getImageVersion(), 
+													   						image.getImageVersion()))
+											   .build());
+							});
+		}
+		return candidates;
+	}
+	
 	@Override
 	public List<ImageType> getImageTypes() {
 		return db.executeQuery(prepare("SELECT DISTINCT type FROM inventory.image ORDER BY type ASC"),
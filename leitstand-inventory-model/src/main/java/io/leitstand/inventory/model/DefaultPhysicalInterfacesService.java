@@ -16,7 +16,6 @@
 package io.leitstand.inventory.model;
 
 import static io.leitstand.commons.db.DatabaseService.prepare;
-import static io.leitstand.commons.model.StringUtil.isNonEmptyString;
 import static io.leitstand.inventory.jpa.AdministrativeStateConverter.toAdministrativeState;
 import static io.leitstand.inventory.jpa.OperationalStateConverter.toOperationalState;
 import static io.leitstand.inventory.service.ElementAlias.elementAlias;
@@ -28,38 +27,61 @@ import static io.leitstand.inventory.service.ElementName.elementName;
 import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
 import static io.leitstand.inventory.service.FacilityId.facilityId;
 import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.model.PhysicalInterfaceSearchQuery.keysetQuery;
+import static io.leitstand.inventory.model.PhysicalInterfaceSearchQuery.offsetQuery;
 import static io.leitstand.inventory.service.PhysicalInterfaceData.newPhysicalInterfaceData;
 
-import java.util.LinkedList;
 import java.util.List;
 
 import javax.inject.Inject;
 
 import io.leitstand.commons.db.DatabaseService;
-import io.leitstand.commons.db.StatementPreparator;
 import io.leitstand.commons.model.Service;
 import io.leitstand.inventory.service.FacilityName;
+import io.leitstand.inventory.service.PhysicalInterfaceCursor;
 import io.leitstand.inventory.service.PhysicalInterfaceData;
 import io.leitstand.inventory.service.PhysicalInterfaceService;
 
 @Service
 public class DefaultPhysicalInterfacesService implements PhysicalInterfaceService {
  
-    @Inject
-    @Inventory
     private DatabaseService db;
     
+    protected DefaultPhysicalInterfacesService() {
+        // CDI
+    }
+    
+    @Inject
+    protected DefaultPhysicalInterfacesService(@Inventory DatabaseService db) {
+        this.db = db;
+    }
+    
     @Override
     public List<PhysicalInterfaceData> findPhysicalInterfaces(String locationFilter,
                                                               String ifpFilter, 
                                                               int offset, 
                                                               int limit) {
-        
+        return findPhysicalInterfaces(offsetQuery(locationFilter, 
+                                                  ifpFilter, 
+                                                  offset, 
+                                                  limit));
+    }
+    
+    @Override
+    public List<PhysicalInterfaceData> findPhysicalInterfaces(String locationFilter,
+                                                              String ifpFilter, 
+                                                              PhysicalInterfaceCursor cursor, 
+                                                              int limit) {
+        return findPhysicalInterfaces(keysetQuery(locationFilter, 
+                                                  ifpFilter, 
+                                                  cursor, 
+                                                  limit));
+    }
+    
+    private List<PhysicalInterfaceData> findPhysicalInterfaces(PhysicalInterfaceSearchQuery query){
         return db.executeQuery(
-                  prepareQuery(locationFilter, 
-                               ifpFilter, 
-                               offset, 
-                               limit), 
+                  prepare(query.getSql(), 
+                          query.getArgs()), 
                   rs -> newPhysicalInterfaceData()
                         .withGroupId(groupId(rs.getString(1)))
                         .withGroupName(groupName(rs.getString(2)))
@@ -79,50 +101,6 @@ public class DefaultPhysicalInterfacesService implements PhysicalInterfaceServic
                         .withIfpOperationalState(toOperationalState(rs.getString(16)))
                         .withIfpAdministrativeState(toAdministrativeState(rs.getString(17)))
                         .build());
-    
-    }
-
-    private StatementPreparator prepareQuery(String locationFilter, 
-                                             String interfaceFilter,
-                                             int offset, 
-                                             int limit) {
-        List<Object> args = new LinkedList<>();
-        String op = "WHERE ";
-        
-        String query = "SELECT g.uuid, g.name, g.type, f.uuid, f.name, f.location, e.uuid, e.name, e.alias, r.name,e.admstate, e.opstate, e.tsmodified, ifp.name, ifp.alias, ifp.opstate, ifp.admstate "+
-                       "FROM inventory.element_ifp ifp "+
-                       "JOIN inventory.element e "+
-                       "ON ifp.element_id = e.id "+
-                       "JOIN inventory.elementgroup g "+
-                       "ON e.elementgroup_id = g.id "+
-                       "JOIN inventory.elementrole r "+
-                       "ON e.elementrole_id = r.id "+
-                       "LEFT JOIN inventory.facility f "+
-                       "ON g.facility_id = f.id ";
-        
-        if(isNonEmptyString(locationFilter)) {
-            query+=op;
-            query+="(f.name ~ ? OR f.location ~ ?) ";
-            op = "AND ";
-            args.add(locationFilter);
-            args.add(locationFilter);
-        }
-        
-        if(isNonEmptyString(interfaceFilter)) {
-            query+=op;
-            query+="(ifp.name = ? OR ifp.alias ~ ?) ";
-            args.add(interfaceFilter);
-            args.add(interfaceFilter);
-        }
-        query+="ORDER BY f.name, g.name, e.name "+
-               "OFFSET ? LIMIT ? ";
-        
-        args.add(offset);
-        args.add(limit);
-        
-        return prepare(query, args);
-        
-        
     }
     
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.Topology.newTopology;
+import static io.leitstand.inventory.service.TopologyNode.newTopologyNode;
+import static java.util.Collections.singletonList;
+
+import javax.inject.Inject;
+
+import io.leitstand.commons.model.Service;
+import io.leitstand.inventory.service.ElementGroupId;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementName;
+import io.leitstand.inventory.service.Topology;
+import io.leitstand.inventory.service.TopologyNode;
+import io.leitstand.inventory.service.TopologyService;
+
+@Service
+public class DefaultTopologyService implements TopologyService {
+
+	@Inject
+	private TopologyIndex index;
+	@Inject
+	private ElementProvider elements;
+	@Inject
+	private ElementGroupProvider groups;
+	
+	protected DefaultTopologyService() {
+		// CDI
+	}
+	
+	protected DefaultTopologyService(TopologyIndex index,
+									 ElementProvider elements,
+									 ElementGroupProvider groups) {
+		this.index = index;
+		this.elements = elements;
+		this.groups = groups;
+	}
+	
+	@Override
+	public Topology getNeighborhood(ElementId elementId, int hops) {
+		Topology neighborhood = index.getGraph().getNeighborhood(elementId, hops);
+		if(neighborhood == null) {
+			// Element not yet part of the topology snapshot.
+			return isolated(elements.fetchElement(elementId));
+		}
+		return neighborhood;
+	}
+
+	@Override
+	public Topology getNeighborhood(ElementName elementName, int hops) {
+		TopologyNode node = index.getGraph().getNode(elementName);
+		if(node == null) {
+			return isolated(elements.fetchElement(elementName));
+		}
+		return getNeighborhood(node.getElementId(),hops);
+	}
+
+	@Override
+	public Topology getShortestPath(ElementId from, ElementId to) {
+		TopologyGraph graph = index.getGraph();
+		Topology path = graph.getShortestPath(from, to);
+		if(path == null) {
+			return unknownPath(elements.fetchElement(from), 
+							   elements.fetchElement(to));
+		}
+		return path;
+	}
+
+	@Override
+	public Topology getShortestPath(ElementName from, ElementName to) {
+		TopologyGraph graph = index.getGraph();
+		TopologyNode fromNode = graph.getNode(from);
+		TopologyNode toNode = graph.getNode(to);
+		if(fromNode == null || toNode == null) {
+			return unknownPath(elements.fetchElement(from), 
+							   elements.fetchElement(to));
+		}
+		return graph.getShortestPath(fromNode.getElementId(), 
+									 toNode.getElementId());
+	}
+	
+	private static Topology unknownPath(Element from, Element to) {
+		// At least one element is not yet part of the topology snapshot and has therefore no links.
+		if(from.getElementId().equals(to.getElementId())) {
+			return isolated(from);
+		}
+		return newTopology().build();
+	}
+
+	@Override
+	public Topology getGroupTopology(ElementGroupId groupId) {
+		ElementGroup group = groups.fetchElementGroup(groupId);
+		return index.getGraph().getGroupTopology(group.getGroupId());
+	}
+	
+	private static Topology isolated(Element element) {
+		ElementGroup group = element.getGroup();
+		return newTopology()
+			   .withNodes(singletonList(newTopologyNode()
+					   					.withElementId(element.getElementId())
+					   					.withElementName(element.getElementName())
+					   					.withElementRole(element.getElementRoleName())
+					   					.withGroupId(group.getGroupId())
+					   					.withGroupType(group.getGroupType())
+					   					.withGroupName(group.getGroupName())
+					   					.build()))
+			   .build();
+	}
+
+}
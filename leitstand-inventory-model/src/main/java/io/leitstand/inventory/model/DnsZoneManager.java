@@ -15,29 +15,43 @@
  */
 package io.leitstand.inventory.model;
 
+import static io.leitstand.commons.db.DatabaseService.prepare;
 import static io.leitstand.commons.messages.MessageFactory.createMessage;
 import static io.leitstand.commons.model.ObjectUtil.isDifferent;
 import static io.leitstand.commons.rs.ReasonCode.VAL0003E_IMMUTABLE_ATTRIBUTE;
 import static io.leitstand.inventory.event.DnsZoneCreatedEvent.newDnsZoneCreatedEvent;
 import static io.leitstand.inventory.event.DnsZoneRemovedEvent.newDnsZoneRemovedEvent;
 import static io.leitstand.inventory.model.DnsZone.countDnsZoneRecords;
-import static io.leitstand.inventory.model.DnsZone.findDnsZoneElements;
 import static io.leitstand.inventory.model.DnsZone.findDnsZones;
 import static io.leitstand.inventory.model.DnsZone.removeDnsZoneRecords;
+import static io.leitstand.inventory.service.AdministrativeState.administrativeState;
+import static io.leitstand.inventory.service.DnsName.dnsName;
+import static io.leitstand.inventory.service.DnsRecord.newDnsRecord;
 import static io.leitstand.inventory.service.DnsRecordSet.newDnsRecordSet;
+import static io.leitstand.inventory.service.DnsRecordSetId.dnsRecordSetId;
+import static io.leitstand.inventory.service.DnsRecordType.dnsRecordType;
 import static io.leitstand.inventory.service.DnsZoneElement.newDnsZoneElement;
 import static io.leitstand.inventory.service.DnsZoneElements.newDnsZoneElements;
 import static io.leitstand.inventory.service.DnsZoneSettings.newDnsZoneSettings;
+import static io.leitstand.inventory.service.ElementAlias.elementAlias;
+import static io.leitstand.inventory.service.ElementGroupId.groupId;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementGroupType.groupType;
+import static io.leitstand.inventory.service.ElementId.elementId;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.OperationalState.operationalState;
 import static io.leitstand.inventory.service.ReasonCode.IVT0951I_DNS_ZONE_STORED;
 import static io.leitstand.inventory.service.ReasonCode.IVT0952I_DNS_ZONE_REMOVED;
 import static io.leitstand.inventory.service.ReasonCode.IVT0953E_DNS_ZONE_NOT_REMOVABLE;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import javax.enterprise.context.Dependent;
@@ -46,9 +60,11 @@ import javax.inject.Inject;
 
 import io.leitstand.commons.ConflictException;
 import io.leitstand.commons.UnprocessableEntityException;
+import io.leitstand.commons.db.DatabaseService;
 import io.leitstand.commons.messages.Messages;
 import io.leitstand.commons.model.Repository;
 import io.leitstand.inventory.event.DnsZoneEvent;
+import io.leitstand.inventory.service.DnsRecord;
 import io.leitstand.inventory.service.DnsRecordSet;
 import io.leitstand.inventory.service.DnsZoneElement;
 import io.leitstand.inventory.service.DnsZoneElements;
@@ -60,6 +76,7 @@ public class DnsZoneManager {
 	private static final Logger LOG = Logger.getLogger(DnsZoneManager.class.getName());
 	
 	private Repository repository;
+	private DatabaseService db;
 	private Messages messages;
 	private Event<DnsZoneEvent> event;
 	
@@ -69,9 +86,11 @@ public class DnsZoneManager {
 
 	@Inject
 	protected DnsZoneManager(@Inventory Repository repository,
+							 @Inventory DatabaseService db,
 						     Event<DnsZoneEvent> event,
 						     Messages messages) {
 		this.repository = repository;
+		this.db = db;
 		this.messages = messages;
 		this.event = event;
 	}
@@ -98,45 +117,16 @@ public class DnsZoneManager {
 			   .build();
 	}
 	
+	/**
+	 * Returns all DNS record sets of the given zone grouped by element.
+	 * The elements are ordered by element name and the record sets by DNS name and record type.
+	 * @param zone the DNS zone
+	 * @return the DNS zone elements
+	 * @see #exportDnsZoneElements(DnsZone, Consumer)
+	 */
 	public DnsZoneElements getDnsZoneElements(DnsZone zone) {
-		
-		Map<Element,List<DnsRecordSet>> elements = new HashMap<>();
- 		for(Element_DnsRecordSet record : repository.execute(findDnsZoneElements(zone))) {
- 			Element element = record.getElement();
-			List<DnsRecordSet> sets = elements.get(element);
-			if(sets == null) {
-				sets = new LinkedList<>();
-				elements.put(element,sets);
-			}
-			sets.add(newDnsRecordSet()
-					 .withDnsRecordSetId(record.getDnsRecordSetId())
-					 .withDnsName(record.getDnsName())
-					 .withDnsRecordType(record.getDnsRecordType())
-					 .withDnsRecordTimeToLive(record.getTimeToLoveInSeconds())
-					 .withDescription(record.getDescription())
-					 .withDnsRecords(record.getDnsRecords())
-					 .build());
-		}
-		
- 		List<DnsZoneElement> records = new LinkedList<>();
- 		for(Map.Entry<Element, List<DnsRecordSet>> entry : elements.entrySet()  ) {
- 			Element element = entry.getKey();
- 			List<DnsRecordSet> sets = entry.getValue();
- 			records.add(newDnsZoneElement()
- 						.withGroupId(element.getGroupId())
- 						.withGroupType(element.getGroupType())
- 						.withGroupName(element.getGroupName())
- 						.withElementRole(element.getElementRoleName())
- 						.withElementId(element.getElementId())
- 						.withElementName(element.getElementName())
- 						.withElementAlias(element.getElementAlias())
- 						.withAdministrativeState(element.getAdministrativeState())
- 						.withOperationalState(element.getOperationalState())
- 						.withDateModified(element.getDateModified())
- 						.withDnsRecordSets(sets)
- 						.build());
- 		}
- 		
+		List<DnsZoneElement> records = new ArrayList<>();
+		exportDnsZoneElements(zone, records::add);
 		return newDnsZoneElements()
 			   .withDnsZoneId(zone.getDnsZoneId())
 			   .withDnsZoneName(zone.getDnsZoneName())
@@ -144,6 +134,107 @@ public class DnsZoneManager {
 			   .withDnsEntries(records).build();
 	}
 	
+	/**
+	 * Reads all DNS record sets of the given zone with a single query and 
+	 * passes every zone element to the consumer as soon as all its record sets are read.
+	 * The elements are ordered by element name and the record sets by DNS name and record type.
+	 * @param zone the DNS zone
+	 * @param consumer the zone element consumer
+	 */
+	public void exportDnsZoneElements(DnsZone zone, Consumer<DnsZoneElement> consumer) {
+		DnsZoneElementReader reader = new DnsZoneElementReader(consumer);
+		db.processQuery(prepare("SELECT e.id, g.uuid, g.type, g.name, r.name, e.uuid, e.name, e.alias, e.admstate, e.opstate, e.tsmodified, "+
+								"d.id, d.uuid, d.name, d.type, d.ttl, d.description, v.value, v.disabled, v.setptr "+
+								"FROM inventory.element_dns d "+
+								"JOIN inventory.element e "+
+								"ON d.element_id = e.id "+
+								"JOIN inventory.elementgroup g "+
+								"ON e.elementgroup_id = g.id "+
+								"JOIN inventory.elementrole r "+
+								"ON e.elementrole_id = r.id "+
+								"LEFT JOIN inventory.element_dns_record v "+
+								"ON v.element_dns_id = d.id "+
+								"WHERE d.dnszone_id = ? "+
+								"ORDER BY e.name, e.id, d.name, d.type, d.id, v.value",
+								zone.getId()), 
+						reader::read);
+		reader.flushElement();
+	}
+	
+	/**
+	 * Groups the rows of the DNS zone export query into zone elements.
+	 * The rows must be ordered by element and record set.
+	 */
+	private static final class DnsZoneElementReader {
+		
+		private final Consumer<DnsZoneElement> consumer;
+		private long elementPk;
+		private DnsZoneElement.Builder element;
+		private List<DnsRecordSet> sets;
+		private long setPk;
+		private DnsRecordSet.Builder set;
+		private List<DnsRecord> records;
+		
+		DnsZoneElementReader(Consumer<DnsZoneElement> consumer){
+			this.consumer = consumer;
+		}
+		
+		void read(ResultSet rs) throws SQLException {
+			long nextElementPk = rs.getLong(1);
+			if(element == null || nextElementPk != elementPk) {
+				flushElement();
+				elementPk = nextElementPk;
+				sets = new ArrayList<>();
+				element = newDnsZoneElement()
+						  .withGroupId(groupId(rs.getString(2)))
+						  .withGroupType(groupType(rs.getString(3)))
+						  .withGroupName(groupName(rs.getString(4)))
+						  .withElementRole(elementRoleName(rs.getString(5)))
+						  .withElementId(elementId(rs.getString(6)))
+						  .withElementName(elementName(rs.getString(7)))
+						  .withElementAlias(elementAlias(rs.getString(8)))
+						  .withAdministrativeState(administrativeState(rs.getString(9)))
+						  .withOperationalState(operationalState(rs.getString(10)))
+						  .withDateModified(rs.getTimestamp(11));
+			}
+			long nextSetPk = rs.getLong(12);
+			if(set == null || nextSetPk != setPk) {
+				flushSet();
+				setPk = nextSetPk;
+				records = new ArrayList<>();
+				set = newDnsRecordSet()
+					  .withDnsRecordSetId(dnsRecordSetId(rs.getString(13)))
+					  .withDnsName(dnsName(rs.getString(14)))
+					  .withDnsRecordType(dnsRecordType(rs.getString(15)))
+					  .withDnsRecordTimeToLive(rs.getInt(16))
+					  .withDescription(rs.getString(17));
+			}
+			String value = rs.getString(18);
+			if(value != null) {
+				// Record sets without records are read with null record columns.
+				records.add(newDnsRecord()
+							.withRecordValue(value)
+							.withDisabled("Y".equals(rs.getString(19)))
+							.withSetPtr("Y".equals(rs.getString(20)))
+							.build());
+			}
+		}
+		
+		private void flushSet() {
+			if(set != null) {
+				sets.add(set.withDnsRecords(records).build());
+				set = null;
+			}
+		}
+		
+		void flushElement() {
+			flushSet();
+			if(element != null) {
+				consumer.accept(element.withDnsRecordSets(sets).build());
+				element = null;
+			}
+		}
+	}
 	
 	public void removeDnsZone(DnsZone zone) {
 		int records = repository.execute(countDnsZoneRecords(zone));
@@ -22,6 +22,7 @@ import static io.leitstand.inventory.service.OperationalState.UP;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
 import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static javax.persistence.CascadeType.PERSIST;
 
@@ -39,6 +40,7 @@ import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.MapKey;
@@ -68,10 +70,15 @@ import io.leitstand.inventory.service.PlatformName;
 
 @Entity
 @Table(schema="inventory", name="element")
+@EntityListeners(ElementHeartbeatListener.class)
 @NamedQuery(name="Element.findByElementId", 
 			query="SELECT e FROM Element e WHERE e.uuid=:id")
 @NamedQuery(name="Element.findByElementName", 
 			query="SELECT e FROM Element e WHERE e.elementName=:name OR e.elementAlias=:alias")
+@NamedQuery(name="Element.findByElementIds", 
+			query="SELECT e FROM Element e WHERE e.uuid IN :ids")
+@NamedQuery(name="Element.findByElementNames", 
+			query="SELECT e FROM Element e WHERE e.elementName IN :names OR e.elementAlias IN :aliases")
 @NamedQuery(name="Element.findByElementGroupAndElementRoleAndPlatform",
 			query="SELECT e FROM Element e WHERE e.group=:group AND e.role=:role AND e.platform=:platform")
 @NamedQuery(name="Element.findByElementGroupAndElementRole",
@@ -105,6 +112,23 @@ public class Element extends VersionableEntity {
 					   .getSingleResult();
 	}
 
+	public static Query<List<Element>> findElementsByIds(Collection<ElementId> ids) {
+		return em -> em.createNamedQuery("Element.findByElementIds",Element.class)
+					   .setParameter("ids",ids.stream()
+							   				  .map(id -> id.toString())
+							   				  .collect(toList()))
+					   .getResultList();
+	}
+	
+	public static Query<List<Element>> findElementsByNames(Collection<ElementName> names) {
+		return em -> em.createNamedQuery("Element.findByElementNames",Element.class)
+					   .setParameter("names",names)
+					   .setParameter("aliases",names.stream()
+							   					.map(ElementAlias::valueOf)
+							   					.collect(toList()))
+					   .getResultList();
+	}
+
 	public static Query<List<Element>> findElementsByName(String pattern, 
 														  int offset, 
 														  int limit){
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.etc.Environment.getSystemProperty;
+import static io.leitstand.commons.rs.ResourceUtil.tryParseInt;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementName;
+
+/**
+ * A bounded cache of element identity and envelope data, shared by all requests.
+ * <p>
+ * The cache maps the element ID, the element name and the element alias to a {@link CachedElement} snapshot,
+ * which contains the primary key of the element record and the element envelope data.
+ * The {@link ElementProvider} resolves elements by primary key rather than 
+ * searching the element by name or alias, and serves the element envelope without loading the element at all.
+ * <p>
+ * The {@link ElementCacheInvalidator} evicts modified elements from the caches of all inventory instances.
+ * <p>
+ * The least recently used entry is evicted when the cache is full.
+ * The cache size defaults to 10,000 entries and can be changed by the <code>LEITSTAND_ELEMENT_CACHE_SIZE</code> system property.
+ */
+@ApplicationScoped
+public class ElementCache {
+
+	private final int capacity;
+	private final Map<Object,CachedElement> entries;
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long invalidations;
+	
+	public ElementCache() {
+		this(tryParseInt(getSystemProperty("LEITSTAND_ELEMENT_CACHE_SIZE"), 10000));
+	}
+	
+	ElementCache(int capacity) {
+		this.capacity = capacity;
+		this.entries = new LinkedHashMap<Object,CachedElement>(16, 0.75f, true){
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, CachedElement> eldest) {
+				if(size() > ElementCache.this.capacity) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+	
+	/**
+	 * Returns the cached element with the specified ID.
+	 * @param elementId the element ID
+	 * @return the cached element or <code>null</code> if the element is not cached.
+	 */
+	public synchronized CachedElement get(ElementId elementId) {
+		return lookup(elementId);
+	}
+
+	/**
+	 * Returns the cached element with the specified name or alias.
+	 * @param elementName the element name or alias
+	 * @return the cached element or <code>null</code> if the element is not cached.
+	 */
+	public synchronized CachedElement get(ElementName elementName) {
+		return lookup(elementName.getValue());
+	}
+	
+	private CachedElement lookup(Object key) {
+		CachedElement element = entries.get(key);
+		if(element == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		return element;
+	}
+	
+	/**
+	 * Adds an element to the cache.
+	 * @param element the element
+	 * @return the cached element.
+	 */
+	public synchronized CachedElement cache(CachedElement element) {
+		entries.put(element.getElementId(), element);
+		entries.put(element.getElementName().getValue(), element);
+		if(element.getElementAlias() != null) {
+			entries.put(element.getElementAlias().getValue(), element);
+		}
+		return element;
+	}
+	
+	/**
+	 * Evicts an element from the cache.
+	 * @param elementId the element ID
+	 */
+	public synchronized void evict(ElementId elementId) {
+		boolean evicted = false;
+		Iterator<CachedElement> i = entries.values().iterator();
+		while(i.hasNext()) {
+			if(i.next().getElementId().equals(elementId)) {
+				i.remove();
+				evicted = true;
+			}
+		}
+		if(evicted) {
+			invalidations++;
+		}
+	}
+	
+	/**
+	 * Evicts the element with the specified name or alias from the cache.
+	 * @param elementName the element name or alias
+	 */
+	public synchronized void evict(ElementName elementName) {
+		CachedElement element = entries.get(elementName.getValue());
+		if(element != null) {
+			evict(element.getElementId());
+		}
+	}
+	
+	/**
+	 * Evicts all elements from the cache.
+	 */
+	public synchronized void clear() {
+		if(!entries.isEmpty()) {
+			invalidations++;
+		}
+		entries.clear();
+	}
+	
+	/**
+	 * Returns the number of cache entries. 
+	 * An element has an entry for its ID, its name and its alias, if set.
+	 * @return the number of cache entries.
+	 */
+	public synchronized int getSize() {
+		return entries.size();
+	}
+	
+	/**
+	 * Returns the number of cache hits since startup.
+	 * @return the number of cache hits.
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+	
+	/**
+	 * Returns the number of cache misses since startup.
+	 * @return the number of cache misses.
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+	
+	/**
+	 * Returns the ratio of cache hits to all cache lookups.
+	 * @return the cache hit ratio or <code>0</code> if no lookup has been made yet.
+	 */
+	public synchronized double getHitRatio() {
+		long lookups = hits + misses;
+		return lookups > 0 ? (double) hits / lookups : 0;
+	}
+	
+	/**
+	 * Returns the number of entries evicted since startup, because the cache was full.
+	 * @return the number of evicted entries.
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+	
+	/**
+	 * Returns the number of invalidations since startup.
+	 * An invalidation evicts a modified element or clears the entire cache.
+	 * @return the number of invalidations.
+	 */
+	public synchronized long getInvalidations() {
+		return invalidations;
+	}
+	
+}
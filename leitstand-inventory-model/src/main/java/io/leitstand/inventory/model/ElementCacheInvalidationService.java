@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.inventory.service.ElementId.elementId;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.commons.model.Service;
+import io.leitstand.inventory.service.ElementId;
+
+/**
+ * Distributes element cache invalidations to all inventory instances through the <code>element_cache_invalidation</code> table.
+ */
+@Service
+public class ElementCacheInvalidationService {
+	
+	@Inject
+	@Inventory
+	private DatabaseService db;
+	
+	protected ElementCacheInvalidationService() {
+		// CDI
+	}
+	
+	protected ElementCacheInvalidationService(DatabaseService db) {
+		this.db = db;
+	}
+
+	/**
+	 * Records the invalidation of an element in the current transaction.
+	 * @param elementId the invalidated element
+	 */
+	public void invalidate(ElementId elementId) {
+		db.executeUpdate(prepare("INSERT INTO inventory.element_cache_invalidation (element_uuid, tscreated) VALUES (?, now())", 
+								 elementId.getValue()));
+	}
+	
+	/**
+	 * Records the invalidation of all elements in the current transaction.
+	 * The invalidation is recorded without element ID.
+	 */
+	public void invalidateAll() {
+		db.executeUpdate(prepare("INSERT INTO inventory.element_cache_invalidation (element_uuid, tscreated) VALUES (NULL, now())"));
+	}
+	
+	/**
+	 * Returns the ID of the last recorded invalidation.
+	 * @return the last invalidation ID or <code>0</code> if no invalidation exists.
+	 */
+	public long getLastInvalidation() {
+		return db.getSingleResult(prepare("SELECT COALESCE(max(id),0) FROM inventory.element_cache_invalidation"), 
+								  rs -> rs.getLong(1));
+	}
+	
+	/**
+	 * Returns all invalidations recorded after the specified invalidation.
+	 * @param lastInvalidation the ID of the last processed invalidation
+	 * @return the invalidated elements by invalidation ID in ascending order. 
+	 * 		   The element ID is <code>null</code> if all elements were invalidated.
+	 */
+	public Map<Long,ElementId> findInvalidations(long lastInvalidation){
+		Map<Long,ElementId> invalidations = new LinkedHashMap<>();
+		db.processQuery(prepare("SELECT id, element_uuid "+
+								"FROM inventory.element_cache_invalidation "+
+								"WHERE id > ? "+
+								"ORDER BY id",
+								lastInvalidation),
+						rs -> invalidations.put(rs.getLong(1), 
+												rs.getString(2) != null ? elementId(rs.getString(2)) : null));
+		return invalidations;
+	}
+	
+	/**
+	 * Removes all invalidations older than the specified retention period.
+	 * @param retention the retention period in milliseconds
+	 * @return the number of removed invalidations.
+	 */
+	public int purgeInvalidations(long retention) {
+		return db.executeUpdate(prepare("DELETE FROM inventory.element_cache_invalidation "+
+										"WHERE tscreated < now() - ? * interval '1 millisecond'",
+										retention));
+	}
+	
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.ReasonCode.IVT8110I_ELEMENT_CACHE_LISTENER_STARTED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8111I_ELEMENT_CACHE_LISTENER_STOPPED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8112E_ELEMENT_CACHE_LISTENER_FAILED;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.Thread.currentThread;
+import static java.lang.Thread.sleep;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.Map;
+import java.util.logging.Logger;
+
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import io.leitstand.commons.ShutdownListener;
+import io.leitstand.commons.StartupListener;
+import io.leitstand.inventory.event.ElementEvent;
+import io.leitstand.inventory.event.ElementMovedEvent;
+import io.leitstand.inventory.event.ElementOperationalStateChangedEvent;
+import io.leitstand.inventory.event.ElementRemovedEvent;
+import io.leitstand.inventory.event.ElementRenamedEvent;
+import io.leitstand.inventory.event.ElementRetiredEvent;
+import io.leitstand.inventory.event.ElementRoleChangedEvent;
+import io.leitstand.inventory.event.ElementSettingsUpdatedEvent;
+import io.leitstand.inventory.service.ElementId;
+
+/**
+ * Keeps the {@link ElementCache} of all inventory instances coherent.
+ * <p>
+ * An element is evicted from the local cache immediately when its envelope data changes,
+ * i.e. when the element is renamed, moved, removed, retired, changes its role or operational state or its settings are updated.
+ * An invalidation is recorded in the <code>element_cache_invalidation</code> table in the same transaction.
+ * Renaming an element group or an element role invalidates all cached elements.
+ * The invalidator reads the invalidations recorded by all inventory instances every second
+ * and evicts the invalidated elements from the local cache. 
+ * This also evicts elements that were cached again by a concurrent request before the modifying transaction was committed.
+ * Invalidations are removed after ten minutes.
+ * The entire cache is cleared if the invalidations cannot be read, 
+ * because invalidations might have been missed.
+ */
+@ApplicationScoped
+public class ElementCacheInvalidator implements Runnable, StartupListener, ShutdownListener {
+	
+	private static final Logger LOG = Logger.getLogger(ElementCacheInvalidator.class.getName());
+	private static final long POLL_INTERVAL = SECONDS.toMillis(1);
+	private static final long PURGE_INTERVAL = MINUTES.toMillis(1);
+	private static final long RETENTION = MINUTES.toMillis(10);
+	
+	@Resource
+	private ManagedExecutorService pool;
+	
+	@Inject
+	private ElementCache cache;
+	
+	@Inject
+	private ElementCacheInvalidationService service;
+	
+	private volatile boolean run;
+	private long lastInvalidation;
+	private long nextPurge;
+	
+	@Override
+	public void onStartup() {
+		this.run = true;
+		pool.execute(this);
+	}
+	
+	@Override
+	public void onShutdown() {
+		this.run = false;
+		LOG.info(() -> format("%s: Element cache invalidation listener stopped!",
+							  IVT8111I_ELEMENT_CACHE_LISTENER_STOPPED.getReasonCode()));
+	}
+	
+	public void elementRenamed(@Observes ElementRenamedEvent event) {
+		invalidate(event);
+	}
+
+	public void elementMoved(@Observes ElementMovedEvent event) {
+		invalidate(event);
+	}
+	
+	public void elementRemoved(@Observes ElementRemovedEvent event) {
+		invalidate(event);
+	}
+	
+	public void elementRetired(@Observes ElementRetiredEvent event) {
+		invalidate(event);
+	}
+	
+	public void elementRoleChanged(@Observes ElementRoleChangedEvent event) {
+		invalidate(event);
+	}
+	
+	public void elementOperationalStateChanged(@Observes ElementOperationalStateChangedEvent event) {
+		invalidate(event);
+	}
+	
+	public void elementSettingsUpdated(@Observes ElementSettingsUpdatedEvent event) {
+		invalidate(event);
+	}
+	
+	private void invalidate(ElementEvent event) {
+		cache.evict(event.getElementId());
+		service.invalidate(event.getElementId());
+	}
+	
+	/**
+	 * Invalidates all cached elements in the current transaction.
+	 * Called when an element group or an element role is renamed,
+	 * because the new name is part of the envelope data of all elements of the group or role.
+	 */
+	public void invalidateAll() {
+		cache.clear();
+		service.invalidateAll();
+	}
+	
+	@Override
+	public void run() {
+		LOG.info(() -> format("%s: Element cache invalidation listener started!",
+							  IVT8110I_ELEMENT_CACHE_LISTENER_STARTED.getReasonCode()));
+		boolean synced = false;
+		while(run) {
+			try {
+				if(!synced) {
+					// Start from the last invalidation. Invalidations that might have been missed are covered by clearing the cache.
+					lastInvalidation = service.getLastInvalidation();
+					cache.clear();
+					synced = true;
+				}
+				for(Map.Entry<Long,ElementId> invalidation : service.findInvalidations(lastInvalidation).entrySet()) {
+					if(invalidation.getValue() != null) {
+						cache.evict(invalidation.getValue());
+					} else {
+						cache.clear();
+					}
+					lastInvalidation = invalidation.getKey();
+				}
+				long now = currentTimeMillis();
+				if(now >= nextPurge) {
+					service.purgeInvalidations(RETENTION);
+					nextPurge = now + PURGE_INTERVAL;
+				}
+			} catch (Exception e) {
+				synced = false;
+				LOG.warning(() -> format("%s: Element cache invalidation listener failed due to %s",
+										 IVT8112E_ELEMENT_CACHE_LISTENER_FAILED.getReasonCode(),
+										 e.getMessage()));
+			}
+			try {
+				sleep(POLL_INTERVAL);
+			} catch (InterruptedException e) {
+				currentThread().interrupt();
+				return;
+			}
+		}
+	}
+	
+}
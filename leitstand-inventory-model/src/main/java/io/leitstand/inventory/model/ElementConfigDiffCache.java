@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.etc.Environment.getSystemProperty;
+import static io.leitstand.commons.rs.ResourceUtil.tryParseInt;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import io.leitstand.inventory.service.ElementConfigDiffFormat;
+import io.leitstand.inventory.service.ElementConfigId;
+
+/**
+ * A bounded least-recently-used cache of rendered element configuration differences.
+ * <p>
+ * Only differences of <em>superseded</em> configuration revisions are cached, 
+ * because superseded revisions are immutable and hence their difference never changes.
+ * The cache is bounded by the total number of cached characters, 
+ * which can be configured by the <code>LEITSTAND_CONFIGSTORE_DIFF_CACHE_SIZE</code> system property and defaults to 8M characters.
+ * Differences that exceed an eighth of the cache size are not cached.
+ */
+@ApplicationScoped
+public class ElementConfigDiffCache {
+
+	private static final int DEFAULT_CACHE_SIZE = 8 * 1024 * 1024;
+	
+	private final Map<String,String> diffs;
+	private final long maxSize;
+	private long size;
+	
+	public ElementConfigDiffCache() {
+		this(tryParseInt(getSystemProperty("LEITSTAND_CONFIGSTORE_DIFF_CACHE_SIZE"), DEFAULT_CACHE_SIZE));
+	}
+	
+	ElementConfigDiffCache(long maxSize){
+		this.maxSize = maxSize;
+		this.diffs = new LinkedHashMap<>(16, 0.75f, true);
+	}
+	
+	/**
+	 * Returns the cached difference or <code>null</code> if the difference is not cached.
+	 * @param from the original configuration revision
+	 * @param to the modified configuration revision
+	 * @param format the difference format
+	 * @return the cached difference or <code>null</code> if the difference is not cached.
+	 */
+	public synchronized String get(ElementConfigId from, ElementConfigId to, ElementConfigDiffFormat format) {
+		return diffs.get(key(from,to,format));
+	}
+	
+	/**
+	 * Adds a difference to the cache and evicts the least recently used differences if the cache size is exceeded.
+	 * @param from the original configuration revision
+	 * @param to the modified configuration revision
+	 * @param format the difference format
+	 * @param diff the rendered difference
+	 */
+	public synchronized void put(ElementConfigId from, ElementConfigId to, ElementConfigDiffFormat format, String diff) {
+		if(diff.length() > maxSize / 8) {
+			return;
+		}
+		String replaced = diffs.put(key(from,to,format), diff);
+		if(replaced != null) {
+			size -= replaced.length();
+		}
+		size += diff.length();
+		Iterator<String> lru = diffs.values().iterator();
+		while(size > maxSize && lru.hasNext()) {
+			size -= lru.next().length();
+			lru.remove();
+		}
+	}
+	
+	synchronized long size() {
+		return size;
+	}
+	
+	private static String key(ElementConfigId from, ElementConfigId to, ElementConfigDiffFormat format) {
+		return from + ":" + to + ":" + format;
+	}
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.Element_Config.findElementConfig;
+import static io.leitstand.inventory.model.JsonPatchDiff.diff;
+import static io.leitstand.inventory.service.ConfigurationState.SUPERSEDED;
+import static io.leitstand.inventory.service.ElementConfigDiffFormat.JSON_PATCH;
+import static io.leitstand.inventory.service.ReasonCode.IVT0329E_ELEMENT_CONFIG_DIFF_NOT_SUPPORTED;
+import static io.leitstand.inventory.service.ReasonCode.IVT0332E_ELEMENT_CONFIG_REVISION_NOT_FOUND;
+import static java.lang.String.format;
+import static java.util.logging.Logger.getLogger;
+import static javax.json.Json.createReader;
+import static javax.json.Json.createGenerator;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.logging.Logger;
+
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+
+import io.leitstand.commons.EntityNotFoundException;
+import io.leitstand.commons.UnprocessableEntityException;
+import io.leitstand.commons.model.Repository;
+import io.leitstand.inventory.service.ElementConfigDiff;
+import io.leitstand.inventory.service.ElementConfigDiffFormat;
+import io.leitstand.inventory.service.ElementConfigId;
+import io.leitstand.inventory.service.ElementConfigName;
+
+/**
+ * Computes the difference of two element configuration revisions.
+ * <p>
+ * Both configuration revisions are loaded when the difference is requested, 
+ * but the difference is not computed before it gets written.
+ * Differences of superseded revisions are rendered immediately and put in the {@link ElementConfigDiffCache}.
+ */
+@Dependent
+public class ElementConfigDiffManager {
+	
+	private static final Logger LOG = getLogger(ElementConfigDiffManager.class.getName());
+	private static final int CONTEXT_LINES = 3;
+
+	/**
+	 * Renders a configuration difference.
+	 */
+	@FunctionalInterface
+	private interface DiffRenderer {
+		void render(Writer writer) throws IOException;
+	}
+	
+	private static final class DefaultElementConfigDiff implements ElementConfigDiff {
+		
+		private final ElementConfigId fromConfigId;
+		private final ElementConfigId toConfigId;
+		private final ElementConfigName configName;
+		private final ElementConfigDiffFormat format;
+		private final DiffRenderer renderer;
+		
+		private DefaultElementConfigDiff(ElementConfigId fromConfigId,
+										 ElementConfigId toConfigId,
+										 ElementConfigName configName,
+										 ElementConfigDiffFormat format,
+										 DiffRenderer renderer) {
+			this.fromConfigId = fromConfigId;
+			this.toConfigId = toConfigId;
+			this.configName = configName;
+			this.format = format;
+			this.renderer = renderer;
+		}
+		
+		@Override
+		public ElementConfigId getFromConfigId() {
+			return fromConfigId;
+		}
+		
+		@Override
+		public ElementConfigId getToConfigId() {
+			return toConfigId;
+		}
+		
+		@Override
+		public ElementConfigName getConfigName() {
+			return configName;
+		}
+		
+		@Override
+		public ElementConfigDiffFormat getFormat() {
+			return format;
+		}
+		
+		@Override
+		public void writeTo(Writer writer) throws IOException {
+			renderer.render(writer);
+		}
+	}
+	
+	private Repository repository;
+	private ElementConfigManager configs;
+	private ElementConfigDiffCache cache;
+	
+	protected ElementConfigDiffManager() {
+		// CDI
+	}
+	
+	@Inject
+	protected ElementConfigDiffManager(@Inventory Repository repository,
+									   ElementConfigManager configs,
+									   ElementConfigDiffCache cache) {
+		this.repository = repository;
+		this.configs = configs;
+		this.cache = cache;
+	}
+	
+	public ElementConfigDiff diffElementConfigs(Element element, 
+												ElementConfigName configName, 
+												ElementConfigId fromConfigId, 
+												ElementConfigId toConfigId,
+												ElementConfigDiffFormat format) {
+		Element_Config from = findRevision(element, configName, fromConfigId);
+		Element_Config to = findRevision(element, configName, toConfigId);
+		if(format == JSON_PATCH && !(from.isJsonConfig() && to.isJsonConfig())) {
+			String contentType = from.isJsonConfig() ? to.getContentType() : from.getContentType();
+			LOG.fine(() -> format("%s: Cannot compute %s difference of %s %s configurations with content type %s",
+								  IVT0329E_ELEMENT_CONFIG_DIFF_NOT_SUPPORTED.getReasonCode(),
+								  format,
+								  element.getElementName(),
+								  configName,
+								  contentType));
+			throw new UnprocessableEntityException(IVT0329E_ELEMENT_CONFIG_DIFF_NOT_SUPPORTED, 
+												   element.getElementName(),
+												   configName,
+												   format,
+												   contentType);
+		}
+		
+		boolean cacheable = from.getConfigState() == SUPERSEDED && to.getConfigState() == SUPERSEDED;
+		if(cacheable) {
+			String cached = cache.get(fromConfigId, toConfigId, format);
+			if(cached != null) {
+				return newDiff(configName, fromConfigId, toConfigId, format, writer -> writer.write(cached));
+			}
+		}
+		
+		DiffRenderer renderer = renderer(configName, 
+										 from, 
+										 to, 
+										 format);
+		if(cacheable) {
+			StringWriter rendered = new StringWriter();
+			try {
+				renderer.render(rendered);
+			} catch (IOException e) {
+				// A StringWriter does not raise IO exceptions.
+				throw new IllegalStateException(e);
+			}
+			String diff = rendered.toString();
+			cache.put(fromConfigId, toConfigId, format, diff);
+			return newDiff(configName, fromConfigId, toConfigId, format, writer -> writer.write(diff));
+		}
+		return newDiff(configName, fromConfigId, toConfigId, format, renderer);
+		
+	}
+	
+	private static ElementConfigDiff newDiff(ElementConfigName configName,
+											 ElementConfigId fromConfigId,
+											 ElementConfigId toConfigId,
+											 ElementConfigDiffFormat format,
+											 DiffRenderer renderer) {
+		return new DefaultElementConfigDiff(fromConfigId,
+											toConfigId,
+											configName,
+											format,
+											renderer);
+	}
+	
+	private DiffRenderer renderer(ElementConfigName configName,
+								  Element_Config from,
+								  Element_Config to,
+								  ElementConfigDiffFormat format) {
+		// Load both configurations in the current transaction. 
+		// The difference is computed when the difference is written.
+		String fromConfig = configs.configData(from);
+		String toConfig = configs.configData(to);
+		if(format == JSON_PATCH) {
+			return writer -> createGenerator(writer).write(diff(parse(fromConfig), 
+																parse(toConfig)))
+													.flush();
+		}
+		String fromLabel = format("a/%s\t%s", configName, from.getConfigId());
+		String toLabel = format("b/%s\t%s", configName, to.getConfigId());
+		return writer -> LineDiff.diff(fromConfig, toConfig)
+								 .writeUnifiedDiff(fromLabel, 
+										 		   toLabel, 
+										 		   CONTEXT_LINES, 
+										 		   writer);
+	}
+	
+	private static JsonValue parse(String config) {
+		try(JsonReader reader = createReader(new StringReader(config != null ? config : "{}"))){
+			return reader.readValue();
+		}
+	}
+	
+	private Element_Config findRevision(Element element, 
+										ElementConfigName configName, 
+										ElementConfigId configId) {
+		Element_Config config = repository.execute(findElementConfig(configId));
+		if(config == null || !config.getElement().getId().equals(element.getId()) || !config.getName().equals(configName)) {
+			LOG.fine(() -> format("%s: Configuration %s revision %s for element %s not found",
+								  IVT0332E_ELEMENT_CONFIG_REVISION_NOT_FOUND.getReasonCode(),
+								  configName,
+								  configId,
+								  element.getElementName()));
+			
+			throw new EntityNotFoundException(IVT0332E_ELEMENT_CONFIG_REVISION_NOT_FOUND, 
+											  element.getElementName(),
+											  configName,
+											  configId);
+		}
+		return config;
+	}
+	
+}
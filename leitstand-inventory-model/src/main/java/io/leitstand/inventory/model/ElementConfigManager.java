@@ -25,8 +25,23 @@ import static io.leitstand.commons.rs.ResourceUtil.tryParseInt;
 import static io.leitstand.inventory.event.ElementConfigRemovedEvent.newElementConfigRemovedEvent;
 import static io.leitstand.inventory.event.ElementConfigRevisionRemovedEvent.newElementConfigRevisionRemovedEvent;
 import static io.leitstand.inventory.event.ElementConfigStoredEvent.newElementConfigStoredEvent;
+import static io.leitstand.inventory.model.ConfigBlob.findConfigBlob;
+import static io.leitstand.inventory.model.ConfigBlob.releaseConfigBlob;
+import static io.leitstand.inventory.model.ConfigBlob.releaseConfigRevisionBlobs;
+import static io.leitstand.inventory.model.ConfigBlob.removeUnreferencedConfigBlobs;
+import static io.leitstand.inventory.model.ConfigBlob.retainConfigBlob;
+import static io.leitstand.inventory.model.ConfigBlob.storeConfigBlob;
+import static io.leitstand.inventory.model.ConfigContentDigest.blobHash;
+import static io.leitstand.inventory.model.ConfigContentDigest.digest;
+import static io.leitstand.inventory.model.ConfigDeltaCodec.decode;
+import static io.leitstand.inventory.model.ConfigDeltaCodec.encode;
+import static io.leitstand.inventory.model.ConfigDeltaCodec.targetLength;
+import static io.leitstand.inventory.model.ElementConfigStorageMode.DELTA;
+import static io.leitstand.inventory.model.ElementConfigStorageMode.storageMode;
 import static io.leitstand.inventory.model.Element_Config.findActiveConfig;
+import static io.leitstand.inventory.model.Element_Config.findDeltaEncodedConfigs;
 import static io.leitstand.inventory.model.Element_Config.findElementConfig;
+import static io.leitstand.inventory.model.Element_Config.findLatestAndActiveConfigs;
 import static io.leitstand.inventory.model.Element_Config.findLatestConfig;
 import static io.leitstand.inventory.model.Element_Config.removeConfigRevisions;
 import static io.leitstand.inventory.service.ConfigurationState.ACTIVE;
@@ -34,28 +49,53 @@ import static io.leitstand.inventory.service.ConfigurationState.CANDIDATE;
 import static io.leitstand.inventory.service.ConfigurationState.SUPERSEDED;
 import static io.leitstand.inventory.service.ConfigurationState.configurationState;
 import static io.leitstand.inventory.service.ElementConfig.newElementConfig;
+import static io.leitstand.inventory.service.ElementConfigBatchResult.newElementConfigBatchResult;
+import static io.leitstand.inventory.service.ElementConfigBatchResult.Status.CREATED;
+import static io.leitstand.inventory.service.ElementConfigBatchResult.Status.FAILED;
+import static io.leitstand.inventory.service.ElementConfigBatchResult.Status.UPDATED;
+import static io.leitstand.inventory.service.ElementConfigContentInfo.newElementConfigContentInfo;
 import static io.leitstand.inventory.service.ElementConfigId.elementConfigId;
 import static io.leitstand.inventory.service.ElementConfigName.elementConfigName;
 import static io.leitstand.inventory.service.ElementConfigReference.newElementConfigReference;
 import static io.leitstand.inventory.service.ElementConfigRevisions.newElementConfigRevisions;
 import static io.leitstand.inventory.service.ElementConfigs.newElementConfigs;
+import static io.leitstand.inventory.service.ReasonCode.IVT0300E_ELEMENT_NOT_FOUND;
+import static io.leitstand.inventory.service.ReasonCode.IVT0327E_ELEMENT_CONFIG_SUBMISSION_INCOMPLETE;
 import static io.leitstand.inventory.service.ReasonCode.IVT0330I_ELEMENT_CONFIG_REVISION_STORED;
 import static io.leitstand.inventory.service.ReasonCode.IVT0331I_ELEMENT_CONFIG_REVISION_REMOVED;
 import static io.leitstand.inventory.service.ReasonCode.IVT0332E_ELEMENT_CONFIG_REVISION_NOT_FOUND;
 import static io.leitstand.inventory.service.ReasonCode.IVT0333E_ELEMENT_CONFIG_NOT_FOUND;
 import static io.leitstand.inventory.service.ReasonCode.IVT0334E_ELEMENT_ACTIVE_CONFIG_NOT_FOUND;
+import static io.leitstand.inventory.service.ReasonCode.IVT0336E_ELEMENT_CONFIG_MODIFIED;
 import static io.leitstand.inventory.service.ReasonCode.IVT0337I_ELEMENT_CONFIG_REMOVED;
 import static io.leitstand.inventory.service.ReasonCode.IVT0338E_ELEMENT_CONFIG_NOT_RESTORABLE;
 import static io.leitstand.inventory.service.ReasonCode.IVT0339E_ELEMENT_OUTDATED_CONFIG_REMOVED;
 import static io.leitstand.inventory.service.StoreElementConfigResult.configCreated;
 import static io.leitstand.inventory.service.StoreElementConfigResult.configUpdated;
 import static io.leitstand.security.auth.UserName.userName;
-import static io.leitstand.security.crypto.SecureHashes.md5;
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singleton;
 import static java.util.logging.Logger.getLogger;
 
-import java.math.BigInteger;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 import javax.enterprise.context.Dependent;
@@ -71,6 +111,9 @@ import io.leitstand.commons.model.Repository;
 import io.leitstand.inventory.event.ElementConfigEvent;
 import io.leitstand.inventory.service.ConfigurationState;
 import io.leitstand.inventory.service.ElementConfig;
+import io.leitstand.inventory.service.ElementConfigBatchItem;
+import io.leitstand.inventory.service.ElementConfigBatchResult;
+import io.leitstand.inventory.service.ElementConfigContentInfo;
 import io.leitstand.inventory.service.ElementConfigId;
 import io.leitstand.inventory.service.ElementConfigName;
 import io.leitstand.inventory.service.ElementConfigReference;
@@ -84,6 +127,10 @@ public class ElementConfigManager {
 
 	private static final Logger LOG = getLogger(ElementConfigManager.class.getName());
 	private static final int CONFIG_HISTORY_SIZE = tryParseInt(getSystemProperty("LEITSTAND_CONFIGSTORE_HISTORY_SIZE"), 50);
+	private static final ElementConfigStorageMode CONFIG_STORAGE_MODE = storageMode(getSystemProperty("LEITSTAND_CONFIGSTORE_MODE"));
+	private static final boolean CONFIG_DEDUPLICATION = parseBoolean(getSystemProperty("LEITSTAND_CONFIGSTORE_DEDUPLICATION"));
+	private static final int PURGE_CHUNK_SIZE = 1000;
+	private static final int CONTENT_CHUNK_SIZE = 256 * 1024;
 	
 	
 	private Repository repository;
@@ -91,6 +138,8 @@ public class ElementConfigManager {
 	private Messages messages;
 	private Event<ElementConfigEvent> event;
 	private UserContext creator;
+	private ElementConfigStorageMode storageMode;
+	private boolean deduplication;
 	
 	@Inject
 	protected ElementConfigManager(	@Inventory Repository repository, 
@@ -98,14 +147,32 @@ public class ElementConfigManager {
 									UserContext authenticated,
 									Event<ElementConfigEvent> event,
 									Messages messages){
+		this(repository,
+			 database,
+			 authenticated,
+			 event,
+			 messages,
+			 CONFIG_STORAGE_MODE,
+			 CONFIG_DEDUPLICATION);
+	}
+	
+	protected ElementConfigManager(	Repository repository, 
+									DatabaseService database,
+									UserContext authenticated,
+									Event<ElementConfigEvent> event,
+									Messages messages,
+									ElementConfigStorageMode storageMode,
+									boolean deduplication){
 		this.creator = authenticated;
 		this.repository = repository;
 		this.database   = database;
 		this.event = event;
 		this.messages   = messages;
+		this.storageMode = storageMode;
+		this.deduplication = deduplication;
 	}
 	
-	public ElementConfigs filterElementConfig(Element element,
+	public ElementConfigs filterElementConfig(CachedElement element,
 											  String filter){
 		
 		if(isEmptyString(filter)) {
@@ -137,23 +204,23 @@ public class ElementConfigManager {
 									 								 	   .withDateModified(rs.getTimestamp(7))
 									 								 	   .build());
 		
-		return newElementConfigs()
-			   .withGroupId(element.getGroup().getGroupId())
-			   .withGroupName(element.getGroup().getGroupName())
-			   .withGroupType(element.getGroup().getGroupType())
-			   .withElementId(element.getElementId())
-			   .withElementName(element.getElementName())
-			   .withElementAlias(element.getElementAlias())
-			   .withElementRole(element.getElementRoleName())
-			   .withAdministrativeState(element.getAdministrativeState())
-			   .withOperationalState(element.getOperationalState())
-			   .withDateModified(element.getDateModified())
+		return element.envelope(newElementConfigs())
+			   .withDateModified(getDateModified(element))
 			   .withConfigs(configs)
 			   .build();
 		
 	}
 	
-	public ElementConfigRevisions getElementConfigRevisions(Element element,
+	private Date getDateModified(CachedElement element) {
+		// Heartbeats update the modification date without firing an event. 
+		// The modification date is therefore read from the element record rather than from the element cache.
+		List<Date> dateModified = database.executeQuery(prepare("SELECT tsmodified FROM inventory.element WHERE id=?", 
+																element.getId()), 
+														rs -> rs.getTimestamp(1));
+		return dateModified.isEmpty() ? null : dateModified.get(0);
+	}
+	
+	public ElementConfigRevisions getElementConfigRevisions(CachedElement element,
 														 	ElementConfigName configName){
 		
 		List<ElementConfigReference> revisions = database.executeQuery(prepare("SELECT uuid,state,creator,comment,tsmodified "+
@@ -177,17 +244,8 @@ public class ElementConfigManager {
 											  configName);
 		}
 		
-		return newElementConfigRevisions()
-			   .withGroupId(element.getGroup().getGroupId())
-			   .withGroupName(element.getGroup().getGroupName())
-			   .withGroupType(element.getGroup().getGroupType())
-			   .withElementId(element.getElementId())
-			   .withElementName(element.getElementName())
-			   .withElementAlias(element.getElementAlias())
-			   .withElementRole(element.getElementRoleName())
-			   .withAdministrativeState(element.getAdministrativeState())
-			   .withOperationalState(element.getOperationalState())
-			   .withDateModified(element.getDateModified())
+		return element.envelope(newElementConfigRevisions())
+			   .withDateModified(getDateModified(element))
 			   .withElementConfigName(configName)
 			   .withElementConfigRevisions(revisions)
 			   .build();
@@ -213,7 +271,91 @@ public class ElementConfigManager {
 	
 	}
 
+	public ElementConfigContentInfo getElementConfigContentInfo(Element element, ElementConfigId configId) {
+		Element_Config config = findConfig(element, configId);
+		long contentLength;
+		if(config.isDeltaEncoded()) {
+			// The delta records the length of the revision. 
+			contentLength = targetLength(config.getDelta());
+		} else {
+			// Compute the content length without loading the configuration.
+			contentLength = database.getSingleResult(prepare("SELECT octet_length(coalesce(b.content, c.config)) "+
+															 "FROM inventory.element_config c "+
+															 "LEFT JOIN inventory.config_blob b "+
+															 "ON c.blob_hash = b.hash "+
+															 "WHERE c.uuid = ?", 
+															 configId), 
+													 rs -> rs.getLong(1));
+		}
+		return newElementConfigContentInfo()
+			   .withConfigId(config.getConfigId())
+			   .withConfigName(config.getName())
+			   .withContentType(config.getContentType())
+			   .withContentHash(config.getContentHash())
+			   .withContentLength(contentLength)
+			   .withDateModified(config.getDateModified())
+			   .build();
+	}
+	
+	public long readElementConfigContent(ElementConfigId configId, 
+										 String contentHash, 
+										 long offset, 
+										 long length,
+										 OutputStream out) throws IOException {
+		Element_Config config = repository.execute(findElementConfig(configId));
+		if(config == null || !config.isSameContentHash(contentHash)) {
+			// Candidate configurations are updated in place.
+			LOG.fine(() -> format("%s: Configuration %s was modified while being read.",
+								  IVT0336E_ELEMENT_CONFIG_MODIFIED.getReasonCode(),
+								  configId));
+			throw new ConflictException(IVT0336E_ELEMENT_CONFIG_MODIFIED, 
+										config != null ? config.getElement().getElementName() : null,
+										configId);
+		}
+		if(config.isDeltaEncoded()) {
+			// Rebuild the requested range while writing it.
+			Element_Config base = repository.execute(findElementConfig(config.getBaseConfigId()));
+			return decode(configBytes(base), 
+						  config.getDelta(), 
+						  offset, 
+						  length, 
+						  out);
+		}
+		// Read the requested range in chunks, in order to neither transfer nor buffer the entire configuration at once.
+		// Every chunk is read for the expected content hash only, which detects modifications between two chunks.
+		long end = offset + length;
+		long position = offset;
+		while(position < end) {
+			int chunkSize = (int) min(CONTENT_CHUNK_SIZE, end - position);
+			byte[] chunk = database.getSingleResult(prepare("SELECT coalesce(substring(convert_to(coalesce(b.content, c.config),'UTF8') FROM ? FOR ?),''::bytea) "+
+															"FROM inventory.element_config c "+
+															"LEFT JOIN inventory.config_blob b "+
+															"ON c.blob_hash = b.hash "+
+															"WHERE c.uuid = ? "+
+															"AND c.contenthash = ?",
+															// PostgreSQL limits bytea values to 1 GB, hence all positions are int values. 
+															toIntExact(position + 1), // SQL offsets start with 1
+															chunkSize,
+															configId,
+															contentHash), 
+												    rs -> rs.getBytes(1));
+			if(chunk == null) {
+				throw new ConflictException(IVT0336E_ELEMENT_CONFIG_MODIFIED, 
+											config.getElement().getElementName(),
+											configId);
+			}
+			out.write(chunk);
+			position += chunk.length;
+			if(chunk.length < chunkSize) {
+				// End of content reached.
+				break;
+			}
+		}
+		return position - offset;
+	}
+
 	private ElementConfig config(Element element, Element_Config config) {
+		String configData = configData(config);
 		return newElementConfig()
 			   .withGroupId(element.getGroup().getGroupId())
 			   .withGroupName(element.getGroup().getGroupName())
@@ -232,7 +374,7 @@ public class ElementConfigManager {
 			   .withDateModified(config.getDateModified())
 			   .withComment(config.getComment())
 			   .withCreator(config.getCreator())
-			   .withConfig(config.isJsonConfig() ? parseJson(config.getConfig()) : config.getConfig()) 
+			   .withConfig(config.isJsonConfig() ? parseJson(configData) : configData) 
 			   .withConfigState(config.getConfigState())
 			   .build();
 	}
@@ -282,9 +424,138 @@ public class ElementConfigManager {
 													   ConfigurationState configState,
 													   String configData,
 													   String comment) {
-		String contentHash = new BigInteger(md5().hash(configData)).abs().toString(16);
+		return storeElementConfig(element, 
+								  configName, 
+								  contentType, 
+								  configState, 
+								  configData, 
+								  comment, 
+								  repository.execute(findLatestConfig(element, configName)), 
+								  () -> repository.execute(findActiveConfig(element, configName)), 
+								  event::fire);
+	}
+	
+	public List<ElementConfigBatchResult> storeElementConfigs(List<ElementConfigBatchItem> items,
+															  List<Element> elements) {
+		// Fetch the latest and the active revisions of all submitted configurations at once.
+		Set<Element> submittedElements = new HashSet<>();
+		Set<ElementConfigName> submittedConfigs = new HashSet<>();
+		for(int i=0; i < items.size(); i++) {
+			if(elements.get(i) != null && items.get(i).getConfigName() != null) {
+				submittedElements.add(elements.get(i));
+				submittedConfigs.add(items.get(i).getConfigName());
+			}
+		}
+		Map<ConfigKey,Element_Config> latestConfigs = new HashMap<>();
+		Map<ConfigKey,Element_Config> activeConfigs = new HashMap<>();
+		if(!submittedElements.isEmpty()) {
+			for(Element_Config config : repository.execute(findLatestAndActiveConfigs(submittedElements,
+																					  submittedConfigs))) {
+				ConfigKey key = new ConfigKey(config.getElement(), config.getName());
+				if(config.isActiveConfig()) {
+					activeConfigs.put(key, config);
+				}
+				Element_Config latest = latestConfigs.get(key);
+				if(latest == null || config.getDateModified().after(latest.getDateModified())) {
+					latestConfigs.put(key, config);
+				}
+			}
+		}
+		
+		// Fire only the last event of every configuration of the batch.
+		Map<ConfigKey,ElementConfigEvent> events = new LinkedHashMap<>();
+		Set<ConfigKey> createdConfigs = new LinkedHashSet<>();
+		List<ElementConfigBatchResult> results = new ArrayList<>(items.size());
+		for(int i=0; i < items.size(); i++) {
+			ElementConfigBatchItem item = items.get(i);
+			Element element = elements.get(i);
+			if(element == null) {
+				Object elementRef = item.getElementId() != null ? item.getElementId() : item.getElementName();
+				LOG.fine(() -> format("%s: Element %s not found.", 
+									  IVT0300E_ELEMENT_NOT_FOUND.getReasonCode(),
+									  elementRef));
+				results.add(rejected(item,
+									 IVT0300E_ELEMENT_NOT_FOUND.getMessage(elementRef)));
+				continue;
+			}
+			MediaType contentType = contentType(item);
+			if(item.getConfigName() == null || item.getConfigState() == null || item.getConfig() == null || contentType == null) {
+				results.add(rejected(item,
+									 IVT0327E_ELEMENT_CONFIG_SUBMISSION_INCOMPLETE.getMessage(element.getElementName(),
+											 												  item.getConfigName())));
+				continue;
+			}
+			
+			ConfigKey key = new ConfigKey(element, item.getConfigName());
+			StoreElementConfigResult result = storeElementConfig(element, 
+																 item.getConfigName(), 
+																 contentType, 
+																 item.getConfigState(), 
+																 item.getConfig(), 
+																 item.getComment(), 
+																 latestConfigs.get(key), 
+																 () -> activeConfigs.get(key), 
+																 e -> events.put(key, e));
+			// The stored configuration is read from the persistence context.
+			Element_Config config = repository.execute(findElementConfig(result.getConfigId()));
+			latestConfigs.put(key, config);
+			if(config.isActiveConfig()) {
+				activeConfigs.put(key, config);
+			}
+			if(result.isCreated()) {
+				createdConfigs.add(key);
+			}
+			results.add(newElementConfigBatchResult()
+						.withElementId(element.getElementId())
+						.withElementName(element.getElementName())
+						.withConfigName(item.getConfigName())
+						.withConfigId(result.getConfigId())
+						.withStatus(result.isCreated() ? CREATED : UPDATED)
+						.build());
+		}
 		
-		Element_Config config = repository.execute(findLatestConfig(element, configName ));
+		if(!createdConfigs.isEmpty()) {
+			repository.flush();
+			purgeOutdatedConfigurations(createdConfigs);
+		}
+		events.values().forEach(event::fire);
+		return results;
+	}
+	
+	private static MediaType contentType(ElementConfigBatchItem item) {
+		if(isEmptyString(item.getContentType())) {
+			return null;
+		}
+		try {
+			return MediaType.valueOf(item.getContentType());
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+	
+	private static ElementConfigBatchResult rejected(ElementConfigBatchItem item, String message) {
+		return newElementConfigBatchResult()
+			   .withElementId(item.getElementId())
+			   .withElementName(item.getElementName())
+			   .withConfigName(item.getConfigName())
+			   .withStatus(FAILED)
+			   .withMessage(message)
+			   .build();
+	}
+	
+	private StoreElementConfigResult storeElementConfig(Element element, 
+														ElementConfigName configName,
+														MediaType contentType,
+														ConfigurationState configState,
+														String configData,
+														String comment,
+														Element_Config latest,
+														Supplier<Element_Config> activeConfig,
+														Consumer<ElementConfigEvent> events) {
+		ConfigContentDigest digest = digest(configData);
+		String contentHash = digest.getContentHash();
+		
+		Element_Config config = latest;
 		if(config != null ) {
 			if(configState == ACTIVE) {
 				// New active configuration detected.
@@ -297,7 +568,7 @@ public class ElementConfigManager {
 				} else {
 					// New active configuration reported.
 					// Existing active config, if any, must be set to superseded.
-					Element_Config active = repository.execute(findActiveConfig(element, configName));
+					Element_Config active = activeConfig.get();
 					if(active != null) {
 						// No active config exists, if only a first candidate is available.
 						active.setConfigState(SUPERSEDED);
@@ -309,7 +580,20 @@ public class ElementConfigManager {
 				// Update existing candidate configuration. 
 				// Config must be fetched first because it is being lazy loaded.
 				// Otherwise changes made to the entity (e.g. comment update) get lost.
-				config.setConfig(configData);
+				// Revisions stored as delta of the candidate configuration must be rebased first.
+				rebaseDeltaEncodedConfigs(config, 
+										  config.getConfigId(), 
+										  configData.getBytes(UTF_8));
+				if(deduplication) {
+					if(!digest.getBlobHash().equals(config.getBlobHash())) {
+						releaseBlob(config);
+						config.setConfigBlob(retainBlob(digest.getBlobHash(), 
+														configData));
+					}
+				} else {
+					releaseBlob(config);
+					config.setConfig(configData);
+				}
 	
 				// An operator uploads new CANDIDATE configs.
 				// There is only one candidate config, i.e. an existing candidate will be updated.
@@ -334,7 +618,7 @@ public class ElementConfigManager {
 						  				   configName,
 						  				   isoDateFormat(config.getDateModified())));
 				
-				event.fire(newElementConfigStoredEvent()
+				events.accept(newElementConfigStoredEvent()
 						   .withGroupId(element.getGroupId())
 						   .withGroupName(element.getGroupName())
 						   .withGroupType(element.getGroupType())
@@ -360,15 +644,28 @@ public class ElementConfigManager {
 		
 		
 		// Create a new configuration
+		Element_Config predecessor = config;
 		config = new Element_Config(element,
 									configName,
 									configState,
 									contentType,
 									contentHash,
-									configData,
+									deduplication ? null : configData,
 									creator.getUserName());
+		if(deduplication) {
+			config.setConfigBlob(retainBlob(digest.getBlobHash(),
+											configData));
+		}
 		config.setComment(comment);
 		repository.add(config);
+		if(storageMode == DELTA && predecessor != null && !predecessor.isDeltaEncoded()) {
+			// Keep only the latest revision in full and store the predecessor as delta.
+			byte[] delta = encode(configData.getBytes(UTF_8), 
+								  configBytes(predecessor));
+			releaseBlob(predecessor);
+			predecessor.setDelta(config.getConfigId(), 
+								 delta);
+		}
 		LOG.fine(() -> format("%s: Stored new %s configuration for element %s (%s)",
 				 			  IVT0330I_ELEMENT_CONFIG_REVISION_STORED.getReasonCode(),
 				 			  configName,
@@ -379,7 +676,7 @@ public class ElementConfigManager {
 								   configName,
 								   contentHash));
 			
-		event.fire(newElementConfigStoredEvent()
+		events.accept(newElementConfigStoredEvent()
 				   .withGroupId(element.getGroupId())
 				   .withGroupName(element.getGroupName())
 				   .withGroupType(element.getGroupType())
@@ -413,6 +710,18 @@ public class ElementConfigManager {
 	  				  				   element.getElementName(),
 	  				  				   config.getName(),
 	  				  				   configId));
+			// Revisions stored as delta of the removed revision must be rebased first.
+			if(config.isDeltaEncoded()) {
+				Element_Config base = repository.execute(findElementConfig(config.getBaseConfigId()));
+				rebaseDeltaEncodedConfigs(config, 
+										  base.getConfigId(),
+										  configBytes(base));
+			} else {
+				rebaseDeltaEncodedConfigs(config, 
+										  null, 
+										  null);
+			}
+			releaseBlob(config);
 			repository.remove(config);
 			event.fire(newElementConfigRevisionRemovedEvent()
 					   .withGroupId(element.getGroupId())
@@ -467,7 +776,16 @@ public class ElementConfigManager {
 
 	public int removeElementConfigRevisions(Element element, 
 									  		 ElementConfigName configName) {
+		// The active configuration is not removed and must not refer to a removed revision.
+		Element_Config active = repository.execute(findActiveConfig(element, configName));
+		if(active != null && active.isDeltaEncoded()) {
+			storeFullConfig(active, 
+							configBytes(active));
+		}
+		repository.flush();
+		repository.execute(releaseConfigRevisionBlobs(element, configName));
 		int count = repository.execute(removeConfigRevisions(element,configName));
+		repository.execute(removeUnreferencedConfigBlobs());
 		if(count > 0) {
 			event.fire(newElementConfigRemovedEvent()
 					   .withGroupId(element.getGroupId())
@@ -510,30 +828,86 @@ public class ElementConfigManager {
 								  config.getName(), 
 								  MediaType.valueOf(config.getContentType()), 
 								  CANDIDATE, 
-								  config.getConfig(), 
+								  configData(config), 
 								  comment);
 	}
+	
+	String configData(Element_Config config) {
+		if(config.isDeltaEncoded()) {
+			return new String(configBytes(config),UTF_8);
+		}
+		if(config.isBlobConfig()) {
+			return repository.execute(findConfigBlob(config.getBlobHash()))
+							 .getContent();
+		}
+		return config.getConfig();
+	}
+	
+	private byte[] configBytes(Element_Config config) {
+		if(config.isDeltaEncoded()) {
+			// Base revisions are never removed before all revisions stored as delta of them were rebased.
+			Element_Config base = repository.execute(findElementConfig(config.getBaseConfigId()));
+			return decode(configBytes(base), 
+						  config.getDelta());
+		}
+		String configData = configData(config);
+		return configData != null ? configData.getBytes(UTF_8) : new byte[0];
+	}
+	
+	private String retainBlob(String blobHash, String configData) {
+		// Only transfer the configuration, if no blob exists yet.
+		if(repository.execute(retainConfigBlob(blobHash)) == 0 
+		   && repository.execute(storeConfigBlob(blobHash, configData)) == 0) {
+			// The blob was added by a concurrent transaction in the meantime.
+			repository.execute(retainConfigBlob(blobHash));
+		}
+		return blobHash;
+	}
+	
+	private void releaseBlob(Element_Config config) {
+		if(config.isBlobConfig()) {
+			repository.execute(releaseConfigBlob(config.getBlobHash()));
+		}
+	}
+	
+	private void storeFullConfig(Element_Config config, byte[] configData) {
+		if(deduplication) {
+			config.setFullConfig(null, 
+								 retainBlob(blobHash(configData),
+										 	new String(configData,UTF_8)));
+		} else {
+			config.setFullConfig(new String(configData,UTF_8),
+								 null);
+		}
+	}
+	
+	private void rebaseDeltaEncodedConfigs(Element_Config base, 
+										   ElementConfigId newBaseId, 
+										   byte[] newBaseData) {
+		List<Element_Config> revisions = repository.execute(findDeltaEncodedConfigs(base));
+		if(revisions.isEmpty()) {
+			return;
+		}
+		byte[] baseData = configBytes(base);
+		for(Element_Config revision : revisions) {
+			byte[] revisionData = decode(baseData, 
+										 revision.getDelta());
+			if(storageMode == DELTA && newBaseId != null) {
+				revision.setDelta(newBaseId, 
+								  encode(newBaseData, 
+										 revisionData));
+			} else {
+				storeFullConfig(revision, 
+								revisionData);
+			}
+		}
+	}
 
 	
 	public void purgeOutdatedConfigurations(Element element, 
 	                                        ElementConfigName configName) {
 	    
-	   int removedConfigs = database.executeUpdate(
-	                                 prepare("WITH outdated (uuid) AS ( " +
-	                                         "  SELECT c.uuid "+
-	                                         "  FROM inventory.element_config c "+
-	                                         "  JOIN inventory.element e "+
-	                                         "  ON c.element_id = e.id "+
-	                                         "  WHERE e.id = ? "+
-	                                         "  AND c.name = ? "+
-	                                         "  ORDER BY c.tsmodified DESC "+
-	                                         "  OFFSET ? )"+
-	                                         "DELETE FROM inventory.element_config "+
-	                                         "WHERE uuid "+
-	                                         "IN ( SELECT uuid FROM outdated )",
-	                                         element.getId(),
-	                                         configName, 
-	                                         CONFIG_HISTORY_SIZE));
+	   int removedConfigs = purgeOutdatedConfigurations(singleton(new ConfigKey(element, configName)));
 	   
 	   LOG.fine(() -> format("%s: %d %s configuration(s) removed for element %s.",
 	                         IVT0339E_ELEMENT_OUTDATED_CONFIG_REMOVED.getReasonCode(),
@@ -545,6 +919,96 @@ public class ElementConfigManager {
 	       messages.add(createMessage(IVT0339E_ELEMENT_OUTDATED_CONFIG_REMOVED, element.getElementName(),configName,removedConfigs));
 	   }
 	    
+	}
+	
+	private int purgeOutdatedConfigurations(Collection<ConfigKey> configs) {
+	   StringBuilder keys = new StringBuilder();
+	   List<Object> params = new ArrayList<>(2 * configs.size() + 1);
+	   for(ConfigKey config : configs) {
+	       if(keys.length() > 0) {
+	           keys.append(",");
+	       }
+	       keys.append("(?,?)");
+	       params.add(config.elementId);
+	       params.add(config.configName);
+	   }
+	   params.add(CONFIG_HISTORY_SIZE);
 	    
+	   // Read the outdated revisions first, in order to release their configuration blobs 
+	   // and remove them by their IDs. 
+	   List<Object> outdated = new ArrayList<>();
+	   Map<String,Integer> releasedBlobs = new HashMap<>();
+	   database.processQuery(prepare("SELECT r.uuid, r.blob_hash "+
+	                                 "FROM ( SELECT c.uuid, c.blob_hash, "+
+	                                 "              row_number() OVER (PARTITION BY c.element_id, c.name ORDER BY c.tsmodified DESC) AS pos "+
+	                                 "       FROM inventory.element_config c "+
+	                                 "       WHERE (c.element_id, c.name) IN ("+keys+") ) r "+
+	                                 "WHERE r.pos > ?",
+	                                 params),
+	                         rs -> {
+	                             outdated.add(rs.getString(1));
+	                             String blobHash = rs.getString(2);
+	                             if(blobHash != null) {
+	                                 releasedBlobs.merge(blobHash, 1, Integer::sum);
+	                             }
+	                         });
+	   if(outdated.isEmpty()) {
+	       return 0;
+	   }
+	   
+	   for(Map.Entry<String,Integer> blob : releasedBlobs.entrySet()) {
+	       database.executeUpdate(prepare("UPDATE inventory.config_blob "+
+	                                      "SET refcount = refcount - ? "+
+	                                      "WHERE hash = ?",
+	                                      blob.getValue(),
+	                                      blob.getKey()));
+	   }
+	   int removedConfigs = 0;
+	   for(int i=0; i < outdated.size(); i += PURGE_CHUNK_SIZE) {
+	       List<Object> chunk = outdated.subList(i, min(i + PURGE_CHUNK_SIZE, outdated.size()));
+	       StringBuilder uuids = new StringBuilder();
+	       for(int j=0; j < chunk.size(); j++) {
+	           uuids.append(j == 0 ? "?" : ",?");
+	       }
+	       removedConfigs += database.executeUpdate(prepare("DELETE FROM inventory.element_config "+
+	                                                        "WHERE uuid IN ("+uuids+")",
+	                                                        chunk));
+	   }
+	   
+	   if(!releasedBlobs.isEmpty()) {
+	       database.executeUpdate(prepare("DELETE FROM inventory.config_blob WHERE refcount <= 0"));
+	   }
+	   return removedConfigs;
+	}
+	
+	/**
+	 * Identifies an element configuration, i.e. all revisions of a configuration of an element.
+	 */
+	private static final class ConfigKey {
+		
+		private final Long elementId;
+		private final ElementConfigName configName;
+		
+		ConfigKey(Element element, ElementConfigName configName){
+			this.elementId = element.getId();
+			this.configName = configName;
+		}
+		
+		@Override
+		public int hashCode() {
+			return Objects.hash(elementId, configName);
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if(o == this) {
+				return true;
+			}
+			if(!(o instanceof ConfigKey)) {
+				return false;
+			}
+			ConfigKey key = (ConfigKey) o;
+			return Objects.equals(elementId, key.elementId) && Objects.equals(configName, key.configName);
+		}
 	}
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.model.StringUtil.isEmptyString;
+
+/**
+ * Enumeration of supported element configuration storage modes.
+ * <p>
+ * The storage mode is set by the <code>LEITSTAND_CONFIGSTORE_MODE</code> system property.
+ * The storage mode can be changed at any time, since both modes can read revisions stored in the other mode.
+ */
+public enum ElementConfigStorageMode {
+
+	/** Every configuration revision is stored in full. This is the default mode.*/
+	FULL,
+
+	/**
+	 * Only the latest configuration revision is stored in full.
+	 * Older revisions are stored as compressed binary delta to their successor revision
+	 * and rebuilt on demand.
+	 */
+	DELTA;
+
+	/**
+	 * Returns the storage mode for the given name.
+	 * Returns {@link #FULL} if the name is empty or not a valid storage mode name.
+	 * @param name the storage mode name
+	 * @return the storage mode.
+	 */
+	public static ElementConfigStorageMode storageMode(String name) {
+		if(isEmptyString(name)) {
+			return FULL;
+		}
+		for(ElementConfigStorageMode mode : values()) {
+			if(mode.name().equalsIgnoreCase(name.trim())) {
+				return mode;
+			}
+		}
+		return FULL;
+	}
+
+}
@@ -21,20 +21,31 @@ import static io.leitstand.inventory.event.DnsRecordSetUpdate.newDnsRecordSetUpd
 import static io.leitstand.inventory.event.ElementDnsRecordSetModifiedEvent.newDnsRecordSetChangedEvent;
 import static io.leitstand.inventory.model.Element_DnsRecordSet.findDnsRecordSet;
 import static io.leitstand.inventory.model.Element_DnsRecordSet.findDnsRecordSets;
+import static io.leitstand.inventory.model.Element_DnsRecordSet.findDnsZoneRecordSetsByIds;
+import static io.leitstand.inventory.model.Element_DnsRecordSet.findDnsZoneRecordSetsByNames;
 import static io.leitstand.inventory.service.DnsRecord.newDnsRecord;
 import static io.leitstand.inventory.service.DnsRecordSet.newDnsRecordSet;
 import static io.leitstand.inventory.service.ElementDnsRecordSet.newElementDnsRecordSet;
 import static io.leitstand.inventory.service.ElementDnsRecordSets.newElementDnsRecordSets;
+import static io.leitstand.inventory.service.ReasonCode.IVT0954I_DNS_ZONE_RECORDS_STORED;
 import static io.leitstand.inventory.service.ReasonCode.IVT3001E_ELEMENT_DNS_RECORD_NOT_FOUND;
 import static io.leitstand.inventory.service.ReasonCode.IVT3002I_ELEMENT_DNS_RECORD_STORED;
 import static io.leitstand.inventory.service.ReasonCode.IVT3003I_ELEMENT_DNS_RECORD_OWNED_BY_OTHER_ELEMENT;
 import static io.leitstand.inventory.service.ReasonCode.IVT3003I_ELEMENT_DNS_RECORD_REMOVED;
 import static io.leitstand.inventory.service.ReasonCode.IVT3004E_ELEMENT_DNS_RECORD_ZONE_MISMATCH;
+import static java.lang.Math.min;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 import static javax.persistence.LockModeType.OPTIMISTIC_FORCE_INCREMENT;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import javax.enterprise.context.Dependent;
@@ -52,6 +63,9 @@ import io.leitstand.inventory.service.DnsRecord;
 import io.leitstand.inventory.service.DnsRecordSet;
 import io.leitstand.inventory.service.DnsRecordSetId;
 import io.leitstand.inventory.service.DnsRecordType;
+import io.leitstand.inventory.service.DnsZoneElement;
+import io.leitstand.inventory.service.DnsZoneId;
+import io.leitstand.inventory.service.DnsZoneName;
 import io.leitstand.inventory.service.ElementDnsRecordSet;
 import io.leitstand.inventory.service.ElementDnsRecordSets;
 
@@ -59,6 +73,7 @@ import io.leitstand.inventory.service.ElementDnsRecordSets;
 public class ElementDnsRecordSetManager {
 
 	private static final Logger LOG = Logger.getLogger(ElementDnsRecordSetManager.class.getName());
+	private static final int MAX_QUERY_PARAMETERS = 500;
 	
 	private static DnsRecordSet dnsRescordSet(Element_DnsRecordSet set) {
 		return newDnsRecordSet()
@@ -227,11 +242,167 @@ public class ElementDnsRecordSetManager {
 			created = true;
 		} 
 		
+		if(storeElementDnsRecordSet(zone, element, record, _record)) {
+			created = true;
+		}
+		
+		messages.add(createMessage(IVT3002I_ELEMENT_DNS_RECORD_STORED, 
+		 			   			   record.getDnsName()));
+		
+		return created;
+	}
+	
+	/**
+	 * Stores the DNS record sets of the given zone elements in the given DNS zone.
+	 * <p>
+	 * Only the existing record sets of the zone with the ID or the DNS name of a submitted record set are read,
+	 * by one query for the IDs and one query for the DNS names, in chunks of 500.
+	 * A submitted record set updates the existing record set with the same ID or, if no such record set exists,
+	 * the existing record set with the same DNS name and record type. 
+	 * All other submitted record sets are added to the zone.
+	 * Existing record sets that are not submitted remain unchanged.
+	 * A modification event is fired for every stored record set, but only a single message is reported for the entire zone.
+	 * @param zoneId the DNS zone ID
+	 * @param owners the owning element of every zone element, in zone element order
+	 * @param zoneElements the submitted zone elements
+	 * @return the number of stored record sets
+	 */
+	public int storeDnsZoneRecordSets(DnsZoneId zoneId, 
+									  List<Element> owners, 
+									  List<DnsZoneElement> zoneElements) {
+		return storeDnsZoneRecordSets(zones.fetchDnsZone(zoneId), 
+									  owners, 
+									  zoneElements);
+	}
+	
+	/**
+	 * Stores the DNS record sets of the given zone elements in the given DNS zone.
+	 * @param zoneName the DNS zone name
+	 * @param owners the owning element of every zone element, in zone element order
+	 * @param zoneElements the submitted zone elements
+	 * @return the number of stored record sets
+	 * @see #storeDnsZoneRecordSets(DnsZoneId, List, List)
+	 */
+	public int storeDnsZoneRecordSets(DnsZoneName zoneName, 
+									  List<Element> owners, 
+									  List<DnsZoneElement> zoneElements) {
+		return storeDnsZoneRecordSets(zones.fetchDnsZone(zoneName), 
+									  owners, 
+									  zoneElements);
+	}
+	
+	private int storeDnsZoneRecordSets(DnsZone zone, 
+									   List<Element> owners, 
+									   List<DnsZoneElement> zoneElements) {
+		Map<DnsRecordSetId,Element_DnsRecordSet> recordsById = new HashMap<>();
+		Map<String,Element_DnsRecordSet> recordsByName = new HashMap<>();
+		for(Element_DnsRecordSet _record : findSubmittedRecordSets(zone, zoneElements)) {
+			recordsById.put(_record.getDnsRecordSetId(), _record);
+			recordsByName.put(recordKey(_record.getDnsName(), _record.getDnsRecordType()), _record);
+		}
+		
+		Set<Element> lockedElements = new HashSet<>();
+		int stored = 0;
+		for(int i=0; i < zoneElements.size(); i++) {
+			Element element = owners.get(i);
+			if(lockedElements.add(element)) {
+				repository.lock(element, OPTIMISTIC_FORCE_INCREMENT);
+			}
+			for(DnsRecordSet record : zoneElements.get(i).getDnsRecordSets()) {
+				if(record.getDnsZoneName() != null && isDifferent(zone.getDnsZoneName(), record.getDnsZoneName())) {
+					LOG.fine(() -> format("%s: DNS record %s of DNS zone %s cannot be stored in DNS zone %s.",
+										  IVT3004E_ELEMENT_DNS_RECORD_ZONE_MISMATCH.getReasonCode(),
+										  record.getDnsName(),
+										  record.getDnsZoneName(),
+										  zone.getDnsZoneName()));
+					throw new ConflictException(IVT3004E_ELEMENT_DNS_RECORD_ZONE_MISMATCH, 
+												record.getDnsName(), 
+												zone.getDnsZoneName());
+				}
+				String recordKey = recordKey(record.getDnsName(), record.getDnsType());
+				Element_DnsRecordSet _record = recordsById.get(record.getDnsRecordSetId());
+				if(_record == null) {
+					_record = recordsByName.get(recordKey);
+				}
+				if(_record == null) {
+					_record = new Element_DnsRecordSet(zone,
+													   element, 
+													   record.getDnsRecordSetId(), 
+													   record.getDnsName());
+					repository.add(_record);
+					recordsById.put(_record.getDnsRecordSetId(), _record);
+				} else {
+					recordsByName.remove(recordKey(_record.getDnsName(), _record.getDnsRecordType()));
+				}
+				storeElementDnsRecordSet(zone, element, record, _record);
+				recordsByName.put(recordKey, _record);
+				stored++;
+			}
+		}
+		
+		int records = stored;
+		LOG.fine(() -> format("%s: Stored %d DNS record sets in DNS zone %s.",
+							  IVT0954I_DNS_ZONE_RECORDS_STORED.getReasonCode(),
+							  records,
+							  zone.getDnsZoneName()));
+		messages.add(createMessage(IVT0954I_DNS_ZONE_RECORDS_STORED, 
+								   zone.getDnsZoneId(),
+								   zone.getDnsZoneName(),
+								   records));
+		return stored;
+	}
+	
+	/**
+	 * Reads the existing record sets of the zone that have the ID or the DNS name of a submitted record set.
+	 */
+	private List<Element_DnsRecordSet> findSubmittedRecordSets(DnsZone zone, List<DnsZoneElement> zoneElements){
+		Set<DnsRecordSetId> ids = new LinkedHashSet<>();
+		Set<DnsName> names = new LinkedHashSet<>();
+		for(DnsZoneElement zoneElement : zoneElements) {
+			for(DnsRecordSet record : zoneElement.getDnsRecordSets()) {
+				if(record.getDnsRecordSetId() != null) {
+					ids.add(record.getDnsRecordSetId());
+				}
+				names.add(record.getDnsName());
+			}
+		}
+		// A record set can match by ID and by name. Keep every record set once.
+		Map<DnsRecordSetId,Element_DnsRecordSet> recordSets = new LinkedHashMap<>();
+		List<DnsRecordSetId> idList = new ArrayList<>(ids);
+		for(int i=0; i < idList.size(); i+=MAX_QUERY_PARAMETERS) {
+			List<DnsRecordSetId> chunk = idList.subList(i, min(i+MAX_QUERY_PARAMETERS, idList.size()));
+			for(Element_DnsRecordSet _record : repository.execute(findDnsZoneRecordSetsByIds(zone, chunk))) {
+				recordSets.put(_record.getDnsRecordSetId(), _record);
+			}
+		}
+		List<DnsName> nameList = new ArrayList<>(names);
+		for(int i=0; i < nameList.size(); i+=MAX_QUERY_PARAMETERS) {
+			List<DnsName> chunk = nameList.subList(i, min(i+MAX_QUERY_PARAMETERS, nameList.size()));
+			for(Element_DnsRecordSet _record : repository.execute(findDnsZoneRecordSetsByNames(zone, chunk))) {
+				recordSets.put(_record.getDnsRecordSetId(), _record);
+			}
+		}
+		return new ArrayList<>(recordSets.values());
+	}
+	
+	private static String recordKey(DnsName dnsName, DnsRecordType dnsType) {
+		return dnsName+" "+dnsType;
+	}
+	
+	/**
+	 * Updates a DNS record set and fires the modification event.
+	 * @return <code>true</code> if the record set was moved to the given element, <code>false</code> otherwise.
+	 */
+	private boolean storeElementDnsRecordSet(DnsZone zone, 
+											 Element element, 
+											 DnsRecordSet record, 
+											 Element_DnsRecordSet _record) {
+		boolean moved = false;
 		if(!record.getDnsName().endsWidth(zone.getDnsZoneName())) {
 			LOG.fine(() -> format("%s: DNS record %s cannot become a member of DNS zone %s.",
 								  IVT3004E_ELEMENT_DNS_RECORD_ZONE_MISMATCH.getReasonCode(),
 								  record.getDnsName(),
-								  record.getDnsZoneName()));
+								  zone.getDnsZoneName()));
 			
 			throw new ConflictException(IVT3004E_ELEMENT_DNS_RECORD_ZONE_MISMATCH, 
 										record.getDnsName(), 
@@ -252,7 +423,7 @@ public class ElementDnsRecordSetManager {
 								  element.getElementId()));
 			repository.lock(owner, OPTIMISTIC_FORCE_INCREMENT);
 			_record.setElement(element);
-			created = true;
+			moved = true;
 		}
 		
 		DnsName dnsWithDrawnName = null;
@@ -273,8 +444,6 @@ public class ElementDnsRecordSetManager {
 							  element.getElementRoleName(),
 							  element.getElementName(),
 							  element.getElementId()));
-		messages.add(createMessage(IVT3002I_ELEMENT_DNS_RECORD_STORED, 
-		 			   			   record.getDnsName()));
 
 		DnsRecordSetUpdate dnsUpdate = newDnsRecordSetUpdate()
 									   .withDnsZoneId(zone.getDnsZoneId())
@@ -290,8 +459,7 @@ public class ElementDnsRecordSetManager {
 		
 		event.fire(dnsRecordSetStoredEvent(element, dnsUpdate));
 		
-		
-		return created;
+		return moved;
 	}
 
 	private static List<DnsRecord> records(Element_DnsRecordSet _record) {
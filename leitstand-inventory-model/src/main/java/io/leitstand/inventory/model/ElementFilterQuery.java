@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static javax.persistence.TemporalType.TIMESTAMP;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.TypedQuery;
+
+import io.leitstand.commons.model.Query;
+import io.leitstand.inventory.model.ElementSearchTable.SearchField;
+import io.leitstand.inventory.service.ElementId;
+
+/**
+ * Builds the query to read a page of the elements matching a filter that has been evaluated by the {@link ElementSearchIndex}.
+ * <p>
+ * The search index of an inventory instance only observes the element modifications of this instance 
+ * and picks up the modifications of other instances with the next reload.
+ * The query therefore reads all elements found in the index as well as all elements modified since the index was loaded,
+ * and evaluates the filter for all of these elements again.
+ * This adds the elements created or renamed by other inventory instances since the last reload 
+ * and omits the elements that no longer match the filter.
+ * The matching elements are ordered by group name and element name like the element filter queries.
+ */
+final class ElementFilterQuery {
+
+	/**
+	 * Creates a query to read a page of the elements matching the specified filter.
+	 * @param field the filtered element attributes
+	 * @param filter the filter expression
+	 * @param ids the IDs of the elements found in the search index
+	 * @param since the point in time when loading the search index started
+	 * @param offset the number of elements to skip
+	 * @param limit the maximum number of elements to return
+	 * @return the element filter query.
+	 */
+	static Query<List<Element>> filterElements(SearchField field,
+											   String filter,
+											   Collection<ElementId> ids,
+											   Date since,
+											   int offset,
+											   int limit){
+		StringBuilder jpql = new StringBuilder("SELECT DISTINCT e FROM Element e ");
+		if(field == SearchField.NAME_OR_TAG) {
+			jpql.append("LEFT JOIN e.tags t ");
+		} else if(field == SearchField.MANAGEMENT_HOST) {
+			jpql.append("JOIN e.managementInterfaces m ");
+		}
+		jpql.append("WHERE (e.tsModified >= :since ");
+		if(!ids.isEmpty()) {
+			jpql.append("OR e.uuid IN :ids");
+		}
+		jpql.append(") AND (")
+			.append(condition(field))
+			.append(") ORDER by e.group.name ASC, e.elementName ASC");
+		List<String> uuids = new ArrayList<>(ids.size());
+		ids.forEach(id -> uuids.add(id.getValue()));
+		return em -> {
+			TypedQuery<Element> query = em.createQuery(jpql.toString(), Element.class)
+										  .setParameter("since", since, TIMESTAMP)
+										  .setParameter("pattern", filter);
+			if(!uuids.isEmpty()) {
+				query.setParameter("ids", uuids);
+			}
+			return query.setFirstResult(offset)
+						.setMaxResults(limit)
+						.getResultList();
+		};
+	}
+	
+	private static String condition(SearchField field) {
+		switch(field) {
+			case NAME:
+				return "CAST(e.elementName AS TEXT) REGEXP :pattern OR CAST(e.elementAlias AS TEXT) REGEXP :pattern";
+			case NAME_OR_TAG:
+				return "CAST(e.elementName AS TEXT) REGEXP :pattern OR CAST(e.elementAlias AS TEXT) REGEXP :pattern OR t LIKE :pattern";
+			case SERIAL_NUMBER:
+				return "e.serialNumber REGEXP :pattern";
+			case ASSET_ID:
+				return "e.assetId REGEXP :pattern";
+			case MANAGEMENT_HOST:
+			default:
+				return "m.hostname REGEXP :pattern";
+		}
+	}
+	
+	private ElementFilterQuery() {
+		// No instances allowed
+	}
+	
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.commons.model.StringUtil.isNonEmptyString;
+import static io.leitstand.inventory.jpa.PlaneConverter.parse;
+import static io.leitstand.inventory.service.AdministrativeState.administrativeState;
+import static io.leitstand.inventory.service.ElementAlias.elementAlias;
+import static io.leitstand.inventory.service.ElementGroupExport.newElementGroupExport;
+import static io.leitstand.inventory.service.ElementGroupId.groupId;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementGroupSettings.newElementGroupSettings;
+import static io.leitstand.inventory.service.ElementGroupType.groupType;
+import static io.leitstand.inventory.service.ElementId.elementId;
+import static io.leitstand.inventory.service.ElementManagementInterface.newElementManagementInterface;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.ElementSettings.newElementSettings;
+import static io.leitstand.inventory.service.FacilityId.facilityId;
+import static io.leitstand.inventory.service.FacilityName.facilityName;
+import static io.leitstand.inventory.service.FacilityType.facilityType;
+import static io.leitstand.inventory.service.MACAddress.macAddress;
+import static io.leitstand.inventory.service.OperationalState.operationalState;
+import static io.leitstand.inventory.service.PlatformId.platformId;
+import static io.leitstand.inventory.service.PlatformName.platformName;
+import static java.lang.String.join;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.nCopies;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+
+import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.inventory.service.ElementGroupExport;
+import io.leitstand.inventory.service.ElementGroupSettings;
+import io.leitstand.inventory.service.ElementGroupType;
+import io.leitstand.inventory.service.ElementManagementInterface;
+import io.leitstand.inventory.service.ElementSettings;
+
+/**
+ * Loads the element group export with a constant number of queries per chunk of element groups.
+ * <p>
+ * The groups matching the export filter are read in group name order in chunks of {@value #CHUNK_SIZE} groups.
+ * For every chunk, the groups, the group tags, the group elements along with their roles and platforms, 
+ * the element tags and the element management interfaces are loaded by one query each.
+ * Every group is passed to the export consumer as soon as the chunk is loaded,
+ * which allows streaming the export without holding the entire inventory in memory.
+ */
+@Dependent
+public class ElementGroupExportManager {
+
+	static final int CHUNK_SIZE = 100;
+	
+	private DatabaseService db;
+	
+	protected ElementGroupExportManager() {
+		// CDI
+	}
+	
+	@Inject
+	protected ElementGroupExportManager(@Inventory DatabaseService db) {
+		this.db = db;
+	}
+	
+	/**
+	 * Passes all element groups of the given type matching the given filter to the specified consumer.
+	 * The groups are passed in group name order.
+	 * @param groupType the group type
+	 * @param filter an optional regular expression to filter groups by name
+	 * @param groups the consumer of the exported groups
+	 */
+	public void exportElementGroups(ElementGroupType groupType, 
+									String filter,
+									Consumer<ElementGroupExport> groups) {
+		String lastGroupName = "";
+		while(true) {
+			Map<Long,ElementGroupSettings.Builder> chunk = loadGroups(groupType, 
+																	  filter, 
+																	  lastGroupName);
+			if(chunk.isEmpty()) {
+				return;
+			}
+			String in = join(",", nCopies(chunk.size(),"?"));
+			List<Object> ids = new ArrayList<>(chunk.keySet());
+			Map<Long,Set<String>> groupTags = loadTags("SELECT t.elementgroup_id, t.tag "+
+													   "FROM inventory.elementgroup_tag t "+
+													   "WHERE t.elementgroup_id IN ("+in+")", 
+													   ids);
+			Map<Long,Set<String>> elementTags = loadTags("SELECT t.element_id, t.tag "+
+														 "FROM inventory.element_tag t "+
+														 "JOIN inventory.element e "+
+														 "ON t.element_id = e.id "+
+														 "WHERE e.elementgroup_id IN ("+in+")", 
+														 ids);
+			Map<Long,Map<String,ElementManagementInterface>> mgmtInterfaces = loadManagementInterfaces(in, ids);
+			Map<Long,List<ElementSettings>> elements = loadElements(in, 
+																	ids, 
+																	elementTags, 
+																	mgmtInterfaces);
+			for(Map.Entry<Long,ElementGroupSettings.Builder> group : chunk.entrySet()) {
+				ElementGroupSettings settings = group.getValue()
+													 .withTags(groupTags.getOrDefault(group.getKey(), emptySet()))
+													 .build();
+				groups.accept(newElementGroupExport()
+							  .withGroup(settings)
+							  .withElements(elements.getOrDefault(group.getKey(), new ArrayList<>()))
+							  .build());
+				lastGroupName = settings.getGroupName().getValue();
+			}
+			if(chunk.size() < CHUNK_SIZE) {
+				return;
+			}
+		}
+	}
+	
+	private Map<Long,ElementGroupSettings.Builder> loadGroups(ElementGroupType groupType,
+															  String filter,
+															  String lastGroupName){
+		List<Object> args = new ArrayList<>();
+		args.add(groupType);
+		args.add(lastGroupName);
+		String query = "SELECT g.id, g.uuid, g.name, g.type, g.description, f.uuid, f.name, f.type "+
+					   "FROM inventory.elementgroup g "+
+					   "LEFT JOIN inventory.facility f "+
+					   "ON g.facility_id = f.id "+
+					   "WHERE g.type = ? "+
+					   "AND g.name > ? ";
+		if(isNonEmptyString(filter)) {
+			query += "AND g.name ~ ? ";
+			args.add(filter);
+		}
+		query += "ORDER BY g.name "+
+				 "LIMIT "+CHUNK_SIZE;
+		
+		// Retain group name order.
+		Map<Long,ElementGroupSettings.Builder> groups = new LinkedHashMap<>();
+		db.processQuery(prepare(query, args), 
+						rs -> groups.put(rs.getLong(1), 
+										 newElementGroupSettings()
+										 .withGroupId(groupId(rs.getString(2)))
+										 .withGroupName(groupName(rs.getString(3)))
+										 .withGroupType(groupType(rs.getString(4)))
+										 .withDescription(rs.getString(5))
+										 .withFacilityId(facilityId(rs.getString(6)))
+										 .withFacilityName(facilityName(rs.getString(7)))
+										 .withFacilityType(facilityType(rs.getString(8)))));
+		return groups;
+	}
+	
+	private Map<Long,Set<String>> loadTags(String query, List<Object> ids){
+		Map<Long,Set<String>> tags = new HashMap<>();
+		db.processQuery(prepare(query, ids), 
+						rs -> tags.computeIfAbsent(rs.getLong(1), id -> new TreeSet<>())
+								  .add(rs.getString(2)));
+		return tags;
+	}
+	
+	private Map<Long,Map<String,ElementManagementInterface>> loadManagementInterfaces(String in, List<Object> ids){
+		Map<Long,Map<String,ElementManagementInterface>> mgmtInterfaces = new HashMap<>();
+		db.processQuery(prepare("SELECT m.element_id, m.name, m.protocol, m.hostname, m.port, m.path "+
+								"FROM inventory.element_management_interface m "+
+								"JOIN inventory.element e "+
+								"ON m.element_id = e.id "+
+								"WHERE e.elementgroup_id IN ("+in+")", 
+								ids), 
+						rs -> mgmtInterfaces.computeIfAbsent(rs.getLong(1), id -> new TreeMap<>())
+											.put(rs.getString(2), 
+												 newElementManagementInterface()
+												 .withName(rs.getString(2))
+												 .withProtocol(rs.getString(3))
+												 .withHostname(rs.getString(4))
+												 .withPort(rs.getInt(5))
+												 .withPath(rs.getString(6))
+												 .build()));
+		return mgmtInterfaces;
+	}
+	
+	private Map<Long,List<ElementSettings>> loadElements(String in, 
+														 List<Object> ids,
+														 Map<Long,Set<String>> tags,
+														 Map<Long,Map<String,ElementManagementInterface>> mgmtInterfaces){
+		Map<Long,List<ElementSettings>> elements = new HashMap<>();
+		db.processQuery(prepare("SELECT e.id, e.elementgroup_id, g.uuid, g.name, g.type, "+
+								"e.uuid, e.name, e.alias, r.name, r.plane, e.admstate, e.opstate, "+
+								"e.tsmodified, e.serial, e.assetid, e.mgmtmac, e.description, p.uuid, p.name "+
+								"FROM inventory.element e "+
+								"JOIN inventory.elementgroup g "+
+								"ON e.elementgroup_id = g.id "+
+								"JOIN inventory.elementrole r "+
+								"ON e.elementrole_id = r.id "+
+								"LEFT JOIN inventory.platform p "+
+								"ON e.platform_id = p.id "+
+								"WHERE e.elementgroup_id IN ("+in+") "+
+								"ORDER BY e.name", 
+								ids), 
+						rs -> {
+							long id = rs.getLong(1);
+							elements.computeIfAbsent(rs.getLong(2), group -> new ArrayList<>())
+									.add(newElementSettings()
+										 .withGroupId(groupId(rs.getString(3)))
+										 .withGroupName(groupName(rs.getString(4)))
+										 .withGroupType(groupType(rs.getString(5)))
+										 .withElementId(elementId(rs.getString(6)))
+										 .withElementName(elementName(rs.getString(7)))
+										 .withElementAlias(elementAlias(rs.getString(8)))
+										 .withElementRole(elementRoleName(rs.getString(9)))
+										 .withPlane(parse(rs.getString(10)))
+										 .withAdministrativeState(administrativeState(rs.getString(11)))
+										 .withOperationalState(operationalState(rs.getString(12)))
+										 .withDateModified(rs.getTimestamp(13))
+										 .withSerialNumber(rs.getString(14))
+										 .withAssetId(rs.getString(15))
+										 .withManagementInterfaceMacAddress(macAddress(rs.getString(16)))
+										 .withDescription(rs.getString(17))
+										 .withPlatformId(platformId(rs.getString(18)))
+										 .withPlatformName(platformName(rs.getString(19)))
+										 .withTags(tags.getOrDefault(id, emptySet()))
+										 .withManagementInterfaces(mgmtInterfaces.getOrDefault(id, emptyMap()))
+										 .build());
+						});
+		return elements;
+	}
+	
+}
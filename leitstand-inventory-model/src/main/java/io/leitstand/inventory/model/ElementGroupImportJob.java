@@ -0,0 +1,178 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.ElementGroupImportStatus.newElementGroupImportStatus;
+import static io.leitstand.inventory.service.ElementGroupImportStatus.State.COMPLETED;
+import static io.leitstand.inventory.service.ElementGroupImportStatus.State.FAILED;
+import static io.leitstand.inventory.service.ElementGroupImportStatus.State.QUEUED;
+import static io.leitstand.inventory.service.ElementGroupImportStatus.State.RUNNING;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import io.leitstand.inventory.service.ElementGroupImportFailure;
+import io.leitstand.inventory.service.ElementGroupImportStatus;
+import io.leitstand.inventory.service.ElementGroupImportStatus.State;
+
+/**
+ * The progress of an element group import.
+ * <p>
+ * The processed groups counter is only advanced when a chunk of groups has been committed.
+ * The counter points to the first group to be read when an interrupted import is resumed.
+ */
+final class ElementGroupImportJob {
+
+	static final int MAX_REPORTED_FAILURES = 1000;
+	
+	private final String importId;
+	private final Path export;
+	private final boolean yaml;
+	private final int chunkSize;
+	private final Date dateCreated;
+	private Date dateModified;
+	private State state;
+	private boolean referencesImported;
+	private int processedGroups;
+	private int storedGroups;
+	private int storedElements;
+	private int failedItems;
+	private String message;
+	private final List<ElementGroupImportFailure> failures;
+	
+	ElementGroupImportJob(String importId, 
+						  Path export, 
+						  boolean yaml, 
+						  int chunkSize) {
+		this.importId = importId;
+		this.export = export;
+		this.yaml = yaml;
+		this.chunkSize = chunkSize;
+		this.dateCreated = new Date();
+		this.dateModified = dateCreated;
+		this.state = QUEUED;
+		this.failures = new ArrayList<>();
+	}
+	
+	String getImportId() {
+		return importId;
+	}
+	
+	Path getExport() {
+		return export;
+	}
+	
+	boolean isYaml() {
+		return yaml;
+	}
+	
+	int getChunkSize() {
+		return chunkSize;
+	}
+	
+	synchronized State getState() {
+		return state;
+	}
+	
+	synchronized Date getDateModified() {
+		return new Date(dateModified.getTime());
+	}
+	
+	synchronized boolean isReferencesImported() {
+		return referencesImported;
+	}
+	
+	synchronized int getProcessedGroups() {
+		return processedGroups;
+	}
+	
+	synchronized void started() {
+		this.state = RUNNING;
+		this.message = null;
+		this.dateModified = new Date();
+	}
+	
+	/**
+	 * Records that all platforms and element roles have been imported.
+	 */
+	synchronized void referencesImported() {
+		this.referencesImported = true;
+		this.dateModified = new Date();
+	}
+	
+	/**
+	 * Records a committed chunk.
+	 * @param processedGroups the number of groups read from the export so far
+	 * @param groups the number of stored groups of the chunk
+	 * @param elements the number of stored elements of the chunk
+	 */
+	synchronized void committed(int processedGroups, int groups, int elements) {
+		this.processedGroups = processedGroups;
+		this.storedGroups += groups;
+		this.storedElements += elements;
+		this.dateModified = new Date();
+	}
+	
+	synchronized void failed(ElementGroupImportFailure failure) {
+		this.failedItems++;
+		if(failures.size() < MAX_REPORTED_FAILURES) {
+			failures.add(failure);
+		}
+	}
+	
+	synchronized void completed() {
+		this.state = COMPLETED;
+		this.dateModified = new Date();
+	}
+	
+	synchronized void interrupted(String message) {
+		this.state = FAILED;
+		this.message = message;
+		this.dateModified = new Date();
+	}
+	
+	/**
+	 * Queues an interrupted import for being resumed.
+	 * @return <code>true</code> if the import was queued, <code>false</code> if the import has not been interrupted.
+	 */
+	synchronized boolean resume() {
+		if(state != FAILED) {
+			return false;
+		}
+		this.state = QUEUED;
+		this.dateModified = new Date();
+		return true;
+	}
+	
+	synchronized ElementGroupImportStatus getStatus() {
+		return newElementGroupImportStatus()
+			   .withImportId(importId)
+			   .withState(state)
+			   .withDateCreated(dateCreated)
+			   .withDateModified(dateModified)
+			   .withChunkSize(chunkSize)
+			   .withProcessedGroups(processedGroups)
+			   .withStoredGroups(storedGroups)
+			   .withStoredElements(storedElements)
+			   .withFailedItems(failedItems)
+			   .withMessage(message)
+			   .withFailures(failures)
+			   .build();
+	}
+	
+}
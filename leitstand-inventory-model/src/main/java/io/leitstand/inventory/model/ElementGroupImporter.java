@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import java.util.List;
+
+import javax.enterprise.context.control.ActivateRequestContext;
+import javax.inject.Inject;
+
+import io.leitstand.commons.model.Service;
+import io.leitstand.inventory.service.ElementGroupExport;
+import io.leitstand.inventory.service.ElementGroupSettings;
+import io.leitstand.inventory.service.ElementGroupSettingsService;
+import io.leitstand.inventory.service.ElementRoleService;
+import io.leitstand.inventory.service.ElementRoleSettings;
+import io.leitstand.inventory.service.ElementSettings;
+import io.leitstand.inventory.service.ElementSettingsService;
+import io.leitstand.inventory.service.PlatformService;
+import io.leitstand.inventory.service.PlatformSettings;
+
+/**
+ * Stores the items of an element group import.
+ * <p>
+ * Every method is executed in its own transaction.
+ * The importer activates a request context for every invocation, 
+ * because the import runs asynchronously and the inventory services report their outcome to the request-scoped messages.
+ */
+@Service
+@ActivateRequestContext
+public class ElementGroupImporter {
+
+	@Inject
+	private PlatformService platforms;
+	
+	@Inject
+	private ElementRoleService roles;
+	
+	@Inject
+	private ElementGroupSettingsService groups;
+	
+	@Inject
+	private ElementSettingsService elements;
+	
+	/**
+	 * Stores a chunk of element groups including their elements in a single transaction.
+	 * @param chunk the element groups
+	 */
+	public void storeElementGroups(List<ElementGroupExport> chunk) {
+		for(ElementGroupExport group : chunk) {
+			groups.storeElementGroupSettings(group.getGroup());
+			for(ElementSettings element : group.getElements()) {
+				elements.storeElementSettings(element);
+			}
+		}
+	}
+	
+	public void storeElementGroup(ElementGroupSettings group) {
+		groups.storeElementGroupSettings(group);
+	}
+	
+	public void storeElement(ElementSettings element) {
+		elements.storeElementSettings(element);
+	}
+	
+	public void storePlatform(PlatformSettings platform) {
+		platforms.storePlatform(platform);
+	}
+	
+	public void storeElementRole(ElementRoleSettings role) {
+		roles.storeElementRole(role);
+	}
+	
+}
@@ -65,16 +65,29 @@ class ElementGroupManager{
 	private DatabaseService db;
 	private Messages messages;
 	private FacilityProvider facilities;
+	private ElementGroupStatisticsIndex statistics;
+	private ElementCacheInvalidator cache;
 
+	protected ElementGroupManager(Repository repository,
+								  DatabaseService db,
+								  FacilityProvider facilities,
+								  Messages messages ) {
+		this(repository,db,facilities,messages,null,null);
+	}
+	
 	@Inject
 	protected ElementGroupManager(@Inventory Repository repository,
 								  @Inventory DatabaseService db,
 								  FacilityProvider facilities,
-								  Messages messages ) {
+								  Messages messages,
+								  ElementGroupStatisticsIndex statistics,
+								  ElementCacheInvalidator cache) {
 		this.repository = repository;
 		this.db = db;
 		this.facilities = facilities;
 		this.messages = messages;
+		this.statistics = statistics;
+		this.cache = cache;
 	}
 
 	public void storeElementGroupSettings(ElementGroup group, ElementGroupSettings settings) {
@@ -84,7 +97,11 @@ class ElementGroupManager{
 												   group.getGroupId(),
 												   settings.getGroupId());
 		}
-		group.setElementGroupName(settings.getGroupName());
+		ElementGroupName previousGroupName = group.setElementGroupName(settings.getGroupName());
+		if(cache != null && isDifferent(previousGroupName, settings.getGroupName())) {
+			// The group name is part of the cached envelope of all elements of the group.
+			cache.invalidateAll();
+		}
 		group.setDescription(settings.getDescription());
 		Facility facility = facilities.fetchFacility(settings.getFacilityId(),
 		                                             settings.getFacilityType(),
@@ -185,6 +202,11 @@ class ElementGroupManager{
 
 	public List<ElementGroupStatistics> getGroupStatistics(ElementGroupType type, 
 			   											   String filter) {
+		// The statistics index does not record element names. 
+		// Filtered statistics are therefore computed from the element table.
+		if(statistics != null && !isNonEmptyString(filter) && statistics.isReady()) {
+			return unmodifiableList(statistics.getGroupStatistics(type));
+		}
 		List<Object> args = new LinkedList<>();
 		args.add(type);
 		String query = "SELECT g.type, g.name, g.uuid, e.admstate, e.opstate, count(*) "+
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.AdministrativeState.ACTIVE;
+import static io.leitstand.inventory.service.AdministrativeState.NEW;
+import static io.leitstand.inventory.service.ElementGroupStatistics.newElementGroupStatistics;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import io.leitstand.inventory.service.AdministrativeState;
+import io.leitstand.inventory.service.ElementGroupId;
+import io.leitstand.inventory.service.ElementGroupName;
+import io.leitstand.inventory.service.ElementGroupStatistics;
+import io.leitstand.inventory.service.ElementGroupType;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.OperationalState;
+
+/**
+ * Element counters of all element groups.
+ * <p>
+ * The aggregate records the group, the administrative state and the operational state of every manageable element
+ * and maintains the element counters of each group accordingly.
+ * An update always conveys the current state of an element and replaces the previous state of the element.
+ * Hence, applying the same update twice does not corrupt the counters.
+ * <p>
+ * The aggregate is not thread-safe. 
+ * The {@link ElementGroupStatisticsIndex} synchronizes all accesses.
+ */
+final class ElementGroupStatisticsAggregate {
+
+	private static final class Member {
+		private final ElementGroupId groupId;
+		private final AdministrativeState admState;
+		private final OperationalState opState;
+		
+		Member(ElementGroupId groupId, AdministrativeState admState, OperationalState opState){
+			this.groupId = groupId;
+			this.admState = admState;
+			this.opState = opState;
+		}
+	}
+	
+	private static final class Counters {
+		private final ElementGroupId groupId;
+		private ElementGroupType groupType;
+		private ElementGroupName groupName;
+		private int newElements;
+		private int retiredElements;
+		private final Map<OperationalState,Integer> activeElements = new TreeMap<>();
+		private int elements;
+		
+		Counters(ElementGroupId groupId){
+			this.groupId = groupId;
+		}
+		
+		void add(Member member, int delta) {
+			elements += delta;
+			if(member.admState == null || member.admState.is(ACTIVE)) {
+				if(member.opState != null) {
+					activeElements.merge(member.opState, delta, Integer::sum);
+					activeElements.remove(member.opState, 0);
+				}
+			} else if(member.admState.is(NEW)) {
+				newElements += delta;
+			} else {
+				retiredElements += delta;
+			}
+		}
+		
+		ElementGroupStatistics toStatistics() {
+			return newElementGroupStatistics()
+				   .withGroupId(groupId)
+				   .withGroupType(groupType)
+				   .withGroupName(groupName)
+				   .withNewCount(newElements)
+				   .withCounts(activeElements)
+				   .withRetiredCount(retiredElements)
+				   .build();
+		}
+		
+		boolean sameCounts(Counters other) {
+			return other != null 
+				   && newElements == other.newElements
+				   && retiredElements == other.retiredElements
+				   && activeElements.equals(other.activeElements);
+		}
+	}
+	
+	private final Map<ElementId,Member> members = new HashMap<>();
+	private final Map<ElementGroupId,Counters> groups = new HashMap<>();
+	
+	/**
+	 * Records the current state of an element.
+	 * @param elementId the element ID
+	 * @param groupId the ID of the group the element belongs to
+	 * @param groupType the group type
+	 * @param groupName the group name
+	 * @param admState the administrative state of the element
+	 * @param opState the operational state of the element
+	 */
+	void update(ElementId elementId,
+				ElementGroupId groupId,
+				ElementGroupType groupType,
+				ElementGroupName groupName,
+				AdministrativeState admState,
+				OperationalState opState) {
+		remove(elementId);
+		Member member = new Member(groupId, admState, opState);
+		Counters counters = groups.computeIfAbsent(groupId, Counters::new);
+		counters.groupType = groupType;
+		counters.groupName = groupName;
+		counters.add(member, 1);
+		members.put(elementId, member);
+	}
+	
+	/**
+	 * Removes an element from the aggregate.
+	 * Does nothing if the element is unknown.
+	 * @param elementId the element ID
+	 */
+	void remove(ElementId elementId) {
+		Member member = members.remove(elementId);
+		if(member == null) {
+			return;
+		}
+		Counters counters = groups.get(member.groupId);
+		counters.add(member, -1);
+		if(counters.elements == 0) {
+			groups.remove(member.groupId);
+		}
+	}
+	
+	/**
+	 * Returns the statistics of all groups of the given type, ordered by group name.
+	 * Groups without manageable elements are omitted.
+	 * @param groupType the group type
+	 * @return the group statistics
+	 */
+	List<ElementGroupStatistics> getGroupStatistics(ElementGroupType groupType){
+		return groups.values()
+					 .stream()
+					 .filter(group -> Objects.equals(groupType, group.groupType))
+					 .sorted(comparing((Counters group) -> group.groupName.getValue())
+							 .thenComparing(group -> group.groupId.getValue()))
+					 .map(Counters::toStatistics)
+					 .collect(toList());
+	}
+	
+	/**
+	 * Returns the number of groups with different element counters.
+	 * @param other the aggregate to compare with
+	 * @return the number of groups with different element counters
+	 */
+	int countDifferentGroups(ElementGroupStatisticsAggregate other) {
+		int different = 0;
+		for(Counters group : groups.values()) {
+			if(!group.sameCounts(other.groups.get(group.groupId))) {
+				different++;
+			}
+		}
+		for(ElementGroupId groupId : other.groups.keySet()) {
+			if(!groups.containsKey(groupId)) {
+				different++;
+			}
+		}
+		return different;
+	}
+	
+	int getGroupCount() {
+		return groups.size();
+	}
+	
+	int getElementCount() {
+		return members.size();
+	}
+	
+}
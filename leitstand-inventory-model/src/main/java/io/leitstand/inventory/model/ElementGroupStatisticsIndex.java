@@ -0,0 +1,192 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.ReasonCode.IVT8120I_GROUP_STATISTICS_INDEX_STARTED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8121I_GROUP_STATISTICS_INDEX_STOPPED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8122E_GROUP_STATISTICS_INDEX_FAILED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8123I_GROUP_STATISTICS_CORRECTED;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static javax.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import io.leitstand.inventory.event.ElementEvent;
+import io.leitstand.inventory.event.ElementRemovedEvent;
+import io.leitstand.inventory.service.ElementGroupStatistics;
+import io.leitstand.inventory.service.ElementGroupType;
+import io.leitstand.inventory.service.ElementRoleName;
+
+/**
+ * Maintains the element group statistics in memory.
+ * <p>
+ * The index is built at startup and updated by every committed element event. 
+ * Each element event conveys the current group, role, administrative state and operational state of the element,
+ * which covers added, moved, retired and removed elements as well as role and operational state changes.
+ * Hence the group statistics are computed in O(groups) without reading the element table.
+ * <p>
+ * Element events are only observed by the inventory instance that modified the element.
+ * The index is therefore reconciled with the inventory every 30 seconds, 
+ * which also corrects changes of the element role manageable flag and group renames.
+ * The reconciliation interval can be changed by the <code>LEITSTAND_GROUP_STATISTICS_RECONCILE_INTERVAL</code> system property (in seconds).
+ * Events observed while the index is reconciled are re-applied to the reconciled index.
+ */
+@ApplicationScoped
+public class ElementGroupStatisticsIndex extends ReloadableIndex<ElementGroupStatisticsAggregate> {
+	
+	private static final Logger LOG = Logger.getLogger(ElementGroupStatisticsIndex.class.getName());
+	
+	@Inject
+	private ElementGroupStatisticsService service;
+	
+	private final Map<ElementRoleName,Boolean> roles = new ConcurrentHashMap<>();
+	private final AtomicLong correctedGroups = new AtomicLong();
+	private volatile long lastReconciliationDuration;
+	
+	protected ElementGroupStatisticsIndex() {
+		// CDI
+		this(null);
+	}
+	
+	ElementGroupStatisticsIndex(ElementGroupStatisticsService service){
+		super("Element group statistics index",
+			  "LEITSTAND_GROUP_STATISTICS_RECONCILE_INTERVAL",
+			  30,
+			  IVT8120I_GROUP_STATISTICS_INDEX_STARTED,
+			  IVT8121I_GROUP_STATISTICS_INDEX_STOPPED,
+			  IVT8122E_GROUP_STATISTICS_INDEX_FAILED);
+		this.service = service;
+	}
+	
+	/**
+	 * Applies a committed element event to the index.
+	 * @param event the element event
+	 */
+	public void elementChanged(@Observes(during=AFTER_SUCCESS) ElementEvent event) {
+		boolean manageable = !(event instanceof ElementRemovedEvent) && isManageable(event.getElementRole());
+		// Events always convey the current element state and can be applied more than once.
+		apply(aggregate -> update(aggregate, event, manageable));
+	}
+	
+	private boolean isManageable(ElementRoleName role) {
+		if(role == null) {
+			return false;
+		}
+		return roles.computeIfAbsent(role, service::isManageable);
+	}
+	
+	private static void update(ElementGroupStatisticsAggregate aggregate, ElementEvent event, boolean manageable) {
+		if(manageable) {
+			aggregate.update(event.getElementId(), 
+							 event.getGroupId(), 
+							 event.getGroupType(), 
+							 event.getGroupName(), 
+							 event.getAdministrativeState(), 
+							 event.getOperationalState());
+		} else {
+			aggregate.remove(event.getElementId());
+		}
+	}
+	
+	/**
+	 * Returns whether the index has been built.
+	 * @return <code>true</code> if the index is available, <code>false</code> otherwise.
+	 */
+	public boolean isReady() {
+		return current() != null;
+	}
+	
+	/**
+	 * Returns the statistics of all groups of the given type.
+	 * Groups without manageable elements are omitted.
+	 * @param groupType the group type
+	 * @return the group statistics ordered by group name
+	 * @throws IllegalStateException if the index has not been built yet.
+	 */
+	public synchronized List<ElementGroupStatistics> getGroupStatistics(ElementGroupType groupType){
+		ElementGroupStatisticsAggregate aggregate = current();
+		if(aggregate == null) {
+			throw new IllegalStateException("Element group statistics index not available");
+		}
+		return aggregate.getGroupStatistics(groupType);
+	}
+	
+	@Override
+	protected ElementGroupStatisticsAggregate load() {
+		long started = currentTimeMillis();
+		Map<ElementRoleName,Boolean> manageable = service.loadElementRoles();
+		ElementGroupStatisticsAggregate reconciled = service.loadGroupStatistics();
+		roles.clear();
+		roles.putAll(manageable);
+		lastReconciliationDuration = currentTimeMillis() - started;
+		return reconciled;
+	}
+	
+	@Override
+	protected void replace(ElementGroupStatisticsAggregate current, ElementGroupStatisticsAggregate reconciled) {
+		int corrected = current.countDifferentGroups(reconciled);
+		if(corrected > 0) {
+			correctedGroups.addAndGet(corrected);
+			LOG.fine(() -> format("%s: Corrected statistics of %d element groups",
+								  IVT8123I_GROUP_STATISTICS_CORRECTED.getReasonCode(),
+								  corrected));
+		}
+	}
+	
+	/**
+	 * Returns the number of element groups whose statistics were corrected by a reconciliation since startup.
+	 * @return the number of corrected element groups.
+	 */
+	public long getCorrectedGroups() {
+		return correctedGroups.get();
+	}
+	
+	/**
+	 * Returns the duration of the last reconciliation in milliseconds.
+	 * @return the last reconciliation duration in milliseconds.
+	 */
+	public long getLastReconciliationDuration() {
+		return lastReconciliationDuration;
+	}
+	
+	/**
+	 * Returns the number of element groups in the index.
+	 * @return the number of indexed element groups.
+	 */
+	public synchronized int getGroupCount() {
+		ElementGroupStatisticsAggregate aggregate = current();
+		return aggregate != null ? aggregate.getGroupCount() : 0;
+	}
+	
+	/**
+	 * Returns the number of elements in the index.
+	 * @return the number of indexed elements.
+	 */
+	public synchronized int getElementCount() {
+		ElementGroupStatisticsAggregate aggregate = current();
+		return aggregate != null ? aggregate.getElementCount() : 0;
+	}
+	
+}
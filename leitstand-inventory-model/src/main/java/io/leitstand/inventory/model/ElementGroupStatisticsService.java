@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.inventory.service.AdministrativeState.administrativeState;
+import static io.leitstand.inventory.service.ElementGroupId.groupId;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementGroupType.groupType;
+import static io.leitstand.inventory.service.ElementId.elementId;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.OperationalState.operationalState;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.commons.model.Service;
+import io.leitstand.inventory.service.ElementRoleName;
+
+/**
+ * Loads the element group statistics and the element role settings for the {@link ElementGroupStatisticsIndex}.
+ */
+@Service
+public class ElementGroupStatisticsService {
+
+	@Inject
+	@Inventory
+	private DatabaseService db;
+	
+	protected ElementGroupStatisticsService() {
+		// CDI
+	}
+	
+	protected ElementGroupStatisticsService(DatabaseService db) {
+		this.db = db;
+	}
+	
+	/**
+	 * Loads the group, administrative state and operational state of all manageable elements.
+	 * @return the element group statistics aggregate.
+	 */
+	public ElementGroupStatisticsAggregate loadGroupStatistics() {
+		ElementGroupStatisticsAggregate aggregate = new ElementGroupStatisticsAggregate();
+		db.processQuery(prepare("SELECT e.uuid, g.uuid, g.type, g.name, e.admstate, e.opstate "+
+								"FROM inventory.element e "+
+								"JOIN inventory.elementgroup g "+
+								"ON e.elementgroup_id = g.id "+
+								"JOIN inventory.elementrole r "+
+								"ON e.elementrole_id = r.id "+
+								"WHERE r.manageable = 'Y'"), 
+						rs -> aggregate.update(elementId(rs.getString(1)), 
+											   groupId(rs.getString(2)), 
+											   groupType(rs.getString(3)), 
+											   groupName(rs.getString(4)), 
+											   administrativeState(rs.getString(5)), 
+											   operationalState(rs.getString(6))));
+		return aggregate;
+	}
+	
+	/**
+	 * Returns the manageable flag of all element roles.
+	 * @return the manageable flag by element role name.
+	 */
+	public Map<ElementRoleName,Boolean> loadElementRoles(){
+		Map<ElementRoleName,Boolean> roles = new HashMap<>();
+		db.processQuery(prepare("SELECT name, manageable FROM inventory.elementrole"), 
+						rs -> roles.put(elementRoleName(rs.getString(1)), 
+										"Y".equals(rs.getString(2))));
+		return roles;
+	}
+	
+	/**
+	 * Returns whether the specified element role is manageable.
+	 * @param role the element role name
+	 * @return <code>true</code> if the role exists and is manageable, <code>false</code> otherwise.
+	 */
+	public boolean isManageable(ElementRoleName role) {
+		List<Boolean> manageable = db.executeQuery(prepare("SELECT manageable FROM inventory.elementrole WHERE name = ?", 
+														   role.getValue()), 
+												   rs -> "Y".equals(rs.getString(1)));
+		return !manageable.isEmpty() && manageable.get(0);
+	}
+	
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.newInputStream;
+import static javax.json.Json.createArrayBuilder;
+import static javax.json.Json.createObjectBuilder;
+import static javax.json.Json.createParser;
+import static javax.json.Json.createValue;
+import static javax.json.stream.JsonParser.Event.END_ARRAY;
+import static javax.json.stream.JsonParser.Event.END_OBJECT;
+import static javax.json.stream.JsonParser.Event.START_ARRAY;
+import static javax.json.stream.JsonParser.Event.START_OBJECT;
+import static org.yaml.snakeyaml.events.Event.ID.DocumentStart;
+import static org.yaml.snakeyaml.events.Event.ID.MappingEnd;
+import static org.yaml.snakeyaml.events.Event.ID.MappingStart;
+import static org.yaml.snakeyaml.events.Event.ID.SequenceEnd;
+import static org.yaml.snakeyaml.events.Event.ID.SequenceStart;
+import static org.yaml.snakeyaml.events.Event.ID.StreamStart;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+/**
+ * Reads the items of an element groups export incrementally.
+ * <p>
+ * The reader passes every object of a top-level array property of the export to a consumer,
+ * without reading the entire export into memory. 
+ * All other properties are skipped. 
+ * The export can be read multiple times, e.g. to read the platforms and element roles before the groups,
+ * which are stored in lexicographical property order in the export.
+ * YAML documents are converted to their JSON representation on the fly.
+ */
+abstract class ElementGroupsImportReader {
+
+	/**
+	 * Creates a reader for the specified export.
+	 * @param export the export file
+	 * @param yaml <code>true</code> if the export is a YAML document, <code>false</code> if the export is a JSON document.
+	 * @return the export reader
+	 */
+	static ElementGroupsImportReader importReader(Path export, boolean yaml) {
+		if(yaml) {
+			return new YamlImportReader(export);
+		}
+		return new JsonImportReader(export);
+	}
+	
+	private final Path export;
+	
+	protected ElementGroupsImportReader(Path export) {
+		this.export = export;
+	}
+	
+	/**
+	 * Passes all objects of the specified top-level array property to the given consumer.
+	 * @param property the array property name
+	 * @param items the consumer of the array items
+	 * @throws IOException if the export cannot be read or is malformed
+	 */
+	void read(String property, Consumer<JsonObject> items) throws IOException {
+		try(InputStream in = newInputStream(export)){
+			read(in, property, items);
+		}
+	}
+	
+	protected abstract void read(InputStream in, 
+								 String property, 
+								 Consumer<JsonObject> items) throws IOException;
+	
+	private static final class JsonImportReader extends ElementGroupsImportReader {
+
+		JsonImportReader(Path export) {
+			super(export);
+		}
+		
+		@Override
+		protected void read(InputStream in, 
+							String property, 
+							Consumer<JsonObject> items) throws IOException {
+			try(JsonParser parser = createParser(in)){
+				if(!parser.hasNext() || parser.next() != START_OBJECT) {
+					throw new IOException("Invalid import: JSON object expected");
+				}
+				JsonParser.Event event = parser.next();
+				while(event != END_OBJECT) {
+					String name = parser.getString();
+					JsonParser.Event value = parser.next();
+					if(property.equals(name) && value == START_ARRAY) {
+						for(event = parser.next(); event != END_ARRAY; event = parser.next()) {
+							if(event == START_OBJECT) {
+								items.accept(parser.getObject());
+							} else {
+								skip(parser, event);
+							}
+						}
+						return;
+					}
+					skip(parser, value);
+					event = parser.next();
+				}
+			}
+		}
+		
+		private static void skip(JsonParser parser, JsonParser.Event event) {
+			if(event == START_OBJECT) {
+				parser.skipObject();
+			} else if(event == START_ARRAY) {
+				parser.skipArray();
+			}
+		}
+		
+	}
+	
+	private static final class YamlImportReader extends ElementGroupsImportReader {
+		
+		private static final Resolver RESOLVER = new Resolver();
+		
+		YamlImportReader(Path export) {
+			super(export);
+		}
+
+		@Override
+		protected void read(InputStream in, 
+							String property, 
+							Consumer<JsonObject> items) throws IOException {
+			try(Reader reader = new BufferedReader(new InputStreamReader(in, UTF_8))){
+				Iterator<Event> events = new Yaml().parse(reader).iterator();
+				Event event = events.next();
+				while(event.is(StreamStart) || 
+					  event.is(DocumentStart)) {
+					event = events.next();
+				}
+				if(!event.is(MappingStart)) {
+					throw new IOException("Invalid import: YAML mapping expected");
+				}
+				for(event = events.next(); 
+					!event.is(MappingEnd); 
+					event = events.next()) {
+					String name = event instanceof ScalarEvent ? ((ScalarEvent) event).getValue() : null;
+					if(name == null) {
+						// Complex keys are not used by exports.
+						value(event, events);
+					}
+					Event value = events.next();
+					if(property.equals(name) && value.is(SequenceStart)) {
+						for(event = events.next(); 
+							!event.is(SequenceEnd); 
+							event = events.next()) {
+							JsonValue item = value(event, events);
+							if(item instanceof JsonObject) {
+								items.accept((JsonObject) item);
+							}
+						}
+						return;
+					}
+					value(value, events);
+				}
+			} catch (RuntimeException e) {
+				// SnakeYAML reports malformed documents by unchecked exceptions.
+				throw new IOException("Invalid import: "+e.getMessage(), e);
+			}
+		}
+		
+		private static JsonValue value(Event event, 
+									   Iterator<Event> events) {
+			if(event.is(MappingStart)) {
+				JsonObjectBuilder object = createObjectBuilder();
+				for(event = events.next(); 
+					!event.is(MappingEnd); 
+					event = events.next()) {
+					JsonValue key = value(event, events);
+					JsonValue value = value(events.next(), events);
+					if(key instanceof JsonString) {
+						object.add(((JsonString) key).getString(), value);
+					} else {
+						object.add(String.valueOf(key), value);
+					}
+				}
+				return object.build();
+			}
+			if(event.is(SequenceStart)) {
+				JsonArrayBuilder array = createArrayBuilder();
+				for(event = events.next(); 
+					!event.is(SequenceEnd); 
+					event = events.next()) {
+					array.add(value(event, events));
+				}
+				return array.build();
+			}
+			if(event instanceof ScalarEvent) {
+				return scalar((ScalarEvent) event);
+			}
+			// Aliases are not used by exports.
+			return JsonValue.NULL;
+		}
+		
+		static JsonValue scalar(ScalarEvent event) {
+			String value = event.getValue();
+			if(!event.getImplicit().canOmitTagInPlainScalar()) {
+				// Quoted or explicitly tagged scalar
+				return createValue(value);
+			}
+			Tag tag = RESOLVER.resolve(NodeId.scalar, value, true);
+			if(Tag.NULL.equals(tag)) {
+				return JsonValue.NULL;
+			}
+			if(Tag.BOOL.equals(tag)) {
+				String bool = value.toLowerCase();
+				return "true".equals(bool) || "yes".equals(bool) || "on".equals(bool) ? JsonValue.TRUE : JsonValue.FALSE;
+			}
+			try {
+				if(Tag.INT.equals(tag)) {
+					return createValue(new BigInteger(value.replace("_", "")));
+				}
+				if(Tag.FLOAT.equals(tag)) {
+					return createValue(new BigDecimal(value.replace("_", "")));
+				}
+			} catch (NumberFormatException e) {
+				// Sexagesimal, octal, hexadecimal or infinite numbers are passed as strings.
+			}
+			return createValue(value);
+		}
+		
+	}
+	
+}
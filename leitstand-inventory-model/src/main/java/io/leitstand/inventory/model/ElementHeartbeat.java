@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.OperationalState;
+
+/**
+ * The last heartbeat of an element.
+ * The last modification timestamp of an element is the timestamp of the last heartbeat.
+ */
+public final class ElementHeartbeat {
+
+	private final ElementId elementId;
+	private final String elementRole;
+	private final long lastHeartbeat;
+	private final OperationalState operationalState;
+	
+	ElementHeartbeat(ElementId elementId, 
+					 String elementRole, 
+					 long lastHeartbeat,
+					 OperationalState operationalState) {
+		this.elementId = elementId;
+		this.elementRole = elementRole;
+		this.lastHeartbeat = lastHeartbeat;
+		this.operationalState = operationalState;
+	}
+	
+	ElementId getElementId() {
+		return elementId;
+	}
+	
+	String getElementRole() {
+		return elementRole;
+	}
+	
+	long getLastHeartbeat() {
+		return lastHeartbeat;
+	}
+	
+	OperationalState getOperationalState() {
+		return operationalState;
+	}
+	
+}
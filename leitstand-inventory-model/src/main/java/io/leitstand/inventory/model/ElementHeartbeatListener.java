@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import javax.inject.Inject;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Reports element modifications to the {@link HeartbeatWatchDog}.
+ * <p>
+ * The watchdog is not available when the persistence unit is used outside of a CDI container, 
+ * e.g. in integration tests. Element modifications are not reported in this case.
+ */
+public class ElementHeartbeatListener {
+
+	@Inject
+	private HeartbeatWatchDog watchdog;
+	
+	@PostPersist
+	@PostUpdate
+	public void elementModified(Element element) {
+		if(watchdog != null) {
+			watchdog.heartbeat(element);
+		}
+	}
+	
+	@PostRemove
+	public void elementRemoved(Element element) {
+		if(watchdog != null) {
+			watchdog.removed(element);
+		}
+	}
+	
+}
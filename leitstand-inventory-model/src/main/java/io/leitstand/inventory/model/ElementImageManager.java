@@ -21,6 +21,7 @@ import static io.leitstand.inventory.model.DefaultImageService.referenceOf;
 import static io.leitstand.inventory.model.DefaultPackageService.packageVersionInfo;
 import static io.leitstand.inventory.model.Element_Image.findElementImage;
 import static io.leitstand.inventory.model.Element_Image.findElementImages;
+import static io.leitstand.inventory.model.Element_Image.findElementImagesWithContents;
 import static io.leitstand.inventory.model.Image.findImageById;
 import static io.leitstand.inventory.model.Image.findUpdates;
 import static io.leitstand.inventory.service.ElementAvailableUpgrade.newElementAvailableUpgrade;
@@ -56,6 +57,7 @@ import io.leitstand.commons.EntityNotFoundException;
 import io.leitstand.commons.messages.Messages;
 import io.leitstand.commons.model.Repository;
 import io.leitstand.commons.tx.SubtransactionService;
+import io.leitstand.inventory.model.ImageVersionIndex.IndexedImage;
 import io.leitstand.inventory.service.ElementAvailableUpgrade;
 import io.leitstand.inventory.service.ElementAvailableUpgrade.UpgradeType;
 import io.leitstand.inventory.service.ElementImageState;
@@ -66,6 +68,7 @@ import io.leitstand.inventory.service.ElementImages;
 import io.leitstand.inventory.service.ImageId;
 import io.leitstand.inventory.service.ImageReference;
 import io.leitstand.inventory.service.PackageVersionInfo;
+import io.leitstand.inventory.service.Version;
 
 @Dependent
 public class ElementImageManager {
@@ -75,14 +78,23 @@ public class ElementImageManager {
 	private Repository repository;
 	private Messages messages;
 	private SubtransactionService inventory;
+	private ImageUpgradeIndex upgrades;
+	
+	protected ElementImageManager(Repository repository, 
+							      SubtransactionService inventory,
+							      Messages messages){
+		this(repository,inventory,messages,null);
+	}
 	
 	@Inject
 	protected ElementImageManager(@Inventory Repository repository, 
 							      @Inventory SubtransactionService inventory,
-							      Messages messages){
+							      Messages messages,
+							      ImageUpgradeIndex upgrades){
 		this.repository = repository;
 		this.inventory  = inventory;
 		this.messages 	= messages;
+		this.upgrades	= upgrades;
 	}
 	
 	
@@ -95,7 +107,7 @@ public class ElementImageManager {
 		ElementGroup group = element.getGroup();
 		List<ElementImageData> installed = new LinkedList<>();
 		
-		for(Element_Image elementImage : repository.execute(findElementImages(element))){
+		for(Element_Image elementImage : repository.execute(findElementImagesWithContents(element))){
 			Image image = elementImage.getImage();
 			
 			List<PackageVersionInfo> packages = new LinkedList<>();
@@ -103,24 +115,7 @@ public class ElementImageManager {
 				packages.add(packageVersionInfo(revision));
 			}
 			
-			List<ElementAvailableUpgrade> updates = new LinkedList<>();
-			for(Image update : repository.execute(findUpdates(element.getPlatform(),
-															  image.getImageType(), 
-															  image.getImageName(),
-															  element.getElementRole(), 
-															  image.getImageVersion(), 
-															  element))){
-				UpgradeType type = updateType(image, update);
-				
-				updates.add(newElementAvailableUpgrade()
-						    .withImageId(update.getImageId())
-						    .withImageName(update.getImageName())
-						    .withImageState(update.getImageState())
-							.withImageVersion(update.getImageVersion())
-							.withBuildDate(update.getBuildDate())
-							.withUpdateType(type)
-							.build());
-			}
+			List<ElementAvailableUpgrade> updates = availableUpgrades(element, image);
 			installed.add(newElementInstalledImageData()
 						  .withOrganization(image.getOrganization())
 						  .withImageId(image.getImageId())
@@ -157,15 +152,56 @@ public class ElementImageManager {
 		
 	}
 
-	private UpgradeType updateType(Image image, Image update) {
+	private List<ElementAvailableUpgrade> availableUpgrades(Element element, Image image){
+		List<ElementAvailableUpgrade> updates = new LinkedList<>();
+		if(upgrades == null) {
+			for(Image update : repository.execute(findUpdates(element.getPlatform(),
+															  image.getImageType(), 
+															  image.getImageName(),
+															  element.getElementRole(), 
+															  image.getImageVersion(), 
+															  element))){
+				updates.add(newElementAvailableUpgrade()
+						    .withImageId(update.getImageId())
+						    .withImageName(update.getImageName())
+						    .withImageState(update.getImageState())
+							.withImageVersion(update.getImageVersion())
+							.withBuildDate(update.getBuildDate())
+							.withUpdateType(upgradeType(image.getImageVersion(), update.getImageVersion()))
+							.build());
+			}
+			return updates;
+		}
+		Platform platform = element.getPlatform();
+		if(platform == null) {
+			return updates;
+		}
+		for(IndexedImage update : upgrades.findUpgrades(platform.getChipset(), 
+														element.getElementRoleName(), 
+														image.getImageType(), 
+														image.getImageVersion(), 
+														element.getElementId())) {
+			updates.add(newElementAvailableUpgrade()
+					    .withImageId(update.getImageId())
+					    .withImageName(update.getImageName())
+					    .withImageState(update.getImageState())
+						.withImageVersion(update.getImageVersion())
+						.withBuildDate(update.getBuildDate())
+						.withUpdateType(upgradeType(image.getImageVersion(), update.getImageVersion()))
+						.build());
+		}
+		return updates;
+	}
+
+	static UpgradeType upgradeType(Version installed, Version upgrade) {
 		UpgradeType type = PRERELEASE;
-		if(update.getImageVersion().getMajorLevel() > image.getImageVersion().getMajorLevel()){
+		if(upgrade.getMajorLevel() > installed.getMajorLevel()){
 			type = MAJOR;
 		}
-		if(update.getImageVersion().getMinorLevel() > image.getImageVersion().getMinorLevel()){
+		if(upgrade.getMinorLevel() > installed.getMinorLevel()){
 			type = MINOR;
 		}
-		if(update.getImageVersion().getPatchLevel() > image.getImageVersion().getPatchLevel()){
+		if(upgrade.getPatchLevel() > installed.getPatchLevel()){
 			type = PATCH;
 		}
 		return type;
@@ -182,24 +218,7 @@ public class ElementImageManager {
 			packages.add(packageVersionInfo(revision));
 		}
 		
-		List<ElementAvailableUpgrade> updates = new LinkedList<>();
-		for(Image update : repository.execute(findUpdates(element.getPlatform(),
-														  image.getImageType(), 
-														  image.getImageName(),
-														  element.getElementRole(),
-														  image.getImageVersion(),
-														  element))){
-			UpgradeType type = updateType(image, update);
-			
-			updates.add(newElementAvailableUpgrade()
-					 	.withImageId(update.getImageId())
-					 	.withImageName(update.getImageName())
-					 	.withImageState(update.getImageState())
-					 	.withImageVersion(update.getImageVersion())
-					 	.withBuildDate(update.getBuildDate())
-						.withUpdateType(type)
-						.build());
-		}
+		List<ElementAvailableUpgrade> updates = availableUpgrades(element, image);
 		return newElementImage()
 			   .withGroupId(group.getGroupId())
 			   .withGroupName(group.getGroupName())
@@ -15,63 +15,85 @@
  */
 package io.leitstand.inventory.model;
 
+import static io.leitstand.commons.db.DatabaseService.prepare;
 import static io.leitstand.commons.messages.MessageFactory.createMessage;
+import static io.leitstand.inventory.event.ElementLogicalInterfaceEvent.newElementLogicalInterfaceEvent;
+import static io.leitstand.inventory.jpa.AdministrativeStateConverter.toAdministrativeState;
+import static io.leitstand.inventory.jpa.OperationalStateConverter.toOperationalState;
 import static io.leitstand.inventory.model.Element_ContainerInterface.findIfcByName;
 import static io.leitstand.inventory.model.Element_LogicalInterface.findIflByName;
-import static io.leitstand.inventory.model.Element_LogicalInterface.findIfls;
-import static io.leitstand.inventory.model.Element_LogicalInterface.findIflsByPrefix;
-import static io.leitstand.inventory.model.Element_LogicalInterface.findIflsByVlanId;
 import static io.leitstand.inventory.model.Element_LogicalInterface.removeIfls;
 import static io.leitstand.inventory.model.Element_PhysicalInterface.findIfpOfIfl;
+import static io.leitstand.inventory.model.LogicalInterfaceSearchQuery.addressQuery;
+import static io.leitstand.inventory.model.LogicalInterfaceSearchQuery.keysetQuery;
+import static io.leitstand.inventory.model.LogicalInterfaceSearchQuery.vlanQuery;
+import static io.leitstand.inventory.service.AddressInterface.newAddressInterface;
 import static io.leitstand.inventory.service.ElementLogicalInterface.newLogicalInterface;
 import static io.leitstand.inventory.service.ElementLogicalInterfaceData.newElementLogicalInterfaceData;
 import static io.leitstand.inventory.service.ElementLogicalInterfaces.newLogicalInterfaces;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
 import static io.leitstand.inventory.service.PhysicalInterface.newPhysicalInterfaceInfo;
 import static io.leitstand.inventory.service.ReasonCode.IVT0360E_ELEMENT_IFL_NOT_FOUND;
 import static io.leitstand.inventory.service.ReasonCode.IVT0361I_ELEMENT_IFL_STORED;
 import static io.leitstand.inventory.service.ReasonCode.IVT0362I_ELEMENT_IFL_REMOVED;
-import static java.lang.Integer.parseInt;
+import static io.leitstand.inventory.service.RoutingInstanceName.routingInstance;
+import static io.leitstand.inventory.service.VlanID.vlanID;
+import static io.leitstand.inventory.service.VlanTPID.vlanTPID;
+import static io.leitstand.inventory.service.VlanTag.newVlanTag;
 import static java.lang.String.format;
-import static java.util.regex.Pattern.compile;
-import static java.util.stream.Collectors.toList;
+import static java.util.Collections.emptyList;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.logging.Logger;
-import java.util.regex.Pattern;
 
 import javax.enterprise.context.Dependent;
 import javax.enterprise.event.Event;
 import javax.inject.Inject;
 
 import io.leitstand.commons.EntityNotFoundException;
+import io.leitstand.commons.db.DatabaseService;
 import io.leitstand.commons.messages.Messages;
 import io.leitstand.commons.model.Repository;
 import io.leitstand.inventory.event.ElementLogicalInterfaceEvent;
+import io.leitstand.inventory.service.AddressInterface;
 import io.leitstand.inventory.service.ElementLogicalInterface;
 import io.leitstand.inventory.service.ElementLogicalInterfaceData;
 import io.leitstand.inventory.service.ElementLogicalInterfaceSubmission;
 import io.leitstand.inventory.service.ElementLogicalInterfaces;
+import io.leitstand.inventory.service.IPvxPrefix;
 import io.leitstand.inventory.service.InterfaceName;
 import io.leitstand.inventory.service.PhysicalInterface;
+import io.leitstand.inventory.service.VlanID;
+import io.leitstand.inventory.service.VlanTPID;
+import io.leitstand.inventory.service.VlanTag;
 
 @Dependent
 public class ElementLogicalInterfaceManager {
 	
-	private static final Pattern INTEGER = compile("\\d+");
 	private static final Logger LOG = Logger.getLogger(ElementLogicalInterfaceManager.class.getName());
 	
 	private Repository repository;
 	
+	private DatabaseService db;
+	
 	private Messages messages;
 	
 	private Event<ElementLogicalInterfaceEvent> event;
 	
 	@Inject
 	protected ElementLogicalInterfaceManager(@Inventory Repository repository,
+											 @Inventory DatabaseService db,
 									 		 Messages messages, 
 									 		 Event<ElementLogicalInterfaceEvent> event){
 		this.repository = repository;
+		this.db = db;
 		this.messages = messages;
 		this.event = event;
 	}
@@ -171,6 +193,8 @@ public class ElementLogicalInterfaceManager {
 								   element.getElementName(),
 								   submission.getIflName()));
 		
+		fireLogicalInterfaceEvent(element, ifl);
+		
 		return created;
 	
 	}
@@ -186,26 +210,104 @@ public class ElementLogicalInterfaceManager {
 			messages.add(createMessage(IVT0362I_ELEMENT_IFL_REMOVED, 
 									   element.getElementName(), 
 									   iflName));
+			fireLogicalInterfaceEvent(element, ifl);
 		}
 		
 	}
+	
+	private void fireLogicalInterfaceEvent(Element element, Element_LogicalInterface ifl) {
+		event.fire(newElementLogicalInterfaceEvent()
+				   .withGroupId(element.getGroupId())
+				   .withGroupType(element.getGroupType())
+				   .withGroupName(element.getGroupName())
+				   .withElementRole(element.getElementRoleName())
+				   .withElementId(element.getElementId())
+				   .withElementName(element.getElementName())
+				   .withElementAlias(element.getElementAlias())
+				   .withAdministrativeState(element.getAdministrativeState())
+				   .withOperationalState(element.getOperationalState())
+				   .withDateModified(element.getDateModified())
+				   .withInterfaceName(ifl.getInterfaceName())
+				   .withInterfaceAdministrativeState(ifl.getAdministrativeState())
+				   .withInterfaceOperationalState(ifl.getOperationalState())
+				   .build());
+	}
 
 	public ElementLogicalInterfaces findLogicalInterfaces(Element element, 
 														  String filter, 
 														  int limit) {
+		return findLogicalInterfaces(element, 
+									 filter, 
+									 null, 
+									 limit);
+	}
+	
+	public ElementLogicalInterfaces findLogicalInterfaces(Element element, 
+														  String filter,
+														  InterfaceName after,
+														  int limit) {
+		// Read one more logical interface to detect whether a next page exists.
+		LogicalInterfaceSearchQuery query = keysetQuery(element.getId(), 
+														filter, 
+														after, 
+														limit+1);
+		Map<String,ElementLogicalInterfaceData.Builder> ifls = new LinkedHashMap<>();
+		db.processQuery(prepare(query.getSql(), query.getArgs()), 
+						rs -> ifls.put(rs.getString(1), 
+									   newElementLogicalInterfaceData()
+									   .withInterfaceName(interfaceName(rs.getString(1)))
+									   .withInterfaceAlias(rs.getString(2))
+									   .withRoutingInstance(routingInstance(rs.getString(3)))
+									   .withOperationalState(toOperationalState(rs.getString(4)))
+									   .withAdministrativeState(toAdministrativeState(rs.getString(5)))));
 		
-		Set<Element_LogicalInterface> ifls = new TreeSet<>((a,b) -> a.getInterfaceName().compareTo(b.getInterfaceName()));
-		
-		ifls.addAll(repository.execute(findIfls(element, filter, limit)));
-		ifls.addAll(repository.execute(findIflsByPrefix(element, filter, limit)));
-		if(filter != null && INTEGER.matcher(filter).matches()) {
-			ifls.addAll(repository.execute(findIflsByVlanId(element, parseInt(filter), limit)));
+		InterfaceName next = null;
+		if(ifls.size() > limit) {
+			Iterator<String> names = ifls.keySet().iterator();
+			String last = null;
+			for(int i=0; i < limit; i++) {
+				last = names.next();
+			}
+			names.next();
+			names.remove();
+			next = interfaceName(last);
 		}
-
 		
+		if(!ifls.isEmpty()) {
+			// Read addresses and VLANs of all logical interfaces of this page at once.
+			List<String> iflNames = new ArrayList<>(ifls.keySet());
+			Map<String,List<AddressInterface>> addresses = new HashMap<>();
+			LogicalInterfaceSearchQuery addressQuery = addressQuery(element.getId(), iflNames);
+			db.processQuery(prepare(addressQuery.getSql(), addressQuery.getArgs()), 
+							rs -> addresses.computeIfAbsent(rs.getString(1), name -> new ArrayList<>())
+										   .add(newAddressInterface()
+												.withAddress(IPvxPrefix.valueOf(rs.getString(2)))
+												.build()));
+			Map<String,List<VlanTag>> vlans = new HashMap<>();
+			LogicalInterfaceSearchQuery vlanQuery = vlanQuery(element.getId(), iflNames);
+			db.processQuery(prepare(vlanQuery.getSql(), vlanQuery.getArgs()),
+							rs -> {
+								int tpid = rs.getInt(2);
+								VlanTPID vlanTpid = rs.wasNull() ? null : vlanTPID(tpid);
+								int vid = rs.getInt(3);
+								VlanID vlanId = rs.wasNull() ? null : vlanID(vid);
+								vlans.computeIfAbsent(rs.getString(1), name -> new ArrayList<>())
+									 .add(newVlanTag()
+										  .withVlanTpid(vlanTpid)
+										  .withVlanId(vlanId)
+										  .build());
+							});
+			for(Map.Entry<String,ElementLogicalInterfaceData.Builder> ifl : ifls.entrySet()) {
+				ifl.getValue()
+				   .withAddressInterfaces(addresses.getOrDefault(ifl.getKey(), emptyList()))
+				   .withVlans(vlans.getOrDefault(ifl.getKey(), emptyList()));
+			}
+		}
 		
-											   			   
-		
+		List<ElementLogicalInterfaceData> data = new ArrayList<>(ifls.size());
+		for(ElementLogicalInterfaceData.Builder ifl : ifls.values()) {
+			data.add(ifl.build());
+		}
 		
 		return newLogicalInterfaces()
 			   .withGroupId(element.getGroupId())
@@ -218,19 +320,8 @@ public class ElementLogicalInterfaceManager {
 			   .withAdministrativeState(element.getAdministrativeState())
 			   .withOperationalState(element.getOperationalState())
 			   .withDateModified(element.getDateModified())
-			   .withLogicalInterfaces(ifls
-					   				  .stream()
-					   				  .limit(limit)
-					   				  .map(ifl -> newElementLogicalInterfaceData()
-					   						  	  .withInterfaceName(ifl.getInterfaceName())
-					   						  	  .withInterfaceAlias(ifl.getInterfaceAlias())
-					   						  	  .withOperationalState(ifl.getOperationalState())
-					   						  	  .withAdministrativeState(ifl.getAdministrativeState())
-					   						  	  .withAddressInterfaces(ifl.getAddressInterfaces())
-					   						  	  .withRoutingInstance(ifl.getRoutingInstance())
-					   						  	  .withVlans(ifl.getVlans())
-					   						  	  .build())
-					   				  .collect(toList()))
+			   .withLogicalInterfaces(data)
+			   .withNextCursor(next)
 			   .build();
 		
 	}
@@ -241,6 +332,18 @@ public class ElementLogicalInterfaceManager {
 							count, 
 							element.getElementName(), 
 							element.getElementId()));
+		event.fire(newElementLogicalInterfaceEvent()
+				   .withGroupId(element.getGroupId())
+				   .withGroupType(element.getGroupType())
+				   .withGroupName(element.getGroupName())
+				   .withElementRole(element.getElementRoleName())
+				   .withElementId(element.getElementId())
+				   .withElementName(element.getElementName())
+				   .withElementAlias(element.getElementAlias())
+				   .withAdministrativeState(element.getAdministrativeState())
+				   .withOperationalState(element.getOperationalState())
+				   .withDateModified(element.getDateModified())
+				   .build());
 	}
 
 }
@@ -0,0 +1,403 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.commons.messages.MessageFactory.createMessage;
+import static io.leitstand.inventory.event.ElementLogicalInterfaceEvent.newElementLogicalInterfaceEvent;
+import static io.leitstand.inventory.model.JdbcBatch.batch;
+import static io.leitstand.inventory.model.LogicalInterfaceRow.submittedRow;
+import static io.leitstand.inventory.service.ElementLogicalInterfaceSyncResult.newLogicalInterfaceSyncResult;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.ReasonCode.IVT0364I_ELEMENT_IFLS_SYNCED;
+import static java.lang.String.format;
+import static java.sql.Types.INTEGER;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import javax.annotation.Resource;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import javax.persistence.PersistenceException;
+import javax.sql.DataSource;
+
+import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.commons.messages.Messages;
+import io.leitstand.inventory.event.ElementLogicalInterfaceEvent;
+import io.leitstand.inventory.model.LogicalInterfaceRow.Address;
+import io.leitstand.inventory.model.LogicalInterfaceRow.Vlan;
+import io.leitstand.inventory.service.ElementLogicalInterfaceSubmission;
+import io.leitstand.inventory.service.ElementLogicalInterfaceSyncResult;
+import io.leitstand.inventory.service.InterfaceName;
+
+/**
+ * Synchronizes the logical interfaces of an element with a complete snapshot of its logical interfaces.
+ * <p>
+ * The synchronization reads all logical interfaces of the element, their addresses, their VLANs 
+ * and the container interfaces of the element with four queries.
+ * The snapshot is compared with the stored logical interfaces in memory.
+ * Only added, modified and removed logical interfaces are written to the database by JDBC batch statements.
+ * For a modified logical interface only the added and removed addresses and VLANs are written.
+ * A single {@link ElementLogicalInterfaceEvent} without interface name is fired for all modifications,
+ * rather than one event per logical interface.
+ */
+@Dependent
+public class ElementLogicalInterfaceSyncManager {
+	
+	private static final Logger LOG = Logger.getLogger(ElementLogicalInterfaceSyncManager.class.getName());
+	
+	/**
+	 * An address or VLAN record of a logical interface.
+	 */
+	private static final class IflRecord<T> {
+		private final String iflName;
+		private final T value;
+		
+		IflRecord(String iflName, T value){
+			this.iflName = iflName;
+			this.value = value;
+		}
+	}
+	
+	@Inject
+	@Inventory
+	private DatabaseService db;
+	
+	@Resource(lookup="java:/jdbc/leitstand")
+	private DataSource ds;
+	
+	@Inject
+	private Messages messages;
+	
+	@Inject
+	private Event<ElementLogicalInterfaceEvent> event;
+	
+	protected ElementLogicalInterfaceSyncManager() {
+		// CDI
+	}
+	
+	protected ElementLogicalInterfaceSyncManager(DatabaseService db,
+												 DataSource ds,
+												 Messages messages,
+												 Event<ElementLogicalInterfaceEvent> event) {
+		this.db = db;
+		this.ds = ds;
+		this.messages = messages;
+		this.event = event;
+	}
+	
+	/**
+	 * Synchronizes the logical interfaces of the given element with the given snapshot.
+	 * The last submission wins if the snapshot contains multiple submissions for the same logical interface.
+	 * @param element the element
+	 * @param submissions the snapshot of all logical interfaces
+	 * @return the names of the added, updated and removed logical interfaces
+	 */
+	public ElementLogicalInterfaceSyncResult syncLogicalInterfaces(Element element, 
+																   List<ElementLogicalInterfaceSubmission> submissions) {
+		Map<String,LogicalInterfaceRow> stored = loadLogicalInterfaces(element);
+		Set<String> ifcs = loadContainerInterfaces(element);
+		
+		Map<String,LogicalInterfaceRow> submitted = new LinkedHashMap<>();
+		for(ElementLogicalInterfaceSubmission submission : submissions) {
+			LogicalInterfaceRow row = submittedRow(submission);
+			submitted.remove(row.getIflName());
+			submitted.put(row.getIflName(), row);
+		}
+		
+		// Compute the rows to be written.
+		List<LogicalInterfaceRow> added = new ArrayList<>();
+		List<LogicalInterfaceRow> updated = new ArrayList<>();
+		List<IflRecord<Address>> addedAddresses = new ArrayList<>();
+		List<IflRecord<Address>> removedAddresses = new ArrayList<>();
+		List<IflRecord<Vlan>> addedVlans = new ArrayList<>();
+		List<IflRecord<Vlan>> removedVlans = new ArrayList<>();
+		for(LogicalInterfaceRow row : submitted.values()) {
+			LogicalInterfaceRow current = stored.remove(row.getIflName());
+			if(current == null) {
+				added.add(row);
+				records(row.getIflName(), row.getAddresses(), addedAddresses);
+				records(row.getIflName(), row.getVlans(), addedVlans);
+			} else if(!current.equals(row)) {
+				updated.add(row);
+				records(row.getIflName(), row.addressesMissingIn(current), addedAddresses);
+				records(row.getIflName(), current.addressesMissingIn(row), removedAddresses);
+				records(row.getIflName(), row.vlansMissingIn(current), addedVlans);
+				records(row.getIflName(), current.vlansMissingIn(row), removedVlans);
+			}
+		}
+		// All remaining logical interfaces are not contained in the snapshot
+		List<LogicalInterfaceRow> removed = new ArrayList<>(stored.values());
+		
+		List<String> missingIfcs = new ArrayList<>();
+		for(LogicalInterfaceRow row : submitted.values()) {
+			if(row.getIfcName() != null && ifcs.add(row.getIfcName())) {
+				missingIfcs.add(row.getIfcName());
+			}
+		}
+		
+		write(element,
+			  missingIfcs,
+			  added,
+			  updated,
+			  removed,
+			  addedAddresses,
+			  removedAddresses,
+			  addedVlans,
+			  removedVlans);
+		
+		LOG.fine(() -> format("%s: Logical interfaces of element %s synchronized: %d added, %d updated, %d removed.",
+							  IVT0364I_ELEMENT_IFLS_SYNCED.getReasonCode(),
+							  element.getElementName(),
+							  added.size(),
+							  updated.size(),
+							  removed.size()));
+		messages.add(createMessage(IVT0364I_ELEMENT_IFLS_SYNCED, 
+								   element.getElementName(),
+								   added.size(),
+								   updated.size(),
+								   removed.size()));
+		
+		if(!added.isEmpty() || !updated.isEmpty() || !removed.isEmpty()) {
+			// Fire a single event for all logical interfaces of the element.
+			event.fire(newElementLogicalInterfaceEvent()
+					   .withGroupId(element.getGroupId())
+					   .withGroupType(element.getGroupType())
+					   .withGroupName(element.getGroupName())
+					   .withElementRole(element.getElementRoleName())
+					   .withElementId(element.getElementId())
+					   .withElementName(element.getElementName())
+					   .withElementAlias(element.getElementAlias())
+					   .withAdministrativeState(element.getAdministrativeState())
+					   .withOperationalState(element.getOperationalState())
+					   .withDateModified(element.getDateModified())
+					   .build());
+		}
+		
+		return newLogicalInterfaceSyncResult()
+			   .withGroupId(element.getGroupId())
+			   .withGroupName(element.getGroupName())
+			   .withGroupType(element.getGroupType())
+			   .withElementId(element.getElementId())
+			   .withElementName(element.getElementName())
+			   .withElementAlias(element.getElementAlias())
+			   .withElementRole(element.getElementRoleName())
+			   .withAdministrativeState(element.getAdministrativeState())
+			   .withOperationalState(element.getOperationalState())
+			   .withDateModified(element.getDateModified())
+			   .withAddedInterfaces(names(added))
+			   .withUpdatedInterfaces(names(updated))
+			   .withRemovedInterfaces(names(removed))
+			   .build();
+	}
+	
+	private Map<String,LogicalInterfaceRow> loadLogicalInterfaces(Element element){
+		Map<String,LogicalInterfaceRow> ifls = new HashMap<>();
+		db.processQuery(prepare("SELECT name, element_ifc_name, alias, instance, admstate, opstate "+
+								"FROM inventory.element_ifl "+
+								"WHERE element_id = ?", 
+								element.getId()), 
+						rs -> ifls.put(rs.getString(1), 
+									   new LogicalInterfaceRow(rs.getString(1),
+											   				   rs.getString(2),
+											   				   rs.getString(3),
+											   				   rs.getString(4),
+											   				   rs.getString(5),
+											   				   rs.getString(6))));
+		db.processQuery(prepare("SELECT element_ifl_name, type, address "+
+								"FROM inventory.element_ifl_ifa "+
+								"WHERE element_id = ?", 
+								element.getId()), 
+						rs -> {
+							LogicalInterfaceRow row = ifls.get(rs.getString(1));
+							if(row != null) {
+								row.addAddress(rs.getString(2), rs.getString(3));
+							}
+						});
+		db.processQuery(prepare("SELECT element_ifl_name, vlan, tpid, vid "+
+								"FROM inventory.element_ifl_vlan "+
+								"WHERE element_id = ?", 
+								element.getId()), 
+						rs -> {
+							LogicalInterfaceRow row = ifls.get(rs.getString(1));
+							if(row != null) {
+								int tpid = rs.getInt(3);
+								Integer vlanTpid = rs.wasNull() ? null : tpid;
+								int vid = rs.getInt(4);
+								Integer vlanId = rs.wasNull() ? null : vid;
+								row.addVlan(rs.getInt(2), vlanTpid, vlanId);
+							}
+						});
+		return ifls;
+	}
+	
+	private Set<String> loadContainerInterfaces(Element element){
+		return new HashSet<>(db.executeQuery(prepare("SELECT name FROM inventory.element_ifc WHERE element_id = ?",
+													 element.getId()), 
+											 rs -> rs.getString(1)));
+	}
+	
+	private static <T> void records(String iflName, Set<T> values, List<IflRecord<T>> records) {
+		for(T value : values) {
+			records.add(new IflRecord<>(iflName, value));
+		}
+	}
+	
+	private void write(Element element,
+					   List<String> missingIfcs,
+					   List<LogicalInterfaceRow> added,
+					   List<LogicalInterfaceRow> updated,
+					   List<LogicalInterfaceRow> removed,
+					   List<IflRecord<Address>> addedAddresses,
+					   List<IflRecord<Address>> removedAddresses,
+					   List<IflRecord<Vlan>> addedVlans,
+					   List<IflRecord<Vlan>> removedVlans) {
+		if(added.isEmpty() && updated.isEmpty() && removed.isEmpty()) {
+			return;
+		}
+		long elementId = element.getId();
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		try (Connection c = ds.getConnection()){
+			batch(c, 
+				  "INSERT INTO inventory.element_ifc (element_id, name) VALUES (?, ?)",
+				  missingIfcs,
+				  (stmt, ifcName) -> {
+					  stmt.setLong(1, elementId);
+					  stmt.setString(2, ifcName);
+				  });
+			// Remove addresses and VLANs first, because a VLAN position or an address 
+			// can be reassigned within the same snapshot.
+			batch(c,
+				  "DELETE FROM inventory.element_ifl_ifa WHERE element_id = ? AND element_ifl_name = ?",
+				  removed,
+				  (stmt, row) -> {
+					  stmt.setLong(1, elementId);
+					  stmt.setString(2, row.getIflName());
+				  });
+			batch(c,
+				  "DELETE FROM inventory.element_ifl_vlan WHERE element_id = ? AND element_ifl_name = ?",
+				  removed,
+				  (stmt, row) -> {
+					  stmt.setLong(1, elementId);
+					  stmt.setString(2, row.getIflName());
+				  });
+			batch(c,
+				  "DELETE FROM inventory.element_ifl WHERE element_id = ? AND name = ?",
+				  removed,
+				  (stmt, row) -> {
+					  stmt.setLong(1, elementId);
+					  stmt.setString(2, row.getIflName());
+				  });
+			batch(c,
+				  "DELETE FROM inventory.element_ifl_ifa WHERE element_id = ? AND element_ifl_name = ? AND address = ?",
+				  removedAddresses,
+				  (stmt, ifa) -> {
+					  stmt.setLong(1, elementId);
+					  stmt.setString(2, ifa.iflName);
+					  stmt.setString(3, ifa.value.getAddress());
+				  });
+			batch(c,
+				  "DELETE FROM inventory.element_ifl_vlan WHERE element_id = ? AND element_ifl_name = ? AND vlan = ?",
+				  removedVlans,
+				  (stmt, vlan) -> {
+					  stmt.setLong(1, elementId);
+					  stmt.setString(2, vlan.iflName);
+					  stmt.setInt(3, vlan.value.getPosition());
+				  });
+			batch(c,
+				  "INSERT INTO inventory.element_ifl "+
+				  "(element_ifc_name, alias, instance, admstate, opstate, tsmodified, element_id, name, tscreated) "+
+				  "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+				  added,
+				  (stmt, row) -> {
+					  bind(stmt, row, now, elementId);
+					  stmt.setTimestamp(9, now);
+				  });
+			batch(c,
+				  "UPDATE inventory.element_ifl "+
+				  "SET element_ifc_name = ?, alias = ?, instance = ?, admstate = ?, opstate = ?, tsmodified = ? "+
+				  "WHERE element_id = ? AND name = ?",
+				  updated,
+				  (stmt, row) -> bind(stmt, row, now, elementId));
+			batch(c,
+				  "INSERT INTO inventory.element_ifl_ifa (element_id, element_ifl_name, type, address) VALUES (?, ?, ?, ?)",
+				  addedAddresses,
+				  (stmt, ifa) -> {
+					  stmt.setLong(1, elementId);
+					  stmt.setString(2, ifa.iflName);
+					  stmt.setString(3, ifa.value.getType());
+					  stmt.setString(4, ifa.value.getAddress());
+				  });
+			batch(c,
+				  "INSERT INTO inventory.element_ifl_vlan (element_id, element_ifl_name, vlan, tpid, vid) VALUES (?, ?, ?, ?, ?)",
+				  addedVlans,
+				  (stmt, vlan) -> {
+					  stmt.setLong(1, elementId);
+					  stmt.setString(2, vlan.iflName);
+					  stmt.setInt(3, vlan.value.getPosition());
+					  setInteger(stmt, 4, vlan.value.getTpid());
+					  setInteger(stmt, 5, vlan.value.getVid());
+				  });
+		} catch (SQLException e) {
+			throw new PersistenceException(e);
+		}
+	}
+	
+	private static void bind(PreparedStatement stmt, 
+							 LogicalInterfaceRow row, 
+							 Timestamp now, 
+							 long elementId) throws SQLException {
+		stmt.setString(1, row.getIfcName());
+		stmt.setString(2, row.getAlias());
+		stmt.setString(3, row.getRoutingInstance());
+		stmt.setString(4, row.getAdministrativeState());
+		stmt.setString(5, row.getOperationalState());
+		stmt.setTimestamp(6, now);
+		stmt.setLong(7, elementId);
+		stmt.setString(8, row.getIflName());
+	}
+	
+	private static void setInteger(PreparedStatement stmt, 
+								   int index, 
+								   Integer value) throws SQLException {
+		if(value != null) {
+			stmt.setInt(index, value);
+		} else {
+			stmt.setNull(index, INTEGER);
+		}
+	}
+	
+	private static List<InterfaceName> names(List<LogicalInterfaceRow> rows){
+		List<InterfaceName> names = new ArrayList<>(rows.size());
+		for(LogicalInterfaceRow row : rows) {
+			names.add(interfaceName(row.getIflName()));
+		}
+		return names;
+	}
+	
+}
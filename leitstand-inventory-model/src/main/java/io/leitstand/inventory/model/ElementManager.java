@@ -19,11 +19,18 @@ import static io.leitstand.commons.messages.MessageFactory.createMessage;
 import static io.leitstand.commons.model.ObjectUtil.isDifferent;
 import static io.leitstand.inventory.event.ElementOperationalStateChangedEvent.newElementOperationalStateChangedEvent;
 import static io.leitstand.inventory.event.ElementRemovedEvent.newElementRemovedEvent;
+import static io.leitstand.inventory.model.ConfigBlob.releaseElementConfigBlobs;
 import static io.leitstand.inventory.model.Element.findElementsByAssetId;
+import static io.leitstand.inventory.model.Element.findElementsByIds;
 import static io.leitstand.inventory.model.Element.findElementsByManagementIP;
 import static io.leitstand.inventory.model.Element.findElementsByName;
 import static io.leitstand.inventory.model.Element.findElementsByNameOrTag;
 import static io.leitstand.inventory.model.Element.findElementsBySerialNumber;
+import static io.leitstand.inventory.model.ElementSearchTable.SearchField.ASSET_ID;
+import static io.leitstand.inventory.model.ElementSearchTable.SearchField.MANAGEMENT_HOST;
+import static io.leitstand.inventory.model.ElementSearchTable.SearchField.NAME;
+import static io.leitstand.inventory.model.ElementSearchTable.SearchField.NAME_OR_TAG;
+import static io.leitstand.inventory.model.ElementSearchTable.SearchField.SERIAL_NUMBER;
 import static io.leitstand.inventory.model.Element_Config.removeAllConfigurations;
 import static io.leitstand.inventory.model.Element_ContainerInterface.removeIfcs;
 import static io.leitstand.inventory.model.Element_DnsRecordSet.removeDnsRecordSets;
@@ -33,12 +40,20 @@ import static io.leitstand.inventory.model.Element_PhysicalInterface.removeIfps;
 import static io.leitstand.inventory.model.Element_PhysicalInterface.removeNeighbors;
 import static io.leitstand.inventory.model.Element_Service.removeServices;
 import static io.leitstand.inventory.model.Element_ServiceContext.removeServiceContexts;
+import static io.leitstand.inventory.service.ElementSearchResult.searchResult;
 import static io.leitstand.inventory.service.ReasonCode.IVT0302I_ELEMENT_REMOVED;
 import static io.leitstand.inventory.service.ReasonCode.IVT0303E_ELEMENT_NOT_REMOVABLE;
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import javax.enterprise.context.Dependent;
@@ -47,9 +62,15 @@ import javax.inject.Inject;
 
 import io.leitstand.commons.ConflictException;
 import io.leitstand.commons.messages.Messages;
+import io.leitstand.commons.model.Query;
 import io.leitstand.commons.model.Repository;
 import io.leitstand.inventory.event.ElementEvent;
 import io.leitstand.inventory.event.ElementRemovedEvent;
+import io.leitstand.inventory.model.ElementSearchTable.Match;
+import io.leitstand.inventory.model.ElementSearchTable.SearchField;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementSearchCursor;
+import io.leitstand.inventory.service.ElementSearchResult;
 import io.leitstand.inventory.service.ElementSettings;
 import io.leitstand.inventory.service.OperationalState;
 
@@ -61,14 +82,17 @@ public class ElementManager {
 	private Repository repository;
 	private Event<ElementEvent> sink;
 	private Messages messages;
+	private ElementSearchIndex index;
 	
 	@Inject
 	public ElementManager(@Inventory Repository repository,
 						  Event<ElementEvent> sink,
-						  Messages messages) {
+						  Messages messages,
+						  ElementSearchIndex index) {
 		this.repository = repository;
 		this.sink = sink;
 		this.messages = messages;
+		this.index = index;
 	}
 	
 	protected ElementManager() {
@@ -123,6 +147,7 @@ public class ElementManager {
 		}
 		
 		
+		repository.execute(releaseElementConfigBlobs(element));
 		int removedConfigs = repository.execute(removeAllConfigurations(element));
 		LOG.fine(()->format("Removed %d configurations of %s %s (%s)",
 						    removedConfigs,
@@ -235,44 +260,116 @@ public class ElementManager {
 	}
 
 	public List<ElementSettings> filterElementsByName(String filter, int offset, int items) {
-		return unmodifiableList(repository.
-								executeMapListItem(findElementsByName(filter,
-																	  offset,
-																	  items),
-								ElementSettingsManager::settingsOf));
-	
+		return filterElements(NAME, 
+							  filter, 
+							  offset, 
+							  items, 
+							  findElementsByName(filter, offset, items));
 	}
 
 	public List<ElementSettings> filterElementsByNameOrTag(String filter, int offset, int items) {
-		return unmodifiableList(repository.
-				executeMapListItem(findElementsByNameOrTag(filter,
-													  offset,
-													  items),
-				ElementSettingsManager::settingsOf));
+		return filterElements(NAME_OR_TAG, 
+							  filter, 
+							  offset, 
+							  items, 
+							  findElementsByNameOrTag(filter, offset, items));
 	}
 
 	public List<ElementSettings> filterElementsByAssetId(String filter, int offset, int items) {
-		return unmodifiableList(repository.
-				executeMapListItem(findElementsByAssetId(filter,
-													     offset,
-													     items),
-				ElementSettingsManager::settingsOf));	
+		return filterElements(ASSET_ID, 
+							  filter, 
+							  offset, 
+							  items, 
+							  findElementsByAssetId(filter, offset, items));
 	}
 
 	public List<ElementSettings> filterElementsBySerialNumber(String filter, int offset, int items) {
-		return unmodifiableList(repository.
-				executeMapListItem(findElementsBySerialNumber(filter,
-													  		  offset,
-													  		  items),
-				ElementSettingsManager::settingsOf));
+		return filterElements(SERIAL_NUMBER, 
+							  filter, 
+							  offset, 
+							  items, 
+							  findElementsBySerialNumber(filter, offset, items));
 	}
 
 	public List<ElementSettings> filterElementsByManagementIP(String filter, int offset, int items) {
+		return filterElements(MANAGEMENT_HOST, 
+							  filter, 
+							  offset, 
+							  items, 
+							  findElementsByManagementIP(filter, offset, items));
+	}
+	
+	/**
+	 * Reads a page of the elements matching the specified filter.
+	 * The search index narrows down the elements to be read, if the index is able to evaluate the filter 
+	 * (see {@link ElementFilterQuery}). 
+	 * Otherwise the filter is evaluated by the specified filter query.
+	 * @param field the filtered element attributes
+	 * @param filter the filter expression
+	 * @param offset the number of elements to skip
+	 * @param items the maximum number of elements to return
+	 * @param filterQuery the query to evaluate the filter without search index
+	 * @return the element settings.
+	 */
+	private List<ElementSettings> filterElements(SearchField field, 
+												 String filter, 
+												 int offset, 
+												 int items, 
+												 Query<List<Element>> filterQuery){
+		// Read the load start before the index is filtered, 
+		// because the index can be reloaded in between.
+		Date since = index.getLoadStarted();
+		Set<ElementId> ids = index.filterElements(field, filter);
+		Query<List<Element>> query = filterQuery;
+		if(ids != null) {
+			query = ElementFilterQuery.filterElements(field, 
+													  filter, 
+													  ids, 
+													  since, 
+													  offset, 
+													  items);
+		}
 		return unmodifiableList(repository.
-				executeMapListItem(findElementsByManagementIP(filter,
-													  		  offset,
-													  		  items),
-				ElementSettingsManager::settingsOf));	
+								executeMapListItem(query,
+												   ElementSettingsManager::settingsOf));
+	}
+	
+	public ElementSearchResult searchElements(String term, ElementSearchCursor cursor, int limit) {
+		// Read one more match to find out whether a next page exists.
+		List<Match> matches = index.searchElements(term, cursor, limit+1);
+		ElementSearchCursor next = null;
+		if(matches.size() > limit && limit > 0) {
+			matches = matches.subList(0, limit);
+			next = matches.get(limit-1).getCursor();
+		}
+		return searchResult(settingsOf(matches.stream()
+											  .map(match -> match.getElement().getElementId())
+											  .collect(toList())),
+							next);
+	}
+	
+	/**
+	 * Reads the settings of the specified elements in a single query.
+	 * Elements that were removed after they had been found in the search index are omitted.
+	 * @param ids the element IDs
+	 * @return the element settings in the order of the given element IDs.
+	 */
+	private List<ElementSettings> settingsOf(List<ElementId> ids){
+		if(ids.isEmpty()) {
+			return emptyList();
+		}
+		Map<ElementId,Element> elements = new HashMap<>();
+		for(Element element : repository.execute(findElementsByIds(ids))) {
+			elements.put(element.getElementId(), element);
+		}
+		List<ElementSettings> settings = new ArrayList<>(ids.size());
+		for(ElementId id : ids) {
+			Element element = elements.get(id);
+			if(element != null) {
+				settings.add(ElementSettingsManager.settingsOf(element));
+			}
+		}
+		return unmodifiableList(settings);
 	}
 
 }
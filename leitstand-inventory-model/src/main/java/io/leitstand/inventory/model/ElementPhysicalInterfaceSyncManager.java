@@ -0,0 +1,509 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.commons.messages.MessageFactory.createMessage;
+import static io.leitstand.inventory.event.ElementPhysicalInterfaceRemovedEvent.newPhysicalInterfaceRemovedEvent;
+import static io.leitstand.inventory.event.ElementPhysicalInterfaceStoredEvent.newPhysicalInterfaceStoredEvent;
+import static io.leitstand.inventory.model.JdbcBatch.batch;
+import static io.leitstand.inventory.model.PhysicalInterfaceRow.submittedRow;
+import static io.leitstand.inventory.service.ElementId.elementId;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementPhysicalInterfaceNeighbor.newPhysicalInterfaceNeighbor;
+import static io.leitstand.inventory.service.ElementPhysicalInterfaceSyncResult.newPhysicalInterfaceSyncResult;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.ReasonCode.IVT0353E_ELEMENT_IFP_NOT_REMOVABLE;
+import static io.leitstand.inventory.service.ReasonCode.IVT0355W_ELEMENT_IFP_NEIGHBOR_NOT_FOUND;
+import static io.leitstand.inventory.service.ReasonCode.IVT0358I_ELEMENT_IFPS_SYNCED;
+import static java.lang.String.format;
+import static java.lang.String.join;
+import static java.sql.Types.BIGINT;
+import static java.sql.Types.REAL;
+import static java.util.Collections.nCopies;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+import javax.annotation.Resource;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import javax.persistence.PersistenceException;
+import javax.sql.DataSource;
+
+import io.leitstand.commons.ConflictException;
+import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.commons.messages.Messages;
+import io.leitstand.inventory.event.ElementPhysicalInterfaceEvent;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementName;
+import io.leitstand.inventory.service.ElementPhysicalInterfaceData;
+import io.leitstand.inventory.service.ElementPhysicalInterfaceNeighbor;
+import io.leitstand.inventory.service.ElementPhysicalInterfaceSubmission;
+import io.leitstand.inventory.service.ElementPhysicalInterfaceSyncResult;
+import io.leitstand.inventory.service.InterfaceName;
+
+/**
+ * Synchronizes the physical interfaces of an element with a complete snapshot of its physical interfaces.
+ * <p>
+ * The synchronization reads all physical and container interfaces of the element with two queries 
+ * and resolves all neighbor elements with a single query.
+ * The snapshot is compared with the stored physical interfaces in memory.
+ * Only added, modified and removed physical interfaces are written to the database by JDBC batch statements.
+ * Unmodified physical interfaces are neither written nor reported and do not fire an event.
+ */
+@Dependent
+public class ElementPhysicalInterfaceSyncManager {
+	
+	private static final Logger LOG = Logger.getLogger(ElementPhysicalInterfaceSyncManager.class.getName());
+	
+	/**
+	 * Reference to a neighbor element.
+	 */
+	private static final class Neighbor {
+		private final long id;
+		private final ElementId elementId;
+		private final ElementName elementName;
+		
+		Neighbor(long id, ElementId elementId, ElementName elementName){
+			this.id = id;
+			this.elementId = elementId;
+			this.elementName = elementName;
+		}
+	}
+	
+	@Inject
+	@Inventory
+	private DatabaseService db;
+	
+	@Resource(lookup="java:/jdbc/leitstand")
+	private DataSource ds;
+	
+	@Inject
+	private Messages messages;
+	
+	@Inject
+	private Event<ElementPhysicalInterfaceEvent> event;
+	
+	protected ElementPhysicalInterfaceSyncManager() {
+		// CDI
+	}
+	
+	protected ElementPhysicalInterfaceSyncManager(DatabaseService db,
+												  DataSource ds,
+												  Messages messages,
+												  Event<ElementPhysicalInterfaceEvent> event) {
+		this.db = db;
+		this.ds = ds;
+		this.messages = messages;
+		this.event = event;
+	}
+	
+	/**
+	 * Synchronizes the physical interfaces of the given element with the given snapshot.
+	 * The last submission wins if the snapshot contains multiple submissions for the same physical interface.
+	 * @param element the element
+	 * @param submissions the snapshot of all physical interfaces
+	 * @return the added, updated and removed physical interfaces
+	 * @throws ConflictException if a removed physical interface has logical interfaces
+	 */
+	public ElementPhysicalInterfaceSyncResult syncPhysicalInterfaces(Element element, 
+																	 List<ElementPhysicalInterfaceSubmission> submissions) {
+		Map<String,PhysicalInterfaceRow> stored = loadPhysicalInterfaces(element);
+		Set<String> ifcs = loadContainerInterfaces(element);
+		Map<String,Neighbor> neighbors = loadNeighbors(element, stored.values(), submissions);
+		
+		// Compute the rows to be written.
+		Map<String,PhysicalInterfaceRow> submitted = new LinkedHashMap<>();
+		for(ElementPhysicalInterfaceSubmission submission : submissions) {
+			Long neighborId = null;
+			if(submission.getNeighbor() != null) {
+				Neighbor neighbor = neighbors.get(ElementName.toString(submission.getNeighbor().getElementName()));
+				if(neighbor != null) {
+					neighborId = neighbor.id;
+				} else {
+					LOG.fine(()->format("%s: Cannot register neighbor for %s at %s. Neighbor element %s does not exist!",
+										IVT0355W_ELEMENT_IFP_NEIGHBOR_NOT_FOUND.getReasonCode(),
+										submission.getIfpName(),
+										element.getElementName(),
+										submission.getNeighbor().getElementName()));
+					messages.add(createMessage(IVT0355W_ELEMENT_IFP_NEIGHBOR_NOT_FOUND,
+											   element.getElementName(),
+											   submission.getIfpName(),
+											   submission.getNeighbor().getElementName()));	
+				}
+			}
+			PhysicalInterfaceRow row = submittedRow(submission, neighborId);
+			submitted.remove(row.getIfpName());
+			submitted.put(row.getIfpName(), row);
+		}
+		
+		List<PhysicalInterfaceRow> added = new ArrayList<>();
+		List<PhysicalInterfaceRow> updated = new ArrayList<>();
+		for(PhysicalInterfaceRow row : submitted.values()) {
+			PhysicalInterfaceRow current = stored.remove(row.getIfpName());
+			if(current == null) {
+				added.add(row);
+			} else if(!current.equals(row)) {
+				updated.add(row);
+			}
+		}
+		// All remaining physical interfaces are not contained in the snapshot
+		List<PhysicalInterfaceRow> removed = new ArrayList<>(stored.values());
+		
+		// Container interfaces of removed physical interfaces are removed unless referenced by a submitted physical interface.
+		Set<String> referencedIfcs = new HashSet<>();
+		for(PhysicalInterfaceRow row : submitted.values()) {
+			referencedIfcs.add(row.getIfcName());
+		}
+		Set<String> orphanedIfcs = new HashSet<>();
+		for(PhysicalInterfaceRow row : removed) {
+			if(row.getIfcName() != null && !referencedIfcs.contains(row.getIfcName())) {
+				orphanedIfcs.add(row.getIfcName());
+			}
+		}
+		verifyRemovable(element, removed, orphanedIfcs);
+		List<String> missingIfcs = new ArrayList<>();
+		for(String ifcName : referencedIfcs) {
+			if(ifcName != null && !ifcs.contains(ifcName)) {
+				missingIfcs.add(ifcName);
+			}
+		}
+		
+		write(element, 
+			  missingIfcs, 
+			  added, 
+			  updated, 
+			  removed, 
+			  orphanedIfcs);
+		
+		// Report and publish all modifications.
+		Map<Long,Neighbor> neighborsById = new HashMap<>();
+		for(Neighbor neighbor : neighbors.values()) {
+			neighborsById.put(neighbor.id, neighbor);
+		}
+		Date now = new Date();
+		List<ElementPhysicalInterfaceData> addedIfps = stored(element, added, neighborsById, now);
+		List<ElementPhysicalInterfaceData> updatedIfps = stored(element, updated, neighborsById, now);
+		List<InterfaceName> removedIfps = new ArrayList<>(removed.size());
+		for(PhysicalInterfaceRow row : removed) {
+			ElementPhysicalInterfaceData ifp = row.toPhysicalInterfaceData(neighbor(row, neighborsById));
+			event.fire(newPhysicalInterfaceRemovedEvent()
+					   .withGroupId(element.getGroupId())
+					   .withGroupName(element.getGroupName())
+					   .withGroupType(element.getGroupType())
+					   .withElementId(element.getElementId())
+					   .withElementName(element.getElementName())
+					   .withElementAlias(element.getElementAlias())
+					   .withElementRole(element.getElementRoleName())
+					   .withAdministrativeState(element.getAdministrativeState())
+					   .withOperationalState(element.getOperationalState())
+					   .withDateModified(element.getDateModified())
+					   .withInterfaceName(ifp.getIfpName())
+					   .withInterfaceOperationalState(ifp.getOperationalState())
+					   .withInterfaceAdministrativeState(ifp.getAdministrativeState())
+					   .withInterfaceDateModified(now)
+					   .withNeighbor(ifp.getNeighbor())
+					   .build());
+			removedIfps.add(ifp.getIfpName());
+		}
+		
+		LOG.fine(() -> format("%s: Physical interfaces of element %s synchronized: %d added, %d updated, %d removed.",
+							  IVT0358I_ELEMENT_IFPS_SYNCED.getReasonCode(),
+							  element.getElementName(),
+							  added.size(),
+							  updated.size(),
+							  removed.size()));
+		messages.add(createMessage(IVT0358I_ELEMENT_IFPS_SYNCED, 
+								   element.getElementName(),
+								   added.size(),
+								   updated.size(),
+								   removed.size()));
+		
+		return newPhysicalInterfaceSyncResult()
+			   .withGroupId(element.getGroupId())
+			   .withGroupName(element.getGroupName())
+			   .withGroupType(element.getGroupType())
+			   .withElementId(element.getElementId())
+			   .withElementName(element.getElementName())
+			   .withElementAlias(element.getElementAlias())
+			   .withElementRole(element.getElementRoleName())
+			   .withAdministrativeState(element.getAdministrativeState())
+			   .withOperationalState(element.getOperationalState())
+			   .withDateModified(element.getDateModified())
+			   .withAddedInterfaces(addedIfps)
+			   .withUpdatedInterfaces(updatedIfps)
+			   .withRemovedInterfaces(removedIfps)
+			   .build();
+	}
+	
+	private Map<String,PhysicalInterfaceRow> loadPhysicalInterfaces(Element element){
+		Map<String,PhysicalInterfaceRow> ifps = new HashMap<>();
+		db.processQuery(prepare("SELECT name, element_ifc_name, alias, category, bwvalue, bwunit, macaddr, admstate, opstate, neighbor_element_id, neighbor_element_ifp_name "+
+								"FROM inventory.element_ifp "+
+								"WHERE element_id = ?", 
+								element.getId()), 
+						rs -> {
+							float bwValue = rs.getFloat(5);
+							Float bandwidth = rs.wasNull() ? null : bwValue;
+							long neighborId = rs.getLong(10);
+							Long neighbor = rs.wasNull() ? null : neighborId;
+							ifps.put(rs.getString(1), 
+									 new PhysicalInterfaceRow(rs.getString(1),
+											 				  rs.getString(2),
+											 				  rs.getString(3),
+											 				  rs.getString(4),
+											 				  bandwidth,
+											 				  rs.getString(6),
+											 				  rs.getString(7),
+											 				  rs.getString(8),
+											 				  rs.getString(9),
+											 				  neighbor,
+											 				  neighbor != null ? rs.getString(11) : null));
+						});
+		return ifps;
+	}
+	
+	private Set<String> loadContainerInterfaces(Element element){
+		return new HashSet<>(db.executeQuery(prepare("SELECT name FROM inventory.element_ifc WHERE element_id = ?",
+													 element.getId()), 
+											 rs -> rs.getString(1)));
+	}
+	
+	private Map<String,Neighbor> loadNeighbors(Element element, 
+											   Iterable<PhysicalInterfaceRow> stored,
+											   List<ElementPhysicalInterfaceSubmission> submissions){
+		Set<Object> neighborIds = new HashSet<>();
+		for(PhysicalInterfaceRow row : stored) {
+			if(row.getNeighborId() != null) {
+				neighborIds.add(row.getNeighborId());
+			}
+		}
+		Set<Object> neighborNames = new HashSet<>();
+		for(ElementPhysicalInterfaceSubmission submission : submissions) {
+			if(submission.getNeighbor() != null && submission.getNeighbor().getElementName() != null) {
+				neighborNames.add(ElementName.toString(submission.getNeighbor().getElementName()));
+			}
+		}
+		if(neighborIds.isEmpty() && neighborNames.isEmpty()) {
+			return new HashMap<>();
+		}
+		
+		// Resolve neighbor elements referred by name or alias in the snapshot and 
+		// neighbors of stored interfaces, which are needed to publish removed interfaces.
+		List<Object> args = new ArrayList<>(2 * neighborNames.size() + neighborIds.size());
+		args.addAll(neighborNames);
+		args.addAll(neighborNames);
+		args.addAll(neighborIds);
+		String sql = "SELECT id, uuid, name, alias FROM inventory.element WHERE ";
+		if(!neighborNames.isEmpty()) {
+			sql += "name IN ("+placeholders(neighborNames.size())+") "+
+				   "OR alias IN ("+placeholders(neighborNames.size())+") ";
+		}
+		if(!neighborIds.isEmpty()) {
+			sql += (neighborNames.isEmpty() ? "" : "OR ")+"id IN ("+placeholders(neighborIds.size())+")";
+		}
+		Map<String,Neighbor> neighbors = new HashMap<>();
+		Map<String,Neighbor> aliases = new HashMap<>();
+		db.processQuery(prepare(sql, args), 
+						rs -> {
+							Neighbor neighbor = new Neighbor(rs.getLong(1),
+															 elementId(rs.getString(2)),
+															 elementName(rs.getString(3)));
+							neighbors.put(rs.getString(3), neighbor);
+							if(rs.getString(4) != null) {
+								aliases.put(rs.getString(4), neighbor);
+							}
+						});
+		// Like the element lookup, prefer an element name over an element alias.
+		for(Map.Entry<String,Neighbor> alias : aliases.entrySet()) {
+			neighbors.putIfAbsent(alias.getKey(), alias.getValue());
+		}
+		return neighbors;
+	}
+	
+	private void verifyRemovable(Element element, 
+								 List<PhysicalInterfaceRow> removed, 
+								 Set<String> orphanedIfcs) {
+		if(orphanedIfcs.isEmpty()) {
+			return;
+		}
+		Map<String,Long> ifls = new TreeMap<>();
+		db.processQuery(prepare("SELECT element_ifc_name, count(*) "+
+								"FROM inventory.element_ifl "+
+								"WHERE element_id = ? "+
+								"GROUP BY element_ifc_name",
+								element.getId()),
+						rs -> ifls.put(rs.getString(1), rs.getLong(2)));
+		for(PhysicalInterfaceRow row : removed) {
+			Long iflCount = ifls.get(row.getIfcName());
+			if(iflCount != null && orphanedIfcs.contains(row.getIfcName())) {
+				LOG.fine(() -> format("%s: Cannot remove physical interface %s at element %s because of existing logical interfaces", 
+						  			  IVT0353E_ELEMENT_IFP_NOT_REMOVABLE.getReasonCode(),
+						  			  row.getIfpName(),
+						  			  element.getElementName()));
+				throw new ConflictException(IVT0353E_ELEMENT_IFP_NOT_REMOVABLE,
+											"Cannot remove physical interface {0} because of {1} assigned logical interfaces.", 
+											row.getIfpName(),
+											iflCount);
+			}
+		}
+	}
+	
+	private void write(Element element,
+					   List<String> missingIfcs,
+					   List<PhysicalInterfaceRow> added,
+					   List<PhysicalInterfaceRow> updated,
+					   List<PhysicalInterfaceRow> removed,
+					   Set<String> orphanedIfcs) {
+		if(missingIfcs.isEmpty() && added.isEmpty() && updated.isEmpty() && removed.isEmpty()) {
+			return;
+		}
+		long elementId = element.getId();
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		try (Connection c = ds.getConnection()){
+			batch(c, 
+				  "INSERT INTO inventory.element_ifc (element_id, name) VALUES (?, ?)",
+				  missingIfcs,
+				  (stmt, ifcName) -> {
+					  stmt.setLong(1, elementId);
+					  stmt.setString(2, ifcName);
+				  });
+			batch(c,
+				  "INSERT INTO inventory.element_ifp "+
+				  "(element_ifc_name, alias, category, bwvalue, bwunit, macaddr, admstate, opstate, neighbor_element_id, neighbor_element_ifp_name, tsmodified, element_id, name, tscreated) "+
+				  "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+				  added,
+				  (stmt, row) -> {
+					  bind(stmt, row, now, elementId);
+					  stmt.setTimestamp(14, now);
+				  });
+			batch(c,
+				  "UPDATE inventory.element_ifp "+
+				  "SET element_ifc_name = ?, alias = ?, category = ?, bwvalue = ?, bwunit = ?, macaddr = ?, admstate = ?, opstate = ?, "+
+				  "neighbor_element_id = ?, neighbor_element_ifp_name = ?, tsmodified = ? "+
+				  "WHERE element_id = ? AND name = ?",
+				  updated,
+				  (stmt, row) -> bind(stmt, row, now, elementId));
+			batch(c,
+				  "DELETE FROM inventory.element_ifp WHERE element_id = ? AND name = ?",
+				  removed,
+				  (stmt, row) -> {
+					  stmt.setLong(1, elementId);
+					  stmt.setString(2, row.getIfpName());
+				  });
+			batch(c,
+				  "DELETE FROM inventory.element_ifc WHERE element_id = ? AND name = ?",
+				  new ArrayList<>(orphanedIfcs),
+				  (stmt, ifcName) -> {
+					  stmt.setLong(1, elementId);
+					  stmt.setString(2, ifcName);
+				  });
+		} catch (SQLException e) {
+			throw new PersistenceException(e);
+		}
+	}
+	
+	private static void bind(PreparedStatement stmt, 
+							 PhysicalInterfaceRow row, 
+							 Timestamp now, 
+							 long elementId) throws SQLException {
+		stmt.setString(1, row.getIfcName());
+		stmt.setString(2, row.getAlias());
+		stmt.setString(3, row.getCategory());
+		if(row.getBandwidthValue() != null) {
+			stmt.setFloat(4, row.getBandwidthValue());
+		} else {
+			stmt.setNull(4, REAL);
+		}
+		stmt.setString(5, row.getBandwidthUnit());
+		stmt.setString(6, row.getMacAddress());
+		stmt.setString(7, row.getAdministrativeState());
+		stmt.setString(8, row.getOperationalState());
+		if(row.getNeighborId() != null) {
+			stmt.setLong(9, row.getNeighborId());
+		} else {
+			stmt.setNull(9, BIGINT);
+		}
+		stmt.setString(10, row.getNeighborIfpName());
+		stmt.setTimestamp(11, now);
+		stmt.setLong(12, elementId);
+		stmt.setString(13, row.getIfpName());
+	}
+	
+	private List<ElementPhysicalInterfaceData> stored(Element element, 
+													  List<PhysicalInterfaceRow> rows, 
+													  Map<Long,Neighbor> neighbors,
+													  Date now){
+		List<ElementPhysicalInterfaceData> ifps = new ArrayList<>(rows.size());
+		for(PhysicalInterfaceRow row : rows) {
+			ElementPhysicalInterfaceData ifp = row.toPhysicalInterfaceData(neighbor(row, neighbors));
+			event.fire(newPhysicalInterfaceStoredEvent()
+					   .withGroupId(element.getGroupId())
+					   .withGroupName(element.getGroupName())
+					   .withGroupType(element.getGroupType())
+					   .withElementId(element.getElementId())
+					   .withElementName(element.getElementName())
+					   .withElementAlias(element.getElementAlias())
+					   .withElementRole(element.getElementRoleName())
+					   .withAdministrativeState(element.getAdministrativeState())
+					   .withOperationalState(element.getOperationalState())
+					   .withDateModified(element.getDateModified())
+					   .withInterfaceName(ifp.getIfpName())
+					   .withInterfaceOperationalState(ifp.getOperationalState())
+					   .withInterfaceAdministrativeState(ifp.getAdministrativeState())
+					   .withInterfaceDateModified(now)
+					   .withNeighbor(ifp.getNeighbor())
+					   .build());
+			ifps.add(ifp);
+		}
+		return ifps;
+	}
+	
+	private static ElementPhysicalInterfaceNeighbor neighbor(PhysicalInterfaceRow row, 
+															 Map<Long,Neighbor> neighbors) {
+		if(row.getNeighborId() == null) {
+			return null;
+		}
+		Neighbor neighbor = neighbors.get(row.getNeighborId());
+		if(neighbor == null) {
+			return null;
+		}
+		return newPhysicalInterfaceNeighbor()
+			   .withElementId(neighbor.elementId)
+			   .withElementName(neighbor.elementName)
+			   .withInterfaceName(interfaceName(row.getNeighborIfpName()))
+			   .build();
+	}
+	
+	private static String placeholders(int count) {
+		return join(",", nCopies(count, "?"));
+	}
+	
+}
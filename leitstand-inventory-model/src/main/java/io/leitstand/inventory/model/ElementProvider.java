@@ -15,11 +15,17 @@
  */
 package io.leitstand.inventory.model;
 
+import static io.leitstand.inventory.model.CachedElement.cachedElement;
 import static io.leitstand.inventory.model.Element.findElementById;
 import static io.leitstand.inventory.model.Element.findElementByName;
+import static io.leitstand.inventory.model.Element.findElementsByIds;
+import static io.leitstand.inventory.model.Element.findElementsByNames;
 import static io.leitstand.inventory.service.ReasonCode.IVT0300E_ELEMENT_NOT_FOUND;
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.logging.Logger;
 
 import javax.enterprise.context.Dependent;
@@ -36,20 +42,43 @@ public class ElementProvider {
 	private static final Logger LOG = Logger.getLogger(ElementProvider.class.getName());
 	
 	private Repository repository;
+	
+	private ElementCache cache;
 
 	protected ElementProvider() {
 		// CDI
 	}
 	
+	public ElementProvider(Repository repository) {
+		this(repository, null);
+	}
+	
 	@Inject
-	public ElementProvider(@Inventory Repository repository) {
+	public ElementProvider(@Inventory Repository repository, 
+						   ElementCache cache) {
 		this.repository = repository;
+		this.cache = cache;
 	}
 	
 
 
 	public Element tryFetchElement(ElementId elementId) {
-		return repository.execute(findElementById(elementId));
+		if(cache != null) {
+			CachedElement cached = cache.get(elementId);
+			if(cached != null) {
+				Element element = repository.find(Element.class, cached.getId());
+				if(element != null && elementId.equals(element.getElementId())) {
+					return element;
+				}
+				// Element was removed meanwhile.
+				cache.evict(elementId);
+			}
+		}
+		return loadElement(elementId);
+	}
+	
+	private Element loadElement(ElementId elementId) {
+		return cache(repository.execute(findElementById(elementId)));
 	}
 	
 	public Element fetchElement(ElementId elementId) {
@@ -75,7 +104,79 @@ public class ElementProvider {
 	}
 	
 	public Element tryFetchElement(ElementName elementName) {
-		return repository.execute(findElementByName(elementName));
+		if(cache != null) {
+			CachedElement cached = cache.get(elementName);
+			if(cached != null) {
+				Element element = repository.find(Element.class, cached.getId());
+				if(element != null && cachedElement(element).isNamed(elementName)) {
+					return element;
+				}
+				// Element was renamed or removed meanwhile.
+				cache.evict(elementName);
+			}
+		}
+		return loadElement(elementName);
+	}
+	
+	private Element loadElement(ElementName elementName) {
+		return cache(repository.execute(findElementByName(elementName)));
+	}
+	
+	private Element cache(Element element) {
+		if(cache != null && element != null) {
+			cache.cache(cachedElement(element));
+		}
+		return element;
+	}
+	
+	/**
+	 * Returns the identity and envelope data of the specified element.
+	 * The element is only loaded if it is not cached.
+	 * @param elementId the element ID
+	 * @return the cached element.
+	 * @throws EntityNotFoundException if the element does not exist.
+	 */
+	public CachedElement fetchCachedElement(ElementId elementId) {
+		if(cache != null) {
+			CachedElement cached = cache.get(elementId);
+			if(cached != null) {
+				return cached;
+			}
+		}
+		Element element = loadElement(elementId);
+		if(element == null) {
+			LOG.fine(() -> format("%s: Element %s not found.", 
+								  IVT0300E_ELEMENT_NOT_FOUND.getReasonCode(),
+								  elementId));
+			throw new EntityNotFoundException(IVT0300E_ELEMENT_NOT_FOUND,
+											  elementId);
+		}
+		return cachedElement(element);
+	}
+	
+	/**
+	 * Returns the identity and envelope data of the element with the specified name or alias.
+	 * The element is only loaded if it is not cached.
+	 * @param elementName the element name or alias
+	 * @return the cached element.
+	 * @throws EntityNotFoundException if the element does not exist.
+	 */
+	public CachedElement fetchCachedElement(ElementName elementName) {
+		if(cache != null) {
+			CachedElement cached = cache.get(elementName);
+			if(cached != null) {
+				return cached;
+			}
+		}
+		Element element = loadElement(elementName);
+		if(element == null) {
+			LOG.fine(() -> format("%s: Element %s not found.", 
+								  IVT0300E_ELEMENT_NOT_FOUND.getReasonCode(),
+								  elementName));
+			throw new EntityNotFoundException(IVT0300E_ELEMENT_NOT_FOUND,
+											  elementName);
+		}
+		return cachedElement(element);
 	}
 	
 	public Element fetchElement(ElementName elementName) {
@@ -89,6 +190,19 @@ public class ElementProvider {
 		}
 		return element;
 	}
-
+	
+	public List<Element> tryFetchElementsById(Collection<ElementId> elementIds) {
+		if(elementIds.isEmpty()) {
+			return emptyList();
+		}
+		return repository.execute(findElementsByIds(elementIds));
+	}
+	
+	public List<Element> tryFetchElementsByName(Collection<ElementName> elementNames) {
+		if(elementNames.isEmpty()) {
+			return emptyList();
+		}
+		return repository.execute(findElementsByNames(elementNames));
+	}
 
 }
@@ -16,6 +16,7 @@
 package io.leitstand.inventory.model;
 
 import static io.leitstand.commons.messages.MessageFactory.createMessage;
+import static io.leitstand.commons.model.ObjectUtil.isDifferent;
 import static io.leitstand.inventory.model.ElementRole.countElements;
 import static io.leitstand.inventory.model.ElementRole.findRoles;
 import static io.leitstand.inventory.service.ElementRoleSettings.newElementRoleSettings;
@@ -45,15 +46,24 @@ public class ElementRoleManager  {
 	
 	private Messages messages;
 	
+	private ElementCacheInvalidator cache;
+	
 	protected ElementRoleManager() {
 		// CDI
 	}
 	
+	protected ElementRoleManager(Repository repository,
+								 Messages messages) {
+		this(repository,messages,null);
+	}
+	
 	@Inject
 	protected ElementRoleManager(@Inventory Repository repository,
-								 Messages messages) {
+								 Messages messages,
+								 ElementCacheInvalidator cache) {
 		this.repository = repository;
 		this.messages = messages;
+		this.cache = cache;
 	}
 	
 	public List<ElementRoleSettings> getElementRoles() {
@@ -101,6 +111,10 @@ public class ElementRoleManager  {
 	}
 	
 	public void storeElementRole(ElementRole role, ElementRoleSettings settings) {
+		if(cache != null && role.getRoleName() != null && isDifferent(role.getRoleName(), settings.getRoleName())) {
+			// The role name is part of the cached envelope of all elements of the role.
+			cache.invalidateAll();
+		}
 		role.setRoleName(settings.getRoleName());
 		role.setDisplayName(settings.getDisplayName());
 		role.setDescription(settings.getDescription());
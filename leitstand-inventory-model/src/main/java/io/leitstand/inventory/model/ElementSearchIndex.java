@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.ElementSearchTable.isIndexable;
+import static io.leitstand.inventory.service.ReasonCode.IVT8170I_ELEMENT_SEARCH_INDEX_STARTED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8171I_ELEMENT_SEARCH_INDEX_STOPPED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8172E_ELEMENT_SEARCH_INDEX_FAILED;
+import static javax.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+
+import java.util.List;
+import java.util.Set;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import io.leitstand.inventory.event.ElementAddedEvent;
+import io.leitstand.inventory.event.ElementClonedEvent;
+import io.leitstand.inventory.event.ElementRemovedEvent;
+import io.leitstand.inventory.event.ElementSettingsUpdatedEvent;
+import io.leitstand.inventory.model.ElementSearchTable.ElementRef;
+import io.leitstand.inventory.model.ElementSearchTable.Match;
+import io.leitstand.inventory.model.ElementSearchTable.SearchField;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementSearchCursor;
+
+/**
+ * Maintains the searchable element attributes in memory.
+ * <p>
+ * The index evaluates the element filters without scanning the element table (see {@link ElementSearchTable})
+ * and provides a ranked type-ahead search over the element name, alias, tags, serial number, asset ID and management hostnames.
+ * The index only stores the element IDs and searchable attributes.
+ * The element settings of the matching elements are read from the database by element ID.
+ * The database orders and pages the matching elements of a filter in order to apply the same collation as the SQL queries.
+ * Filters containing regular expression meta characters other than the <code>.</code> wildcard
+ * or matching more than 1000 elements are executed by the database instead.
+ * <p>
+ * The index is loaded at startup.
+ * A committed element added, element settings updated or element cloned event reloads the attributes of the element.
+ * A committed element removed event removes the element.
+ * Element events are only observed by the inventory instance that modified the element.
+ * The index is therefore reloaded every 60 seconds to pick up the element changes of other inventory instances 
+ * and renamed element groups.
+ * The reload interval can be changed by the <code>LEITSTAND_ELEMENT_SEARCH_INDEX_RELOAD_INTERVAL</code> system property (in seconds).
+ * The index is loaded on demand, if it is requested before the startup load completed.
+ */
+@ApplicationScoped
+public class ElementSearchIndex extends ReloadableIndex<ElementSearchTable> {
+
+	// Upper bound of the element IDs passed to the query reading the matching elements.
+	private static final int MAX_FILTER_MATCHES = 1000;
+
+	@Inject
+	private ElementSearchIndexService service;
+	
+	protected ElementSearchIndex() {
+		// CDI
+		this(null);
+	}
+	
+	ElementSearchIndex(ElementSearchIndexService service){
+		super("Element search index",
+			  "LEITSTAND_ELEMENT_SEARCH_INDEX_RELOAD_INTERVAL",
+			  60,
+			  IVT8170I_ELEMENT_SEARCH_INDEX_STARTED,
+			  IVT8171I_ELEMENT_SEARCH_INDEX_STOPPED,
+			  IVT8172E_ELEMENT_SEARCH_INDEX_FAILED);
+		this.service = service;
+	}
+	
+	/**
+	 * Adds the attributes of an added element.
+	 * @param event the element added event
+	 */
+	public void elementAdded(@Observes(during=AFTER_SUCCESS) ElementAddedEvent event) {
+		reloadElement(event.getElementId());
+	}
+	
+	/**
+	 * Reloads the attributes of an updated element.
+	 * @param event the element settings updated event
+	 */
+	public void elementSettingsUpdated(@Observes(during=AFTER_SUCCESS) ElementSettingsUpdatedEvent event) {
+		reloadElement(event.getElementId());
+	}
+	
+	/**
+	 * Adds the attributes of a cloned element.
+	 * @param event the element cloned event
+	 */
+	public void elementCloned(@Observes(during=AFTER_SUCCESS) ElementClonedEvent event) {
+		reloadElement(event.getCloneId());
+	}
+	
+	/**
+	 * Removes a removed element.
+	 * @param event the element removed event
+	 */
+	public void elementRemoved(@Observes(during=AFTER_SUCCESS) ElementRemovedEvent event) {
+		ElementId elementId = event.getElementId();
+		apply(table -> table.remove(elementId));
+	}
+	
+	private void reloadElement(ElementId elementId) {
+		ElementRef element = service.loadElement(elementId);
+		apply(table -> {
+			if(element == null) {
+				table.remove(elementId);
+			} else {
+				table.put(element);
+			}
+		});
+	}
+	
+	/**
+	 * Returns the IDs of all elements matching the specified filter.
+	 * @param field the element attributes to be filtered
+	 * @param filter the filter expression
+	 * @return the IDs of the matching elements or <code>null</code> if the filter cannot be evaluated by the index 
+	 * 		   or matches more than 1000 elements.
+	 */
+	Set<ElementId> filterElements(SearchField field, String filter){
+		if(!isIndexable(filter)) {
+			return null;
+		}
+		synchronized(this) {
+			return index().filter(field, filter, MAX_FILTER_MATCHES);
+		}
+	}
+	
+	/**
+	 * Returns the ranked matches of the specified search term.
+	 * @param term the search term
+	 * @param cursor the cursor of the previous page or <code>null</code> to read the first page
+	 * @param limit the maximum number of matches to return
+	 * @return the ranked matches following the cursor.
+	 */
+	synchronized List<Match> searchElements(String term, ElementSearchCursor cursor, int limit){
+		return index().search(term, cursor, limit);
+	}
+	
+	@Override
+	protected ElementSearchTable load() {
+		ElementSearchTable loaded = new ElementSearchTable();
+		service.loadElements().forEach(loaded::put);
+		return loaded;
+	}
+	
+	public synchronized int getElementCount() {
+		ElementSearchTable table = current();
+		return table != null ? table.size() : 0;
+	}
+	
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.inventory.service.ElementAlias.elementAlias;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementId.elementId;
+import static io.leitstand.inventory.service.ElementName.elementName;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.commons.model.Service;
+import io.leitstand.inventory.model.ElementSearchTable.ElementRef;
+import io.leitstand.inventory.service.ElementId;
+
+/**
+ * Loads the searchable element attributes of the {@link ElementSearchIndex}.
+ */
+@Service
+public class ElementSearchIndexService {
+	
+	private static final String SELECT_ELEMENTS = "SELECT e.uuid, g.name, e.name, e.alias, e.serial, e.assetid "+
+												  "FROM inventory.element e "+
+												  "JOIN inventory.elementgroup g "+
+												  "ON e.elementgroup_id = g.id ";
+	
+	private static final String SELECT_TAGS = "SELECT e.uuid, t.tag "+
+											  "FROM inventory.element_tag t "+
+											  "JOIN inventory.element e "+
+											  "ON t.element_id = e.id ";
+	
+	private static final String SELECT_HOSTNAMES = "SELECT e.uuid, m.hostname "+
+												   "FROM inventory.element_management_interface m "+
+												   "JOIN inventory.element e "+
+												   "ON m.element_id = e.id ";
+
+	/**
+	 * The element attributes read from the database.
+	 */
+	private static final class Row {
+		private final String[] columns;
+		private final List<String> tags = new ArrayList<>();
+		private final List<String> hostnames = new ArrayList<>();
+		
+		Row(String[] columns){
+			this.columns = columns;
+		}
+		
+		ElementRef toElementRef() {
+			return new ElementRef(elementId(columns[0]),
+								  groupName(columns[1]),
+								  elementName(columns[2]),
+								  elementAlias(columns[3]),
+								  tags,
+								  columns[4],
+								  columns[5],
+								  hostnames);
+		}
+	}
+	
+	@Inject
+	@Inventory
+	private DatabaseService db;
+	
+	protected ElementSearchIndexService() {
+		// CDI
+	}
+	
+	protected ElementSearchIndexService(DatabaseService db) {
+		this.db = db;
+	}
+	
+	/**
+	 * Loads the searchable attributes of all elements.
+	 * @return the searchable attributes of all elements.
+	 */
+	public List<ElementRef> loadElements(){
+		return loadElements("");
+	}
+	
+	/**
+	 * Loads the searchable attributes of the specified element.
+	 * @param elementId the element ID
+	 * @return the searchable attributes or <code>null</code> if the element does not exist.
+	 */
+	public ElementRef loadElement(ElementId elementId) {
+		List<ElementRef> elements = loadElements("WHERE e.uuid=?", elementId.getValue());
+		return elements.isEmpty() ? null : elements.get(0);
+	}
+	
+	private List<ElementRef> loadElements(String where, Object... args){
+		Map<String,Row> rows = new LinkedHashMap<>();
+		db.processQuery(prepare(SELECT_ELEMENTS+where, args), 
+						rs -> rows.put(rs.getString(1), 
+									   new Row(new String[] {rs.getString(1),
+															 rs.getString(2),
+															 rs.getString(3),
+															 rs.getString(4),
+															 rs.getString(5),
+															 rs.getString(6)})));
+		db.processQuery(prepare(SELECT_TAGS+where, args), 
+						rs -> {
+							Row row = rows.get(rs.getString(1));
+							if(row != null) {
+								row.tags.add(rs.getString(2));
+							}
+						});
+		db.processQuery(prepare(SELECT_HOSTNAMES+where, args), 
+						rs -> {
+							Row row = rows.get(rs.getString(1));
+							if(row != null && rs.getString(2) != null) {
+								row.hostnames.add(rs.getString(2));
+							}
+						});
+		List<ElementRef> elements = new ArrayList<>(rows.size());
+		rows.values().forEach(row -> elements.add(row.toElementRef()));
+		return elements;
+	}
+
+}
@@ -0,0 +1,523 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.ElementSearchCursor.cursorOf;
+import static java.lang.Character.isLetterOrDigit;
+import static java.lang.Math.max;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.comparingInt;
+import static java.util.Locale.ROOT;
+import static java.util.regex.Pattern.quote;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import io.leitstand.inventory.service.ElementAlias;
+import io.leitstand.inventory.service.ElementGroupName;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementName;
+import io.leitstand.inventory.service.ElementSearchCursor;
+
+/**
+ * An in-memory search table of the searchable element attributes.
+ * <p>
+ * The table stores the name, alias, tags, serial number, asset ID and management interface hostnames of all elements
+ * and maintains an inverted index of all lower-case trigrams of these attributes.
+ * A search term with at least three characters reads the candidate elements from the shortest posting list of its trigrams 
+ * and verifies every candidate against the search term.
+ * Shorter search terms scan all elements.
+ * <p>
+ * Posting lists are append-only.
+ * An updated or removed element leaves a stale posting, which is skipped when the candidates are verified.
+ * All posting lists are rebuilt once the number of stale postings exceeds the number of elements.
+ * <p>
+ * The table supports two kinds of queries:
+ * <ul>
+ * 	<li>{@link #filter(SearchField, String, int)} evaluates the element filters of the {@link ElementManager} 
+ * 		with the same semantics as the SQL queries and returns the IDs of the matching elements. 
+ * 		Only filters without regular expression meta characters except the <code>.</code> wildcard can be evaluated by the table 
+ * 		(see {@link #isIndexable(String)}).</li>
+ * 	<li>{@link #search(String, ElementSearchCursor, int)} evaluates a case-insensitive search term and ranks the matches.</li>
+ * </ul>
+ * The table is not thread-safe.
+ */
+final class ElementSearchTable {
+	
+	/**
+	 * The element attributes of an element filter.
+	 */
+	enum SearchField {
+		/** Element name and element alias.*/
+		NAME,
+		/** Element name, element alias and element tags.*/
+		NAME_OR_TAG,
+		/** Element serial number.*/
+		SERIAL_NUMBER,
+		/** Element asset ID.*/
+		ASSET_ID,
+		/** Element management interface hostnames.*/
+		MANAGEMENT_HOST
+	}
+	
+	/** The search term is equal to an element attribute.*/
+	static final int EXACT_MATCH = 0;
+	/** An element attribute starts with the search term.*/
+	static final int PREFIX_MATCH = 1;
+	/** A word of an element attribute starts with the search term.*/
+	static final int WORD_PREFIX_MATCH = 2;
+	/** An element attribute contains the search term.*/
+	static final int SUBSTRING_MATCH = 3;
+	
+	private static final int NO_MATCH = -1;
+	private static final int GRAM_LENGTH = 3;
+	private static final int MIN_STALE_POSTINGS = 1024;
+	private static final String REGEX_META_CHARACTERS = "\\^$*+?()[]{}|";
+	private static final Pattern LITERAL_SEPARATORS = Pattern.compile("[._%]");
+
+	/**
+	 * Tests whether a filter expression can be evaluated by the search table.
+	 * A filter must not contain any regular expression meta characters except the <code>.</code> wildcard.
+	 * @param filter the filter expression
+	 * @return <code>true</code> if the filter can be evaluated by the search table, <code>false</code> otherwise.
+	 */
+	static boolean isIndexable(String filter) {
+		for(int i=0; i < filter.length(); i++) {
+			if(REGEX_META_CHARACTERS.indexOf(filter.charAt(i)) >= 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * The searchable attributes of an element.
+	 */
+	static final class ElementRef {
+		private final ElementId elementId;
+		private final ElementGroupName groupName;
+		private final ElementName elementName;
+		private final ElementAlias elementAlias;
+		private final List<String> tags;
+		private final String serialNumber;
+		private final String assetId;
+		private final List<String> hostnames;
+		// Lower-case values of all searchable attributes
+		private final String[] keys;
+		
+		ElementRef(ElementId elementId,
+				   ElementGroupName groupName,
+				   ElementName elementName,
+				   ElementAlias elementAlias,
+				   List<String> tags,
+				   String serialNumber,
+				   String assetId,
+				   List<String> hostnames){
+			this.elementId = elementId;
+			this.groupName = groupName;
+			this.elementName = elementName;
+			this.elementAlias = elementAlias;
+			this.tags = unmodifiableList(new ArrayList<>(tags));
+			this.serialNumber = serialNumber;
+			this.assetId = assetId;
+			this.hostnames = unmodifiableList(new ArrayList<>(hostnames));
+			List<String> values = new ArrayList<>(4+tags.size()+hostnames.size());
+			values.add(elementName.getValue());
+			if(elementAlias != null) {
+				values.add(elementAlias.getValue());
+			}
+			values.addAll(tags);
+			if(serialNumber != null) {
+				values.add(serialNumber);
+			}
+			if(assetId != null) {
+				values.add(assetId);
+			}
+			values.addAll(hostnames);
+			this.keys = values.stream()
+							  .map(value -> value.toLowerCase(ROOT))
+							  .distinct()
+							  .toArray(String[]::new);
+		}
+		
+		public ElementId getElementId() {
+			return elementId;
+		}
+		
+		public ElementGroupName getGroupName() {
+			return groupName;
+		}
+		
+		public ElementName getElementName() {
+			return elementName;
+		}
+		
+		public ElementAlias getElementAlias() {
+			return elementAlias;
+		}
+		
+		public List<String> getTags() {
+			return tags;
+		}
+		
+		public String getSerialNumber() {
+			return serialNumber;
+		}
+		
+		public String getAssetId() {
+			return assetId;
+		}
+		
+		public List<String> getHostnames() {
+			return hostnames;
+		}
+		
+	}
+	
+	/**
+	 * A ranked search match.
+	 */
+	static final class Match {
+		private final ElementRef element;
+		private final int rank;
+		
+		Match(ElementRef element, int rank){
+			this.element = element;
+			this.rank = rank;
+		}
+		
+		public ElementRef getElement() {
+			return element;
+		}
+		
+		public int getRank() {
+			return rank;
+		}
+		
+		/**
+		 * Returns the cursor pointing to this match.
+		 * @return the cursor pointing to this match.
+		 */
+		public ElementSearchCursor getCursor() {
+			return cursorOf(rank, 
+							element.getGroupName(), 
+							element.getElementName(), 
+							element.getElementId());
+		}
+	}
+	
+	/**
+	 * An append-only list of element slots.
+	 */
+	private static final class Postings {
+		private int[] slots = new int[4];
+		private int size;
+		
+		void add(int slot) {
+			if(size == slots.length) {
+				slots = Arrays.copyOf(slots, size * 2);
+			}
+			slots[size++] = slot;
+		}
+	}
+	
+	private static final Comparator<ElementRef> ORDER = comparing((ElementRef ref) -> ref.getGroupName().getValue())
+														.thenComparing(ref -> ref.getElementName().getValue())
+														.thenComparing(ref -> ref.getElementId().getValue());
+	
+	private static final Comparator<Match> RANKING = comparingInt(Match::getRank)
+													 .thenComparing(Match::getElement, ORDER);
+	
+	private final Map<ElementId,Integer> slots = new HashMap<>();
+	private final List<ElementRef> elements = new ArrayList<>();
+	private final Map<String,Postings> postings = new HashMap<>();
+	private final TreeSet<ElementRef> ordered = new TreeSet<>(ORDER);
+	
+	/**
+	 * Adds an element to the table or replaces the existing attributes of the element.
+	 * @param element the searchable element attributes
+	 */
+	void put(ElementRef element) {
+		remove(element.getElementId());
+		index(element);
+		ordered.add(element);
+	}
+	
+	/**
+	 * Removes an element from the table.
+	 * @param elementId the element ID
+	 * @return <code>true</code> if the element was removed, <code>false</code> if the element was unknown.
+	 */
+	boolean remove(ElementId elementId) {
+		Integer slot = slots.remove(elementId);
+		if(slot == null) {
+			return false;
+		}
+		ordered.remove(elements.set(slot, null));
+		if(elements.size() - slots.size() > max(MIN_STALE_POSTINGS, slots.size())) {
+			rebuild();
+		}
+		return true;
+	}
+	
+	/**
+	 * Returns the number of elements.
+	 * @return the number of elements.
+	 */
+	int size() {
+		return slots.size();
+	}
+	
+	private void index(ElementRef element) {
+		int slot = elements.size();
+		elements.add(element);
+		slots.put(element.getElementId(), slot);
+		Set<String> grams = new HashSet<>();
+		for(String key : element.keys) {
+			for(int i=0; i + GRAM_LENGTH <= key.length(); i++) {
+				grams.add(key.substring(i, i + GRAM_LENGTH));
+			}
+		}
+		for(String gram : grams) {
+			postings.computeIfAbsent(gram, g -> new Postings()).add(slot);
+		}
+	}
+	
+	private void rebuild() {
+		slots.clear();
+		elements.clear();
+		postings.clear();
+		ordered.forEach(this::index);
+	}
+	
+	/**
+	 * Returns the elements matching the specified filter expression.
+	 * The filter semantics are equal to the SQL queries of the element filters:
+	 * the filter is a case-sensitive regular expression that must match a part of an attribute, 
+	 * except for tags, which are matched by means of a <code>LIKE</code> expression.
+	 * The matches are unordered. 
+	 * The matching elements are read from the database, which orders them with its own collation.
+	 * @param field the attributes to be filtered
+	 * @param filter the filter expression, which must be indexable.
+	 * @param maxMatches the maximum number of matches
+	 * @return the IDs of the matching elements or <code>null</code> if more than <code>maxMatches</code> elements match.
+	 * @see #isIndexable(String)
+	 */
+	Set<ElementId> filter(SearchField field, String filter, int maxMatches) {
+		Predicate<ElementRef> matcher = matcher(field, filter);
+		List<String> terms = new ArrayList<>();
+		for(String term : LITERAL_SEPARATORS.split(filter)) {
+			terms.add(term.toLowerCase(ROOT));
+		}
+		Set<ElementId> ids = new HashSet<>();
+		Consumer<ElementRef> matches = element -> {
+			if(matcher.test(element)) {
+				ids.add(element.getElementId());
+			}
+		};
+		Postings candidates = shortestPostings(terms);
+		if(candidates == null) {
+			// No trigram available. Scan all elements.
+			ordered.forEach(matches);
+		} else {
+			forEachCandidate(candidates, matches);
+		}
+		return ids.size() > maxMatches ? null : ids;
+	}
+	
+	private static Predicate<ElementRef> matcher(SearchField field, String filter){
+		Pattern pattern = Pattern.compile(filter);
+		Predicate<ElementRef> name = ref -> find(pattern, ref.getElementName().getValue()) 
+									 		|| (ref.getElementAlias() != null && find(pattern, ref.getElementAlias().getValue()));
+		switch(field) {
+			case NAME: 
+				return name;
+			case NAME_OR_TAG: {
+				Pattern like = like(filter);
+				return name.or(ref -> ref.getTags().stream().anyMatch(tag -> like.matcher(tag).matches()));
+			}
+			case SERIAL_NUMBER:
+				return ref -> ref.getSerialNumber() != null && find(pattern, ref.getSerialNumber());
+			case ASSET_ID:
+				return ref -> ref.getAssetId() != null && find(pattern, ref.getAssetId());
+			case MANAGEMENT_HOST:
+			default:
+				return ref -> ref.getHostnames().stream().anyMatch(hostname -> find(pattern, hostname));
+		}
+	}
+	
+	private static boolean find(Pattern pattern, String value) {
+		return pattern.matcher(value).find();
+	}
+	
+	private static Pattern like(String filter) {
+		StringBuilder regex = new StringBuilder();
+		StringBuilder literal = new StringBuilder();
+		for(int i=0; i < filter.length(); i++) {
+			char c = filter.charAt(i);
+			if(c == '%' || c == '_') {
+				if(literal.length() > 0) {
+					regex.append(quote(literal.toString()));
+					literal.setLength(0);
+				}
+				regex.append(c == '%' ? ".*" : ".");
+			} else {
+				literal.append(c);
+			}
+		}
+		if(literal.length() > 0) {
+			regex.append(quote(literal.toString()));
+		}
+		return Pattern.compile(regex.toString(), Pattern.DOTALL);
+	}
+	
+	/**
+	 * Searches all elements with an attribute containing the specified search term, ignoring case.
+	 * The matches are ranked by the best matching attribute of an element.
+	 * Matches of the same rank are ordered by group name, element name and element ID.
+	 * Names are compared by {@link String#compareTo(String)}, which can differ from the collation of the database.
+	 * A renamed element group is not observed before the table is reloaded.
+	 * @param term the search term
+	 * @param cursor the cursor of the last match of the previous page or <code>null</code> to read the first page.
+	 * @param limit the maximum number of matches to return
+	 * @return the ranked matches following the cursor.
+	 */
+	List<Match> search(String term, ElementSearchCursor cursor, int limit) {
+		String query = term.toLowerCase(ROOT);
+		if(query.isEmpty() || limit <= 0) {
+			return emptyList();
+		}
+		// Keep the best matches in a max-heap to avoid sorting all matches.
+		PriorityQueue<Match> best = new PriorityQueue<>(limit+1, RANKING.reversed());
+		Consumer<ElementRef> ranking = element -> {
+			int rank = rank(element, query);
+			if(rank == NO_MATCH) {
+				return;
+			}
+			Match match = new Match(element, rank);
+			if(cursor != null && compare(match, cursor) <= 0) {
+				return;
+			}
+			best.add(match);
+			if(best.size() > limit) {
+				best.poll();
+			}
+		};
+		Postings candidates = shortestPostings(singletonList(query));
+		if(candidates == null) {
+			ordered.forEach(ranking);
+		} else {
+			forEachCandidate(candidates, ranking);
+		}
+		List<Match> matches = new ArrayList<>(best);
+		matches.sort(RANKING);
+		return matches;
+	}
+	
+	private static int compare(Match match, ElementSearchCursor cursor) {
+		int c = Integer.compare(match.getRank(), cursor.getRank());
+		if(c != 0) {
+			return c;
+		}
+		ElementRef element = match.getElement();
+		c = element.getGroupName().getValue().compareTo(cursor.getGroupName());
+		if(c != 0) {
+			return c;
+		}
+		c = element.getElementName().getValue().compareTo(cursor.getElementName());
+		if(c != 0) {
+			return c;
+		}
+		return element.getElementId().getValue().compareTo(cursor.getElementId());
+	}
+	
+	private static int rank(ElementRef element, String query) {
+		int best = NO_MATCH;
+		for(String key : element.keys) {
+			int rank = rank(key, query);
+			if(rank != NO_MATCH && (best == NO_MATCH || rank < best)) {
+				best = rank;
+				if(best == EXACT_MATCH) {
+					break;
+				}
+			}
+		}
+		return best;
+	}
+	
+	private static int rank(String key, String query) {
+		int i = key.indexOf(query);
+		if(i < 0) {
+			return NO_MATCH;
+		}
+		if(i == 0) {
+			return key.length() == query.length() ? EXACT_MATCH : PREFIX_MATCH;
+		}
+		while(i > 0) {
+			if(!isLetterOrDigit(key.charAt(i-1))) {
+				return WORD_PREFIX_MATCH;
+			}
+			i = key.indexOf(query, i+1);
+		}
+		return SUBSTRING_MATCH;
+	}
+	
+	/**
+	 * Returns the shortest posting list of all trigrams of the given lower-case terms.
+	 * @param terms the terms that must be contained in a matching element
+	 * @return the shortest posting list, an empty posting list if a trigram is unknown, 
+	 * 		   or <code>null</code> if no term has a trigram.
+	 */
+	private Postings shortestPostings(List<String> terms) {
+		Postings shortest = null;
+		for(String term : terms) {
+			for(int i=0; i + GRAM_LENGTH <= term.length(); i++) {
+				Postings candidates = postings.get(term.substring(i, i + GRAM_LENGTH));
+				if(candidates == null) {
+					return new Postings();
+				}
+				if(shortest == null || candidates.size < shortest.size) {
+					shortest = candidates;
+				}
+			}
+		}
+		return shortest;
+	}
+	
+	private void forEachCandidate(Postings candidates, Consumer<ElementRef> consumer) {
+		for(int i=0; i < candidates.size; i++) {
+			ElementRef element = elements.get(candidates.slots[i]);
+			if(element != null) {
+				consumer.accept(element);
+			}
+		}
+	}
+	
+}
@@ -18,6 +18,8 @@ package io.leitstand.inventory.model;
 import static io.leitstand.commons.db.DatabaseService.prepare;
 import static io.leitstand.commons.messages.MessageFactory.createMessage;
 import static io.leitstand.commons.model.ObjectUtil.optional;
+import static io.leitstand.inventory.event.ElementServiceRemovedEvent.newElementServiceRemovedEvent;
+import static io.leitstand.inventory.event.ElementServiceStoredEvent.newElementServiceStoredEvent;
 import static io.leitstand.inventory.jpa.OperationalStateConverter.toOperationalState;
 import static io.leitstand.inventory.model.Element_Service.findElementService;
 import static io.leitstand.inventory.model.Element_Service.findElementServices;
@@ -26,31 +28,40 @@ import static io.leitstand.inventory.model.Service.findService;
 import static io.leitstand.inventory.service.ElementId.elementId;
 import static io.leitstand.inventory.service.ElementName.elementName;
 import static io.leitstand.inventory.service.ElementServiceContext.newElementServiceContext;
+import static io.leitstand.inventory.service.ElementServiceImpact.newElementServiceImpact;
 import static io.leitstand.inventory.service.ElementServiceReference.newElementServiceReference;
 import static io.leitstand.inventory.service.ElementServiceStack.newElementServiceStack;
 import static io.leitstand.inventory.service.ElementServices.newElementServices;
 import static io.leitstand.inventory.service.ReasonCode.IVT0320E_ELEMENT_SERVICE_NOT_FOUND;
 import static io.leitstand.inventory.service.ReasonCode.IVT0321I_ELEMENT_SERVICE_STORED;
 import static io.leitstand.inventory.service.ReasonCode.IVT0322I_ELEMENT_SERVICE_REMOVED;
+import static io.leitstand.inventory.service.ReasonCode.IVT0323E_ELEMENT_SERVICE_CYCLE;
 import static io.leitstand.inventory.service.ServiceData.newServiceData;
 import static io.leitstand.inventory.service.ServiceInfo.newServiceInfo;
 import static io.leitstand.inventory.service.ServiceName.serviceName;
 import static java.lang.String.format;
 
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import javax.enterprise.context.Dependent;
+import javax.enterprise.event.Event;
 import javax.inject.Inject;
 
 import io.leitstand.commons.EntityNotFoundException;
+import io.leitstand.commons.UnprocessableEntityException;
 import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.commons.db.ResultSetMapping;
 import io.leitstand.commons.messages.Messages;
 import io.leitstand.commons.model.Repository;
 import io.leitstand.commons.tx.SubtransactionService;
+import io.leitstand.inventory.event.ElementEvent;
 import io.leitstand.inventory.jpa.ServiceTypeConverter;
 import io.leitstand.inventory.service.ElementServiceContext;
+import io.leitstand.inventory.service.ElementServiceImpact;
 import io.leitstand.inventory.service.ElementServiceReference;
 import io.leitstand.inventory.service.ElementServiceStack;
 import io.leitstand.inventory.service.ElementServiceSubmission;
@@ -64,28 +75,42 @@ public class ElementServicesManager {
 	
 	private static final Logger LOG = Logger.getLogger(ElementServicesManager.class.getName());
 
+	private static final ResultSetMapping<ServiceInfo> SERVICE_INFO = rs ->  newServiceInfo()
+																			 .withElementId(elementId(rs.getString(1)))
+																			 .withElementName(elementName(rs.getString(2)))
+																			 .withServiceType(ServiceTypeConverter.parse(rs.getString(3)))
+																			 .withServiceName(serviceName(rs.getString(4)))
+																			 .withDisplayName(rs.getString(5))
+																			 .withOperationalState(toOperationalState(rs.getString(6)))
+																			 .build();
 	
 	private ElementProvider elements;
 	private Repository repository;
 	private DatabaseService datasource;
 	private SubtransactionService transaction;
 	private Messages messages;
+	private Event<ElementEvent> event;
+	private ServiceDependencyIndex dependencies;
+	
 	protected ElementServicesManager() {
 		// CDI
 	}
 	
-	
 	@Inject
 	protected ElementServicesManager(@Inventory Repository repository, 
 									 @Inventory DatabaseService datasource,
 	                                 @Inventory SubtransactionService transaction,
 	                                 ElementProvider elements,
-	                                 Messages messages){
+	                                 Messages messages,
+	                                 Event<ElementEvent> event,
+	                                 ServiceDependencyIndex dependencies){
 		this.repository = repository;
 		this.datasource = datasource;
 		this.transaction = transaction;
 		this.elements = elements;
 		this.messages = messages;
+		this.event = event;
+		this.dependencies = dependencies;
 	}
 	
 	public ElementServices getElementServices(Element element) {
@@ -132,7 +157,29 @@ public class ElementServicesManager {
 											  name);
 		}
 		
+		List<ServiceInfo> services = dependencies.getServiceStack(element.getElementId(), name);
+		if(services == null) {
+			// Service not indexed yet.
+			services = readServiceStack(element, name);
+		}
 		
+		return newElementServiceStack()
+			   .withGroupId(group.getGroupId())
+			   .withGroupName(group.getGroupName())
+			   .withGroupType(element.getGroup().getGroupType())
+			   .withElementId(element.getElementId())
+			   .withElementName(element.getElementName())
+			   .withElementAlias(element.getElementAlias())
+			   .withElementRole(element.getElementRoleName())
+			   .withAdministrativeState(element.getAdministrativeState())
+			   .withOperationalState(element.getOperationalState())
+			   .withDateModified(element.getDateModified())
+			   .withServices(services)
+			   .build();
+	}
+	
+	private List<ServiceInfo> readServiceStack(Element element, 
+											   ServiceName name){
 		String sql = "WITH RECURSIVE HIERARCHY (servicecontext_id, element_id, element_uuid, element_name, service_id, service_type,service_name, "+
 		                                       "service_opstate, service_display_name, "+
 				                               "parent_id, level)"+ 
@@ -155,21 +202,74 @@ public class ElementServicesManager {
 					 "WHERE  level < 10 "+ // Circuit breaker, if someone has accidentally stored a circular service dependency
 					 "ORDER BY level"; // Order the result by level to get a proper order of the service hierarchy.
 		
-		List<ServiceInfo> services = datasource.executeQuery(prepare(sql,
-																	 element.getElementId().toString(),
-																	 name.toString()),
-						  									 rs ->  newServiceInfo()
-						  											.withElementId(elementId(rs.getString(1)))
-						  											.withElementName(elementName(rs.getString(2)))
-						  											.withServiceType(ServiceTypeConverter.parse(rs.getString(3)))
-						  											.withServiceName(serviceName(rs.getString(4)))
-						  											.withDisplayName(rs.getString(5))
-						  											.withOperationalState(toOperationalState(rs.getString(6)))
-																	.build());
-		return newElementServiceStack()
+		return datasource.executeQuery(prepare(sql,
+											   element.getElementId().toString(),
+											   name.toString()),
+									   SERVICE_INFO);
+	}
+	
+	public ElementServiceImpact getElementServiceImpact(Element element, 
+														ServiceName name) {
+		Element_Service service = repository.execute(findElementService(element, name));
+		if(service == null) {
+			LOG.fine(() -> format("%s: Service %s does not exist on element %s (%s).",
+								  IVT0320E_ELEMENT_SERVICE_NOT_FOUND.getReasonCode(),
+								  name,
+								  element.getElementName(),
+								  element.getElementId()));
+			throw new EntityNotFoundException(IVT0320E_ELEMENT_SERVICE_NOT_FOUND, 
+											  element.getElementId(),
+											  element.getElementName(),
+											  name);
+		}
+		List<ServiceInfo> services = dependencies.getServiceImpact(element.getElementId(), name);
+		if(services == null) {
+			// Service not indexed yet.
+			services = readServiceImpact("WHERE element_uuid=? AND service_name=? ",
+										 element.getElementId().toString(),
+										 name.toString());
+		}
+		return serviceImpact(element, services);
+	}
+	
+	public ElementServiceImpact getElementServiceImpact(Element element) {
+		List<ServiceInfo> services = dependencies.getElementImpact(element.getElementId());
+		if(services == null) {
+			// Element services not indexed yet.
+			services = readServiceImpact("WHERE element_uuid=? ",
+										 element.getElementId().toString());
+		}
+		return serviceImpact(element, services);
+	}
+	
+	private List<ServiceInfo> readServiceImpact(String filter, Object... args){
+		String sql = "WITH RECURSIVE IMPACT (servicecontext_id, level) "+
+					 "AS ( "+
+					 "SELECT servicecontext_id, 1 "+
+					 "FROM inventory.service_context "+
+					 filter+
+					 "UNION ALL "+
+					 "SELECT c.servicecontext_id, i.level + 1 "+
+					 "FROM   inventory.service_context c "+
+					 "JOIN   IMPACT i "+
+					 "ON     c.parent_id = i.servicecontext_id "+
+					 "WHERE  i.level < 10 "+ // Circuit breaker, if someone has accidentally stored a circular service dependency
+					 ") "+
+					 "SELECT s.element_uuid, s.element_name, s.service_type, s.service_name, s.service_display_name, s.service_opstate "+
+					 "FROM   inventory.service_context s "+
+					 "JOIN   (SELECT servicecontext_id, min(level) AS level FROM IMPACT GROUP BY servicecontext_id) i "+
+					 "ON     s.servicecontext_id = i.servicecontext_id "+
+					 "ORDER BY i.level, s.element_name, s.service_name";
+		return datasource.executeQuery(prepare(sql, args), 
+									   SERVICE_INFO);
+	}
+	
+	private static ElementServiceImpact serviceImpact(Element element, List<ServiceInfo> services) {
+		ElementGroup group = element.getGroup();
+		return newElementServiceImpact()
 			   .withGroupId(group.getGroupId())
 			   .withGroupName(group.getGroupName())
-			   .withGroupType(element.getGroup().getGroupType())
+			   .withGroupType(group.getGroupType())
 			   .withElementId(element.getElementId())
 			   .withElementName(element.getElementName())
 			   .withElementAlias(element.getElementAlias())
@@ -206,8 +306,12 @@ public class ElementServicesManager {
 			ElementServiceReference parentRef = submission.getParentService();
 			Element parentElement = elements.tryFetchElement(parentRef.getElementName());
 			if(parentElement != null){
-				Element_ServiceContext parent = repository.execute(findServiceContext(element,
+				Element_ServiceContext parent = repository.execute(findServiceContext(parentElement,
 																					   parentRef.getServiceName()));
+				assertNoCircularDependency(element, 
+										   service, 
+										   parentElement, 
+										   parent);
 				service.setParentContext(parent);
 			}
 			
@@ -225,8 +329,46 @@ public class ElementServicesManager {
 								   element.getElementName(),
 								   submission.getServiceName()));
 		
+		event.fire(newElementServiceStoredEvent()
+				   .withGroupId(element.getGroupId())
+				   .withGroupType(element.getGroupType())
+				   .withGroupName(element.getGroupName())
+				   .withElementRole(element.getElementRoleName())
+				   .withElementId(element.getElementId())
+				   .withElementName(element.getElementName())
+				   .withElementAlias(element.getElementAlias())
+				   .withAdministrativeState(element.getAdministrativeState())
+				   .withOperationalState(element.getOperationalState())
+				   .withDateModified(element.getDateModified())
+				   .withServiceName(submission.getServiceName())
+				   .build());
+		
 		return created;
 	}
+	
+	private void assertNoCircularDependency(Element element, 
+											Element_Service service, 
+											Element parentElement, 
+											Element_ServiceContext parent) {
+		// Walk up the parent services. The service must not be a direct or indirect parent of its own parent.
+		Set<Element_ServiceContext> visited = new HashSet<>();
+		for(Element_ServiceContext ctx = parent; ctx != null && visited.add(ctx); ctx = ctx.getParent()) {
+			if(ctx == service.getContext()) {
+				LOG.fine(() -> format("%s: Service %s on element %s cannot run on service %s on element %s due to a circular service dependency.",
+									  IVT0323E_ELEMENT_SERVICE_CYCLE.getReasonCode(),
+									  service.getServiceName(),
+									  element.getElementName(),
+									  parent.getService().getServiceName(),
+									  parentElement.getElementName()));
+				throw new UnprocessableEntityException(IVT0323E_ELEMENT_SERVICE_CYCLE, 
+													   element.getElementId(),
+													   element.getElementName(),
+													   service.getServiceName(),
+													   parentElement.getElementName(),
+													   parent.getService().getServiceName());
+			}
+		}
+	}
 
 	
 	public void updateElementServiceOperationalState(Element element,
@@ -271,6 +413,20 @@ public class ElementServicesManager {
 									   element.getElementId(),
 									   element.getElementName(),
 									   serviceName));
+			
+			event.fire(newElementServiceRemovedEvent()
+					   .withGroupId(element.getGroupId())
+					   .withGroupType(element.getGroupType())
+					   .withGroupName(element.getGroupName())
+					   .withElementRole(element.getElementRoleName())
+					   .withElementId(element.getElementId())
+					   .withElementName(element.getElementName())
+					   .withElementAlias(element.getElementAlias())
+					   .withAdministrativeState(element.getAdministrativeState())
+					   .withOperationalState(element.getOperationalState())
+					   .withDateModified(element.getDateModified())
+					   .withServiceName(serviceName)
+					   .build());
 		}
 	}
 	
@@ -23,7 +23,9 @@ import static javax.persistence.FetchType.LAZY;
 import static javax.persistence.TemporalType.TIMESTAMP;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Objects;
 
 import javax.persistence.Basic;
@@ -59,6 +61,10 @@ import io.leitstand.security.auth.jpa.UserNameConverter;
 			query="SELECT c FROM Element_Config c WHERE c.element=:element AND c.name=:configName ORDER BY c.tsmodified DESC")
 @NamedQuery(name="Element_Config.findActiveConfig",
 			query="SELECT c FROM Element_Config c WHERE c.element=:element AND c.name=:configName AND c.state=io.leitstand.inventory.service.ConfigurationState.ACTIVE")
+@NamedQuery(name="Element_Config.findLatestAndActiveConfigs",
+			query="SELECT c FROM Element_Config c WHERE c.element IN :elements AND c.name IN :configNames AND (c.state=io.leitstand.inventory.service.ConfigurationState.ACTIVE OR c.tsmodified=(SELECT MAX(l.tsmodified) FROM Element_Config l WHERE l.element=c.element AND l.name=c.name))")
+@NamedQuery(name="Element_Config.findDeltaEncodedConfigs",
+			query="SELECT c FROM Element_Config c WHERE c.baseConfigId=:configId")
 
 
 public class Element_Config implements Serializable {
@@ -86,6 +92,20 @@ public class Element_Config implements Serializable {
 					   .getSingleResult();
 	}
 	
+	public static Query<List<Element_Config>> findLatestAndActiveConfigs(Collection<Element> elements,
+																		Collection<ElementConfigName> names){
+		return em -> em.createNamedQuery("Element_Config.findLatestAndActiveConfigs",Element_Config.class)
+					   .setParameter("elements", elements)
+					   .setParameter("configNames", names)
+					   .getResultList();
+	}
+	
+	public static Query<List<Element_Config>> findDeltaEncodedConfigs(Element_Config base){
+		return em -> em.createNamedQuery("Element_Config.findDeltaEncodedConfigs",Element_Config.class)
+					   .setParameter("configId", base.getConfigId())
+					   .getResultList();
+	}
+	
 	public static Update removeAllConfigurations(Element element) {
 		return em -> em.createNamedQuery("Element_Config.removeAll",int.class)
 					   .setParameter("element",element)
@@ -121,6 +141,13 @@ public class Element_Config implements Serializable {
 	private ConfigurationState state;
 	@Basic(fetch=LAZY)
 	private String config;
+	@Basic(fetch=LAZY)
+	private byte[] delta;
+	@Convert(converter=ElementConfigIdConverter.class)
+	@Column(name="base_uuid")
+	private ElementConfigId baseConfigId;
+	@Column(name="blob_hash")
+	private String blobHash;
 	private String comment;
 	@Convert(converter=UserNameConverter.class)
 	private UserName creator;
@@ -209,9 +236,81 @@ public class Element_Config implements Serializable {
 	
 	public void setConfig(String config) {
 		this.config = config;
+		this.delta = null;
+		this.baseConfigId = null;
+		this.blobHash = null;
 		this.tsmodified = new Date();
 	}
 	
+	/**
+	 * Sets the configuration content to the specified configuration blob.
+	 * The caller is responsible for maintaining the blob reference counters.
+	 * @param blobHash the hash of the configuration blob
+	 */
+	public void setConfigBlob(String blobHash) {
+		this.config = null;
+		this.delta = null;
+		this.baseConfigId = null;
+		this.blobHash = blobHash;
+		this.tsmodified = new Date();
+	}
+	
+	/**
+	 * Returns whether the configuration content is stored in a configuration blob.
+	 * @return <code>true</code> if this revision refers to a configuration blob, <code>false</code> otherwise.
+	 */
+	public boolean isBlobConfig() {
+		return blobHash != null;
+	}
+	
+	public String getBlobHash() {
+		return blobHash;
+	}
+	
+	/**
+	 * Returns whether this revision is stored as delta of another revision.
+	 * The configuration content of a delta-encoded revision is <code>null</code>.
+	 * @return <code>true</code> if this revision is delta-encoded, <code>false</code> otherwise.
+	 */
+	public boolean isDeltaEncoded() {
+		return baseConfigId != null;
+	}
+	
+	public ElementConfigId getBaseConfigId() {
+		return baseConfigId;
+	}
+	
+	public byte[] getDelta() {
+		return delta;
+	}
+	
+	/**
+	 * Replaces the configuration content by a delta to the specified base revision.
+	 * The last-modification timestamp remains unchanged, because the configuration itself is not modified.
+	 * @param baseConfigId the base revision ID
+	 * @param delta the delta to rebuild this revision from the base revision
+	 */
+	void setDelta(ElementConfigId baseConfigId, byte[] delta) {
+		this.baseConfigId = baseConfigId;
+		this.delta = delta;
+		this.config = null;
+		this.blobHash = null;
+	}
+	
+	/**
+	 * Replaces a delta-encoded configuration by the full configuration content 
+	 * or by a reference to a configuration blob containing the full configuration content.
+	 * The last-modification timestamp remains unchanged, because the configuration itself is not modified.
+	 * @param config the full configuration content or <code>null</code> if a blob hash is specified
+	 * @param blobHash the configuration blob hash or <code>null</code> if the configuration content is specified
+	 */
+	void setFullConfig(String config, String blobHash) {
+		this.config = config;
+		this.blobHash = blobHash;
+		this.delta = null;
+		this.baseConfigId = null;
+	}
+	
 	public Date getDateModified() {
 		return new Date(tsmodified.getTime());
 	}
@@ -17,10 +17,12 @@ package io.leitstand.inventory.model;
 
 import static io.leitstand.inventory.service.DnsRecordSetId.randomDnsRecordSetId;
 import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
 import static javax.persistence.CascadeType.PERSIST;
 import static javax.persistence.GenerationType.TABLE;
 import static javax.persistence.TemporalType.TIMESTAMP;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -62,6 +64,10 @@ import io.leitstand.inventory.service.DnsZoneName;
 			query="SELECT s FROM Element_DnsRecordSet s WHERE s.element=:element AND s.name=:name AND s.type=:type")
 @NamedQuery(name="Element_DnsRecordSet.findDnsRecordSetById",
 			query="SELECT s FROM Element_DnsRecordSet s WHERE s.uuid=:id")
+@NamedQuery(name="Element_DnsRecordSet.findDnsZoneRecordSetsByIds",
+			query="SELECT s FROM Element_DnsRecordSet s WHERE s.dnsZone=:zone AND s.uuid IN :ids")
+@NamedQuery(name="Element_DnsRecordSet.findDnsZoneRecordSetsByNames",
+			query="SELECT s FROM Element_DnsRecordSet s WHERE s.dnsZone=:zone AND s.name IN :names")
 
 public class Element_DnsRecordSet {
 
@@ -91,6 +97,24 @@ public class Element_DnsRecordSet {
 					   .getSingleResult();
 	}
 	
+	public static Query<List<Element_DnsRecordSet>> findDnsZoneRecordSetsByIds(DnsZone zone, Collection<DnsRecordSetId> ids){
+		return em -> em.createNamedQuery("Element_DnsRecordSet.findDnsZoneRecordSetsByIds",Element_DnsRecordSet.class)
+					   .setParameter("zone",zone)
+					   .setParameter("ids",ids.stream()
+							   				  .map(id -> id.toString())
+							   				  .collect(toList()))
+					   .getResultList();
+	}
+	
+	public static Query<List<Element_DnsRecordSet>> findDnsZoneRecordSetsByNames(DnsZone zone, Collection<DnsName> names){
+		return em -> em.createNamedQuery("Element_DnsRecordSet.findDnsZoneRecordSetsByNames",Element_DnsRecordSet.class)
+					   .setParameter("zone",zone)
+					   .setParameter("names",names.stream()
+							   					  .map(name -> name.toString())
+							   					  .collect(toList()))
+					   .getResultList();
+	}
+	
 	@Id
 	@TableGenerator(name = "Entity.Sequence",
 					schema="leitstand",
@@ -51,6 +51,10 @@ import io.leitstand.inventory.service.Version;
 @NamedQuery(name="Element_Image.findImages", 
 			query="SELECT ei FROM Element_Image ei "+
 				  "WHERE ei.element=:element"),
+@NamedQuery(name="Element_Image.findImagesWithContents", 
+			query="SELECT ei FROM Element_Image ei "+
+				  "JOIN FETCH ei.image "+
+				  "WHERE ei.element=:element"),
 @NamedQuery(name="Element_Image.findImageById", 
 			query="SELECT ei FROM Element_Image ei "+
 				  "WHERE ei.element=:element "+
@@ -83,6 +87,24 @@ public class Element_Image {
 					   .setParameter("element", element)
 					   .getResultList();
 	}
+	
+	/**
+	 * Returns all images of an element.
+	 * The images are fetched along with the element images. 
+	 * The image packages and checksums of all images are fetched by a single query for each collection,
+	 * rather than a query per image.
+	 * @param element the element
+	 * @return all images of the element.
+	 */
+	public static Query<List<Element_Image>> findElementImagesWithContents(Element element){
+		return em -> em.createNamedQuery("Element_Image.findImagesWithContents",
+										 Element_Image.class)
+					   .setParameter("element", element)
+					   .setHint("eclipselink.batch.type", "IN")
+					   .setHint("eclipselink.batch", "ei.image.packages")
+					   .setHint("eclipselink.batch", "ei.image.checksums")
+					   .getResultList();
+	}
 
 	public static Query<Element_Image> findElementImage(Element element, 
 	                                                    ImageId imageId){
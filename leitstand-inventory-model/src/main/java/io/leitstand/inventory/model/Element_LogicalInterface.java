@@ -65,46 +65,10 @@ import io.leitstand.inventory.service.VlanTag;
 			query="SELECT i FROM Element_LogicalInterface i WHERE i.element=:element")
 @NamedQuery(name="Element_LogicalInterface.removeAll", 
 			query="DELETE FROM Element_LogicalInterface i WHERE i.element=:element")
-@NamedQuery(name="Element_LogicalInterface.findLogicalInterfaces",
-			query="SELECT i FROM Element_LogicalInterface i WHERE i.element=:element AND (CAST(i.routingInstance AS TEXT) REGEXP :filter OR CAST(i.name AS TEXT) REGEXP :filter OR CAST(i.alias AS TEXT) REGEXP :filter)" )
-@NamedQuery(name="Element_LogicalInterface.findLogicalInterfacesByPrefix",
-			query="SELECT i FROM Element_LogicalInterface i JOIN i.addresses a WHERE i.element=:element AND CAST(a.address AS TEXT)=:filter" )
-@NamedQuery(name="Element_LogicalInterface.findLogicalInterfacesByVlan",
-			query="SELECT i FROM Element_LogicalInterface i JOIN i.vlans v WHERE i.element=:element AND CAST(v.vlanId AS INTEGER)=:vlan" )
 public class Element_LogicalInterface implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
-	public static Query<List<Element_LogicalInterface>> findIfls(Element element, 
-														         String filter, 
-														         int limit) {
-		return em -> em.createNamedQuery("Element_LogicalInterface.findLogicalInterfaces", Element_LogicalInterface.class)
-				   	   .setParameter("element",element)
-				   	   .setParameter("filter", filter)
-				   	   .setMaxResults(limit)
-				   	   .getResultList();	
-	}
-	
-	public static Query<List<Element_LogicalInterface>> findIflsByPrefix(Element element, 
-																	     String filter, 
-																	     int limit) {
-		return em -> em.createNamedQuery("Element_LogicalInterface.findLogicalInterfacesByPrefix", Element_LogicalInterface.class)
-					   .setParameter("element",element)
-					   .setParameter("filter", filter)
-					   .setMaxResults(limit)
-					   .getResultList();	
-	}
-	
-	public static Query<List<Element_LogicalInterface>> findIflsByVlanId(Element element, 
-																		 int vlan, 
-																		 int limit) {
-		return em -> em.createNamedQuery("Element_LogicalInterface.findLogicalInterfacesByVlan", Element_LogicalInterface.class)
-					   .setParameter("element",element)
-					   .setParameter("vlan", vlan)
-					   .setMaxResults(limit)
-					   .getResultList();	
-}
-	
 	public static Query<Element_LogicalInterface> findIflByName(Element element, InterfaceName name) {
 		return em -> em.find(Element_LogicalInterface.class, new Element_InterfacePK(element,name));
 	}
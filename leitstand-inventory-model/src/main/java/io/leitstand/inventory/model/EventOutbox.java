@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static javax.json.bind.config.PropertyNamingStrategy.LOWER_CASE_WITH_UNDERSCORES;
+import static javax.json.bind.config.PropertyOrderStrategy.LEXICOGRAPHICAL;
+import static javax.transaction.Status.STATUS_COMMITTED;
+
+import javax.annotation.Resource;
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.commons.jsonb.FieldAccessVisibilityStrategy;
+import io.leitstand.event.queue.service.TopicName;
+
+/**
+ * The transactional event outbox.
+ * <p>
+ * Inventory events are written to the event outbox in the transaction that caused the event.
+ * An event is therefore only published if the transaction commits.
+ * The {@link EventOutboxPublisher} publishes the outbox events asynchronously to the event bus,
+ * which decouples the latency of inventory transactions from the event delivery.
+ * The publisher is notified when a transaction that has written outbox events commits.
+ * <p>
+ * An event can have a <em>coalescing key</em>. 
+ * An event is superseded by a subsequent event with the same coalescing key 
+ * and superseded events are not published if the subsequent event is published in the same batch.
+ */
+@Dependent
+public class EventOutbox {
+	
+	static final Jsonb JSONB = JsonbBuilder.create(new JsonbConfig()
+												   .withPropertyVisibilityStrategy(new FieldAccessVisibilityStrategy())
+												   .withPropertyNamingStrategy(LOWER_CASE_WITH_UNDERSCORES)
+												   .withPropertyOrderStrategy(LEXICOGRAPHICAL)
+												   .withDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", null));
+	
+	@Inject
+	@Inventory
+	private DatabaseService db;
+	
+	@Inject
+	private EventOutboxPublisher publisher;
+	
+	@Resource
+	private TransactionSynchronizationRegistry tx;
+	
+	protected EventOutbox() {
+		// CDI
+	}
+	
+	protected EventOutbox(DatabaseService db, 
+						  EventOutboxPublisher publisher,
+						  TransactionSynchronizationRegistry tx) {
+		this.db = db;
+		this.publisher = publisher;
+		this.tx = tx;
+	}
+	
+	/**
+	 * Writes an event to the outbox.
+	 * @param topic the topic to publish the event to
+	 * @param coalescingKey the coalescing key or <code>null</code> if the event must not be coalesced
+	 * @param event the event
+	 */
+	public void add(TopicName topic, 
+					String coalescingKey, 
+					Object event) {
+		db.executeUpdate(prepare("INSERT INTO inventory.event_outbox (topic, event_type, coalescing_key, payload, tscreated) "+
+								 "VALUES (?, ?, ?, ?, now())", 
+								 topic.getValue(),
+								 event.getClass().getName(),
+								 coalescingKey,
+								 JSONB.toJson(event)));
+		
+		if(tx.getResource(EventOutbox.class) == null) {
+			// Notify the publisher once per transaction.
+			tx.putResource(EventOutbox.class, Boolean.TRUE);
+			tx.registerInterposedSynchronization(new Synchronization() {
+				@Override
+				public void beforeCompletion() {
+					// Nothing to do
+				}
+				
+				@Override
+				public void afterCompletion(int status) {
+					if(status == STATUS_COMMITTED) {
+						publisher.wakeup();
+					}
+				}
+			});
+		}
+	}
+	
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+/**
+ * Summary of a published batch of outbox events.
+ */
+final class EventOutboxBatch {
+
+	private final int read;
+	private final int published;
+	private final int coalesced;
+	private final int discarded;
+	private final long maxLag;
+	
+	EventOutboxBatch(int read, 
+					 int published, 
+					 int coalesced, 
+					 int discarded, 
+					 long maxLag) {
+		this.read = read;
+		this.published = published;
+		this.coalesced = coalesced;
+		this.discarded = discarded;
+		this.maxLag = maxLag;
+	}
+	
+	/**
+	 * Returns the number of events read from the outbox.
+	 * @return the number of read events.
+	 */
+	int getRead() {
+		return read;
+	}
+	
+	/**
+	 * Returns the number of events published to the event bus.
+	 * @return the number of published events.
+	 */
+	int getPublished() {
+		return published;
+	}
+	
+	/**
+	 * Returns the number of superseded events that were not published.
+	 * @return the number of coalesced events.
+	 */
+	int getCoalesced() {
+		return coalesced;
+	}
+	
+	/**
+	 * Returns the number of events that could not be restored from the outbox.
+	 * @return the number of discarded events.
+	 */
+	int getDiscarded() {
+		return discarded;
+	}
+	
+	/**
+	 * Returns the maximum time elapsed between writing an event to the outbox and publishing the event in milliseconds.
+	 * @return the maximum publish lag in milliseconds.
+	 */
+	long getMaxLag() {
+		return maxLag;
+	}
+	
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.ReasonCode.IVT8100I_EVENT_PUBLISHER_STARTED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8101I_EVENT_PUBLISHER_STOPPED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8102E_EVENT_PUBLISHER_FAILED;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import io.leitstand.commons.ShutdownListener;
+import io.leitstand.commons.StartupListener;
+
+/**
+ * Publishes the events of the {@link EventOutbox} asynchronously to the event bus.
+ * <p>
+ * The publisher is woken up when a transaction that wrote outbox events commits 
+ * and polls the outbox every second to pick up events written by other inventory instances.
+ * Events are published in batches of up to 500 events.
+ * The next batch is published immediately if a batch was full.
+ * <p>
+ * Only the inventory instance that holds the {@link JobLease lease} of the publisher job publishes the outbox events,
+ * which retains the outbox order.
+ * <p>
+ * The publisher records the number of published, coalesced and discarded events, the publish lag, 
+ * which is the time elapsed between writing an event to the outbox and publishing the event,
+ * and the publish throughput.
+ */
+@ApplicationScoped
+public class EventOutboxPublisher implements Runnable, StartupListener, ShutdownListener{
+
+	private static final Logger LOG = Logger.getLogger(EventOutboxPublisher.class.getName());
+	private static final int BATCH_SIZE = 500;
+	private static final long POLL_INTERVAL = SECONDS.toMillis(1);
+	private static final String JOB_NAME = "event-outbox-publisher";
+	private static final long LEASE_TTL = SECONDS.toMillis(30);
+	
+	@Resource
+	private ManagedExecutorService pool;
+	
+	@Inject
+	private EventOutboxService service;
+	
+	@Inject
+	private JobLeaseService leases;
+	
+	private final Semaphore wakeup = new Semaphore(0);
+	private final AtomicLong publishedEvents = new AtomicLong();
+	private final AtomicLong coalescedEvents = new AtomicLong();
+	private final AtomicLong discardedEvents = new AtomicLong();
+	private volatile long lastPublishLag;
+	private volatile long maxPublishLag;
+	private volatile double throughput;
+	private volatile boolean run;
+	private volatile JobLease lease;
+	private long windowStart;
+	private long windowEvents;
+	
+	@Override
+	public void onShutdown() {
+		this.run = false;
+		wakeup.release();
+		if(lease != null) {
+			try {
+				lease.release();
+			} catch (Exception e) {
+				// Leases expire anyway.
+				LOG.fine(() -> format("Cannot release event publisher lease: %s", e.getMessage()));
+			}
+		}
+		LOG.info(() -> format("%s: Event publisher stopped!",
+							  IVT8101I_EVENT_PUBLISHER_STOPPED.getReasonCode()));
+	}
+
+	@Override
+	public void onStartup() {
+		this.lease = new JobLease(leases, 
+								  JOB_NAME, 
+								  1, 
+								  LEASE_TTL);
+		this.run = true;
+		pool.execute(this);
+	}
+	
+	/**
+	 * Notifies the publisher that new events were written to the outbox.
+	 */
+	public void wakeup() {
+		if(wakeup.availablePermits() == 0) {
+			wakeup.release();
+		}
+	}
+	
+	@Override
+	public void run() {
+		LOG.info(() -> format("%s: Event publisher started!",
+							  IVT8100I_EVENT_PUBLISHER_STARTED.getReasonCode()));
+		windowStart = currentTimeMillis();
+		while(run) {
+			try {
+				lease.renewIfDue(currentTimeMillis());
+				if(!lease.getPartitions().isEmpty()) {
+					EventOutboxBatch batch = service.publishEvents(BATCH_SIZE);
+					record(batch);
+					if(batch.getRead() == BATCH_SIZE) {
+						// Publish remaining events immediately.
+						continue;
+					}
+				}
+			} catch (Exception e) {
+				LOG.warning(() -> format("%s: Event publisher failed due to %s",
+										 IVT8102E_EVENT_PUBLISHER_FAILED.getReasonCode(),
+										 e.getMessage()));
+			}
+			try {
+				wakeup.tryAcquire(POLL_INTERVAL, MILLISECONDS);
+				wakeup.drainPermits();
+			} catch (InterruptedException e) {
+				currentThread().interrupt();
+				return;
+			}
+		}
+	}
+	
+	private void record(EventOutboxBatch batch) {
+		long now = currentTimeMillis();
+		if(batch.getPublished() > 0) {
+			publishedEvents.addAndGet(batch.getPublished());
+			lastPublishLag = batch.getMaxLag();
+			maxPublishLag = max(maxPublishLag, batch.getMaxLag());
+		}
+		coalescedEvents.addAndGet(batch.getCoalesced());
+		discardedEvents.addAndGet(batch.getDiscarded());
+		windowEvents += batch.getPublished();
+		if(now - windowStart >= POLL_INTERVAL) {
+			throughput = windowEvents * 1000d / (now - windowStart);
+			windowStart = now;
+			windowEvents = 0;
+		}
+	}
+	
+	/**
+	 * Returns the number of events published since startup.
+	 * @return the number of published events.
+	 */
+	public long getPublishedEvents() {
+		return publishedEvents.get();
+	}
+	
+	/**
+	 * Returns the number of superseded events that were not published since startup.
+	 * @return the number of coalesced events.
+	 */
+	public long getCoalescedEvents() {
+		return coalescedEvents.get();
+	}
+	
+	/**
+	 * Returns the number of events that were discarded since startup, because they could not be restored from the outbox.
+	 * @return the number of discarded events.
+	 */
+	public long getDiscardedEvents() {
+		return discardedEvents.get();
+	}
+	
+	/**
+	 * Returns the maximum publish lag of the last published batch in milliseconds.
+	 * @return the last publish lag in milliseconds.
+	 */
+	public long getLastPublishLag() {
+		return lastPublishLag;
+	}
+	
+	/**
+	 * Returns the maximum publish lag since startup in milliseconds.
+	 * @return the maximum publish lag in milliseconds.
+	 */
+	public long getMaxPublishLag() {
+		return maxPublishLag;
+	}
+	
+	/**
+	 * Returns the number of published events per second measured over the last measurement window.
+	 * @return the publish throughput in events per second.
+	 */
+	public double getThroughput() {
+		return throughput;
+	}
+	
+	/**
+	 * Returns the number of events waiting to be published.
+	 * @return the number of pending events.
+	 */
+	public long getPendingEvents() {
+		return service.countPendingEvents();
+	}
+	
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.event.queue.service.DomainEvent.newDomainEvent;
+import static io.leitstand.event.queue.service.TopicName.topicName;
+import static io.leitstand.inventory.model.EventOutbox.JSONB;
+import static io.leitstand.inventory.service.ReasonCode.IVT8103E_EVENT_DISCARDED;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.lang.String.join;
+import static java.util.Collections.nCopies;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+
+import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.commons.model.Service;
+import io.leitstand.event.queue.service.DomainEvent;
+
+/**
+ * Publishes the events of the {@link EventOutbox} to the event bus.
+ * <p>
+ * A batch of outbox events is read in outbox order and locked for the current transaction.
+ * Locked events are skipped by concurrent transactions.
+ * Superseded events are coalesced and the remaining events are published grouped by topic, 
+ * retaining the outbox order within a topic.
+ * All read events are removed from the outbox when the transaction commits.
+ */
+@Service
+public class EventOutboxService {
+
+	private static final Logger LOG = Logger.getLogger(EventOutboxService.class.getName());
+	private static final String EVENT_PACKAGE = "io.leitstand.inventory.event.";
+	
+	@Inject
+	@Inventory
+	private DatabaseService db;
+	
+	@Inject
+	private Event<DomainEvent<?>> bus;
+	
+	protected EventOutboxService() {
+		// CDI
+	}
+	
+	protected EventOutboxService(DatabaseService db, Event<DomainEvent<?>> bus) {
+		this.db = db;
+		this.bus = bus;
+	}
+	
+	/**
+	 * Publishes the next batch of outbox events.
+	 * @param limit the maximum number of events to read from the outbox
+	 * @return the batch summary
+	 */
+	public EventOutboxBatch publishEvents(int limit) {
+		List<OutboxEvent> events = db.executeQuery(prepare("SELECT id, topic, event_type, coalescing_key, payload, "+
+														   "CAST(EXTRACT(EPOCH FROM clock_timestamp() - tscreated) * 1000 AS INT8) "+
+														   "FROM inventory.event_outbox "+
+														   "ORDER BY id "+
+														   "LIMIT ? "+
+														   "FOR UPDATE SKIP LOCKED",
+														   limit),
+												   rs -> new OutboxEvent(rs.getLong(1),
+														   				 rs.getString(2),
+														   				 rs.getString(3),
+														   				 rs.getString(4),
+														   				 rs.getString(5),
+														   				 rs.getLong(6)));
+		if(events.isEmpty()) {
+			return new EventOutboxBatch(0, 0, 0, 0, 0);
+		}
+		
+		List<OutboxEvent> latest = coalesce(events);
+		int published = 0;
+		int discarded = 0;
+		long maxLag = 0;
+		for(Map.Entry<String,List<OutboxEvent>> topic : groupByTopic(latest).entrySet()) {
+			for(OutboxEvent event : topic.getValue()) {
+				Object payload = payload(event);
+				if(payload == null) {
+					discarded++;
+					continue;
+				}
+				bus.fire(newDomainEvent()
+						 .withTopicName(topicName(topic.getKey()))
+						 .withPayload(payload)
+						 .build());
+				maxLag = max(maxLag, event.getAge());
+				published++;
+			}
+		}
+		
+		List<Object> ids = new ArrayList<>(events.size());
+		for(OutboxEvent event : events) {
+			ids.add(event.getId());
+		}
+		db.executeUpdate(prepare("DELETE FROM inventory.event_outbox "+
+								 "WHERE id IN ("+join(",", nCopies(ids.size(), "?"))+")",
+								 ids));
+		
+		return new EventOutboxBatch(events.size(), 
+									published, 
+									events.size() - latest.size(), 
+									discarded,
+									maxLag);
+	}
+	
+	/**
+	 * Returns the number of events waiting to be published.
+	 * @return the number of pending outbox events.
+	 */
+	public long countPendingEvents() {
+		return db.getSingleResult(prepare("SELECT count(*) FROM inventory.event_outbox"), 
+								  rs -> rs.getLong(1));
+	}
+	
+	/**
+	 * Removes all superseded events from the given list of events.
+	 * An event is superseded by a subsequent event with the same coalescing key.
+	 * Events without coalescing key are never superseded.
+	 * @param events the outbox events in outbox order
+	 * @return the latest events in outbox order
+	 */
+	static List<OutboxEvent> coalesce(List<OutboxEvent> events){
+		Map<String,Long> latest = new HashMap<>();
+		for(OutboxEvent event : events) {
+			if(event.getCoalescingKey() != null) {
+				latest.merge(event.getCoalescingKey(), event.getId(), Math::max);
+			}
+		}
+		List<OutboxEvent> coalesced = new ArrayList<>(events.size());
+		for(OutboxEvent event : events) {
+			if(event.getCoalescingKey() == null || latest.get(event.getCoalescingKey()) == event.getId()) {
+				coalesced.add(event);
+			}
+		}
+		return coalesced;
+	}
+	
+	/**
+	 * Groups the events by topic.
+	 * The topics are ordered by their first event and the events of a topic retain the outbox order.
+	 * @param events the outbox events in outbox order
+	 * @return the events grouped by topic
+	 */
+	static Map<String,List<OutboxEvent>> groupByTopic(List<OutboxEvent> events){
+		Map<String,List<OutboxEvent>> topics = new LinkedHashMap<>();
+		for(OutboxEvent event : events) {
+			topics.computeIfAbsent(event.getTopic(), topic -> new ArrayList<>())
+				  .add(event);
+		}
+		return topics;
+	}
+	
+	private Object payload(OutboxEvent event) {
+		try {
+			if(!event.getEventType().startsWith(EVENT_PACKAGE)) {
+				throw new IllegalArgumentException("Unsupported event type "+event.getEventType());
+			}
+			Class<?> eventType = Class.forName(event.getEventType());
+			return JSONB.fromJson(event.getPayload(), eventType);
+		} catch (Exception e) {
+			LOG.severe(() -> format("%s: Discard %s outbox event %d: %s",
+									IVT8103E_EVENT_DISCARDED.getReasonCode(),
+									event.getEventType(),
+									event.getId(),
+									e.getMessage()));
+			return null;
+		}
+	}
+	
+}
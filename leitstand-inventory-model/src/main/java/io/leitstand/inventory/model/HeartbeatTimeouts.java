@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.logging.Logger.getLogger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Heartbeat timeouts per element role.
+ * <p>
+ * The default timeout applies to all element roles without a role-specific timeout.
+ * Role-specific timeouts are specified as comma-separated list of <code>role=seconds</code> pairs,
+ * e.g. <code>spine=120,leaf=300</code>.
+ */
+public final class HeartbeatTimeouts {
+	
+	private static final Logger LOG = getLogger(HeartbeatTimeouts.class.getName());
+	static final long DEFAULT_TIMEOUT_SECONDS = 180;
+
+	/**
+	 * Parses the heartbeat timeouts.
+	 * @param defaultTimeout the default timeout in seconds or <code>null</code> to apply the default timeout of 180 seconds.
+	 * @param roleTimeouts the role-specific timeouts or <code>null</code> if no role-specific timeouts exist.
+	 * @return the heartbeat timeouts
+	 */
+	static HeartbeatTimeouts heartbeatTimeouts(String defaultTimeout, String roleTimeouts) {
+		long timeout = seconds(defaultTimeout, DEFAULT_TIMEOUT_SECONDS);
+		Map<String,Long> timeouts = new HashMap<>();
+		if(roleTimeouts != null) {
+			for(String roleTimeout : roleTimeouts.split(",")) {
+				int eq = roleTimeout.indexOf('=');
+				if(eq < 0) {
+					if(!roleTimeout.trim().isEmpty()) {
+						LOG.warning(() -> format("Ignore malformed heartbeat timeout %s",roleTimeout));
+					}
+					continue;
+				}
+				String role = roleTimeout.substring(0, eq).trim();
+				timeouts.put(role, seconds(roleTimeout.substring(eq+1), timeout));
+			}
+		}
+		return new HeartbeatTimeouts(SECONDS.toMillis(timeout),timeouts);
+	}
+	
+	private static long seconds(String value, long defaultValue) {
+		if(value == null || value.trim().isEmpty()) {
+			return defaultValue;
+		}
+		try {
+			long seconds = Long.parseLong(value.trim());
+			if(seconds > 0) {
+				return seconds;
+			}
+		} catch (NumberFormatException e) {
+			// Apply default value below.
+		}
+		LOG.warning(() -> format("Ignore invalid heartbeat timeout %s",value));
+		return defaultValue;
+	}
+	
+	private final long defaultTimeout;
+	private final Map<String,Long> roleTimeouts;
+	
+	private HeartbeatTimeouts(long defaultTimeout, Map<String,Long> roleTimeouts) {
+		this.defaultTimeout = defaultTimeout;
+		this.roleTimeouts = roleTimeouts;
+	}
+	
+	/**
+	 * Returns the heartbeat timeout of the specified element role.
+	 * @param role the element role name
+	 * @return the heartbeat timeout in milliseconds.
+	 */
+	long getTimeoutMillis(String role) {
+		Long timeout = roleTimeouts.get(role);
+		return timeout != null ? SECONDS.toMillis(timeout) : defaultTimeout;
+	}
+	
+}
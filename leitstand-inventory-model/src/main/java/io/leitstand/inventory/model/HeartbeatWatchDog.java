@@ -15,14 +15,26 @@
  */
 package io.leitstand.inventory.model;
 
+import static io.leitstand.commons.etc.Environment.getSystemProperty;
+import static io.leitstand.commons.rs.ResourceUtil.tryParseInt;
+import static io.leitstand.inventory.model.HeartbeatTimeouts.heartbeatTimeouts;
+import static io.leitstand.inventory.service.OperationalState.DETACHED;
+import static io.leitstand.inventory.service.OperationalState.UP;
 import static io.leitstand.inventory.service.ReasonCode.IVT8000I_HEARTBEAT_WATCHDOG_STARTED;
 import static io.leitstand.inventory.service.ReasonCode.IVT8001I_HEARTBEAT_WATCHDOG_STOPPED;
 import static io.leitstand.inventory.service.ReasonCode.IVT8002E_HEARTBEAT_WATCHDOG_FAILED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8003I_HEARTBEAT_WATCHDOG_ELEMENTS_DETACHED;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
 import static java.lang.Thread.currentThread;
 import static java.lang.Thread.sleep;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 import javax.annotation.Resource;
@@ -32,58 +44,239 @@ import javax.inject.Inject;
 
 import io.leitstand.commons.ShutdownListener;
 import io.leitstand.commons.StartupListener;
-import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.inventory.service.ElementId;
 
+/**
+ * Declares elements <code>DETACHED</code> when no heartbeat was received before the heartbeat timeout expired.
+ * <p>
+ * The watchdog maintains the heartbeat deadline of every element in operational state <code>UP</code> in memory.
+ * The deadlines are loaded from the database at startup and updated whenever an element is modified.
+ * The last modification timestamp of an element is the timestamp of its last heartbeat.
+ * The watchdog sleeps until the next deadline expires and processes the expired deadlines in batches.
+ * Every batch re-reads the last heartbeat from the database before declaring an element detached, 
+ * because the heartbeat might have been received by another inventory instance.
+ * The deadlines are also reloaded from the database periodically to pick up elements that were reported <code>UP</code> to other inventory instances.
+ * The watchdog is not a {@link ReloadableIndex}: 
+ * its loop sleeps until the next deadline rather than for a fixed interval, 
+ * and a reload is scoped to the leased partitions and is also triggered when the partition lease changes.
+ * <p>
+ * The elements are split into partitions by the hash code of their element ID.
+ * Every inventory instance monitors only the elements of the partitions it holds a {@link JobLease lease} for, 
+ * so that the heartbeat monitoring is distributed among all inventory instances.
+ * The number of partitions defaults to 16 and can be changed by the <code>LEITSTAND_HEARTBEAT_PARTITIONS</code> system property.
+ * The number of partitions must be the same on all inventory instances.
+ * <p>
+ * The heartbeat timeout defaults to 180 seconds and can be changed by the <code>LEITSTAND_HEARTBEAT_TIMEOUT</code> system property.
+ * Role-specific timeouts are configured by the <code>LEITSTAND_HEARTBEAT_ROLE_TIMEOUTS</code> system property 
+ * (e.g. <code>spine=120,leaf=300</code>).
+ * <p>
+ * The watchdog records the detection lag, 
+ * which is the time elapsed between the expiry of the heartbeat deadline and the element being declared detached.
+ * The watchdog metrics of this inventory instance are published by the inventory metrics resource.
+ */
 @ApplicationScoped
 public class HeartbeatWatchDog implements Runnable, StartupListener, ShutdownListener{
 
 	private static final Logger LOG = Logger.getLogger(HeartbeatWatchDog.class.getName());
+	private static final int BATCH_SIZE = 100;
+	private static final long MAX_SLEEP = SECONDS.toMillis(1);
+	private static final long RETRY_DELAY = SECONDS.toMillis(10);
+	private static final long RELOAD_INTERVAL = MINUTES.toMillis(5);
+	private static final String JOB_NAME = "heartbeat-watchdog";
+	private static final int PARTITIONS = tryParseInt(getSystemProperty("LEITSTAND_HEARTBEAT_PARTITIONS"), 16);
+	private static final long LEASE_TTL = SECONDS.toMillis(30);
 	
 	@Resource
 	private ManagedExecutorService pool;
 	
 	@Inject
-	@Inventory
-	private DatabaseService db;
+	private HeartbeatWatchDogService service;
 	
 	@Inject
-	private HeartbeatWatchDogService service;
+	private JobLeaseService leases;
 	
+	private final DeadlineScheduler<ElementId> deadlines = new DeadlineScheduler<>();
+	private final HeartbeatTimeouts timeouts = heartbeatTimeouts(getSystemProperty("LEITSTAND_HEARTBEAT_TIMEOUT"),
+																 getSystemProperty("LEITSTAND_HEARTBEAT_ROLE_TIMEOUTS"));
+	private final AtomicLong detachedElements = new AtomicLong();
+	private volatile long lastDetectionLag;
+	private volatile long maxDetectionLag;
 	private volatile boolean run;
+	private volatile JobLease lease;
+	private long nextReload;
 	
 	@Override
 	public void onShutdown() {
 		this.run = false;
-		LOG.info(() -> format("%s: Heartbeat watchdog started!",
+		if(lease != null) {
+			try {
+				lease.release();
+			} catch (Exception e) {
+				// Leases expire anyway.
+				LOG.fine(() -> format("Cannot release heartbeat watchdog leases: %s", e.getMessage()));
+			}
+		}
+		LOG.info(() -> format("%s: Heartbeat watchdog stopped!",
 							  IVT8001I_HEARTBEAT_WATCHDOG_STOPPED.getReasonCode()));
 
 	}
 
 	@Override
 	public void onStartup() {
+		this.lease = new JobLease(leases, 
+								  JOB_NAME, 
+								  PARTITIONS, 
+								  LEASE_TTL);
 		this.run = true;
 		pool.execute(this);
 	}
+	
+	/**
+	 * Updates the heartbeat deadline of a modified element.
+	 * @param element the modified element
+	 */
+	public void heartbeat(Element element) {
+		JobLease lease = this.lease;
+		if(lease == null || !lease.owns(element.getElementId())) {
+			// Element is monitored by another inventory instance.
+			return;
+		}
+		if(element.getOperationalState() == null || !element.getOperationalState().is(UP)) {
+			deadlines.cancel(element.getElementId());
+			return;
+		}
+		long lastHeartbeat = element.getDateModified() != null ? element.getDateModified().getTime() : currentTimeMillis();
+		deadlines.schedule(element.getElementId(), 
+						   lastHeartbeat + timeouts.getTimeoutMillis(element.getElementRoleName().getValue()));
+	}
+	
+	/**
+	 * Stops monitoring the heartbeat of a removed element.
+	 * @param element the removed element
+	 */
+	public void removed(Element element) {
+		deadlines.cancel(element.getElementId());
+	}
 
 	@Override
 	public void run() {
 		LOG.info(() -> format("%s: Heartbeat watchdog started!",
 							  IVT8000I_HEARTBEAT_WATCHDOG_STARTED.getReasonCode()));
 		while(run) {
+			long now = currentTimeMillis();
 			try {
-				service.markDetachedSwitches();
+				if(lease.renewIfDue(now)) {
+					deadlines.retain(lease::owns);
+					nextReload = now;
+				}
+				if(now >= nextReload) {
+					reload();
+					nextReload = now + RELOAD_INTERVAL;
+				}
+				List<ElementId> expired = deadlines.expired(now, BATCH_SIZE);
+				if(!expired.isEmpty()) {
+					detach(expired, now);
+					// Process remaining expired deadlines immediately.
+					continue;
+				}
 			} catch (Exception e) {
+				deadlines.retain(lease::owns);
 				LOG.warning(() -> format("%s: Heartbeat watchdog failed due to %s",
 										 IVT8002E_HEARTBEAT_WATCHDOG_FAILED.getReasonCode(),
 										 e.getMessage()));
 			}
 			try {
-				sleep(SECONDS.toMillis(60));
+				sleep(max(1, min(deadlines.nextDeadline() - now, MAX_SLEEP)));
 			} catch (InterruptedException e) {
 				currentThread().interrupt();
+				return;
 			}
 		}
 		
 	}
 	
+	private void reload() {
+		// Load the heartbeats of the owned partitions only.
+		for(ElementHeartbeat heartbeat : service.findHeartbeats(lease.getPartitions(), PARTITIONS)) {
+			deadlines.schedule(heartbeat.getElementId(),
+							   deadline(heartbeat));
+		}
+		LOG.fine(() -> format("Monitor heartbeats of %d elements", 
+							  deadlines.size()));
+	}
+	
+	private void detach(List<ElementId> expired, long now) {
+		List<ElementHeartbeat> heartbeats;
+		try {
+			heartbeats = service.detachOverdueElements(expired, 
+													   timeouts, 
+													   now);
+		} catch (Exception e) {
+			// Retry later, e.g. if an element was modified concurrently.
+			for(ElementId elementId : expired) {
+				deadlines.schedule(elementId, now + RETRY_DELAY);
+			}
+			throw e;
+		}
+		int detached = 0;
+		long batchLag = 0;
+		for(ElementHeartbeat heartbeat : heartbeats) {
+			long deadline = deadline(heartbeat);
+			if(heartbeat.getOperationalState().is(DETACHED)) {
+				deadlines.cancel(heartbeat.getElementId());
+				batchLag = max(batchLag, currentTimeMillis() - deadline);
+				detached++;
+			} else {
+				deadlines.schedule(heartbeat.getElementId(), deadline);
+			}
+		}
+		if(detached > 0) {
+			int count = detached;
+			long lag = batchLag;
+			detachedElements.addAndGet(detached);
+			lastDetectionLag = lag;
+			maxDetectionLag = max(maxDetectionLag, lag);
+			LOG.info(() -> format("%s: %d elements declared detached with a maximum detection lag of %d ms",
+								  IVT8003I_HEARTBEAT_WATCHDOG_ELEMENTS_DETACHED.getReasonCode(),
+								  count,
+								  lag));
+		}
+	}
+	
+	private long deadline(ElementHeartbeat heartbeat) {
+		return heartbeat.getLastHeartbeat() + timeouts.getTimeoutMillis(heartbeat.getElementRole());
+	}
+	
+	/**
+	 * Returns the number of elements with a monitored heartbeat.
+	 * @return the number of elements with a monitored heartbeat.
+	 */
+	public int getMonitoredElements() {
+		return deadlines.size();
+	}
+	
+	/**
+	 * Returns the number of elements declared detached since startup.
+	 * @return the number of detached elements.
+	 */
+	public long getDetachedElements() {
+		return detachedElements.get();
+	}
+	
+	/**
+	 * Returns the maximum detection lag of the last batch of detached elements in milliseconds.
+	 * @return the last detection lag in milliseconds.
+	 */
+	public long getLastDetectionLag() {
+		return lastDetectionLag;
+	}
+
+	/**
+	 * Returns the maximum detection lag since startup in milliseconds.
+	 * @return the maximum detection lag in milliseconds.
+	 */
+	public long getMaxDetectionLag() {
+		return maxDetectionLag;
+	}
+	
 }
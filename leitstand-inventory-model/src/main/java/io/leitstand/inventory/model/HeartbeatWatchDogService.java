@@ -16,17 +16,26 @@
 package io.leitstand.inventory.model;
 
 import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.inventory.model.JobLease.partitionOf;
+import static io.leitstand.inventory.service.ElementId.elementId;
+import static io.leitstand.inventory.service.OperationalState.DETACHED;
+import static io.leitstand.inventory.service.OperationalState.UP;
 import static java.lang.String.format;
-import static java.lang.System.currentTimeMillis;
-import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.lang.String.join;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.nCopies;
 
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import javax.inject.Inject;
 
 import io.leitstand.commons.db.DatabaseService;
 import io.leitstand.commons.model.Service;
+import io.leitstand.inventory.service.ElementId;
 
 @Service
 public class HeartbeatWatchDogService {
@@ -37,10 +46,81 @@ public class HeartbeatWatchDogService {
 	@Inventory
 	private DatabaseService db;
 	
-	public void markDetachedSwitches() {
-		Date overdue = new Date(currentTimeMillis() - SECONDS.toMillis(180));
-		int count = db.executeUpdate(prepare("UPDATE inventory.element SET opstate='DETACHED' WHERE opstate='UP' AND tsmodified < ?", overdue));
-		LOG.fine(() -> format("%d overdue elements declared detached!",count));
+	@Inject
+	private ElementProvider elements;
+	
+	@Inject
+	private ElementManager manager;
+	
+	/**
+	 * Returns the last heartbeat of all elements in operational state <code>UP</code> 
+	 * that belong to one of the specified partitions.
+	 * @param partitions the partitions
+	 * @param partitionCount the total number of partitions
+	 * @return the last heartbeat of all elements of the specified partitions that are <code>UP</code>.
+	 * @see JobLease#partition(ElementId, int)
+	 */
+	public List<ElementHeartbeat> findHeartbeats(Set<Integer> partitions, int partitionCount){
+		if(partitions.isEmpty()) {
+			return emptyList();
+		}
+		List<Object> args = new ArrayList<>(partitions.size()+1);
+		args.add(partitionCount);
+		args.addAll(partitions);
+		return db.executeQuery(prepare("SELECT e.uuid, r.name, e.tsmodified "+
+									   "FROM inventory.element e "+
+									   "JOIN inventory.elementrole r "+
+									   "ON e.elementrole_id = r.id "+
+									   "WHERE e.opstate='UP' "+
+									   "AND "+partitionOf("e.uuid")+" IN ("+join(",", nCopies(partitions.size(), "?"))+")",
+									   args), 
+							   rs -> new ElementHeartbeat(elementId(rs.getString(1)),
+									   					  rs.getString(2),
+									   					  rs.getTimestamp(3).getTime(),
+									   					  UP));
+	}
+	
+	/**
+	 * Declares all elements detached whose heartbeat deadline has expired.
+	 * The heartbeat deadline is verified against the last heartbeat stored in the database,
+	 * because the heartbeat might have been received by another inventory instance.
+	 * An operational state change event is fired for every detached element.
+	 * @param candidates the elements with expired deadlines
+	 * @param timeouts the heartbeat timeouts
+	 * @param now the current time in milliseconds since epoch
+	 * @return the last heartbeats of all candidates that were <code>UP</code>. 
+	 * 		   The operational state is <code>DETACHED</code> for detached elements.
+	 */
+	public List<ElementHeartbeat> detachOverdueElements(Collection<ElementId> candidates, 
+														HeartbeatTimeouts timeouts, 
+														long now) {
+		List<ElementHeartbeat> heartbeats = new ArrayList<>(candidates.size());
+		for(Element element : elements.tryFetchElementsById(candidates)) {
+			String role = element.getElementRoleName().getValue();
+			long lastHeartbeat = element.getDateModified().getTime();
+			if(!element.getOperationalState().is(UP)) {
+				// Element is not monitored anymore.
+				continue;
+			}
+			if(lastHeartbeat + timeouts.getTimeoutMillis(role) > now) {
+				// Heartbeat received meanwhile.
+				heartbeats.add(new ElementHeartbeat(element.getElementId(),
+													role, 
+													lastHeartbeat, 
+													UP));
+				continue;
+			}
+			manager.updateElementOperationalState(element, DETACHED);
+			heartbeats.add(new ElementHeartbeat(element.getElementId(), 
+												role, 
+												lastHeartbeat, 
+												DETACHED));
+		}
+		LOG.fine(() -> format("%d overdue elements declared detached!",
+							  heartbeats.stream()
+							  			.filter(h -> h.getOperationalState().is(DETACHED))
+							  			.count()));
+		return heartbeats;
 	}
 	
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.ReasonCode.IVT8160I_IP_PREFIX_INDEX_STARTED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8161I_IP_PREFIX_INDEX_STOPPED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8162E_IP_PREFIX_INDEX_FAILED;
+import static java.lang.String.format;
+import static javax.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import io.leitstand.inventory.event.ElementLogicalInterfaceEvent;
+import io.leitstand.inventory.event.ElementRemovedEvent;
+import io.leitstand.inventory.model.IPPrefixIndexService.IflFingerprint;
+import io.leitstand.inventory.model.IPPrefixTable.AddressRef;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.InterfaceName;
+
+/**
+ * Maintains the IP addresses of all logical interfaces in memory.
+ * <p>
+ * The index replaces the per-element logical interface address queries 
+ * to find the logical interfaces attached to a subnet or to find address conflicts (see {@link IPPrefixTable}).
+ * The index only stores the element ID, the logical interface name, the routing instance and the address. 
+ * The element information is read from the database in a single query by element ID.
+ * <p>
+ * The index is loaded at startup. 
+ * A committed logical interface event reloads the addresses of the modified logical interface.
+ * A logical interface event without interface name, which is fired for a logical interface synchronization
+ * or for removing all logical interfaces of an element, reloads the logical interface addresses of the element.
+ * A committed element removed event removes the logical interface addresses of the element.
+ * Logical interface events are only observed by the inventory instance that modified the logical interface.
+ * The index therefore reads a fingerprint of the logical interfaces of all elements every 60 seconds,
+ * which consists of the number of logical interfaces and their last modification, 
+ * and reloads the addresses of all elements with a changed fingerprint to pick up the logical interface changes of other inventory instances.
+ * The reload interval can be changed by the <code>LEITSTAND_IP_PREFIX_INDEX_RELOAD_INTERVAL</code> system property (in seconds).
+ * The index is loaded on demand, if it is requested before the startup load completed.
+ */
+@ApplicationScoped
+public class IPPrefixIndex extends ReloadableIndex<IPPrefixTable> {
+
+	private static final Logger LOG = Logger.getLogger(IPPrefixIndex.class.getName());
+	
+	@Inject
+	private IPPrefixIndexService service;
+	
+	private Map<ElementId,IflFingerprint> fingerprints;
+	
+	protected IPPrefixIndex() {
+		// CDI
+		this(null);
+	}
+	
+	IPPrefixIndex(IPPrefixIndexService service){
+		super("IP prefix index",
+			  "LEITSTAND_IP_PREFIX_INDEX_RELOAD_INTERVAL",
+			  60,
+			  IVT8160I_IP_PREFIX_INDEX_STARTED,
+			  IVT8161I_IP_PREFIX_INDEX_STOPPED,
+			  IVT8162E_IP_PREFIX_INDEX_FAILED);
+		this.service = service;
+	}
+	
+	/**
+	 * Reloads the addresses of the logical interface of a committed logical interface event.
+	 * Reloads the logical interface addresses of the element if the event has no interface name.
+	 * @param event the logical interface event
+	 */
+	public void logicalInterfaceChanged(@Observes(during=AFTER_SUCCESS) ElementLogicalInterfaceEvent event) {
+		ElementId elementId = event.getElementId();
+		InterfaceName iflName = event.getInterfaceName();
+		if(iflName != null) {
+			List<AddressRef> addresses = service.loadAddresses(elementId, iflName);
+			apply(table -> {
+				table.removeAll(elementId, iflName);
+				addresses.forEach(table::put);
+			});
+			return;
+		}
+		List<AddressRef> addresses = service.loadAddresses(elementId);
+		apply(table -> {
+			table.removeAll(elementId);
+			addresses.forEach(table::put);
+		});
+	}
+	
+	/**
+	 * Removes the logical interface addresses of a removed element.
+	 * @param event the element removed event
+	 */
+	public void elementRemoved(@Observes(during=AFTER_SUCCESS) ElementRemovedEvent event) {
+		ElementId elementId = event.getElementId();
+		apply(table -> table.removeAll(elementId));
+	}
+	
+	/**
+	 * Returns the logical interfaces attached to the longest prefix that contains the specified address.
+	 * @param address the address
+	 * @return the logical interface addresses of the longest matching prefix.
+	 */
+	synchronized List<AddressRef> findLongestPrefixMatch(IPPrefixKey address) {
+		return index().longestMatch(address);
+	}
+	
+	/**
+	 * Returns the logical interface addresses covered by the specified prefix in address order.
+	 * @param prefix the prefix
+	 * @param limit the maximum number of returned addresses
+	 * @return the covered logical interface addresses.
+	 */
+	synchronized List<AddressRef> findCoveredAddresses(IPPrefixKey prefix, int limit) {
+		return index().covered(prefix, limit);
+	}
+	
+	/**
+	 * Returns the logical interfaces that use the same host address in the same routing instance.
+	 * @param limit the maximum number of returned conflicts
+	 * @return the address conflicts.
+	 */
+	synchronized List<List<AddressRef>> findAddressConflicts(int limit) {
+		return index().conflicts(limit);
+	}
+	
+	/**
+	 * Reloads the logical interface addresses of all elements with a modified logical interface fingerprint.
+	 * Loads all logical interface addresses if the index has not been loaded yet.
+	 */
+	@Override
+	void reload() {
+		Map<ElementId,IflFingerprint> previous = fingerprints();
+		if(previous == null || current() == null) {
+			super.reload();
+			return;
+		}
+		Map<ElementId,IflFingerprint> latest = service.loadFingerprints();
+		Set<ElementId> modified = new HashSet<>();
+		for(Map.Entry<ElementId,IflFingerprint> fingerprint : latest.entrySet()) {
+			if(!fingerprint.getValue().equals(previous.get(fingerprint.getKey()))) {
+				modified.add(fingerprint.getKey());
+			}
+		}
+		Set<ElementId> removed = new HashSet<>(previous.keySet());
+		removed.removeAll(latest.keySet());
+		if(!modified.isEmpty() || !removed.isEmpty()) {
+			List<AddressRef> addresses = service.loadAddresses(modified);
+			apply(table -> {
+				removed.forEach(table::removeAll);
+				modified.forEach(table::removeAll);
+				addresses.forEach(table::put);
+			});
+		}
+		fingerprints(latest);
+	}
+	
+	private synchronized Map<ElementId,IflFingerprint> fingerprints(){
+		return fingerprints;
+	}
+	
+	private synchronized void fingerprints(Map<ElementId,IflFingerprint> fingerprints) {
+		this.fingerprints = fingerprints;
+	}
+	
+	@Override
+	protected IPPrefixTable load() {
+		// Read the fingerprints first to not miss a modification made while the addresses are loaded.
+		Map<ElementId,IflFingerprint> loadedFingerprints = service.loadFingerprints();
+		IPPrefixTable loaded = new IPPrefixTable();
+		for(AddressRef address : service.loadAddresses()) {
+			if(!loaded.put(address)) {
+				LOG.fine(() -> format("Ignore invalid IP address %s of logical interface %s of element %s",
+									  address.getAddress(),
+									  address.getIflName(),
+									  address.getElementId()));
+			}
+		}
+		fingerprints(loadedFingerprints);
+		return loaded;
+	}
+	
+	public synchronized int getAddressCount() {
+		IPPrefixTable table = current();
+		return table != null ? table.size() : 0;
+	}
+	
+}
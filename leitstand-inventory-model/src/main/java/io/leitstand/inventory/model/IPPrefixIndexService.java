@@ -0,0 +1,245 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.inventory.service.ElementGroupId.groupId;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementGroupType.groupType;
+import static io.leitstand.inventory.service.ElementId.elementId;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.IPvxPrefix.cidr;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.LogicalInterfaceAddress.newLogicalInterfaceAddress;
+import static io.leitstand.inventory.service.RoutingInstanceName.routingInstance;
+import static java.lang.Math.min;
+import static java.lang.String.join;
+import static java.util.Collections.nCopies;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.commons.db.ResultSetMapping;
+import io.leitstand.commons.model.Service;
+import io.leitstand.inventory.model.IPPrefixTable.AddressRef;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.InterfaceName;
+import io.leitstand.inventory.service.LogicalInterfaceAddress;
+
+/**
+ * Loads the logical interface addresses of the {@link IPPrefixIndex} and 
+ * the element information of the logical interface addresses found in the index.
+ */
+@Service
+public class IPPrefixIndexService {
+	
+	/**
+	 * The logical interface fingerprint of an element.
+	 */
+	static final class IflFingerprint {
+		private final long count;
+		private final long lastModified;
+		
+		IflFingerprint(long count, Date lastModified){
+			this.count = count;
+			this.lastModified = lastModified != null ? lastModified.getTime() : 0;
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if(o == this) {
+				return true;
+			}
+			if(o == null || o.getClass() != getClass()) {
+				return false;
+			}
+			IflFingerprint fingerprint = (IflFingerprint) o;
+			return count == fingerprint.count && lastModified == fingerprint.lastModified;
+		}
+		
+		@Override
+		public int hashCode() {
+			return Long.hashCode(count) * 31 + Long.hashCode(lastModified);
+		}
+	}
+	
+	private static final int MAX_IN_LIST_SIZE = 1000;
+	
+	private static final String SELECT_ADDRESSES = "SELECT e.uuid, a.element_ifl_name, i.instance, a.address "+
+												   "FROM inventory.element_ifl_ifa a "+
+												   "JOIN inventory.element_ifl i "+
+												   "ON a.element_id = i.element_id "+
+												   "AND a.element_ifl_name = i.name "+
+												   "JOIN inventory.element e "+
+												   "ON a.element_id = e.id ";
+	
+	private static final ResultSetMapping<AddressRef> ADDRESS = rs -> new AddressRef(elementId(rs.getString(1)),
+																					 interfaceName(rs.getString(2)),
+																					 routingInstance(rs.getString(3)),
+																					 cidr(rs.getString(4)));
+	
+	@Inject
+	@Inventory
+	private DatabaseService db;
+	
+	protected IPPrefixIndexService() {
+		// CDI
+	}
+	
+	protected IPPrefixIndexService(DatabaseService db) {
+		this.db = db;
+	}
+	
+	/**
+	 * Loads all logical interface addresses.
+	 * @return all logical interface addresses.
+	 */
+	public List<AddressRef> loadAddresses(){
+		return db.executeQuery(prepare(SELECT_ADDRESSES), 
+							   ADDRESS);
+	}
+	
+	/**
+	 * Loads all logical interface addresses of the specified element.
+	 * @param elementId the element ID
+	 * @return all logical interface addresses of the element.
+	 */
+	public List<AddressRef> loadAddresses(ElementId elementId){
+		return db.executeQuery(prepare(SELECT_ADDRESSES+
+									   "WHERE e.uuid=?",
+									   elementId.getValue()), 
+							   ADDRESS);
+	}
+	
+	/**
+	 * Loads all addresses of the specified logical interface.
+	 * @param elementId the element ID
+	 * @param iflName the logical interface name
+	 * @return all addresses of the logical interface.
+	 */
+	public List<AddressRef> loadAddresses(ElementId elementId, InterfaceName iflName){
+		return db.executeQuery(prepare(SELECT_ADDRESSES+
+									   "WHERE e.uuid=? AND a.element_ifl_name=?",
+									   elementId.getValue(),
+									   iflName.getValue()), 
+							   ADDRESS);
+	}
+	
+	/**
+	 * Loads all logical interface addresses of the specified elements.
+	 * @param elementIds the element IDs
+	 * @return all logical interface addresses of the elements.
+	 */
+	public List<AddressRef> loadAddresses(Collection<ElementId> elementIds){
+		List<ElementId> ids = new ArrayList<>(elementIds);
+		List<AddressRef> addresses = new ArrayList<>();
+		for(int i=0; i < ids.size(); i+=MAX_IN_LIST_SIZE) {
+			List<ElementId> chunk = ids.subList(i, min(i+MAX_IN_LIST_SIZE, ids.size()));
+			List<Object> args = new ArrayList<>(chunk.size());
+			chunk.forEach(id -> args.add(id.getValue()));
+			addresses.addAll(db.executeQuery(prepare(SELECT_ADDRESSES+
+													 "WHERE e.uuid IN ("+join(",", nCopies(chunk.size(), "?"))+")",
+													 args), 
+											 ADDRESS));
+		}
+		return addresses;
+	}
+	
+	/**
+	 * Loads the logical interface fingerprint of all elements with logical interfaces.
+	 * The fingerprint consists of the number of logical interfaces and the last modification of a logical interface.
+	 * Adding, modifying or removing a logical interface changes the fingerprint of the element.
+	 * @return the logical interface fingerprints by element ID.
+	 */
+	public Map<ElementId,IflFingerprint> loadFingerprints(){
+		Map<ElementId,IflFingerprint> fingerprints = new HashMap<>();
+		db.processQuery(prepare("SELECT e.uuid, COUNT(*), MAX(i.tsmodified) "+
+								"FROM inventory.element_ifl i "+
+								"JOIN inventory.element e "+
+								"ON i.element_id = e.id "+
+								"GROUP BY e.uuid"), 
+						rs -> fingerprints.put(elementId(rs.getString(1)), 
+											   new IflFingerprint(rs.getLong(2), 
+													   			  rs.getTimestamp(3))));
+		return fingerprints;
+	}
+	
+	/**
+	 * Adds the element information to the specified logical interface addresses.
+	 * Addresses of elements that do not exist anymore are omitted.
+	 * @param refs the logical interface addresses
+	 * @return the logical interface addresses in the given order.
+	 */
+	public List<LogicalInterfaceAddress> loadAddresses(List<AddressRef> refs){
+		Set<ElementId> elementIds = new LinkedHashSet<>();
+		for(AddressRef ref : refs) {
+			elementIds.add(ref.getElementId());
+		}
+		List<ElementId> ids = new ArrayList<>(elementIds);
+		Map<ElementId,LogicalInterfaceAddress> elements = new HashMap<>();
+		for(int i=0; i < ids.size(); i+=MAX_IN_LIST_SIZE) {
+			List<ElementId> chunk = ids.subList(i, min(i+MAX_IN_LIST_SIZE, ids.size()));
+			List<Object> args = new ArrayList<>(chunk.size());
+			chunk.forEach(id -> args.add(id.getValue()));
+			db.processQuery(prepare("SELECT e.uuid, e.name, r.name, g.uuid, g.type, g.name "+
+									"FROM inventory.element e "+
+									"JOIN inventory.elementrole r "+
+									"ON e.elementrole_id = r.id "+
+									"JOIN inventory.elementgroup g "+
+									"ON e.elementgroup_id = g.id "+
+									"WHERE e.uuid IN ("+join(",", nCopies(chunk.size(), "?"))+")",
+									args), 
+							rs -> elements.put(elementId(rs.getString(1)),
+											   newLogicalInterfaceAddress()
+											   .withElementId(elementId(rs.getString(1)))
+											   .withElementName(elementName(rs.getString(2)))
+											   .withElementRole(elementRoleName(rs.getString(3)))
+											   .withGroupId(groupId(rs.getString(4)))
+											   .withGroupType(groupType(rs.getString(5)))
+											   .withGroupName(groupName(rs.getString(6)))
+											   .build()));
+		}
+		List<LogicalInterfaceAddress> addresses = new ArrayList<>(refs.size());
+		for(AddressRef ref : refs) {
+			LogicalInterfaceAddress element = elements.get(ref.getElementId());
+			if(element != null) {
+				addresses.add(newLogicalInterfaceAddress()
+							  .withGroupId(element.getGroupId())
+							  .withGroupType(element.getGroupType())
+							  .withGroupName(element.getGroupName())
+							  .withElementId(element.getElementId())
+							  .withElementName(element.getElementName())
+							  .withElementRole(element.getElementRole())
+							  .withIflName(ref.getIflName())
+							  .withRoutingInstance(ref.getRoutingInstance())
+							  .withAddress(ref.getAddress())
+							  .build());
+			}
+		}
+		return addresses;
+	}
+
+}
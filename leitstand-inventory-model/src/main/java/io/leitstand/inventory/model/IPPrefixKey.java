@@ -0,0 +1,270 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import java.util.Arrays;
+
+/**
+ * The binary representation of an IPv4 or IPv6 address in CIDR notation.
+ * <p>
+ * The key consists of the address octets in network byte order and the prefix length.
+ * {@link #getHost()} returns the address as specified, 
+ * whereas {@link #getNetwork()} returns the address with all host bits cleared.
+ * An address without prefix length is a host address, i.e. the prefix length is 32 for IPv4 and 128 for IPv6 addresses.
+ * <p>
+ * The parser neither resolves host names nor accepts IPv6 zone IDs.
+ */
+final class IPPrefixKey {
+
+	/**
+	 * Parses an IP address or an IP address in CIDR notation.
+	 * @param address the IP address
+	 * @return the prefix key or <code>null</code> if the given string is not a valid IP address.
+	 */
+	static IPPrefixKey parse(String address) {
+		if(address == null) {
+			return null;
+		}
+		int slash = address.indexOf('/');
+		String ip = slash < 0 ? address : address.substring(0, slash);
+		byte[] octets = ip.indexOf(':') < 0 ? parseIPv4(ip) : parseIPv6(ip);
+		if(octets == null) {
+			return null;
+		}
+		int maxLength = octets.length * 8;
+		int length = maxLength;
+		if(slash >= 0) {
+			length = parseDecimal(address, slash+1, address.length(), maxLength);
+			if(length < 0) {
+				return null;
+			}
+		}
+		return new IPPrefixKey(octets,length);
+	}
+	
+	private static int parseDecimal(String s, int from, int to, int max) {
+		if(from == to || to - from > 3) {
+			return -1;
+		}
+		int value = 0;
+		for(int i=from; i < to; i++) {
+			char c = s.charAt(i);
+			if(c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value <= max ? value : -1;
+	}
+	
+	private static byte[] parseIPv4(String ip) {
+		byte[] octets = new byte[4];
+		int start = 0;
+		for(int i=0; i < 4; i++) {
+			int end = ip.indexOf('.', start);
+			if(i == 3) {
+				if(end >= 0) {
+					return null;
+				}
+				end = ip.length();
+			} else if(end < 0) {
+				return null;
+			}
+			int octet = parseDecimal(ip, start, end, 255);
+			if(octet < 0) {
+				return null;
+			}
+			octets[i] = (byte) octet;
+			start = end+1;
+		}
+		return octets;
+	}
+	
+	private static byte[] parseIPv6(String ip) {
+		byte[] octets = new byte[16];
+		int compressed = ip.indexOf("::");
+		if(compressed >= 0 && ip.indexOf("::", compressed+1) >= 0) {
+			return null;
+		}
+		String head = compressed < 0 ? ip : ip.substring(0, compressed);
+		String tail = compressed < 0 ? "" : ip.substring(compressed+2);
+		int headLength = parseGroups(head, octets, 0, compressed < 0);
+		if(headLength < 0) {
+			return null;
+		}
+		if(compressed < 0) {
+			return headLength == 16 ? octets : null;
+		}
+		byte[] tailOctets = new byte[16];
+		int tailLength = parseGroups(tail, tailOctets, 0, true);
+		if(tailLength < 0 || headLength + tailLength > 14) {
+			return null;
+		}
+		System.arraycopy(tailOctets, 0, octets, 16-tailLength, tailLength);
+		return octets;
+	}
+	
+	private static int parseGroups(String groups, byte[] octets, int offset, boolean ipv4Allowed) {
+		if(groups.isEmpty()) {
+			return 0;
+		}
+		int pos = offset;
+		int start = 0;
+		while(start <= groups.length()) {
+			int end = groups.indexOf(':', start);
+			if(end < 0) {
+				end = groups.length();
+				if(ipv4Allowed && groups.indexOf('.', start) >= 0) {
+					// Embedded IPv4 address in the last two groups.
+					byte[] ipv4 = parseIPv4(groups.substring(start));
+					if(ipv4 == null || pos + 4 > octets.length) {
+						return -1;
+					}
+					System.arraycopy(ipv4, 0, octets, pos, 4);
+					return pos + 4 - offset;
+				}
+			}
+			if(end == start || end - start > 4 || pos + 2 > octets.length) {
+				return -1;
+			}
+			int group = 0;
+			for(int i=start; i < end; i++) {
+				int digit = Character.digit(groups.charAt(i), 16);
+				if(digit < 0) {
+					return -1;
+				}
+				group = (group << 4) | digit;
+			}
+			octets[pos++] = (byte) (group >> 8);
+			octets[pos++] = (byte) group;
+			start = end+1;
+		}
+		return pos - offset;
+	}
+	
+	private final byte[] host;
+	private final int length;
+	
+	IPPrefixKey(byte[] host, int length){
+		this.host = host;
+		this.length = length;
+	}
+	
+	/**
+	 * Returns whether this is an IPv4 address.
+	 * @return <code>true</code> for an IPv4 address and <code>false</code> for an IPv6 address.
+	 */
+	boolean isIPv4() {
+		return host.length == 4;
+	}
+	
+	/**
+	 * Returns the address octets as specified.
+	 * @return the address octets. 
+	 */
+	byte[] getHost() {
+		return host;
+	}
+	
+	/**
+	 * Returns the address octets with all host bits cleared.
+	 * @return the network octets.
+	 */
+	byte[] getNetwork() {
+		return mask(host,length);
+	}
+	
+	/**
+	 * Returns the prefix length.
+	 * @return the prefix length.
+	 */
+	int getLength() {
+		return length;
+	}
+	
+	/**
+	 * Returns a copy of the given address with all bits after the specified number of leading bits cleared.
+	 * @param address the address octets
+	 * @param length the number of bits to retain
+	 * @return the masked address octets
+	 */
+	static byte[] mask(byte[] address, int length) {
+		byte[] masked = Arrays.copyOf(address, address.length);
+		int octet = length / 8;
+		if(octet < masked.length) {
+			masked[octet] &= (byte) (0xFF00 >> (length % 8));
+			for(int i=octet+1; i < masked.length; i++) {
+				masked[i] = 0;
+			}
+		}
+		return masked;
+	}
+	
+	/**
+	 * Formats the given address octets as IPv4 address in dotted-decimal notation 
+	 * or as IPv6 address in the canonical text representation of RFC 5952.
+	 * @param address the address octets
+	 * @return the text representation of the address.
+	 */
+	static String format(byte[] address) {
+		StringBuilder s = new StringBuilder(39);
+		if(address.length == 4) {
+			for(int i=0; i < 4; i++) {
+				if(i > 0) {
+					s.append('.');
+				}
+				s.append(address[i] & 0xFF);
+			}
+			return s.toString();
+		}
+		// Find the longest run of at least two zero groups to be compressed.
+		int bestStart = -1;
+		int bestLength = 1;
+		for(int i=0; i < 8; i++) {
+			int j = i;
+			while(j < 8 && group(address,j) == 0) {
+				j++;
+			}
+			if(j - i > bestLength) {
+				bestStart = i;
+				bestLength = j - i;
+			}
+			i = j;
+		}
+		for(int i=0; i < 8; i++) {
+			if(i == bestStart) {
+				s.append("::");
+				i += bestLength - 1;
+				continue;
+			}
+			if(i > 0 && i != bestStart + bestLength) {
+				s.append(':');
+			}
+			s.append(Integer.toHexString(group(address,i)));
+		}
+		return s.toString();
+	}
+	
+	private static int group(byte[] address, int i) {
+		return ((address[2*i] & 0xFF) << 8) | (address[2*i+1] & 0xFF);
+	}
+	
+	@Override
+	public String toString() {
+		return format(host)+"/"+length;
+	}
+	
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.IPvxPrefix;
+import io.leitstand.inventory.service.InterfaceName;
+import io.leitstand.inventory.service.RoutingInstanceName;
+
+/**
+ * The IP addresses of all logical interfaces organized in an IPv4 and an IPv6 {@link IPPrefixTrie}.
+ * <p>
+ * An address of a logical interface is stored under its network prefix, 
+ * e.g. <code>10.20.30.1/24</code> is stored under <code>10.20.30.0/24</code>.
+ * Hence the longest prefix match of an address returns the logical interfaces attached to the most specific subnet of the address.
+ * Two logical interfaces are in conflict if they have the same host address in the same routing instance.
+ * <p>
+ * The table is not thread-safe.
+ */
+final class IPPrefixTable {
+
+	/**
+	 * An IP address of a logical interface.
+	 */
+	static final class AddressRef {
+		private final ElementId elementId;
+		private final InterfaceName iflName;
+		private final RoutingInstanceName routingInstance;
+		private final IPvxPrefix address;
+		private final IPPrefixKey key;
+		
+		AddressRef(ElementId elementId,
+				   InterfaceName iflName, 
+				   RoutingInstanceName routingInstance, 
+				   IPvxPrefix address){
+			this.elementId = elementId;
+			this.iflName = iflName;
+			this.routingInstance = routingInstance;
+			this.address = address;
+			this.key = IPPrefixKey.parse(address.getValue());
+		}
+		
+		ElementId getElementId() {
+			return elementId;
+		}
+		
+		InterfaceName getIflName() {
+			return iflName;
+		}
+		
+		RoutingInstanceName getRoutingInstance() {
+			return routingInstance;
+		}
+		
+		IPvxPrefix getAddress() {
+			return address;
+		}
+		
+		String getHostAddress() {
+			return IPPrefixKey.format(key.getHost());
+		}
+		
+		private boolean isSameHost(AddressRef ref) {
+			return Arrays.equals(key.getHost(), ref.key.getHost()) 
+				   && Objects.equals(routingInstance, ref.routingInstance);
+		}
+		
+		private boolean isSameInterface(AddressRef ref) {
+			return elementId.equals(ref.elementId) && iflName.equals(ref.iflName);
+		}
+	}
+	
+	private final IPPrefixTrie<AddressRef> ipv4 = new IPPrefixTrie<>(4);
+	private final IPPrefixTrie<AddressRef> ipv6 = new IPPrefixTrie<>(16);
+	private final Map<ElementId,List<AddressRef>> elements = new HashMap<>();
+	
+	private IPPrefixTrie<AddressRef> trie(IPPrefixKey key){
+		return key.isIPv4() ? ipv4 : ipv6;
+	}
+	
+	/**
+	 * Adds a logical interface address.
+	 * Invalid addresses are ignored.
+	 * @param ref the logical interface address
+	 * @return <code>true</code> if the address was added, <code>false</code> if the address is invalid.
+	 */
+	boolean put(AddressRef ref) {
+		if(ref.key == null) {
+			return false;
+		}
+		trie(ref.key).put(ref.key.getHost(), ref.key.getLength(), ref);
+		elements.computeIfAbsent(ref.elementId, id -> new ArrayList<>()).add(ref);
+		return true;
+	}
+	
+	/**
+	 * Removes all logical interface addresses of the specified element.
+	 * @param elementId the element ID
+	 */
+	void removeAll(ElementId elementId) {
+		List<AddressRef> refs = elements.remove(elementId);
+		if(refs == null) {
+			return;
+		}
+		for(AddressRef ref : refs) {
+			trie(ref.key).remove(ref.key.getHost(), ref.key.getLength(), candidate -> candidate == ref);
+		}
+	}
+	
+	/**
+	 * Removes all addresses of the specified logical interface.
+	 * @param elementId the element ID
+	 * @param iflName the logical interface name
+	 */
+	void removeAll(ElementId elementId, InterfaceName iflName) {
+		List<AddressRef> refs = elements.get(elementId);
+		if(refs == null) {
+			return;
+		}
+		Iterator<AddressRef> i = refs.iterator();
+		while(i.hasNext()) {
+			AddressRef ref = i.next();
+			if(ref.iflName.equals(iflName)) {
+				trie(ref.key).remove(ref.key.getHost(), ref.key.getLength(), candidate -> candidate == ref);
+				i.remove();
+			}
+		}
+		if(refs.isEmpty()) {
+			elements.remove(elementId);
+		}
+	}
+	
+	/**
+	 * Returns the logical interfaces attached to the longest prefix that contains the specified address.
+	 * @param address the address
+	 * @return the logical interface addresses of the longest matching prefix.
+	 */
+	List<AddressRef> longestMatch(IPPrefixKey address){
+		return trie(address).longestMatch(address.getHost());
+	}
+	
+	/**
+	 * Returns the logical interface addresses covered by the specified prefix in address order.
+	 * @param prefix the prefix
+	 * @param limit the maximum number of returned addresses
+	 * @return the covered logical interface addresses.
+	 */
+	List<AddressRef> covered(IPPrefixKey prefix, int limit){
+		return trie(prefix).covered(prefix.getHost(), prefix.getLength(), limit);
+	}
+	
+	/**
+	 * Returns all logical interfaces that use the same host address in the same routing instance as another logical interface.
+	 * Every returned list contains the logical interfaces using the same host address.
+	 * @param limit the maximum number of returned conflicts
+	 * @return the address conflicts.
+	 */
+	List<List<AddressRef>> conflicts(int limit){
+		List<List<AddressRef>> conflicts = new ArrayList<>();
+		Set<AddressRef> reported = new HashSet<>();
+		for(IPPrefixTrie<AddressRef> trie : asList(ipv4,ipv6)) {
+			trie.forEach(ref -> {
+				if(conflicts.size() == limit || reported.contains(ref)) {
+					return;
+				}
+				List<AddressRef> conflict = conflicts(trie, ref);
+				if(!conflict.isEmpty()) {
+					reported.addAll(conflict);
+					conflicts.add(conflict);
+				}
+			});
+		}
+		return conflicts;
+	}
+	
+	/**
+	 * Returns the logical interfaces that use the same host address in the same routing instance as the given address.
+	 * @param address the logical interface address
+	 * @return the conflicting logical interface addresses including the given address 
+	 * 		   or an empty list if the address is not in conflict with another logical interface.
+	 */
+	List<AddressRef> conflicts(AddressRef address){
+		return address.key != null ? conflicts(trie(address.key), address) : emptyList();
+	}
+	
+	private static List<AddressRef> conflicts(IPPrefixTrie<AddressRef> trie, AddressRef address){
+		// All addresses with the same host address are stored under a prefix that contains the host address.
+		List<AddressRef> conflict = new ArrayList<>();
+		trie.matches(address.key.getHost(), ref -> {
+			if(ref.isSameHost(address)) {
+				conflict.add(ref);
+			}
+		});
+		for(AddressRef ref : conflict) {
+			if(!ref.isSameInterface(address)) {
+				return conflict;
+			}
+		}
+		return emptyList();
+	}
+	
+	/**
+	 * Returns the number of logical interface addresses in this table.
+	 * @return the number of logical interface addresses.
+	 */
+	int size() {
+		return ipv4.size() + ipv6.size();
+	}
+	
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.IPPrefixKey.mask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A compressed binary radix trie (Patricia trie) of IP prefixes of the same address family.
+ * <p>
+ * Every node represents a prefix. 
+ * Nodes without values only exist to join two subtrees and are removed as soon as they have less than two children. 
+ * Hence the trie has at most two nodes per stored prefix and a lookup visits at most one node per prefix bit,
+ * i.e. 32 nodes for IPv4 and 128 nodes for IPv6, regardless of the number of stored prefixes.
+ * <p>
+ * The trie is not thread-safe.
+ * @param <V> the value type
+ */
+final class IPPrefixTrie<V> {
+
+	private static final class Node<V> {
+		private final byte[] prefix;
+		private final int length;
+		private Node<V> zero;
+		private Node<V> one;
+		private List<V> values;
+		
+		private Node(byte[] prefix, int length){
+			this.prefix = prefix;
+			this.length = length;
+		}
+		
+		private Node<V> child(int bit){
+			return bit == 0 ? zero : one;
+		}
+		
+		private void child(int bit, Node<V> child) {
+			if(bit == 0) {
+				zero = child;
+			} else {
+				one = child;
+			}
+		}
+		
+		private int children() {
+			return (zero != null ? 1 : 0) + (one != null ? 1 : 0);
+		}
+		
+		private Node<V> onlyChild(){
+			return zero != null ? zero : one;
+		}
+	}
+	
+	private static int bit(byte[] address, int i) {
+		return (address[i >>> 3] >>> (7 - (i & 7))) & 1;
+	}
+	
+	/**
+	 * Returns whether the first <code>length</code> bits of both addresses are equal.
+	 */
+	private static boolean matches(byte[] a, byte[] b, int length) {
+		int octets = length >>> 3;
+		for(int i=0; i < octets; i++) {
+			if(a[i] != b[i]) {
+				return false;
+			}
+		}
+		int bits = length & 7;
+		if(bits == 0) {
+			return true;
+		}
+		int mask = 0xFF00 >>> bits;
+		return (a[octets] & mask) == (b[octets] & mask);
+	}
+	
+	/**
+	 * Returns the number of leading bits both addresses have in common, but at most <code>max</code> bits.
+	 */
+	private static int common(byte[] a, byte[] b, int max) {
+		int i = 0;
+		while(i < max && bit(a,i) == bit(b,i)) {
+			i++;
+		}
+		return i;
+	}
+	
+	private final Node<V> root;
+	private int size;
+	
+	/**
+	 * Creates an empty trie.
+	 * @param octets the address length in octets, i.e. 4 for IPv4 and 16 for IPv6.
+	 */
+	IPPrefixTrie(int octets){
+		this.root = new Node<>(new byte[octets],0);
+	}
+	
+	/**
+	 * Adds a value to the specified prefix.
+	 * @param address the prefix address, which is masked with the prefix length
+	 * @param length the prefix length
+	 * @param value the value
+	 */
+	void put(byte[] address, int length, V value) {
+		byte[] prefix = mask(address,length);
+		Node<V> node = root;
+		while(node.length < length) {
+			int bit = bit(prefix,node.length);
+			Node<V> child = node.child(bit);
+			if(child == null) {
+				child = new Node<>(prefix,length);
+				node.child(bit,child);
+				node = child;
+				break;
+			}
+			int common = common(prefix, child.prefix, Math.min(length, child.length));
+			if(common == child.length) {
+				node = child;
+				continue;
+			}
+			// Split the edge to the child.
+			Node<V> split = new Node<>(mask(prefix,common),common);
+			split.child(bit(child.prefix,common), child);
+			node.child(bit, split);
+			if(common < length) {
+				Node<V> leaf = new Node<>(prefix,length);
+				split.child(bit(prefix,common), leaf);
+				node = leaf;
+			} else {
+				node = split;
+			}
+			break;
+		}
+		if(node.values == null) {
+			node.values = new ArrayList<>(1);
+		}
+		node.values.add(value);
+		size++;
+	}
+	
+	/**
+	 * Removes all values of the specified prefix that match the given filter.
+	 * @param address the prefix address, which is masked with the prefix length
+	 * @param length the prefix length
+	 * @param filter the filter to select the values to be removed
+	 * @return the number of removed values
+	 */
+	int remove(byte[] address, int length, Predicate<V> filter) {
+		Node<V> grandparent = null;
+		Node<V> parent = null;
+		Node<V> node = root;
+		while(node != null && node.length < length) {
+			grandparent = parent;
+			parent = node;
+			node = node.child(bit(address,node.length));
+			if(node != null && !matches(node.prefix, address, Math.min(node.length, length))) {
+				return 0;
+			}
+		}
+		if(node == null || node.length != length || node.values == null) {
+			return 0;
+		}
+		int before = node.values.size();
+		node.values.removeIf(filter);
+		int removed = before - node.values.size();
+		size -= removed;
+		if(node.values.isEmpty()) {
+			node.values = null;
+			if(node != root) {
+				prune(grandparent, parent, node);
+			}
+		}
+		return removed;
+	}
+	
+	private void prune(Node<V> grandparent, Node<V> parent, Node<V> node) {
+		int children = node.children();
+		if(children == 2) {
+			// The node still joins two subtrees.
+			return;
+		}
+		int bit = bit(node.prefix,parent.length);
+		parent.child(bit, children == 1 ? node.onlyChild() : null);
+		if(children == 0 && parent != root && parent.values == null) {
+			// The parent only joined the removed node with its other subtree.
+			grandparent.child(bit(parent.prefix,grandparent.length), parent.onlyChild());
+		}
+	}
+	
+	/**
+	 * Returns the values of the longest prefix that contains the given address.
+	 * @param address the address
+	 * @return the values of the longest matching prefix or an empty list if no prefix contains the address.
+	 */
+	List<V> longestMatch(byte[] address){
+		List<V> best = null;
+		int bits = address.length * 8;
+		Node<V> node = root;
+		while(node != null && matches(node.prefix, address, node.length)) {
+			if(node.values != null) {
+				best = node.values;
+			}
+			if(node.length == bits) {
+				break;
+			}
+			node = node.child(bit(address,node.length));
+		}
+		return best != null ? new ArrayList<>(best) : new ArrayList<>(0);
+	}
+	
+	/**
+	 * Passes the values of all prefixes that contain the given address to the specified consumer, 
+	 * starting with the shortest prefix.
+	 * @param address the address
+	 * @param consumer the values consumer
+	 */
+	void matches(byte[] address, Consumer<V> consumer){
+		int bits = address.length * 8;
+		Node<V> node = root;
+		while(node != null && matches(node.prefix, address, node.length)) {
+			if(node.values != null) {
+				node.values.forEach(consumer);
+			}
+			if(node.length == bits) {
+				break;
+			}
+			node = node.child(bit(address,node.length));
+		}
+	}
+	
+	/**
+	 * Returns the values of all prefixes covered by the specified prefix, including the specified prefix itself, in address order.
+	 * @param address the prefix address
+	 * @param length the prefix length
+	 * @param limit the maximum number of returned values
+	 * @return the values of all covered prefixes
+	 */
+	List<V> covered(byte[] address, int length, int limit){
+		List<V> values = new ArrayList<>();
+		Node<V> node = root;
+		while(node != null && node.length < length) {
+			node = node.child(bit(address,node.length));
+			if(node != null && !matches(node.prefix, address, Math.min(node.length, length))) {
+				return values;
+			}
+		}
+		if(node != null) {
+			collect(node, values, limit);
+		}
+		return values;
+	}
+	
+	/**
+	 * Passes all values to the specified consumer in address order.
+	 * @param consumer the values consumer
+	 */
+	void forEach(Consumer<V> consumer) {
+		List<Node<V>> stack = new ArrayList<>();
+		stack.add(root);
+		while(!stack.isEmpty()) {
+			Node<V> node = stack.remove(stack.size()-1);
+			if(node.values != null) {
+				node.values.forEach(consumer);
+			}
+			if(node.one != null) {
+				stack.add(node.one);
+			}
+			if(node.zero != null) {
+				stack.add(node.zero);
+			}
+		}
+	}
+	
+	private void collect(Node<V> start, List<V> values, int limit) {
+		List<Node<V>> stack = new ArrayList<>();
+		stack.add(start);
+		while(!stack.isEmpty()) {
+			Node<V> node = stack.remove(stack.size()-1);
+			if(node.values != null) {
+				for(V value : node.values) {
+					if(values.size() == limit) {
+						return;
+					}
+					values.add(value);
+				}
+			}
+			if(node.one != null) {
+				stack.add(node.one);
+			}
+			if(node.zero != null) {
+				stack.add(node.zero);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the number of values stored in this trie.
+	 * @return the number of values.
+	 */
+	int size() {
+		return size;
+	}
+	
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.commons.model.Patterns.UUID_PATTERN;
+import static io.leitstand.commons.model.StringUtil.isNonEmptyString;
+import static io.leitstand.commons.model.StringUtil.trim;
+import static io.leitstand.inventory.jpa.ImageStateConverter.toDbValue;
+import static io.leitstand.inventory.jpa.ImageStateConverter.toImageState;
+import static io.leitstand.inventory.model.Image.prerelease;
+import static io.leitstand.inventory.service.ApplicationName.applicationName;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.ImageId.imageId;
+import static io.leitstand.inventory.service.ImageInfo.newImageInfo;
+import static io.leitstand.inventory.service.ImageName.imageName;
+import static io.leitstand.inventory.service.ImageType.imageType;
+import static io.leitstand.inventory.service.PackageVersionInfo.newPackageVersionInfo;
+import static io.leitstand.inventory.service.PlatformChipsetName.platformChipsetName;
+import static io.leitstand.inventory.service.PlatformId.platformId;
+import static io.leitstand.inventory.service.PlatformName.platformName;
+import static io.leitstand.inventory.service.PlatformSettings.newPlatformSettings;
+import static java.lang.String.join;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.nCopies;
+import static java.util.regex.Pattern.compile;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+
+import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.inventory.service.ApplicationName;
+import io.leitstand.inventory.service.ElementRoleName;
+import io.leitstand.inventory.service.ImageInfo;
+import io.leitstand.inventory.service.ImageQuery;
+import io.leitstand.inventory.service.PackageVersionInfo;
+import io.leitstand.inventory.service.PlatformSettings;
+import io.leitstand.inventory.service.Version;
+
+/**
+ * Loads the image export with a constant number of queries per chunk of images.
+ * <p>
+ * The images matching the export query are read in primary key order in chunks of {@value #CHUNK_SIZE} images.
+ * For every chunk, the images, the image element roles, the image applications, the image checksums, 
+ * the image packages and the package checksums are loaded by one query each.
+ * The platforms are loaded once for the entire export.
+ * Every image is passed to the export consumer as soon as the chunk is loaded,
+ * which allows streaming the export without holding the entire image catalog in memory.
+ */
+@Dependent
+public class ImageExportManager {
+
+	static final int CHUNK_SIZE = 500;
+	private static final Pattern IMAGE_ID_PATTERN = compile(UUID_PATTERN);
+	
+	/**
+	 * A package version of an image.
+	 */
+	private static final class ImagePackage {
+		private final long imageId;
+		private final long packageVersionId;
+		private final PackageVersionInfo.Builder pkg;
+		
+		ImagePackage(long imageId, long packageVersionId, PackageVersionInfo.Builder pkg){
+			this.imageId = imageId;
+			this.packageVersionId = packageVersionId;
+			this.pkg = pkg;
+		}
+	}
+	
+	private DatabaseService db;
+	
+	protected ImageExportManager() {
+		// CDI
+	}
+	
+	@Inject
+	protected ImageExportManager(@Inventory DatabaseService db) {
+		this.db = db;
+	}
+	
+	/**
+	 * Passes all images matching the given query to the specified consumer.
+	 * The query limit is ignored.
+	 * The images are passed in the order they were added to the inventory.
+	 * @param query the image query
+	 * @param images the consumer of the exported images
+	 */
+	public void exportImages(ImageQuery query, 
+							 Consumer<ImageInfo> images) {
+		Map<String,List<PlatformSettings>> platforms = loadPlatforms();
+		long lastId = 0;
+		while(true) {
+			Map<Long,ImageInfo.Builder> chunk = loadImages(query, lastId, platforms);
+			if(chunk.isEmpty()) {
+				return;
+			}
+			String in = join(",", nCopies(chunk.size(),"?"));
+			List<Object> ids = new ArrayList<>(chunk.keySet());
+			Map<Long,List<ElementRoleName>> roles = new HashMap<>();
+			db.processQuery(prepare("SELECT ir.image_id, r.name "+
+									"FROM inventory.image_elementrole ir "+
+									"JOIN inventory.elementrole r "+
+									"ON ir.elementrole_id = r.id "+
+									"WHERE ir.image_id IN ("+in+") "+
+									"ORDER BY r.name", 
+									ids),
+							rs -> roles.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>())
+									   .add(elementRoleName(rs.getString(2))));
+			Map<Long,List<ApplicationName>> applications = new HashMap<>();
+			db.processQuery(prepare("SELECT ia.image_id, a.name "+
+									"FROM inventory.image_application ia "+
+									"JOIN inventory.application a "+
+									"ON ia.application_id = a.id "+
+									"WHERE ia.image_id IN ("+in+") "+
+									"ORDER BY a.name", 
+									ids),
+							rs -> applications.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>())
+											  .add(applicationName(rs.getString(2))));
+			Map<Long,Map<String,String>> checksums = loadChecksums("SELECT c.image_id, c.algorithm, c.checksum "+
+																   "FROM inventory.image_checksum c "+
+																   "WHERE c.image_id IN ("+in+")", 
+																   ids);
+			Map<Long,List<PackageVersionInfo>> packages = loadPackages(in, ids);
+			for(Map.Entry<Long,ImageInfo.Builder> image : chunk.entrySet()) {
+				Long id = image.getKey();
+				images.accept(image.getValue()
+								   .withElementRoles(roles.getOrDefault(id, emptyList()))
+								   .withApplications(applications.getOrDefault(id, emptyList()))
+								   .withChecksums(checksums.getOrDefault(id, emptyMap()))
+								   .withPackages(packages.getOrDefault(id, emptyList()))
+								   .build());
+				lastId = id;
+			}
+			if(chunk.size() < CHUNK_SIZE) {
+				return;
+			}
+		}
+	}
+	
+	private Map<String,List<PlatformSettings>> loadPlatforms(){
+		Map<String,List<PlatformSettings>> platforms = new HashMap<>();
+		db.processQuery(prepare("SELECT p.chipset, p.uuid, p.name, p.model, p.vendor, p.description "+
+								"FROM inventory.platform p "+
+								"ORDER BY p.name"),
+						rs -> platforms.computeIfAbsent(rs.getString(1), chipset -> new ArrayList<>())
+									   .add(newPlatformSettings()
+											.withPlatformId(platformId(rs.getString(2)))
+											.withPlatformName(platformName(rs.getString(3)))
+											.withModelName(rs.getString(4))
+											.withVendorName(rs.getString(5))
+											.withDescription(rs.getString(6))
+											.build()));
+		return platforms;
+	}
+	
+	private Map<Long,ImageInfo.Builder> loadImages(ImageQuery query, 
+												   long lastId, 
+												   Map<String,List<PlatformSettings>> platforms) {
+		List<Object> args = new ArrayList<>();
+		args.add(lastId);
+		String sql = "SELECT i.id, i.uuid, i.org, i.category, i.name, i.type, i.state, i.chipset, "+
+					 "i.major, i.minor, i.patch, i.prerelease, i.ext, i.tsbuild, i.buildid, e.name "+
+					 "FROM inventory.image i "+
+					 "LEFT JOIN inventory.element e "+
+					 "ON i.element_id = e.id "+
+					 "WHERE i.id > ? ";
+		String filter = trim(query.getFilter());
+		if(filter != null && IMAGE_ID_PATTERN.matcher(filter).matches()) {
+			sql += "AND i.uuid = ? ";
+			args.add(filter);
+		} else if(isNonEmptyString(filter)) {
+			sql += "AND i.name ~ ? ";
+			args.add(filter);
+		}
+		if(query.getElementRole() != null) {
+			sql += "AND EXISTS (SELECT 1 FROM inventory.image_elementrole ir "+
+				   "JOIN inventory.elementrole r ON ir.elementrole_id = r.id "+
+				   "WHERE ir.image_id = i.id AND r.name = ?) ";
+			args.add(query.getElementRole().getValue());
+		}
+		if(query.getImageType() != null) {
+			sql += "AND i.type = ? ";
+			args.add(query.getImageType().getValue());
+		}
+		if(query.getImageState() != null) {
+			sql += "AND i.state = ? ";
+			args.add(toDbValue(query.getImageState()));
+		}
+		if(query.getPlatformChipset() != null) {
+			sql += "AND i.chipset = ? ";
+			args.add(query.getPlatformChipset().getValue());
+		}
+		Version version = query.getImageVersion();
+		if(version != null) {
+			sql += "AND i.major = ? AND i.minor = ? AND i.patch = ? ";
+			args.add(version.getMajorLevel());
+			args.add(version.getMinorLevel());
+			args.add(version.getPatchLevel());
+			if(isNonEmptyString(version.getPreRelease())) {
+				sql += "AND i.prerelease = ? ";
+				args.add(version.getPreRelease());
+			}
+		}
+		sql += "ORDER BY i.id "+
+			   "LIMIT "+CHUNK_SIZE;
+		
+		// Retain primary key order.
+		Map<Long,ImageInfo.Builder> images = new LinkedHashMap<>();
+		db.processQuery(prepare(sql, args), 
+						rs -> {
+							String chipset = rs.getString(8);
+							images.put(rs.getLong(1), 
+									   newImageInfo()
+									   .withImageId(imageId(rs.getString(2)))
+									   .withOrganization(rs.getString(3))
+									   .withCategory(rs.getString(4))
+									   .withImageName(imageName(rs.getString(5)))
+									   .withImageType(imageType(rs.getString(6)))
+									   .withImageState(toImageState(rs.getString(7)))
+									   .withPlatformChipset(platformChipsetName(chipset))
+									   .withPlatforms(platforms.getOrDefault(chipset, emptyList()))
+									   .withImageVersion(new Version(rs.getInt(9),
+											   						 rs.getInt(10),
+											   						 rs.getInt(11),
+											   						 prerelease(rs.getString(12))))
+									   .withExtension(rs.getString(13))
+									   .withBuildDate(rs.getTimestamp(14))
+									   .withBuildId(rs.getString(15))
+									   .withElementName(elementName(rs.getString(16))));
+						});
+		return images;
+	}
+	
+	private Map<Long,Map<String,String>> loadChecksums(String query, List<Object> ids){
+		Map<Long,Map<String,String>> checksums = new HashMap<>();
+		db.processQuery(prepare(query, ids), 
+						rs -> checksums.computeIfAbsent(rs.getLong(1), id -> new TreeMap<>())
+									   .put(rs.getString(2), rs.getString(3)));
+		return checksums;
+	}
+	
+	private Map<Long,List<PackageVersionInfo>> loadPackages(String in, List<Object> ids){
+		List<ImagePackage> imagePackages = new ArrayList<>();
+		db.processQuery(prepare("SELECT ip.image_id, pv.id, p.org, p.name, p.ext, "+
+								"pv.major, pv.minor, pv.patch, pv.prerelease, pv.buildid, pv.tsbuild "+
+								"FROM inventory.image_package_version ip "+
+								"JOIN inventory.package_version pv "+
+								"ON ip.package_version_id = pv.id "+
+								"JOIN inventory.package p "+
+								"ON pv.package_id = p.id "+
+								"WHERE ip.image_id IN ("+in+") "+
+								"ORDER BY p.org, p.name", 
+								ids), 
+						rs -> imagePackages.add(new ImagePackage(rs.getLong(1),
+																 rs.getLong(2),
+																 newPackageVersionInfo()
+																 .withOrganization(rs.getString(3))
+																 .withPackageName(rs.getString(4))
+																 .withPackageExtension(rs.getString(5))
+																 .withPackageVersion(new Version(rs.getInt(6),
+																		 						 rs.getInt(7),
+																		 						 rs.getInt(8),
+																		 						 rs.getString(9)))
+																 .withBuildId(rs.getString(10))
+																 .withBuildDate(rs.getTimestamp(11)))));
+		// Images of the same release typically share most of their packages.
+		Map<Long,Map<String,String>> checksums = loadChecksums("SELECT DISTINCT c.package_version_id, c.algorithm, c.checksum "+
+															   "FROM inventory.package_version_checksum c "+
+															   "JOIN inventory.image_package_version ip "+
+															   "ON c.package_version_id = ip.package_version_id "+
+															   "WHERE ip.image_id IN ("+in+")", 
+															   ids);
+		Map<Long,List<PackageVersionInfo>> packages = new HashMap<>();
+		for(ImagePackage imagePackage : imagePackages) {
+			packages.computeIfAbsent(imagePackage.imageId, id -> new ArrayList<>())
+					.add(imagePackage.pkg
+								 	 .withChecksums(checksums.getOrDefault(imagePackage.packageVersionId, emptyMap()))
+								 	 .build());
+		}
+		return packages;
+	}
+	
+}
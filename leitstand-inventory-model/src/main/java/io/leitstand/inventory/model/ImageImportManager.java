@@ -0,0 +1,590 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.commons.messages.MessageFactory.createMessage;
+import static io.leitstand.commons.model.StringUtil.isEmptyString;
+import static io.leitstand.inventory.event.ImageAddedEvent.newImageAddedEvent;
+import static io.leitstand.inventory.event.ImageStoredEvent.newImageStoredEvent;
+import static io.leitstand.inventory.jpa.ImageStateConverter.toDbValue;
+import static io.leitstand.inventory.model.DefaultImageService.imageEvent;
+import static io.leitstand.inventory.model.Image.prerelease;
+import static io.leitstand.inventory.model.JdbcBatch.batch;
+import static io.leitstand.inventory.service.ReasonCode.IVT0206I_IMAGES_IMPORTED;
+import static io.leitstand.inventory.service.ReasonCode.IVT0300E_ELEMENT_NOT_FOUND;
+import static io.leitstand.inventory.service.ReasonCode.IVT0400E_ELEMENT_ROLE_NOT_FOUND;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.lang.String.join;
+import static java.sql.Types.BIGINT;
+import static java.util.Collections.nCopies;
+import static java.util.UUID.randomUUID;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import javax.persistence.PersistenceException;
+import javax.sql.DataSource;
+
+import io.leitstand.commons.EntityNotFoundException;
+import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.commons.messages.Messages;
+import io.leitstand.inventory.event.ImageEvent;
+import io.leitstand.inventory.service.ApplicationName;
+import io.leitstand.inventory.service.ElementRoleName;
+import io.leitstand.inventory.service.ImageInfo;
+import io.leitstand.inventory.service.ImageName;
+import io.leitstand.inventory.service.ImageType;
+import io.leitstand.inventory.service.PackageVersionInfo;
+import io.leitstand.inventory.service.PlatformChipsetName;
+import io.leitstand.inventory.service.Version;
+
+/**
+ * Imports an image export with a constant number of statements, regardless of the number of images.
+ * <p>
+ * The import reads all element roles and applications, 
+ * the referenced elements, packages, package versions and the already existing images upfront.
+ * The IDs of all new applications, packages, package versions and images are allocated by a single sequence update.
+ * All records are written by JDBC batch statements.
+ * The element roles, applications, packages and checksums of an existing image are replaced by the imported ones.
+ * An image added or image stored event is fired for every imported image, 
+ * but only a single message is reported for the entire import.
+ */
+@Dependent
+public class ImageImportManager {
+
+	private static final Logger LOG = Logger.getLogger(ImageImportManager.class.getName());
+	private static final int IN_SIZE = 1000;
+	
+	/**
+	 * A record of an image or package version join table.
+	 */
+	private static final class JoinRecord<T> {
+		private final long id;
+		private final T value;
+		
+		JoinRecord(long id, T value){
+			this.id = id;
+			this.value = value;
+		}
+	}
+	
+	/**
+	 * A package version to be written.
+	 */
+	private static final class PackageVersionRow {
+		private final long id;
+		private final long packageId;
+		private final PackageVersionInfo info;
+		
+		PackageVersionRow(long id, long packageId, PackageVersionInfo info){
+			this.id = id;
+			this.packageId = packageId;
+			this.info = info;
+		}
+	}
+	
+	/**
+	 * An image to be written.
+	 */
+	private static final class ImageRow {
+		private final long id;
+		private final Long elementId;
+		private final ImageInfo info;
+		
+		ImageRow(long id, Long elementId, ImageInfo info){
+			this.id = id;
+			this.elementId = elementId;
+			this.info = info;
+		}
+	}
+	
+	/**
+	 * Allocates the IDs of new records from the <code>leitstand.sequence</code> table.
+	 */
+	static class SequenceGenerator {
+		
+		private DatabaseService db;
+		
+		SequenceGenerator(DatabaseService db){
+			this.db = db;
+		}
+		
+		/**
+		 * Allocates the specified number of IDs.
+		 * @param count the number of IDs
+		 * @return the first allocated ID.
+		 */
+		long allocateIds(int count) {
+			long last = db.getSingleResult(prepare("UPDATE leitstand.sequence "+
+												   "SET count = count + ? "+
+												   "WHERE name = 'ID' "+
+												   "RETURNING count",
+												   count), 
+										   rs -> rs.getLong(1));
+			return last - count + 1;
+		}
+		
+	}
+	
+	static String packageKey(String org, String name) {
+		return org+'\u0000'+name;
+	}
+	
+	static String packageVersionKey(PackageVersionInfo pkg) {
+		return packageKey(pkg.getOrganization(), pkg.getPackageName())+'\u0000'+pkg.getPackageVersion();
+	}
+	
+	@Inject
+	@Inventory
+	private DatabaseService db;
+	
+	@Resource(lookup="java:/jdbc/leitstand")
+	private DataSource ds;
+	
+	@Inject
+	private Messages messages;
+	
+	@Inject
+	private Event<ImageEvent> sink;
+	
+	private SequenceGenerator sequence;
+	
+	protected ImageImportManager() {
+		// CDI
+	}
+	
+	protected ImageImportManager(DatabaseService db,
+								 DataSource ds,
+								 SequenceGenerator sequence,
+								 Messages messages,
+								 Event<ImageEvent> sink) {
+		this.db = db;
+		this.ds = ds;
+		this.sequence = sequence;
+		this.messages = messages;
+		this.sink = sink;
+	}
+	
+	@PostConstruct
+	private void initDefaultSequence() {
+		this.sequence = new SequenceGenerator(db);
+	}
+	
+	/**
+	 * Stores the given images.
+	 * The last submission wins if the same image is submitted multiple times.
+	 * @param submissions the images to be stored
+	 * @throws EntityNotFoundException if an image refers to an unknown element role or an unknown element
+	 */
+	public void importImages(List<ImageInfo> submissions) {
+		Map<String,ImageInfo> images = new LinkedHashMap<>();
+		Map<String,PackageVersionInfo> packageVersions = new LinkedHashMap<>();
+		Set<String> applicationNames = new LinkedHashSet<>();
+		Set<String> elementNames = new LinkedHashSet<>();
+		for(ImageInfo image : submissions) {
+			images.remove(image.getImageId().getValue());
+			images.put(image.getImageId().getValue(), image);
+			for(PackageVersionInfo pkg : image.getPackages()) {
+				packageVersions.put(packageVersionKey(pkg), pkg);
+			}
+			for(ApplicationName application : image.getApplications()) {
+				applicationNames.add(application.getValue());
+			}
+			if(image.getElementName() != null) {
+				elementNames.add(image.getElementName().getValue());
+			}
+		}
+		if(images.isEmpty()) {
+			return;
+		}
+		
+		Map<String,Long> roles = loadIds("SELECT name, id FROM inventory.elementrole ", null, null);
+		for(ImageInfo image : images.values()) {
+			for(ElementRoleName role : image.getElementRoles()) {
+				if(!roles.containsKey(role.getValue())) {
+					LOG.fine(() -> format("%s: Element role %s not found.", 
+										  IVT0400E_ELEMENT_ROLE_NOT_FOUND.getReasonCode(),
+										  role));
+					throw new EntityNotFoundException(IVT0400E_ELEMENT_ROLE_NOT_FOUND, role);
+				}
+			}
+		}
+		Map<String,Long> elements = loadIds("SELECT name, id FROM inventory.element ", "name", elementNames);
+		for(String elementName : elementNames) {
+			if(!elements.containsKey(elementName)) {
+				LOG.fine(() -> format("%s: Element %s not found.", 
+									  IVT0300E_ELEMENT_NOT_FOUND.getReasonCode(),
+									  elementName));
+				throw new EntityNotFoundException(IVT0300E_ELEMENT_NOT_FOUND, elementName);
+			}
+		}
+		Map<String,Long> applications = loadIds("SELECT name, id FROM inventory.application ", null, null);
+		Map<String,Long> storedImages = loadIds("SELECT uuid, id FROM inventory.image ", "uuid", images.keySet());
+		Map<String,Long> packages = loadPackages(packageVersions.values());
+		Map<String,Long> storedVersions = loadPackageVersions(packages.values());
+		
+		// Allocate the IDs of all new records at once.
+		List<String> newApplications = new ArrayList<>();
+		for(String application : applicationNames) {
+			if(!applications.containsKey(application)) {
+				newApplications.add(application);
+			}
+		}
+		Map<String,PackageVersionInfo> newPackages = new LinkedHashMap<>();
+		int newVersions = 0;
+		for(Map.Entry<String,PackageVersionInfo> version : packageVersions.entrySet()) {
+			PackageVersionInfo pkg = version.getValue();
+			String packageKey = packageKey(pkg.getOrganization(), pkg.getPackageName());
+			if(!packages.containsKey(packageKey)) {
+				newPackages.putIfAbsent(packageKey, pkg);
+			}
+			if(!storedVersions.containsKey(version.getKey())) {
+				newVersions++;
+			}
+		}
+		int newImages = images.size() - storedImages.size();
+		long nextId = allocateIds(newApplications.size() + newPackages.size() + newVersions + newImages);
+		
+		List<JoinRecord<String>> addedApplications = new ArrayList<>();
+		for(String application : newApplications) {
+			applications.put(application, nextId);
+			addedApplications.add(new JoinRecord<>(nextId++, application));
+		}
+		List<JoinRecord<PackageVersionInfo>> addedPackages = new ArrayList<>();
+		for(Map.Entry<String,PackageVersionInfo> pkg : newPackages.entrySet()) {
+			packages.put(pkg.getKey(), nextId);
+			addedPackages.add(new JoinRecord<>(nextId++, pkg.getValue()));
+		}
+		List<PackageVersionRow> addedVersions = new ArrayList<>();
+		List<PackageVersionRow> updatedVersions = new ArrayList<>();
+		Map<String,Long> versionIds = new HashMap<>();
+		for(Map.Entry<String,PackageVersionInfo> version : packageVersions.entrySet()) {
+			PackageVersionInfo pkg = version.getValue();
+			long packageId = packages.get(packageKey(pkg.getOrganization(), pkg.getPackageName()));
+			Long versionId = storedVersions.get(version.getKey());
+			if(versionId == null) {
+				versionId = nextId++;
+				addedVersions.add(new PackageVersionRow(versionId, packageId, pkg));
+			} else {
+				updatedVersions.add(new PackageVersionRow(versionId, packageId, pkg));
+			}
+			versionIds.put(version.getKey(), versionId);
+		}
+		List<ImageRow> addedImages = new ArrayList<>();
+		List<ImageRow> updatedImages = new ArrayList<>();
+		List<JoinRecord<Long>> imageRoles = new ArrayList<>();
+		List<JoinRecord<Long>> imageApplications = new ArrayList<>();
+		List<JoinRecord<Long>> imagePackages = new ArrayList<>();
+		List<JoinRecord<Map.Entry<String,String>>> imageChecksums = new ArrayList<>();
+		for(ImageInfo image : images.values()) {
+			Long elementId = image.getElementName() != null ? elements.get(image.getElementName().getValue()) : null;
+			Long imageId = storedImages.get(image.getImageId().getValue());
+			if(imageId == null) {
+				imageId = nextId++;
+				addedImages.add(new ImageRow(imageId, elementId, image));
+			} else {
+				updatedImages.add(new ImageRow(imageId, elementId, image));
+			}
+			for(Long roleId : ids(image.getElementRoles(), role -> roles.get(role.getValue()))) {
+				imageRoles.add(new JoinRecord<>(imageId, roleId));
+			}
+			for(Long applicationId : ids(image.getApplications(), app -> applications.get(app.getValue()))) {
+				imageApplications.add(new JoinRecord<>(imageId, applicationId));
+			}
+			for(Long versionId : ids(image.getPackages(), pkg -> versionIds.get(packageVersionKey(pkg)))) {
+				imagePackages.add(new JoinRecord<>(imageId, versionId));
+			}
+			for(Map.Entry<String,String> checksum : image.getChecksums().entrySet()) {
+				imageChecksums.add(new JoinRecord<>(imageId, checksum));
+			}
+		}
+		
+		write(addedApplications,
+			  addedPackages,
+			  addedVersions,
+			  updatedVersions,
+			  addedImages,
+			  updatedImages,
+			  imageRoles,
+			  imageApplications,
+			  imagePackages,
+			  imageChecksums);
+		
+		for(ImageRow image : addedImages) {
+			sink.fire(imageEvent(newImageAddedEvent(), image.info));
+		}
+		for(ImageRow image : updatedImages) {
+			sink.fire(imageEvent(newImageStoredEvent(), image.info));
+		}
+		messages.add(createMessage(IVT0206I_IMAGES_IMPORTED, 
+								   images.size(),
+								   addedImages.size(),
+								   updatedImages.size()));
+	}
+	
+	private static <T> Set<Long> ids(List<T> values, Function<T,Long> resolver){
+		// Removes duplicates, which would violate the join table primary keys.
+		Set<Long> ids = new LinkedHashSet<>();
+		for(T value : values) {
+			ids.add(resolver.apply(value));
+		}
+		return ids;
+	}
+	
+	private Map<String,Long> loadIds(String query, String column, Set<String> keys){
+		Map<String,Long> ids = new HashMap<>();
+		if(column == null) {
+			db.processQuery(prepare(query), 
+							rs -> ids.put(rs.getString(1), rs.getLong(2)));
+			return ids;
+		}
+		List<Object> args = new ArrayList<>(keys);
+		for(int i=0; i < args.size(); i+=IN_SIZE) {
+			List<Object> chunk = args.subList(i, min(i+IN_SIZE, args.size()));
+			db.processQuery(prepare(query+"WHERE "+column+" IN ("+join(",", nCopies(chunk.size(), "?"))+")", 
+									chunk), 
+							rs -> ids.put(rs.getString(1), rs.getLong(2)));
+		}
+		return ids;
+	}
+	
+	private Map<String,Long> loadPackages(Iterable<PackageVersionInfo> versions){
+		Set<Object> names = new LinkedHashSet<>();
+		for(PackageVersionInfo pkg : versions) {
+			names.add(pkg.getPackageName());
+		}
+		Map<String,Long> packages = new HashMap<>();
+		List<Object> args = new ArrayList<>(names);
+		for(int i=0; i < args.size(); i+=IN_SIZE) {
+			List<Object> chunk = args.subList(i, min(i+IN_SIZE, args.size()));
+			db.processQuery(prepare("SELECT org, name, id FROM inventory.package "+
+									"WHERE name IN ("+join(",", nCopies(chunk.size(), "?"))+")", 
+									chunk), 
+							rs -> packages.put(packageKey(rs.getString(1),rs.getString(2)), 
+											   rs.getLong(3)));
+		}
+		return packages;
+	}
+	
+	private Map<String,Long> loadPackageVersions(Iterable<Long> packageIds){
+		Map<String,Long> versions = new HashMap<>();
+		List<Object> args = new ArrayList<>();
+		for(Long packageId : packageIds) {
+			args.add(packageId);
+		}
+		for(int i=0; i < args.size(); i+=IN_SIZE) {
+			List<Object> chunk = args.subList(i, min(i+IN_SIZE, args.size()));
+			db.processQuery(prepare("SELECT p.org, p.name, pv.major, pv.minor, pv.patch, pv.prerelease, pv.id "+
+									"FROM inventory.package_version pv "+
+									"JOIN inventory.package p "+
+									"ON pv.package_id = p.id "+
+									"WHERE p.id IN ("+join(",", nCopies(chunk.size(), "?"))+")", 
+									chunk), 
+							rs -> versions.put(packageKey(rs.getString(1),rs.getString(2))+'\u0000'+
+											   new Version(rs.getInt(3),
+													   			 rs.getInt(4),
+													   			 rs.getInt(5),
+													   			 rs.getString(6)), 
+											   rs.getLong(7)));
+		}
+		return versions;
+	}
+	
+	private long allocateIds(int count) {
+		if(count == 0) {
+			return 0;
+		}
+		return sequence.allocateIds(count);
+	}
+	
+	private void write(List<JoinRecord<String>> addedApplications,
+					   List<JoinRecord<PackageVersionInfo>> addedPackages,
+					   List<PackageVersionRow> addedVersions,
+					   List<PackageVersionRow> updatedVersions,
+					   List<ImageRow> addedImages,
+					   List<ImageRow> updatedImages,
+					   List<JoinRecord<Long>> imageRoles,
+					   List<JoinRecord<Long>> imageApplications,
+					   List<JoinRecord<Long>> imagePackages,
+					   List<JoinRecord<Map.Entry<String,String>>> imageChecksums) {
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		List<PackageVersionRow> versions = new ArrayList<>(addedVersions);
+		versions.addAll(updatedVersions);
+		List<JoinRecord<Map.Entry<String,String>>> versionChecksums = new ArrayList<>();
+		for(PackageVersionRow version : versions) {
+			for(Map.Entry<String,String> checksum : version.info.getChecksums().entrySet()) {
+				versionChecksums.add(new JoinRecord<>(version.id, checksum));
+			}
+		}
+		try (Connection c = ds.getConnection()){
+			batch(c,
+				  "INSERT INTO inventory.application (id, uuid, name, modcount, tsmodified, tscreated) "+
+				  "VALUES (?, ?, ?, 0, ?, ?)",
+				  addedApplications,
+				  (stmt, app) -> {
+					  stmt.setLong(1, app.id);
+					  stmt.setString(2, randomUUID().toString());
+					  stmt.setString(3, app.value);
+					  stmt.setTimestamp(4, now);
+					  stmt.setTimestamp(5, now);
+				  });
+			batch(c,
+				  "INSERT INTO inventory.package (id, uuid, org, name, ext, modcount, tsmodified, tscreated) "+
+				  "VALUES (?, ?, ?, ?, ?, 0, ?, ?)",
+				  addedPackages,
+				  (stmt, pkg) -> {
+					  stmt.setLong(1, pkg.id);
+					  stmt.setString(2, randomUUID().toString());
+					  stmt.setString(3, pkg.value.getOrganization());
+					  stmt.setString(4, pkg.value.getPackageName());
+					  stmt.setString(5, pkg.value.getPackageExtension());
+					  stmt.setTimestamp(6, now);
+					  stmt.setTimestamp(7, now);
+				  });
+			batch(c,
+				  "INSERT INTO inventory.package_version (id, package_id, major, minor, patch, prerelease, tsbuild) "+
+				  "VALUES (?, ?, ?, ?, ?, ?, ?)",
+				  addedVersions,
+				  (stmt, version) -> {
+					  String prerelease = version.info.getPackageVersion().getPreRelease();
+					  stmt.setLong(1, version.id);
+					  stmt.setLong(2, version.packageId);
+					  stmt.setInt(3, version.info.getPackageVersion().getMajorLevel());
+					  stmt.setInt(4, version.info.getPackageVersion().getMinorLevel());
+					  stmt.setInt(5, version.info.getPackageVersion().getPatchLevel());
+					  stmt.setString(6, isEmptyString(prerelease) ? null : prerelease);
+					  stmt.setTimestamp(7, timestamp(version.info.getBuildDate()));
+				  });
+			batch(c,
+				  "UPDATE inventory.package_version SET tsbuild = ? WHERE id = ?",
+				  updatedVersions,
+				  (stmt, version) -> {
+					  stmt.setTimestamp(1, timestamp(version.info.getBuildDate()));
+					  stmt.setLong(2, version.id);
+				  });
+			batch(c,
+				  "DELETE FROM inventory.package_version_checksum WHERE package_version_id = ?",
+				  updatedVersions,
+				  (stmt, version) -> stmt.setLong(1, version.id));
+			batch(c,
+				  "INSERT INTO inventory.package_version_checksum (package_version_id, algorithm, checksum) VALUES (?, ?, ?)",
+				  versionChecksums,
+				  ImageImportManager::bindChecksum);
+			batch(c,
+				  "INSERT INTO inventory.image "+
+				  "(org, category, name, type, state, chipset, element_id, major, minor, patch, prerelease, ext, tsbuild, buildid, tsmodified, id, uuid, modcount, tscreated) "+
+				  "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)",
+				  addedImages,
+				  (stmt, image) -> {
+					  bindImage(stmt, image, now);
+					  stmt.setString(17, image.info.getImageId().getValue());
+					  stmt.setTimestamp(18, now);
+				  });
+			batch(c,
+				  "UPDATE inventory.image "+
+				  "SET org = ?, category = ?, name = ?, type = ?, state = ?, chipset = ?, element_id = ?, "+
+				  "major = ?, minor = ?, patch = ?, prerelease = ?, ext = ?, tsbuild = ?, buildid = ?, tsmodified = ?, "+
+				  "modcount = modcount + 1 "+
+				  "WHERE id = ?",
+				  updatedImages,
+				  (stmt, image) -> bindImage(stmt, image, now));
+			for(String table : new String[] {"image_elementrole", "image_application", "image_package_version", "image_checksum"}) {
+				batch(c,
+					  "DELETE FROM inventory."+table+" WHERE image_id = ?",
+					  updatedImages,
+					  (stmt, image) -> stmt.setLong(1, image.id));
+			}
+			batch(c,
+				  "INSERT INTO inventory.image_elementrole (image_id, elementrole_id) VALUES (?, ?)",
+				  imageRoles,
+				  ImageImportManager::bindJoinRecord);
+			batch(c,
+				  "INSERT INTO inventory.image_application (image_id, application_id) VALUES (?, ?)",
+				  imageApplications,
+				  ImageImportManager::bindJoinRecord);
+			batch(c,
+				  "INSERT INTO inventory.image_package_version (image_id, package_version_id) VALUES (?, ?)",
+				  imagePackages,
+				  ImageImportManager::bindJoinRecord);
+			batch(c,
+				  "INSERT INTO inventory.image_checksum (image_id, algorithm, checksum) VALUES (?, ?, ?)",
+				  imageChecksums,
+				  ImageImportManager::bindChecksum);
+		} catch (SQLException e) {
+			throw new PersistenceException(e);
+		}
+	}
+	
+	private static void bindImage(PreparedStatement stmt, ImageRow image, Timestamp now) throws SQLException {
+		ImageInfo info = image.info;
+		stmt.setString(1, info.getOrganization());
+		stmt.setString(2, info.getCategory());
+		stmt.setString(3, ImageName.toString(info.getImageName()));
+		stmt.setString(4, ImageType.toString(info.getImageType()));
+		// Images without state are considered revoked.
+		stmt.setString(5, info.getImageState() != null ? toDbValue(info.getImageState()) : "X");
+		stmt.setString(6, PlatformChipsetName.toString(info.getPlatformChipset()));
+		if(image.elementId != null) {
+			stmt.setLong(7, image.elementId);
+		} else {
+			stmt.setNull(7, BIGINT);
+		}
+		stmt.setInt(8, info.getImageVersion().getMajorLevel());
+		stmt.setInt(9, info.getImageVersion().getMinorLevel());
+		stmt.setInt(10, info.getImageVersion().getPatchLevel());
+		stmt.setString(11, prerelease(info.getImageVersion()));
+		stmt.setString(12, info.getExtension());
+		stmt.setTimestamp(13, timestamp(info.getBuildDate()));
+		stmt.setString(14, info.getBuildId());
+		stmt.setTimestamp(15, now);
+		stmt.setLong(16, image.id);
+	}
+	
+	private static void bindJoinRecord(PreparedStatement stmt, JoinRecord<Long> record) throws SQLException {
+		stmt.setLong(1, record.id);
+		stmt.setLong(2, record.value);
+	}
+	
+	private static void bindChecksum(PreparedStatement stmt, JoinRecord<Map.Entry<String,String>> record) throws SQLException {
+		stmt.setLong(1, record.id);
+		stmt.setString(2, Checksum.Algorithm.valueOf(record.value.getKey()).name());
+		stmt.setString(3, record.value.getValue());
+	}
+	
+	private static Timestamp timestamp(Date date) {
+		return date != null ? new Timestamp(date.getTime()) : null;
+	}
+	
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.ReasonCode.IVT8130I_IMAGE_UPGRADE_INDEX_STARTED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8131I_IMAGE_UPGRADE_INDEX_STOPPED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8132E_IMAGE_UPGRADE_INDEX_FAILED;
+import static javax.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import io.leitstand.inventory.event.ImageEvent;
+import io.leitstand.inventory.event.ImagePurgedEvent;
+import io.leitstand.inventory.event.ImageRemovedEvent;
+import io.leitstand.inventory.model.ImageVersionIndex.IndexedImage;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementRoleName;
+import io.leitstand.inventory.service.ImageId;
+import io.leitstand.inventory.service.ImageType;
+import io.leitstand.inventory.service.PlatformChipsetName;
+import io.leitstand.inventory.service.Version;
+
+/**
+ * Maintains the available image upgrades in memory.
+ * <p>
+ * The index holds all images by platform chipset, element role and image type, sorted by version,
+ * and resolves the available upgrades of an installed image by a binary search (see {@link ImageVersionIndex}).
+ * <p>
+ * The index is loaded at startup. 
+ * A committed image event marks the modified image.
+ * The next lookup reloads all images with the same chipset and type as the marked images by a single query,
+ * because releasing an image also changes the state of the other images of the same chipset and type.
+ * An image import, which fires an event for every imported image, therefore causes one reload per lookup 
+ * rather than one reload per imported image.
+ * Image events are only observed by the inventory instance that modified the image.
+ * The index is therefore reloaded every 60 seconds to pick up the image changes of other inventory instances.
+ * The reload interval can be changed by the <code>LEITSTAND_IMAGE_UPGRADE_INDEX_RELOAD_INTERVAL</code> system property (in seconds).
+ * The index is loaded on demand, if it is requested before the startup load completed.
+ * <p>
+ * Lookups and modifications are synchronized on the index, 
+ * because applying an image event modifies the version lists a lookup reads.
+ * Lookups return copies, which are not affected by subsequent modifications.
+ */
+@ApplicationScoped
+public class ImageUpgradeIndex extends ReloadableIndex<ImageVersionIndex> {
+
+	@Inject
+	private ImageUpgradeIndexService service;
+	
+	private final Set<ImageId> modified = new LinkedHashSet<>();
+	
+	protected ImageUpgradeIndex() {
+		// CDI
+		this(null);
+	}
+	
+	ImageUpgradeIndex(ImageUpgradeIndexService service){
+		super("Image upgrade index",
+			  "LEITSTAND_IMAGE_UPGRADE_INDEX_RELOAD_INTERVAL",
+			  60,
+			  IVT8130I_IMAGE_UPGRADE_INDEX_STARTED,
+			  IVT8131I_IMAGE_UPGRADE_INDEX_STOPPED,
+			  IVT8132E_IMAGE_UPGRADE_INDEX_FAILED);
+		this.service = service;
+	}
+	
+	/**
+	 * Applies a committed image event to the index.
+	 * @param event the image event
+	 */
+	public void imageChanged(@Observes(during=AFTER_SUCCESS) ImageEvent event) {
+		ImageId imageId = event.getImageId();
+		if(event instanceof ImageRemovedEvent || event instanceof ImagePurgedEvent) {
+			apply(index -> index.remove(imageId));
+			return;
+		}
+		markModified(imageId);
+	}
+	
+	private synchronized void markModified(ImageId imageId) {
+		modified.add(imageId);
+	}
+	
+	private synchronized void refreshModifiedImages() {
+		if(modified.isEmpty()) {
+			return;
+		}
+		Set<ImageId> imageIds = new LinkedHashSet<>(modified);
+		List<IndexedImage> images = service.loadImages(imageIds);
+		apply(index -> replaceImages(index, imageIds, images));
+		modified.clear();
+	}
+	
+	private static void replaceImages(ImageVersionIndex index, Set<ImageId> imageIds, List<IndexedImage> images) {
+		imageIds.forEach(index::remove);
+		Map<PlatformChipsetName,Set<ImageType>> reloaded = new HashMap<>();
+		for(IndexedImage image : images) {
+			if(reloaded.computeIfAbsent(image.getPlatformChipset(), k -> new HashSet<>()).add(image.getImageType())) {
+				index.removeAll(image.getPlatformChipset(), image.getImageType());
+			}
+		}
+		images.forEach(index::put);
+	}
+	
+	/**
+	 * Returns all images an installed image can be upgraded to, in descending version order.
+	 * @param chipset the platform chipset of the element
+	 * @param role the element role
+	 * @param imageType the type of the installed image
+	 * @param version the version of the installed image
+	 * @param elementId the element ID
+	 * @return the available upgrades.
+	 */
+	synchronized List<IndexedImage> findUpgrades(PlatformChipsetName chipset,
+									             ElementRoleName role,
+									             ImageType imageType,
+									             Version version,
+									             ElementId elementId){
+		ImageVersionIndex index = index();
+		refreshModifiedImages();
+		return index.findUpgrades(chipset, role, imageType, version, elementId);
+	}
+	
+	/**
+	 * Returns all images that can be upgraded to the specified image, grouped by element role.
+	 * @param imageId the image ID
+	 * @return the preceding images by element role.
+	 */
+	synchronized Map<ElementRoleName,List<IndexedImage>> findPredecessors(ImageId imageId){
+		ImageVersionIndex index = index();
+		refreshModifiedImages();
+		return index.findPredecessors(imageId);
+	}
+	
+	@Override
+	protected ImageVersionIndex load() {
+		ImageVersionIndex loaded = new ImageVersionIndex();
+		service.loadImages().forEach(loaded::put);
+		return loaded;
+	}
+	
+	public synchronized int getImageCount() {
+		ImageVersionIndex index = current();
+		return index != null ? index.size() : 0;
+	}
+	
+}
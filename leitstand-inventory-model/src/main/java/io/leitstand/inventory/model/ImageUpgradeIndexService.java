@@ -0,0 +1,185 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.inventory.jpa.ImageStateConverter.toImageState;
+import static io.leitstand.inventory.model.Image.prerelease;
+import static io.leitstand.inventory.service.ElementId.elementId;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.ImageId.imageId;
+import static io.leitstand.inventory.service.ImageName.imageName;
+import static io.leitstand.inventory.service.ImageType.imageType;
+import static io.leitstand.inventory.service.PlatformChipsetName.platformChipsetName;
+import static java.lang.Math.min;
+import static java.lang.String.join;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.nCopies;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.commons.model.Service;
+import io.leitstand.inventory.model.ImageVersionIndex.IndexedImage;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementRoleName;
+import io.leitstand.inventory.service.ImageId;
+import io.leitstand.inventory.service.ImageName;
+import io.leitstand.inventory.service.ImageState;
+import io.leitstand.inventory.service.ImageType;
+import io.leitstand.inventory.service.PlatformChipsetName;
+import io.leitstand.inventory.service.Version;
+
+/**
+ * Loads the images of the {@link ImageUpgradeIndex}.
+ */
+@Service
+public class ImageUpgradeIndexService {
+	
+	private static final int IN_SIZE = 1000;
+	
+	private static final String SELECT_IMAGES = "SELECT i.id, i.uuid, i.name, i.type, i.state, i.major, i.minor, i.patch, i.prerelease, i.tsbuild, i.chipset, e.uuid, r.name "+
+												"FROM inventory.image i "+
+												"JOIN inventory.image_elementrole ir "+
+												"ON ir.image_id = i.id "+
+												"JOIN inventory.elementrole r "+
+												"ON ir.elementrole_id = r.id "+
+												"LEFT JOIN inventory.element e "+
+												"ON i.element_id = e.id ";
+	
+	private static final class ImageRow {
+		private long pk;
+		private ImageId imageId;
+		private ImageName imageName;
+		private ImageType imageType;
+		private ImageState imageState;
+		private Version imageVersion;
+		private Date buildDate;
+		private PlatformChipsetName chipset;
+		private ElementId elementId;
+		private final Set<ElementRoleName> roles = new HashSet<>();
+		
+		IndexedImage toIndexedImage() {
+			return new IndexedImage(pk, 
+									imageId, 
+									imageName, 
+									imageType, 
+									imageState, 
+									imageVersion, 
+									buildDate, 
+									chipset, 
+									elementId, 
+									roles);
+		}
+	}
+	
+	@Inject
+	@Inventory
+	private DatabaseService db;
+	
+	protected ImageUpgradeIndexService() {
+		// CDI
+	}
+	
+	protected ImageUpgradeIndexService(DatabaseService db) {
+		this.db = db;
+	}
+	
+	/**
+	 * Loads all images that are assigned to at least one element role.
+	 * @return the indexed images.
+	 */
+	public List<IndexedImage> loadImages(){
+		return loadImages(SELECT_IMAGES+"ORDER BY i.id");
+	}
+	
+	/**
+	 * Loads all images with the same platform chipset and image type as one of the given images, 
+	 * including the given images, that are assigned to at least one element role.
+	 * @param imageIds the image IDs
+	 * @return the indexed images.
+	 */
+	public List<IndexedImage> loadImages(Collection<ImageId> imageIds){
+		List<Object> keys = new ArrayList<>();
+		Set<List<String>> distinct = new HashSet<>();
+		List<Object> ids = new ArrayList<>(imageIds.size());
+		for(ImageId imageId : imageIds) {
+			ids.add(imageId.getValue());
+		}
+		for(int i=0; i < ids.size(); i+=IN_SIZE) {
+			List<Object> chunk = ids.subList(i, min(i+IN_SIZE, ids.size()));
+			db.processQuery(prepare("SELECT DISTINCT chipset, type FROM inventory.image WHERE uuid IN ("+join(",", nCopies(chunk.size(), "?"))+")", 
+									chunk), 
+							rs -> {
+								String chipset = rs.getString(1);
+								String type = rs.getString(2);
+								if(distinct.add(asList(chipset, type))) {
+									keys.add(chipset);
+									keys.add(type);
+								}
+							});
+		}
+		if(keys.isEmpty()) {
+			return emptyList();
+		}
+		return loadImages(SELECT_IMAGES+
+						  "WHERE "+join(" OR ", nCopies(keys.size()/2, "(i.chipset = ? AND i.type = ?)"))+
+						  " ORDER BY i.id", 
+						  keys.toArray());
+	}
+	
+	private List<IndexedImage> loadImages(String sql, Object... args){
+		Map<Long,ImageRow> images = new LinkedHashMap<>();
+		db.processQuery(prepare(sql, args), 
+						rs -> {
+							long pk = rs.getLong(1);
+							ImageRow image = images.get(pk);
+							if(image == null) {
+								image = new ImageRow();
+								image.pk = pk;
+								image.imageId = imageId(rs.getString(2));
+								image.imageName = imageName(rs.getString(3));
+								image.imageType = imageType(rs.getString(4));
+								image.imageState = toImageState(rs.getString(5));
+								image.imageVersion = new Version(rs.getInt(6),
+																 rs.getInt(7),
+																 rs.getInt(8),
+																 prerelease(rs.getString(9)));
+								image.buildDate = rs.getTimestamp(10);
+								image.chipset = platformChipsetName(rs.getString(11));
+								image.elementId = elementId(rs.getString(12));
+								images.put(pk, image);
+							}
+							image.roles.add(elementRoleName(rs.getString(13)));
+						});
+		List<IndexedImage> indexed = new ArrayList<>(images.size());
+		for(ImageRow image : images.values()) {
+			indexed.add(image.toIndexedImage());
+		}
+		return indexed;
+	}
+
+}
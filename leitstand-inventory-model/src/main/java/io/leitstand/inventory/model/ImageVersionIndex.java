@@ -0,0 +1,341 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.Image.prerelease;
+import static io.leitstand.inventory.service.ImageState.REVOKED;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementRoleName;
+import io.leitstand.inventory.service.ImageId;
+import io.leitstand.inventory.service.ImageName;
+import io.leitstand.inventory.service.ImageState;
+import io.leitstand.inventory.service.ImageType;
+import io.leitstand.inventory.service.PlatformChipsetName;
+import io.leitstand.inventory.service.Version;
+
+/**
+ * Images by platform chipset, element role and image type, sorted by image version.
+ * <p>
+ * The images of each chipset, role and type are kept in a list sorted by ascending version.
+ * The available upgrades of an installed image are all images succeeding the installed image version,
+ * which are located by a binary search.
+ * Likewise, all images preceding an image version can be upgraded to this image.
+ * Versions are compared the same way the inventory database compares image versions, i.e. by major, minor and patch level 
+ * and eventually by the pre-release label, whereas a release succeeds all pre-releases of the same version.
+ * <p>
+ * The index is not thread-safe. 
+ * The {@link ImageUpgradeIndex} synchronizes all accesses.
+ */
+final class ImageVersionIndex {
+
+	/**
+	 * An indexed image.
+	 */
+	static final class IndexedImage {
+		private final long pk;
+		private final ImageId imageId;
+		private final ImageName imageName;
+		private final ImageType imageType;
+		private final ImageState imageState;
+		private final Version imageVersion;
+		private final String prerelease;
+		private final Date buildDate;
+		private final PlatformChipsetName chipset;
+		private final ElementId elementId;
+		private final Set<ElementRoleName> roles;
+		
+		IndexedImage(long pk,
+					 ImageId imageId,
+					 ImageName imageName,
+					 ImageType imageType,
+					 ImageState imageState,
+					 Version imageVersion,
+					 Date buildDate,
+					 PlatformChipsetName chipset,
+					 ElementId elementId,
+					 Set<ElementRoleName> roles){
+			this.pk = pk;
+			this.imageId = imageId;
+			this.imageName = imageName;
+			this.imageType = imageType;
+			this.imageState = imageState;
+			this.imageVersion = imageVersion;
+			this.prerelease = prerelease(imageVersion);
+			this.buildDate = buildDate;
+			this.chipset = chipset;
+			this.elementId = elementId;
+			this.roles = unmodifiableSet(roles);
+		}
+		
+		long getPk() {
+			return pk;
+		}
+		
+		ImageId getImageId() {
+			return imageId;
+		}
+		
+		ImageName getImageName() {
+			return imageName;
+		}
+		
+		ImageType getImageType() {
+			return imageType;
+		}
+		
+		ImageState getImageState() {
+			return imageState;
+		}
+		
+		Version getImageVersion() {
+			return imageVersion;
+		}
+		
+		Date getBuildDate() {
+			return buildDate;
+		}
+		
+		PlatformChipsetName getPlatformChipset() {
+			return chipset;
+		}
+		
+		ElementId getElementId() {
+			return elementId;
+		}
+		
+		Set<ElementRoleName> getElementRoles(){
+			return roles;
+		}
+		
+		boolean isAvailableFor(ElementId element) {
+			return elementId == null || elementId.equals(element);
+		}
+		
+	}
+	
+	private static final class Key {
+		private final PlatformChipsetName chipset;
+		private final ElementRoleName role;
+		private final ImageType imageType;
+		
+		Key(PlatformChipsetName chipset, ElementRoleName role, ImageType imageType){
+			this.chipset = chipset;
+			this.role = role;
+			this.imageType = imageType;
+		}
+		
+		@Override
+		public int hashCode() {
+			return Objects.hash(chipset, role, imageType);
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if(o == this) {
+				return true;
+			}
+			if(!(o instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) o;
+			return Objects.equals(chipset, key.chipset)
+				   && Objects.equals(role, key.role)
+				   && Objects.equals(imageType, key.imageType);
+		}
+	}
+	
+	static int compare(Version a, String aPrerelease, Version b, String bPrerelease) {
+		int d = Integer.compare(a.getMajorLevel(), b.getMajorLevel());
+		if(d != 0) {
+			return d;
+		}
+		d = Integer.compare(a.getMinorLevel(), b.getMinorLevel());
+		if(d != 0) {
+			return d;
+		}
+		d = Integer.compare(a.getPatchLevel(), b.getPatchLevel());
+		if(d != 0) {
+			return d;
+		}
+		return aPrerelease.compareTo(bPrerelease);
+	}
+	
+	private final Map<Key,List<IndexedImage>> images = new HashMap<>();
+	private final Map<ImageId,IndexedImage> imagesById = new HashMap<>();
+	
+	/**
+	 * Adds an image to the index. Replaces an existing image with the same ID.
+	 * @param image the image
+	 */
+	void put(IndexedImage image) {
+		remove(image.getImageId());
+		imagesById.put(image.getImageId(), image);
+		for(ElementRoleName role : image.getElementRoles()) {
+			List<IndexedImage> versions = images.computeIfAbsent(new Key(image.getPlatformChipset(), role, image.getImageType()), 
+															 	 k -> new ArrayList<>());
+			versions.add(upperBound(versions, image.getImageVersion(), image.prerelease), image);
+		}
+	}
+	
+	/**
+	 * Removes an image from the index.
+	 * Does nothing if the image is unknown.
+	 * @param imageId the image ID
+	 */
+	void remove(ImageId imageId) {
+		IndexedImage image = imagesById.remove(imageId);
+		if(image == null) {
+			return;
+		}
+		for(ElementRoleName role : image.getElementRoles()) {
+			Key key = new Key(image.getPlatformChipset(), role, image.getImageType());
+			List<IndexedImage> versions = images.get(key);
+			versions.remove(image);
+			if(versions.isEmpty()) {
+				images.remove(key);
+			}
+		}
+	}
+	
+	/**
+	 * Removes all images of the specified chipset and image type.
+	 * @param chipset the platform chipset
+	 * @param imageType the image type
+	 */
+	void removeAll(PlatformChipsetName chipset, ImageType imageType) {
+		Iterator<IndexedImage> i = imagesById.values().iterator();
+		List<ImageId> removed = new LinkedList<>();
+		while(i.hasNext()) {
+			IndexedImage image = i.next();
+			if(Objects.equals(chipset, image.getPlatformChipset()) && Objects.equals(imageType, image.getImageType())) {
+				removed.add(image.getImageId());
+			}
+		}
+		removed.forEach(this::remove);
+	}
+	
+	/**
+	 * Returns the indexed image with the given ID.
+	 * @param imageId the image ID
+	 * @return the indexed image or <code>null</code> if the image is unknown.
+	 */
+	IndexedImage get(ImageId imageId) {
+		return imagesById.get(imageId);
+	}
+	
+	/**
+	 * Returns all images an installed image can be upgraded to, in descending version order.
+	 * Revoked images and images dedicated to other elements are omitted.
+	 * @param chipset the platform chipset of the element
+	 * @param role the element role
+	 * @param imageType the type of the installed image
+	 * @param version the version of the installed image
+	 * @param elementId the element ID
+	 * @return the available upgrades.
+	 */
+	List<IndexedImage> findUpgrades(PlatformChipsetName chipset,
+									ElementRoleName role,
+									ImageType imageType,
+									Version version,
+									ElementId elementId){
+		List<IndexedImage> versions = images.get(new Key(chipset, role, imageType));
+		if(versions == null) {
+			return emptyList();
+		}
+		List<IndexedImage> upgrades = new LinkedList<>();
+		int first = upperBound(versions, version, prerelease(version));
+		for(int i=versions.size()-1; i >= first; i--) {
+			IndexedImage upgrade = versions.get(i);
+			if(upgrade.getImageState() != REVOKED && upgrade.isAvailableFor(elementId)) {
+				upgrades.add(upgrade);
+			}
+		}
+		return upgrades;
+	}
+	
+	/**
+	 * Returns all images that can be upgraded to the specified image, in ascending version order, grouped by element role.
+	 * Returns an empty map if the specified image is unknown or revoked.
+	 * @param imageId the image ID
+	 * @return the preceding images by element role.
+	 */
+	Map<ElementRoleName,List<IndexedImage>> findPredecessors(ImageId imageId){
+		IndexedImage image = imagesById.get(imageId);
+		Map<ElementRoleName,List<IndexedImage>> predecessors = new LinkedHashMap<>();
+		if(image == null || image.getImageState() == REVOKED) {
+			return predecessors;
+		}
+		for(ElementRoleName role : image.getElementRoles()) {
+			List<IndexedImage> versions = images.get(new Key(image.getPlatformChipset(), role, image.getImageType()));
+			int last = lowerBound(versions, image.getImageVersion(), image.prerelease);
+			if(last > 0) {
+				predecessors.put(role, new ArrayList<>(versions.subList(0, last)));
+			}
+		}
+		return predecessors;
+	}
+	
+	int size() {
+		return imagesById.size();
+	}
+	
+	// Index of the first image succeeding the given version.
+	private static int upperBound(List<IndexedImage> versions, Version version, String prerelease) {
+		int low = 0;
+		int high = versions.size();
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			IndexedImage image = versions.get(mid);
+			if(compare(image.getImageVersion(), image.prerelease, version, prerelease) <= 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	// Index of the first image not preceding the given version.
+	private static int lowerBound(List<IndexedImage> versions, Version version, String prerelease) {
+		int low = 0;
+		int high = versions.size();
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			IndexedImage image = versions.get(mid);
+			if(compare(image.getImageVersion(), image.prerelease, version, prerelease) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+	
+}
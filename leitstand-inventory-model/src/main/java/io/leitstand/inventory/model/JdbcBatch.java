@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Writes a list of records by a JDBC batch statement.
+ * <p>
+ * The batch is executed every {@value #BATCH_SIZE} records to limit the memory consumed by the JDBC driver.
+ */
+final class JdbcBatch {
+
+	static final int BATCH_SIZE = 500;
+	
+	/**
+	 * Binds a record to the parameters of a prepared statement.
+	 * @param <T> the record type
+	 */
+	@FunctionalInterface
+	interface Binder<T> {
+		void bind(PreparedStatement stmt, T value) throws SQLException;
+	}
+	
+	/**
+	 * Executes the specified statement for all records.
+	 * No statement is prepared if the list of records is empty.
+	 * @param c the database connection
+	 * @param sql the SQL statement
+	 * @param values the records
+	 * @param binder the binder to bind a record to the statement parameters
+	 * @throws SQLException if the statement cannot be executed
+	 */
+	static <T> void batch(Connection c, 
+						  String sql, 
+						  List<T> values, 
+						  Binder<T> binder) throws SQLException {
+		if(values.isEmpty()) {
+			return;
+		}
+		try (PreparedStatement stmt = c.prepareStatement(sql)){
+			int pending = 0;
+			for(T value : values) {
+				binder.bind(stmt, value);
+				stmt.addBatch();
+				if(++pending == BATCH_SIZE) {
+					stmt.executeBatch();
+					pending = 0;
+				}
+			}
+			if(pending > 0) {
+				stmt.executeBatch();
+			}
+		}
+	}
+	
+	private JdbcBatch() {
+		// No instances allowed
+	}
+	
+}
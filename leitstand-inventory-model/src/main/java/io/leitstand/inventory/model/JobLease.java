@@ -0,0 +1,150 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static java.lang.String.format;
+import static java.util.Collections.emptySet;
+import static java.util.UUID.randomUUID;
+import static java.util.logging.Logger.getLogger;
+
+import java.util.Set;
+import java.util.logging.Logger;
+
+import io.leitstand.inventory.service.ElementId;
+
+/**
+ * The partition leases of a periodic job owned by this inventory instance.
+ * <p>
+ * Elements are assigned to partitions by the hash code of their element ID.
+ * The leases must be renewed before they expire. 
+ * {@link #renewIfDue(long)} renews the leases after a third of the lease time-to-live has elapsed. 
+ * All owned partitions are given up when the leases could not be renewed before they expired.
+ * <p>
+ * Leases are not fenced, i.e. a stalled instance can process a partition whose lease has expired and was claimed by another instance
+ * until the stalled instance attempts to renew its leases. 
+ * Jobs must therefore verify the database state before modifying it.
+ * @see JobLeaseService
+ */
+public final class JobLease {
+	
+	private static final Logger LOG = getLogger(JobLease.class.getName());
+	private static final String NODE_ID = randomUUID().toString();
+
+	/**
+	 * Returns the partition of the specified element.
+	 * @param elementId the element ID
+	 * @param partitions the number of partitions
+	 * @return the partition of the element
+	 */
+	static int partition(ElementId elementId, int partitions) {
+		return partition(elementId.toString(), partitions);
+	}
+	
+	static int partition(String uuid, int partitions) {
+		// The trailing 28 bits of a random UUID are uniformly distributed and form a non-negative int value.
+		// The value is identical on all inventory instances and can be computed by the database as well.
+		return Integer.parseInt(uuid.substring(uuid.length() - 7), 16) % partitions;
+	}
+	
+	/**
+	 * Returns an SQL expression that computes the partition of the UUID stored in the specified column,
+	 * which is the same partition as computed by {@link #partition(String, int)}.
+	 * The expression expects the number of partitions as statement parameter.
+	 * @param column the column name
+	 * @return the partition SQL expression
+	 */
+	static String partitionOf(String column) {
+		return format("mod(('x' || lpad(right(%s, 7), 8, '0'))::bit(32)::int, ?)", column);
+	}
+	
+	private final JobLeaseService service;
+	private final String job;
+	private final int partitions;
+	private final long ttl;
+	private volatile Set<Integer> owned = emptySet();
+	private long renewed;
+	private long nextRenewal;
+	
+	/**
+	 * Creates the job leases.
+	 * @param service the job lease service
+	 * @param job the job name
+	 * @param partitions the number of job partitions
+	 * @param ttl the lease time-to-live in milliseconds
+	 */
+	JobLease(JobLeaseService service, String job, int partitions, long ttl) {
+		this.service = service;
+		this.job = job;
+		this.partitions = partitions;
+		this.ttl = ttl;
+	}
+	
+	/**
+	 * Renews the leases if the renewal is due.
+	 * @param now the current time in milliseconds since epoch
+	 * @return <code>true</code> if the set of owned partitions has changed, <code>false</code> otherwise.
+	 * @throws RuntimeException if the leases cannot be renewed. All partitions are given up if the leases have expired.
+	 */
+	boolean renewIfDue(long now) {
+		if(now < nextRenewal) {
+			return false;
+		}
+		Set<Integer> previous = owned;
+		try {
+			owned = service.renewLeases(job, NODE_ID, partitions, ttl);
+			renewed = now;
+			nextRenewal = now + ttl / 3;
+		} catch (RuntimeException e) {
+			if(now - renewed >= ttl) {
+				// Leases have expired meanwhile.
+				owned = emptySet();
+			}
+			nextRenewal = now + ttl / 10;
+			throw e;
+		}
+		if(previous.equals(owned)) {
+			return false;
+		}
+		LOG.info(() -> format("Node %s owns %s partitions %s", NODE_ID, job, owned));
+		return true;
+	}
+	
+	/**
+	 * Releases all leases of this instance.
+	 */
+	void release() {
+		owned = emptySet();
+		service.releaseLeases(job, NODE_ID);
+	}
+	
+	/**
+	 * Returns whether this instance owns the partition of the specified element.
+	 * @param elementId the element ID
+	 * @return <code>true</code> if the partition of the element is owned by this instance.
+	 */
+	boolean owns(ElementId elementId) {
+		return owned.contains(partition(elementId, partitions));
+	}
+	
+	/**
+	 * Returns the partitions owned by this instance.
+	 * @return the owned partitions.
+	 */
+	Set<Integer> getPartitions() {
+		return owned;
+	}
+	
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static java.lang.String.format;
+import static java.util.logging.Logger.getLogger;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+
+import javax.inject.Inject;
+
+import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.commons.model.Service;
+
+/**
+ * Maintains the partition leases of periodic inventory jobs.
+ * <p>
+ * Every job is split in a fixed number of partitions.
+ * An inventory instance must own the lease of a partition to process the partition.
+ * Every instance registers itself as job node and claims its fair share of the partitions, 
+ * which is the number of partitions divided by the number of job nodes, rounded up.
+ * An instance releases the partitions exceeding its fair share, when new nodes have joined, 
+ * and claims unowned or expired partitions, when nodes have left.
+ * All lease timestamps are computed by the database to be independent of the clocks of the inventory instances.
+ */
+@Service
+public class JobLeaseService {
+	
+	private static final Logger LOG = getLogger(JobLeaseService.class.getName());
+
+	@Inject
+	@Inventory
+	private DatabaseService db;
+	
+	/**
+	 * Renews the leases owned by the specified node and rebalances the partitions among all job nodes.
+	 * @param job the job name
+	 * @param node the node ID
+	 * @param partitions the number of partitions
+	 * @param ttl the lease time-to-live in milliseconds
+	 * @return the partitions owned by the specified node.
+	 */
+	public Set<Integer> renewLeases(String job, 
+									String node, 
+									int partitions, 
+									long ttl) {
+		
+		db.executeUpdate(prepare("INSERT INTO inventory.job_lease (job, partition_id, node, tsexpiry) "+
+								 "SELECT ?, p, NULL, now() "+
+								 "FROM generate_series(0, ?) p "+
+								 "ON CONFLICT (job, partition_id) DO NOTHING", 
+								 job, 
+								 partitions - 1));
+		
+		db.executeUpdate(prepare("INSERT INTO inventory.job_node (job, node, tsexpiry) "+
+								 "VALUES (?, ?, now() + ? * interval '1 millisecond') "+
+								 "ON CONFLICT (job, node) DO UPDATE SET tsexpiry = EXCLUDED.tsexpiry", 
+								 job, 
+								 node, 
+								 ttl));
+		db.executeUpdate(prepare("DELETE FROM inventory.job_node "+
+								 "WHERE job = ? AND tsexpiry < now()",
+								 job));
+		
+		long nodes = db.getSingleResult(prepare("SELECT count(*) FROM inventory.job_node WHERE job = ?", 
+												job),
+										rs -> rs.getLong(1));
+		int share = (int) ((partitions + nodes - 1) / nodes);
+		
+		Set<Integer> owned = new TreeSet<>(db.executeQuery(prepare("UPDATE inventory.job_lease "+
+																	"SET tsexpiry = now() + ? * interval '1 millisecond' "+
+																	"WHERE job = ? AND node = ? "+
+																	"AND partition_id < ? "+
+																	"RETURNING partition_id",
+																	ttl,
+																	job,
+																	node,
+																	partitions),
+														   rs -> rs.getInt(1)));
+
+		if(owned.size() > share) {
+			List<Integer> released = db.executeQuery(prepare("UPDATE inventory.job_lease "+
+															 "SET node = NULL, tsexpiry = now() "+
+															 "WHERE job = ? AND partition_id IN (SELECT partition_id "+
+															 									"FROM inventory.job_lease "+
+															 									"WHERE job = ? AND node = ? "+
+															 									"ORDER BY partition_id DESC "+
+															 									"LIMIT ?) "+
+															 "RETURNING partition_id",
+															 job,
+															 job,
+															 node,
+															 owned.size() - share), 
+													 rs -> rs.getInt(1));
+			owned.removeAll(released);
+			LOG.fine(() -> format("Node %s released %s partitions %s", node, job, released));
+		} else if(owned.size() < share) {
+			List<Integer> claimed = db.executeQuery(prepare("UPDATE inventory.job_lease "+
+															"SET node = ?, tsexpiry = now() + ? * interval '1 millisecond' "+
+															"WHERE job = ? AND partition_id IN (SELECT partition_id "+
+																							   "FROM inventory.job_lease "+
+																							   "WHERE job = ? "+
+																							   "AND partition_id < ? "+
+																							   "AND (node IS NULL OR tsexpiry < now()) "+
+																							   "ORDER BY partition_id "+
+																							   "LIMIT ? "+
+																							   "FOR UPDATE SKIP LOCKED) "+
+															"RETURNING partition_id",
+															node,
+															ttl,
+															job,
+															job,
+															partitions,
+															share - owned.size()),
+													rs -> rs.getInt(1));
+			owned.addAll(claimed);
+			if(!claimed.isEmpty()) {
+				LOG.fine(() -> format("Node %s claimed %s partitions %s", node, job, claimed));
+			}
+		}
+		return Collections.unmodifiableSet(owned);
+	}
+	
+	/**
+	 * Releases all leases of the specified node, e.g. when the node is shut down.
+	 * @param job the job name
+	 * @param node the node ID
+	 */
+	public void releaseLeases(String job, String node) {
+		db.executeUpdate(prepare("UPDATE inventory.job_lease "+
+								 "SET node = NULL, tsexpiry = now() "+
+								 "WHERE job = ? AND node = ?", 
+								 job, 
+								 node));
+		db.executeUpdate(prepare("DELETE FROM inventory.job_node "+
+								 "WHERE job = ? AND node = ?",
+								 job,
+								 node));
+	}
+	
+}
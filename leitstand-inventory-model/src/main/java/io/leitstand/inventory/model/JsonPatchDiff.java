@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static javax.json.Json.createArrayBuilder;
+import static javax.json.Json.createObjectBuilder;
+
+import java.util.Map;
+
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+/**
+ * Computes a <a href="https://tools.ietf.org/html/rfc6902">RFC 6902</a> JSON patch that transforms a JSON document into another JSON document.
+ * <p>
+ * Objects are compared member by member and arrays are compared element by element.
+ * Elements appended to or removed from the end of an array are reported as <code>add</code> and <code>remove</code> operations respectively,
+ * all other modified values are reported as <code>replace</code> operations.
+ * The patch is computed in a single traversal of both documents.
+ */
+final class JsonPatchDiff {
+
+	/**
+	 * Computes the JSON patch to transform the <code>from</code> document into the <code>to</code> document.
+	 * @param from the original JSON document
+	 * @param to the modified JSON document
+	 * @return the JSON patch operations.
+	 */
+	static JsonArray diff(JsonValue from, JsonValue to) {
+		JsonArrayBuilder patch = createArrayBuilder();
+		diff("", from, to, patch);
+		return patch.build();
+	}
+	
+	private static void diff(String path, JsonValue from, JsonValue to, JsonArrayBuilder patch) {
+		if(from.equals(to)) {
+			return;
+		}
+		if(from instanceof JsonObject && to instanceof JsonObject) {
+			diffObjects(path, (JsonObject) from, (JsonObject) to, patch);
+			return;
+		}
+		if(from instanceof JsonArray && to instanceof JsonArray) {
+			diffArrays(path, (JsonArray) from, (JsonArray) to, patch);
+			return;
+		}
+		patch.add(operation("replace", path, to));
+	}
+	
+	private static void diffObjects(String path, JsonObject from, JsonObject to, JsonArrayBuilder patch) {
+		for(Map.Entry<String,JsonValue> member : from.entrySet()) {
+			String memberPath = path + "/" + escape(member.getKey());
+			JsonValue value = to.get(member.getKey());
+			if(value == null) {
+				patch.add(createObjectBuilder()
+						  .add("op", "remove")
+						  .add("path", memberPath));
+			} else {
+				diff(memberPath, member.getValue(), value, patch);
+			}
+		}
+		for(Map.Entry<String,JsonValue> member : to.entrySet()) {
+			if(!from.containsKey(member.getKey())) {
+				patch.add(operation("add", path + "/" + escape(member.getKey()), member.getValue()));
+			}
+		}
+	}
+
+	private static void diffArrays(String path, JsonArray from, JsonArray to, JsonArrayBuilder patch) {
+		int common = Math.min(from.size(), to.size());
+		for(int i=0; i < common; i++) {
+			diff(path + "/" + i, from.get(i), to.get(i), patch);
+		}
+		// Remove trailing elements in reverse order to keep the indexes of the remaining elements stable.
+		for(int i=from.size()-1; i >= common; i--) {
+			patch.add(createObjectBuilder()
+					  .add("op", "remove")
+					  .add("path", path + "/" + i));
+		}
+		for(int i=common; i < to.size(); i++) {
+			patch.add(operation("add", path + "/-", to.get(i)));
+		}
+	}
+	
+	private static JsonObject operation(String op, String path, JsonValue value) {
+		return createObjectBuilder()
+			   .add("op", op)
+			   .add("path", path)
+			   .add("value", value)
+			   .build();
+	}
+	
+	/**
+	 * Escapes a member name as JSON pointer reference token as specified by <a href="https://tools.ietf.org/html/rfc6901">RFC 6901</a>.
+	 * @param name the member name
+	 * @return the reference token.
+	 */
+	static String escape(String name) {
+		return name.replace("~", "~0")
+				   .replace("/", "~1");
+	}
+	
+	private JsonPatchDiff() {
+		// No instances allowed
+	}
+	
+}
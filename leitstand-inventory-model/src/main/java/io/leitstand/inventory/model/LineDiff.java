@@ -0,0 +1,344 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the line-based difference of two configurations and renders it in unified diff format.
+ * <p>
+ * The difference is computed by Myers' <em>O((N+M)D)</em> algorithm in its linear space variant, 
+ * where <em>N</em> and <em>M</em> are the number of lines of both configurations and <em>D</em> is the number of changed lines.
+ * Hence the computation is linear in the configuration size for the typical case of few changes between two revisions.
+ * All lines are mapped to integer IDs first, so that lines are compared by a single integer comparison.
+ */
+final class LineDiff {
+
+	/**
+	 * A hunk of changed lines with its surrounding context lines.
+	 */
+	private static final class Hunk {
+		private int fromStart;
+		private int fromEnd;
+		private int toStart;
+		private int toEnd;
+	}
+
+	/**
+	 * Computes the difference of two configurations.
+	 * @param from the original configuration
+	 * @param to the modified configuration
+	 * @return the difference of both configurations.
+	 */
+	static LineDiff diff(String from, String to) {
+		Map<String,Integer> ids = new HashMap<>();
+		List<String> fromLines = lines(from);
+		List<String> toLines = lines(to);
+		LineDiff diff = new LineDiff(fromLines, 
+									 toLines, 
+									 ids(fromLines, ids), 
+									 ids(toLines, ids));
+		diff.compare(0, fromLines.size(), 0, toLines.size());
+		return diff;
+	}
+	
+	private static final String NO_NEWLINE = "\\ No newline at end of file";
+	
+	private static List<String> lines(String text) {
+		List<String> lines = new ArrayList<>();
+		if(text == null || text.isEmpty()) {
+			return lines;
+		}
+		int start = 0;
+		int end;
+		while((end = text.indexOf('\n', start)) >= 0) {
+			lines.add(text.substring(start, end+1));
+			start = end + 1;
+		}
+		if(start < text.length()) {
+			// Last line without line terminator
+			lines.add(text.substring(start));
+		}
+		return lines;
+	}
+	
+	private static int[] ids(List<String> lines, Map<String,Integer> ids) {
+		int[] lineIds = new int[lines.size()];
+		for(int i=0; i < lineIds.length; i++) {
+			Integer id = ids.get(lines.get(i));
+			if(id == null) {
+				id = ids.size();
+				ids.put(lines.get(i), id);
+			}
+			lineIds[i] = id;
+		}
+		return lineIds;
+	}
+	
+	private final List<String> fromLines;
+	private final List<String> toLines;
+	private final int[] a;
+	private final int[] b;
+	private final boolean[] removed;
+	private final boolean[] added;
+	private final int[] forward;
+	private final int[] backward;
+	private final int offset;
+	
+	private LineDiff(List<String> fromLines, List<String> toLines, int[] a, int[] b) {
+		this.fromLines = fromLines;
+		this.toLines = toLines;
+		this.a = a;
+		this.b = b;
+		this.removed = new boolean[a.length];
+		this.added = new boolean[b.length];
+		this.offset = a.length + b.length + 1;
+		this.forward = new int[2 * offset + 1];
+		this.backward = new int[2 * offset + 1];
+	}
+	
+	/**
+	 * Returns whether both configurations are equal.
+	 * @return <code>true</code> if both configurations are equal, <code>false</code> otherwise.
+	 */
+	boolean isEmpty() {
+		for(boolean r : removed) {
+			if(r) {
+				return false;
+			}
+		}
+		for(boolean i : added) {
+			if(i) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Returns the number of removed lines.
+	 * @return the number of removed lines.
+	 */
+	int getRemovedLines() {
+		int count = 0;
+		for(boolean r : removed) {
+			if(r) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the number of added lines.
+	 * @return the number of added lines.
+	 */
+	int getAddedLines() {
+		int count = 0;
+		for(boolean i : added) {
+			if(i) {
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	private void compare(int aLo, int aHi, int bLo, int bHi) {
+		// Skip common prefix and common suffix.
+		while(aLo < aHi && bLo < bHi && a[aLo] == b[bLo]) {
+			aLo++;
+			bLo++;
+		}
+		while(aLo < aHi && bLo < bHi && a[aHi-1] == b[bHi-1]) {
+			aHi--;
+			bHi--;
+		}
+		if(aLo == aHi) {
+			for(int j=bLo; j < bHi; j++) {
+				added[j] = true;
+			}
+			return;
+		}
+		if(bLo == bHi) {
+			for(int i=aLo; i < aHi; i++) {
+				removed[i] = true;
+			}
+			return;
+		}
+		int[] snake = middleSnake(aLo, aHi, bLo, bHi);
+		compare(aLo, snake[0], bLo, snake[1]);
+		compare(snake[2], aHi, snake[3], bHi);
+	}
+	
+	/**
+	 * Finds the middle snake of the shortest edit script by searching from both ends simultaneously.
+	 * @return the start and end coordinates of the middle snake.
+	 */
+	private int[] middleSnake(int aLo, int aHi, int bLo, int bHi) {
+		int n = aHi - aLo;
+		int m = bHi - bLo;
+		int delta = n - m;
+		boolean odd = (delta & 1) != 0;
+		int maxD = (n + m + 1) / 2;
+		forward[offset+1] = 0;
+		backward[offset+1] = 0;
+		for(int d=0; d <= maxD; d++) {
+			for(int k=-d; k <= d; k+=2) {
+				int x;
+				if(k == -d || (k != d && forward[offset+k-1] < forward[offset+k+1])) {
+					x = forward[offset+k+1];
+				} else {
+					x = forward[offset+k-1] + 1;
+				}
+				int y = x - k;
+				int x0 = x;
+				int y0 = y;
+				while(x < n && y < m && a[aLo+x] == b[bLo+y]) {
+					x++;
+					y++;
+				}
+				forward[offset+k] = x;
+				if(odd && k >= delta-(d-1) && k <= delta+(d-1) && x + backward[offset+delta-k] >= n) {
+					return new int[] {aLo+x0, bLo+y0, aLo+x, bLo+y};
+				}
+			}
+			for(int k=-d; k <= d; k+=2) {
+				int x;
+				if(k == -d || (k != d && backward[offset+k-1] < backward[offset+k+1])) {
+					x = backward[offset+k+1];
+				} else {
+					x = backward[offset+k-1] + 1;
+				}
+				int y = x - k;
+				int x0 = x;
+				int y0 = y;
+				while(x < n && y < m && a[aHi-1-x] == b[bHi-1-y]) {
+					x++;
+					y++;
+				}
+				backward[offset+k] = x;
+				if(!odd && delta-k >= -d && delta-k <= d && x + forward[offset+delta-k] >= n) {
+					return new int[] {aHi-x, bHi-y, aHi-x0, bHi-y0};
+				}
+			}
+		}
+		// Unreachable, because the search paths always overlap when d reaches maxD.
+		throw new IllegalStateException("No middle snake found");
+	}
+	
+	private List<Hunk> hunks(int context){
+		List<Hunk> hunks = new ArrayList<>();
+		Hunk hunk = null;
+		int i = 0;
+		int j = 0;
+		while(i < a.length || j < b.length) {
+			if((i < a.length && removed[i]) || (j < b.length && added[j])) {
+				int fromStart = max(0, i - context);
+				int toStart = max(0, j - context);
+				while(i < a.length && removed[i]) {
+					i++;
+				}
+				while(j < b.length && added[j]) {
+					j++;
+				}
+				if(hunk != null && fromStart <= hunk.fromEnd) {
+					// Merge changes with overlapping context.
+					hunk.fromEnd = min(a.length, i + context);
+					hunk.toEnd = min(b.length, j + context);
+				} else {
+					hunk = new Hunk();
+					hunk.fromStart = fromStart;
+					hunk.toStart = toStart;
+					hunk.fromEnd = min(a.length, i + context);
+					hunk.toEnd = min(b.length, j + context);
+					hunks.add(hunk);
+				}
+			} else {
+				i++;
+				j++;
+			}
+		}
+		return hunks;
+	}
+
+	/**
+	 * Writes this difference in unified diff format.
+	 * @param fromLabel the label of the original configuration
+	 * @param toLabel the label of the modified configuration
+	 * @param context the number of unchanged lines around every change
+	 * @param out the writer
+	 * @throws IOException if writing the difference fails
+	 */
+	void writeUnifiedDiff(String fromLabel, String toLabel, int context, Writer out) throws IOException {
+		List<Hunk> hunks = hunks(context);
+		if(hunks.isEmpty()) {
+			return;
+		}
+		out.write("--- ");
+		out.write(fromLabel);
+		out.write('\n');
+		out.write("+++ ");
+		out.write(toLabel);
+		out.write('\n');
+		for(Hunk hunk : hunks) {
+			out.write("@@ -");
+			out.write(range(hunk.fromStart, hunk.fromEnd));
+			out.write(" +");
+			out.write(range(hunk.toStart, hunk.toEnd));
+			out.write(" @@\n");
+			int i = hunk.fromStart;
+			int j = hunk.toStart;
+			while(i < hunk.fromEnd || j < hunk.toEnd) {
+				if(i < hunk.fromEnd && removed[i]) {
+					writeLine('-', fromLines.get(i++), out);
+				} else if(j < hunk.toEnd && added[j]) {
+					writeLine('+', toLines.get(j++), out);
+				} else {
+					writeLine(' ', fromLines.get(i++), out);
+					j++;
+				}
+			}
+		}
+	}
+	
+	private static String range(int start, int end) {
+		int length = end - start;
+		if(length == 1) {
+			return String.valueOf(start + 1);
+		}
+		// An empty range refers to the line before the range.
+		return (length == 0 ? start : start + 1) + "," + length;
+	}
+	
+	private static void writeLine(char prefix, String line, Writer out) throws IOException {
+		out.write(prefix);
+		out.write(line);
+		if(!line.endsWith("\n")) {
+			out.write('\n');
+			out.write(NO_NEWLINE);
+			out.write('\n');
+		}
+	}
+
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.jpa.OperationalStateConverter.operationalStateDbString;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import io.leitstand.inventory.jpa.AdministrativeStateConverter;
+import io.leitstand.inventory.service.AddressInterface;
+import io.leitstand.inventory.service.ElementLogicalInterfaceSubmission;
+import io.leitstand.inventory.service.IPvxPrefix;
+import io.leitstand.inventory.service.InterfaceName;
+import io.leitstand.inventory.service.RoutingInstanceName;
+import io.leitstand.inventory.service.VlanTag;
+
+/**
+ * The column values of an <code>element_ifl</code> record and its <code>element_ifl_ifa</code> 
+ * and <code>element_ifl_vlan</code> records.
+ * <p>
+ * All values are stored in their database representation, 
+ * such that a submitted logical interface can be compared with the stored logical interface 
+ * without loading the logical interface entity.
+ * Two rows are equal if all column values, except for the timestamps, and all addresses and VLANs are equal.
+ * Addresses and VLANs are compared as sets, such that only added and removed addresses and VLANs need to be written.
+ */
+final class LogicalInterfaceRow {
+
+	private static final AdministrativeStateConverter ADM_STATE = new AdministrativeStateConverter();
+	
+	/**
+	 * An <code>element_ifl_ifa</code> record.
+	 */
+	static final class Address {
+		private final String type;
+		private final String address;
+		
+		Address(String type, String address){
+			this.type = type;
+			this.address = address;
+		}
+		
+		String getType() {
+			return type;
+		}
+		
+		String getAddress() {
+			return address;
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if(o == this) {
+				return true;
+			}
+			if(o == null || o.getClass() != getClass()) {
+				return false;
+			}
+			Address ifa = (Address) o;
+			return Objects.equals(type, ifa.type) 
+				   && Objects.equals(address, ifa.address);
+		}
+		
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(address);
+		}
+	}
+	
+	/**
+	 * An <code>element_ifl_vlan</code> record. 
+	 * The VLAN position is part of the record, because the order of VLAN tags is significant.
+	 */
+	static final class Vlan {
+		private final int position;
+		private final Integer tpid;
+		private final Integer vid;
+		
+		Vlan(int position, Integer tpid, Integer vid){
+			this.position = position;
+			this.tpid = tpid;
+			this.vid = vid;
+		}
+		
+		int getPosition() {
+			return position;
+		}
+		
+		Integer getTpid() {
+			return tpid;
+		}
+		
+		Integer getVid() {
+			return vid;
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if(o == this) {
+				return true;
+			}
+			if(o == null || o.getClass() != getClass()) {
+				return false;
+			}
+			Vlan vlan = (Vlan) o;
+			return position == vlan.position
+				   && Objects.equals(tpid, vlan.tpid) 
+				   && Objects.equals(vid, vlan.vid);
+		}
+		
+		@Override
+		public int hashCode() {
+			return Objects.hash(position, vid);
+		}
+	}
+	
+	/**
+	 * Creates the row of a submitted logical interface.
+	 * @param submission the logical interface submission
+	 * @return the row of the submitted logical interface.
+	 */
+	static LogicalInterfaceRow submittedRow(ElementLogicalInterfaceSubmission submission) {
+		LogicalInterfaceRow row = new LogicalInterfaceRow(InterfaceName.toString(submission.getIflName()),
+														  InterfaceName.toString(submission.getContainerInterfaceName()),
+														  submission.getInterfaceAlias(),
+														  RoutingInstanceName.toString(submission.getRoutingInstance()),
+														  ADM_STATE.convertToDatabaseColumn(submission.getAdministrativeState()),
+														  operationalStateDbString(submission.getOperationalState()));
+		for(AddressInterface ifa : submission.getAddresses()) {
+			row.addAddress(ifa.getAddressType() != null ? ifa.getAddressType().name() : null, 
+						   IPvxPrefix.toString(ifa.getAddress()));
+		}
+		List<VlanTag> vlans = submission.getVlans();
+		for(int i=0; i < vlans.size(); i++) {
+			VlanTag vlan = vlans.get(i);
+			row.addVlan(i, 
+						vlan.getVlanTpid() != null ? vlan.getVlanTpid().getValue() : null, 
+						vlan.getVlanId() != null ? vlan.getVlanId().getValue() : null);
+		}
+		return row;
+	}
+	
+	private final String iflName;
+	private final String ifcName;
+	private final String alias;
+	private final String routingInstance;
+	private final String admState;
+	private final String opState;
+	private final Set<Address> addresses;
+	private final Set<Vlan> vlans;
+	
+	LogicalInterfaceRow(String iflName,
+						String ifcName,
+						String alias,
+						String routingInstance,
+						String admState,
+						String opState) {
+		this.iflName = iflName;
+		this.ifcName = ifcName;
+		this.alias = alias;
+		this.routingInstance = routingInstance;
+		this.admState = admState;
+		this.opState = opState;
+		this.addresses = new LinkedHashSet<>();
+		this.vlans = new LinkedHashSet<>();
+	}
+	
+	void addAddress(String type, String address) {
+		addresses.add(new Address(type, address));
+	}
+	
+	void addVlan(int position, Integer tpid, Integer vid) {
+		vlans.add(new Vlan(position, tpid, vid));
+	}
+	
+	String getIflName() {
+		return iflName;
+	}
+	
+	String getIfcName() {
+		return ifcName;
+	}
+	
+	String getAlias() {
+		return alias;
+	}
+	
+	String getRoutingInstance() {
+		return routingInstance;
+	}
+	
+	String getAdministrativeState() {
+		return admState;
+	}
+	
+	String getOperationalState() {
+		return opState;
+	}
+	
+	Set<Address> getAddresses() {
+		return addresses;
+	}
+	
+	Set<Vlan> getVlans() {
+		return vlans;
+	}
+	
+	/**
+	 * Returns the addresses of this row that are not assigned to the specified row.
+	 * @param row the row to compare with
+	 * @return the addresses missing in the specified row
+	 */
+	Set<Address> addressesMissingIn(LogicalInterfaceRow row){
+		return missing(addresses, row.addresses);
+	}
+	
+	/**
+	 * Returns the VLANs of this row that are not assigned to the specified row.
+	 * @param row the row to compare with
+	 * @return the VLANs missing in the specified row
+	 */
+	Set<Vlan> vlansMissingIn(LogicalInterfaceRow row){
+		return missing(vlans, row.vlans);
+	}
+	
+	private static <T> Set<T> missing(Set<T> values, Collection<T> others){
+		Set<T> missing = new LinkedHashSet<>(values);
+		missing.removeAll(others);
+		return missing;
+	}
+	
+	/**
+	 * Returns whether the <code>element_ifl</code> column values of this row equal the column values of the specified row.
+	 * @param row the row to compare with
+	 * @return <code>true</code> if both rows have the same column values, <code>false</code> otherwise.
+	 */
+	boolean hasSameColumns(LogicalInterfaceRow row) {
+		return Objects.equals(iflName, row.iflName) 
+			   && Objects.equals(ifcName, row.ifcName)
+			   && Objects.equals(alias, row.alias)
+			   && Objects.equals(routingInstance, row.routingInstance)
+			   && Objects.equals(admState, row.admState)
+			   && Objects.equals(opState, row.opState);
+	}
+	
+	@Override
+	public boolean equals(Object o) {
+		if(o == this) {
+			return true;
+		}
+		if(o == null || o.getClass() != getClass()) {
+			return false;
+		}
+		LogicalInterfaceRow row = (LogicalInterfaceRow) o;
+		return hasSameColumns(row)
+			   && addresses.equals(row.addresses)
+			   && vlans.equals(row.vlans);
+	}
+	
+	@Override
+	public int hashCode() {
+		return Objects.hash(iflName, ifcName, opState);
+	}
+	
+}
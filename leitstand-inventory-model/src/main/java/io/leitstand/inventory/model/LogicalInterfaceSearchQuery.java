@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.model.StringUtil.isNonEmptyString;
+import static java.lang.Integer.parseInt;
+import static java.lang.String.join;
+import static java.util.Collections.nCopies;
+import static java.util.Collections.unmodifiableList;
+import static java.util.regex.Pattern.compile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import io.leitstand.inventory.service.InterfaceName;
+
+/**
+ * Builds the logical interface search query for a single element.
+ * <p>
+ * A logical interface matches the filter if its name, alias or routing instance matches the filter regular expression,
+ * if one of its addresses equals the filter or, for a numeric filter, if one of its VLANs has the filter as VLAN ID.
+ * All criteria are evaluated by a single statement, which orders the matching logical interfaces by name 
+ * and limits the result in the database. 
+ * A page following a certain logical interface is read by a seek predicate on the interface name,
+ * which allows reading the next page without reading and skipping all preceding rows.
+ * <p>
+ * The addresses and VLANs of a page are read by two additional statements for all logical interfaces of the page.
+ */
+final class LogicalInterfaceSearchQuery {
+
+	private static final Pattern VLAN_ID = compile("\\d{1,4}");
+	
+	/**
+	 * Creates a query to read a page of logical interfaces following the specified logical interface.
+	 * @param elementId the internal ID of the element
+	 * @param filter the optional filter
+	 * @param after the name of the last logical interface of the previous page or <code>null</code> to read the first page
+	 * @param limit the maximum number of logical interfaces to read
+	 * @return the search query
+	 */
+	static LogicalInterfaceSearchQuery keysetQuery(long elementId, 
+												   String filter, 
+												   InterfaceName after, 
+												   int limit) {
+		LogicalInterfaceSearchQuery query = new LogicalInterfaceSearchQuery("SELECT ifl.name, ifl.alias, ifl.instance, ifl.opstate, ifl.admstate "+
+																			"FROM inventory.element_ifl ifl "+
+																			"WHERE ifl.element_id = ? ");
+		query.args.add(elementId);
+		if(isNonEmptyString(filter)) {
+			query.sql.append("AND (ifl.name ~ ? OR ifl.alias ~ ? OR ifl.instance ~ ? ")
+					 .append("OR EXISTS (SELECT 1 FROM inventory.element_ifl_ifa ifa ")
+					 .append("WHERE ifa.element_id = ifl.element_id AND ifa.element_ifl_name = ifl.name AND ifa.address = ?) ");
+			query.args.add(filter);
+			query.args.add(filter);
+			query.args.add(filter);
+			query.args.add(filter);
+			if(VLAN_ID.matcher(filter).matches()) {
+				query.sql.append("OR EXISTS (SELECT 1 FROM inventory.element_ifl_vlan v ")
+						 .append("WHERE v.element_id = ifl.element_id AND v.element_ifl_name = ifl.name AND v.vid = ?) ");
+				query.args.add(parseInt(filter));
+			}
+			query.sql.append(") ");
+		}
+		if(after != null) {
+			query.sql.append("AND ifl.name > ? ");
+			query.args.add(after.getValue());
+		}
+		query.sql.append("ORDER BY ifl.name LIMIT ?");
+		query.args.add(limit);
+		return query;
+	}
+	
+	/**
+	 * Creates a query to read the addresses of the specified logical interfaces.
+	 * @param elementId the internal ID of the element
+	 * @param iflNames the logical interface names
+	 * @return the address query
+	 */
+	static LogicalInterfaceSearchQuery addressQuery(long elementId, List<String> iflNames) {
+		LogicalInterfaceSearchQuery query = new LogicalInterfaceSearchQuery("SELECT element_ifl_name, address "+
+																			"FROM inventory.element_ifl_ifa "+
+																			"WHERE element_id = ? ");
+		query.args.add(elementId);
+		query.in(iflNames);
+		return query;
+	}
+	
+	/**
+	 * Creates a query to read the VLANs of the specified logical interfaces ordered by their position.
+	 * @param elementId the internal ID of the element
+	 * @param iflNames the logical interface names
+	 * @return the VLAN query
+	 */
+	static LogicalInterfaceSearchQuery vlanQuery(long elementId, List<String> iflNames) {
+		LogicalInterfaceSearchQuery query = new LogicalInterfaceSearchQuery("SELECT element_ifl_name, tpid, vid "+
+																			"FROM inventory.element_ifl_vlan "+
+																			"WHERE element_id = ? ");
+		query.args.add(elementId);
+		query.in(iflNames);
+		query.sql.append("ORDER BY element_ifl_name, vlan");
+		return query;
+	}
+	
+	private final StringBuilder sql;
+	private final List<Object> args;
+	
+	private LogicalInterfaceSearchQuery(String select) {
+		this.sql = new StringBuilder(select);
+		this.args = new ArrayList<>();
+	}
+	
+	private void in(List<String> iflNames) {
+		sql.append("AND element_ifl_name IN (")
+		   .append(join(",", nCopies(iflNames.size(), "?")))
+		   .append(") ");
+		args.addAll(iflNames);
+	}
+	
+	/**
+	 * Returns the SQL statement.
+	 * @return the SQL statement.
+	 */
+	String getSql() {
+		return sql.toString();
+	}
+	
+	/**
+	 * Returns the statement arguments in placeholder order.
+	 * @return the statement arguments.
+	 */
+	List<Object> getArgs() {
+		return unmodifiableList(args);
+	}
+	
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+/**
+ * An event read from the {@link EventOutbox}.
+ */
+final class OutboxEvent {
+
+	private final long id;
+	private final String topic;
+	private final String eventType;
+	private final String coalescingKey;
+	private final String payload;
+	private final long age;
+	
+	/**
+	 * Creates an outbox event.
+	 * @param id the sequential event ID
+	 * @param topic the topic name
+	 * @param eventType the event class name
+	 * @param coalescingKey the optional coalescing key
+	 * @param payload the JSON event payload
+	 * @param age the time elapsed since the event was written to the outbox in milliseconds
+	 */
+	OutboxEvent(long id, 
+				String topic, 
+				String eventType, 
+				String coalescingKey, 
+				String payload, 
+				long age) {
+		this.id = id;
+		this.topic = topic;
+		this.eventType = eventType;
+		this.coalescingKey = coalescingKey;
+		this.payload = payload;
+		this.age = age;
+	}
+	
+	long getId() {
+		return id;
+	}
+	
+	String getTopic() {
+		return topic;
+	}
+	
+	String getEventType() {
+		return eventType;
+	}
+	
+	String getCoalescingKey() {
+		return coalescingKey;
+	}
+	
+	String getPayload() {
+		return payload;
+	}
+	
+	long getAge() {
+		return age;
+	}
+	
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.jpa.AdministrativeStateConverter.toAdministrativeState;
+import static io.leitstand.inventory.jpa.OperationalStateConverter.operationalStateDbString;
+import static io.leitstand.inventory.jpa.OperationalStateConverter.toOperationalState;
+import static io.leitstand.inventory.service.Bandwidth.bandwidth;
+import static io.leitstand.inventory.service.ElementPhysicalInterfaceData.newPhysicalInterfaceData;
+
+import java.util.Objects;
+
+import io.leitstand.inventory.jpa.AdministrativeStateConverter;
+import io.leitstand.inventory.service.Bandwidth;
+import io.leitstand.inventory.service.ElementPhysicalInterfaceData;
+import io.leitstand.inventory.service.ElementPhysicalInterfaceNeighbor;
+import io.leitstand.inventory.service.ElementPhysicalInterfaceSubmission;
+import io.leitstand.inventory.service.InterfaceName;
+import io.leitstand.inventory.service.MACAddress;
+
+/**
+ * The column values of an <code>element_ifp</code> record.
+ * <p>
+ * All values are stored in their database representation, 
+ * such that a submitted physical interface can be compared with the stored physical interface 
+ * without loading the physical interface entity.
+ * Two rows are equal if all column values, except for the timestamps, are equal.
+ */
+final class PhysicalInterfaceRow {
+
+	private static final AdministrativeStateConverter ADM_STATE = new AdministrativeStateConverter();
+	
+	/**
+	 * Creates the row of a submitted physical interface.
+	 * @param submission the physical interface submission
+	 * @param neighborId the internal ID of the neighbor element or <code>null</code> if no neighbor exists.
+	 * @return the row of the submitted physical interface.
+	 */
+	static PhysicalInterfaceRow submittedRow(ElementPhysicalInterfaceSubmission submission, 
+											 Long neighborId) {
+		Bandwidth bandwidth = submission.getBandwidth();
+		return new PhysicalInterfaceRow(InterfaceName.toString(submission.getIfpName()),
+										InterfaceName.toString(submission.getIfcName()),
+										submission.getIfpAlias(),
+										submission.getCategory(),
+										bandwidth != null ? bandwidth.getValue() : null,
+										bandwidth != null ? bandwidth.getUnit().name() : null,
+										MACAddress.toString(submission.getMacAddress()),
+										ADM_STATE.convertToDatabaseColumn(submission.getAdministrativeState()),
+										operationalStateDbString(submission.getOperationalState()),
+										neighborId,
+										neighborId != null ? InterfaceName.toString(submission.getNeighbor().getInterfaceName()) : null);
+	}
+	
+	private final String ifpName;
+	private final String ifcName;
+	private final String alias;
+	private final String category;
+	private final Float bwValue;
+	private final String bwUnit;
+	private final String macAddress;
+	private final String admState;
+	private final String opState;
+	private final Long neighborId;
+	private final String neighborIfpName;
+	
+	PhysicalInterfaceRow(String ifpName,
+						 String ifcName,
+						 String alias,
+						 String category,
+						 Float bwValue,
+						 String bwUnit,
+						 String macAddress,
+						 String admState,
+						 String opState,
+						 Long neighborId,
+						 String neighborIfpName) {
+		this.ifpName = ifpName;
+		this.ifcName = ifcName;
+		this.alias = alias;
+		this.category = category;
+		this.bwValue = bwValue;
+		this.bwUnit = bwUnit;
+		this.macAddress = macAddress;
+		this.admState = admState;
+		this.opState = opState;
+		this.neighborId = neighborId;
+		this.neighborIfpName = neighborIfpName;
+	}
+	
+	String getIfpName() {
+		return ifpName;
+	}
+	
+	String getIfcName() {
+		return ifcName;
+	}
+	
+	String getAlias() {
+		return alias;
+	}
+	
+	String getCategory() {
+		return category;
+	}
+	
+	Float getBandwidthValue() {
+		return bwValue;
+	}
+	
+	String getBandwidthUnit() {
+		return bwUnit;
+	}
+	
+	String getMacAddress() {
+		return macAddress;
+	}
+	
+	String getAdministrativeState() {
+		return admState;
+	}
+	
+	String getOperationalState() {
+		return opState;
+	}
+	
+	Long getNeighborId() {
+		return neighborId;
+	}
+	
+	String getNeighborIfpName() {
+		return neighborIfpName;
+	}
+	
+	/**
+	 * Converts this row to a physical interface data transfer object.
+	 * @param neighbor the neighbor interface or <code>null</code> if no neighbor exists.
+	 * @return the physical interface data
+	 */
+	ElementPhysicalInterfaceData toPhysicalInterfaceData(ElementPhysicalInterfaceNeighbor neighbor) {
+		return newPhysicalInterfaceData()
+			   .withIfpName(InterfaceName.valueOf(ifpName))
+			   .withIfpAlias(alias)
+			   .withCategory(category)
+			   .withBandwidth(bwValue != null ? bandwidth(bwValue, bwUnit) : null)
+			   .withMacAddress(MACAddress.valueOf(macAddress))
+			   .withAdministrativeState(toAdministrativeState(admState))
+			   .withOperationalState(toOperationalState(opState))
+			   .withNeighbor(neighbor)
+			   .build();
+	}
+	
+	@Override
+	public boolean equals(Object o) {
+		if(o == this) {
+			return true;
+		}
+		if(o == null || o.getClass() != getClass()) {
+			return false;
+		}
+		PhysicalInterfaceRow row = (PhysicalInterfaceRow) o;
+		return Objects.equals(ifpName, row.ifpName) 
+			   && Objects.equals(ifcName, row.ifcName)
+			   && Objects.equals(alias, row.alias)
+			   && Objects.equals(category, row.category)
+			   && Objects.equals(bwValue, row.bwValue)
+			   && Objects.equals(bwUnit, row.bwUnit)
+			   && Objects.equals(macAddress, row.macAddress)
+			   && Objects.equals(admState, row.admState)
+			   && Objects.equals(opState, row.opState)
+			   && Objects.equals(neighborId, row.neighborId)
+			   && Objects.equals(neighborIfpName, row.neighborIfpName);
+	}
+	
+	@Override
+	public int hashCode() {
+		return Objects.hash(ifpName, ifcName, macAddress, opState);
+	}
+	
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.model.StringUtil.isNonEmptyString;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.leitstand.inventory.service.PhysicalInterfaceCursor;
+
+/**
+ * Builds the physical interface search query.
+ * <p>
+ * The search result is ordered by facility name, group name, element name and interface name.
+ * This order is unique, because the interface name is unique per element and the element name is unique.
+ * A page is either addressed by an offset or by a {@link PhysicalInterfaceCursor}. 
+ * The cursor translates to a row value comparison with the sort key values of the last interface of the previous page.
+ * All preceding rows are discarded before sorting, 
+ * and the database keeps only the first rows of the page while sorting the remaining rows.
+ * The comparison does not require the last interface to exist anymore.
+ * <p>
+ * The interface name filter is a prefix match, which can be answered by the <code>element_ifp_name_ix</code> index.
+ * The alias filter is a case-insensitive substring match, which can be answered by the <code>element_ifp_alias_trgm_ix</code> trigram index.
+ * The location filter is a case-insensitive substring match on the facility name and location.
+ * It is evaluated on the few facility records and does not need an index.
+ */
+final class PhysicalInterfaceSearchQuery {
+	
+	/**
+	 * Creates a query to read a page of interfaces addressed by an offset.
+	 * @param locationFilter the optional location filter
+	 * @param ifpFilter the optional interface filter
+	 * @param offset the number of interfaces to skip
+	 * @param limit the maximum number of interfaces to read
+	 * @return the search query
+	 */
+	static PhysicalInterfaceSearchQuery offsetQuery(String locationFilter,
+												    String ifpFilter,
+												    int offset,
+												    int limit) {
+		PhysicalInterfaceSearchQuery query = new PhysicalInterfaceSearchQuery(locationFilter, ifpFilter);
+		query.sql.append("ORDER BY COALESCE(f.name,''), g.name, e.name, ifp.name ")
+				 .append("OFFSET ? LIMIT ?");
+		query.args.add(offset);
+		query.args.add(limit);
+		return query;
+	}
+	
+	/**
+	 * Creates a query to read a page of interfaces following the specified cursor.
+	 * @param locationFilter the optional location filter
+	 * @param ifpFilter the optional interface filter
+	 * @param cursor the last interface of the previous page or <code>null</code> to read the first page
+	 * @param limit the maximum number of interfaces to read
+	 * @return the search query
+	 */
+	static PhysicalInterfaceSearchQuery keysetQuery(String locationFilter,
+													String ifpFilter,
+													PhysicalInterfaceCursor cursor,
+													int limit) {
+		PhysicalInterfaceSearchQuery query = new PhysicalInterfaceSearchQuery(locationFilter, ifpFilter);
+		if(cursor != null) {
+			query.where("(COALESCE(f.name,''), g.name, e.name, ifp.name) > (?, ?, ?, ?) ");
+			query.args.add(cursor.getFacilityName());
+			query.args.add(cursor.getGroupName());
+			query.args.add(cursor.getElementName());
+			query.args.add(cursor.getIfpName());
+		}
+		query.sql.append("ORDER BY COALESCE(f.name,''), g.name, e.name, ifp.name ")
+				 .append("LIMIT ?");
+		query.args.add(limit);
+		return query;
+	}
+	
+	/**
+	 * Escapes all <code>LIKE</code> wildcards of the specified filter.
+	 * @param filter the filter string
+	 * @return the filter string with escaped wildcards
+	 */
+	static String escapeLike(String filter) {
+		StringBuilder escaped = new StringBuilder(filter.length()+4);
+		for(char c : filter.toCharArray()) {
+			if(c == '%' || c == '_' || c == '\\') {
+				escaped.append('\\');
+			}
+			escaped.append(c);
+		}
+		return escaped.toString();
+	}
+	
+	private final StringBuilder sql;
+	private final List<Object> args;
+	private String op = "WHERE ";
+	
+	private PhysicalInterfaceSearchQuery(String locationFilter, String ifpFilter) {
+		this.args = new ArrayList<>();
+		this.sql = new StringBuilder("SELECT g.uuid, g.name, g.type, f.uuid, f.name, f.location, e.uuid, e.name, e.alias, r.name, e.admstate, e.opstate, e.tsmodified, ifp.name, ifp.alias, ifp.opstate, ifp.admstate "+
+									 "FROM inventory.element_ifp ifp "+
+									 "JOIN inventory.element e "+
+									 "ON ifp.element_id = e.id "+
+									 "JOIN inventory.elementgroup g "+
+									 "ON e.elementgroup_id = g.id "+
+									 "JOIN inventory.elementrole r "+
+									 "ON e.elementrole_id = r.id "+
+									 "LEFT JOIN inventory.facility f "+
+									 "ON g.facility_id = f.id ");
+		if(isNonEmptyString(locationFilter)) {
+			String pattern = "%"+escapeLike(locationFilter)+"%";
+			where("(f.name ILIKE ? OR f.location ILIKE ?) ");
+			args.add(pattern);
+			args.add(pattern);
+		}
+		if(isNonEmptyString(ifpFilter)) {
+			String escaped = escapeLike(ifpFilter);
+			where("(ifp.name LIKE ? OR ifp.alias ILIKE ?) ");
+			args.add(escaped+"%");
+			args.add("%"+escaped+"%");
+		}
+	}
+	
+	private void where(String predicate) {
+		sql.append(op).append(predicate);
+		op = "AND ";
+	}
+	
+	/**
+	 * Returns the SQL statement.
+	 * @return the SQL statement.
+	 */
+	String getSql() {
+		return sql.toString();
+	}
+	
+	/**
+	 * Returns the statement arguments in placeholder order.
+	 * @return the statement arguments.
+	 */
+	List<Object> getArgs() {
+		return unmodifiableList(args);
+	}
+	
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.etc.Environment.getSystemProperty;
+import static io.leitstand.commons.rs.ResourceUtil.tryParseInt;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.Thread.currentThread;
+import static java.lang.Thread.sleep;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+
+import io.leitstand.commons.Reason;
+import io.leitstand.commons.ShutdownListener;
+import io.leitstand.commons.StartupListener;
+
+/**
+ * Base class of an in-memory index that is periodically reloaded from the inventory.
+ * <p>
+ * The index is loaded at startup. 
+ * Committed events are only observed by the inventory instance that modified the inventory.
+ * The index is therefore reloaded periodically to pick up the changes of other inventory instances.
+ * The reload interval is read from a system property (in seconds).
+ * Changes observed while the index is reloaded are re-applied to the reloaded index.
+ * The index is loaded on demand, if it is requested before the startup load completed.
+ * <p>
+ * An index can also refresh the index data structure between two reloads, 
+ * e.g. to fold the changes observed within the refresh interval into a single update.
+ * <p>
+ * All accesses to the index data structure are synchronized on the index.
+ * @param <T> the index data structure
+ */
+abstract class ReloadableIndex<T> implements Runnable, StartupListener, ShutdownListener {
+
+	private static final Logger LOG = Logger.getLogger(ReloadableIndex.class.getName());
+	
+	@Resource
+	private ManagedExecutorService pool;
+	
+	private final String indexName;
+	private final long reloadInterval;
+	private final long refreshInterval;
+	private final Reason started;
+	private final Reason stopped;
+	private final Reason failed;
+	private final AtomicLong reloads = new AtomicLong();
+	private T index;
+	private long loadStarted;
+	private List<Consumer<T>> pending;
+	private volatile boolean run;
+	
+	/**
+	 * Creates an index.
+	 * @param indexName the index name used in log messages
+	 * @param reloadIntervalProperty the name of the system property to configure the reload interval
+	 * @param defaultReloadInterval the default reload interval in seconds
+	 * @param started the reason code to log when the index has been started
+	 * @param stopped the reason code to log when the index has been stopped
+	 * @param failed the reason code to log when a reload failed
+	 */
+	protected ReloadableIndex(String indexName,
+							  String reloadIntervalProperty,
+							  int defaultReloadInterval,
+							  Reason started,
+							  Reason stopped,
+							  Reason failed) {
+		this(indexName,
+			 reloadIntervalProperty,
+			 defaultReloadInterval,
+			 0,
+			 started,
+			 stopped,
+			 failed);
+	}
+	
+	/**
+	 * Creates an index that is refreshed between two reloads.
+	 * @param indexName the index name used in log messages
+	 * @param reloadIntervalProperty the name of the system property to configure the reload interval
+	 * @param defaultReloadInterval the default reload interval in seconds
+	 * @param refreshInterval the refresh interval in milliseconds or <code>0</code> if the index is not refreshed
+	 * @param started the reason code to log when the index has been started
+	 * @param stopped the reason code to log when the index has been stopped
+	 * @param failed the reason code to log when a reload or refresh failed
+	 * @see #refresh()
+	 */
+	protected ReloadableIndex(String indexName,
+							  String reloadIntervalProperty,
+							  int defaultReloadInterval,
+							  long refreshInterval,
+							  Reason started,
+							  Reason stopped,
+							  Reason failed) {
+		this.indexName = indexName;
+		this.reloadInterval = SECONDS.toMillis(tryParseInt(getSystemProperty(reloadIntervalProperty), defaultReloadInterval));
+		this.refreshInterval = refreshInterval;
+		this.started = started;
+		this.stopped = stopped;
+		this.failed = failed;
+	}
+	
+	@Override
+	public void onStartup() {
+		this.run = true;
+		pool.execute(this);
+	}
+	
+	@Override
+	public void onShutdown() {
+		this.run = false;
+		LOG.info(() -> format("%s: %s stopped!",
+							  stopped.getReasonCode(),
+							  indexName));
+	}
+	
+	/**
+	 * Loads the index data structure from the inventory.
+	 * @return the loaded index data structure.
+	 */
+	protected abstract T load();
+	
+	/**
+	 * Invoked before the current index data structure is replaced by a reloaded one.
+	 * Does nothing by default.
+	 * @param current the current index data structure
+	 * @param reloaded the reloaded index data structure
+	 */
+	protected void replace(T current, T reloaded) {
+		// Nothing to do by default
+	}
+	
+	/**
+	 * Invoked after a loaded index data structure became the current index data structure.
+	 * Does nothing by default.
+	 * @param loaded the current index data structure
+	 */
+	protected void loaded(T loaded) {
+		// Nothing to do by default
+	}
+	
+	/**
+	 * Refreshes the current index data structure between two reloads.
+	 * Invoked by the background thread every refresh interval, if a refresh interval is set. 
+	 * Does nothing by default.
+	 */
+	protected void refresh() {
+		// Nothing to do by default
+	}
+	
+	/**
+	 * Applies a change to the current index data structure and
+	 * records the change to re-apply it to an index data structure being reloaded.
+	 * @param change the change
+	 */
+	protected synchronized void apply(Consumer<T> change) {
+		if(pending != null) {
+			pending.add(change);
+		}
+		if(index != null) {
+			change.accept(index);
+		}
+	}
+	
+	/**
+	 * Returns the current index data structure and loads the index data structure, if it has not been loaded yet.
+	 * @return the current index data structure.
+	 */
+	protected synchronized T index() {
+		if(index == null) {
+			// Load the index on demand, if the index is requested before the startup load completed.
+			long started = currentTimeMillis();
+			index = reloaded(load());
+			loadStarted = started;
+			loaded(index);
+		}
+		return index;
+	}
+	
+	/**
+	 * Returns the point in time when loading the current index data structure started.
+	 * All changes committed before this point in time are contained in the current index data structure.
+	 * Returns the current time if the index has not been loaded yet, 
+	 * because the first load contains all changes committed before the index is requested.
+	 * @return the point in time when loading the current index data structure started.
+	 */
+	protected synchronized Date getLoadStarted() {
+		return new Date(index != null ? loadStarted : currentTimeMillis());
+	}
+	
+	/**
+	 * Returns the current index data structure.
+	 * @return the current index data structure or <code>null</code> if the index has not been loaded yet.
+	 */
+	protected synchronized T current() {
+		return index;
+	}
+	
+	private T reloaded(T loaded) {
+		reloads.incrementAndGet();
+		return loaded;
+	}
+	
+	/**
+	 * Reloads the index data structure and replaces the current index data structure.
+	 */
+	void reload() {
+		synchronized(this) {
+			pending = new ArrayList<>();
+		}
+		try {
+			long started = currentTimeMillis();
+			T loaded = load();
+			synchronized(this) {
+				// Re-apply the changes observed while the index was loaded.
+				pending.forEach(change -> change.accept(loaded));
+				if(index != null) {
+					replace(index, loaded);
+				}
+				index = reloaded(loaded);
+				loadStarted = started;
+				loaded(index);
+			}
+		} finally {
+			synchronized(this) {
+				pending = null;
+			}
+		}
+	}
+	
+	@Override
+	public void run() {
+		LOG.info(() -> format("%s: %s started!",
+							  started.getReasonCode(),
+							  indexName));
+		long lastReload = 0;
+		while(run) {
+			try {
+				if(refreshInterval == 0 || currentTimeMillis() - lastReload >= reloadInterval) {
+					reload();
+					lastReload = currentTimeMillis();
+				} else {
+					refresh();
+				}
+			} catch (Exception e) {
+				LOG.warning(() -> format("%s: %s update failed due to %s",
+										 failed.getReasonCode(),
+										 indexName,
+										 e.getMessage()));
+			}
+			try {
+				sleep(refreshInterval > 0 ? refreshInterval : reloadInterval);
+			} catch (InterruptedException e) {
+				currentThread().interrupt();
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the number of index loads since startup.
+	 * @return the number of index loads.
+	 */
+	public long getReloads() {
+		return reloads.get();
+	}
+	
+}
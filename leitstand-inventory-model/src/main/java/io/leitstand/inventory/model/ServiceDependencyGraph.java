@@ -0,0 +1,232 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ServiceName;
+
+/**
+ * The dependencies between element services.
+ * <p>
+ * A service runs on its parent service, which may be located on another element.
+ * The graph stores the parent and the child services of every service context by the service context primary key.
+ * The service stack of a service is obtained by walking up the parents and 
+ * the services affected by an outage of a service are obtained by walking down the children.
+ * The affected services of an element are computed once and then kept until the graph is modified.
+ * <p>
+ * The graph is not thread-safe.
+ */
+final class ServiceDependencyGraph {
+
+	/**
+	 * A service context of an element service.
+	 */
+	static final class ServiceContextRef {
+		private final long pk;
+		private final ElementId elementId;
+		private final ServiceName serviceName;
+		private final Long parentPk;
+		
+		ServiceContextRef(long pk, 
+						  ElementId elementId, 
+						  ServiceName serviceName, 
+						  Long parentPk){
+			this.pk = pk;
+			this.elementId = elementId;
+			this.serviceName = serviceName;
+			this.parentPk = parentPk;
+		}
+		
+		long getPk() {
+			return pk;
+		}
+		
+		ElementId getElementId() {
+			return elementId;
+		}
+		
+		ServiceName getServiceName() {
+			return serviceName;
+		}
+		
+		Long getParentPk() {
+			return parentPk;
+		}
+	}
+	
+	private final Map<Long,ServiceContextRef> contexts = new HashMap<>();
+	private final Map<Long,Set<Long>> children = new HashMap<>();
+	private final Map<ElementId,Map<ServiceName,Long>> services = new HashMap<>();
+	private final Map<ElementId,List<Long>> impacts = new HashMap<>();
+	
+	/**
+	 * Adds a service context or replaces an existing service context.
+	 * @param context the service context
+	 */
+	void put(ServiceContextRef context) {
+		remove(context.getPk());
+		contexts.put(context.getPk(), context);
+		services.computeIfAbsent(context.getElementId(), e -> new HashMap<>())
+				.put(context.getServiceName(), context.getPk());
+		if(context.getParentPk() != null) {
+			children.computeIfAbsent(context.getParentPk(), p -> new LinkedHashSet<>())
+					.add(context.getPk());
+		}
+		impacts.clear();
+	}
+	
+	/**
+	 * Removes a service context. 
+	 * The children of the removed service context are retained, 
+	 * because the service context is typically replaced afterwards.
+	 * @param pk the service context primary key
+	 */
+	void remove(long pk) {
+		ServiceContextRef context = contexts.remove(pk);
+		if(context == null) {
+			return;
+		}
+		Map<ServiceName,Long> elementServices = services.get(context.getElementId());
+		if(elementServices != null) {
+			elementServices.remove(context.getServiceName(), pk);
+			if(elementServices.isEmpty()) {
+				services.remove(context.getElementId());
+			}
+		}
+		if(context.getParentPk() != null) {
+			Set<Long> siblings = children.get(context.getParentPk());
+			if(siblings != null) {
+				siblings.remove(pk);
+				if(siblings.isEmpty()) {
+					children.remove(context.getParentPk());
+				}
+			}
+		}
+		impacts.clear();
+	}
+	
+	/**
+	 * Removes all service contexts of the specified element.
+	 * @param elementId the element ID
+	 */
+	void removeAll(ElementId elementId) {
+		for(Long pk : new ArrayList<>(services.getOrDefault(elementId, emptyMap()).values())) {
+			remove(pk);
+		}
+	}
+	
+	/**
+	 * Returns the primary key of the service context of the specified element service
+	 * or <code>null</code> if the service is unknown.
+	 * @param elementId the element ID
+	 * @param serviceName the service name
+	 * @return the service context primary key or <code>null</code> if the service is unknown.
+	 */
+	Long get(ElementId elementId, ServiceName serviceName) {
+		return services.getOrDefault(elementId, emptyMap()).get(serviceName);
+	}
+	
+	/**
+	 * Returns the service stack of the specified service, starting with the specified service followed by its parent services.
+	 * @param pk the service context primary key
+	 * @return the service context primary keys of the service stack.
+	 */
+	List<Long> getServiceStack(long pk) {
+		List<Long> stack = new ArrayList<>();
+		Set<Long> visited = new HashSet<>();
+		ServiceContextRef context = contexts.get(pk);
+		// Stop on a circular dependency stored before circular dependencies were rejected.
+		while(context != null && visited.add(context.getPk())) {
+			stack.add(context.getPk());
+			context = context.getParentPk() != null ? contexts.get(context.getParentPk()) : null;
+		}
+		return stack;
+	}
+	
+	/**
+	 * Returns the services affected by an outage of the specified service, ordered by their distance to the specified service.
+	 * @param pk the service context primary key
+	 * @return the service context primary keys of all affected services.
+	 */
+	List<Long> getServiceImpact(long pk) {
+		if(!contexts.containsKey(pk)) {
+			return emptyList();
+		}
+		return dependents(singleton(pk));
+	}
+	
+	/**
+	 * Returns the services affected by an outage of the specified element, ordered by their distance to the element services.
+	 * @param elementId the element ID
+	 * @return the service context primary keys of all affected services or <code>null</code> if the element has no services.
+	 */
+	List<Long> getElementImpact(ElementId elementId) {
+		List<Long> impact = impacts.get(elementId);
+		if(impact == null) {
+			Map<ServiceName,Long> elementServices = services.get(elementId);
+			if(elementServices == null) {
+				return null;
+			}
+			impact = unmodifiableList(dependents(elementServices.values()));
+			impacts.put(elementId, impact);
+		}
+		return impact;
+	}
+	
+	private List<Long> dependents(Iterable<Long> failed){
+		Set<Long> visited = new LinkedHashSet<>();
+		Deque<Long> queue = new ArrayDeque<>();
+		for(Long pk : failed) {
+			if(visited.add(pk)) {
+				queue.add(pk);
+			}
+		}
+		while(!queue.isEmpty()) {
+			Long pk = queue.poll();
+			for(Long child : children.getOrDefault(pk, emptySet())) {
+				if(contexts.containsKey(child) && visited.add(child)) {
+					queue.add(child);
+				}
+			}
+		}
+		return new ArrayList<>(visited);
+	}
+	
+	/**
+	 * Returns the number of service contexts.
+	 * @return the number of service contexts.
+	 */
+	int size() {
+		return contexts.size();
+	}
+	
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.ReasonCode.IVT8150I_SERVICE_DEPENDENCY_INDEX_STARTED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8151I_SERVICE_DEPENDENCY_INDEX_STOPPED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8152E_SERVICE_DEPENDENCY_INDEX_FAILED;
+import static javax.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import io.leitstand.inventory.event.ElementRemovedEvent;
+import io.leitstand.inventory.event.ElementServiceEvent;
+import io.leitstand.inventory.model.ServiceDependencyGraph.ServiceContextRef;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ServiceInfo;
+import io.leitstand.inventory.service.ServiceName;
+
+/**
+ * Maintains the dependencies between element services in memory.
+ * <p>
+ * The index replaces the recursive SQL query over the <code>service_context</code> view to read a service stack,
+ * and allows to resolve the services affected by an outage of a service or an element (see {@link ServiceDependencyGraph}).
+ * The index only stores the service context primary keys. 
+ * The service information is read from the database in a single query by primary key.
+ * <p>
+ * The index is loaded at startup. 
+ * A committed element service event reloads the service contexts of the element.
+ * A committed element removed event removes the service contexts of the element.
+ * Element service events are only observed by the inventory instance that modified the service.
+ * The index is therefore reloaded every 60 seconds to pick up the service changes of other inventory instances.
+ * The reload interval can be changed by the <code>LEITSTAND_SERVICE_DEPENDENCY_INDEX_RELOAD_INTERVAL</code> system property (in seconds).
+ * The index is loaded on demand, if it is requested before the startup load completed.
+ */
+@ApplicationScoped
+public class ServiceDependencyIndex extends ReloadableIndex<ServiceDependencyGraph> {
+
+	@Inject
+	private ServiceDependencyIndexService service;
+	
+	protected ServiceDependencyIndex() {
+		// CDI
+		this(null);
+	}
+	
+	ServiceDependencyIndex(ServiceDependencyIndexService service){
+		super("Service dependency index",
+			  "LEITSTAND_SERVICE_DEPENDENCY_INDEX_RELOAD_INTERVAL",
+			  60,
+			  IVT8150I_SERVICE_DEPENDENCY_INDEX_STARTED,
+			  IVT8151I_SERVICE_DEPENDENCY_INDEX_STOPPED,
+			  IVT8152E_SERVICE_DEPENDENCY_INDEX_FAILED);
+		this.service = service;
+	}
+	
+	/**
+	 * Reloads the service contexts of the element of a committed element service event.
+	 * @param event the element service event
+	 */
+	public void elementServiceChanged(@Observes(during=AFTER_SUCCESS) ElementServiceEvent event) {
+		ElementId elementId = event.getElementId();
+		List<ServiceContextRef> contexts = service.loadServiceContexts(elementId);
+		apply(graph -> {
+			graph.removeAll(elementId);
+			contexts.forEach(graph::put);
+		});
+	}
+	
+	/**
+	 * Removes the service contexts of a removed element.
+	 * @param event the element removed event
+	 */
+	public void elementRemoved(@Observes(during=AFTER_SUCCESS) ElementRemovedEvent event) {
+		ElementId elementId = event.getElementId();
+		apply(graph -> graph.removeAll(elementId));
+	}
+	
+	/**
+	 * Returns the service stack of the specified element service, starting with the specified service followed by its parent services.
+	 * @param elementId the element ID
+	 * @param serviceName the service name
+	 * @return the services of the service stack or <code>null</code> if the service is unknown.
+	 */
+	List<ServiceInfo> getServiceStack(ElementId elementId, ServiceName serviceName) {
+		List<Long> pks;
+		synchronized(this) {
+			ServiceDependencyGraph graph = index();
+			Long pk = graph.get(elementId, serviceName);
+			if(pk == null) {
+				return null;
+			}
+			pks = graph.getServiceStack(pk);
+		}
+		return service.loadServices(pks);
+	}
+	
+	/**
+	 * Returns the services affected by an outage of the specified element service.
+	 * @param elementId the element ID
+	 * @param serviceName the service name
+	 * @return the affected services or <code>null</code> if the service is unknown.
+	 */
+	List<ServiceInfo> getServiceImpact(ElementId elementId, ServiceName serviceName) {
+		List<Long> pks;
+		synchronized(this) {
+			ServiceDependencyGraph graph = index();
+			Long pk = graph.get(elementId, serviceName);
+			if(pk == null) {
+				return null;
+			}
+			pks = graph.getServiceImpact(pk);
+		}
+		return service.loadServices(pks);
+	}
+	
+	/**
+	 * Returns the services affected by an outage of the specified element.
+	 * @param elementId the element ID
+	 * @return the affected services or <code>null</code> if the element has no indexed services.
+	 */
+	List<ServiceInfo> getElementImpact(ElementId elementId) {
+		List<Long> pks;
+		synchronized(this) {
+			pks = index().getElementImpact(elementId);
+		}
+		if(pks == null) {
+			return null;
+		}
+		return service.loadServices(pks);
+	}
+	
+	@Override
+	protected ServiceDependencyGraph load() {
+		ServiceDependencyGraph loaded = new ServiceDependencyGraph();
+		service.loadServiceContexts().forEach(loaded::put);
+		return loaded;
+	}
+	
+	public synchronized int getServiceContextCount() {
+		ServiceDependencyGraph graph = current();
+		return graph != null ? graph.size() : 0;
+	}
+	
+}
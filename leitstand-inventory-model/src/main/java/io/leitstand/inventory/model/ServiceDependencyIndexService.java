@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.inventory.jpa.OperationalStateConverter.toOperationalState;
+import static io.leitstand.inventory.service.ElementId.elementId;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ServiceInfo.newServiceInfo;
+import static io.leitstand.inventory.service.ServiceName.serviceName;
+import static java.lang.Math.min;
+import static java.lang.String.join;
+import static java.util.Collections.nCopies;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.commons.db.ResultSetMapping;
+import io.leitstand.commons.model.Service;
+import io.leitstand.inventory.jpa.ServiceTypeConverter;
+import io.leitstand.inventory.model.ServiceDependencyGraph.ServiceContextRef;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ServiceInfo;
+
+/**
+ * Loads the service dependencies of the {@link ServiceDependencyIndex} and 
+ * the service information of the service contexts found in the index.
+ */
+@Service
+public class ServiceDependencyIndexService {
+	
+	private static final int MAX_IN_LIST_SIZE = 1000;
+	
+	private static final ResultSetMapping<ServiceContextRef> CONTEXT = rs -> {
+		long parentPk = rs.getLong(4);
+		return new ServiceContextRef(rs.getLong(1),
+									 elementId(rs.getString(2)),
+									 serviceName(rs.getString(3)),
+									 rs.wasNull() ? null : parentPk);
+	};
+	
+	@Inject
+	@Inventory
+	private DatabaseService db;
+	
+	protected ServiceDependencyIndexService() {
+		// CDI
+	}
+	
+	protected ServiceDependencyIndexService(DatabaseService db) {
+		this.db = db;
+	}
+	
+	/**
+	 * Loads all service contexts.
+	 * @return all service contexts.
+	 */
+	public List<ServiceContextRef> loadServiceContexts(){
+		return db.executeQuery(prepare("SELECT servicecontext_id, element_uuid, service_name, parent_id "+
+									   "FROM inventory.service_context"), 
+							   CONTEXT);
+	}
+	
+	/**
+	 * Loads all service contexts of the specified element.
+	 * @param elementId the element ID
+	 * @return all service contexts of the element.
+	 */
+	public List<ServiceContextRef> loadServiceContexts(ElementId elementId){
+		return db.executeQuery(prepare("SELECT servicecontext_id, element_uuid, service_name, parent_id "+
+									   "FROM inventory.service_context "+
+									   "WHERE element_uuid=?",
+									   elementId.getValue()), 
+							   CONTEXT);
+	}
+	
+	/**
+	 * Loads the service information of the specified service contexts.
+	 * Service contexts that do not exist anymore are omitted.
+	 * @param pks the service context primary keys
+	 * @return the service information in the order of the given service context primary keys.
+	 */
+	public List<ServiceInfo> loadServices(List<Long> pks){
+		Map<Long,ServiceInfo> services = new HashMap<>();
+		for(int i=0; i < pks.size(); i+=MAX_IN_LIST_SIZE) {
+			List<Long> chunk = pks.subList(i, min(i+MAX_IN_LIST_SIZE, pks.size()));
+			db.processQuery(prepare("SELECT servicecontext_id, element_uuid, element_name, service_type, service_name, service_display_name, service_opstate "+
+									"FROM inventory.service_context "+
+									"WHERE servicecontext_id IN ("+join(",", nCopies(chunk.size(), "?"))+")",
+									new ArrayList<Object>(chunk)), 
+							rs -> services.put(rs.getLong(1),
+											   newServiceInfo()
+											   .withElementId(elementId(rs.getString(2)))
+											   .withElementName(elementName(rs.getString(3)))
+											   .withServiceType(ServiceTypeConverter.parse(rs.getString(4)))
+											   .withServiceName(serviceName(rs.getString(5)))
+											   .withDisplayName(rs.getString(6))
+											   .withOperationalState(toOperationalState(rs.getString(7)))
+											   .build()));
+		}
+		List<ServiceInfo> ordered = new ArrayList<>(services.size());
+		for(Long pk : pks) {
+			ServiceInfo service = services.get(pk);
+			if(service != null) {
+				ordered.add(service);
+			}
+		}
+		return ordered;
+	}
+
+}
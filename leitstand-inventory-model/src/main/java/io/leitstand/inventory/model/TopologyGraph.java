@@ -0,0 +1,298 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.Topology.newTopology;
+import static io.leitstand.inventory.service.TopologyLink.newTopologyLink;
+import static java.util.Arrays.fill;
+import static java.util.Collections.reverse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.leitstand.inventory.service.ElementGroupId;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementName;
+import io.leitstand.inventory.service.InterfaceName;
+import io.leitstand.inventory.service.Topology;
+import io.leitstand.inventory.service.TopologyLink;
+import io.leitstand.inventory.service.TopologyNode;
+
+/**
+ * An immutable snapshot of the network topology.
+ * <p>
+ * Elements are numbered from <code>0</code> to <code>n-1</code>.
+ * The physical links are stored as arcs in compressed sparse row format:
+ * the arcs starting at element <code>u</code> are stored at the positions <code>offsets[u]</code> (inclusive)
+ * to <code>offsets[u+1]</code> (exclusive) of the arc arrays. 
+ * Every link is stored as two arcs, one in each direction.
+ * <p>
+ * A snapshot is never modified and can be read by many threads concurrently.
+ * A snapshot is created by the {@link TopologyGraphBuilder}.
+ */
+final class TopologyGraph {
+	
+	private final TopologyNode[] nodes;
+	private final Map<ElementId,Integer> ids;
+	private final Map<ElementName,Integer> names;
+	private final Map<ElementGroupId,List<Integer>> groups;
+	private final int[] offsets;
+	private final int[] targets;
+	private final InterfaceName[] localIfps;
+	private final InterfaceName[] remoteIfps;
+	
+	TopologyGraph(TopologyNode[] nodes,
+				  Map<ElementId,Integer> ids,
+				  int[] offsets,
+				  int[] targets,
+				  InterfaceName[] localIfps,
+				  InterfaceName[] remoteIfps){
+		this.nodes = nodes;
+		this.ids = ids;
+		this.offsets = offsets;
+		this.targets = targets;
+		this.localIfps = localIfps;
+		this.remoteIfps = remoteIfps;
+		this.names = new HashMap<>(nodes.length*2);
+		this.groups = new HashMap<>();
+		for(int u=0; u < nodes.length; u++) {
+			names.put(nodes[u].getElementName(), u);
+			groups.computeIfAbsent(nodes[u].getGroupId(), g -> new ArrayList<>()).add(u);
+		}
+	}
+	
+	/**
+	 * Returns the number of elements.
+	 * @return the number of elements.
+	 */
+	int getNodeCount() {
+		return nodes.length;
+	}
+	
+	/**
+	 * Returns the number of links.
+	 * @return the number of links.
+	 */
+	int getLinkCount() {
+		return targets.length / 2;
+	}
+	
+	/**
+	 * Returns the element with the specified ID or <code>null</code> if the element is not part of the topology.
+	 * @param elementId the element ID
+	 * @return the element or <code>null</code> if the element is not part of the topology.
+	 */
+	TopologyNode getNode(ElementId elementId) {
+		Integer u = ids.get(elementId);
+		return u != null ? nodes[u] : null;
+	}
+	
+	/**
+	 * Returns the element with the specified name or <code>null</code> if the element is not part of the topology.
+	 * @param elementName the element name
+	 * @return the element or <code>null</code> if the element is not part of the topology.
+	 */
+	TopologyNode getNode(ElementName elementName) {
+		Integer u = names.get(elementName);
+		return u != null ? nodes[u] : null;
+	}
+	
+	/**
+	 * Returns all elements that can be reached from the specified element over at most <code>hops</code> links
+	 * and all links between these elements. 
+	 * The elements are ordered by their distance to the specified element.
+	 * @param elementId the element ID
+	 * @param hops the maximum number of links
+	 * @return the neighborhood or <code>null</code> if the element is not part of the topology.
+	 */
+	Topology getNeighborhood(ElementId elementId, int hops) {
+		Integer start = ids.get(elementId);
+		if(start == null) {
+			return null;
+		}
+		int[] distance = new int[nodes.length];
+		fill(distance, -1);
+		int[] queue = new int[nodes.length];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = start;
+		distance[start] = 0;
+		while(head < tail) {
+			int u = queue[head++];
+			if(distance[u] >= hops) {
+				continue;
+			}
+			for(int arc = offsets[u]; arc < offsets[u+1]; arc++) {
+				int v = targets[arc];
+				if(distance[v] < 0) {
+					distance[v] = distance[u]+1;
+					queue[tail++] = v;
+				}
+			}
+		}
+		
+		List<TopologyNode> neighbors = new ArrayList<>(tail);
+		List<TopologyLink> links = new ArrayList<>();
+		for(int i=0; i < tail; i++) {
+			int u = queue[i];
+			neighbors.add(nodes[u]);
+			for(int arc = offsets[u]; arc < offsets[u+1]; arc++) {
+				if(distance[targets[arc]] >= 0 && isForwardArc(u, arc)) {
+					links.add(link(u,arc));
+				}
+			}
+		}
+		return newTopology()
+			   .withNodes(neighbors)
+			   .withLinks(links)
+			   .build();
+	}
+	
+	/**
+	 * Returns a shortest path between two elements.
+	 * The elements and links are ordered along the path.
+	 * @param from the ID of the first element
+	 * @param to the ID of the last element
+	 * @return a shortest path, an empty topology if no path exists, 
+	 * 		   or <code>null</code> if one of the elements is not part of the topology.
+	 */
+	Topology getShortestPath(ElementId from, ElementId to) {
+		Integer start = ids.get(from);
+		Integer end = ids.get(to);
+		if(start == null || end == null) {
+			return null;
+		}
+		// Parent arc of every visited element. -1 marks unvisited elements, -2 marks the start element.
+		int[] parents = new int[nodes.length];
+		fill(parents, -1);
+		int[] queue = new int[nodes.length];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = start;
+		parents[start] = -2;
+		while(head < tail && parents[end] == -1) {
+			int u = queue[head++];
+			for(int arc = offsets[u]; arc < offsets[u+1]; arc++) {
+				int v = targets[arc];
+				if(parents[v] == -1) {
+					parents[v] = arc;
+					queue[tail++] = v;
+				}
+			}
+		}
+		if(parents[end] == -1) {
+			return newTopology().build();
+		}
+		
+		List<TopologyNode> path = new ArrayList<>();
+		List<TopologyLink> links = new ArrayList<>();
+		int v = end;
+		path.add(nodes[v]);
+		while(parents[v] != -2) {
+			int arc = parents[v];
+			int u = source(arc);
+			links.add(link(u,arc));
+			path.add(nodes[u]);
+			v = u;
+		}
+		reverse(path);
+		reverse(links);
+		return newTopology()
+			   .withNodes(path)
+			   .withLinks(links)
+			   .build();
+	}
+	
+	/**
+	 * Returns all elements of the specified group, all links of these elements and 
+	 * all elements of other groups connected to an element of the specified group.
+	 * @param groupId the group ID
+	 * @return the group topology, which is empty if no element of the group is part of the topology.
+	 */
+	Topology getGroupTopology(ElementGroupId groupId) {
+		List<Integer> members = groups.get(groupId);
+		if(members == null) {
+			return newTopology().build();
+		}
+		List<TopologyNode> groupNodes = new ArrayList<>();
+		List<TopologyNode> neighbors = new ArrayList<>();
+		List<TopologyLink> links = new ArrayList<>();
+		boolean[] visited = new boolean[nodes.length];
+		for(int u : members) {
+			visited[u] = true;
+			groupNodes.add(nodes[u]);
+		}
+		for(int u : members) {
+			for(int arc = offsets[u]; arc < offsets[u+1]; arc++) {
+				int v = targets[arc];
+				if(!groupId.equals(nodes[v].getGroupId())) {
+					links.add(link(u,arc));
+					if(!visited[v]) {
+						visited[v] = true;
+						neighbors.add(nodes[v]);
+					}
+				} else if (isForwardArc(u, arc)) {
+					links.add(link(u,arc));
+				}
+			}
+		}
+		groupNodes.addAll(neighbors);
+		return newTopology()
+			   .withNodes(groupNodes)
+			   .withLinks(links)
+			   .build();
+	}
+	
+	/**
+	 * Returns whether the arc is the forward arc of a link, 
+	 * i.e. whether the link shall be reported by the source element of the arc.
+	 */
+	private boolean isForwardArc(int u, int arc) {
+		int v = targets[arc];
+		if(u != v) {
+			return u < v;
+		}
+		// Loop
+		return localIfps[arc].getValue().compareTo(remoteIfps[arc].getValue()) <= 0;
+	}
+	
+	private int source(int arc) {
+		// Binary search for the element owning the arc.
+		int low = 0;
+		int high = nodes.length-1;
+		while(low < high) {
+			int mid = (low+high+1) >>> 1;
+			if(offsets[mid] <= arc) {
+				low = mid;
+			} else {
+				high = mid-1;
+			}
+		}
+		return low;
+	}
+	
+	private TopologyLink link(int u, int arc) {
+		return newTopologyLink()
+			   .withElementId(nodes[u].getElementId())
+			   .withIfpName(localIfps[arc])
+			   .withNeighborElementId(nodes[targets[arc]].getElementId())
+			   .withNeighborIfpName(remoteIfps[arc])
+			   .build();
+	}
+	
+}
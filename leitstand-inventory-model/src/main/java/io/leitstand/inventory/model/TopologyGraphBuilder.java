@@ -0,0 +1,225 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.TopologyLink.newTopologyLink;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.InterfaceName;
+import io.leitstand.inventory.service.TopologyLink;
+import io.leitstand.inventory.service.TopologyNode;
+
+/**
+ * Collects the elements and physical links of the network topology and creates an immutable {@link TopologyGraph} snapshot.
+ * <p>
+ * A link is keyed by the local element and the local physical interface name, 
+ * i.e. the builder holds at most one link per physical interface like the <code>element_ifp</code> table.
+ * The builder is not thread-safe.
+ */
+final class TopologyGraphBuilder {
+	
+	static final class LinkKey {
+		private final ElementId elementId;
+		private final InterfaceName ifpName;
+		
+		LinkKey(ElementId elementId, InterfaceName ifpName){
+			this.elementId = elementId;
+			this.ifpName = ifpName;
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if(o == this) {
+				return true;
+			}
+			if(!(o instanceof LinkKey)) {
+				return false;
+			}
+			LinkKey key = (LinkKey) o;
+			return elementId.equals(key.elementId) && ifpName.equals(key.ifpName);
+		}
+		
+		@Override
+		public int hashCode() {
+			return Objects.hash(elementId,ifpName);
+		}
+	}
+	
+	private final Map<ElementId,TopologyNode> nodes = new LinkedHashMap<>();
+	private final Map<LinkKey,TopologyLink> links = new LinkedHashMap<>();
+	
+	/**
+	 * Adds an element or replaces the element attributes.
+	 * @param node the element
+	 * @return a reference to this builder
+	 */
+	TopologyGraphBuilder putNode(TopologyNode node) {
+		nodes.put(node.getElementId(), node);
+		return this;
+	}
+	
+	/**
+	 * Adds a link or replaces the existing link of the local physical interface.
+	 * @param link the physical link
+	 * @return a reference to this builder
+	 */
+	TopologyGraphBuilder putLink(TopologyLink link) {
+		links.put(new LinkKey(link.getElementId(), link.getIfpName()), link);
+		return this;
+	}
+	
+	/**
+	 * Adds a link or replaces the existing link of the local physical interface.
+	 * @param elementId the local element ID
+	 * @param ifpName the local physical interface name
+	 * @param neighborId the neighbor element ID
+	 * @param neighborIfpName the neighbor physical interface name
+	 * @return a reference to this builder
+	 */
+	TopologyGraphBuilder putLink(ElementId elementId, 
+								 InterfaceName ifpName, 
+								 ElementId neighborId, 
+								 InterfaceName neighborIfpName) {
+		return putLink(newTopologyLink()
+					   .withElementId(elementId)
+					   .withIfpName(ifpName)
+					   .withNeighborElementId(neighborId)
+					   .withNeighborIfpName(neighborIfpName)
+					   .build());
+	}
+	
+	/**
+	 * Replaces the specified elements and all their links.
+	 * <p>
+	 * Removes the specified elements and all links starting or ending at one of the specified elements.
+	 * Adds the given elements and links afterwards.
+	 * A specified element that is not contained in the given elements does not exist anymore.
+	 * @param elementIds the IDs of the refreshed elements
+	 * @param refreshedNodes the refreshed elements and their neighbors
+	 * @param refreshedLinks all links starting or ending at one of the refreshed elements
+	 * @return a reference to this builder
+	 */
+	TopologyGraphBuilder refresh(Set<ElementId> elementIds, 
+								 List<TopologyNode> refreshedNodes, 
+								 List<TopologyLink> refreshedLinks) {
+		nodes.keySet().removeAll(elementIds);
+		Iterator<TopologyLink> i = links.values().iterator();
+		while(i.hasNext()) {
+			TopologyLink link = i.next();
+			if(elementIds.contains(link.getElementId()) || elementIds.contains(link.getNeighborElementId())) {
+				i.remove();
+			}
+		}
+		refreshedNodes.forEach(this::putNode);
+		refreshedLinks.forEach(this::putLink);
+		return this;
+	}
+	
+	int getNodeCount() {
+		return nodes.size();
+	}
+	
+	int getLinkCount() {
+		return links.size();
+	}
+	
+	/**
+	 * Creates an immutable snapshot of the collected topology.
+	 * <p>
+	 * Every link is converted into two arcs, one in each direction. 
+	 * If both elements have recorded the link, each element contributes the arc starting at the element.
+	 * Links to unknown elements are ignored.
+	 * @return the topology graph snapshot
+	 */
+	TopologyGraph build() {
+		int n = nodes.size();
+		TopologyNode[] vertices = nodes.values().toArray(new TopologyNode[n]);
+		Map<ElementId,Integer> vertexIds = new HashMap<>(n*2);
+		for(int v=0; v < n; v++) {
+			vertexIds.put(vertices[v].getElementId(),v);
+		}
+		
+		// First pass: count the arcs of each vertex, second pass: fill the arc arrays.
+		int[] offsets = new int[n+1];
+		int m = arcs(vertexIds, offsets, null, null, null);
+		for(int v=0; v < n; v++) {
+			offsets[v+1] += offsets[v];
+		}
+		int[] targets = new int[m];
+		InterfaceName[] localIfps = new InterfaceName[m];
+		InterfaceName[] remoteIfps = new InterfaceName[m];
+		int[] next = new int[n];
+		System.arraycopy(offsets, 0, next, 0, n);
+		arcs(vertexIds, next, targets, localIfps, remoteIfps);
+		return new TopologyGraph(vertices, vertexIds, offsets, targets, localIfps, remoteIfps);
+	}
+	
+	private int arcs(Map<ElementId,Integer> vertexIds, 
+					 int[] positions,
+					 int[] targets, 
+					 InterfaceName[] localIfps, 
+					 InterfaceName[] remoteIfps) {
+		boolean count = targets == null;
+		int m = 0;
+		for(TopologyLink link : links.values()) {
+			Integer u = vertexIds.get(link.getElementId());
+			Integer v = vertexIds.get(link.getNeighborElementId());
+			if(u == null || v == null) {
+				continue;
+			}
+			m += arc(count, positions, targets, localIfps, remoteIfps, u, v, link.getIfpName(), link.getNeighborIfpName());
+			TopologyLink reverse = links.get(new LinkKey(link.getNeighborElementId(), link.getNeighborIfpName()));
+			if(reverse != null 
+			   && reverse.getNeighborElementId().equals(link.getElementId()) 
+			   && reverse.getNeighborIfpName().equals(link.getIfpName())) {
+				// The reverse link contributes the reverse arc.
+				continue;
+			}
+			m += arc(count, positions, targets, localIfps, remoteIfps, v, u, link.getNeighborIfpName(), link.getIfpName());
+		}
+		return m;
+	}
+
+	private static int arc(boolean count,
+						   int[] positions, 
+						   int[] targets, 
+						   InterfaceName[] localIfps, 
+						   InterfaceName[] remoteIfps, 
+						   int u, 
+						   int v, 
+						   InterfaceName localIfp, 
+						   InterfaceName remoteIfp) {
+		if(count) {
+			// Offsets are shifted by one to compute the prefix sums in place.
+			positions[u+1]++;
+			return 1;
+		}
+		int arc = positions[u]++;
+		targets[arc] = v;
+		localIfps[arc] = localIfp;
+		remoteIfps[arc] = remoteIfp;
+		return 1;
+	}
+	
+}
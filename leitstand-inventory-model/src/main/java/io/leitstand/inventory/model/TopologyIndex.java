@@ -0,0 +1,221 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.ReasonCode.IVT8140I_TOPOLOGY_INDEX_STARTED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8141I_TOPOLOGY_INDEX_STOPPED;
+import static io.leitstand.inventory.service.ReasonCode.IVT8142E_TOPOLOGY_INDEX_FAILED;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static javax.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import io.leitstand.inventory.event.ElementMovedEvent;
+import io.leitstand.inventory.event.ElementPhysicalInterfaceEvent;
+import io.leitstand.inventory.event.ElementRemovedEvent;
+import io.leitstand.inventory.event.ElementRenamedEvent;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.TopologyLink;
+import io.leitstand.inventory.service.TopologyNode;
+
+/**
+ * Maintains an in-memory snapshot of the network topology.
+ * <p>
+ * The index loads all elements and physical links at startup and publishes an immutable {@link TopologyGraph} snapshot.
+ * Readers always query the latest published snapshot without locking.
+ * <p>
+ * Committed physical interface events and element removed, renamed and moved events only mark the affected element as modified.
+ * A single background thread refreshes the modified elements and their links every second and publishes a new snapshot.
+ * Bulk updates of many elements are thereby folded into a single refresh.
+ * A full reload replaces a refresh if more than 1000 elements were modified.
+ * <p>
+ * Events are only observed by the inventory instance that modified the element.
+ * The index is therefore reloaded every 300 seconds to pick up the changes of other inventory instances (see {@link ReloadableIndex}).
+ * The reload interval can be changed by the <code>LEITSTAND_TOPOLOGY_RELOAD_INTERVAL</code> system property (in seconds).
+ * The index is loaded on demand, if it is requested before the startup load completed.
+ */
+@ApplicationScoped
+public class TopologyIndex extends ReloadableIndex<TopologyGraphBuilder> {
+
+	private static final long REFRESH_INTERVAL = SECONDS.toMillis(1);
+	private static final int MAX_REFRESH_SIZE = 1000;
+	
+	@Inject
+	private TopologyIndexService service;
+	
+	private final Set<ElementId> modified = ConcurrentHashMap.newKeySet();
+	private final AtomicLong refreshes = new AtomicLong();
+	private volatile TopologyGraph graph;
+	
+	protected TopologyIndex() {
+		// CDI
+		this(null);
+	}
+	
+	TopologyIndex(TopologyIndexService service){
+		super("Topology index",
+			  "LEITSTAND_TOPOLOGY_RELOAD_INTERVAL",
+			  300,
+			  REFRESH_INTERVAL,
+			  IVT8140I_TOPOLOGY_INDEX_STARTED,
+			  IVT8141I_TOPOLOGY_INDEX_STOPPED,
+			  IVT8142E_TOPOLOGY_INDEX_FAILED);
+		this.service = service;
+	}
+	
+	/**
+	 * Marks the element of a committed physical interface event as modified.
+	 * @param event the physical interface event
+	 */
+	public void physicalInterfaceChanged(@Observes(during=AFTER_SUCCESS) ElementPhysicalInterfaceEvent event) {
+		modified.add(event.getElementId());
+	}
+	
+	/**
+	 * Marks a removed element as modified.
+	 * @param event the element removed event
+	 */
+	public void elementRemoved(@Observes(during=AFTER_SUCCESS) ElementRemovedEvent event) {
+		modified.add(event.getElementId());
+	}
+	
+	/**
+	 * Marks a renamed element as modified.
+	 * @param event the element renamed event
+	 */
+	public void elementRenamed(@Observes(during=AFTER_SUCCESS) ElementRenamedEvent event) {
+		modified.add(event.getElementId());
+	}
+	
+	/**
+	 * Marks a moved element as modified.
+	 * @param event the element moved event
+	 */
+	public void elementMoved(@Observes(during=AFTER_SUCCESS) ElementMovedEvent event) {
+		modified.add(event.getElementId());
+	}
+	
+	/**
+	 * Returns the latest topology snapshot.
+	 * @return the latest topology snapshot.
+	 */
+	TopologyGraph getGraph() {
+		TopologyGraph snapshot = graph;
+		if(snapshot == null) {
+			// Load the index on demand, if the index is requested before the startup load completed.
+			index();
+			snapshot = graph;
+		}
+		return snapshot;
+	}
+	
+	/**
+	 * Loads all elements and links.
+	 * @return the topology builder with all elements and links.
+	 */
+	@Override
+	protected TopologyGraphBuilder load() {
+		// Modifications observed while the topology is loaded remain marked and are refreshed afterwards.
+		modified.clear();
+		TopologyGraphBuilder loaded = new TopologyGraphBuilder();
+		service.loadNodes().forEach(loaded::putNode);
+		service.loadLinks().forEach(loaded::putLink);
+		return loaded;
+	}
+	
+	/**
+	 * Publishes the snapshot of a loaded topology.
+	 * @param loaded the loaded topology builder
+	 */
+	@Override
+	protected void loaded(TopologyGraphBuilder loaded) {
+		graph = loaded.build();
+	}
+	
+	/**
+	 * Refreshes all modified elements and publishes a new snapshot, if at least one element was modified.
+	 */
+	@Override
+	protected synchronized void refresh() {
+		TopologyGraphBuilder builder = current();
+		if(builder == null) {
+			index();
+			return;
+		}
+		Set<ElementId> elementIds = drainModified();
+		if(elementIds.isEmpty()) {
+			return;
+		}
+		if(elementIds.size() > MAX_REFRESH_SIZE) {
+			reload();
+			return;
+		}
+		try {
+			List<TopologyLink> links = service.loadLinks(elementIds);
+			Set<ElementId> nodeIds = new HashSet<>(elementIds);
+			for(TopologyLink link : links) {
+				nodeIds.add(link.getElementId());
+				nodeIds.add(link.getNeighborElementId());
+			}
+			List<TopologyNode> nodes = service.loadNodes(nodeIds);
+			builder.refresh(elementIds, nodes, links);
+			graph = builder.build();
+			refreshes.incrementAndGet();
+		} catch (RuntimeException e) {
+			// Retry with the next refresh.
+			modified.addAll(elementIds);
+			throw e;
+		}
+	}
+	
+	private Set<ElementId> drainModified(){
+		Set<ElementId> elementIds = new HashSet<>();
+		Iterator<ElementId> i = modified.iterator();
+		while(i.hasNext()) {
+			elementIds.add(i.next());
+			i.remove();
+		}
+		return elementIds;
+	}
+	
+	public long getRefreshes() {
+		return refreshes.get();
+	}
+	
+	public int getModifiedElementCount() {
+		return modified.size();
+	}
+	
+	public int getNodeCount() {
+		TopologyGraph snapshot = graph;
+		return snapshot != null ? snapshot.getNodeCount() : 0;
+	}
+	
+	public int getLinkCount() {
+		TopologyGraph snapshot = graph;
+		return snapshot != null ? snapshot.getLinkCount() : 0;
+	}
+	
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.inventory.service.ElementGroupId.groupId;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementGroupType.groupType;
+import static io.leitstand.inventory.service.ElementId.elementId;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.TopologyLink.newTopologyLink;
+import static io.leitstand.inventory.service.TopologyNode.newTopologyNode;
+import static java.lang.String.join;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.nCopies;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.inject.Inject;
+
+import io.leitstand.commons.db.DatabaseService;
+import io.leitstand.commons.db.ResultSetMapping;
+import io.leitstand.commons.model.Service;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.TopologyLink;
+import io.leitstand.inventory.service.TopologyNode;
+
+/**
+ * Loads the elements and physical links of the {@link TopologyIndex}.
+ * <p>
+ * A physical link is only loaded if the neighbor physical interface exists, 
+ * consistent with the element links reported by the {@link ElementLinksManager}.
+ */
+@Service
+public class TopologyIndexService {
+	
+	private static final String SELECT_NODES = "SELECT e.uuid, e.name, r.name, g.uuid, g.type, g.name "+
+											   "FROM inventory.element e "+
+											   "JOIN inventory.elementrole r "+
+											   "ON e.elementrole_id = r.id "+
+											   "JOIN inventory.elementgroup g "+
+											   "ON e.elementgroup_id = g.id ";
+	
+	private static final String SELECT_LINKS = "SELECT local_element.uuid, local_ifp.name, neighbor_element.uuid, neighbor_ifp.name "+
+											   "FROM inventory.element_ifp local_ifp "+
+											   "JOIN inventory.element_ifp neighbor_ifp "+
+											   "ON local_ifp.neighbor_element_id = neighbor_ifp.element_id "+
+											   "AND local_ifp.neighbor_element_ifp_name = neighbor_ifp.name "+
+											   "JOIN inventory.element local_element "+
+											   "ON local_ifp.element_id = local_element.id "+
+											   "JOIN inventory.element neighbor_element "+
+											   "ON neighbor_ifp.element_id = neighbor_element.id ";
+	
+	private static final ResultSetMapping<TopologyNode> NODE = rs -> newTopologyNode()
+																	 .withElementId(elementId(rs.getString(1)))
+																	 .withElementName(elementName(rs.getString(2)))
+																	 .withElementRole(elementRoleName(rs.getString(3)))
+																	 .withGroupId(groupId(rs.getString(4)))
+																	 .withGroupType(groupType(rs.getString(5)))
+																	 .withGroupName(groupName(rs.getString(6)))
+																	 .build();
+	
+	private static final ResultSetMapping<TopologyLink> LINK = rs -> newTopologyLink()
+																	 .withElementId(elementId(rs.getString(1)))
+																	 .withIfpName(interfaceName(rs.getString(2)))
+																	 .withNeighborElementId(elementId(rs.getString(3)))
+																	 .withNeighborIfpName(interfaceName(rs.getString(4)))
+																	 .build();
+	
+	@Inject
+	@Inventory
+	private DatabaseService db;
+	
+	protected TopologyIndexService() {
+		// CDI
+	}
+	
+	protected TopologyIndexService(DatabaseService db) {
+		this.db = db;
+	}
+	
+	/**
+	 * Loads all elements.
+	 * @return all elements.
+	 */
+	public List<TopologyNode> loadNodes(){
+		return db.executeQuery(prepare(SELECT_NODES), NODE);
+	}
+	
+	/**
+	 * Loads all physical links.
+	 * @return all physical links.
+	 */
+	public List<TopologyLink> loadLinks(){
+		return db.executeQuery(prepare(SELECT_LINKS), LINK);
+	}
+	
+	/**
+	 * Loads the specified elements. 
+	 * Elements that do not exist anymore are omitted.
+	 * @param elementIds the element IDs
+	 * @return the existing elements.
+	 */
+	public List<TopologyNode> loadNodes(Collection<ElementId> elementIds){
+		if(elementIds.isEmpty()) {
+			return emptyList();
+		}
+		return db.executeQuery(prepare(SELECT_NODES+
+									   "WHERE e.uuid IN ("+placeholders(elementIds)+")", 
+									   values(elementIds)), 
+							   NODE);
+	}
+	
+	/**
+	 * Loads all physical links starting or ending at one of the specified elements.
+	 * @param elementIds the element IDs
+	 * @return the physical links of the specified elements.
+	 */
+	public List<TopologyLink> loadLinks(Collection<ElementId> elementIds){
+		if(elementIds.isEmpty()) {
+			return emptyList();
+		}
+		String placeholders = placeholders(elementIds);
+		List<Object> args = values(elementIds);
+		args.addAll(values(elementIds));
+		return db.executeQuery(prepare(SELECT_LINKS+
+									   "WHERE local_element.uuid IN ("+placeholders+") "+
+									   "OR neighbor_element.uuid IN ("+placeholders+")", 
+									   args), 
+							   LINK);
+	}
+	
+	private static String placeholders(Collection<ElementId> elementIds) {
+		return join(",", nCopies(elementIds.size(), "?"));
+	}
+	
+	private static List<Object> values(Collection<ElementId> elementIds){
+		List<Object> values = new ArrayList<>(elementIds.size()*2);
+		for(ElementId elementId : elementIds) {
+			values.add(elementId.getValue());
+		}
+		return values;
+	}
+	
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.rs;
+
+import static java.lang.Long.parseLong;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+
+/**
+ * A single byte range of a HTTP range request.
+ * <p>
+ * Only single byte ranges are supported. 
+ * Multiple byte ranges and malformed range headers are ignored, which means that the entire content is sent.
+ */
+final class ByteRange {
+
+	private static final String BYTES_UNIT = "bytes=";
+	
+	/**
+	 * Parses the specified <code>Range</code> header.
+	 * @param header the <code>Range</code> header value
+	 * @param contentLength the content length in bytes
+	 * @return the requested byte range or <code>null</code> if the range header shall be ignored.
+	 */
+	static ByteRange byteRange(String header, long contentLength) {
+		if(header == null || !header.startsWith(BYTES_UNIT) || header.indexOf(',') >= 0) {
+			return null;
+		}
+		String range = header.substring(BYTES_UNIT.length()).trim();
+		int dash = range.indexOf('-');
+		if(dash < 0) {
+			return null;
+		}
+		try {
+			if(dash == 0) {
+				// Suffix range, i.e. the last n bytes.
+				long suffix = parseLong(range.substring(1));
+				if(suffix <= 0 || contentLength == 0) {
+					return new ByteRange(-1, -1, contentLength);
+				}
+				return new ByteRange(max(0, contentLength - suffix), contentLength - 1, contentLength);
+			}
+			long first = parseLong(range.substring(0, dash));
+			long last = dash == range.length() - 1 ? Long.MAX_VALUE : parseLong(range.substring(dash + 1));
+			if(first < 0 || last < first) {
+				return null;
+			}
+			if(first >= contentLength) {
+				return new ByteRange(-1, -1, contentLength);
+			}
+			return new ByteRange(first, min(last, contentLength - 1), contentLength);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+	
+	private final long first;
+	private final long last;
+	private final long contentLength;
+	
+	private ByteRange(long first, long last, long contentLength) {
+		this.first = first;
+		this.last = last;
+		this.contentLength = contentLength;
+	}
+	
+	boolean isSatisfiable() {
+		return first >= 0;
+	}
+	
+	long getFirst() {
+		return first;
+	}
+	
+	long getLast() {
+		return last;
+	}
+	
+	long getLength() {
+		return last - first + 1;
+	}
+	
+	/**
+	 * Returns the <code>Content-Range</code> header value for this range.
+	 * @return the <code>Content-Range</code> header value.
+	 */
+	String getContentRange() {
+		if(isSatisfiable()) {
+			return format("bytes %d-%d/%d", first, last, contentLength);
+		}
+		return format("bytes */%d", contentLength);
+	}
+	
+}
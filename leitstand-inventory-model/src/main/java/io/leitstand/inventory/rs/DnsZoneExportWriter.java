@@ -0,0 +1,251 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.rs;
+
+import static javax.json.bind.JsonbBuilder.create;
+import static javax.json.bind.config.PropertyNamingStrategy.LOWER_CASE_WITH_UNDERSCORES;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbConfig;
+
+import io.leitstand.commons.jsonb.FieldAccessVisibilityStrategy;
+import io.leitstand.inventory.service.DnsRecord;
+import io.leitstand.inventory.service.DnsRecordSet;
+import io.leitstand.inventory.service.DnsZoneElement;
+import io.leitstand.inventory.service.DnsZoneSettings;
+
+/**
+ * Writes a DNS zone export element by element.
+ * <p>
+ * The JSON format produces the same document as the serialization of {@link io.leitstand.inventory.service.DnsZoneElements},
+ * but does not require all zone elements to be loaded before the document is written.
+ * The zone file format produces a RFC 1035 master file with absolute owner names.
+ * Disabled DNS records are written as comments.
+ */
+abstract class DnsZoneExportWriter implements AutoCloseable {
+
+	private static final JsonbConfig EXPORT = new JsonbConfig()
+											  .withPropertyVisibilityStrategy(new FieldAccessVisibilityStrategy())
+											  .withPropertyNamingStrategy(LOWER_CASE_WITH_UNDERSCORES)
+											  .withDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", null);
+	
+	/**
+	 * Supported export formats.
+	 */
+	enum ExportFormat {
+		JSON("application/json","json"),
+		ZONE("text/dns","zone");
+		
+		public static ExportFormat fromString(String format) {
+			return valueOf(format.toUpperCase());
+		}
+		
+		private final String contentType;
+		private final String fileExtension;
+		
+		private ExportFormat(String contentType, String fileExtension) {
+			this.contentType = contentType;
+			this.fileExtension = fileExtension;
+		}
+		
+		String getContentType() {
+			return contentType;
+		}
+		
+		String getFileExtension() {
+			return fileExtension;
+		}
+	}
+	
+	/**
+	 * Creates an export writer for the given format.
+	 * @param format the export format
+	 * @param writer the writer to write the export to
+	 * @return the export writer
+	 */
+	static DnsZoneExportWriter exportWriter(ExportFormat format, Writer writer) {
+		if(format == ExportFormat.ZONE) {
+			return new ZoneFileExportWriter(writer);
+		}
+		return new JsonExportWriter(writer);
+	}
+	
+	protected final Writer writer;
+	
+	protected DnsZoneExportWriter(Writer writer) {
+		this.writer = writer;
+	}
+	
+	/**
+	 * Starts the export document.
+	 * @param zone the DNS zone settings
+	 */
+	void beginExport(DnsZoneSettings zone) {
+		try {
+			writeZone(zone);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Writes the next DNS zone element.
+	 * @param element the DNS zone element
+	 */
+	void writeElement(DnsZoneElement element) {
+		try {
+			writeZoneElement(element);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Completes the export document.
+	 */
+	void endExport() {
+		try {
+			endZone();
+			writer.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	protected abstract void writeZone(DnsZoneSettings zone) throws IOException;
+
+	protected abstract void writeZoneElement(DnsZoneElement element) throws IOException;
+	
+	protected abstract void endZone() throws IOException;
+	
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+	
+	private static final class JsonExportWriter extends DnsZoneExportWriter {
+		
+		private final Jsonb jsonb;
+		private int elements;
+		
+		JsonExportWriter(Writer writer) {
+			super(writer);
+			this.jsonb = create(EXPORT);
+		}
+		
+		@Override
+		protected void writeZone(DnsZoneSettings zone) throws IOException {
+			// The zone elements are appended to the serialized zone settings.
+			String settings = jsonb.toJson(zone);
+			writer.write(settings, 0, settings.lastIndexOf('}'));
+			writer.write(",\"dns_entries\":[");
+		}
+		
+		@Override
+		protected void writeZoneElement(DnsZoneElement element) throws IOException {
+			if(elements++ > 0) {
+				writer.write(',');
+			}
+			writer.write(jsonb.toJson(element));
+		}
+		
+		@Override
+		protected void endZone() throws IOException {
+			writer.write("]}");
+		}
+		
+		@Override
+		public void close() throws IOException {
+			try {
+				jsonb.close();
+			} catch (Exception e) {
+				throw new IOException(e);
+			} finally {
+				super.close();
+			}
+		}
+	}
+	
+	private static final class ZoneFileExportWriter extends DnsZoneExportWriter {
+		
+		ZoneFileExportWriter(Writer writer) {
+			super(writer);
+		}
+		
+		@Override
+		protected void writeZone(DnsZoneSettings zone) throws IOException {
+			writeComment("DNS zone "+zone.getDnsZoneName()+" ("+zone.getDnsZoneId()+")");
+			writeComment(zone.getDescription());
+			writer.write("$ORIGIN ");
+			writer.write(absolute(zone.getDnsZoneName().getValue()));
+			writer.write('\n');
+		}
+		
+		@Override
+		protected void writeZoneElement(DnsZoneElement element) throws IOException {
+			writer.write('\n');
+			writeComment(element.getElementRole()+" "+element.getElementName()+" ("+element.getElementId()+")");
+			for(DnsRecordSet set : element.getDnsRecordSets()) {
+				writeComment(set.getDescription());
+				String owner = absolute(set.getDnsName().getValue());
+				for(DnsRecord record : set.getDnsRecords()) {
+					if(record.isDisabled()) {
+						writer.write("; ");
+					}
+					writer.write(owner);
+					writer.write(' ');
+					writer.write(Integer.toString(set.getDnsTtl()));
+					writer.write(" IN ");
+					writer.write(set.getDnsType().getValue());
+					writer.write(' ');
+					writer.write(rdata(set, record));
+					writer.write('\n');
+				}
+			}
+		}
+		
+		@Override
+		protected void endZone() throws IOException {
+			// Nothing to complete
+		}
+		
+		private void writeComment(String comment) throws IOException {
+			if(comment == null || comment.isEmpty()) {
+				return;
+			}
+			writer.write("; ");
+			writer.write(comment.replaceAll("[\r\n]+", " "));
+			writer.write('\n');
+		}
+		
+		private static String absolute(String name) {
+			return name.endsWith(".") ? name : name+".";
+		}
+		
+		private static String rdata(DnsRecordSet set, DnsRecord record) {
+			String value = record.getDnsRecordValue();
+			if("TXT".equalsIgnoreCase(set.getDnsType().getValue()) && !value.startsWith("\"")) {
+				// TXT record values are character strings that must be quoted if not already quoted.
+				return "\""+value.replace("\\", "\\\\").replace("\"", "\\\"")+"\"";
+			}
+			return value;
+		}
+	}
+}
@@ -20,12 +20,18 @@ import static io.leitstand.commons.model.Patterns.UUID_PATTERN;
 import static io.leitstand.commons.rs.ReasonCode.VAL0003E_IMMUTABLE_ATTRIBUTE;
 import static io.leitstand.commons.rs.Responses.created;
 import static io.leitstand.commons.rs.Responses.success;
+import static io.leitstand.inventory.rs.DnsZoneExportWriter.exportWriter;
 import static io.leitstand.inventory.rs.Scopes.IVT;
 import static io.leitstand.inventory.rs.Scopes.IVT_ELEMENT;
 import static io.leitstand.inventory.rs.Scopes.IVT_ELEMENT_DNS;
 import static io.leitstand.inventory.rs.Scopes.IVT_READ;
+import static io.leitstand.inventory.service.ReasonCode.IVT0955E_DNS_ZONE_EXPORT_FORMAT_INVALID;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static javax.ws.rs.core.Response.ok;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
 import java.util.List;
 
 import javax.inject.Inject;
@@ -41,15 +47,19 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import io.leitstand.commons.UnprocessableEntityException;
 import io.leitstand.commons.messages.Messages;
 import io.leitstand.commons.rs.Resource;
+import io.leitstand.inventory.rs.DnsZoneExportWriter.ExportFormat;
+import io.leitstand.inventory.service.DnsZoneElement;
 import io.leitstand.inventory.service.DnsZoneElements;
 import io.leitstand.inventory.service.DnsZoneId;
 import io.leitstand.inventory.service.DnsZoneName;
 import io.leitstand.inventory.service.DnsZoneService;
 import io.leitstand.inventory.service.DnsZoneSettings;
+import io.leitstand.inventory.service.ElementDnsRecordSetService;
 import io.leitstand.security.auth.Scopes;
 
 @Resource
@@ -65,6 +75,9 @@ public class DnsZoneResource {
 	@Inject
 	private DnsZoneService service;
 	
+	@Inject
+	private ElementDnsRecordSetService recordSets;
+	
 	
 	@GET
 	@Scopes({IVT_READ, IVT, IVT_ELEMENT,IVT_ELEMENT_DNS})
@@ -101,6 +114,95 @@ public class DnsZoneResource {
 		return service.getDnsZoneElements(zoneName);
 	}
 	
+	/**
+	 * Streams all DNS record sets of a DNS zone.
+	 * The export is written while the record sets are read from the database.
+	 * @param zoneId the DNS zone ID
+	 * @param format the export format, which is either <code>json</code> (default) or <code>zone</code> for a RFC 1035 zone file
+	 * @return the streamed export
+	 */
+	@GET
+	@Scopes({IVT_READ, IVT, IVT_ELEMENT,IVT_ELEMENT_DNS})
+	@Path("/zones/{zone:"+UUID_PATTERN+"}/export")
+	@Produces({APPLICATION_JSON,"text/dns"})
+	public Response exportDnsZone(@Valid @PathParam("zone") DnsZoneId zoneId,
+								  @QueryParam("format") @DefaultValue("json") String format){
+		return export(service.getDnsZoneSettings(zoneId), parseExportFormat(format));
+	}
+	
+	/**
+	 * Streams all DNS record sets of a DNS zone.
+	 * The export is written while the record sets are read from the database.
+	 * @param zoneName the DNS zone name
+	 * @param format the export format, which is either <code>json</code> (default) or <code>zone</code> for a RFC 1035 zone file
+	 * @return the streamed export
+	 */
+	@GET
+	@Scopes({IVT_READ, IVT, IVT_ELEMENT,IVT_ELEMENT_DNS})
+	@Path("/zones/{zone}/export")
+	@Produces({APPLICATION_JSON,"text/dns"})
+	public Response exportDnsZone(@Valid @PathParam("zone") DnsZoneName zoneName,
+								  @QueryParam("format") @DefaultValue("json") String format){
+		return export(service.getDnsZoneSettings(zoneName), parseExportFormat(format));
+	}
+	
+	private static ExportFormat parseExportFormat(String format) {
+		try {
+			return ExportFormat.fromString(format);
+		} catch (IllegalArgumentException e) {
+			// JAX-RS responds with 404 if a query parameter cannot be converted.
+			throw new UnprocessableEntityException(IVT0955E_DNS_ZONE_EXPORT_FORMAT_INVALID, 
+												   format);
+		}
+	}
+	
+	private Response export(DnsZoneSettings zone, ExportFormat format) {
+		// The zone settings are read before the export is streamed in order to report unknown zones properly.
+		StreamingOutput export = out -> {
+			try(DnsZoneExportWriter writer = exportWriter(format, 
+														  new BufferedWriter(new OutputStreamWriter(out, UTF_8)))){
+				writer.beginExport(zone);
+				service.exportDnsZoneElements(zone.getDnsZoneId(), 
+											  writer::writeElement);
+				writer.endExport();
+			}
+		};
+		String fileName = zone.getDnsZoneName().getValue().replaceAll("\\.$", "");
+		return ok(export, format.getContentType())
+			   .header("Content-Disposition", "attachment; filename="+fileName+"."+format.getFileExtension())
+			   .build();
+	}
+	
+	/**
+	 * Stores the DNS record sets of the given elements in a DNS zone in a single transaction.
+	 * Existing record sets that are not submitted remain unchanged.
+	 * @param zoneId the DNS zone ID
+	 * @param elements the DNS zone elements
+	 * @return a summary of the stored record sets
+	 */
+	@PUT
+	@Path("/zones/{zone:"+UUID_PATTERN+"}/elements")
+	public Response storeDnsZoneElements(@Valid @PathParam("zone") DnsZoneId zoneId,
+										 List<DnsZoneElement> elements){
+		recordSets.storeDnsZoneRecordSets(zoneId, elements);
+		return success(messages);
+	}
+	
+	/**
+	 * Stores the DNS record sets of the given elements in a DNS zone in a single transaction.
+	 * Existing record sets that are not submitted remain unchanged.
+	 * @param zoneName the DNS zone name
+	 * @param elements the DNS zone elements
+	 * @return a summary of the stored record sets
+	 */
+	@PUT
+	@Path("/zones/{zone}/elements")
+	public Response storeDnsZoneElements(@Valid @PathParam("zone") DnsZoneName zoneName,
+										 List<DnsZoneElement> elements){
+		recordSets.storeDnsZoneRecordSets(zoneName, elements);
+		return success(messages);
+	}
+	
 	@PUT
 	@Path("/zones/{zone:"+UUID_PATTERN+"}/settings")
 	public Response storeDnsZoneSettings(@Valid @PathParam("zone") DnsZoneId zoneId,
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.rs;
+
+import static io.leitstand.inventory.rs.Scopes.IVT;
+import static io.leitstand.inventory.rs.Scopes.IVT_ELEMENT;
+import static io.leitstand.inventory.rs.Scopes.IVT_ELEMENT_CONFIG;
+import static io.leitstand.inventory.service.ConfigurationState.ACTIVE;
+import static io.leitstand.inventory.service.ConfigurationState.configurationState;
+import static io.leitstand.inventory.service.ElementConfigBatchItem.newElementConfigBatchItem;
+import static io.leitstand.inventory.service.ElementConfigBatchResult.newElementConfigBatchResult;
+import static io.leitstand.inventory.service.ElementConfigBatchResult.Status.FAILED;
+import static io.leitstand.inventory.service.ElementConfigName.elementConfigName;
+import static io.leitstand.inventory.service.ElementId.elementId;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ReasonCode.IVT0335E_ELEMENT_CONFIG_SUBMISSION_REJECTED;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.logging.Level.FINER;
+import static javax.json.Json.createObjectBuilder;
+import static javax.json.Json.createReader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.logging.Logger;
+
+import javax.inject.Inject;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.StreamingOutput;
+
+import io.leitstand.commons.model.Scalar;
+import io.leitstand.commons.rs.Resource;
+import io.leitstand.inventory.service.ElementConfigBatchItem;
+import io.leitstand.inventory.service.ElementConfigBatchResult;
+import io.leitstand.inventory.service.ElementConfigService;
+import io.leitstand.security.auth.Scopes;
+
+/**
+ * Stores element configurations of many elements at once.
+ * <p>
+ * The request body is a newline-delimited JSON stream, where every line is an element configuration submission.
+ * The submissions are stored in chunks. Every chunk is stored in its own transaction.
+ * If a chunk cannot be stored, the chunk submissions are stored one by one to report the failing submissions.
+ * The response is a newline-delimited JSON stream as well, 
+ * where every line is the outcome of the submission at the same position of the request stream.
+ */
+@Resource
+@Path("/elements")
+@Scopes({IVT, IVT_ELEMENT,IVT_ELEMENT_CONFIG})
+public class ElementConfigBatchResource {
+
+	private static final Logger LOG = Logger.getLogger(ElementConfigBatchResource.class.getName());
+	
+	static final String APPLICATION_NDJSON = "application/x-ndjson";
+	static final int MAX_CHUNK_SIZE = 1000;
+	
+	@Inject
+	private ElementConfigService service;
+	
+	@POST
+	@Path("/_configs")
+	@Consumes(APPLICATION_NDJSON)
+	@Produces(APPLICATION_NDJSON)
+	public StreamingOutput storeElementConfigs(@QueryParam("chunk_size") @DefaultValue("200") int chunkSize,
+											   InputStream submissions) {
+		int limit = max(1, min(chunkSize, MAX_CHUNK_SIZE));
+		return out -> {
+			try(BufferedReader reader = new BufferedReader(new InputStreamReader(submissions, UTF_8));
+				Writer writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8))){
+				// Malformed submissions are kept as null items to preserve the submission order.
+				List<ElementConfigBatchItem> chunk = new ArrayList<>(limit);
+				List<String> errors = new ArrayList<>(limit);
+				int lineNumber = 0;
+				String line;
+				while((line = reader.readLine()) != null) {
+					lineNumber++;
+					if(line.trim().isEmpty()) {
+						continue;
+					}
+					try {
+						chunk.add(parseSubmission(line));
+						errors.add(null);
+					} catch (Exception e) {
+						chunk.add(null);
+						errors.add(IVT0335E_ELEMENT_CONFIG_SUBMISSION_REJECTED.getMessage(lineNumber, e.getMessage()));
+					}
+					if(chunk.size() == limit) {
+						storeChunk(chunk, errors, writer);
+					}
+				}
+				storeChunk(chunk, errors, writer);
+			}
+		};
+	}
+	
+	private void storeChunk(List<ElementConfigBatchItem> chunk,
+							List<String> errors,
+							Writer writer) throws IOException {
+		if(chunk.isEmpty()) {
+			return;
+		}
+		List<ElementConfigBatchItem> items = new ArrayList<>(chunk.size());
+		for(ElementConfigBatchItem item : chunk) {
+			if(item != null) {
+				items.add(item);
+			}
+		}
+		Iterator<ElementConfigBatchResult> results = storeItems(items).iterator();
+		for(int i=0; i < chunk.size(); i++) {
+			if(chunk.get(i) != null) {
+				writer.write(toJson(results.next()).toString());
+			} else {
+				writer.write(toJson(newElementConfigBatchResult()
+									.withStatus(FAILED)
+									.withMessage(errors.get(i))
+									.build()).toString());
+			}
+			writer.write('\n');
+		}
+		writer.flush();
+		chunk.clear();
+		errors.clear();
+	}
+	
+	private List<ElementConfigBatchResult> storeItems(List<ElementConfigBatchItem> items){
+		if(items.isEmpty()) {
+			return emptyList();
+		}
+		try {
+			return service.storeElementConfigs(items);
+		} catch (Exception e) {
+			LOG.fine(() -> format("Failed to store configuration chunk of %d submissions. Storing submissions one by one. %s",
+								  items.size(),
+								  e.getMessage()));
+			LOG.log(FINER, e, () -> e.getMessage());
+		}
+		List<ElementConfigBatchResult> results = new ArrayList<>(items.size());
+		for(ElementConfigBatchItem item : items) {
+			try {
+				results.addAll(service.storeElementConfigs(singletonList(item)));
+			} catch (Exception e) {
+				LOG.log(FINER, e, () -> e.getMessage());
+				results.add(newElementConfigBatchResult()
+							.withElementId(item.getElementId())
+							.withElementName(item.getElementName())
+							.withConfigName(item.getConfigName())
+							.withStatus(FAILED)
+							.withMessage(e.getMessage())
+							.build());
+			}
+		}
+		return results;
+	}
+	
+	static ElementConfigBatchItem parseSubmission(String line) {
+		try(JsonReader reader = createReader(new StringReader(line))){
+			JsonObject submission = reader.readObject();
+			String contentType = submission.getString("content_type", null);
+			return newElementConfigBatchItem()
+				   .withElementId(elementId(submission.getString("element_id", null)))
+				   .withElementName(elementName(submission.getString("element_name", null)))
+				   .withConfigName(elementConfigName(submission.getString("config_name", null)))
+				   .withConfigState(configurationState(submission.getString("config_state", ACTIVE.name())))
+				   .withContentType(contentType)
+				   .withComment(submission.getString("comment", null))
+				   .withConfig(config(submission.get("config")))
+				   .build();
+		}
+	}
+	
+	private static String config(JsonValue config) {
+		if(config == null || config.getValueType() == JsonValue.ValueType.NULL) {
+			return null;
+		}
+		if(config.getValueType() == JsonValue.ValueType.STRING) {
+			return ((JsonString)config).getString();
+		}
+		return config.toString();
+	}
+	
+	static JsonObject toJson(ElementConfigBatchResult result) {
+		JsonObjectBuilder json = createObjectBuilder();
+		add(json, "element_id", result.getElementId());
+		add(json, "element_name", result.getElementName());
+		add(json, "config_name", result.getConfigName());
+		add(json, "config_id", result.getConfigId());
+		json.add("status", result.getStatus().name());
+		if(result.getMessage() != null) {
+			json.add("message", result.getMessage());
+		}
+		return json.build();
+	}
+	
+	private static void add(JsonObjectBuilder json, String name, Scalar<String> value) {
+		if(value != null) {
+			json.add(name, value.getValue());
+		}
+	}
+	
+}
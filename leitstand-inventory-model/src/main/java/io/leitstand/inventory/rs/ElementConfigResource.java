@@ -20,19 +20,27 @@ import static io.leitstand.commons.model.Patterns.UUID_PATTERN;
 import static io.leitstand.commons.rs.Responses.created;
 import static io.leitstand.commons.rs.Responses.seeOther;
 import static io.leitstand.commons.rs.Responses.success;
+import static io.leitstand.inventory.rs.ByteRange.byteRange;
 import static io.leitstand.inventory.rs.Scopes.IVT;
 import static io.leitstand.inventory.rs.Scopes.IVT_ELEMENT;
 import static io.leitstand.inventory.rs.Scopes.IVT_ELEMENT_CONFIG;
 import static io.leitstand.inventory.rs.Scopes.IVT_READ;
+import static io.leitstand.inventory.service.ReasonCode.IVT0328E_ELEMENT_CONFIG_DIFF_FORMAT_INVALID;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.logging.Level.FINER;
 import static javax.json.Json.createWriterFactory;
 import static javax.json.stream.JsonGenerator.PRETTY_PRINTING;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.Response.ok;
+import static javax.ws.rs.core.Response.status;
+import static javax.ws.rs.core.Response.Status.PARTIAL_CONTENT;
+import static javax.ws.rs.core.Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE;
 
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Logger;
@@ -53,13 +61,23 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.StreamingOutput;
 
+import io.leitstand.commons.ConflictException;
+import io.leitstand.commons.UnprocessableEntityException;
 import io.leitstand.commons.messages.Messages;
 import io.leitstand.commons.rs.Resource;
 import io.leitstand.inventory.service.ConfigurationState;
 import io.leitstand.inventory.service.ElementConfig;
+import io.leitstand.inventory.service.ElementConfigContentInfo;
+import io.leitstand.inventory.service.ElementConfigDiff;
+import io.leitstand.inventory.service.ElementConfigDiffFormat;
 import io.leitstand.inventory.service.ElementConfigId;
 import io.leitstand.inventory.service.ElementConfigName;
 import io.leitstand.inventory.service.ElementConfigRevisions;
@@ -78,6 +96,8 @@ import io.leitstand.security.auth.Scopes;
 public class ElementConfigResource {
 
     private static final Logger LOG = Logger.getLogger(ElementConfigResource.class.getName());
+    private static final String TEXT_X_DIFF = "text/x-diff";
+    private static final String APPLICATION_JSON_PATCH = "application/json-patch+json";
 	
 	@Inject
 	private Messages messages;
@@ -202,21 +222,83 @@ public class ElementConfigResource {
 	}
 	
 	
+	@GET
+	@Path("/{element:"+UUID_PATTERN+"}/configs/{config_name}/_diff")
+	@Scopes({IVT_READ, IVT, IVT_ELEMENT,IVT_ELEMENT_CONFIG})
+	@Produces({TEXT_X_DIFF, APPLICATION_JSON_PATCH, APPLICATION_JSON})
+	public Response diffElementConfigs(@Valid @PathParam("element") ElementId elementId,
+									   @Valid @PathParam("config_name") ElementConfigName configName,
+									   @Valid @NotNull @QueryParam("from") ElementConfigId fromConfigId,
+									   @Valid @NotNull @QueryParam("to") ElementConfigId toConfigId,
+									   @QueryParam("format") @DefaultValue("unified") String format){
+		return diff(service.diffElementConfigs(elementId, 
+											   configName, 
+											   fromConfigId, 
+											   toConfigId, 
+											   parseDiffFormat(format)));
+	}
+	
+	@GET
+	@Path("/{element}/configs/{config_name}/_diff")
+	@Scopes({IVT_READ, IVT, IVT_ELEMENT,IVT_ELEMENT_CONFIG})
+	@Produces({TEXT_X_DIFF, APPLICATION_JSON_PATCH, APPLICATION_JSON})
+	public Response diffElementConfigs(@Valid @PathParam("element") ElementName elementName,
+									   @Valid @PathParam("config_name") ElementConfigName configName,
+									   @Valid @NotNull @QueryParam("from") ElementConfigId fromConfigId,
+									   @Valid @NotNull @QueryParam("to") ElementConfigId toConfigId,
+									   @QueryParam("format") @DefaultValue("unified") String format){
+		return diff(service.diffElementConfigs(elementName, 
+											   configName, 
+											   fromConfigId, 
+											   toConfigId, 
+											   parseDiffFormat(format)));
+	}
+	
+	private static ElementConfigDiffFormat parseDiffFormat(String format) {
+		try {
+			return ElementConfigDiffFormat.fromString(format);
+		} catch (IllegalArgumentException e) {
+			// JAX-RS responds with 404 if a query parameter cannot be converted.
+			throw new UnprocessableEntityException(IVT0328E_ELEMENT_CONFIG_DIFF_FORMAT_INVALID, 
+												   format);
+		}
+	}
+	
+	private static Response diff(ElementConfigDiff diff) {
+		// The difference is computed while it is streamed to the client.
+		StreamingOutput output = out -> {
+			Writer writer = new OutputStreamWriter(out, UTF_8);
+			diff.writeTo(writer);
+			writer.flush();
+		};
+		return ok(output, diff.getFormat().getContentType()+";charset=utf-8")
+			   .build();
+	}
+	
 	@GET
 	@Path("/{element:"+UUID_PATTERN+"}/configs/{config_id:"+UUID_PATTERN+"}/config")
 	@Scopes({IVT_READ, IVT, IVT_ELEMENT,IVT_ELEMENT_CONFIG})
 	public Response downloadElementConfig(@Valid @PathParam("element") ElementId elementId,
 										  @Valid @PathParam("config_id") ElementConfigId configId,
-										  @QueryParam("pretty") boolean pretty){
+										  @QueryParam("pretty") boolean pretty,
+										  @HeaderParam("Range") String range,
+										  @HeaderParam("If-Range") String ifRange,
+										  @Context Request request){
 		
-		ElementConfig config = service.getElementConfig(elementId, configId);
-		
-		return ok(formattedConfig(config,pretty), config.getContentType())
-			   .header("Content-Disposition", format("attachment; filename=\"%s_%s.%s\"",
-					   								 config.getConfigName(),
-					   								 isoDateFormat(config.getDateModified()),
-					   								 ext(config)))
-			   .build();
+		if(pretty) {
+			ElementConfig config = service.getElementConfig(elementId, configId);
+			
+			return ok(formattedConfig(config,pretty), config.getContentType())
+				   .header("Content-Disposition", format("attachment; filename=\"%s_%s.%s\"",
+						   								 config.getConfigName(),
+						   								 isoDateFormat(config.getDateModified()),
+						   								 ext(config)))
+				   .build();
+		}
+		return download(service.getElementConfigContentInfo(elementId, configId),
+						range,
+						ifRange,
+						request);
 		
 	}
 	
@@ -227,25 +309,105 @@ public class ElementConfigResource {
 	@Scopes({IVT_READ, IVT, IVT_ELEMENT,IVT_ELEMENT_CONFIG})
 	public Response downloadElementConfig(@Valid @PathParam("element") ElementName elementName,
 								     	  @Valid @PathParam("config_id") ElementConfigId configId,
-								     	  @QueryParam("pretty") boolean pretty){
-		ElementConfig config = service.getElementConfig(elementName, configId);
+								     	  @QueryParam("pretty") boolean pretty,
+								     	  @HeaderParam("Range") String range,
+								     	  @HeaderParam("If-Range") String ifRange,
+								     	  @Context Request request){
+		if(pretty) {
+			ElementConfig config = service.getElementConfig(elementName, configId);
+			
+			return ok(formattedConfig(config, pretty), config.getContentType())
+				   .header("Content-Disposition", format("attachment; filename=\"%s_%s.%s\"",
+						   								 config.getConfigName(),
+						   								 isoDateFormat(config.getDateModified()),
+						   								 ext(config)))
+				   .build();
+		}
+		return download(service.getElementConfigContentInfo(elementName, configId),
+						range,
+						ifRange,
+						request);
+	}
+	
+	private Response download(ElementConfigContentInfo info,
+							  String rangeHeader,
+							  String ifRange,
+							  Request request) {
+		// The content hash changes whenever the configuration content changes.
+		EntityTag etag = new EntityTag(info.getContentHash());
+		ResponseBuilder notModified = request.evaluatePreconditions(info.getDateModified(), 
+																	etag);
+		if(notModified != null) {
+			return notModified.tag(etag).build();
+		}
 		
-		return ok(formattedConfig(config, pretty), config.getContentType())
-			   .header("Content-Disposition", format("attachment; filename=\"%s_%s.%s\"",
-					   								 config.getConfigName(),
-					   								 isoDateFormat(config.getDateModified()),
-					   								 ext(config)))
-			   .build();
+		long contentLength = info.getContentLength();
+		ByteRange range = null;
+		if(ifRange == null || ifRange.trim().equals("\""+info.getContentHash()+"\"")) {
+			// Send the requested range only if the range refers to the current content.
+			range = byteRange(rangeHeader, contentLength);
+		}
+		if(range != null && !range.isSatisfiable()) {
+			return status(REQUESTED_RANGE_NOT_SATISFIABLE)
+				   .header("Content-Range", range.getContentRange())
+				   .build();
+		}
+		
+		ResponseBuilder response = ok();
+		long offset = 0;
+		long length = contentLength;
+		if(range != null) {
+			response = status(PARTIAL_CONTENT).header("Content-Range", range.getContentRange());
+			offset = range.getFirst();
+			length = range.getLength();
+		}
+		return response.entity(content(info, offset, length))
+					   .type(info.getContentType())
+					   .tag(etag)
+					   .lastModified(info.getDateModified())
+					   .header("Accept-Ranges", "bytes")
+					   .header("Content-Length", length)
+					   .header("Content-Disposition", format("attachment; filename=\"%s_%s.%s\"",
+							   								 info.getConfigName(),
+							   								 isoDateFormat(info.getDateModified()),
+							   								 ext(info.getContentType())))
+					   .build();
+	}
+	
+	private StreamingOutput content(ElementConfigContentInfo info, 
+									long offset, 
+									long length) {
+		// The service writes the requested range in chunks of bounded size.
+		return out -> {
+			try {
+				long written = service.readElementConfigContent(info.getConfigId(), 
+																info.getContentHash(), 
+																offset, 
+																length,
+																out);
+				if(written < length) {
+					throw new IOException(format("Unexpected end of %s configuration %s", 
+												 info.getConfigName(),
+												 info.getConfigId()));
+				}
+			} catch (ConflictException e) {
+				throw new IOException(e.getMessage(), e);
+			}
+		};
 	}
 	
 	protected static String ext(ElementConfig config) {
-		if(config.getContentType().contains("json")) {
+		return ext(config.getContentType());
+	}
+	
+	protected static String ext(String contentType) {
+		if(contentType.contains("json")) {
 			return "json";
 		}
-		if(config.getContentType().contains("yaml")||config.getContentType().contains("yml")){
+		if(contentType.contains("yaml")||contentType.contains("yml")){
 			return "yaml";
 		}
-		if(config.getContentType().contains("xml")){
+		if(contentType.contains("xml")){
 			return "xml";
 		}
 		return "txt";
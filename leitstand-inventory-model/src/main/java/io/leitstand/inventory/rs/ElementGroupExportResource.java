@@ -17,13 +17,21 @@ package io.leitstand.inventory.rs;
 
 
 import static io.leitstand.commons.rs.Responses.success;
+import static io.leitstand.inventory.rs.ElementGroupsExportWriter.exportWriter;
 import static io.leitstand.inventory.rs.Scopes.IVT;
 import static io.leitstand.inventory.rs.Scopes.IVT_READ;
+import static io.leitstand.inventory.service.ReasonCode.IVT0104E_GROUP_EXPORT_FORMAT_INVALID;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.Response.ok;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.util.Date;
+
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -31,12 +39,17 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
+import io.leitstand.commons.UnprocessableEntityException;
 import io.leitstand.commons.messages.Messages;
 import io.leitstand.commons.rs.Resource;
+import io.leitstand.inventory.rs.ElementGroupsExportWriter.ExportFormat;
 import io.leitstand.inventory.service.ElementGroupExportService;
 import io.leitstand.inventory.service.ElementGroupType;
 import io.leitstand.inventory.service.ElementGroupsExport;
+import io.leitstand.inventory.service.ElementRoleService;
+import io.leitstand.inventory.service.PlatformService;
 import io.leitstand.security.auth.Scopes;
 
 @Resource
@@ -49,19 +62,56 @@ public class ElementGroupExportResource {
 	@Inject
 	private ElementGroupExportService inventory;
 	
+	@Inject
+	private PlatformService platforms;
+	
+	@Inject
+	private ElementRoleService roles;
+	
 	@Inject
 	private Messages messages;
 	
+	/**
+	 * Streams the export of all element groups matching the given filter.
+	 * The export is written while the groups are loaded from the database.
+	 * @param groupType the group type
+	 * @param filter an optional regular expression to filter groups by name
+	 * @param format the export format, which is either <code>json</code> (default) or <code>yaml</code>
+	 * @return the streamed export
+	 */
 	@GET
 	@Path("/{group}s")
+	@Produces({APPLICATION_JSON,"application/yaml"})
 	public Response exportElementGroupsJson(@PathParam("group") ElementGroupType groupType,
-											@QueryParam("filter") String filter){
-		return ok(inventory.exportElementGroups(groupType,
-												filter))
-			   .header("Content-Disposition", "attachment; filename=inventory-export.json")
+											@QueryParam("filter") String filter,
+											@QueryParam("format") @DefaultValue("json") String formatName){
+		ExportFormat format = parseExportFormat(formatName);
+		StreamingOutput export = out -> {
+			try(ElementGroupsExportWriter writer = exportWriter(format, 
+																new BufferedWriter(new OutputStreamWriter(out, UTF_8)))){
+				writer.beginExport(new Date());
+				inventory.exportElementGroups(groupType,
+											  filter,
+											  writer::writeGroup);
+				writer.endExport(platforms.getPlatforms(), 
+								 roles.getElementRoles());
+			}
+		};
+		return ok(export, format.getContentType())
+			   .header("Content-Disposition", "attachment; filename=inventory-export."+format.getFileExtension())
 			   .build();
 	}
 	
+	private static ExportFormat parseExportFormat(String format) {
+		try {
+			return ExportFormat.fromString(format);
+		} catch (IllegalArgumentException e) {
+			// JAX-RS responds with 404 if a query parameter cannot be converted.
+			throw new UnprocessableEntityException(IVT0104E_GROUP_EXPORT_FORMAT_INVALID, 
+												   format);
+		}
+	}
+	
 	@PUT
 	@Path("/{group}s")
 	public Response importElementGroupsJson(@PathParam("group") ElementGroupType groupType, ElementGroupsExport export) {
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.rs;
+
+import static io.leitstand.inventory.rs.Scopes.IVT;
+import static io.leitstand.inventory.rs.Scopes.IVT_READ;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+
+import javax.inject.Inject;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+
+import io.leitstand.commons.rs.Resource;
+import io.leitstand.inventory.service.ElementGroupImportService;
+import io.leitstand.inventory.service.ElementGroupImportStatus;
+import io.leitstand.security.auth.Scopes;
+
+/**
+ * Reports the progress of element group imports and resumes interrupted imports.
+ * @see ElementGroupImportServlet
+ */
+@Resource
+@Scopes({IVT})
+@Path("/import/groups")
+@Consumes(APPLICATION_JSON)
+@Produces(APPLICATION_JSON)
+public class ElementGroupImportResource {
+
+	@Inject
+	private ElementGroupImportService service;
+	
+	@GET
+	@Path("/{import_id}")
+	@Scopes({IVT_READ, IVT})
+	public ElementGroupImportStatus getElementGroupImport(@PathParam("import_id") String importId) {
+		return service.getElementGroupImport(importId);
+	}
+	
+	@POST
+	@Path("/{import_id}/_resume")
+	public ElementGroupImportStatus resumeElementGroupImport(@PathParam("import_id") String importId) {
+		return service.resumeElementGroupImport(importId);
+	}
+	
+}
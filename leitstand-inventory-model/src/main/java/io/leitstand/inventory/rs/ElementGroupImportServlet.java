@@ -15,37 +15,78 @@
  */
 package io.leitstand.inventory.rs;
 
+import static io.leitstand.commons.rs.ResourceUtil.tryParseInt;
+import static java.util.logging.Level.FINE;
+import static javax.servlet.http.HttpServletResponse.SC_ACCEPTED;
+import static javax.servlet.http.HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.logging.Logger;
+
 import javax.inject.Inject;
 import javax.servlet.annotation.MultipartConfig;
 import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.Part;
 
-import io.leitstand.inventory.service.ElementGroupExportService;
-import io.leitstand.inventory.service.ElementGroupsExport;
+import io.leitstand.inventory.service.ElementGroupImportService;
+import io.leitstand.inventory.service.ElementGroupImportStatus;
 
+/**
+ * Uploads an element group export and starts an asynchronous import.
+ * <p>
+ * The import is committed in chunks of groups. The <code>chunk_size</code> request parameter sets the number of groups per chunk.
+ * REST API clients get the location of the import status resource, 
+ * whereas the UI is redirected to the groups view.
+ * @see ElementGroupImportResource
+ */
 @WebServlet(urlPatterns= {"/api/v1/import/groups",
 						  "/import/groups"})
 @MultipartConfig()
-public class ElementGroupImportServlet extends BaseImportServlet<ElementGroupsExport> {
+public class ElementGroupImportServlet extends HttpServlet {
 	
 	private static final long serialVersionUID = 1L;
 	
+	private static final Logger LOG = Logger.getLogger(ElementGroupImportServlet.class.getName());
+	
+	static final int DEFAULT_CHUNK_SIZE = 100;
+	
 	@Inject
-	private ElementGroupExportService service;
-
-	@Override
-	protected Class<ElementGroupsExport> getImportType() {
-		return ElementGroupsExport.class;
-	}
-
-	@Override
-	protected String getRedirectTarget() {
-		return "/rbms/inventory/groups.html";
-	}
+	private ElementGroupImportService service;
 
 	@Override
-	protected void doImport(ElementGroupsExport data) {
-		service.importElementGroups(data);
+	public void doPost(HttpServletRequest request, 
+					   HttpServletResponse response) {
+		try {
+			Part part = request.getPart("export");
+			int chunkSize = tryParseInt(request.getParameter("chunk_size"), DEFAULT_CHUNK_SIZE);
+			ElementGroupImportStatus status;
+			try(InputStream data = part.getInputStream()){
+				status = service.importElementGroups(data, 
+													 part.getContentType(), 
+													 chunkSize);
+			}
+			if(request.getServletPath().startsWith("/api/")) {
+				response.setStatus(SC_ACCEPTED);
+				response.setHeader("Location", request.getRequestURI()+"/"+status.getImportId());
+				return;
+			}
+			response.sendRedirect("/rbms/inventory/groups.html");
+		} catch (Exception e) {
+			LOG.log(FINE,e.getMessage(),e);
+			sendError(response, e.getMessage());
+		}
 	}
 	
+	private void sendError(HttpServletResponse response, String message) {
+		try {
+			response.sendError(SC_INTERNAL_SERVER_ERROR,message);
+		} catch (IOException e) {
+			LOG.log(FINE,e.getMessage(),e);
+		}
+	}
 	
 }
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.rs;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static javax.json.Json.createReader;
+import static javax.json.bind.JsonbBuilder.create;
+import static javax.json.bind.config.PropertyNamingStrategy.LOWER_CASE_WITH_UNDERSCORES;
+import static javax.json.bind.config.PropertyOrderStrategy.LEXICOGRAPHICAL;
+import static org.yaml.snakeyaml.DumperOptions.FlowStyle.BLOCK;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbConfig;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import io.leitstand.commons.jsonb.FieldAccessVisibilityStrategy;
+import io.leitstand.inventory.service.ElementGroupExport;
+import io.leitstand.inventory.service.ElementRoleSettings;
+import io.leitstand.inventory.service.PlatformSettings;
+
+/**
+ * Writes an element groups export group by group.
+ * <p>
+ * The writer produces the same document as the serialization of an {@link io.leitstand.inventory.service.ElementGroupsExport}, 
+ * but does not require all groups to be loaded before the document is written.
+ * The export properties are written in lexicographical order, i.e. the creation date, the groups, 
+ * the platforms and finally the element roles.
+ */
+abstract class ElementGroupsExportWriter implements AutoCloseable {
+	
+	private static final JsonbConfig EXPORT = new JsonbConfig()
+											  .withPropertyVisibilityStrategy(new FieldAccessVisibilityStrategy())
+											  .withPropertyNamingStrategy(LOWER_CASE_WITH_UNDERSCORES)
+											  .withPropertyOrderStrategy(LEXICOGRAPHICAL)
+											  .withDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", null);
+
+	/**
+	 * Supported export formats.
+	 */
+	enum ExportFormat {
+		JSON("application/json"),
+		YAML("application/yaml");
+		
+		public static ExportFormat fromString(String format) {
+			return valueOf(format.toUpperCase());
+		}
+		
+		private final String contentType;
+		
+		private ExportFormat(String contentType) {
+			this.contentType = contentType;
+		}
+		
+		String getContentType() {
+			return contentType;
+		}
+		
+		String getFileExtension() {
+			return name().toLowerCase();
+		}
+	}
+	
+	/**
+	 * Creates an export writer for the given format.
+	 * @param format the export format
+	 * @param writer the writer to write the export to
+	 * @return the export writer
+	 */
+	static ElementGroupsExportWriter exportWriter(ExportFormat format, Writer writer) {
+		if(format == ExportFormat.YAML) {
+			return new YamlExportWriter(writer);
+		}
+		return new JsonExportWriter(writer);
+	}
+	
+	protected final Writer writer;
+	protected final Jsonb jsonb;
+	private int groups;
+	
+	protected ElementGroupsExportWriter(Writer writer) {
+		this.writer = writer;
+		this.jsonb = create(EXPORT);
+	}
+	
+	/**
+	 * Starts the export document.
+	 * @param dateCreated the export creation date
+	 */
+	void beginExport(Date dateCreated) {
+		try {
+			writeDateCreated(jsonb.toJson(dateCreated));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Writes the next element group.
+	 * @param group the element group
+	 */
+	void writeGroup(ElementGroupExport group) {
+		try {
+			writeGroup(jsonb.toJson(group), groups++);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Completes the export document.
+	 * @param platforms all platforms
+	 * @param roles all element roles
+	 */
+	void endExport(List<PlatformSettings> platforms, 
+				   List<ElementRoleSettings> roles) {
+		try {
+			endExport(groups,
+					  jsonb.toJson(platforms),
+					  jsonb.toJson(roles));
+			writer.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	protected abstract void writeDateCreated(String dateCreated) throws IOException;
+	
+	protected abstract void writeGroup(String group, int index) throws IOException;
+	
+	protected abstract void endExport(int groups, String platforms, String roles) throws IOException;
+	
+	@Override
+	public void close() throws IOException {
+		try {
+			jsonb.close();
+		} catch (Exception e) {
+			throw new IOException(e);
+		} finally {
+			writer.close();
+		}
+	}
+
+	private static final class JsonExportWriter extends ElementGroupsExportWriter {
+
+		JsonExportWriter(Writer writer) {
+			super(writer);
+		}
+
+		@Override
+		protected void writeDateCreated(String dateCreated) throws IOException {
+			writer.write("{\"date_created\":");
+			writer.write(dateCreated);
+			writer.write(",\"groups\":[");
+		}
+
+		@Override
+		protected void writeGroup(String group, int index) throws IOException {
+			if(index > 0) {
+				writer.write(',');
+			}
+			writer.write(group);
+		}
+
+		@Override
+		protected void endExport(int groups, String platforms, String roles) throws IOException {
+			writer.write("],\"platforms\":");
+			writer.write(platforms);
+			writer.write(",\"roles\":");
+			writer.write(roles);
+			writer.write('}');
+		}
+		
+	}
+	
+	private static final class YamlExportWriter extends ElementGroupsExportWriter {
+
+		private final Yaml yaml;
+		
+		YamlExportWriter(Writer writer) {
+			super(writer);
+			DumperOptions options = new DumperOptions();
+			options.setDefaultFlowStyle(BLOCK);
+			this.yaml = new Yaml(options);
+		}
+		
+		@Override
+		protected void writeDateCreated(String dateCreated) throws IOException {
+			yaml.dump(singletonMap("date_created", yaml(dateCreated)), writer);
+		}
+
+		@Override
+		protected void writeGroup(String group, int index) throws IOException {
+			if(index == 0) {
+				writer.write("groups:\n");
+			}
+			yaml.dump(singletonList(yaml(group)), writer);
+		}
+
+		@Override
+		protected void endExport(int groups, String platforms, String roles) throws IOException {
+			if(groups == 0) {
+				writer.write("groups: []\n");
+			}
+			yaml.dump(singletonMap("platforms", yaml(platforms)), writer);
+			yaml.dump(singletonMap("roles", yaml(roles)), writer);
+		}
+		
+		private static Object yaml(String json) {
+			try(JsonReader reader = createReader(new StringReader(json))){
+				return yaml(reader.readValue());
+			}
+		}
+		
+		private static Object yaml(JsonValue value) {
+			switch(value.getValueType()) {
+				case OBJECT:{
+					Map<String,Object> map = new LinkedHashMap<>();
+					for(Map.Entry<String,JsonValue> property : ((JsonObject)value).entrySet()) {
+						map.put(property.getKey(), yaml(property.getValue()));
+					}
+					return map;
+				}
+				case ARRAY:{
+					List<Object> list = new ArrayList<>();
+					for(JsonValue item : (JsonArray) value) {
+						list.add(yaml(item));
+					}
+					return list;
+				}
+				case STRING: return ((JsonString)value).getString();
+				case NUMBER: {
+					JsonNumber number = (JsonNumber) value;
+					return number.isIntegral() ? (Object) number.longValue() : (Object) number.doubleValue();
+				}
+				case TRUE: return Boolean.TRUE;
+				case FALSE: return Boolean.FALSE;
+				default: return null;
+			}
+		}
+		
+	}
+}
@@ -19,11 +19,15 @@ import static io.leitstand.commons.model.ObjectUtil.isDifferent;
 import static io.leitstand.commons.model.Patterns.UUID_PATTERN;
 import static io.leitstand.commons.rs.ReasonCode.VAL0003E_IMMUTABLE_ATTRIBUTE;
 import static io.leitstand.commons.rs.Responses.created;
+import static io.leitstand.commons.rs.Responses.eofHeader;
+import static io.leitstand.commons.rs.Responses.limitHeader;
+import static io.leitstand.commons.rs.Responses.sizeHeader;
 import static io.leitstand.commons.rs.Responses.success;
 import static io.leitstand.inventory.rs.Scopes.IVT;
 import static io.leitstand.inventory.rs.Scopes.IVT_ELEMENT;
 import static io.leitstand.inventory.rs.Scopes.IVT_READ;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static javax.ws.rs.core.Response.fromResponse;
 
 import java.util.List;
 
@@ -33,6 +37,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -47,6 +52,7 @@ import io.leitstand.inventory.service.ElementId;
 import io.leitstand.inventory.service.ElementLogicalInterface;
 import io.leitstand.inventory.service.ElementLogicalInterfaceService;
 import io.leitstand.inventory.service.ElementLogicalInterfaceSubmission;
+import io.leitstand.inventory.service.ElementLogicalInterfaceSyncResult;
 import io.leitstand.inventory.service.ElementLogicalInterfaces;
 import io.leitstand.inventory.service.ElementName;
 import io.leitstand.inventory.service.InterfaceName;
@@ -67,26 +73,65 @@ public class ElementLogicalInterfaceResource {
 	@Inject
 	private Messages messages;
 	
+	/**
+	 * Searches the logical interfaces of an element.
+	 * The logical interfaces are ordered by name.
+	 * The response contains a <code>Leitstand-Cursor</code> header with the cursor of the next page if more logical interfaces exist.
+	 * @param id the element ID
+	 * @param filter a filter for interface name, alias, routing instance, IP prefix or VLAN ID
+	 * @param cursor the name of the last logical interface of the previous page
+	 * @param limit the maximum number of logical interfaces to return
+	 * @return the matching logical interfaces
+	 */
 	@GET
 	@Path("/{element:"+UUID_PATTERN+"}/logical_interfaces")
 	@Scopes({IVT, IVT_READ, IVT_ELEMENT})
-	public ElementLogicalInterfaces getLogicalInterfaces(@Valid @PathParam("element") ElementId id,
-														 @QueryParam("filter") @DefaultValue("") String filter,
-														 @QueryParam("limit") @DefaultValue("100") int limit){
-		return service.findLogicalInterfaces(id, 
-											 filter,
-											 limit);
+	public Response getLogicalInterfaces(@Valid @PathParam("element") ElementId id,
+										 @QueryParam("filter") @DefaultValue("") String filter,
+										 @QueryParam("cursor") InterfaceName cursor,
+										 @QueryParam("limit") @DefaultValue("100") int limit){
+		return page(service.findLogicalInterfaces(id, 
+												  filter,
+												  cursor,
+												  limit),
+					limit);
 	}
 	
+	/**
+	 * Searches the logical interfaces of an element.
+	 * The logical interfaces are ordered by name.
+	 * The response contains a <code>Leitstand-Cursor</code> header with the cursor of the next page if more logical interfaces exist.
+	 * @param name the element name
+	 * @param filter a filter for interface name, alias, routing instance, IP prefix or VLAN ID
+	 * @param cursor the name of the last logical interface of the previous page
+	 * @param limit the maximum number of logical interfaces to return
+	 * @return the matching logical interfaces
+	 */
 	@GET
 	@Path("/{element}/logical_interfaces")
 	@Scopes({IVT, IVT_READ, IVT_ELEMENT})
-	public ElementLogicalInterfaces getLogicalInterfaces(@Valid @PathParam("element") ElementName name,
-			 											 @QueryParam("filter") String filter,
-			 											 @QueryParam("limit") @DefaultValue("100") int limit){
-		return service.findLogicalInterfaces(name, 
-											 filter,
-											 limit);
+	public Response getLogicalInterfaces(@Valid @PathParam("element") ElementName name,
+										 @QueryParam("filter") String filter,
+										 @QueryParam("cursor") InterfaceName cursor,
+										 @QueryParam("limit") @DefaultValue("100") int limit){
+		return page(service.findLogicalInterfaces(name, 
+												  filter,
+												  cursor,
+												  limit),
+					limit);
+	}
+	
+	private static Response page(ElementLogicalInterfaces ifls, int limit) {
+		Response response = success(ifls,
+									limitHeader(limit),
+									sizeHeader(ifls.getLogicalInterfaces().size()),
+									eofHeader(ifls.isEof()));
+		if(ifls.isEof()) {
+			return response;
+		}
+		return fromResponse(response)
+			   .header("Leitstand-Cursor", ifls.getNextCursor())
+			   .build();
 	}
 	
 	@GET
@@ -165,6 +210,20 @@ public class ElementLogicalInterfaceResource {
 		}
 		return success(messages);
 	}
+	
+	@POST
+	@Path("/{element:"+UUID_PATTERN+"}/logical_interfaces/_sync")
+	public ElementLogicalInterfaceSyncResult syncLogicalInterfaces(@PathParam("element") ElementId id, 
+																   List<ElementLogicalInterfaceSubmission> ifls){
+		return service.syncLogicalInterfaces(id, ifls);
+	}
+	
+	@POST
+	@Path("/{element}/logical_interfaces/_sync")
+	public ElementLogicalInterfaceSyncResult syncLogicalInterfaces(@PathParam("element") ElementName name, 
+																   List<ElementLogicalInterfaceSubmission> ifls){
+		return service.syncLogicalInterfaces(name, ifls);
+	}
 		
 		
 	@DELETE
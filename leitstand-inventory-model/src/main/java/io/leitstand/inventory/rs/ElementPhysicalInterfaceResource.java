@@ -32,6 +32,7 @@ import javax.inject.Inject;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -49,6 +50,7 @@ import io.leitstand.inventory.service.ElementPhysicalInterface;
 import io.leitstand.inventory.service.ElementPhysicalInterfaceNeighbor;
 import io.leitstand.inventory.service.ElementPhysicalInterfaceService;
 import io.leitstand.inventory.service.ElementPhysicalInterfaceSubmission;
+import io.leitstand.inventory.service.ElementPhysicalInterfaceSyncResult;
 import io.leitstand.inventory.service.ElementPhysicalInterfaces;
 import io.leitstand.inventory.service.InterfaceName;
 import io.leitstand.inventory.service.OperationalState;
@@ -260,4 +262,18 @@ public class ElementPhysicalInterfaceResource {
         return success(messages);
     }
     
+    @POST
+    @Path("/{element_id:"+UUID_PATTERN+"}/physical_interfaces/_sync")
+    public ElementPhysicalInterfaceSyncResult syncPhysicalInterfaces(@PathParam("element_id") ElementId id, 
+                                                                     List<ElementPhysicalInterfaceSubmission> ifps){
+        return service.syncPhysicalInterfaces(id, ifps);
+    }
+    
+    @POST
+    @Path("/{element_name}/physical_interfaces/_sync")
+    public ElementPhysicalInterfaceSyncResult syncPhysicalInterfaces(@PathParam("element_name") ElementName name, 
+                                                                     List<ElementPhysicalInterfaceSubmission> ifps){
+        return service.syncPhysicalInterfaces(name, ifps);
+    }
+    
 }
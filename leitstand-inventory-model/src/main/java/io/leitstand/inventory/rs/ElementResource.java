@@ -16,13 +16,21 @@
 package io.leitstand.inventory.rs;
 
 import static io.leitstand.commons.model.Patterns.UUID_PATTERN;
+import static io.leitstand.commons.model.StringUtil.isEmptyString;
+import static io.leitstand.commons.model.StringUtil.trim;
+import static io.leitstand.commons.rs.Responses.eofHeader;
+import static io.leitstand.commons.rs.Responses.limitHeader;
+import static io.leitstand.commons.rs.Responses.noContent;
+import static io.leitstand.commons.rs.Responses.sizeHeader;
 import static io.leitstand.commons.rs.Responses.success;
 import static io.leitstand.inventory.rs.Scopes.IVT;
 import static io.leitstand.inventory.rs.Scopes.IVT_ELEMENT;
 import static io.leitstand.inventory.rs.Scopes.IVT_ELEMENT_SETTINGS;
 import static io.leitstand.inventory.rs.Scopes.IVT_READ;
+import static io.leitstand.inventory.service.ReasonCode.IVT0308E_ELEMENT_SEARCH_CURSOR_INVALID;
 import static java.lang.String.format;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static javax.ws.rs.core.Response.fromResponse;
 
 import java.util.List;
 import java.util.logging.Logger;
@@ -41,10 +49,13 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Response;
 
 import io.leitstand.commons.AccessDeniedException;
+import io.leitstand.commons.UnprocessableEntityException;
 import io.leitstand.commons.messages.Messages;
 import io.leitstand.commons.rs.Resource;
 import io.leitstand.inventory.service.ElementId;
 import io.leitstand.inventory.service.ElementName;
+import io.leitstand.inventory.service.ElementSearchCursor;
+import io.leitstand.inventory.service.ElementSearchResult;
 import io.leitstand.inventory.service.ElementService;
 import io.leitstand.inventory.service.ElementSettings;
 import io.leitstand.inventory.service.OperationalState;
@@ -100,6 +111,49 @@ public class ElementResource {
 		}
 	}
 	
+	/**
+	 * Searches elements by name, alias, tags, serial number, asset ID and management hostname.
+	 * The matches are ranked by relevance.
+	 * The response contains a <code>Leitstand-Cursor</code> header with the cursor of the next page if more elements exist.
+	 * @param term the case-insensitive search term
+	 * @param cursor the cursor of the last element of the previous page
+	 * @param limit the maximum number of elements to return
+	 * @return the ranked matches
+	 */
+	@GET
+	@Path("/search")
+	@Scopes({IVT, IVT_READ, IVT_ELEMENT, IVT_ELEMENT_SETTINGS})
+	public Response searchElements(@QueryParam("term") String term,
+								   @QueryParam("cursor") String cursor,
+								   @QueryParam("limit") @DefaultValue("25") int limit) {
+		String trimmedTerm = trim(term);
+		if(isEmptyString(trimmedTerm)) {
+			return noContent();
+		}
+		ElementSearchResult result = service.searchElements(trimmedTerm, 
+															parseCursor(cursor), 
+															limit);
+		Response response = success(result.getElements(),
+									limitHeader(limit),
+									sizeHeader(result.getElements().size()),
+									eofHeader(result.isEof()));
+		if(result.isEof()) {
+			return response;
+		}
+		return fromResponse(response)
+			   .header("Leitstand-Cursor", result.getNextCursor())
+			   .build();
+	}
+	
+	private static ElementSearchCursor parseCursor(String cursor) {
+		try {
+			return ElementSearchCursor.valueOf(cursor);
+		} catch (IllegalArgumentException e) {
+			throw new UnprocessableEntityException(IVT0308E_ELEMENT_SEARCH_CURSOR_INVALID, 
+												   cursor);
+		}
+	}
+	
 	@DELETE
 	@Path("/{element:"+UUID_PATTERN+"}")
 	public Response removeElement(@PathParam("element") ElementId elementId,
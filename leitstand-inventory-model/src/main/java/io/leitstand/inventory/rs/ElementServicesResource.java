@@ -43,6 +43,7 @@ import io.leitstand.commons.messages.Messages;
 import io.leitstand.commons.rs.Resource;
 import io.leitstand.inventory.service.ElementId;
 import io.leitstand.inventory.service.ElementName;
+import io.leitstand.inventory.service.ElementServiceImpact;
 import io.leitstand.inventory.service.ElementServiceStack;
 import io.leitstand.inventory.service.ElementServiceSubmission;
 import io.leitstand.inventory.service.ElementServices;
@@ -83,6 +84,36 @@ public class ElementServicesResource{
 	}
 	
 	
+	@GET
+	@Path("/{id:"+UUID_PATTERN+"}/services/{service_name}/impact")
+	@Scopes({IVT, IVT_READ, IVT_ELEMENT})
+	public ElementServiceImpact getElementServiceImpact(@Valid @PathParam("id") ElementId id, 
+	                                                    @Valid @PathParam("service_name") ServiceName serviceName){
+		return service.getElementServiceImpact(id,serviceName);
+	}
+	
+	@GET
+	@Path("/{name}/services/{service_name}/impact")
+	@Scopes({IVT, IVT_READ, IVT_ELEMENT})
+	public ElementServiceImpact getElementServiceImpact(@Valid @PathParam("name") ElementName name, 
+	                                                    @Valid @PathParam("service_name") ServiceName serviceName){
+		return service.getElementServiceImpact(name,serviceName);
+	}
+	
+	@GET
+	@Path("/{id:"+UUID_PATTERN+"}/service_impact")
+	@Scopes({IVT, IVT_READ, IVT_ELEMENT})
+	public ElementServiceImpact getElementServiceImpact(@Valid @PathParam("id") ElementId id){
+		return service.getElementServiceImpact(id);
+	}
+	
+	@GET
+	@Path("/{name}/service_impact")
+	@Scopes({IVT, IVT_READ, IVT_ELEMENT})
+	public ElementServiceImpact getElementServiceImpact(@Valid @PathParam("name") ElementName name){
+		return service.getElementServiceImpact(name);
+	}
+	
 	@GET
 	@Path("/{id:"+UUID_PATTERN+"}/services")
 	@Scopes({IVT, IVT_READ, IVT_ELEMENT})
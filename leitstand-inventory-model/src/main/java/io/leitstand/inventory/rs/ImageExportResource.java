@@ -20,9 +20,14 @@ import static io.leitstand.commons.rs.Responses.success;
 import static io.leitstand.inventory.rs.Scopes.IVT;
 import static io.leitstand.inventory.rs.Scopes.IVT_IMAGE;
 import static io.leitstand.inventory.rs.Scopes.IVT_READ;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.Response.ok;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.util.Date;
+
 import javax.inject.Inject;
 import javax.validation.Valid;
 import javax.ws.rs.Consumes;
@@ -33,6 +38,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import io.leitstand.commons.messages.Messages;
 import io.leitstand.commons.rs.Resource;
@@ -57,6 +63,16 @@ public class ImageExportResource {
 	@Inject
 	private Messages messages;
 	
+	/**
+	 * Streams the export of all images matching the given criteria.
+	 * The export is written while the images are loaded from the database.
+	 * @param filter an optional regular expression to filter images by name or an image ID
+	 * @param revision an optional image version
+	 * @param type an optional image type
+	 * @param state an optional image state
+	 * @param role an optional element role
+	 * @return the streamed export
+	 */
 	@GET
 	@Path("/images")
 	public Response exportImagesJson(@QueryParam("filter") @DefaultValue("") String filter,
@@ -65,11 +81,18 @@ public class ImageExportResource {
 			 						 @QueryParam("image_state") ImageState state,
 			 						 @QueryParam("element_role") @Valid ElementRoleName role){
 		
-		ImagesExport export = inventory.exportImages(filter,
-													 role,
-													 type,
-													 state,
-													 revision);
+		StreamingOutput export = out -> {
+			try(ImagesExportWriter writer = new ImagesExportWriter(new BufferedWriter(new OutputStreamWriter(out, UTF_8)))){
+				writer.beginExport(new Date());
+				inventory.exportImages(filter,
+									   role,
+									   type,
+									   state,
+									   revision,
+									   writer::writeImage);
+				writer.endExport();
+			}
+		};
 		
 		return ok(export)
 			   .header("Content-Disposition", "attachment; filename=image-export.json")
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.rs;
+
+import static javax.json.bind.JsonbBuilder.create;
+import static javax.json.bind.config.PropertyNamingStrategy.LOWER_CASE_WITH_UNDERSCORES;
+import static javax.json.bind.config.PropertyOrderStrategy.LEXICOGRAPHICAL;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Date;
+
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbConfig;
+
+import io.leitstand.commons.jsonb.FieldAccessVisibilityStrategy;
+import io.leitstand.inventory.service.ImageInfo;
+
+/**
+ * Writes an images export image by image.
+ * <p>
+ * The writer produces the same JSON document as the serialization of an {@link io.leitstand.inventory.service.ImagesExport}, 
+ * but does not require all images to be loaded before the document is written.
+ * The export properties are written in lexicographical order, i.e. the creation date followed by the images.
+ */
+final class ImagesExportWriter implements AutoCloseable {
+	
+	private static final JsonbConfig EXPORT = new JsonbConfig()
+											  .withPropertyVisibilityStrategy(new FieldAccessVisibilityStrategy())
+											  .withPropertyNamingStrategy(LOWER_CASE_WITH_UNDERSCORES)
+											  .withPropertyOrderStrategy(LEXICOGRAPHICAL)
+											  .withDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX", null);
+	
+	private final Writer writer;
+	private final Jsonb jsonb;
+	private int images;
+	
+	ImagesExportWriter(Writer writer) {
+		this.writer = writer;
+		this.jsonb = create(EXPORT);
+	}
+	
+	/**
+	 * Starts the export document.
+	 * @param dateCreated the export creation date
+	 */
+	void beginExport(Date dateCreated) {
+		try {
+			writer.write("{\"date_created\":");
+			writer.write(jsonb.toJson(dateCreated));
+			writer.write(",\"images\":[");
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Writes the next image.
+	 * @param image the image
+	 */
+	void writeImage(ImageInfo image) {
+		try {
+			if(images++ > 0) {
+				writer.write(',');
+			}
+			writer.write(jsonb.toJson(image));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Completes the export document.
+	 */
+	void endExport() {
+		try {
+			writer.write("]}");
+			writer.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		try {
+			jsonb.close();
+		} catch (Exception e) {
+			throw new IOException(e);
+		} finally {
+			writer.close();
+		}
+	}
+	
+}
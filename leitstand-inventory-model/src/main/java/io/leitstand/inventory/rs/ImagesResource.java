@@ -58,6 +58,7 @@ import io.leitstand.inventory.service.ImageState;
 import io.leitstand.inventory.service.ImageStatistics;
 import io.leitstand.inventory.service.ImageStatisticsElementGroupElementImages;
 import io.leitstand.inventory.service.ImageType;
+import io.leitstand.inventory.service.ImageUpgradeCandidate;
 import io.leitstand.inventory.service.PlatformChipsetName;
 import io.leitstand.inventory.service.RoleImages;
 import io.leitstand.inventory.service.Version;
@@ -153,6 +154,13 @@ public class ImagesResource {
 		return service.getImageStatistics(id);
 	}
 
+	@GET
+	@Path("/{image_id:"+UUID_PATTERN+"}/upgrade_candidates")
+	@Scopes({IVT, IVT_READ, IVT_IMAGE})
+	public List<ImageUpgradeCandidate> findUpgradeCandidates(@PathParam("image_id") ImageId id){
+		return service.findUpgradeCandidates(id);
+	}
+
 	@GET
 	@Path("/{image_id:"+UUID_PATTERN+"}/statistics/{group_id:"+UUID_PATTERN+"}")
 	@Scopes({IVT, IVT_READ, IVT_IMAGE})
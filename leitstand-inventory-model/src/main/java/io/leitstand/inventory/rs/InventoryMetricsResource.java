@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.rs;
+
+import static io.leitstand.inventory.rs.Scopes.IVT;
+import static io.leitstand.inventory.rs.Scopes.IVT_READ;
+import static javax.json.Json.createObjectBuilder;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+
+import javax.inject.Inject;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+import io.leitstand.commons.rs.Resource;
+import io.leitstand.inventory.model.ElementCache;
+import io.leitstand.inventory.model.ElementGroupStatisticsIndex;
+import io.leitstand.inventory.model.EventOutboxPublisher;
+import io.leitstand.inventory.model.HeartbeatWatchDog;
+import io.leitstand.security.auth.Scopes;
+
+/**
+ * Publishes the metrics of the background jobs of this inventory instance.
+ * <p>
+ * All metrics are collected in memory since the startup of the inventory instance.
+ * Every inventory instance reports its own metrics.
+ */
+@Resource
+@Scopes({IVT, IVT_READ})
+@Path("/metrics")
+@Produces(APPLICATION_JSON)
+public class InventoryMetricsResource {
+
+	@Inject
+	private HeartbeatWatchDog watchdog;
+	
+	@Inject
+	private EventOutboxPublisher outbox;
+	
+	@Inject
+	private ElementGroupStatisticsIndex statistics;
+	
+	@Inject
+	private ElementCache cache;
+	
+	@GET
+	public JsonObject getMetrics() {
+		return createObjectBuilder()
+			   .add("heartbeat_watchdog", heartbeatWatchDogMetrics())
+			   .add("event_outbox", eventOutboxMetrics())
+			   .add("group_statistics", groupStatisticsMetrics())
+			   .add("element_cache", elementCacheMetrics())
+			   .build();
+	}
+	
+	private JsonObjectBuilder heartbeatWatchDogMetrics() {
+		return createObjectBuilder()
+			   .add("monitored_elements", watchdog.getMonitoredElements())
+			   .add("detached_elements", watchdog.getDetachedElements())
+			   .add("last_detection_lag_ms", watchdog.getLastDetectionLag())
+			   .add("max_detection_lag_ms", watchdog.getMaxDetectionLag());
+	}
+	
+	private JsonObjectBuilder eventOutboxMetrics() {
+		return createObjectBuilder()
+			   .add("published_events", outbox.getPublishedEvents())
+			   .add("coalesced_events", outbox.getCoalescedEvents())
+			   .add("discarded_events", outbox.getDiscardedEvents())
+			   .add("pending_events", outbox.getPendingEvents())
+			   .add("throughput_per_sec", outbox.getThroughput())
+			   .add("last_publish_lag_ms", outbox.getLastPublishLag())
+			   .add("max_publish_lag_ms", outbox.getMaxPublishLag());
+	}
+	
+	private JsonObjectBuilder groupStatisticsMetrics() {
+		return createObjectBuilder()
+			   .add("groups", statistics.getGroupCount())
+			   .add("elements", statistics.getElementCount())
+			   .add("corrected_groups", statistics.getCorrectedGroups())
+			   .add("last_reconciliation_duration_ms", statistics.getLastReconciliationDuration());
+	}
+	
+	private JsonObjectBuilder elementCacheMetrics() {
+		return createObjectBuilder()
+			   .add("entries", cache.getSize())
+			   .add("hits", cache.getHits())
+			   .add("misses", cache.getMisses())
+			   .add("hit_ratio", cache.getHitRatio())
+			   .add("evictions", cache.getEvictions())
+			   .add("invalidations", cache.getInvalidations());
+	}
+	
+}
@@ -37,11 +37,13 @@ public class InventoryResources implements ApiResourceProvider {
 		return asSortedSet((a,b) -> a.getName().compareTo(b.getName()),
 						   CloneElementResource.class,
 						   DnsZoneResource.class,
+						   ElementConfigBatchResource.class,
 						   ElementConfigResource.class,
 						   ElementDnsRecordSetResource.class,
 						   ElementEnvironmentResource.class,
 						   ElementGroupElementsResource.class,
 						   ElementGroupExportResource.class,
+						   ElementGroupImportResource.class,
 						   ElementGroupSettingsResource.class,
 						   ElementGroupsResource.class,
 						   ElementResource.class,
@@ -54,14 +56,17 @@ public class InventoryResources implements ApiResourceProvider {
 						   ElementServicesResource.class,
 						   ElementSettingsResource.class,
 						   FacilityResource.class,
+						   IPPrefixResource.class,
 						   ImageExportResource.class,
 						   ImagesResource.class,
+						   InventoryMetricsResource.class,
 						   PackageResource.class,
 						   PhysicalInterfacesResource.class,
 						   PlatformResource.class,
 						   RackResource.class,
 						   ReleasesResource.class,
 						   ServiceDefinitionResource.class,
+						   TopologyResource.class,
 						   OperationalStateReader.class);
 	}
 
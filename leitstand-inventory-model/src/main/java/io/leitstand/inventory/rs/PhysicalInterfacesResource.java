@@ -26,7 +26,10 @@ import static io.leitstand.commons.rs.Responses.success;
 import static io.leitstand.inventory.rs.Scopes.IVT;
 import static io.leitstand.inventory.rs.Scopes.IVT_ELEMENT;
 import static io.leitstand.inventory.rs.Scopes.IVT_READ;
+import static io.leitstand.inventory.service.PhysicalInterfaceCursor.cursorOf;
+import static io.leitstand.inventory.service.ReasonCode.IVT0357E_ELEMENT_IFP_CURSOR_INVALID;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static javax.ws.rs.core.Response.fromResponse;
 
 import java.util.List;
 
@@ -39,7 +42,9 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Response;
 
+import io.leitstand.commons.UnprocessableEntityException;
 import io.leitstand.commons.rs.Resource;
+import io.leitstand.inventory.service.PhysicalInterfaceCursor;
 import io.leitstand.inventory.service.PhysicalInterfaceData;
 import io.leitstand.inventory.service.PhysicalInterfaceService;
 import io.leitstand.security.auth.Scopes;
@@ -55,9 +60,22 @@ public class PhysicalInterfacesResource {
 	@Inject
 	private PhysicalInterfaceService ifps;
 	
+    /**
+     * Searches physical interfaces.
+     * The first page and all pages addressed by a cursor are read by means of keyset pagination. 
+     * The offset is only considered if no cursor is specified.
+     * The response contains a <code>Leitstand-Cursor</code> header with the cursor of the next page if more interfaces exist.
+     * @param facilityFilter the facility filter
+     * @param ifpFilter the interface filter
+     * @param cursor the cursor of the last interface of the previous page
+     * @param offset the number of interfaces to skip
+     * @param limit the maximum number of interfaces to return
+     * @return the matching interfaces
+     */
     @GET
 	public Response findPhysicalInterfaces(@QueryParam("facility") String facilityFilter,
 	                                       @QueryParam("ifp") String ifpFilter,
+	                                       @QueryParam("cursor") String cursor,
 	                                       @QueryParam("offset") int offset,
 	                                       @QueryParam("limit") @DefaultValue("100") int limit){
 		String trimmedIfpFilter = trim(ifpFilter);
@@ -66,10 +84,18 @@ public class PhysicalInterfacesResource {
 	        return noContent();
 	    }
 		
-	    List<PhysicalInterfaceData> data = ifps.findPhysicalInterfaces(facilityFilter,
-	                                                                   trimmedIfpFilter, 
-		                                                               offset, 
-		                                                               limit+1);
+	    List<PhysicalInterfaceData> data = null;
+	    if(isEmptyString(cursor) && offset > 0) {
+	    	data = ifps.findPhysicalInterfaces(trimmedFacilityFilter,
+	    									   trimmedIfpFilter, 
+	    									   offset, 
+	    									   limit+1);
+	    } else {
+	    	data = ifps.findPhysicalInterfaces(trimmedFacilityFilter, 
+	    									   trimmedIfpFilter, 
+	    									   parseCursor(cursor), 
+	    									   limit+1);
+	    }
 	    
 	    boolean eof = data.size() < limit +1;
 	    
@@ -78,12 +104,27 @@ public class PhysicalInterfacesResource {
 	        data = data.subList(0, limit);
 	    }
 	    
-	    return success(data, 
-	                   offsetHeader(offset),
-	                   limitHeader(limit),
-	                   sizeHeader(data.size()),
-	                   eofHeader(eof));
+	    Response response = success(data, 
+	    							offsetHeader(offset),
+	    							limitHeader(limit),
+	    							sizeHeader(data.size()),
+	    							eofHeader(eof));
+	    if(eof || data.isEmpty()) {
+	    	return response;
+	    }
+	    return fromResponse(response)
+	    	   .header("Leitstand-Cursor", cursorOf(data.get(data.size()-1)))
+	    	   .build();
 	    
 	}
+    
+    private static PhysicalInterfaceCursor parseCursor(String cursor) {
+    	try {
+    		return PhysicalInterfaceCursor.valueOf(cursor);
+    	} catch (IllegalArgumentException e) {
+    		throw new UnprocessableEntityException(IVT0357E_ELEMENT_IFP_CURSOR_INVALID, 
+    											   cursor);
+    	}
+    }
 
 }
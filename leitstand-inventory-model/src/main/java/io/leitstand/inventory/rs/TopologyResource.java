@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.rs;
+
+import static io.leitstand.commons.model.Patterns.UUID_PATTERN;
+import static io.leitstand.inventory.rs.Scopes.IVT;
+import static io.leitstand.inventory.rs.Scopes.IVT_ELEMENT;
+import static io.leitstand.inventory.rs.Scopes.IVT_READ;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+
+import javax.inject.Inject;
+import javax.validation.Valid;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+
+import io.leitstand.commons.rs.Resource;
+import io.leitstand.inventory.service.ElementGroupId;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementName;
+import io.leitstand.inventory.service.Topology;
+import io.leitstand.inventory.service.TopologyService;
+import io.leitstand.security.auth.Scopes;
+
+@Resource
+@Scopes({IVT, IVT_READ, IVT_ELEMENT})
+@Path("/topology")
+@Consumes(APPLICATION_JSON)
+@Produces(APPLICATION_JSON)
+public class TopologyResource {
+
+	@Inject
+	private TopologyService service;
+	
+	@GET
+	@Path("/elements/{id:"+UUID_PATTERN+"}/neighborhood")
+	public Topology getNeighborhood(@Valid @PathParam("id") ElementId id,
+									@QueryParam("hops") @DefaultValue("1") int hops){
+		return service.getNeighborhood(id, hops);
+	}
+
+	@GET
+	@Path("/elements/{name}/neighborhood")
+	public Topology getNeighborhood(@Valid @PathParam("name") ElementName name,
+									@QueryParam("hops") @DefaultValue("1") int hops){
+		return service.getNeighborhood(name, hops);
+	}
+	
+	@GET
+	@Path("/elements/{id:"+UUID_PATTERN+"}/paths/{to_id:"+UUID_PATTERN+"}")
+	public Topology getShortestPath(@Valid @PathParam("id") ElementId from,
+									@Valid @PathParam("to_id") ElementId to){
+		return service.getShortestPath(from, to);
+	}
+	
+	@GET
+	@Path("/elements/{name}/paths/{to_name}")
+	public Topology getShortestPath(@Valid @PathParam("name") ElementName from,
+									@Valid @PathParam("to_name") ElementName to){
+		return service.getShortestPath(from, to);
+	}
+	
+	@GET
+	@Path("/groups/{group_id:"+UUID_PATTERN+"}")
+	public Topology getGroupTopology(@Valid @PathParam("group_id") ElementGroupId groupId){
+		return service.getGroupTopology(groupId);
+	}
+	
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.event;
+
+import static io.leitstand.event.queue.service.TopicName.topicName;
+import static io.leitstand.inventory.event.DnsZoneCreatedEvent.newDnsZoneCreatedEvent;
+import static io.leitstand.inventory.event.DomainEventAdapter.coalescingKey;
+import static io.leitstand.inventory.event.ElementConfigRemovedEvent.newElementConfigRemovedEvent;
+import static io.leitstand.inventory.event.ElementConfigStoredEvent.newElementConfigStoredEvent;
+import static io.leitstand.inventory.event.ElementLogicalInterfaceEvent.newElementLogicalInterfaceEvent;
+import static io.leitstand.inventory.event.ElementOperationalStateChangedEvent.newElementOperationalStateChangedEvent;
+import static io.leitstand.inventory.event.ElementPhysicalInterfaceRemovedEvent.newPhysicalInterfaceRemovedEvent;
+import static io.leitstand.inventory.event.ElementPhysicalInterfaceStoredEvent.newPhysicalInterfaceStoredEvent;
+import static io.leitstand.inventory.event.ElementRenamedEvent.newElementRenamedEvent;
+import static io.leitstand.inventory.event.ElementSettingsUpdatedEvent.newElementSettingsUpdatedEvent;
+import static io.leitstand.inventory.event.ImageStateChangedEvent.newImageStateChangedEvent;
+import static io.leitstand.inventory.event.ImageStoredEvent.newImageStoredEvent;
+import static io.leitstand.inventory.service.DnsZoneId.randomDnsZoneId;
+import static io.leitstand.inventory.service.ElementConfigName.elementConfigName;
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ImageId.randomImageId;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.OperationalState.DOWN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import io.leitstand.inventory.model.EventOutbox;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ImageId;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DomainEventAdapterTest {
+
+	private static final ElementId ELEMENT_ID = randomElementId();
+	
+	@Mock
+	private EventOutbox outbox;
+	
+	@InjectMocks
+	private DomainEventAdapter adapter = new DomainEventAdapter();
+	
+	@Test
+	public void coalesce_element_settings_by_element() {
+		assertEquals("element:"+ELEMENT_ID, 
+					 coalescingKey(newElementSettingsUpdatedEvent()
+							 	   .withElementId(ELEMENT_ID)
+							 	   .build()));
+	}
+	
+	@Test
+	public void coalesce_stored_physical_interface_by_element_and_interface() {
+		assertEquals("ifp:"+ELEMENT_ID+":ifp-0/0/1", 
+					 coalescingKey(newPhysicalInterfaceStoredEvent()
+							 	   .withElementId(ELEMENT_ID)
+							 	   .withInterfaceName(interfaceName("ifp-0/0/1"))
+							 	   .build()));
+	}
+	
+	@Test
+	public void never_coalesce_removed_physical_interface() {
+		assertNull(coalescingKey(newPhysicalInterfaceRemovedEvent()
+								 .withElementId(ELEMENT_ID)
+								 .withInterfaceName(interfaceName("ifp-0/0/1"))
+								 .build()));
+	}
+	
+	@Test
+	public void coalesce_logical_interface_by_element_and_interface() {
+		assertEquals("ifl:"+ELEMENT_ID+":ifl-0/0/1/0", 
+					 coalescingKey(newElementLogicalInterfaceEvent()
+							 	   .withElementId(ELEMENT_ID)
+							 	   .withInterfaceName(interfaceName("ifl-0/0/1/0"))
+							 	   .build()));
+	}
+	
+	@Test
+	public void never_coalesce_event_for_all_logical_interfaces() {
+		assertNull(coalescingKey(newElementLogicalInterfaceEvent()
+								 .withElementId(ELEMENT_ID)
+								 .build()));
+	}
+	
+	@Test
+	public void coalesce_stored_config_by_element_and_config_name() {
+		assertEquals("config:"+ELEMENT_ID+":running", 
+					 coalescingKey(newElementConfigStoredEvent()
+							 	   .withElementId(ELEMENT_ID)
+							 	   .withConfigName(elementConfigName("running"))
+							 	   .build()));
+	}
+	
+	@Test
+	public void never_coalesce_removed_config() {
+		assertNull(coalescingKey(newElementConfigRemovedEvent()
+								 .withElementId(ELEMENT_ID)
+								 .withConfigName(elementConfigName("running"))
+								 .build()));
+	}
+	
+	@Test
+	public void never_coalesce_element_state_transitions() {
+		assertNull(coalescingKey(newElementRenamedEvent()
+								 .withElementId(ELEMENT_ID)
+								 .withPreviousName(elementName("leaf-0"))
+								 .build()));
+		assertNull(coalescingKey(newElementOperationalStateChangedEvent()
+								 .withElementId(ELEMENT_ID)
+								 .withPreviousState(DOWN)
+								 .build()));
+	}
+	
+	@Test
+	public void publish_element_event_to_element_topic() {
+		ElementSettingsUpdatedEvent event = newElementSettingsUpdatedEvent()
+											.withElementId(ELEMENT_ID)
+											.build();
+		adapter.publishElementEvent(event);
+		verify(outbox).add(topicName("element"), "element:"+ELEMENT_ID, event);
+	}
+	
+	@Test
+	public void never_coalesce_dns_zone_events() {
+		DnsZoneCreatedEvent event = newDnsZoneCreatedEvent()
+									.withDnsZoneId(randomDnsZoneId())
+									.build();
+		adapter.publishElementEvent(event);
+		verify(outbox).add(topicName("element"), null, event);
+	}
+	
+	@Test
+	public void coalesce_stored_image_by_image() {
+		ImageId imageId = randomImageId();
+		ImageStoredEvent event = newImageStoredEvent()
+								 .withImageId(imageId)
+								 .build();
+		adapter.publishImageEvent(event);
+		verify(outbox).add(topicName("image"), "image:"+imageId, event);
+	}
+	
+	@Test
+	public void never_coalesce_image_state_transitions() {
+		ImageStateChangedEvent event = newImageStateChangedEvent()
+									   .withImageId(randomImageId())
+									   .build();
+		adapter.publishImageEvent(event);
+		verify(outbox).add(topicName("image"), null, event);
+	}
+	
+}
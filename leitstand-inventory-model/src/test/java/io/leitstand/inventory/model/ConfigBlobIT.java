@@ -0,0 +1,310 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.inventory.model.ConfigContentDigest.blobHash;
+import static io.leitstand.inventory.model.Element.findElementByName;
+import static io.leitstand.inventory.model.ElementConfigStorageMode.FULL;
+import static io.leitstand.inventory.model.ElementGroup.findElementGroupByName;
+import static io.leitstand.inventory.model.ElementRole.findRoleByName;
+import static io.leitstand.inventory.service.ConfigurationState.ACTIVE;
+import static io.leitstand.inventory.service.ConfigurationState.CANDIDATE;
+import static io.leitstand.inventory.service.ElementConfigName.elementConfigName;
+import static io.leitstand.inventory.service.ElementGroupId.randomGroupId;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementGroupType.groupType;
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.Plane.DATA;
+import static io.leitstand.security.auth.UserName.userName;
+import static java.lang.ClassLoader.getSystemResourceAsStream;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN_TYPE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Properties;
+
+import javax.enterprise.event.Event;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.leitstand.commons.messages.Messages;
+import io.leitstand.commons.model.Repository;
+import io.leitstand.inventory.service.ConfigurationState;
+import io.leitstand.inventory.service.ElementConfigId;
+import io.leitstand.inventory.service.ElementConfigName;
+import io.leitstand.inventory.service.ElementConfigService;
+import io.leitstand.inventory.service.ElementGroupId;
+import io.leitstand.inventory.service.ElementGroupName;
+import io.leitstand.inventory.service.ElementGroupType;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementName;
+import io.leitstand.inventory.service.ElementRoleName;
+import io.leitstand.security.auth.UserContext;
+
+public class ConfigBlobIT extends InventoryIT {
+
+	private static final ElementGroupId GROUP_ID = randomGroupId();
+	private static final ElementGroupType GROUP_TYPE = groupType("unittest");
+	private static final ElementGroupName GROUP_NAME = groupName("group");
+	private static final ElementRoleName ELEMENT_ROLE = elementRoleName("role");
+	private static final ElementId ELEMENT_A_ID = randomElementId();
+	private static final ElementName ELEMENT_A_NAME = elementName("element-a");
+	private static final ElementId ELEMENT_B_ID = randomElementId();
+	private static final ElementName ELEMENT_B_NAME = elementName("element-b");
+	private static final ElementConfigName CONFIG_NAME = elementConfigName("config");
+	private static final String CONFIG = "hostname template\ninterface ifp-0/0/1\n  mtu 9000\n";
+	// Default of LEITSTAND_CONFIGSTORE_HISTORY_SIZE
+	private static final int HISTORY_SIZE = 50;
+	
+	private Repository repository;
+	private ElementConfigService service;
+	
+	// Blobs are added by INSERT ... ON CONFLICT statements, which H2 only supports in PostgreSQL mode.
+	// The mode applies to the whole in-memory database, which is shared by all integration tests.
+	// It is therefore enabled for this test class only and reset after the last test, 
+	// even if a test or its cleanup failed.
+	@BeforeClass
+	public static void enablePostgreSQLMode() throws IOException, SQLException {
+		setDatabaseMode("PostgreSQL");
+	}
+	
+	@AfterClass
+	public static void restoreDatabaseMode() throws IOException, SQLException {
+		setDatabaseMode("REGULAR");
+	}
+	
+	private static void setDatabaseMode(String mode) throws IOException, SQLException {
+		Properties properties = new Properties();
+		properties.load(getSystemResourceAsStream("inventory-it.properties"));
+		try (Connection c = DriverManager.getConnection(properties.getProperty("javax.persistence.jdbc.url"),
+														properties.getProperty("javax.persistence.jdbc.user"),
+														properties.getProperty("javax.persistence.jdbc.password"));
+			 Statement stmt = c.createStatement()){
+			stmt.execute("SET MODE "+mode);
+		}
+	}
+	
+	@Before
+	public void initTestEnvironment() {
+		repository = new Repository(getEntityManager());
+		ElementProvider elements = new ElementProvider(repository);
+		UserContext userContext = mock(UserContext.class);
+		when(userContext.getUserName()).thenReturn(userName("unittest"));
+		ElementConfigManager configs = new ElementConfigManager(repository,
+																getDatabase(),
+																userContext,
+																mock(Event.class),
+																mock(Messages.class),
+																FULL,
+																true);
+		service = new DefaultElementConfigService(elements, configs);
+		
+		transaction(() -> {
+			ElementGroup group = repository.addIfAbsent(findElementGroupByName(GROUP_TYPE, 
+																			   GROUP_NAME), 
+														() -> new ElementGroup(GROUP_ID, 
+																		  	   GROUP_TYPE, 
+																		  	   GROUP_NAME));
+			repository.flush();
+			ElementRole role = repository.addIfAbsent(findRoleByName(ELEMENT_ROLE), 
+							 						  () -> new ElementRole(ELEMENT_ROLE,DATA)); 
+			repository.addIfAbsent(findElementByName(ELEMENT_A_NAME), 
+								   () -> new Element(group,
+									  			     role, 
+													 ELEMENT_A_ID,
+													 ELEMENT_A_NAME));
+			repository.addIfAbsent(findElementByName(ELEMENT_B_NAME), 
+								   () -> new Element(group,
+									  			     role, 
+													 ELEMENT_B_ID,
+													 ELEMENT_B_NAME));
+		});
+	}
+	
+	private ElementConfigId store(ElementId elementId, String config) {
+		return store(elementId, CANDIDATE, config);
+	}
+	
+	private ElementConfigId store(ElementId elementId, 
+								  ConfigurationState state, 
+								  String config) {
+		ElementConfigId[] configId = new ElementConfigId[1];
+		transaction(() -> {
+			configId[0] = service.storeElementConfig(elementId, 
+													 CONFIG_NAME, 
+													 TEXT_PLAIN_TYPE, 
+													 state, 
+													 config, 
+													 null)
+								 .getConfigId();
+		});
+		return configId[0];
+	}
+	
+	/**
+	 * Returns the reference counter of the blob with the given content or <code>null</code> if no such blob exists.
+	 */
+	private Integer refcount(String config) {
+		Integer[] refcount = new Integer[1];
+		transaction(() -> {
+			List<Integer> blobs = getDatabase().executeQuery(prepare("SELECT refcount FROM inventory.config_blob WHERE hash = ?", 
+																	 blobHash(config.getBytes(UTF_8))), 
+															 rs -> rs.getInt(1));
+			refcount[0] = blobs.isEmpty() ? null : blobs.get(0);
+		});
+		return refcount[0];
+	}
+	
+	private long count(String sql, Object... args) {
+		long[] count = new long[1];
+		transaction(() -> {
+			count[0] = getDatabase().getSingleResult(prepare(sql, args), 
+													 rs -> rs.getLong(1));
+		});
+		return count[0];
+	}
+	
+	private void assertConfig(ElementId elementId, String config) {
+		transaction(() -> {
+			assertEquals(config, service.getElementConfig(elementId, CONFIG_NAME).getConfig());
+		});
+	}
+	
+	@Test
+	public void store_identical_configurations_once() {
+		store(ELEMENT_A_ID, CONFIG);
+		store(ELEMENT_B_ID, CONFIG);
+		
+		assertEquals(Integer.valueOf(2), refcount(CONFIG));
+		assertEquals(0L, count("SELECT count(*) FROM inventory.element_config WHERE config IS NOT NULL"));
+		assertConfig(ELEMENT_A_ID, CONFIG);
+		assertConfig(ELEMENT_B_ID, CONFIG);
+	}
+	
+	@Test
+	public void keep_blob_until_last_revision_is_removed() {
+		store(ELEMENT_A_ID, CONFIG);
+		store(ELEMENT_B_ID, CONFIG);
+		
+		transaction(() -> {
+			service.removeElementConfigRevisions(ELEMENT_A_ID, CONFIG_NAME);
+		});
+		assertEquals(Integer.valueOf(1), refcount(CONFIG));
+		assertConfig(ELEMENT_B_ID, CONFIG);
+		
+		transaction(() -> {
+			service.removeElementConfigRevisions(ELEMENT_B_ID, CONFIG_NAME);
+		});
+		assertNull(refcount(CONFIG));
+	}
+	
+	@Test
+	public void release_blob_of_removed_revision() {
+		ElementConfigId configId = store(ELEMENT_A_ID, CONFIG);
+		store(ELEMENT_B_ID, CONFIG);
+		
+		transaction(() -> {
+			service.removeElementConfig(ELEMENT_A_ID, configId);
+		});
+		
+		assertEquals(Integer.valueOf(1), refcount(CONFIG));
+		assertConfig(ELEMENT_B_ID, CONFIG);
+	}
+	
+	@Test
+	public void release_blob_of_updated_candidate_configuration() {
+		store(ELEMENT_A_ID, CONFIG);
+		store(ELEMENT_B_ID, CONFIG);
+		
+		String update = CONFIG + "interface ifp-0/0/2\n";
+		store(ELEMENT_A_ID, update);
+		
+		assertEquals(Integer.valueOf(1), refcount(CONFIG));
+		assertEquals(Integer.valueOf(1), refcount(update));
+		assertConfig(ELEMENT_A_ID, update);
+		assertConfig(ELEMENT_B_ID, CONFIG);
+	}
+	
+	@Test
+	public void release_blobs_of_force_removed_element() {
+		store(ELEMENT_A_ID, CONFIG);
+		store(ELEMENT_B_ID, CONFIG);
+		
+		transaction(() -> {
+			ElementManager manager = new ElementManager(repository,
+														mock(Event.class),
+														mock(Messages.class),
+														mock(ElementSearchIndex.class));
+			manager.forceRemove(repository.execute(findElementByName(ELEMENT_A_NAME)));
+		});
+		
+		assertEquals(Integer.valueOf(1), refcount(CONFIG));
+		assertConfig(ELEMENT_B_ID, CONFIG);
+	}
+	
+	@Test
+	public void release_blobs_of_purged_revisions() {
+		// The first three revisions of element A become outdated. 
+		// Two of them share the blob with element B.
+		String other = CONFIG + "interface ifp-0/0/2\n";
+		store(ELEMENT_B_ID, ACTIVE, CONFIG);
+		ElementConfigId[] revisions = new ElementConfigId[HISTORY_SIZE + 3];
+		revisions[0] = store(ELEMENT_A_ID, ACTIVE, CONFIG);
+		revisions[1] = store(ELEMENT_A_ID, ACTIVE, other);
+		revisions[2] = store(ELEMENT_A_ID, ACTIVE, CONFIG);
+		for(int i=3; i < revisions.length; i++) {
+			revisions[i] = store(ELEMENT_A_ID, ACTIVE, CONFIG + "! revision "+i+"\n");
+		}
+		assertEquals(Integer.valueOf(3), refcount(CONFIG));
+		
+		// Revisions are stored faster than the timestamp resolution.
+		transaction(() -> {
+			for(int i=0; i < revisions.length; i++) {
+				getDatabase().executeUpdate(prepare("UPDATE inventory.element_config SET tsmodified = ? WHERE uuid = ?", 
+													new Timestamp(1_000_000L * (i+1)), 
+													revisions[i]));
+			}
+		});
+		
+		transaction(() -> {
+			service.purgeOutdatedElementConfigs(ELEMENT_A_ID, CONFIG_NAME);
+		});
+		
+		assertEquals(Integer.valueOf(1), refcount(CONFIG));
+		assertNull(refcount(other));
+		assertEquals(Integer.valueOf(1), refcount(CONFIG + "! revision 3\n"));
+		assertEquals(HISTORY_SIZE, count("SELECT count(*) FROM inventory.element_config c JOIN inventory.element e ON c.element_id = e.id WHERE e.uuid = ?", 
+										 ELEMENT_A_ID));
+		assertConfig(ELEMENT_B_ID, CONFIG);
+	}
+	
+}
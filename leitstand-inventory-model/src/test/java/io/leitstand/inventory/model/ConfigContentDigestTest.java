@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.ConfigContentDigest.blobHash;
+import static io.leitstand.inventory.model.ConfigContentDigest.digest;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+
+import org.junit.Test;
+
+public class ConfigContentDigestTest {
+
+    private static String largeConfig() {
+        StringBuilder config = new StringBuilder();
+        for(int i=0; i < 10000; i++) {
+            config.append("interface ifp-0/0/").append(i).append(" description \u00fcplink\n");
+        }
+        return config.toString();
+    }
+
+    @Test
+    public void compute_md5_content_hash() throws Exception {
+        String config = largeConfig();
+        String expected = new BigInteger(MessageDigest.getInstance("MD5").digest(config.getBytes(UTF_8))).abs().toString(16);
+        assertEquals(expected, digest(config).getContentHash());
+    }
+
+    @Test
+    public void compute_sha256_blob_hash() {
+        String config = largeConfig();
+        assertEquals(blobHash(config.getBytes(UTF_8)), digest(config).getBlobHash());
+    }
+
+    @Test
+    public void compute_sha256_blob_hash_of_empty_config() {
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", digest("").getBlobHash());
+    }
+
+}
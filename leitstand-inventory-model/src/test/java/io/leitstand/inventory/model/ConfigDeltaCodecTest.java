@@ -0,0 +1,188 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.ConfigDeltaCodec.decode;
+import static io.leitstand.inventory.model.ConfigDeltaCodec.encode;
+import static io.leitstand.inventory.model.ConfigDeltaCodec.targetLength;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import org.junit.Test;
+
+public class ConfigDeltaCodecTest {
+
+    private static byte[] routerConfig(int interfaces, int revision) {
+        StringBuilder config = new StringBuilder();
+        config.append("hostname leaf-01\n");
+        config.append("! revision ").append(revision).append('\n');
+        for(int i=0; i < interfaces; i++) {
+            config.append("interface ifp-0/0/").append(i).append('\n')
+                  .append("  description uplink-").append(i % 7 == revision % 7 ? "changed-"+revision : "default").append('\n')
+                  .append("  mtu 9000\n")
+                  .append("  address 10.").append(i / 256).append('.').append(i % 256).append(".1/31\n")
+                  .append("!\n");
+        }
+        return config.toString().getBytes(UTF_8);
+    }
+
+    @Test
+    public void rebuild_identical_revision() {
+        byte[] config = routerConfig(100, 1);
+        byte[] delta = encode(config, config);
+        assertArrayEquals(config, decode(config, delta));
+        assertTrue(delta.length < 64);
+    }
+
+    @Test
+    public void rebuild_modified_revision() {
+        byte[] base = routerConfig(1000, 2);
+        byte[] target = routerConfig(1000, 1);
+        byte[] delta = encode(base, target);
+        assertArrayEquals(target, decode(base, delta));
+        assertTrue(delta.length < target.length / 10);
+    }
+
+    @Test
+    public void rebuild_from_empty_base() {
+        byte[] target = routerConfig(10, 1);
+        assertArrayEquals(target, decode(new byte[0], encode(new byte[0], target)));
+    }
+
+    @Test
+    public void rebuild_empty_target() {
+        byte[] base = routerConfig(10, 1);
+        assertArrayEquals(new byte[0], decode(base, encode(base, new byte[0])));
+    }
+
+    @Test
+    public void rebuild_random_revisions() {
+        Random random = new Random(42);
+        for(int run=0; run < 50; run++) {
+            byte[] base = new byte[random.nextInt(5000)];
+            random.nextBytes(base);
+            byte[] target = base.clone();
+            for(int i=0; i < 10 && target.length > 0; i++) {
+                target[random.nextInt(target.length)] = (byte) random.nextInt();
+            }
+            assertArrayEquals(target, decode(base, encode(base, target)));
+        }
+    }
+
+    @Test
+    public void rebuild_range_of_modified_revision() throws Exception {
+        byte[] base = routerConfig(1000, 2);
+        byte[] target = routerConfig(1000, 1);
+        byte[] delta = encode(base, target);
+        Random random = new Random(42);
+        for(int run=0; run < 50; run++) {
+            int offset = random.nextInt(target.length);
+            int length = random.nextInt(target.length - offset + 1);
+            ByteArrayOutputStream range = new ByteArrayOutputStream();
+            assertEquals(length, decode(base, delta, offset, length, range));
+            assertArrayEquals(Arrays.copyOfRange(target, offset, offset + length), range.toByteArray());
+        }
+    }
+
+    @Test
+    public void rebuild_range_until_end_of_revision() throws Exception {
+        byte[] base = routerConfig(100, 2);
+        byte[] target = routerConfig(100, 1);
+        ByteArrayOutputStream range = new ByteArrayOutputStream();
+        assertEquals(10, decode(base, encode(base, target), target.length - 10, 100, range));
+        assertArrayEquals(Arrays.copyOfRange(target, target.length - 10, target.length), range.toByteArray());
+    }
+
+    @Test
+    public void read_target_length_without_rebuilding_target() {
+        byte[] base = routerConfig(1000, 2);
+        byte[] target = routerConfig(1000, 1);
+        assertEquals(target.length, targetLength(encode(base, target)));
+        assertEquals(0, targetLength(encode(base, new byte[0])));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void reject_malformed_delta() {
+        decode(new byte[0], new byte[] {1, 2, 3});
+    }
+
+    /**
+     * Creates a delta from the given raw instruction stream.
+     */
+    private static byte[] delta(int... ops) {
+        byte[] raw = new byte[ops.length];
+        for(int i=0; i < ops.length; i++) {
+            raw[i] = (byte) ops[i];
+        }
+        Deflater deflater = new Deflater();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(1); // Format version
+        byte[] buffer = new byte[256];
+        while(!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void reject_truncated_varint() {
+        decode(new byte[0], delta(0x80));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void reject_negative_target_length() {
+        decode(new byte[0], delta(0xFF, 0xFF, 0xFF, 0xFF, 0x0F));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void reject_varint_without_terminating_byte() {
+        decode(new byte[0], delta(0x80, 0x80, 0x80, 0x80, 0x80, 0x01));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void reject_truncated_insert() {
+        // Declares 4 bytes target length and inserts 4 bytes, but provides only 2 bytes.
+        decode(new byte[0], delta(4, 4 << 1, 'a', 'b'));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void reject_copy_beyond_base_revision() {
+        decode(new byte[4], delta(4, (4 << 1) | 1, 2));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void reject_copy_with_truncated_offset() {
+        decode(new byte[4], delta(4, (4 << 1) | 1));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void reject_truncated_compressed_delta() {
+        byte[] base = routerConfig(100, 2);
+        byte[] delta = encode(base, routerConfig(100, 1));
+        decode(base, Arrays.copyOf(delta, delta.length / 2));
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class DeadlineSchedulerTest {
+
+	private DeadlineScheduler<String> scheduler = new DeadlineScheduler<>();
+	
+	@Test
+	public void return_no_deadline_if_nothing_is_scheduled() {
+		assertEquals(Long.MAX_VALUE, scheduler.nextDeadline());
+		assertEquals(emptyList(), scheduler.expired(1000, 10));
+	}
+	
+	@Test
+	public void return_expired_keys_earliest_deadline_first() {
+		scheduler.schedule("c", 300);
+		scheduler.schedule("a", 100);
+		scheduler.schedule("b", 200);
+		assertEquals(100, scheduler.nextDeadline());
+		assertEquals(asList("a","b"), scheduler.expired(200, 10));
+		assertEquals(300, scheduler.nextDeadline());
+		assertEquals(1, scheduler.size());
+	}
+	
+	@Test
+	public void limit_number_of_expired_keys() {
+		scheduler.schedule("a", 100);
+		scheduler.schedule("b", 200);
+		scheduler.schedule("c", 300);
+		assertEquals(asList("a","b"), scheduler.expired(300, 2));
+		assertEquals(asList("c"), scheduler.expired(300, 2));
+	}
+	
+	@Test
+	public void rescheduling_replaces_previous_deadline() {
+		scheduler.schedule("a", 100);
+		scheduler.schedule("b", 200);
+		scheduler.schedule("a", 300);
+		assertEquals(200, scheduler.nextDeadline());
+		assertEquals(asList("b"), scheduler.expired(250, 10));
+		assertEquals(asList("a"), scheduler.expired(300, 10));
+	}
+	
+	@Test
+	public void cancelled_deadline_does_not_expire() {
+		scheduler.schedule("a", 100);
+		scheduler.schedule("b", 200);
+		scheduler.cancel("a");
+		assertEquals(200, scheduler.nextDeadline());
+		assertEquals(asList("b"), scheduler.expired(300, 10));
+	}
+	
+	@Test
+	public void frequent_rescheduling_preserves_latest_deadlines() {
+		for(int i=0; i < 10000; i++) {
+			scheduler.schedule("k"+(i%10), i);
+		}
+		assertEquals(10, scheduler.size());
+		assertEquals(9990, scheduler.nextDeadline());
+		assertEquals(asList("k0","k1","k2"), scheduler.expired(9992, 10));
+	}
+	
+	@Test
+	public void retain_matching_keys() {
+		scheduler.schedule("a", 100);
+		scheduler.schedule("b", 200);
+		scheduler.retain(key -> key.equals("b"));
+		assertEquals(1, scheduler.size());
+		assertEquals(200, scheduler.nextDeadline());
+	}
+	
+}
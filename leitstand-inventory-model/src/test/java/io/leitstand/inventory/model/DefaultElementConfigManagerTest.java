@@ -5,17 +5,24 @@ import static io.leitstand.inventory.service.ElementConfigId.randomConfigId;
 import static io.leitstand.inventory.service.ElementConfigName.elementConfigName;
 import static io.leitstand.inventory.service.ElementId.randomElementId;
 import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementAlias.elementAlias;
+import static io.leitstand.inventory.service.ElementConfigBatchItem.newElementConfigBatchItem;
+import static java.util.Arrays.asList;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN_TYPE;
+import static org.mockito.Matchers.anyCollectionOf;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import io.leitstand.inventory.service.ElementConfigBatchItem;
 import io.leitstand.inventory.service.ElementConfigId;
 import io.leitstand.inventory.service.ElementConfigName;
 import io.leitstand.inventory.service.ElementConfigService;
@@ -138,6 +145,25 @@ public class DefaultElementConfigManagerTest {
                                              CONFIG_ID, 
                                              "comment");
     }
-
     
+    @Test
+    public void resolve_batch_elements_by_id_name_and_alias() {
+        ElementId leafId = randomElementId();
+        Element leaf = mock(Element.class);
+        when(leaf.getElementId()).thenReturn(leafId);
+        when(leaf.getElementName()).thenReturn(elementName("leaf"));
+        Element spine = mock(Element.class);
+        when(spine.getElementName()).thenReturn(elementName("spine"));
+        when(spine.getElementAlias()).thenReturn(elementAlias("spine-alias"));
+        when(providers.tryFetchElementsById(anyCollectionOf(ElementId.class))).thenReturn(asList(leaf));
+        when(providers.tryFetchElementsByName(anyCollectionOf(ElementName.class))).thenReturn(asList(spine));
+        
+        List<ElementConfigBatchItem> items = asList(newElementConfigBatchItem().withElementId(leafId).build(),
+                                                    newElementConfigBatchItem().withElementName(elementName("spine-alias")).build(),
+                                                    newElementConfigBatchItem().withElementName(elementName("unknown")).build());
+        service.storeElementConfigs(items);
+        verify(manager).storeElementConfigs(items, 
+                                            asList(leaf,spine,null));
+    }
+
 }
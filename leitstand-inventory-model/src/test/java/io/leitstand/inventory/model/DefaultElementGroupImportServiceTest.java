@@ -0,0 +1,206 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.ElementGroupImportFailure.ItemType.GROUP;
+import static io.leitstand.inventory.service.ElementGroupImportStatus.State.COMPLETED;
+import static io.leitstand.inventory.service.ElementGroupImportStatus.State.FAILED;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.joining;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import io.leitstand.inventory.service.ElementGroupExport;
+import io.leitstand.inventory.service.ElementGroupImportFailure;
+import io.leitstand.inventory.service.ElementGroupImportStatus;
+import io.leitstand.inventory.service.ElementGroupSettings;
+import io.leitstand.inventory.service.ElementSettings;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DefaultElementGroupImportServiceTest {
+
+	@Mock
+	private ManagedExecutorService pool;
+	
+	@Mock
+	private ElementGroupImporter importer;
+	
+	@Mock
+	private Validator validator;
+	
+	@InjectMocks
+	private DefaultElementGroupImportService service = new DefaultElementGroupImportService();
+	
+	private List<String> chunks;
+	private List<String> groups;
+	private List<String> elements;
+	private List<String> failingGroups;
+	private List<String> failingChunks;
+	private String interruptedGroup;
+	
+	@Before
+	public void initTestEnvironment() {
+		chunks = new ArrayList<>();
+		groups = new ArrayList<>();
+		elements = new ArrayList<>();
+		failingGroups = new ArrayList<>();
+		failingChunks = new ArrayList<>();
+		
+		// Run imports synchronously.
+		doAnswer(invocation -> {
+			((Runnable) invocation.getArguments()[0]).run();
+			return null;
+		}).when(pool).execute(any(Runnable.class));
+		
+		// Simulate a transient failure that interrupts the import once.
+		when(validator.validate(any())).thenAnswer(invocation -> {
+			Object item = invocation.getArguments()[0];
+			if(item instanceof ElementGroupSettings && 
+			   ((ElementGroupSettings) item).getGroupName().toString().equals(interruptedGroup)) {
+				interruptedGroup = null;
+				throw new IllegalStateException("Validator unavailable");
+			}
+			return emptySet();
+		});
+		
+		// Record the stored chunks, groups and elements. 
+		// The chunk is recorded as string, because the import reuses the chunk list.
+		doAnswer(invocation -> {
+			@SuppressWarnings("unchecked")
+			List<ElementGroupExport> chunk = (List<ElementGroupExport>) invocation.getArguments()[0];
+			String names = chunk.stream()
+								.map(group -> String.valueOf(group.getGroup().getGroupName()))
+								.collect(joining(","));
+			if(failingChunks.contains(names)) {
+				throw new IllegalStateException("Chunk rolled back");
+			}
+			chunks.add(names);
+			return null;
+		}).when(importer).storeElementGroups(any(List.class));
+		doAnswer(invocation -> {
+			String name = ((ElementGroupSettings) invocation.getArguments()[0]).getGroupName().toString();
+			if(failingGroups.contains(name)) {
+				throw new IllegalStateException("Duplicate group "+name);
+			}
+			groups.add(name);
+			return null;
+		}).when(importer).storeElementGroup(any(ElementGroupSettings.class));
+		doAnswer(invocation -> {
+			elements.add(((ElementSettings) invocation.getArguments()[0]).getElementName().toString());
+			return null;
+		}).when(importer).storeElement(any(ElementSettings.class));
+	}
+	
+	private static ByteArrayInputStream export(int groups) {
+		StringBuilder export = new StringBuilder("{\"platforms\":[],\"roles\":[],\"groups\":[");
+		for(int i=1; i <= groups; i++) {
+			if(i > 1) {
+				export.append(',');
+			}
+			export.append("{\"group\":{\"group_name\":\"pod-").append(i).append("\"},")
+				  .append("\"elements\":[{\"element_name\":\"leaf-").append(i).append("\"}]}");
+		}
+		export.append("]}");
+		return new ByteArrayInputStream(export.toString().getBytes(UTF_8));
+	}
+	
+	@Test
+	public void store_groups_in_chunks() throws IOException {
+		ElementGroupImportStatus status = service.importElementGroups(export(5), APPLICATION_JSON, 2);
+		
+		status = service.getElementGroupImport(status.getImportId());
+		assertEquals(COMPLETED, status.getState());
+		assertEquals(asList("pod-1,pod-2","pod-3,pod-4","pod-5"), chunks);
+		assertEquals(5, status.getProcessedGroups());
+		assertEquals(5, status.getStoredGroups());
+		assertEquals(5, status.getStoredElements());
+		assertEquals(0, status.getFailedItems());
+	}
+	
+	@Test
+	public void store_groups_of_failed_chunk_one_by_one() throws IOException {
+		failingChunks.add("pod-1,pod-2,pod-3");
+		failingGroups.add("pod-2");
+		
+		ElementGroupImportStatus status = service.importElementGroups(export(4), APPLICATION_JSON, 3);
+		
+		status = service.getElementGroupImport(status.getImportId());
+		assertEquals(COMPLETED, status.getState());
+		assertEquals(asList("pod-4"), chunks);
+		assertEquals(asList("pod-1","pod-3"), groups);
+		assertEquals(asList("leaf-1","leaf-3"), elements);
+		assertEquals(3, status.getStoredGroups());
+		assertEquals(3, status.getStoredElements());
+		assertEquals(1, status.getFailedItems());
+		ElementGroupImportFailure failure = status.getFailures().get(0);
+		assertEquals(GROUP, failure.getItemType());
+		assertEquals("pod-2", failure.getItemName());
+		assertEquals("Duplicate group pod-2", failure.getMessage());
+	}
+	
+	@Test
+	public void resume_interrupted_import_after_last_committed_chunk() throws IOException {
+		failingChunks.add("pod-1,pod-2,pod-3");
+		failingGroups.add("pod-2");
+		interruptedGroup = "pod-5";
+		
+		ElementGroupImportStatus status = service.importElementGroups(export(7), APPLICATION_JSON, 3);
+		
+		status = service.getElementGroupImport(status.getImportId());
+		assertEquals(FAILED, status.getState());
+		assertEquals("Validator unavailable", status.getMessage());
+		assertEquals(3, status.getProcessedGroups());
+		assertEquals(2, status.getStoredGroups());
+		assertEquals(1, status.getFailedItems());
+		assertEquals(asList("pod-1","pod-3"), groups);
+		assertEquals(0, chunks.size());
+		
+		service.resumeElementGroupImport(status.getImportId());
+		
+		status = service.getElementGroupImport(status.getImportId());
+		assertEquals(COMPLETED, status.getState());
+		assertEquals(7, status.getProcessedGroups());
+		// Groups of the committed chunk are neither stored nor reported twice.
+		assertEquals(asList("pod-1","pod-3"), groups);
+		assertEquals(asList("pod-4,pod-5,pod-6","pod-7"), chunks);
+		assertEquals(6, status.getStoredGroups());
+		assertEquals(6, status.getStoredElements());
+		assertEquals(1, status.getFailedItems());
+	}
+	
+}
@@ -61,6 +61,7 @@ public class DnsZoneServiceIT extends InventoryIT{
 		this.repository = new Repository(getEntityManager());
 		this.zones = new DnsZoneProvider(repository);
 		DnsZoneManager manager = new DnsZoneManager(repository,
+													getDatabase(),
 													mock(Event.class),
 													mock(Messages.class));
 		service = new DefaultDnsZoneService(zones,manager);
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.event.ElementOperationalStateChangedEvent.newElementOperationalStateChangedEvent;
+import static io.leitstand.inventory.event.ElementSettingsUpdatedEvent.newElementSettingsUpdatedEvent;
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import io.leitstand.inventory.service.ElementId;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ElementCacheInvalidatorTest {
+	
+	private static final ElementId ELEMENT_ID = randomElementId();
+
+	@Mock
+	private ElementCache cache;
+	
+	@Mock
+	private ElementCacheInvalidationService service;
+	
+	@InjectMocks
+	private ElementCacheInvalidator invalidator = new ElementCacheInvalidator();
+	
+	@Test
+	public void evict_element_when_settings_are_updated() {
+		invalidator.elementSettingsUpdated(newElementSettingsUpdatedEvent()
+										   .withElementId(ELEMENT_ID)
+										   .build());
+		
+		verify(cache).evict(ELEMENT_ID);
+		verify(service).invalidate(ELEMENT_ID);
+	}
+	
+	@Test
+	public void evict_element_when_operational_state_changes() {
+		invalidator.elementOperationalStateChanged(newElementOperationalStateChangedEvent()
+												   .withElementId(ELEMENT_ID)
+												   .build());
+		
+		verify(cache).evict(ELEMENT_ID);
+		verify(service).invalidate(ELEMENT_ID);
+	}
+	
+	@Test
+	public void clear_cache_when_all_elements_are_invalidated() {
+		invalidator.invalidateAll();
+		
+		verify(cache).clear();
+		verify(service).invalidateAll();
+	}
+	
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.AdministrativeState.ACTIVE;
+import static io.leitstand.inventory.service.ElementAlias.elementAlias;
+import static io.leitstand.inventory.service.ElementGroupId.randomGroupId;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementGroupType.groupType;
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.ElementSettings.newElementSettings;
+import static io.leitstand.inventory.service.OperationalState.UP;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import io.leitstand.inventory.service.ElementAlias;
+import io.leitstand.inventory.service.ElementGroupId;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementSettings;
+
+public class ElementCacheTest {
+
+	private static final ElementId ELEMENT_ID = randomElementId();
+	private static final ElementGroupId GROUP_ID = randomGroupId();
+	
+	private static CachedElement element(long id, ElementId elementId, String name, String alias) {
+		return new CachedElement(id, 
+								 elementId, 
+								 elementName(name), 
+								 alias != null ? elementAlias(alias) : (ElementAlias) null,
+								 GROUP_ID,
+								 groupName("pod-1"),
+								 groupType("pod"),
+								 elementRoleName("leaf"),
+								 ACTIVE,
+								 UP);
+	}
+	
+	@Test
+	public void lookup_element_by_id_name_and_alias() {
+		ElementCache cache = new ElementCache(10);
+		CachedElement element = cache.cache(element(1L, ELEMENT_ID, "leaf-1", "rack-1-leaf"));
+		
+		assertSame(element, cache.get(ELEMENT_ID));
+		assertSame(element, cache.get(elementName("leaf-1")));
+		assertSame(element, cache.get(elementName("rack-1-leaf")));
+		assertEquals(3, cache.getHits());
+	}
+	
+	@Test
+	public void count_misses() {
+		ElementCache cache = new ElementCache(10);
+		cache.cache(element(1L, ELEMENT_ID, "leaf-1", null));
+		
+		assertNull(cache.get(randomElementId()));
+		assertEquals(1L, cache.get(ELEMENT_ID).getId());
+		assertEquals(1, cache.getMisses());
+		assertEquals(0.5, cache.getHitRatio(), 0.001);
+	}
+	
+	@Test
+	public void evict_all_entries_of_an_element() {
+		ElementCache cache = new ElementCache(10);
+		cache.cache(element(1L, ELEMENT_ID, "leaf-1", "rack-1-leaf"));
+		cache.cache(element(2L, randomElementId(), "leaf-2", null));
+		
+		cache.evict(elementName("rack-1-leaf"));
+		
+		assertNull(cache.get(ELEMENT_ID));
+		assertNull(cache.get(elementName("leaf-1")));
+		assertEquals(2L, cache.get(elementName("leaf-2")).getId());
+		assertEquals(1, cache.getInvalidations());
+	}
+	
+	@Test
+	public void clear_cache() {
+		ElementCache cache = new ElementCache(10);
+		cache.cache(element(1L, ELEMENT_ID, "leaf-1", null));
+		
+		cache.clear();
+		
+		assertEquals(0, cache.getSize());
+		assertNull(cache.get(ELEMENT_ID));
+		assertEquals(1, cache.getInvalidations());
+	}
+	
+	@Test
+	public void evict_least_recently_used_entry_when_cache_is_full() {
+		ElementCache cache = new ElementCache(2);
+		cache.cache(element(1L, ELEMENT_ID, "leaf-1", null));
+		cache.get(ELEMENT_ID);
+		cache.cache(element(2L, randomElementId(), "leaf-2", null));
+		
+		assertEquals(2, cache.getSize());
+		assertEquals(2, cache.getEvictions());
+		assertNull(cache.get(elementName("leaf-1")));
+	}
+	
+	@Test
+	public void populate_envelope_from_cached_element() {
+		ElementSettings settings = element(1L, ELEMENT_ID, "leaf-1", "rack-1-leaf")
+								   .envelope(newElementSettings())
+								   .build();
+		
+		assertEquals(GROUP_ID, settings.getGroupId());
+		assertEquals(groupName("pod-1"), settings.getGroupName());
+		assertEquals(groupType("pod"), settings.getGroupType());
+		assertEquals(ELEMENT_ID, settings.getElementId());
+		assertEquals(elementName("leaf-1"), settings.getElementName());
+		assertEquals(elementAlias("rack-1-leaf"), settings.getElementAlias());
+		assertEquals(elementRoleName("leaf"), settings.getElementRole());
+		assertEquals(ACTIVE, settings.getAdministrativeState());
+		assertEquals(UP, settings.getOperationalState());
+	}
+	
+}
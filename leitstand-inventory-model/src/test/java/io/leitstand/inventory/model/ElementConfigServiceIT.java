@@ -16,6 +16,7 @@
 package io.leitstand.inventory.model;
 
 import static io.leitstand.inventory.model.Element.findElementByName;
+import static io.leitstand.inventory.model.ElementConfigStorageMode.DELTA;
 import static io.leitstand.inventory.model.ElementGroup.findElementGroupByName;
 import static io.leitstand.inventory.model.ElementRole.findRoleByName;
 import static io.leitstand.inventory.service.ConfigurationState.ACTIVE;
@@ -46,6 +47,8 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+
 import javax.enterprise.event.Event;
 
 import org.junit.Before;
@@ -91,6 +94,7 @@ public class ElementConfigServiceIT extends InventoryIT {
 	private static final ElementConfigName CONFIG_NAME = elementConfigName("config");
 	private static final UserName USER_NAME = userName("unittest");
 	private ElementConfigService service;
+	private ElementConfigService deltaService;
 	private ArgumentCaptor<ElementConfigEvent> eventCaptor;
 
 	@Before
@@ -111,6 +115,15 @@ public class ElementConfigServiceIT extends InventoryIT {
 																mock(Messages.class));
 		service = new DefaultElementConfigService(elements,configs);
 		
+		ElementConfigManager deltaConfigs = new ElementConfigManager(repository,
+																	 db,
+																	 userContext,
+																	 event,
+																	 mock(Messages.class),
+																	 DELTA,
+																	 false);
+		deltaService = new DefaultElementConfigService(elements,deltaConfigs);
+		
 		transaction(()->{
 			ElementGroup group = repository.addIfAbsent(findElementGroupByName(GROUP_TYPE, 
 																			   GROUP_NAME), 
@@ -517,4 +530,91 @@ public class ElementConfigServiceIT extends InventoryIT {
         });
 	}
 		
+	@Test
+	public void read_delta_encoded_history_revisions() {
+		for(int i=1; i <= 3; i++) {
+			String configData = "Config "+i;
+			transaction(()->{
+				deltaService.storeElementConfig(ELEMENT_ID, 
+												CONFIG_NAME, 
+												TEXT_PLAIN_TYPE,
+												ACTIVE,
+												configData, 
+												null);
+			});
+		}
+		
+		transaction(()->{
+			List<ElementConfigReference> revisions = deltaService.getElementConfigRevisions(ELEMENT_ID,CONFIG_NAME)
+																 .getRevisions();
+			assertEquals(3,revisions.size());
+			assertEquals("Config 3",deltaService.getElementConfig(ELEMENT_ID,revisions.get(0).getConfigId()).getConfig());
+			assertEquals("Config 2",deltaService.getElementConfig(ELEMENT_ID,revisions.get(1).getConfigId()).getConfig());
+			assertEquals("Config 1",deltaService.getElementConfig(ELEMENT_ID,revisions.get(2).getConfigId()).getConfig());
+			// Full storage mode reads delta-encoded revisions as well.
+			assertEquals("Config 1",service.getElementConfig(ELEMENT_ID,revisions.get(2).getConfigId()).getConfig());
+		});
+	}
+	
+	@Test
+	public void rebase_delta_encoded_revision_when_candidate_is_updated() {
+		transaction(()->{
+			deltaService.storeElementConfig(ELEMENT_ID, 
+											CONFIG_NAME, 
+											TEXT_PLAIN_TYPE,
+											ACTIVE,
+											"Active config", 
+											null);
+		});
+		transaction(()->{
+			deltaService.storeElementConfig(ELEMENT_ID, 
+											CONFIG_NAME, 
+											TEXT_PLAIN_TYPE,
+											CANDIDATE,
+											"Candidate config", 
+											null);
+		});
+		transaction(()->{
+			deltaService.storeElementConfig(ELEMENT_ID, 
+											CONFIG_NAME, 
+											TEXT_PLAIN_TYPE,
+											CANDIDATE,
+											"Updated candidate config", 
+											null);
+		});
+		
+		transaction(()->{
+			assertEquals("Active config",deltaService.getActiveElementConfig(ELEMENT_ID,CONFIG_NAME).getConfig());
+			assertEquals("Updated candidate config",deltaService.getElementConfig(ELEMENT_ID,CONFIG_NAME).getConfig());
+		});
+	}
+	
+	@Test
+	public void rebase_delta_encoded_revision_when_base_revision_is_removed() {
+		for(int i=1; i <= 3; i++) {
+			String configData = "Config "+i;
+			transaction(()->{
+				deltaService.storeElementConfig(ELEMENT_ID, 
+												CONFIG_NAME, 
+												TEXT_PLAIN_TYPE,
+												ACTIVE,
+												configData, 
+												null);
+			});
+		}
+		
+		transaction(()->{
+			List<ElementConfigReference> revisions = deltaService.getElementConfigRevisions(ELEMENT_ID,CONFIG_NAME)
+																 .getRevisions();
+			deltaService.removeElementConfig(ELEMENT_ID, revisions.get(1).getConfigId());
+		});
+		
+		transaction(()->{
+			List<ElementConfigReference> revisions = deltaService.getElementConfigRevisions(ELEMENT_ID,CONFIG_NAME)
+																 .getRevisions();
+			assertEquals(2,revisions.size());
+			assertEquals("Config 1",deltaService.getElementConfig(ELEMENT_ID,revisions.get(1).getConfigId()).getConfig());
+		});
+	}
+		
 }
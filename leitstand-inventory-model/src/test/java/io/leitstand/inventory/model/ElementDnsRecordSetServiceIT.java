@@ -24,6 +24,7 @@ import static io.leitstand.inventory.service.DnsRecord.newDnsRecord;
 import static io.leitstand.inventory.service.DnsRecordSet.newDnsRecordSet;
 import static io.leitstand.inventory.service.DnsRecordSetId.randomDnsRecordSetId;
 import static io.leitstand.inventory.service.DnsRecordType.dnsRecordType;
+import static io.leitstand.inventory.service.DnsZoneElement.newDnsZoneElement;
 import static io.leitstand.inventory.service.DnsZoneId.randomDnsZoneId;
 import static io.leitstand.inventory.service.DnsZoneName.dnsZoneName;
 import static io.leitstand.inventory.service.ElementGroupId.randomGroupId;
@@ -37,6 +38,7 @@ import static io.leitstand.inventory.service.ReasonCode.IVT0950E_DNS_ZONE_NOT_FO
 import static io.leitstand.inventory.service.ReasonCode.IVT0953E_DNS_ZONE_NOT_REMOVABLE;
 import static io.leitstand.inventory.service.ReasonCode.IVT3001E_ELEMENT_DNS_RECORD_NOT_FOUND;
 import static io.leitstand.testing.ut.LeitstandCoreMatchers.reason;
+import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -113,6 +115,7 @@ public class ElementDnsRecordSetServiceIT extends InventoryIT{
 		this.service = new DefaultElementDnsRecordSetService(elements, manager);
 		this.dnsZones = new DefaultDnsZoneService(zones, 
 		                                          new DnsZoneManager(repository, 
+		                                                             getDatabase(),
 		                                                             event, 
 		                                                             mock(Messages.class)));
 		transaction(() -> {
@@ -534,5 +537,64 @@ public class ElementDnsRecordSetServiceIT extends InventoryIT{
         });
         
     }
+
+	@Test
+	public void store_dns_zone_record_sets_in_bulk() {
+		DnsRecordSet a = newDnsRecordSet()
+						 .withDnsZoneId(ZONE_ID)
+						 .withDnsZoneName(ZONE_NAME)
+						 .withDnsRecordSetId(randomDnsRecordSetId())
+						 .withDnsName(dnsName("bulk-a."+ZONE_NAME))
+						 .withDnsRecordType(DNS_TYPE)
+						 .withDnsRecords(newDnsRecord()
+								 		 .withRecordValue("10.0.1.1"))
+						 .build();
+		DnsRecordSet b = newDnsRecordSet()
+						 .withDnsZoneId(ZONE_ID)
+						 .withDnsZoneName(ZONE_NAME)
+						 .withDnsRecordSetId(randomDnsRecordSetId())
+						 .withDnsName(dnsName("bulk-b."+ZONE_NAME))
+						 .withDnsRecordType(DNS_TYPE)
+						 .withDnsRecords(newDnsRecord()
+								 		 .withRecordValue("10.0.1.3"),
+								 		 newDnsRecord()
+								 		 .withRecordValue("10.0.1.2")
+								 		 .withDisabled(true))
+						 .build();
+		
+		transaction(() -> {
+			int stored = service.storeDnsZoneRecordSets(ZONE_NAME, 
+														asList(newDnsZoneElement()
+															   .withElementName(ELEMENT_NAME)
+															   .withDnsRecordSets(asList(b,a))
+															   .build()));
+			assertEquals(2, stored);
+		});
+		
+		transaction(() -> {
+			List<DnsName> names = new LinkedList<>();
+			List<DnsRecordSet> sets = new LinkedList<>();
+			dnsZones.exportDnsZoneElements(ZONE_ID, element -> {
+				assertEquals(ELEMENT_ID, element.getElementId());
+				assertEquals(GROUP_NAME, element.getGroupName());
+				for(DnsRecordSet set : element.getDnsRecordSets()) {
+					names.add(set.getDnsName());
+					sets.add(set);
+				}
+			});
+			int indexOfA = names.indexOf(a.getDnsName());
+			int indexOfB = names.indexOf(b.getDnsName());
+			// Record sets are ordered by DNS name
+			assertTrue(indexOfA >= 0);
+			assertTrue(indexOfA < indexOfB);
+			assertEquals(a.getDnsRecordSetId(), sets.get(indexOfA).getDnsRecordSetId());
+			// Records are ordered by value
+			DnsRecordSet reloaded = sets.get(indexOfB);
+			assertEquals("10.0.1.2", reloaded.getDnsRecords().get(0).getDnsRecordValue());
+			assertTrue(reloaded.getDnsRecords().get(0).isDisabled());
+			assertEquals("10.0.1.3", reloaded.getDnsRecords().get(1).getDnsRecordValue());
+		});
+		
+	}
 	
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.ElementGroupImportJob.MAX_REPORTED_FAILURES;
+import static io.leitstand.inventory.service.ElementGroupImportFailure.newElementGroupImportFailure;
+import static io.leitstand.inventory.service.ElementGroupImportFailure.ItemType.ELEMENT;
+import static io.leitstand.inventory.service.ElementGroupImportStatus.State.COMPLETED;
+import static io.leitstand.inventory.service.ElementGroupImportStatus.State.FAILED;
+import static io.leitstand.inventory.service.ElementGroupImportStatus.State.QUEUED;
+import static io.leitstand.inventory.service.ElementGroupImportStatus.State.RUNNING;
+import static java.nio.file.Paths.get;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.leitstand.inventory.service.ElementGroupImportStatus;
+
+public class ElementGroupImportJobTest {
+
+	private ElementGroupImportJob job = new ElementGroupImportJob("import", get("import.json"), false, 10);
+	
+	@Test
+	public void new_import_is_queued() {
+		assertEquals(QUEUED, job.getState());
+		assertFalse(job.resume());
+	}
+	
+	@Test
+	public void accumulate_committed_chunks() {
+		job.started();
+		job.committed(10, 9, 90);
+		job.committed(20, 10, 100);
+		job.completed();
+		
+		ElementGroupImportStatus status = job.getStatus();
+		assertEquals(COMPLETED, status.getState());
+		assertEquals(20, status.getProcessedGroups());
+		assertEquals(19, status.getStoredGroups());
+		assertEquals(190, status.getStoredElements());
+	}
+	
+	@Test
+	public void resume_interrupted_import_after_last_committed_chunk() {
+		job.started();
+		job.committed(10, 10, 100);
+		job.interrupted("Connection reset");
+		assertEquals(FAILED, job.getState());
+		assertEquals("Connection reset", job.getStatus().getMessage());
+		
+		assertTrue(job.resume());
+		assertEquals(QUEUED, job.getState());
+		assertEquals(10, job.getProcessedGroups());
+		
+		job.started();
+		assertEquals(RUNNING, job.getState());
+		assertNull(job.getStatus().getMessage());
+	}
+	
+	@Test
+	public void limit_reported_failures() {
+		for(int i=0; i <= MAX_REPORTED_FAILURES; i++) {
+			job.failed(newElementGroupImportFailure()
+					   .withItemType(ELEMENT)
+					   .withItemName("leaf-"+i)
+					   .build());
+		}
+		ElementGroupImportStatus status = job.getStatus();
+		assertEquals(MAX_REPORTED_FAILURES+1, status.getFailedItems());
+		assertEquals(MAX_REPORTED_FAILURES, status.getFailures().size());
+	}
+	
+}
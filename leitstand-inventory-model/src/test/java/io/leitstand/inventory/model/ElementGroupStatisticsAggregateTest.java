@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.AdministrativeState.ACTIVE;
+import static io.leitstand.inventory.service.AdministrativeState.NEW;
+import static io.leitstand.inventory.service.AdministrativeState.RETIRED;
+import static io.leitstand.inventory.service.ElementGroupId.randomGroupId;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementGroupType.groupType;
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.OperationalState.DOWN;
+import static io.leitstand.inventory.service.OperationalState.UP;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.leitstand.inventory.service.ElementGroupId;
+import io.leitstand.inventory.service.ElementGroupStatistics;
+import io.leitstand.inventory.service.ElementGroupType;
+import io.leitstand.inventory.service.ElementId;
+
+public class ElementGroupStatisticsAggregateTest {
+	
+	private static final ElementGroupType POD = groupType("pod");
+	private static final ElementGroupId POD_A = randomGroupId();
+	private static final ElementGroupId POD_B = randomGroupId();
+	
+	private ElementGroupStatisticsAggregate aggregate;
+	
+	@Before
+	public void initAggregate() {
+		aggregate = new ElementGroupStatisticsAggregate();
+	}
+	
+	@Test
+	public void count_elements_by_state() {
+		aggregate.update(randomElementId(), POD_A, POD, groupName("a"), ACTIVE, UP);
+		aggregate.update(randomElementId(), POD_A, POD, groupName("a"), ACTIVE, UP);
+		aggregate.update(randomElementId(), POD_A, POD, groupName("a"), ACTIVE, DOWN);
+		aggregate.update(randomElementId(), POD_A, POD, groupName("a"), NEW, DOWN);
+		aggregate.update(randomElementId(), POD_A, POD, groupName("a"), RETIRED, DOWN);
+		
+		List<ElementGroupStatistics> stats = aggregate.getGroupStatistics(POD);
+		assertEquals(1, stats.size());
+		ElementGroupStatistics pod = stats.get(0);
+		assertEquals(POD_A, pod.getGroupId());
+		assertEquals(Integer.valueOf(2), pod.getActiveElements().get(UP));
+		assertEquals(Integer.valueOf(1), pod.getActiveElements().get(DOWN));
+		assertEquals(1, pod.getNewElements());
+		assertEquals(1, pod.getRetiredElements());
+	}
+	
+	@Test
+	public void replace_previous_element_state() {
+		ElementId element = randomElementId();
+		aggregate.update(element, POD_A, POD, groupName("a"), ACTIVE, UP);
+		aggregate.update(element, POD_A, POD, groupName("a"), ACTIVE, DOWN);
+		aggregate.update(element, POD_A, POD, groupName("a"), ACTIVE, DOWN);
+		
+		ElementGroupStatistics pod = aggregate.getGroupStatistics(POD).get(0);
+		assertEquals(1, pod.getActiveElements().size());
+		assertEquals(Integer.valueOf(1), pod.getActiveElements().get(DOWN));
+		assertEquals(1, aggregate.getElementCount());
+	}
+	
+	@Test
+	public void move_element_and_omit_empty_groups() {
+		ElementId element = randomElementId();
+		aggregate.update(element, POD_A, POD, groupName("a"), ACTIVE, UP);
+		aggregate.update(element, POD_B, POD, groupName("b"), ACTIVE, UP);
+		
+		List<ElementGroupStatistics> stats = aggregate.getGroupStatistics(POD);
+		assertEquals(1, stats.size());
+		assertEquals(POD_B, stats.get(0).getGroupId());
+		
+		aggregate.remove(element);
+		assertTrue(aggregate.getGroupStatistics(POD).isEmpty());
+		assertEquals(0, aggregate.getGroupCount());
+	}
+	
+	@Test
+	public void order_groups_by_name_and_filter_by_type() {
+		aggregate.update(randomElementId(), POD_B, POD, groupName("b"), ACTIVE, UP);
+		aggregate.update(randomElementId(), POD_A, POD, groupName("a"), ACTIVE, UP);
+		aggregate.update(randomElementId(), randomGroupId(), groupType("region"), groupName("c"), ACTIVE, UP);
+		
+		List<ElementGroupStatistics> stats = aggregate.getGroupStatistics(POD);
+		assertEquals(2, stats.size());
+		assertEquals(POD_A, stats.get(0).getGroupId());
+		assertEquals(POD_B, stats.get(1).getGroupId());
+	}
+	
+	@Test
+	public void count_groups_with_different_counters() {
+		ElementId element = randomElementId();
+		aggregate.update(element, POD_A, POD, groupName("a"), ACTIVE, UP);
+		aggregate.update(randomElementId(), POD_B, POD, groupName("b"), ACTIVE, UP);
+		
+		ElementGroupStatisticsAggregate reconciled = new ElementGroupStatisticsAggregate();
+		reconciled.update(element, POD_A, POD, groupName("a"), ACTIVE, DOWN);
+		
+		assertEquals(2, aggregate.countDifferentGroups(reconciled));
+		assertEquals(0, reconciled.countDifferentGroups(reconciled));
+	}
+	
+}
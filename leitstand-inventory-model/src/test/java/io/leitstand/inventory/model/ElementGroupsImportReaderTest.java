@@ -0,0 +1,154 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.ElementGroupsImportReader.importReader;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.write;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.json.JsonObject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ElementGroupsImportReaderTest {
+
+	private Path export;
+	private List<JsonObject> items;
+	
+	@Before
+	public void createExportFile() throws IOException {
+		export = createTempFile("import-test-", ".tmp");
+		items = new ArrayList<>();
+	}
+	
+	@After
+	public void removeExportFile() throws IOException {
+		deleteIfExists(export);
+	}
+	
+	private void export(String content) throws IOException {
+		write(export, content.getBytes(UTF_8));
+	}
+	
+	@Test
+	public void read_json_array_items_and_skip_other_properties() throws IOException {
+		export("{\"date_created\":\"2020-01-01T00:00:00.000Z\","+
+			   "\"groups\":[{\"group\":{\"group_name\":\"pod-1\"},\"elements\":[{\"element_name\":\"leaf-1\"}]},"+
+			   			   "{\"group\":{\"group_name\":\"pod-2\"},\"elements\":[]}],"+
+			   "\"platforms\":[{\"platform_name\":\"p\"}],"+
+			   "\"roles\":[]}");
+		
+		importReader(export, false).read("groups", items::add);
+		
+		assertEquals(2, items.size());
+		assertEquals("pod-1", items.get(0).getJsonObject("group").getString("group_name"));
+		assertEquals("leaf-1", items.get(0).getJsonArray("elements").getJsonObject(0).getString("element_name"));
+		assertEquals("pod-2", items.get(1).getJsonObject("group").getString("group_name"));
+	}
+	
+	@Test
+	public void read_json_array_after_skipped_arrays() throws IOException {
+		export("{\"groups\":[{\"group\":{\"group_name\":\"pod-1\"}}],"+
+			   "\"platforms\":[{\"platform_name\":\"p\"}]}");
+		
+		importReader(export, false).read("platforms", items::add);
+		
+		assertEquals(1, items.size());
+		assertEquals("p", items.get(0).getString("platform_name"));
+	}
+	
+	@Test
+	public void read_nothing_from_missing_json_property() throws IOException {
+		export("{\"groups\":[]}");
+		
+		importReader(export, false).read("roles", items::add);
+		
+		assertTrue(items.isEmpty());
+	}
+	
+	@Test(expected=IOException.class)
+	public void reject_json_array_document() throws IOException {
+		export("[]");
+		importReader(export, false).read("groups", items::add);
+	}
+	
+	@Test
+	public void read_yaml_array_items_with_typed_scalars() throws IOException {
+		export("date_created: 2020-01-01T00:00:00.000Z\n"+
+			   "groups:\n"+
+			   "- group:\n"+
+			   "    group_name: pod-1\n"+
+			   "    tags: [a, b]\n"+
+			   "  elements:\n"+
+			   "  - element_name: leaf-1\n"+
+			   "    serial_number: '0042'\n"+
+			   "    mgmt_interfaces:\n"+
+			   "      rest:\n"+
+			   "        mgmt_port: 443\n"+
+			   "        mgmt_path: ~\n"+
+			   "- group:\n"+
+			   "    group_name: pod-2\n"+
+			   "roles:\n"+
+			   "- role_name: leaf\n"+
+			   "  manageable: true\n");
+		
+		importReader(export, true).read("groups", items::add);
+		
+		assertEquals(2, items.size());
+		JsonObject group = items.get(0);
+		assertEquals("pod-1", group.getJsonObject("group").getString("group_name"));
+		assertEquals("b", group.getJsonObject("group").getJsonArray("tags").getString(1));
+		JsonObject element = group.getJsonArray("elements").getJsonObject(0);
+		assertEquals("0042", element.getString("serial_number"));
+		JsonObject rest = element.getJsonObject("mgmt_interfaces").getJsonObject("rest");
+		assertEquals(443, rest.getInt("mgmt_port"));
+		assertTrue(rest.isNull("mgmt_path"));
+		assertEquals("pod-2", items.get(1).getJsonObject("group").getString("group_name"));
+	}
+	
+	@Test
+	public void read_yaml_booleans() throws IOException {
+		export("roles:\n"+
+			   "- role_name: leaf\n"+
+			   "  manageable: true\n"+
+			   "- role_name: server\n"+
+			   "  manageable: no\n");
+		
+		importReader(export, true).read("roles", items::add);
+		
+		assertTrue(items.get(0).getBoolean("manageable"));
+		assertFalse(items.get(1).getBoolean("manageable"));
+	}
+	
+	@Test(expected=IOException.class)
+	public void reject_malformed_yaml_document() throws IOException {
+		export("groups: [\n");
+		importReader(export, true).read("groups", items::add);
+	}
+	
+}
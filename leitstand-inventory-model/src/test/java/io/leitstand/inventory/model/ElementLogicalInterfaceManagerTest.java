@@ -36,6 +36,7 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 
+import io.leitstand.commons.db.DatabaseService;
 import io.leitstand.commons.messages.Messages;
 import io.leitstand.commons.model.Query;
 import io.leitstand.commons.model.Repository;
@@ -69,6 +70,7 @@ public class ElementLogicalInterfaceManagerTest {
 		this.event = mock(Event.class);
 		
 		this.manager = new ElementLogicalInterfaceManager(repository, 
+														   mock(DatabaseService.class), 
 														   messages, 
 														   event);
 		
@@ -104,6 +104,7 @@ public class ElementLogicalInterfaceServiceIT extends InventoryIT {
 		Repository repository = new Repository(getEntityManager());
 		ElementProvider elements = new ElementProvider(repository);
 		ElementLogicalInterfaceManager manager = new ElementLogicalInterfaceManager(repository, 
+																					getDatabase(), 
 																					messages, 
 																					event);
 		service = new DefaultElementLogicalInterfaceService(elements, manager);
@@ -730,7 +731,51 @@ public class ElementLogicalInterfaceServiceIT extends InventoryIT {
 			});
 		
 	}
-
-
+	
+	@Test
+	public void find_all_logical_interfaces_for_empty_or_missing_filter() {
+		List<ElementLogicalInterfaceSubmission> ifls = asList(		
+				newElementLogicalInterfaceSubmission()
+				.withIflName(IFL_NAME)
+				.withIfcName(IFP_NAME)
+				.withInterfaceAlias("ifl alias")
+				.withAdministrativeState(AdministrativeState.UP)
+				.withOperationalState(OperationalState.UP)
+				.withRoutingInstanceName(routingInstance("default"))
+				.build(),
+				newElementLogicalInterfaceSubmission()
+				.withIflName(IFL2_NAME)
+				.withIfcName(IFP_NAME)
+				.withInterfaceAlias("ifl  alias")
+				.withAdministrativeState(AdministrativeState.UP)
+				.withOperationalState(OperationalState.UP)
+				.withRoutingInstanceName(routingInstance("default"))
+				.build(),
+				newElementLogicalInterfaceSubmission()
+				.withIflName(IFL3_NAME)
+				.withIfcName(IFP_NAME)
+				.withInterfaceAlias("ifl alias")
+				.withAdministrativeState(AdministrativeState.UP)
+				.withOperationalState(OperationalState.UP)
+				.withRoutingInstanceName(routingInstance("management"))
+				.build()
+			);
+			
+			transaction(()->{
+				for(ElementLogicalInterfaceSubmission ifl : ifls) {
+					service.storeLogicalInterface(ELEMENT_ID, ifl);
+				}
+			});
+		
+			transaction(()->{
+				assertThat(service.findLogicalInterfaces(ELEMENT_ID, "", 100).getLogicalInterfaces(),hasSizeOf(3));
+				assertThat(service.findLogicalInterfaces(ELEMENT_ID, null, 100).getLogicalInterfaces(),hasSizeOf(3));
+				// A blank filter is a regular expression like any other non-empty filter.
+				ElementLogicalInterfaces matches = service.findLogicalInterfaces(ELEMENT_ID, "  ", 100);
+				assertThat(matches.getLogicalInterfaces(),hasSizeOf(1));
+				assertEquals(IFL2_NAME,matches.getLogicalInterfaces().get(0).getIflName());
+			});
+		
+	}
 	
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.inventory.model.Element.findElementByName;
+import static io.leitstand.inventory.model.ElementGroup.findElementGroupByName;
+import static io.leitstand.inventory.model.ElementRole.findRoleByName;
+import static io.leitstand.inventory.service.AddressInterface.newAddressInterface;
+import static io.leitstand.inventory.service.ElementGroupId.randomGroupId;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementGroupType.groupType;
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.ElementLogicalInterfaceSubmission.newElementLogicalInterfaceSubmission;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.IPvxPrefix.cidr;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.Plane.DATA;
+import static io.leitstand.inventory.service.VlanID.vlanID;
+import static io.leitstand.inventory.service.VlanTPID.vlanTPID;
+import static io.leitstand.inventory.service.VlanTag.newVlanTag;
+import static java.lang.ClassLoader.getSystemResourceAsStream;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import javax.enterprise.event.Event;
+import javax.sql.DataSource;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.leitstand.commons.messages.Messages;
+import io.leitstand.commons.model.Repository;
+import io.leitstand.inventory.service.ElementGroupId;
+import io.leitstand.inventory.service.ElementGroupName;
+import io.leitstand.inventory.service.ElementGroupType;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementLogicalInterfaceSubmission;
+import io.leitstand.inventory.service.ElementLogicalInterfaceSyncResult;
+import io.leitstand.inventory.service.ElementName;
+import io.leitstand.inventory.service.ElementRoleName;
+import io.leitstand.inventory.service.InterfaceName;
+
+public class ElementLogicalInterfaceSyncManagerIT extends InventoryIT {
+
+	private static final ElementGroupId GROUP_ID = randomGroupId();
+	private static final ElementGroupName GROUP_NAME = groupName("group");
+	private static final ElementGroupType GROUP_TYPE = groupType("unittest");
+	private static final ElementRoleName ELEMENT_ROLE = elementRoleName("role");
+	private static final ElementId ELEMENT_ID = randomElementId();
+	private static final ElementName ELEMENT_NAME = elementName("element");
+	private static final InterfaceName IFC_NAME = interfaceName("ifc-0/0/0");
+	private static final InterfaceName IFL_0 = interfaceName("ifl-0/0/0.0");
+	private static final InterfaceName IFL_1 = interfaceName("ifl-0/0/0.1");
+	private static final InterfaceName IFL_2 = interfaceName("ifl-0/0/0.2");
+
+	private Repository repository;
+	private ElementLogicalInterfaceSyncManager manager;
+	
+	@Before
+	public void initTestEnvironment() throws IOException, SQLException {
+		repository = new Repository(getEntityManager());
+		
+		// The sync manager writes through plain JDBC connections.
+		Properties properties = new Properties();
+		properties.load(getSystemResourceAsStream("inventory-it.properties"));
+		DataSource ds = mock(DataSource.class);
+		when(ds.getConnection()).thenAnswer(invocation -> DriverManager.getConnection(properties.getProperty("javax.persistence.jdbc.url"),
+																					  properties.getProperty("javax.persistence.jdbc.user"),
+																					  properties.getProperty("javax.persistence.jdbc.password")));
+		manager = new ElementLogicalInterfaceSyncManager(getDatabase(),
+														 ds,
+														 mock(Messages.class),
+														 mock(Event.class));
+		
+		transaction(()->{
+			ElementGroup group = repository.addIfAbsent(findElementGroupByName(GROUP_TYPE, 
+																			   GROUP_NAME),
+														() -> new ElementGroup(GROUP_ID,
+																			   GROUP_TYPE, 
+																			   GROUP_NAME));
+			ElementRole role = repository.addIfAbsent(findRoleByName(ELEMENT_ROLE),
+													  () -> new ElementRole(ELEMENT_ROLE,
+															   				DATA));
+			repository.addIfAbsent(findElementByName(ELEMENT_NAME),
+								   () -> new Element(group,
+										   			 role,
+										   			 ELEMENT_ID, 
+										   			 ELEMENT_NAME));	
+		});
+	}
+	
+	@Test
+	public void add_update_and_remove_logical_interfaces() {
+		ElementLogicalInterfaceSyncResult[] results = new ElementLogicalInterfaceSyncResult[2];
+		transaction(()->{
+			results[0] = sync(ifl(IFL_0,"10.0.0.1/24",10),
+							  ifl(IFL_1,"10.0.1.1/24",11),
+							  ifl(IFL_2,"10.0.2.1/24",12));
+		});
+		assertEquals(asList(IFL_0,IFL_1,IFL_2), results[0].getAddedInterfaces());
+		assertEquals(emptyList(), results[0].getUpdatedInterfaces());
+		assertEquals(emptyList(), results[0].getRemovedInterfaces());
+		
+		// Change the address of the first, the VLAN tag of the second and remove the third logical interface.
+		transaction(()->{
+			results[1] = sync(ifl(IFL_0,"10.0.0.2/24",10),
+							  ifl(IFL_1,"10.0.1.1/24",21));
+		});
+		assertEquals(emptyList(), results[1].getAddedInterfaces());
+		assertEquals(asList(IFL_0,IFL_1), results[1].getUpdatedInterfaces());
+		assertEquals(asList(IFL_2), results[1].getRemovedInterfaces());
+		
+		assertEquals(asList(IFL_0.getValue(),IFL_1.getValue()), loadIflNames());
+		
+		Map<String,String> addresses = new TreeMap<>();
+		addresses.put(IFL_0.getValue(), "10.0.0.2/24");
+		addresses.put(IFL_1.getValue(), "10.0.1.1/24");
+		assertEquals(addresses, loadAddresses());
+		
+		Map<String,Integer> vlans = new TreeMap<>();
+		vlans.put(IFL_0.getValue(), 10);
+		vlans.put(IFL_1.getValue(), 21);
+		assertEquals(vlans, loadVlanIds());
+		
+		assertEquals(asList(IFC_NAME.getValue()), 
+					 getDatabase().executeQuery(prepare("SELECT name FROM inventory.element_ifc"), 
+							 					rs -> rs.getString(1)));
+	}
+	
+	@Test
+	public void do_not_report_unmodified_logical_interfaces() {
+		ElementLogicalInterfaceSyncResult[] results = new ElementLogicalInterfaceSyncResult[1];
+		transaction(()->{
+			sync(ifl(IFL_0,"10.0.0.1/24",10));
+		});
+		transaction(()->{
+			results[0] = sync(ifl(IFL_0,"10.0.0.1/24",10));
+		});
+		assertEquals(emptyList(), results[0].getAddedInterfaces());
+		assertEquals(emptyList(), results[0].getUpdatedInterfaces());
+		assertEquals(emptyList(), results[0].getRemovedInterfaces());
+	}
+	
+	private ElementLogicalInterfaceSyncResult sync(ElementLogicalInterfaceSubmission... ifls) {
+		Element element = repository.execute(findElementByName(ELEMENT_NAME));
+		return manager.syncLogicalInterfaces(element, asList(ifls));
+	}
+	
+	private List<String> loadIflNames(){
+		return getDatabase().executeQuery(prepare("SELECT name FROM inventory.element_ifl ORDER BY name"), 
+										  rs -> rs.getString(1));
+	}
+	
+	private Map<String,String> loadAddresses(){
+		Map<String,String> addresses = new TreeMap<>();
+		getDatabase().processQuery(prepare("SELECT element_ifl_name, address FROM inventory.element_ifl_ifa"), 
+								   rs -> addresses.put(rs.getString(1), rs.getString(2)));
+		return addresses;
+	}
+	
+	private Map<String,Integer> loadVlanIds(){
+		Map<String,Integer> vlans = new TreeMap<>();
+		getDatabase().processQuery(prepare("SELECT element_ifl_name, vid FROM inventory.element_ifl_vlan"), 
+								   rs -> vlans.put(rs.getString(1), rs.getInt(2)));
+		return vlans;
+	}
+	
+	private static ElementLogicalInterfaceSubmission ifl(InterfaceName iflName, String address, int vlanId) {
+		return newElementLogicalInterfaceSubmission()
+			   .withIflName(iflName)
+			   .withIfcName(IFC_NAME)
+			   .withAddressInterfaces(newAddressInterface()
+					   				  .withAddress(cidr(address)))
+			   .withVlans(newVlanTag()
+					   	  .withVlanTpid(vlanTPID(0x8100))
+					   	  .withVlanId(vlanID(vlanId)))
+			   .build();
+	}
+	
+}
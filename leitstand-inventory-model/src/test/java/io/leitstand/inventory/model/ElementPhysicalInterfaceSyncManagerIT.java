@@ -0,0 +1,236 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.inventory.model.Element.findElementByName;
+import static io.leitstand.inventory.model.ElementGroup.findElementGroupByName;
+import static io.leitstand.inventory.model.ElementRole.findRoleByName;
+import static io.leitstand.inventory.service.ElementAlias.elementAlias;
+import static io.leitstand.inventory.service.ElementGroupId.randomGroupId;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementGroupType.groupType;
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementPhysicalInterfaceNeighbor.newPhysicalInterfaceNeighbor;
+import static io.leitstand.inventory.service.ElementPhysicalInterfaceSubmission.newPhysicalInterfaceSubmission;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.Plane.DATA;
+import static io.leitstand.inventory.service.ReasonCode.IVT0355W_ELEMENT_IFP_NEIGHBOR_NOT_FOUND;
+import static java.lang.ClassLoader.getSystemResourceAsStream;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import javax.enterprise.event.Event;
+import javax.sql.DataSource;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.leitstand.commons.messages.Message;
+import io.leitstand.commons.messages.Messages;
+import io.leitstand.commons.model.Repository;
+import io.leitstand.inventory.event.ElementPhysicalInterfaceEvent;
+import io.leitstand.inventory.service.ElementAlias;
+import io.leitstand.inventory.service.ElementGroupId;
+import io.leitstand.inventory.service.ElementGroupName;
+import io.leitstand.inventory.service.ElementGroupType;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementName;
+import io.leitstand.inventory.service.ElementPhysicalInterfaceSubmission;
+import io.leitstand.inventory.service.ElementPhysicalInterfaceSyncResult;
+import io.leitstand.inventory.service.ElementRoleName;
+import io.leitstand.inventory.service.InterfaceName;
+
+public class ElementPhysicalInterfaceSyncManagerIT extends InventoryIT {
+
+	private static final ElementGroupId GROUP_ID = randomGroupId();
+	private static final ElementGroupName GROUP_NAME = groupName("group");
+	private static final ElementGroupType GROUP_TYPE = groupType("unittest");
+	private static final ElementRoleName ELEMENT_ROLE = elementRoleName("role");
+	private static final ElementId ELEMENT_ID = randomElementId();
+	private static final ElementName ELEMENT_NAME = elementName("element");
+	private static final ElementId NEIGHBOR_ID = randomElementId();
+	private static final ElementName NEIGHBOR_NAME = elementName("neighbor");
+	private static final ElementAlias NEIGHBOR_ALIAS = elementAlias("neighbor-alias");
+	private static final InterfaceName IFP_0 = interfaceName("ifp-0/0/0");
+	private static final InterfaceName IFP_1 = interfaceName("ifp-0/0/1");
+	private static final InterfaceName IFP_2 = interfaceName("ifp-0/0/2");
+	private static final InterfaceName NEIGHBOR_IFP = interfaceName("ifp-0/0/25");
+
+	private Repository repository;
+	private Messages messages;
+	private ElementPhysicalInterfaceSyncManager manager;
+	
+	@Before
+	public void initTestEnvironment() throws IOException, SQLException {
+		repository = new Repository(getEntityManager());
+		messages = mock(Messages.class);
+		
+		// The sync manager writes through plain JDBC connections.
+		Properties properties = new Properties();
+		properties.load(getSystemResourceAsStream("inventory-it.properties"));
+		DataSource ds = mock(DataSource.class);
+		when(ds.getConnection()).thenAnswer(invocation -> DriverManager.getConnection(properties.getProperty("javax.persistence.jdbc.url"),
+																					  properties.getProperty("javax.persistence.jdbc.user"),
+																					  properties.getProperty("javax.persistence.jdbc.password")));
+		manager = new ElementPhysicalInterfaceSyncManager(getDatabase(),
+														  ds,
+														  messages,
+														  mock(Event.class));
+		
+		transaction(()->{
+			ElementGroup group = repository.addIfAbsent(findElementGroupByName(GROUP_TYPE, 
+																			   GROUP_NAME),
+														() -> new ElementGroup(GROUP_ID,
+																			   GROUP_TYPE, 
+																			   GROUP_NAME));
+			ElementRole role = repository.addIfAbsent(findRoleByName(ELEMENT_ROLE),
+													  () -> new ElementRole(ELEMENT_ROLE,
+															   				DATA));
+			repository.addIfAbsent(findElementByName(ELEMENT_NAME),
+								   () -> new Element(group,
+										   			 role,
+										   			 ELEMENT_ID, 
+										   			 ELEMENT_NAME));	
+			Element neighbor = repository.addIfAbsent(findElementByName(NEIGHBOR_NAME),
+													  () -> new Element(group,
+															  			role,
+															  			NEIGHBOR_ID, 
+															  			NEIGHBOR_NAME));
+			neighbor.setElementAlias(NEIGHBOR_ALIAS);
+		});
+	}
+	
+	@Test
+	public void add_update_and_remove_physical_interfaces() {
+		ElementPhysicalInterfaceSyncResult[] results = new ElementPhysicalInterfaceSyncResult[2];
+		transaction(()->{
+			results[0] = sync(ifp(IFP_0,"uplink"),
+							  ifp(IFP_1,"downlink"));
+		});
+		assertEquals(2, results[0].getAddedInterfaces().size());
+		assertEquals(emptyList(), results[0].getUpdatedInterfaces());
+		assertEquals(emptyList(), results[0].getRemovedInterfaces());
+		
+		transaction(()->{
+			results[1] = sync(ifp(IFP_0,"core uplink"),
+							  ifp(IFP_2,"downlink"));
+		});
+		assertEquals(IFP_2, results[1].getAddedInterfaces().get(0).getIfpName());
+		assertEquals(IFP_0, results[1].getUpdatedInterfaces().get(0).getIfpName());
+		assertEquals(asList(IFP_1), results[1].getRemovedInterfaces());
+		
+		Map<String,String> aliases = new TreeMap<>();
+		aliases.put(IFP_0.getValue(), "core uplink");
+		aliases.put(IFP_2.getValue(), "downlink");
+		assertEquals(aliases, loadIfpAliases());
+	}
+	
+	@Test
+	public void do_not_report_unmodified_physical_interfaces() {
+		ElementPhysicalInterfaceSyncResult[] results = new ElementPhysicalInterfaceSyncResult[1];
+		transaction(()->{
+			sync(ifp(IFP_0,"uplink"));
+		});
+		transaction(()->{
+			results[0] = sync(ifp(IFP_0,"uplink"));
+		});
+		assertEquals(emptyList(), results[0].getAddedInterfaces());
+		assertEquals(emptyList(), results[0].getUpdatedInterfaces());
+		assertEquals(emptyList(), results[0].getRemovedInterfaces());
+	}
+	
+	@Test
+	public void resolve_neighbor_by_element_name_and_element_alias() {
+		ElementPhysicalInterfaceSyncResult[] results = new ElementPhysicalInterfaceSyncResult[1];
+		transaction(()->{
+			results[0] = sync(ifp(IFP_0,NEIGHBOR_NAME),
+							  ifp(IFP_1,elementName(NEIGHBOR_ALIAS.getValue())));
+		});
+		
+		assertEquals(NEIGHBOR_ID, results[0].getAddedInterfaces().get(0).getNeighbor().getElementId());
+		assertEquals(NEIGHBOR_NAME, results[0].getAddedInterfaces().get(0).getNeighbor().getElementName());
+		assertEquals(NEIGHBOR_ID, results[0].getAddedInterfaces().get(1).getNeighbor().getElementId());
+		assertEquals(NEIGHBOR_NAME, results[0].getAddedInterfaces().get(1).getNeighbor().getElementName());
+		
+		List<String> neighbors = getDatabase().executeQuery(prepare("SELECT n.uuid "+
+																	"FROM inventory.element_ifp ifp "+
+																	"JOIN inventory.element n "+
+																	"ON ifp.neighbor_element_id = n.id "+
+																	"ORDER BY ifp.name"), 
+															rs -> rs.getString(1));
+		assertEquals(asList(NEIGHBOR_ID.getValue(),NEIGHBOR_ID.getValue()), neighbors);
+	}
+	
+	@Test
+	public void store_physical_interface_without_unknown_neighbor() {
+		ArgumentCaptor<Message> sentMessages = forClass(Message.class);
+		doNothing().when(messages).add(sentMessages.capture());
+		ElementPhysicalInterfaceSyncResult[] results = new ElementPhysicalInterfaceSyncResult[1];
+		transaction(()->{
+			results[0] = sync(ifp(IFP_0,elementName("unknown")));
+		});
+		
+		assertNull(results[0].getAddedInterfaces().get(0).getNeighbor());
+		assertEquals(IVT0355W_ELEMENT_IFP_NEIGHBOR_NOT_FOUND.getReasonCode(), sentMessages.getAllValues().get(0).getReason());
+	}
+	
+	private ElementPhysicalInterfaceSyncResult sync(ElementPhysicalInterfaceSubmission... ifps) {
+		Element element = repository.execute(findElementByName(ELEMENT_NAME));
+		return manager.syncPhysicalInterfaces(element, asList(ifps));
+	}
+	
+	private Map<String,String> loadIfpAliases(){
+		Map<String,String> aliases = new TreeMap<>();
+		getDatabase().processQuery(prepare("SELECT name, alias FROM inventory.element_ifp"), 
+								   rs -> aliases.put(rs.getString(1), rs.getString(2)));
+		return aliases;
+	}
+	
+	private static ElementPhysicalInterfaceSubmission ifp(InterfaceName ifpName, String alias) {
+		return newPhysicalInterfaceSubmission()
+			   .withIfpName(ifpName)
+			   .withIfpAlias(alias)
+			   .build();
+	}
+	
+	private static ElementPhysicalInterfaceSubmission ifp(InterfaceName ifpName, ElementName neighbor) {
+		return newPhysicalInterfaceSubmission()
+			   .withIfpName(ifpName)
+			   .withNeighbor(newPhysicalInterfaceNeighbor()
+					   		 .withElementName(neighbor)
+					   		 .withInterfaceName(NEIGHBOR_IFP))
+			   .build();
+	}
+	
+}
@@ -19,11 +19,18 @@ import static io.leitstand.inventory.service.ElementId.randomElementId;
 import static io.leitstand.inventory.service.ElementName.elementName;
 import static io.leitstand.inventory.service.ReasonCode.IVT0300E_ELEMENT_NOT_FOUND;
 import static io.leitstand.testing.ut.LeitstandCoreMatchers.reason;
+import static io.leitstand.inventory.service.ElementGroupId.randomGroupId;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementGroupType.groupType;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -102,6 +109,72 @@ public class ElementProviderTest {
         
     }
     
+    private static Element element(long id, ElementId elementId, ElementName elementName) {
+        Element element = mock(Element.class);
+        when(element.getId()).thenReturn(id);
+        when(element.getElementId()).thenReturn(elementId);
+        when(element.getElementName()).thenReturn(elementName);
+        when(element.getGroupId()).thenReturn(randomGroupId());
+        when(element.getGroupName()).thenReturn(groupName("group"));
+        when(element.getGroupType()).thenReturn(groupType("pod"));
+        when(element.getElementRoleName()).thenReturn(elementRoleName("role"));
+        return element;
+    }
+    
+    @Test
+    public void fetch_cached_element_by_primary_key() {
+        ElementCache cache = new ElementCache(10);
+        ElementProvider elements = new ElementProvider(repository, cache);
+        Element element = element(1L, ELEMENT_ID, ELEMENT_NAME);
+        when(repository.execute(any(Query.class))).thenReturn(element);
+        when(repository.find(Element.class, 1L)).thenReturn(element);
+        
+        assertSame(element, elements.fetchElement(ELEMENT_NAME));
+        assertSame(element, elements.fetchElement(ELEMENT_NAME));
+        assertSame(element, elements.fetchElement(ELEMENT_ID));
+        
+        verify(repository, times(1)).execute(any(Query.class));
+        verify(repository, times(2)).find(Element.class, 1L);
+        assertEquals(2, cache.getHits());
+    }
+    
+    @Test
+    public void evict_cached_element_that_was_renamed_meanwhile() {
+        ElementCache cache = new ElementCache(10);
+        ElementProvider elements = new ElementProvider(repository, cache);
+        Element renamed = element(1L, ELEMENT_ID, elementName("renamed"));
+        cache.cache(CachedElement.cachedElement(element(1L, ELEMENT_ID, ELEMENT_NAME)));
+        when(repository.find(Element.class, 1L)).thenReturn(renamed);
+        
+        assertNull(elements.tryFetchElement(ELEMENT_NAME));
+        assertNull(cache.get(ELEMENT_NAME));
+        assertEquals(1, cache.getInvalidations());
+    }
+    
+    @Test
+    public void serve_element_envelope_from_cache() {
+        ElementCache cache = new ElementCache(10);
+        ElementProvider elements = new ElementProvider(repository, cache);
+        Element element = element(1L, ELEMENT_ID, ELEMENT_NAME);
+        when(repository.execute(any(Query.class))).thenReturn(element);
+        
+        CachedElement cached = elements.fetchCachedElement(ELEMENT_ID);
+        
+        assertSame(cached, elements.fetchCachedElement(ELEMENT_ID));
+        assertSame(cached, elements.fetchCachedElement(ELEMENT_NAME));
+        assertEquals(1L, cached.getId());
+        assertEquals(ELEMENT_NAME, cached.getElementName());
+        verify(repository, times(1)).execute(any(Query.class));
+        verify(repository, never()).find(Element.class, 1L);
+    }
+    
+    @Test
+    public void fetch_cached_element_throws_EntityNotFoundException_for_non_existing_element() {
+        exception.expect(EntityNotFoundException.class);
+        exception.expect(reason(IVT0300E_ELEMENT_NOT_FOUND));
+        new ElementProvider(repository, new ElementCache(10)).fetchCachedElement(ELEMENT_NAME);
+    }
+    
     @Test
     public void fetch_element_by_id_when_name_is_null() {
         Element element = mock(Element.class);
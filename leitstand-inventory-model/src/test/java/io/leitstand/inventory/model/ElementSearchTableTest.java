@@ -0,0 +1,215 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.ElementSearchTable.EXACT_MATCH;
+import static io.leitstand.inventory.model.ElementSearchTable.PREFIX_MATCH;
+import static io.leitstand.inventory.model.ElementSearchTable.SUBSTRING_MATCH;
+import static io.leitstand.inventory.model.ElementSearchTable.WORD_PREFIX_MATCH;
+import static io.leitstand.inventory.model.ElementSearchTable.isIndexable;
+import static io.leitstand.inventory.model.ElementSearchTable.SearchField.ASSET_ID;
+import static io.leitstand.inventory.model.ElementSearchTable.SearchField.MANAGEMENT_HOST;
+import static io.leitstand.inventory.model.ElementSearchTable.SearchField.NAME;
+import static io.leitstand.inventory.model.ElementSearchTable.SearchField.NAME_OR_TAG;
+import static io.leitstand.inventory.model.ElementSearchTable.SearchField.SERIAL_NUMBER;
+import static io.leitstand.inventory.service.ElementAlias.elementAlias;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.leitstand.inventory.model.ElementSearchTable.ElementRef;
+import io.leitstand.inventory.model.ElementSearchTable.Match;
+import io.leitstand.inventory.service.ElementId;
+
+public class ElementSearchTableTest {
+	
+	private static final ElementId LEAF1 = randomElementId();
+	private static final ElementId LEAF2 = randomElementId();
+	private static final ElementId SPINE1 = randomElementId();
+	private static final ElementId BORDER = randomElementId();
+	
+	private static ElementRef element(ElementId elementId, 
+									  String groupName, 
+									  String elementName, 
+									  String alias, 
+									  List<String> tags,
+									  String serialNumber,
+									  String assetId,
+									  List<String> hostnames) {
+		return new ElementRef(elementId, 
+							  groupName(groupName), 
+							  elementName(elementName), 
+							  elementAlias(alias), 
+							  tags, 
+							  serialNumber, 
+							  assetId, 
+							  hostnames);
+	}
+	
+	private ElementSearchTable table;
+	
+	@Before
+	public void initTable() {
+		table = new ElementSearchTable();
+		table.put(element(LEAF2, "pod-b", "leaf1", null, asList("tor"), "SN-200", "A-2", asList("leaf1.pod-b.example.com")));
+		table.put(element(LEAF1, "pod-a", "leaf1", "rack12-tor", asList("tor", "edge_1"), "SN-100", "A-1", asList("leaf1.pod-a.example.com")));
+		table.put(element(SPINE1, "pod-a", "spine1", null, asList("spine"), "SN-300", null, asList("10.0.0.3")));
+		table.put(element(BORDER, "core", "border-leaf", null, emptyList(), null, null, emptyList()));
+	}
+	
+	private static List<ElementId> ids(List<Match> matches){
+		return matches.stream()
+					  .map(match -> match.getElement().getElementId())
+					  .collect(toList());
+	}
+	
+	private static Set<ElementId> ids(ElementId... ids){
+		return new HashSet<>(asList(ids));
+	}
+	
+	private static List<Integer> ranks(List<Match> matches){
+		return matches.stream()
+					  .map(Match::getRank)
+					  .collect(toList());
+	}
+	
+	@Test
+	public void regular_expressions_are_not_indexable() {
+		assertTrue(isIndexable("leaf1"));
+		assertTrue(isIndexable("leaf1.pod-a"));
+		assertTrue(isIndexable(""));
+		assertFalse(isIndexable("leaf.*"));
+		assertFalse(isIndexable("^leaf"));
+		assertFalse(isIndexable("leaf[12]"));
+		assertFalse(isIndexable("leaf1|spine1"));
+	}
+	
+	@Test
+	public void filter_by_name_or_alias() {
+		assertEquals(ids(BORDER,LEAF1,LEAF2), table.filter(NAME, "leaf", 100));
+		assertEquals(ids(LEAF1), table.filter(NAME, "rack12", 100));
+		assertEquals(ids(LEAF1,SPINE1,LEAF2), table.filter(NAME, "1", 100));
+	}
+	
+	@Test
+	public void filter_by_name_is_case_sensitive() {
+		assertEquals(emptySet(), table.filter(NAME, "LEAF", 100));
+	}
+	
+	@Test
+	public void filter_applies_dot_wildcard() {
+		assertEquals(ids(BORDER), table.filter(NAME, "r.l", 100));
+		assertEquals(ids(LEAF1,LEAF2), table.filter(MANAGEMENT_HOST, "leaf1.pod", 100));
+	}
+	
+	@Test
+	public void filter_by_tag_requires_entire_tag_to_match() {
+		assertEquals(ids(LEAF1,LEAF2), table.filter(NAME_OR_TAG, "tor", 100));
+		assertEquals(ids(LEAF1), table.filter(NAME_OR_TAG, "edge_1", 100));
+		assertEquals(ids(LEAF1), table.filter(NAME_OR_TAG, "edge%", 100));
+		assertEquals(emptySet(), table.filter(NAME_OR_TAG, "edg", 100));
+	}
+	
+	@Test
+	public void filter_by_serial_number_asset_id_and_hostname() {
+		assertEquals(ids(LEAF1,SPINE1,LEAF2), table.filter(SERIAL_NUMBER, "SN-", 100));
+		assertEquals(ids(LEAF2), table.filter(ASSET_ID, "A-2", 100));
+		assertEquals(ids(SPINE1), table.filter(MANAGEMENT_HOST, "10.0.0", 100));
+	}
+	
+	@Test
+	public void filter_returns_null_when_exceeding_max_matches() {
+		assertEquals(ids(LEAF1,LEAF2,BORDER), table.filter(NAME, "leaf", 3));
+		assertNull(table.filter(NAME, "leaf", 2));
+	}
+	
+	@Test
+	public void filter_reflects_updated_and_removed_elements() {
+		table.put(element(LEAF2, "pod-b", "leaf2", null, emptyList(), null, null, emptyList()));
+		table.remove(BORDER);
+		assertEquals(ids(LEAF1,LEAF2), table.filter(NAME, "leaf", 100));
+		assertEquals(ids(LEAF1), table.filter(NAME_OR_TAG, "tor", 100));
+		assertEquals(3, table.size());
+	}
+	
+	@Test
+	public void filter_remains_correct_after_postings_are_rebuilt() {
+		for(int i=0; i < 5000; i++) {
+			table.put(element(LEAF2, "pod-b", "leaf"+i, null, emptyList(), null, null, emptyList()));
+		}
+		assertEquals(ids(LEAF2), table.filter(NAME, "leaf4999", 100));
+		assertEquals(emptySet(), table.filter(NAME, "leaf4998", 100));
+		assertEquals(4, table.size());
+	}
+	
+	@Test
+	public void rank_exact_before_prefix_before_word_prefix_before_substring_matches() {
+		List<Match> matches = table.search("LEAF", null, 10);
+		assertEquals(asList(LEAF1,LEAF2,BORDER), ids(matches));
+		assertEquals(asList(PREFIX_MATCH,PREFIX_MATCH,WORD_PREFIX_MATCH), ranks(matches));
+		
+		matches = table.search("tor", null, 10);
+		assertEquals(asList(LEAF1,LEAF2), ids(matches));
+		assertEquals(asList(EXACT_MATCH,EXACT_MATCH), ranks(matches));
+		
+		matches = table.search("eaf", null, 10);
+		assertEquals(asList(SUBSTRING_MATCH,SUBSTRING_MATCH,SUBSTRING_MATCH), ranks(matches));
+	}
+	
+	@Test
+	public void search_short_terms() {
+		assertEquals(asList(SPINE1), ids(table.search("sp", null, 10)));
+		assertEquals(asList(SPINE1,LEAF1,LEAF2), ids(table.search("1", null, 10)));
+	}
+	
+	@Test
+	public void page_search_results_with_cursor() {
+		List<Match> first = table.search("e", null, 2);
+		assertEquals(2, first.size());
+		List<Match> second = table.search("e", first.get(1).getCursor(), 2);
+		assertEquals(2, second.size());
+		List<Match> third = table.search("e", second.get(1).getCursor(), 2);
+		assertEquals(emptyList(), third);
+		
+		List<Match> all = table.search("e", null, 10);
+		assertEquals(ids(all), asList(ids(first).get(0),
+									  ids(first).get(1),
+									  ids(second).get(0),
+									  ids(second).get(1)));
+	}
+	
+	@Test
+	public void search_returns_nothing_for_unknown_term() {
+		assertEquals(emptyList(), table.search("router", null, 10));
+		assertEquals(emptyList(), table.search("", null, 10));
+	}
+	
+}
@@ -76,14 +76,17 @@ public class ElementServiceIT extends InventoryIT {
 	
 	private ElementService service;
 	private Repository repository;
+	private ElementSearchIndex index;
 
 	@Before
 	public void initTestEnvironment() {
 		this.repository = new Repository(getEntityManager());
 		ElementProvider elements = new ElementProvider(repository);
+		this.index = new ElementSearchIndex(new ElementSearchIndexService(getDatabase()));
 		ElementManager manager = new ElementManager(repository, 
 													mock(Event.class),
-													mock(Messages.class));
+													mock(Messages.class),
+													index);
 		
 		service = new DefaultElementService(manager,
 											elements);
@@ -127,6 +130,7 @@ public class ElementServiceIT extends InventoryIT {
 					   });
 			
 		});
+		index.reload();
 	}
 	
 	@Test
@@ -183,6 +187,70 @@ public class ElementServiceIT extends InventoryIT {
 		
 	}
 
+	@Test
+	public void read_page_of_indexed_filter_matches_ordered_by_element_name() {
+		
+		transaction(()->{
+			List<ElementSettings> elements = service.findElementsByName("e", 0, 100);
+			assertEquals(3, elements.size());
+			assertEquals(ACTIVE_ELEMENT_NAME, elements.get(0).getElementName());
+			assertEquals(NEW_ELEMENT_NAME, elements.get(1).getElementName());
+			assertEquals(RETIRED_ELEMENT_NAME, elements.get(2).getElementName());
+		});
+		
+		transaction(()->{
+			List<ElementSettings> elements = service.findElementsByName("e", 1, 1);
+			assertEquals(1, elements.size());
+			assertEquals(NEW_ELEMENT_NAME, elements.get(0).getElementName());
+		});
+		
+	}
+
+	@Test
+	public void find_element_added_after_index_was_loaded() {
+		ElementId elementId = randomElementId();
+		ElementName elementName = elementName("fallback");
+		
+		transaction(()->{
+			ElementGroup group = repository.execute(findElementGroupById(GROUP_ID));
+			ElementRole role = repository.execute(findRoleByName(ROLE_NAME));
+			repository.add(new Element(group,role,elementId,elementName));
+		});
+		
+		transaction(()->{
+			List<ElementSettings> elements = service.findElementsByName("fallback", 0, 100);
+			assertEquals(1, elements.size());
+			assertEquals(elementId, elements.get(0).getElementId());
+		});
+		
+	}
+	
+	@Test
+	public void do_not_find_element_renamed_after_index_was_loaded() {
+		
+		transaction(()->{
+			Element element = repository.execute(findElementById(NEW_ELEMENT_ID));
+			element.setElementName(elementName("renamed"));
+		});
+		
+		transaction(()->{
+			List<ElementSettings> elements = service.findElementsByName("new", 0, 100);
+			assertThat(elements,isEmptyList());
+		});
+		
+		transaction(()->{
+			List<ElementSettings> elements = service.findElementsByName("renamed", 0, 100);
+			assertEquals(1, elements.size());
+			assertEquals(NEW_ELEMENT_ID, elements.get(0).getElementId());
+		});
+		
+		transaction(()->{
+			Element element = repository.execute(findElementById(NEW_ELEMENT_ID));
+			element.setElementName(NEW_ELEMENT_NAME);
+		});
+		
+	}
+	
 	@Test
 	public void find_elements_by_tag_pattern() {
 		
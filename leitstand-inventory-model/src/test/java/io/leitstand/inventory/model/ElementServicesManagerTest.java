@@ -15,9 +15,13 @@
  */
 package io.leitstand.inventory.model;
 
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementServiceReference.newElementServiceReference;
+import static io.leitstand.inventory.service.ElementServiceSubmission.newElementServiceSubmission;
 import static io.leitstand.inventory.service.OperationalState.UP;
 import static io.leitstand.inventory.service.ReasonCode.IVT0320E_ELEMENT_SERVICE_NOT_FOUND;
 import static io.leitstand.inventory.service.ReasonCode.IVT0322I_ELEMENT_SERVICE_REMOVED;
+import static io.leitstand.inventory.service.ReasonCode.IVT0323E_ELEMENT_SERVICE_CYCLE;
 import static io.leitstand.inventory.service.ServiceName.serviceName;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
@@ -28,6 +32,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import javax.enterprise.event.Event;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -38,10 +44,13 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import io.leitstand.commons.EntityNotFoundException;
+import io.leitstand.commons.UnprocessableEntityException;
 import io.leitstand.commons.messages.Message;
 import io.leitstand.commons.messages.Messages;
 import io.leitstand.commons.model.Query;
 import io.leitstand.commons.model.Repository;
+import io.leitstand.inventory.event.ElementEvent;
+import io.leitstand.inventory.service.ElementName;
 import io.leitstand.testing.ut.LeitstandCoreMatchers;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -59,6 +68,15 @@ public class ElementServicesManagerTest {
 	@Mock
 	private Messages messages;
 	
+	@Mock
+	private Event<ElementEvent> event;
+	
+	@Mock
+	private ElementProvider elements;
+	
+	@Mock
+	private ServiceDependencyIndex dependencies;
+	
 	@InjectMocks
 	private ElementServicesManager manager = new ElementServicesManager();
 	
@@ -108,4 +126,31 @@ public class ElementServicesManagerTest {
 		assertEquals(IVT0322I_ELEMENT_SERVICE_REMOVED.getReasonCode(),sentMessage.getValue().getReason());
 	}
 	
+	@Test
+	public void reject_circular_service_dependency() {
+		exception.expect(UnprocessableEntityException.class);
+		exception.expect(LeitstandCoreMatchers.reason(IVT0323E_ELEMENT_SERVICE_CYCLE));
+		
+		// The daemon runs on the container. The container must not run on the daemon.
+		Element_ServiceContext containerContext = mock(Element_ServiceContext.class);
+		Element_Service container = mock(Element_Service.class);
+		when(container.getContext()).thenReturn(containerContext);
+		Element_ServiceContext daemonContext = mock(Element_ServiceContext.class);
+		Element_Service daemon = mock(Element_Service.class);
+		when(daemonContext.getParent()).thenReturn(containerContext);
+		when(daemonContext.getService()).thenReturn(daemon);
+		when(repository.execute(any(Query.class))).thenReturn(container)
+												   .thenReturn(daemonContext);
+		when(elements.tryFetchElement(any(ElementName.class))).thenReturn(element);
+		
+		manager.storeElementService(element, 
+									newElementServiceSubmission()
+									.withServiceName(serviceName("container"))
+									.withOperationalState(UP)
+									.withParentService(newElementServiceReference()
+													   .withElementName(elementName("element"))
+													   .withServiceName(serviceName("daemon")))
+									.build());
+	}
+	
 }
@@ -45,6 +45,7 @@ import static org.mockito.Mockito.mock;
 
 import java.util.List;
 
+import javax.enterprise.event.Event;
 import javax.inject.Provider;
 
 import org.junit.Before;
@@ -113,7 +114,9 @@ public class ElementServicesServiceIT extends InventoryIT {
 		                                                            getDatabase(), 
 		                                                            txExecutor, 
 		                                                            elements, 
-		                                                            messages);
+		                                                            messages,
+		                                                            mock(Event.class),
+		                                                            new ServiceDependencyIndex(new ServiceDependencyIndexService(getDatabase())));
 		
 		service = new DefaultElementServicesService(elements, manager);
 		
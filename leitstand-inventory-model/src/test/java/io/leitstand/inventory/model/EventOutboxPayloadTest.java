@@ -0,0 +1,383 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.event.DnsRecordSetUpdate.newDnsRecordSetUpdate;
+import static io.leitstand.inventory.event.DnsZoneCreatedEvent.newDnsZoneCreatedEvent;
+import static io.leitstand.inventory.event.DnsZoneRemovedEvent.newDnsZoneRemovedEvent;
+import static io.leitstand.inventory.event.ElementActivatedEvent.newElementActivatedEvent;
+import static io.leitstand.inventory.event.ElementAddedEvent.newElementAddedEvent;
+import static io.leitstand.inventory.event.ElementClonedEvent.newElementClonedEvent;
+import static io.leitstand.inventory.event.ElementConfigRemovedEvent.newElementConfigRemovedEvent;
+import static io.leitstand.inventory.event.ElementConfigRevisionRemovedEvent.newElementConfigRevisionRemovedEvent;
+import static io.leitstand.inventory.event.ElementConfigStoredEvent.newElementConfigStoredEvent;
+import static io.leitstand.inventory.event.ElementDnsRecordSetModifiedEvent.newDnsRecordSetChangedEvent;
+import static io.leitstand.inventory.event.ElementEnvironmentRemovedEvent.newElementEnvironmentRemovedEvent;
+import static io.leitstand.inventory.event.ElementEnvironmentStoredEvent.newElementEnvironmentStoredEvent;
+import static io.leitstand.inventory.event.ElementLogicalInterfaceEvent.newElementLogicalInterfaceEvent;
+import static io.leitstand.inventory.event.ElementMovedEvent.newElementMovedEvent;
+import static io.leitstand.inventory.event.ElementOperationalStateChangedEvent.newElementOperationalStateChangedEvent;
+import static io.leitstand.inventory.event.ElementPhysicalInterfaceRemovedEvent.newPhysicalInterfaceRemovedEvent;
+import static io.leitstand.inventory.event.ElementPhysicalInterfaceStoredEvent.newPhysicalInterfaceStoredEvent;
+import static io.leitstand.inventory.event.ElementRemovedEvent.newElementRemovedEvent;
+import static io.leitstand.inventory.event.ElementRenamedEvent.newElementRenamedEvent;
+import static io.leitstand.inventory.event.ElementRetiredEvent.newElementRetiredEvent;
+import static io.leitstand.inventory.event.ElementRoleChangedEvent.newElementRoleChangedEvent;
+import static io.leitstand.inventory.event.ElementServiceRemovedEvent.newElementServiceRemovedEvent;
+import static io.leitstand.inventory.event.ElementServiceStoredEvent.newElementServiceStoredEvent;
+import static io.leitstand.inventory.event.ElementSettingsUpdatedEvent.newElementSettingsUpdatedEvent;
+import static io.leitstand.inventory.event.ImageAddedEvent.newImageAddedEvent;
+import static io.leitstand.inventory.event.ImagePurgedEvent.newImagePurgedEvent;
+import static io.leitstand.inventory.event.ImageRemovedEvent.newImageRemovedEvent;
+import static io.leitstand.inventory.event.ImageStateChangedEvent.newImageStateChangedEvent;
+import static io.leitstand.inventory.event.ImageStoredEvent.newImageStoredEvent;
+import static io.leitstand.inventory.model.EventOutbox.JSONB;
+import static io.leitstand.inventory.service.AdministrativeState.ACTIVE;
+import static io.leitstand.inventory.service.ConfigurationState.CANDIDATE;
+import static io.leitstand.inventory.service.DnsName.dnsName;
+import static io.leitstand.inventory.service.DnsRecord.newDnsRecord;
+import static io.leitstand.inventory.service.DnsRecordSetId.randomDnsRecordSetId;
+import static io.leitstand.inventory.service.DnsRecordType.dnsRecordType;
+import static io.leitstand.inventory.service.DnsZoneId.randomDnsZoneId;
+import static io.leitstand.inventory.service.DnsZoneName.dnsZoneName;
+import static io.leitstand.inventory.service.ElementAlias.elementAlias;
+import static io.leitstand.inventory.service.ElementConfigId.randomConfigId;
+import static io.leitstand.inventory.service.ElementConfigName.elementConfigName;
+import static io.leitstand.inventory.service.ElementGroupId.randomGroupId;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementGroupSettings.newElementGroupSettings;
+import static io.leitstand.inventory.service.ElementGroupType.groupType;
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementPhysicalInterfaceNeighbor.newPhysicalInterfaceNeighbor;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.EnvironmentId.randomEnvironmentId;
+import static io.leitstand.inventory.service.EnvironmentInfo.newEnvironmentInfo;
+import static io.leitstand.inventory.service.EnvironmentName.environmentName;
+import static io.leitstand.inventory.service.FacilityId.randomFacilityId;
+import static io.leitstand.inventory.service.FacilityName.facilityName;
+import static io.leitstand.inventory.service.ImageId.randomImageId;
+import static io.leitstand.inventory.service.ImageName.imageName;
+import static io.leitstand.inventory.service.ImageState.RELEASE;
+import static io.leitstand.inventory.service.ImageType.imageType;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.MACAddress.macAddress;
+import static io.leitstand.inventory.service.OperationalState.DOWN;
+import static io.leitstand.inventory.service.OperationalState.UP;
+import static io.leitstand.inventory.service.ServiceName.serviceName;
+import static io.leitstand.security.auth.UserName.userName;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+
+import org.junit.Test;
+
+import io.leitstand.inventory.event.ElementEvent;
+import io.leitstand.inventory.event.ElementEvent.ElementEventBuilder;
+import io.leitstand.inventory.event.ImageEvent;
+import io.leitstand.inventory.event.ImageEvent.ImageEventBuilder;
+import io.leitstand.inventory.service.AdministrativeState;
+import io.leitstand.inventory.service.ElementGroupSettings;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ImageState;
+import io.leitstand.inventory.service.Version;
+
+/**
+ * Verifies that every event written to the {@link EventOutbox} can be restored from its outbox payload.
+ * The {@link EventOutboxService} discards events that cannot be restored.
+ */
+public class EventOutboxPayloadTest {
+
+	private static final ElementId ELEMENT_ID = randomElementId();
+	private static final Date DATE = new Date(1600000000123L);
+	
+	private static final ElementGroupSettings GROUP = newElementGroupSettings()
+													  .withGroupId(randomGroupId())
+													  .withGroupName(groupName("pod-1"))
+													  .withGroupType(groupType("pod"))
+													  .withDescription("pod")
+													  .withFacilityId(randomFacilityId())
+													  .withFacilityName(facilityName("berlin"))
+													  .withTags("rack-1","rack-2")
+													  .build();
+	
+	private static <T extends ElementEvent, B extends ElementEventBuilder<T,B>> B element(B builder) {
+		return builder.withGroupId(GROUP.getGroupId())
+					  .withGroupName(GROUP.getGroupName())
+					  .withGroupType(GROUP.getGroupType())
+					  .withElementId(ELEMENT_ID)
+					  .withElementName(elementName("leaf-1"))
+					  .withElementAlias(elementAlias("leaf"))
+					  .withElementRole(elementRoleName("leaf"))
+					  .withAdministrativeState(ACTIVE)
+					  .withOperationalState(UP)
+					  .withDateModified(DATE);
+	}
+	
+	private static <T extends ImageEvent, B extends ImageEventBuilder<T,B>> B image(B builder) {
+		return builder.withImageId(randomImageId())
+					  .withImageName(imageName("leaf"))
+					  .withImageType(imageType("lxd"))
+					  .withImageState(RELEASE)
+					  .withImageVersion(new Version(1,2,3))
+					  .withElementRoles(asList(elementRoleName("leaf"),
+							  				   elementRoleName("spine")))
+					  .withChecksums(singletonMap("MD5", "b026324c6904b2a9cb4b88d6d61c81d1"))
+					  .withOrganization("io.leitstand")
+					  .withCategory("os")
+					  .withImageExtension("tar.gz");
+	}
+	
+	private static void assertRoundTrip(Object event) {
+		assertTrue(event.getClass().getName().startsWith("io.leitstand.inventory.event."));
+		String payload = JSONB.toJson(event);
+		Object restored = JSONB.fromJson(payload, event.getClass());
+		assertEquals(event.getClass(), restored.getClass());
+		assertEquals(payload, JSONB.toJson(restored));
+	}
+	
+	@Test
+	public void restore_element_added_event() {
+		assertRoundTrip(element(newElementAddedEvent()).build());
+	}
+	
+	@Test
+	public void restore_element_activated_event() {
+		assertRoundTrip(element(newElementActivatedEvent()).build());
+	}
+	
+	@Test
+	public void restore_element_retired_event() {
+		assertRoundTrip(element(newElementRetiredEvent()).build());
+	}
+	
+	@Test
+	public void restore_element_removed_event() {
+		assertRoundTrip(element(newElementRemovedEvent()).build());
+	}
+	
+	@Test
+	public void restore_element_settings_updated_event() {
+		assertRoundTrip(element(newElementSettingsUpdatedEvent()).build());
+	}
+	
+	@Test
+	public void restore_element_renamed_event() {
+		assertRoundTrip(element(newElementRenamedEvent())
+						.withPreviousName(elementName("leaf-0"))
+						.build());
+	}
+	
+	@Test
+	public void restore_element_role_changed_event() {
+		assertRoundTrip(element(newElementRoleChangedEvent())
+						.withPreviousElementRole(elementRoleName("spine"))
+						.build());
+	}
+	
+	@Test
+	public void restore_element_operational_state_changed_event() {
+		assertRoundTrip(element(newElementOperationalStateChangedEvent())
+						.withPreviousState(DOWN)
+						.build());
+	}
+	
+	@Test
+	public void restore_element_moved_event() {
+		assertRoundTrip(element(newElementMovedEvent())
+						.withFrom(GROUP)
+						.withTo(newElementGroupSettings()
+								.withGroupId(randomGroupId())
+								.withGroupName(groupName("pod-2"))
+								.withGroupType(groupType("pod"))
+								.build())
+						.build());
+	}
+	
+	@Test
+	public void restore_element_cloned_event() {
+		assertRoundTrip(element(newElementClonedEvent())
+						.withSerialNumber("4711")
+						.withMacAddress(macAddress("00:00:00:00:00:01"))
+						.withCloneElementId(randomElementId())
+						.withCloneElementName(elementName("leaf-2"))
+						.withCloneElementAlias(elementAlias("clone"))
+						.withCloneSerialNumber("4712")
+						.withCloneMacAddress(macAddress("00:00:00:00:00:02"))
+						.build());
+	}
+	
+	@Test
+	public void restore_element_config_stored_event() {
+		assertRoundTrip(element(newElementConfigStoredEvent())
+						.withConfigId(randomConfigId())
+						.withConfigName(elementConfigName("running"))
+						.withConfigState(CANDIDATE)
+						.withContentType("application/json")
+						.withCreator(userName("admin"))
+						.withConfigDate(DATE)
+						.build());
+	}
+	
+	@Test
+	public void restore_element_config_removed_event() {
+		assertRoundTrip(element(newElementConfigRemovedEvent())
+						.withConfigName(elementConfigName("running"))
+						.build());
+	}
+	
+	@Test
+	public void restore_element_config_revision_removed_event() {
+		assertRoundTrip(element(newElementConfigRevisionRemovedEvent())
+						.withConfigId(randomConfigId())
+						.withConfigName(elementConfigName("running"))
+						.withConfigState(CANDIDATE)
+						.withDateModified(DATE)
+						.build());
+	}
+	
+	@Test
+	public void restore_element_physical_interface_stored_event() {
+		assertRoundTrip(element(newPhysicalInterfaceStoredEvent())
+						.withInterfaceName(interfaceName("ifp-0/0/1"))
+						.withInterfaceAdministrativeState(AdministrativeState.UP)
+						.withInterfaceOperationalState(DOWN)
+						.withInterfaceDateModified(DATE)
+						.withNeighbor(newPhysicalInterfaceNeighbor()
+									  .withElementId(randomElementId())
+									  .withElementName(elementName("spine-1"))
+									  .withInterfaceName(interfaceName("ifp-0/0/2"))
+									  .build())
+						.build());
+	}
+	
+	@Test
+	public void restore_element_physical_interface_removed_event() {
+		assertRoundTrip(element(newPhysicalInterfaceRemovedEvent())
+						.withInterfaceName(interfaceName("ifp-0/0/1"))
+						.build());
+	}
+	
+	@Test
+	public void restore_element_logical_interface_event() {
+		assertRoundTrip(element(newElementLogicalInterfaceEvent())
+						.withInterfaceName(interfaceName("ifl-0/0/1/0"))
+						.withInterfaceAdministrativeState(AdministrativeState.UP)
+						.withInterfaceOperationalState(UP)
+						.withInterfaceDateModified(DATE)
+						.build());
+	}
+	
+	@Test
+	public void restore_element_service_stored_event() {
+		assertRoundTrip(element(newElementServiceStoredEvent())
+						.withServiceName(serviceName("bgp"))
+						.build());
+	}
+	
+	@Test
+	public void restore_element_service_removed_event() {
+		assertRoundTrip(element(newElementServiceRemovedEvent())
+						.withServiceName(serviceName("bgp"))
+						.build());
+	}
+	
+	@Test
+	public void restore_element_environment_stored_event() {
+		assertRoundTrip(element(newElementEnvironmentStoredEvent())
+						.withEnvironment(newEnvironmentInfo()
+										 .withEnvironmentId(randomEnvironmentId())
+										 .withEnvironmentName(environmentName("lab"))
+										 .withCategory("test")
+										 .withType("lab")
+										 .withDescription("Lab environment"))
+						.build());
+	}
+	
+	@Test
+	public void restore_element_environment_removed_event() {
+		assertRoundTrip(element(newElementEnvironmentRemovedEvent())
+						.withEnvironment(newEnvironmentInfo()
+										 .withEnvironmentId(randomEnvironmentId())
+										 .withEnvironmentName(environmentName("lab")))
+						.build());
+	}
+	
+	@Test
+	public void restore_element_dns_record_set_modified_event() {
+		assertRoundTrip(element(newDnsRecordSetChangedEvent())
+						.withDnsRecordSetUpdate(newDnsRecordSetUpdate()
+												.withDnsZoneId(randomDnsZoneId())
+												.withDnsZoneName(dnsZoneName("leitstand.io"))
+												.withDnsRecordSetId(randomDnsRecordSetId())
+												.withDnsName(dnsName("leaf-1.leitstand.io"))
+												.withDnsRecordType(dnsRecordType("A"))
+												.withDnsRecordTimeToLive(300)
+												.withDnsRecords(newDnsRecord()
+																.withRecordValue("10.0.0.1")
+																.withSetPtr(true))
+												.withDescription("Management address")
+												.withDnsWithdrawnName(dnsName("leaf-0.leitstand.io")))
+						.build());
+	}
+	
+	@Test
+	public void restore_dns_zone_created_event() {
+		assertRoundTrip(newDnsZoneCreatedEvent()
+						.withDnsZoneId(randomDnsZoneId())
+						.withDnsZoneName(dnsZoneName("leitstand.io"))
+						.build());
+	}
+	
+	@Test
+	public void restore_dns_zone_removed_event() {
+		assertRoundTrip(newDnsZoneRemovedEvent()
+						.withDnsZoneId(randomDnsZoneId())
+						.withDnsZoneName(dnsZoneName("leitstand.io"))
+						.build());
+	}
+	
+	@Test
+	public void restore_image_added_event() {
+		assertRoundTrip(image(newImageAddedEvent()).build());
+	}
+	
+	@Test
+	public void restore_image_stored_event() {
+		assertRoundTrip(image(newImageStoredEvent()).build());
+	}
+	
+	@Test
+	public void restore_image_state_changed_event() {
+		assertRoundTrip(image(newImageStateChangedEvent())
+						.withPreviousState(ImageState.CANDIDATE)
+						.build());
+	}
+	
+	@Test
+	public void restore_image_removed_event() {
+		assertRoundTrip(image(newImageRemovedEvent()).build());
+	}
+	
+	@Test
+	public void restore_image_purged_event() {
+		assertRoundTrip(image(newImagePurgedEvent()).build());
+	}
+	
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.EventOutboxService.coalesce;
+import static io.leitstand.inventory.model.EventOutboxService.groupByTopic;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class EventOutboxServiceTest {
+
+	private static OutboxEvent event(long id, String topic, String coalescingKey) {
+		return new OutboxEvent(id, topic, "io.leitstand.inventory.event.ElementSettingsUpdatedEvent", coalescingKey, "{}", 0);
+	}
+	
+	private static List<Long> ids(List<OutboxEvent> events){
+		List<Long> ids = new ArrayList<>();
+		for(OutboxEvent event : events) {
+			ids.add(event.getId());
+		}
+		return ids;
+	}
+	
+	@Test
+	public void retain_latest_event_of_coalescing_key() {
+		List<OutboxEvent> events = asList(event(1, "element", "element:a"),
+										  event(2, "element", "element:b"),
+										  event(3, "element", "element:a"));
+		
+		assertEquals(asList(2L, 3L), ids(coalesce(events)));
+	}
+	
+	@Test
+	public void never_coalesce_events_without_coalescing_key() {
+		List<OutboxEvent> events = asList(event(1, "element", null),
+										  event(2, "element", null),
+										  event(3, "element", "element:a"));
+		
+		assertEquals(asList(1L, 2L, 3L), ids(coalesce(events)));
+	}
+	
+	@Test
+	public void group_events_by_topic_in_outbox_order() {
+		List<OutboxEvent> events = asList(event(1, "image", null),
+										  event(2, "element", null),
+										  event(3, "image", null));
+		
+		Map<String,List<OutboxEvent>> topics = groupByTopic(events);
+		assertEquals(asList("image", "element"), new ArrayList<>(topics.keySet()));
+		assertEquals(asList(1L, 3L), ids(topics.get("image")));
+		assertEquals(asList(2L), ids(topics.get("element")));
+	}
+	
+}
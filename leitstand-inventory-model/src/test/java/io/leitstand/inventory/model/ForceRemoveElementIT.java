@@ -218,6 +218,7 @@ public class ForceRemoveElementIT extends InventoryIT{
 		// Add logical interfaces
 		transaction(()->{
 			ElementLogicalInterfaceManager iflManager = new ElementLogicalInterfaceManager(repository, 
+																						   getDatabase(), 
 																						   messages, 
 																						   event);
 			ElementLogicalInterfaceService iflService = new DefaultElementLogicalInterfaceService(elements, 
@@ -254,7 +255,9 @@ public class ForceRemoveElementIT extends InventoryIT{
 																			   database,
 																			   mock(SubtransactionService.class),
 																			   elements,
-																			   messages);
+																			   messages,
+																			   mock(Event.class),
+																			   new ServiceDependencyIndex(new ServiceDependencyIndexService(database)));
 			ElementServicesService servicesService = new DefaultElementServicesService(elements, 
 																				 	   serviceManager);
 			List<ElementServiceSubmission> services = new LinkedList<>();
@@ -315,7 +318,7 @@ public class ForceRemoveElementIT extends InventoryIT{
 		
 		// Add DNS record
 		transaction(()->{
-			DnsZoneService zoneService = new DefaultDnsZoneService(zones, new DnsZoneManager(repository, event, messages));
+			DnsZoneService zoneService = new DefaultDnsZoneService(zones, new DnsZoneManager(repository, getDatabase(), event, messages));
 			
 			
 			zoneService.storeDnsZoneSettings(newDnsZoneSettings()
@@ -347,7 +350,7 @@ public class ForceRemoveElementIT extends InventoryIT{
 		});
 		
 		
-		ElementManager elementManager = new ElementManager(repository,mock(Event.class),messages);
+		ElementManager elementManager = new ElementManager(repository,mock(Event.class),messages,mock(ElementSearchIndex.class));
 
 		service = new DefaultElementService(elementManager, 
 											elements);
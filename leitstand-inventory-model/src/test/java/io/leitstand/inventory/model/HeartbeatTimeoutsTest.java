@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.HeartbeatTimeouts.heartbeatTimeouts;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class HeartbeatTimeoutsTest {
+
+	@Test
+	public void apply_default_timeout_if_nothing_is_configured() {
+		assertEquals(180_000, heartbeatTimeouts(null, null).getTimeoutMillis("leaf"));
+	}
+	
+	@Test
+	public void apply_configured_default_timeout() {
+		assertEquals(60_000, heartbeatTimeouts("60", null).getTimeoutMillis("leaf"));
+	}
+	
+	@Test
+	public void apply_role_specific_timeouts() {
+		HeartbeatTimeouts timeouts = heartbeatTimeouts("60", "spine=120, leaf = 300");
+		assertEquals(120_000, timeouts.getTimeoutMillis("spine"));
+		assertEquals(300_000, timeouts.getTimeoutMillis("leaf"));
+		assertEquals(60_000, timeouts.getTimeoutMillis("border"));
+	}
+	
+	@Test
+	public void ignore_invalid_timeouts() {
+		HeartbeatTimeouts timeouts = heartbeatTimeouts("-1", "spine=abc,leaf");
+		assertEquals(180_000, timeouts.getTimeoutMillis("spine"));
+		assertEquals(180_000, timeouts.getTimeoutMillis("leaf"));
+	}
+	
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.event.ElementLogicalInterfaceEvent.newElementLogicalInterfaceEvent;
+import static io.leitstand.inventory.model.IPPrefixKey.parse;
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.IPvxPrefix.cidr;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.RoutingInstanceName.routingInstance;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.leitstand.inventory.model.IPPrefixIndexService.IflFingerprint;
+import io.leitstand.inventory.model.IPPrefixTable.AddressRef;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.InterfaceName;
+
+public class IPPrefixIndexTest {
+
+	private static final ElementId LEAF1 = randomElementId();
+	private static final ElementId LEAF2 = randomElementId();
+	private static final ElementId LEAF3 = randomElementId();
+	private static final InterfaceName IFL_NAME = interfaceName("ifl-0/0/1/0");
+	
+	private IPPrefixIndexService service;
+	private IPPrefixIndex index;
+	private AddressRef leaf1Uplink;
+	private AddressRef leaf2Uplink;
+	private AddressRef leaf3Uplink;
+	
+	@Before
+	public void initTestEnvironment() {
+		leaf1Uplink = new AddressRef(LEAF1, IFL_NAME, routingInstance("default"), cidr("10.20.30.1/31"));
+		leaf2Uplink = new AddressRef(LEAF2, IFL_NAME, routingInstance("default"), cidr("10.20.30.0/31"));
+		leaf3Uplink = new AddressRef(LEAF3, IFL_NAME, routingInstance("default"), cidr("10.20.40.0/31"));
+		service = mock(IPPrefixIndexService.class);
+		when(service.loadAddresses()).thenReturn(asList(leaf1Uplink, leaf2Uplink, leaf3Uplink));
+		index = new IPPrefixIndex(service);
+	}
+	
+	@Test
+	public void reload_addresses_of_modified_logical_interface() {
+		when(service.loadAddresses(LEAF1, IFL_NAME)).thenReturn(emptyList());
+		index.findLongestPrefixMatch(parse("10.20.30.0"));
+		
+		index.logicalInterfaceChanged(newElementLogicalInterfaceEvent()
+									  .withElementId(LEAF1)
+									  .withInterfaceName(IFL_NAME)
+									  .build());
+		
+		verify(service,never()).loadAddresses(any(ElementId.class));
+		assertEquals(asList(leaf2Uplink), index.findLongestPrefixMatch(parse("10.20.30.0")));
+	}
+	
+	@Test
+	public void reload_addresses_of_element_for_event_without_interface_name() {
+		when(service.loadAddresses(LEAF1)).thenReturn(emptyList());
+		index.findLongestPrefixMatch(parse("10.20.30.0"));
+		
+		index.logicalInterfaceChanged(newElementLogicalInterfaceEvent()
+									  .withElementId(LEAF1)
+									  .build());
+		
+		verify(service,never()).loadAddresses(any(ElementId.class), any(InterfaceName.class));
+		assertEquals(asList(leaf2Uplink), index.findLongestPrefixMatch(parse("10.20.30.0")));
+	}
+	
+	@Test
+	public void reload_addresses_of_elements_with_modified_fingerprint_only() {
+		Map<ElementId,IflFingerprint> loaded = new HashMap<>();
+		loaded.put(LEAF1, new IflFingerprint(1, new Timestamp(1000)));
+		loaded.put(LEAF2, new IflFingerprint(1, new Timestamp(1000)));
+		loaded.put(LEAF3, new IflFingerprint(1, new Timestamp(1000)));
+		Map<ElementId,IflFingerprint> modified = new HashMap<>();
+		modified.put(LEAF1, new IflFingerprint(1, new Timestamp(2000)));
+		modified.put(LEAF2, new IflFingerprint(1, new Timestamp(1000)));
+		when(service.loadFingerprints()).thenReturn(loaded)
+										.thenReturn(modified);
+		AddressRef leaf1Renumbered = new AddressRef(LEAF1, IFL_NAME, routingInstance("default"), cidr("10.20.50.1/31"));
+		when(service.loadAddresses(anyCollection())).thenReturn(asList(leaf1Renumbered));
+		
+		index.reload();
+		index.reload();
+		
+		ArgumentCaptor<Collection> reloaded = ArgumentCaptor.forClass(Collection.class);
+		verify(service).loadAddresses(reloaded.capture());
+		assertEquals(asList(LEAF1), new ArrayList<>(reloaded.getValue()));
+		verify(service).loadAddresses();
+		assertEquals(asList(leaf2Uplink), index.findLongestPrefixMatch(parse("10.20.30.0")));
+		assertEquals(emptyList(), index.findLongestPrefixMatch(parse("10.20.40.0")));
+		assertEquals(asList(leaf1Renumbered), index.findLongestPrefixMatch(parse("10.20.50.1")));
+	}
+	
+}
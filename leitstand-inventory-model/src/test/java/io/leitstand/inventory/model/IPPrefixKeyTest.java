@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.IPPrefixKey.format;
+import static io.leitstand.inventory.model.IPPrefixKey.parse;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class IPPrefixKeyTest {
+
+	@Test
+	public void parse_ipv4_address_in_cidr_notation() {
+		IPPrefixKey key = parse("10.20.30.1/24");
+		assertTrue(key.isIPv4());
+		assertEquals(24, key.getLength());
+		assertArrayEquals(new byte[] {10,20,30,1}, key.getHost());
+		assertArrayEquals(new byte[] {10,20,30,0}, key.getNetwork());
+	}
+	
+	@Test
+	public void parse_ipv4_host_address() {
+		IPPrefixKey key = parse("192.168.0.2");
+		assertEquals(32, key.getLength());
+		assertEquals("192.168.0.2", format(key.getHost()));
+	}
+	
+	@Test
+	public void parse_compressed_ipv6_address() {
+		IPPrefixKey key = parse("2001:db8::1/64");
+		assertFalse(key.isIPv4());
+		assertEquals(64, key.getLength());
+		assertEquals("2001:db8::1", format(key.getHost()));
+		assertEquals("2001:db8::", format(key.getNetwork()));
+	}
+	
+	@Test
+	public void parse_ipv6_address_with_embedded_ipv4_address() {
+		assertEquals("::ffff:a14:1e01", format(parse("::ffff:10.20.30.1").getHost()));
+	}
+	
+	@Test
+	public void format_ipv6_address_in_canonical_representation() {
+		assertEquals("2001:db8:0:1:1:1:1:1", format(parse("2001:0db8:0000:0001:0001:0001:0001:0001").getHost()));
+		assertEquals("2001:0:0:1::1", format(parse("2001:0:0:1:0:0:0:1").getHost()));
+		assertEquals("::", format(parse("::").getHost()));
+	}
+	
+	@Test
+	public void mask_prefix_within_octet() {
+		assertArrayEquals(new byte[] {10,20,(byte)0xC0,0}, parse("10.20.255.255/18").getNetwork());
+	}
+	
+	@Test
+	public void reject_invalid_addresses() {
+		assertNull(parse("10.20.30"));
+		assertNull(parse("10.20.30.256"));
+		assertNull(parse("10.20.30.1/33"));
+		assertNull(parse("10.20.30.1/"));
+		assertNull(parse("2001:db8::1::1"));
+		assertNull(parse("2001:db8:1:1:1:1:1:1:1"));
+		assertNull(parse("2001:db8::1/129"));
+		assertNull(parse("2001:dbg::1"));
+		assertNull(parse("leaf-01.example.com"));
+	}
+	
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.IPPrefixKey.parse;
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.IPvxPrefix.cidr;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.RoutingInstanceName.routingInstance;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.leitstand.inventory.model.IPPrefixTable.AddressRef;
+import io.leitstand.inventory.service.ElementId;
+
+public class IPPrefixTableTest {
+	
+	private static final ElementId LEAF1 = randomElementId();
+	private static final ElementId LEAF2 = randomElementId();
+
+	private IPPrefixTable table;
+	private AddressRef leaf1Uplink;
+	private AddressRef leaf2Uplink;
+	private AddressRef leaf1Loopback;
+	
+	@Before
+	public void initTable() {
+		table = new IPPrefixTable();
+		leaf1Uplink = new AddressRef(LEAF1, interfaceName("ifl-0/0/1/0"), routingInstance("default"), cidr("10.20.30.1/31"));
+		leaf2Uplink = new AddressRef(LEAF2, interfaceName("ifl-0/0/1/0"), routingInstance("default"), cidr("10.20.30.0/31"));
+		leaf1Loopback = new AddressRef(LEAF1, interfaceName("lo-0/0/0/0"), routingInstance("default"), cidr("2001:db8::1/128"));
+		table.put(leaf1Uplink);
+		table.put(leaf2Uplink);
+		table.put(leaf1Loopback);
+	}
+	
+	@Test
+	public void find_logical_interfaces_attached_to_subnet() {
+		assertEquals(asList(leaf1Uplink,leaf2Uplink), table.longestMatch(parse("10.20.30.0")));
+		assertEquals(asList(leaf1Loopback), table.longestMatch(parse("2001:db8::1")));
+	}
+	
+	@Test
+	public void remove_all_addresses_of_element() {
+		table.removeAll(LEAF1);
+		assertEquals(asList(leaf2Uplink), table.longestMatch(parse("10.20.30.0")));
+		assertEquals(emptyList(), table.longestMatch(parse("2001:db8::1")));
+		assertEquals(1, table.size());
+	}
+	
+	@Test
+	public void remove_all_addresses_of_logical_interface() {
+		table.removeAll(LEAF1, interfaceName("ifl-0/0/1/0"));
+		assertEquals(asList(leaf2Uplink), table.longestMatch(parse("10.20.30.0")));
+		assertEquals(asList(leaf1Loopback), table.longestMatch(parse("2001:db8::1")));
+		assertEquals(2, table.size());
+		
+		table.removeAll(LEAF1, interfaceName("lo-0/0/0/0"));
+		table.removeAll(LEAF1);
+		assertEquals(1, table.size());
+	}
+	
+	@Test
+	public void detect_same_host_address_in_same_routing_instance() {
+		AddressRef duplicate = new AddressRef(LEAF2, interfaceName("ifl-0/0/2/0"), routingInstance("default"), cidr("10.20.30.1/24"));
+		AddressRef otherInstance = new AddressRef(LEAF2, interfaceName("ifl-0/0/3/0"), routingInstance("mgmt"), cidr("10.20.30.1/31"));
+		table.put(duplicate);
+		table.put(otherInstance);
+		assertEquals(asList(asList(duplicate,leaf1Uplink)), table.conflicts(100));
+		assertEquals(emptyList(), table.conflicts(otherInstance));
+	}
+	
+	@Test
+	public void ignore_invalid_address() {
+		assertFalse(table.put(new AddressRef(LEAF1, interfaceName("ifl-0/0/4/0"), routingInstance("default"), cidr("10.20.30/24"))));
+	}
+	
+}
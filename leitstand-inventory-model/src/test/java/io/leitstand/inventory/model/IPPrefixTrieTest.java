@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.IPPrefixKey.parse;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class IPPrefixTrieTest {
+
+	private IPPrefixTrie<String> trie;
+	
+	private void put(String prefix) {
+		IPPrefixKey key = parse(prefix);
+		trie.put(key.getHost(), key.getLength(), prefix);
+	}
+	
+	private int remove(String prefix) {
+		IPPrefixKey key = parse(prefix);
+		return trie.remove(key.getHost(), key.getLength(), prefix::equals);
+	}
+	
+	private List<String> longestMatch(String address){
+		return trie.longestMatch(parse(address).getHost());
+	}
+	
+	private List<String> covered(String prefix){
+		IPPrefixKey key = parse(prefix);
+		return trie.covered(key.getHost(), key.getLength(), 100);
+	}
+	
+	@Before
+	public void initTrie() {
+		trie = new IPPrefixTrie<>(4);
+		put("10.0.0.0/8");
+		put("10.20.0.0/16");
+		put("10.20.30.0/24");
+		put("10.20.31.0/24");
+		put("10.20.30.128/25");
+		put("192.168.0.0/24");
+	}
+	
+	@Test
+	public void find_longest_prefix_match() {
+		assertEquals(asList("10.20.30.128/25"), longestMatch("10.20.30.200"));
+		assertEquals(asList("10.20.30.0/24"), longestMatch("10.20.30.40"));
+		assertEquals(asList("10.20.0.0/16"), longestMatch("10.20.32.1"));
+		assertEquals(asList("10.0.0.0/8"), longestMatch("10.21.0.1"));
+		assertEquals(emptyList(), longestMatch("11.0.0.1"));
+	}
+	
+	@Test
+	public void find_covered_prefixes_in_address_order() {
+		assertEquals(asList("10.20.0.0/16","10.20.30.0/24","10.20.30.128/25","10.20.31.0/24"), covered("10.20.0.0/16"));
+		assertEquals(asList("10.20.30.0/24","10.20.30.128/25","10.20.31.0/24"), covered("10.20.30.0/23"));
+		assertEquals(emptyList(), covered("10.30.0.0/16"));
+	}
+	
+	@Test
+	public void find_all_matching_prefixes_from_shortest_to_longest() {
+		List<String> matches = new ArrayList<>();
+		trie.matches(parse("10.20.30.200").getHost(), matches::add);
+		assertEquals(asList("10.0.0.0/8","10.20.0.0/16","10.20.30.0/24","10.20.30.128/25"), matches);
+	}
+	
+	@Test
+	public void remove_prefix_and_prune_trie() {
+		assertEquals(1, remove("10.20.30.0/24"));
+		assertEquals(asList("10.20.0.0/16"), longestMatch("10.20.30.40"));
+		assertEquals(asList("10.20.30.128/25"), longestMatch("10.20.30.200"));
+		assertEquals(1, remove("10.20.30.128/25"));
+		assertEquals(1, remove("10.20.31.0/24"));
+		assertEquals(asList("10.20.0.0/16"), covered("10.20.0.0/16"));
+		assertEquals(0, remove("10.20.30.0/24"));
+		assertEquals(3, trie.size());
+	}
+	
+	@Test
+	public void store_multiple_values_per_prefix() {
+		IPPrefixKey key = parse("10.20.30.1/24");
+		trie.put(key.getHost(), key.getLength(), "other");
+		assertEquals(asList("10.20.30.0/24","other"), longestMatch("10.20.30.40"));
+		trie.remove(key.getHost(), key.getLength(), "other"::equals);
+		assertEquals(asList("10.20.30.0/24"), longestMatch("10.20.30.40"));
+	}
+	
+	@Test
+	public void find_longest_prefix_match_of_ipv6_address() {
+		trie = new IPPrefixTrie<>(16);
+		put("2001:db8::/32");
+		put("2001:db8:47::/48");
+		put("2001:db8:47::1/128");
+		assertEquals(asList("2001:db8:47::1/128"), longestMatch("2001:db8:47::1"));
+		assertEquals(asList("2001:db8:47::/48"), longestMatch("2001:db8:47::2"));
+		assertEquals(asList("2001:db8::/32"), longestMatch("2001:db8:48::1"));
+	}
+	
+}
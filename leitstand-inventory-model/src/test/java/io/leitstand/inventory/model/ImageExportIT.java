@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.ElementRole.findRoleByName;
+import static io.leitstand.inventory.model.ImageInfoMother.BAR_200;
+import static io.leitstand.inventory.model.ImageInfoMother.FOO_100;
+import static io.leitstand.inventory.model.ImageInfoMother.FOO_101;
+import static io.leitstand.inventory.model.ImageInfoMother.newLeafImage;
+import static io.leitstand.inventory.model.ImageInfoMother.newSpineImage;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.ImageQuery.newQuery;
+import static io.leitstand.inventory.service.Plane.DATA;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.enterprise.event.Event;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.leitstand.commons.messages.Messages;
+import io.leitstand.commons.model.Repository;
+import io.leitstand.inventory.service.ElementRoleName;
+import io.leitstand.inventory.service.ImageInfo;
+import io.leitstand.inventory.service.ImageService;
+import io.leitstand.inventory.service.Version;
+
+public class ImageExportIT extends InventoryIT{
+
+	private static final ElementRoleName LEAF = elementRoleName("LEAF");
+	private static final ElementRoleName SPINE = elementRoleName("SPINE");
+	
+	private ImageService service;
+	private ImageExportManager exporter;
+	private ImageInfo leaf;
+	private ImageInfo spine;
+	
+	@Before
+	public void initTestEnvironment(){
+		Repository repository = new Repository(getEntityManager());
+		service = new DefaultImageService(new PackageVersionService(repository), 
+		                                  mock(ElementGroupProvider.class),
+		                                  mock(ElementProvider.class),
+										  repository,
+										  getDatabase(),
+										  mock(Messages.class),
+										  mock(Event.class));
+		exporter = new ImageExportManager(getDatabase());
+		leaf = newLeafImage(new Version(1,0,0),FOO_101,BAR_200);
+		spine = newSpineImage(new Version(1,0,0),FOO_100);
+		transaction(() -> {
+			repository.addIfAbsent(findRoleByName(LEAF), 
+								   () -> new ElementRole(LEAF,DATA));
+			repository.addIfAbsent(findRoleByName(SPINE), 
+								   () -> new ElementRole(SPINE,DATA));
+			service.storeImage(leaf);
+			service.storeImage(spine);
+		});
+	}
+	
+	@Test
+	public void export_all_images_with_packages_and_checksums() {
+		transaction(() -> {
+			List<ImageInfo> images = new ArrayList<>();
+			exporter.exportImages(newQuery(), images::add);
+			assertEquals(2, images.size());
+			ImageInfo exported = images.get(0);
+			assertEquals(leaf.getImageId(), exported.getImageId());
+			assertEquals(leaf.getElementRoles(), exported.getElementRoles());
+			assertEquals(leaf.getChecksums(), exported.getChecksums());
+			assertEquals(leaf.getImageVersion(), exported.getImageVersion());
+			// Packages are exported in organization and package name order.
+			assertEquals(2, exported.getPackages().size());
+			assertEquals("bar", exported.getPackages().get(0).getPackageName());
+			assertEquals(BAR_200.getChecksums(), exported.getPackages().get(0).getChecksums());
+			assertEquals("foo", exported.getPackages().get(1).getPackageName());
+			assertEquals(FOO_101.getPackageVersion(), exported.getPackages().get(1).getPackageVersion());
+			assertEquals(spine.getImageId(), images.get(1).getImageId());
+		});
+	}
+	
+	@Test
+	public void export_images_of_element_role() {
+		transaction(() -> {
+			List<ImageInfo> images = new ArrayList<>();
+			exporter.exportImages(newQuery().roleName(SPINE), images::add);
+			assertEquals(1, images.size());
+			assertEquals(spine.getImageId(), images.get(0).getImageId());
+		});
+	}
+	
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.ElementRole.findRoleByName;
+import static io.leitstand.inventory.model.ImageInfoMother.BAR_100;
+import static io.leitstand.inventory.model.ImageInfoMother.BAR_200;
+import static io.leitstand.inventory.model.ImageInfoMother.FOO_100;
+import static io.leitstand.inventory.model.ImageInfoMother.FOO_101;
+import static io.leitstand.inventory.model.ImageInfoMother.newLeafImage;
+import static io.leitstand.inventory.model.ImageInfoMother.newSpineImage;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.ImageId.randomImageId;
+import static io.leitstand.inventory.service.ImageInfo.newImageInfo;
+import static io.leitstand.inventory.service.ImageQuery.newQuery;
+import static io.leitstand.inventory.service.Plane.DATA;
+import static io.leitstand.inventory.service.ReasonCode.IVT0206I_IMAGES_IMPORTED;
+import static io.leitstand.inventory.service.ReasonCode.IVT0400E_ELEMENT_ROLE_NOT_FOUND;
+import static java.lang.ClassLoader.getSystemResourceAsStream;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.enterprise.event.Event;
+import javax.sql.DataSource;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.leitstand.commons.EntityNotFoundException;
+import io.leitstand.commons.messages.Message;
+import io.leitstand.commons.messages.Messages;
+import io.leitstand.commons.model.Repository;
+import io.leitstand.inventory.service.ElementRoleName;
+import io.leitstand.inventory.service.ImageId;
+import io.leitstand.inventory.service.ImageInfo;
+import io.leitstand.inventory.service.ImageService;
+import io.leitstand.inventory.service.PackageVersionInfo;
+import io.leitstand.inventory.service.Version;
+
+public class ImageImportIT extends InventoryIT {
+
+	private static final ElementRoleName LEAF = elementRoleName("LEAF");
+	private static final ElementRoleName SPINE = elementRoleName("SPINE");
+	
+	private ImageExportManager exporter;
+	private ImageImportManager importer;
+	private Messages messages;
+	private ImageInfo leaf;
+	private ImageInfo spine;
+	private long nextId = 1_000_000_000L;
+	
+	@Before
+	public void initTestEnvironment() throws IOException, SQLException {
+		Repository repository = new Repository(getEntityManager());
+		ImageService service = new DefaultImageService(new PackageVersionService(repository), 
+													   mock(ElementGroupProvider.class),
+													   mock(ElementProvider.class),
+													   repository,
+													   getDatabase(),
+													   mock(Messages.class),
+													   mock(Event.class));
+		
+		// The importer writes through plain JDBC connections.
+		Properties properties = new Properties();
+		properties.load(getSystemResourceAsStream("inventory-it.properties"));
+		DataSource ds = mock(DataSource.class);
+		when(ds.getConnection()).thenAnswer(invocation -> DriverManager.getConnection(properties.getProperty("javax.persistence.jdbc.url"),
+																					  properties.getProperty("javax.persistence.jdbc.user"),
+																					  properties.getProperty("javax.persistence.jdbc.password")));
+		// H2 does not support UPDATE ... RETURNING.
+		ImageImportManager.SequenceGenerator sequence = mock(ImageImportManager.SequenceGenerator.class);
+		when(sequence.allocateIds(anyInt())).thenAnswer(invocation -> {
+			long first = nextId;
+			nextId += (Integer) invocation.getArguments()[0];
+			return first;
+		});
+		messages = mock(Messages.class);
+		exporter = new ImageExportManager(getDatabase());
+		importer = new ImageImportManager(getDatabase(),
+										  ds,
+										  sequence,
+										  messages,
+										  mock(Event.class));
+		
+		leaf = newLeafImage(new Version(1,0,0),FOO_101,BAR_200);
+		spine = newSpineImage(new Version(1,0,0),FOO_100);
+		transaction(() -> {
+			repository.addIfAbsent(findRoleByName(LEAF), 
+								   () -> new ElementRole(LEAF,DATA));
+			repository.addIfAbsent(findRoleByName(SPINE), 
+								   () -> new ElementRole(SPINE,DATA));
+			service.storeImage(leaf);
+			service.storeImage(spine);
+		});
+	}
+	
+	@Test
+	public void reimport_exported_images_without_modifications() {
+		Map<ImageId,ImageInfo> exported = exportImages();
+		
+		ArgumentCaptor<Message> sentMessage = ArgumentCaptor.forClass(Message.class);
+		doNothing().when(messages).add(sentMessage.capture());
+		transaction(() -> {
+			importer.importImages(new ArrayList<>(exported.values()));
+		});
+		assertEquals(IVT0206I_IMAGES_IMPORTED.getReasonCode(), sentMessage.getValue().getReason());
+		
+		Map<ImageId,ImageInfo> reimported = exportImages();
+		assertEquals(exported.keySet(), reimported.keySet());
+		for(ImageInfo image : exported.values()) {
+			assertImage(image, reimported.get(image.getImageId()));
+			assertEquals(image.getImageState(), reimported.get(image.getImageId()).getImageState());
+		}
+	}
+	
+	@Test
+	public void import_new_and_existing_images() {
+		ImageInfo updatedLeaf = newImageInfo()
+								.withImageId(leaf.getImageId())
+								.withElementRoles(LEAF, SPINE)
+								.withBuildDate(leaf.getBuildDate())
+								.withImageVersion(new Version(1,0,1))
+								.withChecksums(leaf.getChecksums())
+								.withPackages(FOO_101)
+								.withPlatformChipset(leaf.getPlatformChipset())
+								.withExtension("tar.gz")
+								.build();
+		ImageInfo newSpine = newSpineImage(new Version(2,0,0),FOO_101,BAR_100);
+		
+		transaction(() -> {
+			importer.importImages(asList(updatedLeaf, newSpine));
+		});
+		
+		Map<ImageId,ImageInfo> images = exportImages();
+		assertEquals(3, images.size());
+		assertImage(updatedLeaf, images.get(leaf.getImageId()));
+		assertImage(newSpine, images.get(newSpine.getImageId()));
+		assertImage(spine, images.get(spine.getImageId()));
+	}
+	
+	@Test
+	public void reject_image_with_unknown_element_role() {
+		ImageInfo unknownRole = newImageInfo()
+								.withImageId(randomImageId())
+								.withElementRoles(elementRoleName("UNKNOWN"))
+								.withImageVersion(new Version(1,0,0))
+								.withPackages(FOO_100)
+								.withPlatformChipset(spine.getPlatformChipset())
+								.withExtension("tar.gz")
+								.build();
+		
+		transaction(() -> {
+			try {
+				importer.importImages(asList(newSpineImage(new Version(3,0,0),FOO_100), unknownRole));
+				fail("Exception expected");
+			} catch (EntityNotFoundException e) {
+				assertEquals(IVT0400E_ELEMENT_ROLE_NOT_FOUND, e.getReason());
+			}
+		});
+		
+		// No image of a failed import is stored.
+		Map<ImageId,ImageInfo> images = exportImages();
+		assertEquals(2, images.size());
+		assertFalse(images.containsKey(unknownRole.getImageId()));
+	}
+	
+	private Map<ImageId,ImageInfo> exportImages(){
+		Map<ImageId,ImageInfo> images = new LinkedHashMap<>();
+		transaction(() -> {
+			exporter.exportImages(newQuery(), image -> images.put(image.getImageId(), image));
+		});
+		return images;
+	}
+	
+	private static void assertImage(ImageInfo expected, ImageInfo actual) {
+		assertEquals(expected.getImageId(), actual.getImageId());
+		assertEquals(expected.getElementRoles(), actual.getElementRoles());
+		assertEquals(expected.getImageVersion(), actual.getImageVersion());
+		assertEquals(expected.getChecksums(), actual.getChecksums());
+		assertEquals(packages(expected), packages(actual));
+	}
+	
+	private static List<String> packages(ImageInfo image){
+		// The export orders packages by organization and package name.
+		List<String> packages = new ArrayList<>();
+		for(PackageVersionInfo pkg : image.getPackages()) {
+			packages.add(pkg.getOrganization()+":"+pkg.getPackageName()+":"+pkg.getPackageVersion());
+		}
+		packages.sort(null);
+		return packages;
+	}
+	
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.ElementRole.findRoleByName;
+import static io.leitstand.inventory.model.Image.findImageById;
+import static io.leitstand.inventory.model.ImageInfoMother.newSpineImage;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.ImageState.CANDIDATE;
+import static io.leitstand.inventory.service.ImageState.NEW;
+import static io.leitstand.inventory.service.ImageState.RELEASE;
+import static io.leitstand.inventory.service.ImageState.REVOKED;
+import static io.leitstand.inventory.service.ImageState.SUPERSEDED;
+import static io.leitstand.inventory.service.Plane.DATA;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.enterprise.event.Event;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.leitstand.commons.messages.Messages;
+import io.leitstand.commons.model.Repository;
+import io.leitstand.inventory.model.ImageVersionIndex.IndexedImage;
+import io.leitstand.inventory.service.ElementRoleName;
+import io.leitstand.inventory.service.ImageId;
+import io.leitstand.inventory.service.ImageInfo;
+import io.leitstand.inventory.service.ImageService;
+import io.leitstand.inventory.service.ImageState;
+import io.leitstand.inventory.service.Version;
+
+public class ImageUpgradeIndexServiceIT extends InventoryIT {
+
+	private static final ElementRoleName SPINE = elementRoleName("SPINE");
+	private static final ImageState[] STATES = {NEW, CANDIDATE, RELEASE, SUPERSEDED, REVOKED};
+	
+	private ImageUpgradeIndexService loader;
+	private List<ImageInfo> images;
+	
+	@Before
+	public void initTestEnvironment() {
+		Repository repository = new Repository(getEntityManager());
+		ImageService service = new DefaultImageService(new PackageVersionService(repository), 
+													   mock(ElementGroupProvider.class),
+													   mock(ElementProvider.class),
+													   repository,
+													   getDatabase(),
+													   mock(Messages.class),
+													   mock(Event.class));
+		loader = new ImageUpgradeIndexService(getDatabase());
+		images = new ArrayList<>();
+		for(int patch=0; patch < STATES.length; patch++) {
+			images.add(newSpineImage(new Version(1,0,patch)));
+		}
+		transaction(() -> {
+			repository.addIfAbsent(findRoleByName(SPINE), 
+								   () -> new ElementRole(SPINE,DATA));
+			images.forEach(service::storeImage);
+		});
+		transaction(() -> {
+			for(int i=0; i < STATES.length; i++) {
+				repository.execute(findImageById(images.get(i).getImageId()))
+						  .setImageState(STATES[i]);
+			}
+		});
+	}
+	
+	@Test
+	public void load_images_in_all_states() {
+		Map<ImageId,ImageState> states = new HashMap<>();
+		for(IndexedImage image : loader.loadImages()) {
+			states.put(image.getImageId(), image.getImageState());
+		}
+		
+		Map<ImageId,ImageState> expected = new HashMap<>();
+		for(int i=0; i < STATES.length; i++) {
+			expected.put(images.get(i).getImageId(), STATES[i]);
+		}
+		assertEquals(expected, states);
+	}
+	
+	@Test
+	public void load_images_of_same_chipset_and_type() {
+		List<IndexedImage> loaded = loader.loadImages(asList(images.get(2).getImageId()));
+		
+		assertEquals(STATES.length, loaded.size());
+		assertEquals(RELEASE, loaded.get(2).getImageState());
+	}
+	
+	@Test
+	public void load_images_of_same_chipset_and_type_once_for_several_modified_images() {
+		List<ImageId> imageIds = new ArrayList<>();
+		for(ImageInfo image : images) {
+			imageIds.add(image.getImageId());
+		}
+		List<IndexedImage> loaded = loader.loadImages(imageIds);
+		
+		assertEquals(STATES.length, loaded.size());
+	}
+	
+	@Test
+	public void find_upgrades_except_revoked_images() {
+		ImageUpgradeIndex index = new ImageUpgradeIndex(loader);
+		IndexedImage installed = loader.loadImages(asList(images.get(0).getImageId())).get(0);
+		
+		List<ImageId> upgrades = new ArrayList<>();
+		for(IndexedImage upgrade : index.findUpgrades(installed.getPlatformChipset(), 
+													  SPINE, 
+													  installed.getImageType(), 
+													  installed.getImageVersion(), 
+													  null)) {
+			upgrades.add(upgrade.getImageId());
+		}
+		
+		assertEquals(asList(images.get(3).getImageId(),
+							images.get(2).getImageId(),
+							images.get(1).getImageId()),
+					 upgrades);
+	}
+	
+}
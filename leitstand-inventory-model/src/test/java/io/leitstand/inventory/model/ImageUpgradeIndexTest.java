@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.event.ImageAddedEvent.newImageAddedEvent;
+import static io.leitstand.inventory.event.ImageRemovedEvent.newImageRemovedEvent;
+import static io.leitstand.inventory.event.ImageStoredEvent.newImageStoredEvent;
+import static io.leitstand.inventory.service.ImageId.randomImageId;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.leitstand.inventory.service.ImageId;
+
+public class ImageUpgradeIndexTest {
+
+	private ImageUpgradeIndexService service;
+	private ImageUpgradeIndex index;
+	
+	@Before
+	public void initTestEnvironment() {
+		service = mock(ImageUpgradeIndexService.class);
+		when(service.loadImages()).thenReturn(emptyList());
+		when(service.loadImages(anyCollection())).thenReturn(emptyList());
+		index = new ImageUpgradeIndex(service);
+	}
+	
+	@Test
+	public void reload_modified_images_once_on_next_lookup() {
+		ImageId added = randomImageId();
+		ImageId stored = randomImageId();
+		index.imageChanged(newImageAddedEvent().withImageId(added).build());
+		index.imageChanged(newImageStoredEvent().withImageId(stored).build());
+		index.imageChanged(newImageStoredEvent().withImageId(added).build());
+		verify(service,never()).loadImages(anyCollection());
+		
+		index.findPredecessors(added);
+		index.findPredecessors(stored);
+		
+		ArgumentCaptor<Collection> imageIds = ArgumentCaptor.forClass(Collection.class);
+		verify(service).loadImages(imageIds.capture());
+		assertEquals(asList(added,stored), new ArrayList<>(imageIds.getValue()));
+	}
+	
+	@Test
+	public void do_not_reload_images_without_modifications() {
+		index.findPredecessors(randomImageId());
+		verify(service,never()).loadImages(anyCollection());
+	}
+	
+	@Test
+	public void remove_image_without_reload() {
+		index.imageChanged(newImageRemovedEvent().withImageId(randomImageId()).build());
+		index.findPredecessors(randomImageId());
+		verify(service,never()).loadImages(anyCollection());
+	}
+	
+	@Test
+	public void keep_modified_images_when_reload_fails() {
+		ImageId stored = randomImageId();
+		when(service.loadImages(anyCollection())).thenThrow(new IllegalStateException())
+												 .thenReturn(emptyList());
+		index.imageChanged(newImageStoredEvent().withImageId(stored).build());
+		try {
+			index.findPredecessors(stored);
+		} catch (IllegalStateException expected) {
+			// Reload failed, modified image is retained.
+		}
+		index.findPredecessors(stored);
+		
+		ArgumentCaptor<Collection> imageIds = ArgumentCaptor.forClass(Collection.class);
+		verify(service,times(2)).loadImages(imageIds.capture());
+		List<Collection> reloads = imageIds.getAllValues();
+		assertEquals(asList(stored), new ArrayList<>(reloads.get(1)));
+	}
+	
+}
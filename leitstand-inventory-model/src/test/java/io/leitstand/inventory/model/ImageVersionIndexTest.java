@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.ImageId.randomImageId;
+import static io.leitstand.inventory.service.ImageName.imageName;
+import static io.leitstand.inventory.service.ImageState.CANDIDATE;
+import static io.leitstand.inventory.service.ImageState.RELEASE;
+import static io.leitstand.inventory.service.ImageState.REVOKED;
+import static io.leitstand.inventory.service.ImageType.imageType;
+import static io.leitstand.inventory.service.PlatformChipsetName.platformChipsetName;
+import static io.leitstand.inventory.service.Version.version;
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.leitstand.inventory.model.ImageVersionIndex.IndexedImage;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.ElementRoleName;
+import io.leitstand.inventory.service.ImageState;
+import io.leitstand.inventory.service.ImageType;
+import io.leitstand.inventory.service.PlatformChipsetName;
+import io.leitstand.inventory.service.Version;
+
+public class ImageVersionIndexTest {
+
+	private static final PlatformChipsetName CHIPSET = platformChipsetName("chipset");
+	private static final ElementRoleName ROLE = elementRoleName("leaf");
+	private static final ImageType LXD = imageType("lxd");
+	
+	private static long pk;
+	
+	private static IndexedImage image(String version, ImageState state, ElementId elementId) {
+		return new IndexedImage(++pk, 
+								randomImageId(), 
+								imageName("image"), 
+								LXD, 
+								state, 
+								version(version), 
+								null, 
+								CHIPSET, 
+								elementId, 
+								singleton(ROLE));
+	}
+	
+	private ImageVersionIndex index;
+	private IndexedImage v100;
+	private IndexedImage v110rc;
+	private IndexedImage v110;
+	private IndexedImage v200;
+	
+	@Before
+	public void initIndex() {
+		index = new ImageVersionIndex();
+		v200 = image("2.0.0", CANDIDATE, null);
+		v110 = image("1.1.0", RELEASE, null);
+		v100 = image("1.0.0", RELEASE, null);
+		v110rc = image("1.1.0-rc1", CANDIDATE, null);
+		index.put(v200);
+		index.put(v110);
+		index.put(v100);
+		index.put(v110rc);
+	}
+	
+	private List<IndexedImage> upgrades(String version, ElementId elementId){
+		return index.findUpgrades(CHIPSET, ROLE, LXD, version(version), elementId);
+	}
+	
+	@Test
+	public void find_upgrades_in_descending_version_order() {
+		List<IndexedImage> upgrades = upgrades("1.0.0", randomElementId());
+		assertEquals(3, upgrades.size());
+		assertEquals(v200, upgrades.get(0));
+		assertEquals(v110, upgrades.get(1));
+		assertEquals(v110rc, upgrades.get(2));
+	}
+	
+	@Test
+	public void release_succeeds_prerelease_of_same_version() {
+		List<IndexedImage> upgrades = upgrades("1.1.0-rc1", randomElementId());
+		assertEquals(2, upgrades.size());
+		assertEquals(v110, upgrades.get(1));
+		assertTrue(upgrades("2.0.0", randomElementId()).isEmpty());
+	}
+	
+	@Test
+	public void omit_revoked_images_and_images_of_other_elements() {
+		ElementId element = randomElementId();
+		IndexedImage revoked = image("3.0.0", REVOKED, null);
+		IndexedImage dedicated = image("2.1.0", CANDIDATE, element);
+		index.put(revoked);
+		index.put(dedicated);
+		
+		assertEquals(dedicated, upgrades("2.0.0", element).get(0));
+		assertTrue(upgrades("2.0.0", randomElementId()).isEmpty());
+	}
+	
+	@Test
+	public void find_predecessors_in_ascending_version_order() {
+		Map<ElementRoleName,List<IndexedImage>> predecessors = index.findPredecessors(v110.getImageId());
+		assertEquals(1, predecessors.size());
+		List<IndexedImage> images = predecessors.get(ROLE);
+		assertEquals(2, images.size());
+		assertEquals(v100, images.get(0));
+		assertEquals(v110rc, images.get(1));
+	}
+	
+	@Test
+	public void remove_images() {
+		index.remove(v200.getImageId());
+		assertEquals(2, upgrades("1.0.0", randomElementId()).size());
+		
+		index.removeAll(CHIPSET, LXD);
+		assertEquals(0, index.size());
+		assertTrue(upgrades("1.0.0", randomElementId()).isEmpty());
+	}
+	
+	@Test
+	public void replace_image_with_same_id() {
+		IndexedImage patched = new IndexedImage(v100.getPk(), 
+												v100.getImageId(), 
+												v100.getImageName(), 
+												LXD, 
+												REVOKED, 
+												new Version(1,0,0), 
+												null, 
+												CHIPSET, 
+												null, 
+												singleton(ROLE));
+		index.put(patched);
+		assertEquals(4, index.size());
+		assertTrue(index.findPredecessors(v100.getImageId()).isEmpty());
+	}
+	
+}
@@ -63,6 +63,7 @@ public class InventoryIT extends JpaIT {
 	public void clearDatabase() {
 	    transaction(()->{
     	    getDatabase().executeUpdate(prepare("DELETE FROM inventory.element_config"));
+    	    getDatabase().executeUpdate(prepare("DELETE FROM inventory.config_blob"));
     	    getDatabase().executeUpdate(prepare("DELETE FROM inventory.element_dns_record"));
     	    getDatabase().executeUpdate(prepare("DELETE FROM inventory.element_dns"));
     	    getDatabase().executeUpdate(prepare("DELETE FROM inventory.element_env"));
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.JdbcBatch.BATCH_SIZE;
+import static io.leitstand.inventory.model.JdbcBatch.batch;
+import static java.util.Collections.emptyList;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class JdbcBatchTest {
+
+	private Connection connection;
+	private PreparedStatement stmt;
+	
+	@Before
+	public void initTestEnvironment() throws SQLException {
+		connection = mock(Connection.class);
+		stmt = mock(PreparedStatement.class);
+		when(connection.prepareStatement(anyString())).thenReturn(stmt);
+	}
+	
+	@Test
+	public void do_not_prepare_statement_for_empty_list() throws SQLException {
+		batch(connection, "INSERT", emptyList(), (s,v) -> s.setObject(1, v));
+		verify(connection,never()).prepareStatement(anyString());
+	}
+	
+	@Test
+	public void execute_single_batch_for_less_records_than_batch_size() throws SQLException {
+		batch(connection, "INSERT", records(3), (s,v) -> s.setInt(1, v));
+		verify(stmt,times(3)).setInt(anyInt(), anyInt());
+		verify(stmt,times(3)).addBatch();
+		verify(stmt).executeBatch();
+		verify(stmt).close();
+	}
+	
+	@Test
+	public void execute_batch_every_batch_size_records() throws SQLException {
+		batch(connection, "INSERT", records(2*BATCH_SIZE+1), (s,v) -> s.setInt(1, v));
+		verify(stmt,times(2*BATCH_SIZE+1)).addBatch();
+		verify(stmt,times(3)).executeBatch();
+		verify(stmt).close();
+	}
+	
+	@Test
+	public void do_not_execute_empty_trailing_batch() throws SQLException {
+		batch(connection, "INSERT", records(BATCH_SIZE), (s,v) -> s.setInt(1, v));
+		verify(stmt).executeBatch();
+	}
+	
+	private static List<Integer> records(int n){
+		List<Integer> records = new ArrayList<>(n);
+		for(int i=0; i < n; i++) {
+			records.add(i);
+		}
+		return records;
+	}
+	
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.JobLease.partition;
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class JobLeaseTest {
+
+	private static Set<Integer> partitions(Integer... partitions){
+		return new HashSet<>(asList(partitions));
+	}
+	
+	private JobLeaseService service;
+	private JobLease lease;
+	
+	@Before
+	public void initTestEnvironment() {
+		service = mock(JobLeaseService.class);
+		lease = new JobLease(service, "job", 4, 30000);
+	}
+	
+	@Test
+	public void renew_leases_on_first_invocation() {
+		when(service.renewLeases(eq("job"), anyString(), eq(4), eq(30000L))).thenReturn(partitions(0,1));
+		assertTrue(lease.renewIfDue(1000));
+		assertEquals(partitions(0,1), lease.getPartitions());
+	}
+	
+	@Test
+	public void renew_leases_after_a_third_of_the_ttl() {
+		when(service.renewLeases(anyString(), anyString(), anyInt(), anyLong())).thenReturn(partitions(0,1));
+		lease.renewIfDue(1000);
+		assertFalse(lease.renewIfDue(10999));
+		verify(service,times(1)).renewLeases(anyString(), anyString(), anyInt(), anyLong());
+		assertFalse(lease.renewIfDue(11000));
+		verify(service,times(2)).renewLeases(anyString(), anyString(), anyInt(), anyLong());
+	}
+	
+	@Test
+	public void report_changed_partitions() {
+		when(service.renewLeases(anyString(), anyString(), anyInt(), anyLong())).thenReturn(partitions(0,1))
+																			   .thenReturn(partitions(0));
+		lease.renewIfDue(1000);
+		assertTrue(lease.renewIfDue(11000));
+		assertEquals(partitions(0), lease.getPartitions());
+	}
+	
+	@Test
+	public void keep_partitions_if_renewal_fails_before_leases_expire() {
+		when(service.renewLeases(anyString(), anyString(), anyInt(), anyLong())).thenReturn(partitions(0,1))
+																			   .thenThrow(new IllegalStateException());
+		lease.renewIfDue(1000);
+		try {
+			lease.renewIfDue(11000);
+			fail("Exception expected");
+		} catch (IllegalStateException e) {
+			assertEquals(partitions(0,1), lease.getPartitions());
+		}
+	}
+	
+	@Test
+	public void give_up_partitions_if_leases_expired() {
+		when(service.renewLeases(anyString(), anyString(), anyInt(), anyLong())).thenReturn(partitions(0,1))
+																			   .thenThrow(new IllegalStateException());
+		lease.renewIfDue(1000);
+		try {
+			lease.renewIfDue(31000);
+			fail("Exception expected");
+		} catch (IllegalStateException e) {
+			assertTrue(lease.getPartitions().isEmpty());
+		}
+	}
+	
+	@Test
+	public void partition_is_stable_and_in_range() {
+		String key = "c5b3a9a1-64c7-4bb0-8a58-87a6a3ef1c6f";
+		assertEquals(partition(key, 16), partition(key, 16));
+		for(int i=0; i < 1000; i++) {
+			int partition = partition(randomUUID().toString(), 16);
+			assertTrue(partition >= 0 && partition < 16);
+		}
+		assertEquals(0, partition("00000000-0000-0000-0000-000000000000", 16));
+		assertEquals(15, partition("ffffffff-ffff-ffff-ffff-ffffffffffff", 16));
+	}
+	
+}
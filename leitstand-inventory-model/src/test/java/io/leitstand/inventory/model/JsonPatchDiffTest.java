@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.JsonPatchDiff.diff;
+import static io.leitstand.inventory.model.JsonPatchDiff.escape;
+import static javax.json.Json.createArrayBuilder;
+import static javax.json.Json.createObjectBuilder;
+import static org.junit.Assert.assertEquals;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+
+import org.junit.Test;
+
+public class JsonPatchDiffTest {
+
+	private static JsonObject op(String op, String path) {
+		return createObjectBuilder()
+			   .add("op", op)
+			   .add("path", path)
+			   .build();
+	}
+	
+	@Test
+	public void equal_documents_have_empty_patch() {
+		JsonObject config = createObjectBuilder().add("a", 1).build();
+		assertEquals(0, diff(config, config).size());
+	}
+	
+	@Test
+	public void report_added_removed_and_replaced_members() {
+		JsonObject from = createObjectBuilder()
+						  .add("removed", 1)
+						  .add("replaced", "a")
+						  .add("nested", createObjectBuilder().add("value", true))
+						  .build();
+		JsonObject to = createObjectBuilder()
+						.add("replaced", "b")
+						.add("nested", createObjectBuilder().add("value", false))
+						.add("added", 2)
+						.build();
+		JsonArray patch = diff(from, to);
+		assertEquals(4, patch.size());
+		assertEquals(op("remove","/removed"), patch.getJsonObject(0));
+		assertEquals(createObjectBuilder().add("op", "replace").add("path", "/replaced").add("value", "b").build(), 
+					 patch.getJsonObject(1));
+		assertEquals(createObjectBuilder().add("op", "replace").add("path", "/nested/value").add("value", false).build(), 
+					 patch.getJsonObject(2));
+		assertEquals(createObjectBuilder().add("op", "add").add("path", "/added").add("value", 2).build(), 
+					 patch.getJsonObject(3));
+	}
+	
+	@Test
+	public void remove_trailing_array_elements_in_reverse_order() {
+		JsonObject from = createObjectBuilder().add("ifcs", createArrayBuilder().add("a").add("b").add("c")).build();
+		JsonObject to = createObjectBuilder().add("ifcs", createArrayBuilder().add("a")).build();
+		JsonArray patch = diff(from, to);
+		assertEquals(2, patch.size());
+		assertEquals(op("remove","/ifcs/2"), patch.getJsonObject(0));
+		assertEquals(op("remove","/ifcs/1"), patch.getJsonObject(1));
+	}
+	
+	@Test
+	public void append_array_elements() {
+		JsonObject from = createObjectBuilder().add("ifcs", createArrayBuilder().add("a")).build();
+		JsonObject to = createObjectBuilder().add("ifcs", createArrayBuilder().add("a").add("b")).build();
+		JsonArray patch = diff(from, to);
+		assertEquals(1, patch.size());
+		assertEquals(createObjectBuilder().add("op", "add").add("path", "/ifcs/-").add("value", "b").build(), 
+					 patch.getJsonObject(0));
+	}
+	
+	@Test
+	public void escape_json_pointer_reference_tokens() {
+		assertEquals("ifp-0~10~11", escape("ifp-0/0/1"));
+		assertEquals("a~0b", escape("a~b"));
+	}
+	
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.LineDiff.diff;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class LineDiffTest {
+	
+	private static String unified(String from, String to) throws IOException {
+		StringWriter diff = new StringWriter();
+		diff(from, to).writeUnifiedDiff("a/config", "b/config", 3, diff);
+		return diff.toString();
+	}
+	
+	private static int lcs(String[] a, String[] b) {
+		int[][] lcs = new int[a.length+1][b.length+1];
+		for(int i=1; i <= a.length; i++) {
+			for(int j=1; j <= b.length; j++) {
+				lcs[i][j] = a[i-1].equals(b[j-1]) ? lcs[i-1][j-1]+1 : Math.max(lcs[i-1][j], lcs[i][j-1]);
+			}
+		}
+		return lcs[a.length][b.length];
+	}
+	
+	private static String randomConfig(Random random, int lines) {
+		StringBuilder config = new StringBuilder();
+		for(int i=0; i < lines; i++) {
+			config.append("line").append(random.nextInt(4)).append('\n');
+		}
+		return config.toString();
+	}
+	
+	@Test
+	public void equal_configs_have_empty_diff() throws IOException {
+		assertTrue(diff("a\nb\n","a\nb\n").isEmpty());
+		assertEquals("", unified("a\nb\n", "a\nb\n"));
+	}
+	
+	@Test
+	public void render_changed_line_with_context() throws IOException {
+		String from = "1\n2\n3\n4\n5\n6\n7\n8\n9\n";
+		String to   = "1\n2\n3\n4\nfive\n6\n7\n8\n9\n";
+		assertEquals("--- a/config\n"+
+					 "+++ b/config\n"+
+					 "@@ -2,7 +2,7 @@\n"+
+					 " 2\n"+
+					 " 3\n"+
+					 " 4\n"+
+					 "-5\n"+
+					 "+five\n"+
+					 " 6\n"+
+					 " 7\n"+
+					 " 8\n", 
+					 unified(from, to));
+	}
+	
+	@Test
+	public void render_separate_hunks_for_distant_changes() throws IOException {
+		String from = "1\n2\n3\n4\n5\n6\n7\n8\n9\n10\n";
+		String to   = "one\n2\n3\n4\n5\n6\n7\n8\n9\n";
+		assertEquals("--- a/config\n"+
+					 "+++ b/config\n"+
+					 "@@ -1,4 +1,4 @@\n"+
+					 "-1\n"+
+					 "+one\n"+
+					 " 2\n"+
+					 " 3\n"+
+					 " 4\n"+
+					 "@@ -7,4 +7,3 @@\n"+
+					 " 7\n"+
+					 " 8\n"+
+					 " 9\n"+
+					 "-10\n", 
+					 unified(from, to));
+	}
+	
+	@Test
+	public void render_added_lines_to_empty_config() throws IOException {
+		assertEquals("--- a/config\n"+
+					 "+++ b/config\n"+
+					 "@@ -0,0 +1,2 @@\n"+
+					 "+a\n"+
+					 "+b\n", 
+					 unified("", "a\nb\n"));
+	}
+	
+	@Test
+	public void mark_missing_newline_at_end_of_file() throws IOException {
+		assertEquals("--- a/config\n"+
+				 	 "+++ b/config\n"+
+				 	 "@@ -1,2 +1,2 @@\n"+
+				 	 " a\n"+
+				 	 "-b\n"+
+				 	 "\\ No newline at end of file\n"+
+				 	 "+b\n", 
+				 	 unified("a\nb", "a\nb\n"));
+	}
+	
+	@Test
+	public void compute_shortest_edit_script() {
+		Random random = new Random(42);
+		for(int i=0; i < 500; i++) {
+			String from = randomConfig(random, random.nextInt(30));
+			String to = randomConfig(random, random.nextInt(30));
+			String[] a = from.isEmpty() ? new String[0] : from.split("\n");
+			String[] b = to.isEmpty() ? new String[0] : to.split("\n");
+			LineDiff diff = diff(from, to);
+			int common = lcs(a, b);
+			assertEquals(a.length - common, diff.getRemovedLines());
+			assertEquals(b.length - common, diff.getAddedLines());
+		}
+	}
+	
+}
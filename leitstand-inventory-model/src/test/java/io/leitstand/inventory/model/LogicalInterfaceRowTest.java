@@ -0,0 +1,144 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.LogicalInterfaceRow.submittedRow;
+import static io.leitstand.inventory.service.AddressInterface.newAddressInterface;
+import static io.leitstand.inventory.service.ElementLogicalInterfaceSubmission.newElementLogicalInterfaceSubmission;
+import static io.leitstand.inventory.service.IPvxPrefix.cidr;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.OperationalState.DOWN;
+import static io.leitstand.inventory.service.OperationalState.UP;
+import static io.leitstand.inventory.service.RoutingInstanceName.routingInstance;
+import static io.leitstand.inventory.service.VlanID.vlanID;
+import static io.leitstand.inventory.service.VlanTPID.vlanTPID;
+import static io.leitstand.inventory.service.VlanTag.newVlanTag;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.junit.Test;
+
+import io.leitstand.inventory.model.LogicalInterfaceRow.Address;
+import io.leitstand.inventory.model.LogicalInterfaceRow.Vlan;
+import io.leitstand.inventory.service.AdministrativeState;
+import io.leitstand.inventory.service.ElementLogicalInterfaceSubmission;
+import io.leitstand.inventory.service.OperationalState;
+
+public class LogicalInterfaceRowTest {
+
+	private static ElementLogicalInterfaceSubmission submission(OperationalState opState, 
+																String address, 
+																int innerVlan) {
+		return newElementLogicalInterfaceSubmission()
+			   .withIflName(interfaceName("ifl-0/0/1/1"))
+			   .withIfcName(interfaceName("ifc-0/0/1"))
+			   .withInterfaceAlias("subscriber")
+			   .withRoutingInstanceName(routingInstance("default"))
+			   .withAdministrativeState(AdministrativeState.UP)
+			   .withOperationalState(opState)
+			   .withAddressInterfaces(newAddressInterface().withAddress(cidr("10.0.0.1/24")),
+					   				  newAddressInterface().withAddress(cidr(address)))
+			   .withVlans(asList(newVlanTag()
+					   			 .withVlanTpid(vlanTPID(0x8100))
+					   			 .withVlanId(vlanID(100))
+					   			 .build(),
+					   			 newVlanTag()
+					   			 .withVlanTpid(vlanTPID(0x8100))
+					   			 .withVlanId(vlanID(innerVlan))
+					   			 .build()))
+			   .build();
+	}
+	
+	private static LogicalInterfaceRow stored(String opState) {
+		LogicalInterfaceRow row = new LogicalInterfaceRow("ifl-0/0/1/1", 
+														  "ifc-0/0/1", 
+														  "subscriber", 
+														  "default", 
+														  "UP", 
+														  opState);
+		row.addAddress("IPv4", "10.0.1.1/24");
+		row.addAddress("IPv4", "10.0.0.1/24");
+		row.addVlan(1, 0x8100, 200);
+		row.addVlan(0, 0x8100, 100);
+		return row;
+	}
+	
+	@Test
+	public void unmodified_interface_equals_stored_row() {
+		assertEquals(stored("UP"), submittedRow(submission(UP, "10.0.1.1/24", 200)));
+	}
+	
+	@Test
+	public void modified_operational_state_differs_from_stored_row() {
+		LogicalInterfaceRow row = submittedRow(submission(DOWN, "10.0.1.1/24", 200));
+		assertNotEquals(stored("UP"), row);
+		assertTrue(row.addressesMissingIn(stored("UP")).isEmpty());
+		assertTrue(row.vlansMissingIn(stored("UP")).isEmpty());
+	}
+	
+	@Test
+	public void modified_address_reports_added_and_removed_address_only() {
+		LogicalInterfaceRow current = stored("UP");
+		LogicalInterfaceRow row = submittedRow(submission(UP, "10.0.2.1/24", 200));
+		assertNotEquals(current, row);
+		assertTrue(row.hasSameColumns(current));
+		
+		Set<Address> added = row.addressesMissingIn(current);
+		assertEquals(1, added.size());
+		assertEquals("10.0.2.1/24", added.iterator().next().getAddress());
+		
+		Set<Address> removed = current.addressesMissingIn(row);
+		assertEquals(1, removed.size());
+		assertEquals("10.0.1.1/24", removed.iterator().next().getAddress());
+	}
+	
+	@Test
+	public void modified_vlan_reports_added_and_removed_vlan_only() {
+		LogicalInterfaceRow current = stored("UP");
+		LogicalInterfaceRow row = submittedRow(submission(UP, "10.0.1.1/24", 201));
+		
+		Set<Vlan> added = row.vlansMissingIn(current);
+		assertEquals(1, added.size());
+		assertEquals(1, added.iterator().next().getPosition());
+		assertEquals(Integer.valueOf(201), added.iterator().next().getVid());
+		
+		Set<Vlan> removed = current.vlansMissingIn(row);
+		assertEquals(1, removed.size());
+		assertEquals(Integer.valueOf(200), removed.iterator().next().getVid());
+	}
+	
+	@Test
+	public void vlan_order_is_significant() {
+		LogicalInterfaceRow current = stored("UP");
+		LogicalInterfaceRow swapped = new LogicalInterfaceRow("ifl-0/0/1/1", 
+															  "ifc-0/0/1", 
+															  "subscriber", 
+															  "default", 
+															  "UP", 
+															  "UP");
+		swapped.addAddress("IPv4", "10.0.0.1/24");
+		swapped.addAddress("IPv4", "10.0.1.1/24");
+		swapped.addVlan(0, 0x8100, 200);
+		swapped.addVlan(1, 0x8100, 100);
+		assertNotEquals(current, swapped);
+		assertEquals(2, swapped.vlansMissingIn(current).size());
+	}
+	
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.LogicalInterfaceSearchQuery.addressQuery;
+import static io.leitstand.inventory.model.LogicalInterfaceSearchQuery.keysetQuery;
+import static io.leitstand.inventory.model.LogicalInterfaceSearchQuery.vlanQuery;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LogicalInterfaceSearchQueryTest {
+
+	@Test
+	public void read_all_interfaces_without_filter() {
+		LogicalInterfaceSearchQuery query = keysetQuery(42L, "", null, 10);
+		assertFalse(query.getSql().contains("~"));
+		assertFalse(query.getSql().contains("ifl.name > ?"));
+		assertTrue(query.getSql().endsWith("ORDER BY ifl.name LIMIT ?"));
+		assertEquals(asList(42L, 10), query.getArgs());
+	}
+	
+	@Test
+	public void match_name_alias_instance_and_address() {
+		LogicalInterfaceSearchQuery query = keysetQuery(42L, "10.0.0.1/24", null, 10);
+		assertTrue(query.getSql().contains("AND (ifl.name ~ ? OR ifl.alias ~ ? OR ifl.instance ~ ? OR EXISTS (SELECT 1 FROM inventory.element_ifl_ifa "));
+		assertFalse(query.getSql().contains("element_ifl_vlan"));
+		assertEquals(asList(42L, "10.0.0.1/24", "10.0.0.1/24", "10.0.0.1/24", "10.0.0.1/24", 10), query.getArgs());
+	}
+	
+	@Test
+	public void match_vlan_id_for_numeric_filter() {
+		LogicalInterfaceSearchQuery query = keysetQuery(42L, "43", null, 10);
+		assertTrue(query.getSql().contains("OR EXISTS (SELECT 1 FROM inventory.element_ifl_vlan "));
+		assertEquals(asList(42L, "43", "43", "43", "43", 43, 10), query.getArgs());
+	}
+	
+	@Test
+	public void do_not_match_vlan_id_for_numbers_exceeding_the_vlan_range() {
+		LogicalInterfaceSearchQuery query = keysetQuery(42L, "100000", null, 10);
+		assertFalse(query.getSql().contains("element_ifl_vlan"));
+	}
+	
+	@Test
+	public void seek_page_following_the_cursor() {
+		LogicalInterfaceSearchQuery query = keysetQuery(42L, "subscriber", interfaceName("ifl-0/0/1/7"), 10);
+		assertTrue(query.getSql().contains(") AND ifl.name > ? ORDER BY ifl.name LIMIT ?"));
+		assertEquals(asList(42L, "subscriber", "subscriber", "subscriber", "subscriber", "ifl-0/0/1/7", 10), query.getArgs());
+	}
+	
+	@Test
+	public void read_addresses_and_vlans_of_all_interfaces_of_a_page() {
+		LogicalInterfaceSearchQuery addresses = addressQuery(42L, asList("ifl-0/0/1/1", "ifl-0/0/1/2"));
+		assertTrue(addresses.getSql().endsWith("AND element_ifl_name IN (?,?) "));
+		assertEquals(asList(42L, "ifl-0/0/1/1", "ifl-0/0/1/2"), addresses.getArgs());
+		
+		LogicalInterfaceSearchQuery vlans = vlanQuery(42L, asList("ifl-0/0/1/1"));
+		assertTrue(vlans.getSql().endsWith("AND element_ifl_name IN (?) ORDER BY element_ifl_name, vlan"));
+		assertEquals(asList(42L, "ifl-0/0/1/1"), vlans.getArgs());
+	}
+	
+}
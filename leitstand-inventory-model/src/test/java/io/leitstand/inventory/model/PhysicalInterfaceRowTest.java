@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.PhysicalInterfaceRow.submittedRow;
+import static io.leitstand.inventory.service.Bandwidth.bandwidth;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementPhysicalInterfaceNeighbor.newPhysicalInterfaceNeighbor;
+import static io.leitstand.inventory.service.ElementPhysicalInterfaceSubmission.newPhysicalInterfaceSubmission;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.MACAddress.macAddress;
+import static io.leitstand.inventory.service.OperationalState.DOWN;
+import static io.leitstand.inventory.service.OperationalState.UP;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import io.leitstand.inventory.service.AdministrativeState;
+import io.leitstand.inventory.service.ElementPhysicalInterfaceSubmission;
+import io.leitstand.inventory.service.OperationalState;
+
+public class PhysicalInterfaceRowTest {
+
+	private static ElementPhysicalInterfaceSubmission submission(OperationalState opState) {
+		return newPhysicalInterfaceSubmission()
+			   .withIfpName(interfaceName("ifp-0/0/1"))
+			   .withIfcName(interfaceName("ifc-0/0/1"))
+			   .withIfpAlias("uplink")
+			   .withCategory("access")
+			   .withBandwidth(bandwidth("10.000 Gbps"))
+			   .withMacAddress(macAddress("02:00:00:00:00:01"))
+			   .withAdministrativeState(AdministrativeState.UP)
+			   .withOperationalState(opState)
+			   .withNeighbor(newPhysicalInterfaceNeighbor()
+					   		 .withElementName(elementName("spine-1"))
+					   		 .withInterfaceName(interfaceName("ifp-0/0/7"))
+					   		 .build())
+			   .build();
+	}
+	
+	private static PhysicalInterfaceRow stored(String opState) {
+		return new PhysicalInterfaceRow("ifp-0/0/1", 
+										"ifc-0/0/1", 
+										"uplink", 
+										"access", 
+										10f, 
+										"GBPS", 
+										"02:00:00:00:00:01", 
+										"UP", 
+										opState, 
+										42L, 
+										"ifp-0/0/7");
+	}
+	
+	@Test
+	public void unmodified_interface_equals_stored_row() {
+		assertEquals(stored("UP"), submittedRow(submission(UP), 42L));
+	}
+	
+	@Test
+	public void modified_operational_state_differs_from_stored_row() {
+		assertNotEquals(stored("UP"), submittedRow(submission(DOWN), 42L));
+	}
+	
+	@Test
+	public void modified_neighbor_differs_from_stored_row() {
+		assertNotEquals(stored("UP"), submittedRow(submission(UP), 43L));
+	}
+	
+	@Test
+	public void unknown_neighbor_is_not_stored() {
+		PhysicalInterfaceRow row = submittedRow(submission(UP), null);
+		assertNull(row.getNeighborId());
+		assertNull(row.getNeighborIfpName());
+	}
+	
+	@Test
+	public void convert_row_to_physical_interface_data() {
+		PhysicalInterfaceRow row = stored("DOWN");
+		assertEquals(DOWN, row.toPhysicalInterfaceData(null).getOperationalState());
+		assertEquals(bandwidth("10.000 Gbps").toString(), row.toPhysicalInterfaceData(null).getBandwidth().toString());
+	}
+	
+}
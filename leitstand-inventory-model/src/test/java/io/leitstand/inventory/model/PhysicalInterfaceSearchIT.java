@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.commons.db.DatabaseService.prepare;
+import static io.leitstand.inventory.model.ElementGroup.findElementGroupById;
+import static io.leitstand.inventory.model.ElementRole.findRoleByName;
+import static io.leitstand.inventory.service.Bandwidth.bandwidth;
+import static io.leitstand.inventory.service.ElementGroupId.randomGroupId;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementGroupType.groupType;
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.PhysicalInterfaceCursor.cursorOf;
+import static io.leitstand.inventory.service.Plane.DATA;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.leitstand.commons.model.Repository;
+import io.leitstand.inventory.service.ElementGroupId;
+import io.leitstand.inventory.service.ElementName;
+import io.leitstand.inventory.service.InterfaceName;
+import io.leitstand.inventory.service.PhysicalInterfaceCursor;
+import io.leitstand.inventory.service.PhysicalInterfaceData;
+import io.leitstand.inventory.service.PhysicalInterfaceService;
+
+public class PhysicalInterfaceSearchIT extends InventoryIT {
+
+	private static final ElementGroupId GROUP_ID = randomGroupId();
+	private static final InterfaceName IFP_1 = interfaceName("ifp-0/0/1");
+	private static final InterfaceName IFP_2 = interfaceName("ifp-0/0/2");
+	
+	private PhysicalInterfaceService service;
+	
+	@Before
+	public void initTestEnvironment() {
+		Repository repository = new Repository(getEntityManager());
+		service = new DefaultPhysicalInterfacesService(getDatabase());
+		
+		transaction(() -> {
+			ElementRole role = repository.addIfAbsent(findRoleByName(elementRoleName("leaf")), 
+													  () -> new ElementRole(elementRoleName("leaf"), DATA));
+			ElementGroup group = repository.addIfAbsent(findElementGroupById(GROUP_ID), 
+														() -> new ElementGroup(GROUP_ID, 
+																			   groupType("pod"), 
+																			   groupName("ifp-search")));
+			// Elements are added in reverse name order to verify that the result is ordered by name.
+			for(String name : asList("leaf-3","leaf-2","leaf-1")) {
+				Element element = new Element(group, role, randomElementId(), elementName(name));
+				repository.add(element);
+				repository.flush();
+				for(InterfaceName ifpName : asList(IFP_1, IFP_2)) {
+					Element_ContainerInterface ifc = new Element_ContainerInterface(element, ifpName);
+					repository.add(ifc);
+					repository.flush();
+					repository.add(new Element_PhysicalInterface(element, ifpName, bandwidth("10.000 Gbps"), ifc));
+				}
+			}
+		});
+	}
+	
+	private static List<String> names(List<PhysicalInterfaceData> ifps){
+		return ifps.stream()
+				   .map(ifp -> ifp.getElementName()+":"+ifp.getIfpName())
+				   .collect(toList());
+	}
+	
+	private void removeElement(ElementName elementName) {
+		transaction(() -> {
+			String element = "(SELECT id FROM inventory.element WHERE name=?)";
+			getDatabase().executeUpdate(prepare("DELETE FROM inventory.element_ifp WHERE element_id="+element, elementName));
+			getDatabase().executeUpdate(prepare("DELETE FROM inventory.element_ifc WHERE element_id="+element, elementName));
+			getDatabase().executeUpdate(prepare("DELETE FROM inventory.element WHERE name=?", elementName));
+		});
+	}
+	
+	@Test
+	public void read_pages_in_name_order() {
+		List<PhysicalInterfaceData> first = service.findPhysicalInterfaces(null, null, (PhysicalInterfaceCursor) null, 4);
+		assertEquals(asList("leaf-1:ifp-0/0/1",
+							"leaf-1:ifp-0/0/2",
+							"leaf-2:ifp-0/0/1",
+							"leaf-2:ifp-0/0/2"),
+					 names(first));
+		
+		List<PhysicalInterfaceData> next = service.findPhysicalInterfaces(null, null, cursorOf(first.get(3)), 4);
+		assertEquals(asList("leaf-3:ifp-0/0/1",
+							"leaf-3:ifp-0/0/2"),
+					 names(next));
+	}
+	
+	@Test
+	public void continue_after_cursor_of_removed_element() {
+		List<PhysicalInterfaceData> first = service.findPhysicalInterfaces(null, null, (PhysicalInterfaceCursor) null, 3);
+		assertEquals("leaf-2:ifp-0/0/1", names(first).get(2));
+		
+		removeElement(elementName("leaf-2"));
+		
+		List<PhysicalInterfaceData> next = service.findPhysicalInterfaces(null, null, cursorOf(first.get(2)), 3);
+		assertEquals(asList("leaf-3:ifp-0/0/1",
+							"leaf-3:ifp-0/0/2"),
+					 names(next));
+	}
+	
+	@Test
+	public void read_page_by_offset_in_name_order() {
+		List<PhysicalInterfaceData> page = service.findPhysicalInterfaces(null, "ifp-0/0/2", 1, 2);
+		assertEquals(asList("leaf-2:ifp-0/0/2",
+							"leaf-3:ifp-0/0/2"),
+					 names(page));
+	}
+	
+}
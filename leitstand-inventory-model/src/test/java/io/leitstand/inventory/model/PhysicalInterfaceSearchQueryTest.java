@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.model.PhysicalInterfaceSearchQuery.escapeLike;
+import static io.leitstand.inventory.model.PhysicalInterfaceSearchQuery.keysetQuery;
+import static io.leitstand.inventory.model.PhysicalInterfaceSearchQuery.offsetQuery;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.PhysicalInterfaceCursor.cursorOf;
+import static io.leitstand.inventory.service.PhysicalInterfaceData.newPhysicalInterfaceData;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.leitstand.inventory.service.PhysicalInterfaceCursor;
+
+public class PhysicalInterfaceSearchQueryTest {
+
+	private static PhysicalInterfaceCursor cursor() {
+		return cursorOf(newPhysicalInterfaceData()
+						.withGroupName(groupName("pod"))
+						.withElementName(elementName("leaf"))
+						.withIfpName(interfaceName("ifp-0/1"))
+						.build());
+	}
+	
+	@Test
+	public void escape_like_wildcards() {
+		assertEquals("ifp\\_0\\%1\\\\", escapeLike("ifp_0%1\\"));
+	}
+	
+	@Test
+	public void match_interface_name_prefix_and_alias_substring() {
+		PhysicalInterfaceSearchQuery query = offsetQuery(null, "ifp-0_", 100, 10);
+		assertTrue(query.getSql().contains("WHERE (ifp.name LIKE ? OR ifp.alias ILIKE ?) "));
+		assertEquals(asList("ifp-0\\_%", "%ifp-0\\_%", 100, 10), query.getArgs());
+	}
+	
+	@Test
+	public void read_first_page_without_seek_predicate() {
+		PhysicalInterfaceSearchQuery query = keysetQuery("berlin", null, null, 10);
+		assertFalse(query.getSql().contains(") > ("));
+		assertFalse(query.getSql().contains("OFFSET"));
+		assertEquals(asList("%berlin%", "%berlin%", 10), query.getArgs());
+	}
+	
+	@Test
+	public void seek_page_following_the_cursor() {
+		PhysicalInterfaceSearchQuery query = keysetQuery("berlin", "ifp", cursor(), 10);
+		assertTrue(query.getSql().contains("AND (COALESCE(f.name,''), g.name, e.name, ifp.name) > (?, ?, ?, ?) ORDER BY COALESCE(f.name,''), g.name, e.name, ifp.name LIMIT ?"));
+		assertEquals(asList("%berlin%", "%berlin%", "ifp%", "%ifp%", "", "pod", "leaf", "ifp-0/1", 10), query.getArgs());
+	}
+	
+	@Test
+	public void restore_cursor_from_string() {
+		PhysicalInterfaceCursor cursor = cursor();
+		assertEquals(cursor, PhysicalInterfaceCursor.valueOf(cursor.toString()));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void reject_malformed_cursor() {
+		PhysicalInterfaceCursor.valueOf("bm90LWEtY3Vyc29y");
+	}
+	
+}
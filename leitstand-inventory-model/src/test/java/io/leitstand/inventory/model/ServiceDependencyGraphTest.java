@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.ServiceName.serviceName;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.leitstand.inventory.model.ServiceDependencyGraph.ServiceContextRef;
+import io.leitstand.inventory.service.ElementId;
+
+public class ServiceDependencyGraphTest {
+
+	private static final ElementId HOST = randomElementId();
+	private static final ElementId VM = randomElementId();
+	
+	private ServiceDependencyGraph graph;
+	
+	@Before
+	public void initGraph() {
+		// host: 1 hypervisor
+		// vm: 2 os -> 1 hypervisor, 3 bgpd -> 2 os, 4 ifmd -> 2 os
+		graph = new ServiceDependencyGraph();
+		graph.put(new ServiceContextRef(1L, HOST, serviceName("hypervisor"), null));
+		graph.put(new ServiceContextRef(2L, VM, serviceName("os"), 1L));
+		graph.put(new ServiceContextRef(3L, VM, serviceName("bgpd"), 2L));
+		graph.put(new ServiceContextRef(4L, VM, serviceName("ifmd"), 2L));
+	}
+	
+	@Test
+	public void read_service_stack_from_service_to_root() {
+		assertEquals(asList(3L,2L,1L), graph.getServiceStack(graph.get(VM, serviceName("bgpd"))));
+	}
+	
+	@Test
+	public void read_impact_of_service_across_elements() {
+		assertEquals(asList(1L,2L,3L,4L), graph.getServiceImpact(1L));
+		assertEquals(asList(3L), graph.getServiceImpact(3L));
+	}
+	
+	@Test
+	public void read_impact_of_element() {
+		assertEquals(asList(1L,2L,3L,4L), graph.getElementImpact(HOST));
+		assertNull(graph.getElementImpact(randomElementId()));
+	}
+	
+	@Test
+	public void update_element_impact_when_dependency_changes() {
+		assertEquals(4, graph.getElementImpact(HOST).size());
+		graph.put(new ServiceContextRef(2L, VM, serviceName("os"), null));
+		assertEquals(asList(1L), graph.getElementImpact(HOST));
+	}
+	
+	@Test
+	public void retain_children_when_replacing_element_services() {
+		graph.removeAll(HOST);
+		assertEquals(asList(3L,2L), graph.getServiceStack(3L));
+		graph.put(new ServiceContextRef(1L, HOST, serviceName("hypervisor"), null));
+		assertEquals(asList(1L,2L,3L,4L), graph.getElementImpact(HOST));
+	}
+	
+	@Test
+	public void stop_at_stored_circular_dependency() {
+		graph.put(new ServiceContextRef(1L, HOST, serviceName("hypervisor"), 3L));
+		assertEquals(asList(3L,2L,1L), graph.getServiceStack(3L));
+	}
+	
+}
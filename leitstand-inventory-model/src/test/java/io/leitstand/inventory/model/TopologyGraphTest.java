@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.service.ElementGroupId.randomGroupId;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementGroupType.groupType;
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.TopologyNode.newTopologyNode;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.leitstand.inventory.service.ElementGroupId;
+import io.leitstand.inventory.service.ElementId;
+import io.leitstand.inventory.service.Topology;
+import io.leitstand.inventory.service.TopologyLink;
+import io.leitstand.inventory.service.TopologyNode;
+
+public class TopologyGraphTest {
+
+	private static final ElementGroupId POD1 = randomGroupId();
+	private static final ElementGroupId POD2 = randomGroupId();
+	
+	private static TopologyNode node(String name, ElementGroupId groupId) {
+		return newTopologyNode()
+			   .withElementId(randomElementId())
+			   .withElementName(elementName(name))
+			   .withElementRole(elementRoleName(name.replaceAll("[0-9]", "")))
+			   .withGroupId(groupId)
+			   .withGroupType(groupType("pod"))
+			   .withGroupName(groupName(groupId == POD1 ? "pod1" : "pod2"))
+			   .build();
+	}
+	
+	private static List<ElementId> elementIds(List<TopologyNode> nodes){
+		return nodes.stream().map(TopologyNode::getElementId).collect(toList());
+	}
+	
+	private TopologyNode spine1;
+	private TopologyNode spine2;
+	private TopologyNode leaf1;
+	private TopologyNode leaf2;
+	private TopologyNode leaf3;
+	private TopologyNode isolated;
+	private TopologyGraphBuilder builder;
+	private TopologyGraph graph;
+	
+	@Before
+	public void initTopology() {
+		spine1 = node("spine1",POD1);
+		spine2 = node("spine2",POD1);
+		leaf1 = node("leaf1",POD1);
+		leaf2 = node("leaf2",POD1);
+		leaf3 = node("leaf3",POD2);
+		isolated = node("isolated",POD2);
+		builder = new TopologyGraphBuilder();
+		asList(spine1,spine2,leaf1,leaf2,leaf3,isolated).forEach(builder::putNode);
+		// Link recorded by both elements
+		builder.putLink(leaf1.getElementId(), interfaceName("ifp-0/0/1"), spine1.getElementId(), interfaceName("ifp-0/0/1"));
+		builder.putLink(spine1.getElementId(), interfaceName("ifp-0/0/1"), leaf1.getElementId(), interfaceName("ifp-0/0/1"));
+		// Links recorded by one element only
+		builder.putLink(leaf1.getElementId(), interfaceName("ifp-0/0/2"), spine2.getElementId(), interfaceName("ifp-0/0/1"));
+		builder.putLink(spine1.getElementId(), interfaceName("ifp-0/0/2"), leaf2.getElementId(), interfaceName("ifp-0/0/1"));
+		builder.putLink(leaf3.getElementId(), interfaceName("ifp-0/0/1"), spine2.getElementId(), interfaceName("ifp-0/0/2"));
+		graph = builder.build();
+	}
+	
+	@Test
+	public void report_each_link_once() {
+		assertEquals(6, graph.getNodeCount());
+		assertEquals(4, graph.getLinkCount());
+	}
+	
+	@Test
+	public void return_one_hop_neighborhood() {
+		Topology neighborhood = graph.getNeighborhood(leaf1.getElementId(), 1);
+		assertEquals(asList(leaf1,spine1,spine2), neighborhood.getNodes());
+		assertEquals(2, neighborhood.getLinks().size());
+	}
+	
+	@Test
+	public void return_two_hop_neighborhood() {
+		Topology neighborhood = graph.getNeighborhood(leaf1.getElementId(), 2);
+		assertEquals(5, neighborhood.getNodes().size());
+		assertEquals(4, neighborhood.getLinks().size());
+	}
+	
+	@Test
+	public void return_shortest_path_in_path_order() {
+		Topology path = graph.getShortestPath(leaf2.getElementId(), leaf3.getElementId());
+		assertEquals(elementIds(asList(leaf2,spine1,leaf1,spine2,leaf3)), elementIds(path.getNodes()));
+		assertEquals(4, path.getLinks().size());
+		TopologyLink first = path.getLinks().get(0);
+		assertEquals(leaf2.getElementId(), first.getElementId());
+		assertEquals(interfaceName("ifp-0/0/1"), first.getIfpName());
+		assertEquals(spine1.getElementId(), first.getNeighborElementId());
+		assertEquals(interfaceName("ifp-0/0/2"), first.getNeighborIfpName());
+		TopologyLink last = path.getLinks().get(3);
+		assertEquals(spine2.getElementId(), last.getElementId());
+		assertEquals(leaf3.getElementId(), last.getNeighborElementId());
+	}
+	
+	@Test
+	public void return_empty_path_for_disconnected_elements() {
+		Topology path = graph.getShortestPath(leaf1.getElementId(), isolated.getElementId());
+		assertTrue(path.getNodes().isEmpty());
+		assertTrue(path.getLinks().isEmpty());
+	}
+	
+	@Test
+	public void return_null_for_unknown_element() {
+		assertNull(graph.getNeighborhood(randomElementId(), 1));
+		assertNull(graph.getShortestPath(leaf1.getElementId(), randomElementId()));
+	}
+	
+	@Test
+	public void return_group_topology_with_adjacent_elements() {
+		Topology pod = graph.getGroupTopology(POD1);
+		assertEquals(elementIds(asList(spine1,spine2,leaf1,leaf2,leaf3)), elementIds(pod.getNodes()));
+		assertEquals(4, pod.getLinks().size());
+	}
+	
+	@Test
+	public void refresh_removes_links_of_removed_element() {
+		graph = builder.refresh(singleton(spine1.getElementId()), 
+								emptyList(), 
+								emptyList())
+					   .build();
+		assertEquals(5, graph.getNodeCount());
+		assertEquals(2, graph.getLinkCount());
+		assertTrue(graph.getShortestPath(leaf2.getElementId(), leaf3.getElementId()).getNodes().isEmpty());
+	}
+	
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.model;
+
+import static io.leitstand.inventory.event.ElementRemovedEvent.newElementRemovedEvent;
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.leitstand.inventory.service.ElementId;
+
+public class TopologyIndexTest {
+	
+	private static final ElementId ELEMENT_ID = randomElementId();
+
+	private TopologyIndexService service;
+	private TopologyIndex index;
+	
+	@Before
+	public void initIndex() {
+		service = mock(TopologyIndexService.class);
+		when(service.loadNodes()).thenReturn(emptyList());
+		when(service.loadLinks()).thenReturn(emptyList());
+		when(service.loadNodes(anyCollection())).thenReturn(emptyList());
+		when(service.loadLinks(anyCollection())).thenReturn(emptyList());
+		index = new TopologyIndex(service);
+	}
+	
+	@Test
+	public void load_topology_on_demand() {
+		TopologyGraph graph = index.getGraph();
+		
+		assertSame(graph, index.getGraph());
+		assertEquals(1, index.getReloads());
+		verify(service, times(1)).loadLinks();
+	}
+	
+	@Test
+	public void refresh_modified_elements_only() {
+		index.getGraph();
+		index.elementRemoved(newElementRemovedEvent()
+							 .withElementId(ELEMENT_ID)
+							 .build());
+		assertEquals(1, index.getModifiedElementCount());
+		
+		index.refresh();
+		
+		assertEquals(0, index.getModifiedElementCount());
+		assertEquals(1, index.getRefreshes());
+		assertEquals(1, index.getReloads());
+		verify(service).loadLinks((Collection<ElementId>) anyCollection());
+	}
+	
+	@Test
+	public void do_not_publish_a_new_snapshot_if_no_element_was_modified() {
+		TopologyGraph graph = index.getGraph();
+		
+		index.refresh();
+		
+		assertSame(graph, index.getGraph());
+		assertEquals(0, index.getRefreshes());
+		verify(service, never()).loadLinks((Collection<ElementId>) anyCollection());
+	}
+	
+	@Test
+	public void publish_a_new_snapshot_on_reload() {
+		TopologyGraph graph = index.getGraph();
+		
+		index.reload();
+		
+		assertNotSame(graph, index.getGraph());
+		assertEquals(2, index.getReloads());
+	}
+	
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.rs;
+
+import static io.leitstand.inventory.rs.ByteRange.byteRange;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class ByteRangeTest {
+
+	@Test
+	public void ignore_missing_range() {
+		assertNull(byteRange(null, 100));
+	}
+	
+	@Test
+	public void ignore_malformed_range() {
+		assertNull(byteRange("bytes=a-b", 100));
+		assertNull(byteRange("bytes=10-5", 100));
+		assertNull(byteRange("items=0-5", 100));
+	}
+	
+	@Test
+	public void ignore_multiple_ranges() {
+		assertNull(byteRange("bytes=0-5,10-15", 100));
+	}
+	
+	@Test
+	public void parse_closed_range() {
+		ByteRange range = byteRange("bytes=10-19", 100);
+		assertEquals(10, range.getFirst());
+		assertEquals(19, range.getLast());
+		assertEquals(10, range.getLength());
+		assertEquals("bytes 10-19/100", range.getContentRange());
+	}
+	
+	@Test
+	public void parse_open_range() {
+		ByteRange range = byteRange("bytes=90-", 100);
+		assertEquals(90, range.getFirst());
+		assertEquals(99, range.getLast());
+	}
+	
+	@Test
+	public void parse_suffix_range() {
+		ByteRange range = byteRange("bytes=-10", 100);
+		assertEquals(90, range.getFirst());
+		assertEquals(99, range.getLast());
+	}
+	
+	@Test
+	public void truncate_range_to_content_length() {
+		ByteRange range = byteRange("bytes=50-500", 100);
+		assertEquals(50, range.getFirst());
+		assertEquals(99, range.getLast());
+		assertEquals("bytes 0-99/100", byteRange("bytes=-500", 100).getContentRange());
+	}
+	
+	@Test
+	public void range_beyond_content_is_not_satisfiable() {
+		ByteRange range = byteRange("bytes=100-", 100);
+		assertFalse(range.isSatisfiable());
+		assertEquals("bytes */100", range.getContentRange());
+	}
+	
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.rs;
+
+import static io.leitstand.inventory.rs.DnsZoneExportWriter.exportWriter;
+import static io.leitstand.inventory.rs.DnsZoneExportWriter.ExportFormat.JSON;
+import static io.leitstand.inventory.rs.DnsZoneExportWriter.ExportFormat.ZONE;
+import static io.leitstand.inventory.service.DnsName.dnsName;
+import static io.leitstand.inventory.service.DnsRecord.newDnsRecord;
+import static io.leitstand.inventory.service.DnsRecordSet.newDnsRecordSet;
+import static io.leitstand.inventory.service.DnsRecordType.dnsRecordType;
+import static io.leitstand.inventory.service.DnsZoneElement.newDnsZoneElement;
+import static io.leitstand.inventory.service.DnsZoneId.randomDnsZoneId;
+import static io.leitstand.inventory.service.DnsZoneName.dnsZoneName;
+import static io.leitstand.inventory.service.DnsZoneSettings.newDnsZoneSettings;
+import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementRoleName.elementRoleName;
+import static javax.json.Json.createReader;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+
+import org.junit.Test;
+
+import io.leitstand.inventory.rs.DnsZoneExportWriter.ExportFormat;
+import io.leitstand.inventory.service.DnsZoneElement;
+import io.leitstand.inventory.service.DnsZoneSettings;
+
+public class DnsZoneExportWriterTest {
+	
+	private static final DnsZoneSettings SETTINGS = newDnsZoneSettings()
+												    .withDnsZoneId(randomDnsZoneId())
+												    .withDnsZoneName(dnsZoneName("leitstand.io."))
+												    .build();
+
+	private static DnsZoneElement element(String name) {
+		return newDnsZoneElement()
+			   .withElementId(randomElementId())
+			   .withElementName(elementName(name))
+			   .withElementRole(elementRoleName("leaf"))
+			   .withDnsRecordSets(newDnsRecordSet()
+					   			  .withDnsName(dnsName(name+".leitstand.io"))
+					   			  .withDnsRecordType(dnsRecordType("A"))
+					   			  .withDnsRecordTimeToLive(300)
+					   			  .withDnsRecords(newDnsRecord()
+					   					  		  .withRecordValue("10.0.0.1"),
+					   					  		  newDnsRecord()
+					   					  		  .withRecordValue("10.0.0.2")
+					   					  		  .withDisabled(true)),
+					   			  newDnsRecordSet()
+					   			  .withDnsName(dnsName(name+".leitstand.io."))
+					   			  .withDnsRecordType(dnsRecordType("TXT"))
+					   			  .withDnsRecords(newDnsRecord()
+					   					  		  .withRecordValue("say \"hello\"")))
+			   .build();
+	}
+	
+	private static String export(ExportFormat format, DnsZoneElement... elements) throws Exception {
+		StringWriter out = new StringWriter();
+		try(DnsZoneExportWriter writer = exportWriter(format, out)){
+			writer.beginExport(SETTINGS);
+			for(DnsZoneElement element : elements) {
+				writer.writeElement(element);
+			}
+			writer.endExport();
+		}
+		return out.toString();
+	}
+	
+	private static JsonObject json(String export) {
+		return createReader(new StringReader(export)).readObject();
+	}
+	
+	@Test
+	public void write_json_export_without_elements() throws Exception {
+		JsonObject export = json(export(JSON));
+		assertEquals("leitstand.io.", export.getString("dns_zone_name"));
+		assertTrue(export.getJsonArray("dns_entries").isEmpty());
+	}
+	
+	@Test
+	public void write_json_export_with_elements() throws Exception {
+		JsonArray elements = json(export(JSON, 
+										 element("leaf-1"), 
+										 element("leaf-2")))
+							 .getJsonArray("dns_entries");
+		assertEquals(2, elements.size());
+		assertEquals("leaf-1", elements.getJsonObject(0).getString("element_name"));
+		assertEquals(2, elements.getJsonObject(0).getJsonArray("dns_recordsets").size());
+		assertEquals("leaf-2", elements.getJsonObject(1).getString("element_name"));
+	}
+	
+	@Test
+	public void write_zone_file() throws Exception {
+		String[] lines = export(ZONE, element("leaf-1")).split("\n");
+		assertTrue(lines[0].startsWith("; DNS zone leitstand.io. "));
+		assertEquals("$ORIGIN leitstand.io.", lines[1]);
+		assertEquals("", lines[2]);
+		assertTrue(lines[3].startsWith("; leaf leaf-1 "));
+		assertEquals("leaf-1.leitstand.io. 300 IN A 10.0.0.1", lines[4]);
+		assertEquals("; leaf-1.leitstand.io. 300 IN A 10.0.0.2", lines[5]);
+		assertEquals("leaf-1.leitstand.io. 3600 IN TXT \"say \\\"hello\\\"\"", lines[6]);
+		assertEquals(7, lines.length);
+	}
+	
+}
@@ -17,6 +17,7 @@ package io.leitstand.inventory.rs;
 
 import static io.leitstand.commons.rs.ReasonCode.VAL0003E_IMMUTABLE_ATTRIBUTE;
 import static io.leitstand.inventory.service.DnsZoneId.randomDnsZoneId;
+import static io.leitstand.inventory.service.ReasonCode.IVT0955E_DNS_ZONE_EXPORT_FORMAT_INVALID;
 import static io.leitstand.testing.ut.LeitstandCoreMatchers.reason;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
@@ -133,4 +134,22 @@ public class DnsZoneResourceTest {
 		verify(service).removeDnsZone(ZONE_NAME);
 	}
 	
+	@Test
+	public void reject_unknown_export_format() {
+		exception.expect(UnprocessableEntityException.class);
+		exception.expect(reason(IVT0955E_DNS_ZONE_EXPORT_FORMAT_INVALID));
+		
+		resource.exportDnsZone(ZONE_NAME, "xml");
+	}
+	
+	@Test
+	public void accept_export_format_in_any_case() {
+		DnsZoneSettings zone = mock(DnsZoneSettings.class);
+		when(zone.getDnsZoneName()).thenReturn(ZONE_NAME);
+		when(service.getDnsZoneSettings(ZONE_NAME)).thenReturn(zone);
+		
+		Response response = resource.exportDnsZone(ZONE_NAME, "ZONE");
+		assertEquals(200,response.getStatus());
+	}
+	
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.rs;
+
+import static io.leitstand.inventory.rs.ElementConfigBatchResource.parseSubmission;
+import static io.leitstand.inventory.service.ConfigurationState.ACTIVE;
+import static io.leitstand.inventory.service.ConfigurationState.CANDIDATE;
+import static io.leitstand.inventory.service.ElementConfigBatchResult.newElementConfigBatchResult;
+import static io.leitstand.inventory.service.ElementConfigBatchResult.Status.CREATED;
+import static io.leitstand.inventory.service.ElementConfigBatchResult.Status.UPDATED;
+import static io.leitstand.inventory.service.ElementConfigName.elementConfigName;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import io.leitstand.inventory.service.ElementConfigBatchItem;
+import io.leitstand.inventory.service.ElementConfigBatchResult;
+import io.leitstand.inventory.service.ElementConfigService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ElementConfigBatchResourceTest {
+
+	private static final Answer<List<ElementConfigBatchResult>> STORED = new Answer<List<ElementConfigBatchResult>>() {
+		@Override
+		@SuppressWarnings("unchecked")
+		public List<ElementConfigBatchResult> answer(InvocationOnMock invocation) {
+			List<ElementConfigBatchResult> results = new ArrayList<>();
+			for(ElementConfigBatchItem item : (List<ElementConfigBatchItem>) invocation.getArguments()[0]) {
+				results.add(newElementConfigBatchResult()
+							.withElementName(item.getElementName())
+							.withConfigName(item.getConfigName())
+							.withStatus(item.getConfigState() == ACTIVE ? UPDATED : CREATED)
+							.build());
+			}
+			return results;
+		}
+	};
+	
+	private static String submission(String element) {
+		return "{\"element_name\":\""+element+"\",\"config_name\":\"running\",\"content_type\":\"text/plain\",\"config\":\"hostname "+element+"\"}\n";
+	}
+	
+	@Mock
+	private ElementConfigService service;
+	
+	@InjectMocks
+	private ElementConfigBatchResource resource = new ElementConfigBatchResource();
+	
+	private String[] store(String submissions, int chunkSize) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		resource.storeElementConfigs(chunkSize, 
+									 new ByteArrayInputStream(submissions.getBytes(UTF_8)))
+				.write(out);
+		return new String(out.toByteArray(),UTF_8).split("\n");
+	}
+	
+	@Test
+	public void parse_text_submission() {
+		ElementConfigBatchItem item = parseSubmission(submission("leaf-01"));
+		assertEquals(elementName("leaf-01"), item.getElementName());
+		assertEquals(elementConfigName("running"), item.getConfigName());
+		assertEquals(ACTIVE, item.getConfigState());
+		assertEquals("text/plain", item.getContentType());
+		assertEquals("hostname leaf-01", item.getConfig());
+		assertNull(item.getElementId());
+	}
+	
+	@Test
+	public void parse_json_submission() {
+		ElementConfigBatchItem item = parseSubmission("{\"element_name\":\"leaf-01\",\"config_name\":\"running\",\"config_state\":\"CANDIDATE\",\"content_type\":\"application/json\",\"config\":{\"mtu\":9000}}");
+		assertEquals(CANDIDATE, item.getConfigState());
+		assertEquals("{\"mtu\":9000}", item.getConfig());
+	}
+	
+	@Test
+	public void store_submissions_in_chunks() throws Exception {
+		when(service.storeElementConfigs(anyListOf(ElementConfigBatchItem.class))).thenAnswer(STORED);
+		String[] results = store(submission("leaf-01")+submission("leaf-02")+submission("leaf-03"), 2);
+		assertEquals(3, results.length);
+		assertEquals("{\"element_name\":\"leaf-03\",\"config_name\":\"running\",\"status\":\"UPDATED\"}", results[2]);
+		verify(service, times(2)).storeElementConfigs(anyListOf(ElementConfigBatchItem.class));
+	}
+	
+	@Test
+	public void report_malformed_submission_in_submission_order() throws Exception {
+		when(service.storeElementConfigs(anyListOf(ElementConfigBatchItem.class))).thenAnswer(STORED);
+		String[] results = store(submission("leaf-01")+"{not json\n"+submission("leaf-02"), 10);
+		assertEquals(3, results.length);
+		assertEquals("{\"element_name\":\"leaf-01\",\"config_name\":\"running\",\"status\":\"UPDATED\"}", results[0]);
+		assertEquals("FAILED", parseSubmissionResult(results[1]));
+		assertEquals("{\"element_name\":\"leaf-02\",\"config_name\":\"running\",\"status\":\"UPDATED\"}", results[2]);
+	}
+	
+	@Test
+	public void store_submissions_one_by_one_when_chunk_fails() throws Exception {
+		when(service.storeElementConfigs(anyListOf(ElementConfigBatchItem.class)))
+			.thenThrow(new IllegalStateException("rollback"))
+			.thenAnswer(STORED)
+			.thenThrow(new IllegalStateException("duplicate"));
+		String[] results = store(submission("leaf-01")+submission("leaf-02"), 10);
+		assertEquals(2, results.length);
+		assertEquals("{\"element_name\":\"leaf-01\",\"config_name\":\"running\",\"status\":\"UPDATED\"}", results[0]);
+		assertEquals("{\"element_name\":\"leaf-02\",\"config_name\":\"running\",\"status\":\"FAILED\",\"message\":\"duplicate\"}", results[1]);
+	}
+	
+	private static String parseSubmissionResult(String result) {
+		return ElementConfigResourceTest.parseJson(result).getString("status");
+	}
+	
+}
@@ -16,37 +16,57 @@
 package io.leitstand.inventory.rs;
 
 import static io.leitstand.inventory.service.ConfigurationState.CANDIDATE;
+import static io.leitstand.inventory.service.ElementConfigContentInfo.newElementConfigContentInfo;
+import static io.leitstand.inventory.service.ElementConfigDiffFormat.JSON_PATCH;
 import static io.leitstand.inventory.service.ElementConfigId.randomConfigId;
 import static io.leitstand.inventory.service.ElementConfigName.elementConfigName;
 import static io.leitstand.inventory.service.ElementId.randomElementId;
 import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ReasonCode.IVT0328E_ELEMENT_CONFIG_DIFF_FORMAT_INVALID;
+import static io.leitstand.testing.ut.LeitstandCoreMatchers.reason;
 import static java.lang.Boolean.TRUE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.copyOfRange;
 import static javax.json.Json.createReader;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN_TYPE;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
+import java.util.Date;
 
 import javax.json.JsonObject;
 import javax.json.JsonReader;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import io.leitstand.commons.UnprocessableEntityException;
 import io.leitstand.commons.messages.Messages;
 import io.leitstand.inventory.service.ElementConfig;
+import io.leitstand.inventory.service.ElementConfigContentInfo;
+import io.leitstand.inventory.service.ElementConfigDiff;
 import io.leitstand.inventory.service.ElementConfigId;
 import io.leitstand.inventory.service.ElementConfigName;
 import io.leitstand.inventory.service.ElementConfigService;
@@ -70,12 +90,18 @@ public class ElementConfigResourceTest {
         }
     }
 	
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+	
 	@Mock
 	private ElementConfigService service;
 	
 	@Mock
 	private Messages messages;
 	
+	@Mock
+	private Request request;
+	
 	@InjectMocks
 	private ElementConfigResource resource = new ElementConfigResource();
 	
@@ -87,6 +113,23 @@ public class ElementConfigResourceTest {
 		when(result.getConfigId()).thenReturn(CONFIG_ID);
 	}
 	
+    @Test
+    public void diff_configs_in_requested_format() {
+        ElementConfigId from = randomConfigId();
+        ElementConfigDiff diff = mock(ElementConfigDiff.class);
+        when(diff.getFormat()).thenReturn(JSON_PATCH);
+        when(service.diffElementConfigs(ELEMENT_ID, CONFIG_NAME, from, CONFIG_ID, JSON_PATCH)).thenReturn(diff);
+        Response response = resource.diffElementConfigs(ELEMENT_ID, CONFIG_NAME, from, CONFIG_ID, "json-patch");
+        assertEquals(200, response.getStatus());
+    }
+    
+    @Test
+    public void reject_unknown_diff_format() {
+        exception.expect(UnprocessableEntityException.class);
+        exception.expect(reason(IVT0328E_ELEMENT_CONFIG_DIFF_FORMAT_INVALID));
+        resource.diffElementConfigs(ELEMENT_NAME, CONFIG_NAME, randomConfigId(), CONFIG_ID, "xml");
+    }
+    
 	@Test
 	public void find_configs_for_element_id() {
 	    resource.findElementConfigs(ELEMENT_ID, "filter");
@@ -123,27 +166,86 @@ public class ElementConfigResourceTest {
         verify(service).getElementConfigRevisions(ELEMENT_NAME, CONFIG_NAME);
     }
     
+	private ElementConfigContentInfo contentInfo() {
+	    return newElementConfigContentInfo()
+	           .withConfigId(CONFIG_ID)
+	           .withConfigName(CONFIG_NAME)
+	           .withContentType("application/json")
+	           .withContentHash("hash")
+	           .withContentLength(CONFIG.length())
+	           .withDateModified(new Date())
+	           .build();
+	}
+	
+	private void stubContent() throws Exception {
+	    when(service.readElementConfigContent(eq(CONFIG_ID), eq("hash"), anyLong(), anyLong(), any(OutputStream.class))).thenAnswer(invocation -> {
+	        byte[] config = CONFIG.getBytes(UTF_8);
+	        int offset = ((Long) invocation.getArguments()[2]).intValue();
+	        int length = ((Long) invocation.getArguments()[3]).intValue();
+	        byte[] range = copyOfRange(config, offset, Math.min(offset + length, config.length));
+	        ((OutputStream) invocation.getArguments()[4]).write(range);
+	        return (long) range.length;
+	    });
+	}
+	
+	private static String content(Response response) throws Exception {
+	    ByteArrayOutputStream out = new ByteArrayOutputStream();
+	    ((StreamingOutput) response.getEntity()).write(out);
+	    return new String(out.toByteArray(), UTF_8);
+	}
+	
 	@Test
-	public void download_raw_configuration_for_element_identified_by_id() {
-	    ElementConfig config = mock(ElementConfig.class);
-	    when(config.getConfig()).thenReturn(CONFIG);
-	    when(config.getConfigName()).thenReturn(CONFIG_NAME);
-	    when(config.getContentType()).thenReturn("application/json");
-	    when(service.getElementConfig(ELEMENT_ID, CONFIG_ID)).thenReturn(config);
-	    Response response = resource.downloadElementConfig(ELEMENT_ID, CONFIG_ID, false);
-	    assertEquals(CONFIG,response.getEntity());
+	public void download_raw_configuration_for_element_identified_by_id() throws Exception {
+	    when(service.getElementConfigContentInfo(ELEMENT_ID, CONFIG_ID)).thenReturn(contentInfo());
+	    stubContent();
+	    Response response = resource.downloadElementConfig(ELEMENT_ID, CONFIG_ID, false, null, null, request);
+	    assertEquals(200, response.getStatus());
+	    assertEquals(CONFIG,content(response));
+	    verify(service).readElementConfigContent(eq(CONFIG_ID), eq("hash"), eq(0L), eq((long) CONFIG.length()), any(OutputStream.class));
 	}
 	
     @Test
-    public void download_raw_configuration_for_element_identified_by_name() {
-        ElementConfig config = mock(ElementConfig.class);
-        when(config.getConfig()).thenReturn(CONFIG);
-        when(config.getConfig()).thenReturn(CONFIG);
-        when(config.getConfigName()).thenReturn(CONFIG_NAME);
-        when(config.getContentType()).thenReturn("application/json");
-        when(service.getElementConfig(ELEMENT_NAME, CONFIG_ID)).thenReturn(config);
-        Response response = resource.downloadElementConfig(ELEMENT_NAME, CONFIG_ID, false);
-        assertEquals(CONFIG,response.getEntity());
+    public void download_raw_configuration_for_element_identified_by_name() throws Exception {
+        when(service.getElementConfigContentInfo(ELEMENT_NAME, CONFIG_ID)).thenReturn(contentInfo());
+        stubContent();
+        Response response = resource.downloadElementConfig(ELEMENT_NAME, CONFIG_ID, false, null, null, request);
+        assertEquals(200, response.getStatus());
+        assertEquals(CONFIG,content(response));
+    }
+    
+    @Test
+    public void download_configuration_range() throws Exception {
+        when(service.getElementConfigContentInfo(ELEMENT_ID, CONFIG_ID)).thenReturn(contentInfo());
+        stubContent();
+        Response response = resource.downloadElementConfig(ELEMENT_ID, CONFIG_ID, false, "bytes=1-10", null, request);
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 1-10/"+CONFIG.length(), response.getHeaderString("Content-Range"));
+        assertEquals(CONFIG.substring(1, 11),content(response));
+    }
+    
+    @Test
+    public void ignore_range_of_modified_configuration() throws Exception {
+        when(service.getElementConfigContentInfo(ELEMENT_ID, CONFIG_ID)).thenReturn(contentInfo());
+        stubContent();
+        Response response = resource.downloadElementConfig(ELEMENT_ID, CONFIG_ID, false, "bytes=1-10", "\"outdated\"", request);
+        assertEquals(200, response.getStatus());
+        assertEquals(CONFIG,content(response));
+    }
+    
+    @Test
+    public void reject_unsatisfiable_range() {
+        when(service.getElementConfigContentInfo(ELEMENT_ID, CONFIG_ID)).thenReturn(contentInfo());
+        Response response = resource.downloadElementConfig(ELEMENT_ID, CONFIG_ID, false, "bytes=1000-", null, request);
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */"+CONFIG.length(), response.getHeaderString("Content-Range"));
+    }
+    
+    @Test
+    public void send_not_modified_if_etag_matches() {
+        when(service.getElementConfigContentInfo(ELEMENT_ID, CONFIG_ID)).thenReturn(contentInfo());
+        when(request.evaluatePreconditions(any(Date.class), eq(new EntityTag("hash")))).thenReturn(Response.notModified());
+        Response response = resource.downloadElementConfig(ELEMENT_ID, CONFIG_ID, false, null, null, request);
+        assertEquals(304, response.getStatus());
     }
     
     @Test
@@ -153,7 +255,7 @@ public class ElementConfigResourceTest {
         when(config.getConfigName()).thenReturn(CONFIG_NAME);
         when(config.getContentType()).thenReturn("application/json");
         when(service.getElementConfig(ELEMENT_ID, CONFIG_ID)).thenReturn(config);
-        Response response = resource.downloadElementConfig(ELEMENT_ID, CONFIG_ID, true);
+        Response response = resource.downloadElementConfig(ELEMENT_ID, CONFIG_ID, true, null, null, request);
         String pretty = "\n{\n" + 
                 "    \"property\":\"value\",\n" + 
                 "    \"array\":[\n" + 
@@ -179,7 +281,7 @@ public class ElementConfigResourceTest {
         when(config.getConfigName()).thenReturn(CONFIG_NAME);
         when(config.getContentType()).thenReturn("application/json");
         when(service.getElementConfig(ELEMENT_NAME, CONFIG_ID)).thenReturn(config);
-        Response response = resource.downloadElementConfig(ELEMENT_NAME, CONFIG_ID, true);
+        Response response = resource.downloadElementConfig(ELEMENT_NAME, CONFIG_ID, true, null, null, request);
         String pretty = "\n{\n" + 
                 "    \"property\":\"value\",\n" + 
                 "    \"array\":[\n" + 
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.rs;
+
+import static io.leitstand.inventory.service.ElementGroupType.groupType;
+import static io.leitstand.inventory.service.ReasonCode.IVT0104E_GROUP_EXPORT_FORMAT_INVALID;
+import static io.leitstand.testing.ut.LeitstandCoreMatchers.reason;
+import static org.junit.Assert.assertEquals;
+
+import javax.ws.rs.core.Response;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import io.leitstand.commons.UnprocessableEntityException;
+import io.leitstand.commons.messages.Messages;
+import io.leitstand.inventory.service.ElementGroupExportService;
+import io.leitstand.inventory.service.ElementGroupType;
+import io.leitstand.inventory.service.ElementRoleService;
+import io.leitstand.inventory.service.PlatformService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ElementGroupExportResourceTest {
+	
+	private static final ElementGroupType GROUP_TYPE = groupType("pod");
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+	
+	@Mock
+	private ElementGroupExportService inventory;
+	
+	@Mock
+	private PlatformService platforms;
+	
+	@Mock
+	private ElementRoleService roles;
+	
+	@Mock
+	private Messages messages;
+	
+	@InjectMocks
+	private ElementGroupExportResource resource = new ElementGroupExportResource();
+	
+	@Test
+	public void reject_unknown_export_format() {
+		exception.expect(UnprocessableEntityException.class);
+		exception.expect(reason(IVT0104E_GROUP_EXPORT_FORMAT_INVALID));
+		
+		resource.exportElementGroupsJson(GROUP_TYPE, null, "xml");
+	}
+	
+	@Test
+	public void accept_export_format_in_any_case() {
+		Response response = resource.exportElementGroupsJson(GROUP_TYPE, null, "YAML");
+		assertEquals(200, response.getStatus());
+		assertEquals("attachment; filename=inventory-export.yaml", response.getHeaderString("Content-Disposition"));
+	}
+	
+}
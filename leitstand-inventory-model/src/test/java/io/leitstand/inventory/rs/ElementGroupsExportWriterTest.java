@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.rs;
+
+import static io.leitstand.inventory.rs.ElementGroupsExportWriter.exportWriter;
+import static io.leitstand.inventory.rs.ElementGroupsExportWriter.ExportFormat.JSON;
+import static io.leitstand.inventory.rs.ElementGroupsExportWriter.ExportFormat.YAML;
+import static io.leitstand.inventory.service.ElementGroupExport.newElementGroupExport;
+import static io.leitstand.inventory.service.ElementGroupId.randomGroupId;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementGroupSettings.newElementGroupSettings;
+import static io.leitstand.inventory.service.ElementGroupType.groupType;
+import static java.util.Collections.emptyList;
+import static javax.json.Json.createReader;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+
+import org.junit.Test;
+import org.yaml.snakeyaml.Yaml;
+
+import io.leitstand.inventory.rs.ElementGroupsExportWriter.ExportFormat;
+import io.leitstand.inventory.service.ElementGroupExport;
+
+public class ElementGroupsExportWriterTest {
+
+	private static ElementGroupExport group(String name) {
+		return newElementGroupExport()
+			   .withGroup(newElementGroupSettings()
+					   	  .withGroupId(randomGroupId())
+					   	  .withGroupName(groupName(name))
+					   	  .withGroupType(groupType("pod"))
+					   	  .build())
+			   .withElements(emptyList())
+			   .build();
+	}
+	
+	private static String export(ExportFormat format, ElementGroupExport... groups) throws Exception {
+		StringWriter out = new StringWriter();
+		try(ElementGroupsExportWriter writer = exportWriter(format, out)){
+			writer.beginExport(new Date());
+			for(ElementGroupExport group : groups) {
+				writer.writeGroup(group);
+			}
+			writer.endExport(emptyList(), emptyList());
+		}
+		return out.toString();
+	}
+	
+	private static JsonObject json(String export) {
+		return createReader(new StringReader(export)).readObject();
+	}
+	
+	@Test
+	public void write_json_export_without_groups() throws Exception {
+		JsonObject export = json(export(JSON));
+		assertTrue(export.containsKey("date_created"));
+		assertTrue(export.getJsonArray("groups").isEmpty());
+		assertTrue(export.getJsonArray("platforms").isEmpty());
+		assertTrue(export.getJsonArray("roles").isEmpty());
+	}
+	
+	@Test
+	public void write_json_export_with_groups() throws Exception {
+		JsonArray groups = json(export(JSON, 
+									   group("pod-1"), 
+									   group("pod-2")))
+						   .getJsonArray("groups");
+		assertEquals(2, groups.size());
+		assertEquals("pod-1", groups.getJsonObject(0).getJsonObject("group").getString("group_name"));
+		assertEquals("pod-2", groups.getJsonObject(1).getJsonObject("group").getString("group_name"));
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void write_yaml_export_without_groups() throws Exception {
+		Map<String,Object> export = new Yaml().load(export(YAML));
+		assertTrue(export.containsKey("date_created"));
+		assertTrue(((List<Object>)export.get("groups")).isEmpty());
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void write_yaml_export_with_groups() throws Exception {
+		Map<String,Object> export = new Yaml().load(export(YAML, 
+															group("pod-1"), 
+															group("pod-2")));
+		List<Map<String,Object>> groups = (List<Map<String,Object>>) export.get("groups");
+		assertEquals(2, groups.size());
+		assertEquals("pod-1", ((Map<String,Object>)groups.get(0).get("group")).get("group_name"));
+		assertEquals("pod-2", ((Map<String,Object>)groups.get(1).get("group")).get("group_name"));
+	}
+	
+}
@@ -17,10 +17,14 @@ package io.leitstand.inventory.rs;
 
 import static io.leitstand.commons.rs.ReasonCode.VAL0003E_IMMUTABLE_ATTRIBUTE;
 import static io.leitstand.inventory.service.ElementId.randomElementId;
+import static io.leitstand.inventory.service.ElementLogicalInterfaces.newLogicalInterfaces;
 import static io.leitstand.inventory.service.ElementName.elementName;
 import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.testing.ut.LeitstandCoreMatchers.containsHeader;
 import static io.leitstand.testing.ut.LeitstandCoreMatchers.reason;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -49,6 +53,7 @@ public class ElementLogicalInterfaceResourceTest {
 	private static final ElementName ELEMENT_NAME = elementName("element");
 	private static final InterfaceName IFP_NAME = interfaceName("ifp-0/0/0");
 	private static final InterfaceName IFL_NAME = interfaceName("ifl-0/0/0/0/0");
+	private static final InterfaceName IFL2_NAME = interfaceName("ifl-0/0/0/0/1");
 	
 	
 	@Rule
@@ -134,4 +139,25 @@ public class ElementLogicalInterfaceResourceTest {
 		
 		assertEquals(200,response.getStatus());
 	}
+	
+	@Test
+	public void return_cursor_of_next_logical_interface_page() {
+		when(service.findLogicalInterfaces(ELEMENT_ID, "", IFL_NAME, 1)).thenReturn(newLogicalInterfaces()
+																				 .withNextCursor(IFL2_NAME)
+																				 .build());
+		
+		Response response = resource.getLogicalInterfaces(ELEMENT_ID, "", IFL_NAME, 1);
+		assertThat(response,containsHeader("Leitstand-Eof",false));
+		assertThat(response,containsHeader("Leitstand-Cursor",IFL2_NAME));
+	}
+	
+	@Test
+	public void omit_cursor_on_last_logical_interface_page() {
+		when(service.findLogicalInterfaces(ELEMENT_NAME, null, null, 100)).thenReturn(newLogicalInterfaces().build());
+		
+		Response response = resource.getLogicalInterfaces(ELEMENT_NAME, null, null, 100);
+		assertThat(response,containsHeader("Leitstand-Eof",true));
+		assertThat(response.getHeaderString("Leitstand-Cursor"),nullValue());
+	}
+	
 }
@@ -17,13 +17,25 @@ package io.leitstand.inventory.rs;
 
 import static io.leitstand.inventory.rs.Scopes.IVT;
 import static io.leitstand.inventory.rs.Scopes.IVT_ELEMENT;
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
 import static io.leitstand.inventory.service.ElementId.randomElementId;
 import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.ElementSearchCursor.cursorOf;
+import static io.leitstand.inventory.service.ElementSearchResult.searchResult;
+import static io.leitstand.inventory.service.ReasonCode.IVT0308E_ELEMENT_SEARCH_CURSOR_INVALID;
 import static io.leitstand.security.auth.ReasonCode.AUT0002E_SCOPE_ACCESS_DENIED;
+import static io.leitstand.testing.ut.LeitstandCoreMatchers.containsHeader;
 import static io.leitstand.testing.ut.LeitstandCoreMatchers.reason;
+import static java.util.Collections.emptyList;
+import static javax.ws.rs.core.Response.Status.NO_CONTENT;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import javax.ws.rs.core.Response;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -33,9 +45,11 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import io.leitstand.commons.AccessDeniedException;
+import io.leitstand.commons.UnprocessableEntityException;
 import io.leitstand.commons.messages.Messages;
 import io.leitstand.inventory.service.ElementId;
 import io.leitstand.inventory.service.ElementName;
+import io.leitstand.inventory.service.ElementSearchCursor;
 import io.leitstand.inventory.service.ElementService;
 import io.leitstand.security.auth.UserContext;
 
@@ -148,4 +162,38 @@ public class ElementResourceTest {
 		verify(service).removeElement(ELEMENT_NAME);
 	}
 	
+	@Test
+	public void return_no_content_when_blank_search_term_is_specified() {
+		Response response = resource.searchElements(" ", null, 25);
+		assertThat(response.getStatus(), is(NO_CONTENT.getStatusCode()));
+		verifyZeroInteractions(service);
+	}
+	
+	@Test
+	public void return_cursor_of_next_search_result_page() {
+		ElementSearchCursor cursor = cursorOf(1, groupName("pod"), ELEMENT_NAME, ELEMENT_ID);
+		when(service.searchElements("leaf", null, 25)).thenReturn(searchResult(emptyList(), cursor));
+		
+		Response response = resource.searchElements("leaf ", null, 25);
+		assertThat(response,containsHeader("Leitstand-Eof",false));
+		assertThat(response,containsHeader("Leitstand-Cursor",cursor));
+	}
+	
+	@Test
+	public void search_elements_following_cursor() {
+		ElementSearchCursor cursor = cursorOf(1, groupName("pod"), ELEMENT_NAME, ELEMENT_ID);
+		when(service.searchElements("leaf", cursor, 25)).thenReturn(searchResult(emptyList(), null));
+		
+		Response response = resource.searchElements("leaf", cursor.toString(), 25);
+		assertThat(response,containsHeader("Leitstand-Eof",true));
+	}
+	
+	@Test
+	public void reject_invalid_search_cursor() {
+		exception.expect(UnprocessableEntityException.class);
+		exception.expect(reason(IVT0308E_ELEMENT_SEARCH_CURSOR_INVALID));
+		
+		resource.searchElements("leaf", "not-a-cursor", 25);
+	}
+	
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.rs;
+
+import static io.leitstand.inventory.service.ImageId.randomImageId;
+import static io.leitstand.inventory.service.ImageInfo.newImageInfo;
+import static io.leitstand.inventory.service.ImageName.imageName;
+import static io.leitstand.inventory.service.ImageType.imageType;
+import static javax.json.Json.createReader;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Date;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+
+import org.junit.Test;
+
+import io.leitstand.inventory.service.ImageInfo;
+import io.leitstand.inventory.service.Version;
+
+public class ImagesExportWriterTest {
+
+	private static ImageInfo image(String name) {
+		return newImageInfo()
+			   .withImageId(randomImageId())
+			   .withImageName(imageName(name))
+			   .withImageType(imageType("lxc"))
+			   .withImageVersion(new Version(1,0,0))
+			   .build();
+	}
+	
+	private static JsonObject export(ImageInfo... images) throws Exception {
+		StringWriter out = new StringWriter();
+		try(ImagesExportWriter writer = new ImagesExportWriter(out)){
+			writer.beginExport(new Date());
+			for(ImageInfo image : images) {
+				writer.writeImage(image);
+			}
+			writer.endExport();
+		}
+		return createReader(new StringReader(out.toString())).readObject();
+	}
+	
+	@Test
+	public void write_export_without_images() throws Exception {
+		JsonObject export = export();
+		assertTrue(export.containsKey("date_created"));
+		assertTrue(export.getJsonArray("images").isEmpty());
+	}
+	
+	@Test
+	public void write_export_with_images() throws Exception {
+		JsonArray images = export(image("leaf"), 
+								  image("spine"))
+						   .getJsonArray("images");
+		assertEquals(2, images.size());
+		assertEquals("leaf", images.getJsonObject(0).getString("image_name"));
+		assertEquals("spine", images.getJsonObject(1).getString("image_name"));
+	}
+	
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 RtBrick Inc.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License.  You may obtain a copy
+ * of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.leitstand.inventory.rs;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+
+import javax.json.JsonObject;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import io.leitstand.inventory.model.ElementCache;
+import io.leitstand.inventory.model.ElementGroupStatisticsIndex;
+import io.leitstand.inventory.model.EventOutboxPublisher;
+import io.leitstand.inventory.model.HeartbeatWatchDog;
+
+@RunWith(MockitoJUnitRunner.class)
+public class InventoryMetricsResourceTest {
+
+	@Mock
+	private HeartbeatWatchDog watchdog;
+	
+	@Mock
+	private EventOutboxPublisher outbox;
+	
+	@Mock
+	private ElementGroupStatisticsIndex statistics;
+	
+	@Mock
+	private ElementCache cache;
+	
+	@InjectMocks
+	private InventoryMetricsResource resource = new InventoryMetricsResource();
+	
+	@Test
+	public void publish_heartbeat_watchdog_metrics() {
+		when(watchdog.getMonitoredElements()).thenReturn(100);
+		when(watchdog.getDetachedElements()).thenReturn(3L);
+		when(watchdog.getLastDetectionLag()).thenReturn(250L);
+		when(watchdog.getMaxDetectionLag()).thenReturn(1200L);
+		
+		JsonObject metrics = resource.getMetrics().getJsonObject("heartbeat_watchdog");
+		
+		assertEquals(100, metrics.getInt("monitored_elements"));
+		assertEquals(3L, metrics.getJsonNumber("detached_elements").longValue());
+		assertEquals(250L, metrics.getJsonNumber("last_detection_lag_ms").longValue());
+		assertEquals(1200L, metrics.getJsonNumber("max_detection_lag_ms").longValue());
+	}
+	
+	@Test
+	public void publish_event_outbox_metrics() {
+		when(outbox.getPublishedEvents()).thenReturn(1000L);
+		when(outbox.getCoalescedEvents()).thenReturn(40L);
+		when(outbox.getDiscardedEvents()).thenReturn(2L);
+		when(outbox.getPendingEvents()).thenReturn(15L);
+		when(outbox.getThroughput()).thenReturn(12.5);
+		when(outbox.getLastPublishLag()).thenReturn(80L);
+		when(outbox.getMaxPublishLag()).thenReturn(900L);
+		
+		JsonObject metrics = resource.getMetrics().getJsonObject("event_outbox");
+		
+		assertEquals(1000L, metrics.getJsonNumber("published_events").longValue());
+		assertEquals(40L, metrics.getJsonNumber("coalesced_events").longValue());
+		assertEquals(2L, metrics.getJsonNumber("discarded_events").longValue());
+		assertEquals(15L, metrics.getJsonNumber("pending_events").longValue());
+		assertEquals(12.5, metrics.getJsonNumber("throughput_per_sec").doubleValue(), 0.0);
+		assertEquals(80L, metrics.getJsonNumber("last_publish_lag_ms").longValue());
+		assertEquals(900L, metrics.getJsonNumber("max_publish_lag_ms").longValue());
+	}
+	
+	@Test
+	public void publish_group_statistics_metrics() {
+		when(statistics.getGroupCount()).thenReturn(20);
+		when(statistics.getElementCount()).thenReturn(480);
+		when(statistics.getCorrectedGroups()).thenReturn(1L);
+		when(statistics.getLastReconciliationDuration()).thenReturn(35L);
+		
+		JsonObject metrics = resource.getMetrics().getJsonObject("group_statistics");
+		
+		assertEquals(20, metrics.getInt("groups"));
+		assertEquals(480, metrics.getInt("elements"));
+		assertEquals(1L, metrics.getJsonNumber("corrected_groups").longValue());
+		assertEquals(35L, metrics.getJsonNumber("last_reconciliation_duration_ms").longValue());
+	}
+	
+	@Test
+	public void publish_element_cache_metrics() {
+		when(cache.getSize()).thenReturn(300);
+		when(cache.getHits()).thenReturn(900L);
+		when(cache.getMisses()).thenReturn(100L);
+		when(cache.getHitRatio()).thenReturn(0.9);
+		when(cache.getEvictions()).thenReturn(12L);
+		when(cache.getInvalidations()).thenReturn(7L);
+		
+		JsonObject metrics = resource.getMetrics().getJsonObject("element_cache");
+		
+		assertEquals(300, metrics.getInt("entries"));
+		assertEquals(900L, metrics.getJsonNumber("hits").longValue());
+		assertEquals(100L, metrics.getJsonNumber("misses").longValue());
+		assertEquals(0.9, metrics.getJsonNumber("hit_ratio").doubleValue(), 0.0);
+		assertEquals(12L, metrics.getJsonNumber("evictions").longValue());
+		assertEquals(7L, metrics.getJsonNumber("invalidations").longValue());
+	}
+	
+}
@@ -1,6 +1,13 @@
 package io.leitstand.inventory.rs;
 
+import static io.leitstand.inventory.service.ElementGroupName.groupName;
+import static io.leitstand.inventory.service.ElementName.elementName;
+import static io.leitstand.inventory.service.InterfaceName.interfaceName;
+import static io.leitstand.inventory.service.PhysicalInterfaceCursor.cursorOf;
+import static io.leitstand.inventory.service.PhysicalInterfaceData.newPhysicalInterfaceData;
+import static io.leitstand.inventory.service.ReasonCode.IVT0357E_ELEMENT_IFP_CURSOR_INVALID;
 import static io.leitstand.testing.ut.LeitstandCoreMatchers.containsHeader;
+import static io.leitstand.testing.ut.LeitstandCoreMatchers.reason;
 import static javax.ws.rs.core.Response.Status.NO_CONTENT;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
@@ -13,17 +20,24 @@ import java.util.List;
 
 import javax.ws.rs.core.Response;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import io.leitstand.commons.UnprocessableEntityException;
+import io.leitstand.inventory.service.PhysicalInterfaceCursor;
 import io.leitstand.inventory.service.PhysicalInterfaceData;
 import io.leitstand.inventory.service.PhysicalInterfaceService;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PhysicalInterfacesResourceTest {
+    
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
 
     @Mock
     private PhysicalInterfaceService service;
@@ -35,6 +49,7 @@ public class PhysicalInterfacesResourceTest {
     public void return_empty_list_when_empty_filters_are_specified() {
         Response response = resource.findPhysicalInterfaces("",
                                                             "", 
+                                                            null,
                                                             0, 
                                                             100);
         
@@ -48,6 +63,7 @@ public class PhysicalInterfacesResourceTest {
     public void return_empty_list_when_null_filters_are_is_specified() {
         Response response = resource.findPhysicalInterfaces(null,
                                                             null, 
+                                                            null,
                                                             0, 
                                                             100);
         
@@ -61,6 +77,7 @@ public class PhysicalInterfacesResourceTest {
     public void return_empty_list_when_blank_filter_is_specified() {
         Response response = resource.findPhysicalInterfaces("  ",
                                                             " ", 
+                                                            null,
                                                             0, 
                                                             100);
         assertThat(response.getStatus(),
@@ -75,9 +92,9 @@ public class PhysicalInterfacesResourceTest {
         List<PhysicalInterfaceData> ifps = mock(List.class);
         when(ifps.size()).thenReturn(24);
         
-        when(service.findPhysicalInterfaces("facility", "ifp", 0, 101)).thenReturn(ifps);
+        when(service.findPhysicalInterfaces("facility", "ifp", (PhysicalInterfaceCursor) null, 101)).thenReturn(ifps);
      
-        Response response = resource.findPhysicalInterfaces("facility","ifp ", 0, 100);
+        Response response = resource.findPhysicalInterfaces("facility","ifp ", null, 0, 100);
         
         assertEquals(ifps,response.getEntity());
         assertThat(response,containsHeader("Leitstand-Offset",0));
@@ -94,16 +111,48 @@ public class PhysicalInterfacesResourceTest {
         when(page.size()).thenReturn(100);
         when(ifps.size()).thenReturn(101);
         when(ifps.subList(0, 100)).thenReturn(page);
+        when(page.get(99)).thenReturn(lastIfp());
         when(service.findPhysicalInterfaces("facility","ifp", 200, 101)).thenReturn(ifps);
         
-        Response response = resource.findPhysicalInterfaces("facility","ifp ", 200, 100);
+        Response response = resource.findPhysicalInterfaces("facility","ifp ", null, 200, 100);
 
         assertEquals(page,response.getEntity());
         assertThat(response,containsHeader("Leitstand-Offset",200));
         assertThat(response,containsHeader("Leitstand-Limit",100));
         assertThat(response,containsHeader("Leitstand-Size",100));
         assertThat(response,containsHeader("Leitstand-Eof",false)); 
+        assertThat(response,containsHeader("Leitstand-Cursor",cursorOf(lastIfp())));
+        
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    public void search_matching_interfaces_following_cursor() {
+        List<PhysicalInterfaceData> ifps = mock(List.class);
+        when(ifps.size()).thenReturn(24);
+        PhysicalInterfaceCursor cursor = cursorOf(lastIfp());
+        when(service.findPhysicalInterfaces("facility","ifp", cursor, 101)).thenReturn(ifps);
         
+        Response response = resource.findPhysicalInterfaces("facility","ifp ", cursor.toString(), 0, 100);
+        
+        assertEquals(ifps,response.getEntity());
+        assertThat(response,containsHeader("Leitstand-Eof",true));
+    }
+    
+    @Test
+    public void reject_invalid_cursor() {
+        exception.expect(UnprocessableEntityException.class);
+        exception.expect(reason(IVT0357E_ELEMENT_IFP_CURSOR_INVALID));
+        
+        resource.findPhysicalInterfaces("facility","ifp", "not-a-cursor", 0, 100);
+    }
+    
+    private static PhysicalInterfaceData lastIfp() {
+        return newPhysicalInterfaceData()
+               .withGroupName(groupName("pod"))
+               .withElementName(elementName("leaf"))
+               .withIfpName(interfaceName("ifp-0/1"))
+               .build();
     }
     
 
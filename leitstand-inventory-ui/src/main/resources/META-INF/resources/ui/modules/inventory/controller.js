@@ -70,19 +70,17 @@ const ifpsController = function() {
 		viewModel:function(items,response){
 			const facility = this.location.param("facility");
 			const ifp = this.location.param("ifp");
+			const cursor = this.location.param("cursor");
 			const limit  = parseInt(response.headers.get("Leitstand-Limit"));
-			const offset = parseInt(response.headers.get("Leitstand-Offset"));
-			const eof = (response.headers.get("Leitstand-Eof") == "true");
-			const size = parseInt(response.headers.get("Leitstand-Size"));
-			const limitExceeded = (((offset + size) > limit) || !eof);
+			const next = response.headers.get("Leitstand-Cursor");
 			
 			return {"ifps"	: items,
 					"facility" : facility,
 					"ifp":ifp,
-					"offset":offset,
-					"eof":eof,
 					"limit":limit,
-					"exceeded":limitExceeded,
+					"paged":!!cursor,
+					"next":next,
+					"exceeded":!!next,
 					"no_match":!!(facility||ifp)};
 			
 		},
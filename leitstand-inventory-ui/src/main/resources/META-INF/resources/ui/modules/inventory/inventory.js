@@ -170,8 +170,8 @@ export class PhysicalInterfaces extends Resource {
 	}
 
 	load(params) {
-		return this.json("/api/v1/physical_interfaces?facility={{facility}}&ifp={{&ifp}}&limit={{&limit}}&offset={{&offset}}",
-						 {"limit":100,"offset":"0"},
+		return this.json("/api/v1/physical_interfaces?facility={{facility}}&ifp={{&ifp}}&limit={{&limit}}&cursor={{&cursor}}",
+						 {"limit":100,"cursor":""},
 						 this._cfg,
 						 params)
 				   .GET();